@@ -0,0 +1,42 @@
+package com.laker.postman.functional.cli;
+
+import java.io.PrintStream;
+
+public class FunctionalCliCommand {
+    private final FunctionalRunCliCommand runCommand;
+
+    public FunctionalCliCommand() {
+        this(new FunctionalRunCliCommand());
+    }
+
+    FunctionalCliCommand(FunctionalRunCliCommand runCommand) {
+        this.runCommand = runCommand == null ? new FunctionalRunCliCommand() : runCommand;
+    }
+
+    public static boolean matches(String[] args) {
+        return args != null && args.length > 0 && "functional".equals(args[0]);
+    }
+
+    public int run(String[] args, PrintStream out, PrintStream err) {
+        if (args == null || args.length < 2 || isHelp(args[1])) {
+            printUsage(out);
+            return 0;
+        }
+        if (!"run".equals(args[1])) {
+            err.println("Unknown functional command: " + args[1]);
+            printUsage(err);
+            return 2;
+        }
+        return runCommand.run(args, out, err);
+    }
+
+    private static boolean isHelp(String arg) {
+        return "--help".equals(arg) || "-h".equals(arg) || "help".equals(arg);
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("Usage:");
+        out.println("  functional run (--workspace <dir> | --collection <collections.json>) [--config <functional_config.json>]"
+                + " [--env <name|id>] [--data <data.csv>] [--concurrency <n>] [--junit <report.xml>] [--out <result.json>]");
+    }
+}
@@ -0,0 +1,265 @@
+package com.laker.postman.functional.cli;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import com.laker.postman.collection.CollectionTreeQueries;
+import com.laker.postman.collection.model.CollectionDocument;
+import com.laker.postman.collection.model.CollectionRequestContext;
+import com.laker.postman.functional.execution.FunctionalBatchRunner;
+import com.laker.postman.functional.execution.FunctionalRequestExecutionResult;
+import com.laker.postman.functional.execution.FunctionalRequestExecutor;
+import com.laker.postman.functional.model.AssertionResult;
+import com.laker.postman.functional.model.BatchExecutionHistory;
+import com.laker.postman.functional.model.FunctionalConfigRow;
+import com.laker.postman.functional.model.FunctionalConfigSnapshot;
+import com.laker.postman.functional.model.IterationResult;
+import com.laker.postman.functional.model.RunnerRowData;
+import com.laker.postman.model.Environment;
+import com.laker.postman.request.model.HttpRequestItem;
+import com.laker.postman.service.FunctionalPersistenceService;
+import com.laker.postman.service.collections.CollectionDocumentJsonCodec;
+import com.laker.postman.service.collections.CollectionDocumentRegistry;
+import com.laker.postman.service.variable.RunScopedVariableContext;
+import com.laker.postman.startup.HeadlessStartupBootstrap;
+import com.laker.postman.util.CsvDataUtil;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 无界面执行功能测试：加载工作区集合（及保存的功能测试配置）、环境变量和 CSV 数据，
+ * 用 {@link FunctionalBatchRunner} 执行并把结果流式写成 JSON / JUnit XML。
+ * 不初始化 IOC 容器和任何 Swing 组件，只读工作区文件，不回写。
+ */
+public class FunctionalRunCliCommand {
+    private final RuntimeBootstrap runtimeBootstrap;
+
+    public FunctionalRunCliCommand() {
+        this(HeadlessStartupBootstrap::initRuntime);
+    }
+
+    public FunctionalRunCliCommand(RuntimeBootstrap runtimeBootstrap) {
+        this.runtimeBootstrap = runtimeBootstrap == null ? () -> {
+        } : runtimeBootstrap;
+    }
+
+    public int run(String[] args, PrintStream out, PrintStream err) {
+        try {
+            FunctionalRunCliOptions options = FunctionalRunCliOptions.parse(args);
+            if (options.isHelp()) {
+                printUsage(out);
+                return 0;
+            }
+            Path collectionPath = options.resolveCollectionPath();
+            if (collectionPath == null) {
+                err.println("--workspace or --collection is required");
+                printUsage(err);
+                return 2;
+            }
+            if (!Files.isRegularFile(collectionPath)) {
+                throw new IllegalArgumentException("Collection file does not exist: " + collectionPath);
+            }
+
+            CollectionDocument document = CollectionDocumentJsonCodec.read(collectionPath.toFile());
+            FunctionalConfigSnapshot config = loadConfig(options.resolveConfigPath());
+            List<RunnerRowData> rows = selectRows(document, config, err);
+            List<Map<String, String>> iterationRows = iterationRows(options.getDataPath(), config);
+            int concurrency = options.getConcurrency() != null ? options.getConcurrency() : config.getConcurrency();
+            Environment environment = loadEnvironment(options.resolveEnvironmentsPath(), options.getEnvironment());
+            Environment globals = loadGlobals(options.getGlobalsPath());
+
+            runtimeBootstrap.init();
+            // 继承配置（分组的 Auth、脚本、变量）通过集合文档查找父分组
+            CollectionDocumentRegistry.registerDocumentSupplier(() -> document);
+            out.printf("Running %d requests x %d iterations (concurrency=%d, environment=%s)%n",
+                    rows.size(), iterationRows.size(), FunctionalBatchRunner.clampConcurrency(concurrency),
+                    environment == null ? "-" : environment.getName());
+
+            try (RunScopedVariableContext ignored = RunScopedVariableContext.open(environment, globals);
+                 FunctionalRunReportWriter report = FunctionalRunReportWriter.open(
+                         options.getOutPath(), options.getJunitPath(), suiteName(collectionPath))) {
+                RunListener listener = new RunListener(report, out);
+                FunctionalRequestExecutor executor = new FunctionalRequestExecutor(
+                        error -> err.println("[Request Error] " + error));
+                new FunctionalBatchRunner(executor, concurrency).run(rows, iterationRows, new BatchExecutionHistory(),
+                        () -> !options.isBail() || !listener.failed.get(), listener);
+                if (listener.writeFailure.get() != null) {
+                    throw listener.writeFailure.get();
+                }
+                boolean stopped = options.isBail() && listener.failed.get();
+                FunctionalRunReportWriter.Totals totals = report.finish(stopped);
+                out.printf("Functional run completed: status=%s iterations=%d total=%d failed=%d errors=%d%n",
+                        totals.isSuccess() && !stopped ? "SUCCESS" : "FAILED",
+                        totals.iterations(), totals.requests(), totals.failures(), totals.errors());
+                return totals.isSuccess() && !stopped ? 0 : 1;
+            }
+        } catch (IllegalArgumentException ex) {
+            err.println(ex.getMessage());
+            printUsage(err);
+            return 2;
+        } catch (Exception ex) {
+            err.println("Functional run failed: " + ex.getMessage());
+            return 1;
+        }
+    }
+
+    private static FunctionalConfigSnapshot loadConfig(Path configPath) throws IOException {
+        if (configPath == null) {
+            return FunctionalConfigSnapshot.empty();
+        }
+        if (!Files.isRegularFile(configPath)) {
+            throw new IllegalArgumentException("Functional config does not exist: " + configPath);
+        }
+        return new FunctionalPersistenceService().readSnapshot(configPath);
+    }
+
+    /**
+     * 有保存的功能测试配置时按其中勾选的行和顺序执行，否则执行集合中的全部请求
+     */
+    static List<RunnerRowData> selectRows(CollectionDocument document, FunctionalConfigSnapshot config, PrintStream err) {
+        List<RunnerRowData> rows = new ArrayList<>();
+        if (config.getRows().isEmpty()) {
+            for (HttpRequestItem request : document.index().requests()) {
+                rows.add(new RunnerRowData(request));
+            }
+            return rows;
+        }
+        for (FunctionalConfigRow configRow : config.getRows()) {
+            if (!configRow.isSelected()) {
+                continue;
+            }
+            CollectionRequestContext context = CollectionTreeQueries
+                    .findRequestContextById(document, configRow.getRequestId())
+                    .orElse(null);
+            if (context == null) {
+                err.println("Request " + configRow.getRequestId() + " not found in collection, skipped");
+                continue;
+            }
+            rows.add(new RunnerRowData(context.getRequest()));
+        }
+        return rows;
+    }
+
+    /**
+     * 每轮迭代的 CSV 数据：--data 优先，其次是功能测试配置里保存的 CSV；都没有时执行一轮
+     */
+    private static List<Map<String, String>> iterationRows(Path dataPath, FunctionalConfigSnapshot config) {
+        List<Map<String, String>> rows;
+        if (dataPath != null) {
+            if (!Files.isRegularFile(dataPath)) {
+                throw new IllegalArgumentException("Data file does not exist: " + dataPath);
+            }
+            rows = CsvDataUtil.readCsvData(dataPath.toFile());
+        } else {
+            rows = config.getCsvState() == null ? List.of() : config.getCsvState().getRows();
+        }
+        return rows == null || rows.isEmpty() ? List.of(Collections.emptyMap()) : rows;
+    }
+
+    /**
+     * 按名称或 ID 选择环境；未指定时使用文件中标记为激活的环境
+     */
+    static Environment loadEnvironment(Path environmentsPath, String selector) {
+        if (environmentsPath == null) {
+            if (selector != null) {
+                throw new IllegalArgumentException("--env requires --environments or a workspace with environments.json");
+            }
+            return null;
+        }
+        JSONArray array = JSONUtil.readJSONArray(environmentsPath.toFile(), StandardCharsets.UTF_8);
+        Environment first = null;
+        for (Object value : array) {
+            if (!(value instanceof JSONObject json)) {
+                continue;
+            }
+            Environment environment = JSONUtil.toBean(json, Environment.class);
+            if (selector == null ? environment.isActive()
+                    : selector.equals(environment.getId()) || selector.equals(environment.getName())) {
+                return environment;
+            }
+            if (first == null) {
+                first = environment;
+            }
+        }
+        if (selector != null) {
+            throw new IllegalArgumentException("Environment not found: " + selector);
+        }
+        return first;
+    }
+
+    private static Environment loadGlobals(Path globalsPath) {
+        Environment globals;
+        if (globalsPath == null) {
+            globals = new Environment("Globals");
+        } else {
+            if (!Files.isRegularFile(globalsPath)) {
+                throw new IllegalArgumentException("Globals file does not exist: " + globalsPath);
+            }
+            globals = JSONUtil.toBean(JSONUtil.readJSONObject(globalsPath.toFile(), StandardCharsets.UTF_8), Environment.class);
+        }
+        globals.setId("globals");
+        return globals;
+    }
+
+    private static String suiteName(Path collectionPath) {
+        Path parent = collectionPath.toAbsolutePath().getParent();
+        return parent == null || parent.getFileName() == null ? "EasyPostman" : parent.getFileName().toString();
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("Usage: functional run (--workspace <dir> | --collection <collections.json>) [--config <functional_config.json>]");
+        out.println("                      [--environments <environments.json>] [--env <name|id>] [--globals <globals.json>]");
+        out.println("                      [--data <data.csv>] [--concurrency <n>] [--bail] [--junit <report.xml>] [--out <result.json>]");
+    }
+
+    /**
+     * 打印每个请求的结果，并把完成的迭代交给报告；迭代回调由执行器按顺序串行调用
+     */
+    private static final class RunListener implements FunctionalBatchRunner.Listener {
+        private final FunctionalRunReportWriter report;
+        private final PrintStream out;
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private final AtomicReference<IOException> writeFailure = new AtomicReference<>();
+
+        RunListener(FunctionalRunReportWriter report, PrintStream out) {
+            this.report = report;
+            this.out = out;
+        }
+
+        @Override
+        public void onRequestFinished(int iteration, int row, FunctionalRequestExecutionResult result) {
+            boolean passed = result.getErrorMessage() == null
+                    && !FunctionalRequestExecutor.ERROR.equals(result.getStatus())
+                    && result.getAssertion() != AssertionResult.FAIL;
+            if (!passed) {
+                failed.set(true);
+            }
+            out.printf("[%d] %s %s %s -> %s (%d ms)%n", iteration + 1, passed ? "PASS" : "FAIL",
+                    result.getRequest().method, result.getRequest().url, result.getStatus(), result.getCost());
+        }
+
+        @Override
+        public void onIterationFinished(IterationResult iteration) {
+            try {
+                report.writeIteration(iteration);
+            } catch (IOException e) {
+                writeFailure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface RuntimeBootstrap {
+        void init() throws Exception;
+    }
+}
@@ -0,0 +1,132 @@
+package com.laker.postman.functional.cli;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Value
+public class FunctionalRunCliOptions {
+    static final String COLLECTIONS_FILE = "collections.json";
+    static final String ENVIRONMENTS_FILE = "environments.json";
+    static final String FUNCTIONAL_CONFIG_FILE = "functional_config.json";
+
+    boolean help;
+    Path workspacePath;
+    Path collectionPath;
+    Path configPath;
+    Path environmentsPath;
+    String environment;
+    Path globalsPath;
+    Path dataPath;
+    Integer concurrency;
+    boolean bail;
+    Path junitPath;
+    Path outPath;
+
+    @Builder
+    public FunctionalRunCliOptions(Boolean help,
+                                   Path workspacePath,
+                                   Path collectionPath,
+                                   Path configPath,
+                                   Path environmentsPath,
+                                   String environment,
+                                   Path globalsPath,
+                                   Path dataPath,
+                                   Integer concurrency,
+                                   Boolean bail,
+                                   Path junitPath,
+                                   Path outPath) {
+        this.help = help != null && help;
+        this.workspacePath = workspacePath;
+        this.collectionPath = collectionPath;
+        this.configPath = configPath;
+        this.environmentsPath = environmentsPath;
+        this.environment = environment;
+        this.globalsPath = globalsPath;
+        this.dataPath = dataPath;
+        this.concurrency = concurrency;
+        this.bail = bail != null && bail;
+        this.junitPath = junitPath;
+        this.outPath = outPath;
+    }
+
+    public static FunctionalRunCliOptions parse(String[] args) {
+        FunctionalRunCliOptionsBuilder builder = FunctionalRunCliOptions.builder();
+        String[] safeArgs = args == null ? new String[0] : args;
+        for (int i = 2; i < safeArgs.length; i++) {
+            String arg = safeArgs[i];
+            switch (arg) {
+                case "--help", "-h" -> builder.help(true);
+                case "--workspace" -> builder.workspacePath(Path.of(requiredValue(safeArgs, ++i, arg)));
+                case "--collection" -> builder.collectionPath(Path.of(requiredValue(safeArgs, ++i, arg)));
+                case "--config" -> builder.configPath(Path.of(requiredValue(safeArgs, ++i, arg)));
+                case "--environments" -> builder.environmentsPath(Path.of(requiredValue(safeArgs, ++i, arg)));
+                case "--env" -> builder.environment(requiredValue(safeArgs, ++i, arg));
+                case "--globals" -> builder.globalsPath(Path.of(requiredValue(safeArgs, ++i, arg)));
+                case "--data" -> builder.dataPath(Path.of(requiredValue(safeArgs, ++i, arg)));
+                case "--concurrency" -> builder.concurrency(positiveInt(requiredValue(safeArgs, ++i, arg), arg));
+                case "--bail" -> builder.bail(true);
+                case "--junit" -> builder.junitPath(Path.of(requiredValue(safeArgs, ++i, arg)));
+                case "--out" -> builder.outPath(Path.of(requiredValue(safeArgs, ++i, arg)));
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 集合文件：显式指定优先，否则取工作区目录下的 collections.json
+     */
+    public Path resolveCollectionPath() {
+        if (collectionPath != null) {
+            return collectionPath;
+        }
+        return workspacePath == null ? null : workspacePath.resolve(COLLECTIONS_FILE);
+    }
+
+    /**
+     * 功能测试配置：显式指定优先；只给了工作区时，工作区里保存过配置就使用它
+     */
+    public Path resolveConfigPath() {
+        if (configPath != null) {
+            return configPath;
+        }
+        return existingWorkspaceFile(FUNCTIONAL_CONFIG_FILE);
+    }
+
+    public Path resolveEnvironmentsPath() {
+        if (environmentsPath != null) {
+            return environmentsPath;
+        }
+        return existingWorkspaceFile(ENVIRONMENTS_FILE);
+    }
+
+    private Path existingWorkspaceFile(String fileName) {
+        if (workspacePath == null) {
+            return null;
+        }
+        Path file = workspacePath.resolve(fileName);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    private static int positiveInt(String value, String optionName) {
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // 统一按下面的参数错误提示
+        }
+        throw new IllegalArgumentException(optionName + " requires a positive integer");
+    }
+
+    private static String requiredValue(String[] args, int index, String optionName) {
+        if (index >= args.length || args[index] == null || args[index].isBlank()) {
+            throw new IllegalArgumentException(optionName + " requires a value");
+        }
+        return args[index];
+    }
+}
@@ -0,0 +1,351 @@
+package com.laker.postman.functional.cli;
+
+import com.laker.postman.functional.execution.FunctionalRequestExecutor;
+import com.laker.postman.functional.model.AssertionResult;
+import com.laker.postman.functional.model.IterationResult;
+import com.laker.postman.functional.model.RequestResult;
+import com.laker.postman.script.model.TestResult;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.json.JsonFactory;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 把功能测试结果按迭代流式写入 JSON 和 JUnit XML。
+ * <p>
+ * 每轮迭代完成后立即追加并刷新到文件，长时间运行中途被中断时已完成的迭代仍然可读；
+ * JSON 末尾的 summary 和 JUnit 的闭合标签在 {@link #finish} 时写入。
+ * JUnit 中每轮迭代对应一个 testsuite，每个请求对应一个 testcase：
+ * 断言失败记为 failure，请求或脚本出错记为 error。
+ * </p>
+ */
+public final class FunctionalRunReportWriter implements Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator json;
+    private final XMLStreamWriter junit;
+    private final OutputStream junitStream;
+    private final String suiteName;
+    private final long startTimeMs = System.currentTimeMillis();
+    private int iterations;
+    private int requests;
+    private int failures;
+    private int errors;
+    private boolean finished;
+
+    /**
+     * 运行结束时的统计
+     */
+    public record Totals(int iterations, int requests, int failures, int errors) {
+        public boolean isSuccess() {
+            return failures == 0 && errors == 0;
+        }
+    }
+
+    enum Outcome {
+        PASSED, FAILURE, ERROR
+    }
+
+    private FunctionalRunReportWriter(JsonGenerator json, XMLStreamWriter junit, OutputStream junitStream, String suiteName) {
+        this.json = json;
+        this.junit = junit;
+        this.junitStream = junitStream;
+        this.suiteName = suiteName;
+    }
+
+    /**
+     * @param jsonPath  JSON 结果文件，为 null 时不写
+     * @param junitPath JUnit XML 文件，为 null 时不写
+     */
+    public static FunctionalRunReportWriter open(Path jsonPath, Path junitPath, String suiteName) throws IOException {
+        JsonGenerator json = null;
+        XMLStreamWriter junit = null;
+        OutputStream junitStream = null;
+        try {
+            if (jsonPath != null) {
+                json = JSON_FACTORY.createGenerator(new BufferedOutputStream(Files.newOutputStream(createParent(jsonPath))));
+            }
+            if (junitPath != null) {
+                junitStream = new BufferedOutputStream(Files.newOutputStream(createParent(junitPath)));
+                junit = XMLOutputFactory.newFactory().createXMLStreamWriter(junitStream, StandardCharsets.UTF_8.name());
+            }
+            FunctionalRunReportWriter writer = new FunctionalRunReportWriter(json, junit, junitStream, suiteName);
+            writer.start();
+            return writer;
+        } catch (XMLStreamException | RuntimeException e) {
+            if (json != null) {
+                json.close();
+            }
+            if (junitStream != null) {
+                junitStream.close();
+            }
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private void start() throws XMLStreamException {
+        if (json != null) {
+            json.writeStartObject();
+            json.writeStringProperty("suite", suiteName);
+            json.writeNumberProperty("startTimeMs", startTimeMs);
+            json.writeName("iterations");
+            json.writeStartArray();
+            json.flush();
+        }
+        if (junit != null) {
+            junit.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            junit.writeCharacters("\n");
+            junit.writeStartElement("testsuites");
+            junit.writeAttribute("name", suiteName);
+            junit.writeCharacters("\n");
+            junit.flush();
+        }
+    }
+
+    /**
+     * 追加一轮已完成的迭代，调用方需保证按轮次顺序、单线程调用
+     */
+    public void writeIteration(IterationResult iteration) throws IOException {
+        int iterationFailures = 0;
+        int iterationErrors = 0;
+        for (RequestResult result : iteration.getRequestResults()) {
+            switch (outcome(result)) {
+                case FAILURE -> iterationFailures++;
+                case ERROR -> iterationErrors++;
+                default -> {
+                }
+            }
+        }
+        iterations++;
+        requests += iteration.getRequestResults().size();
+        failures += iterationFailures;
+        errors += iterationErrors;
+
+        try {
+            if (json != null) {
+                writeJsonIteration(iteration);
+                json.flush();
+            }
+            if (junit != null) {
+                writeJunitSuite(iteration, iterationFailures, iterationErrors);
+                junit.flush();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write JUnit report: " + e.getMessage(), e);
+        }
+    }
+
+    public Totals totals() {
+        return new Totals(iterations, requests, failures, errors);
+    }
+
+    /**
+     * 写入汇总并结束文档
+     */
+    public Totals finish(boolean stopped) throws IOException {
+        Totals result = totals();
+        if (finished) {
+            return result;
+        }
+        finished = true;
+        long endTimeMs = System.currentTimeMillis();
+        try {
+            if (json != null) {
+                json.writeEndArray();
+                json.writeName("summary");
+                json.writeStartObject();
+                json.writeStringProperty("status", result.isSuccess() && !stopped ? "SUCCESS" : "FAILED");
+                json.writeBooleanProperty("stopped", stopped);
+                json.writeNumberProperty("iterations", result.iterations());
+                json.writeNumberProperty("totalRequests", result.requests());
+                json.writeNumberProperty("passedRequests", result.requests() - result.failures() - result.errors());
+                json.writeNumberProperty("failedRequests", result.failures());
+                json.writeNumberProperty("errorRequests", result.errors());
+                json.writeNumberProperty("endTimeMs", endTimeMs);
+                json.writeNumberProperty("elapsedTimeMs", endTimeMs - startTimeMs);
+                json.writeEndObject();
+                json.writeEndObject();
+                json.flush();
+            }
+            if (junit != null) {
+                junit.writeEndElement();
+                junit.writeCharacters("\n");
+                junit.writeEndDocument();
+                junit.flush();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write JUnit report: " + e.getMessage(), e);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        }
+        if (junit != null) {
+            try {
+                junit.close();
+            } catch (XMLStreamException e) {
+                throw new IOException(e.getMessage(), e);
+            } finally {
+                junitStream.close();
+            }
+        }
+    }
+
+    static Outcome outcome(RequestResult result) {
+        if (result.getErrorMessage() != null || FunctionalRequestExecutor.ERROR.equals(result.getStatus())) {
+            return Outcome.ERROR;
+        }
+        return result.getAssertion() == AssertionResult.FAIL ? Outcome.FAILURE : Outcome.PASSED;
+    }
+
+    private void writeJsonIteration(IterationResult iteration) {
+        json.writeStartObject();
+        json.writeNumberProperty("index", iteration.getIterationIndex());
+        json.writeNumberProperty("elapsedTimeMs", iteration.getExecutionTime());
+        json.writeName("csvData");
+        json.writeStartObject();
+        if (iteration.getCsvData() != null) {
+            for (Map.Entry<String, String> entry : iteration.getCsvData().entrySet()) {
+                json.writeStringProperty(entry.getKey(), entry.getValue());
+            }
+        }
+        json.writeEndObject();
+        json.writeName("requests");
+        json.writeStartArray();
+        for (RequestResult result : iteration.getRequestResults()) {
+            json.writeStartObject();
+            json.writeStringProperty("name", result.getRequestName());
+            json.writeStringProperty("method", result.getMethod());
+            json.writeStringProperty("url", result.getUrl());
+            json.writeStringProperty("status", result.getStatus());
+            json.writeNumberProperty("costMs", result.getCost());
+            json.writeStringProperty("outcome", outcome(result).name());
+            json.writeStringProperty("assertion", result.getAssertion() == null ? null : result.getAssertion().name());
+            json.writeStringProperty("error", result.getErrorMessage());
+            json.writeName("tests");
+            json.writeStartArray();
+            for (TestResult test : result.getTestResults()) {
+                json.writeStartObject();
+                json.writeStringProperty("name", test.name);
+                json.writeBooleanProperty("passed", test.passed);
+                json.writeStringProperty("message", test.message);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private void writeJunitSuite(IterationResult iteration, int iterationFailures, int iterationErrors)
+            throws XMLStreamException {
+        String iterationName = "Iteration " + (iteration.getIterationIndex() + 1);
+        junit.writeCharacters("  ");
+        junit.writeStartElement("testsuite");
+        junit.writeAttribute("name", suiteName + " - " + iterationName);
+        junit.writeAttribute("tests", String.valueOf(iteration.getRequestResults().size()));
+        junit.writeAttribute("failures", String.valueOf(iterationFailures));
+        junit.writeAttribute("errors", String.valueOf(iterationErrors));
+        junit.writeAttribute("skipped", "0");
+        junit.writeAttribute("time", seconds(iteration.getExecutionTime()));
+        junit.writeCharacters("\n");
+
+        if (iteration.getCsvData() != null && !iteration.getCsvData().isEmpty()) {
+            junit.writeCharacters("    ");
+            junit.writeStartElement("properties");
+            for (Map.Entry<String, String> entry : iteration.getCsvData().entrySet()) {
+                junit.writeEmptyElement("property");
+                junit.writeAttribute("name", entry.getKey());
+                junit.writeAttribute("value", entry.getValue() == null ? "" : entry.getValue());
+            }
+            junit.writeEndElement();
+            junit.writeCharacters("\n");
+        }
+
+        for (RequestResult result : iteration.getRequestResults()) {
+            writeJunitCase(result, iterationName);
+        }
+        junit.writeCharacters("  ");
+        junit.writeEndElement();
+        junit.writeCharacters("\n");
+    }
+
+    private void writeJunitCase(RequestResult result, String iterationName) throws XMLStreamException {
+        junit.writeCharacters("    ");
+        junit.writeStartElement("testcase");
+        junit.writeAttribute("classname", suiteName + "." + iterationName);
+        junit.writeAttribute("name", nullToEmpty(result.getRequestName()));
+        junit.writeAttribute("time", seconds(result.getCost()));
+
+        Outcome outcome = outcome(result);
+        if (outcome == Outcome.ERROR) {
+            junit.writeStartElement("error");
+            junit.writeAttribute("message", nullToEmpty(result.getErrorMessage()));
+            junit.writeCharacters(result.getMethod() + " " + result.getUrl());
+            junit.writeEndElement();
+        } else if (outcome == Outcome.FAILURE) {
+            StringBuilder details = new StringBuilder();
+            int failedTests = 0;
+            for (TestResult test : result.getTestResults()) {
+                if (!test.passed) {
+                    failedTests++;
+                    details.append(test.name);
+                    if (test.message != null && !test.message.isBlank()) {
+                        details.append(": ").append(test.message);
+                    }
+                    details.append('\n');
+                }
+            }
+            junit.writeStartElement("failure");
+            junit.writeAttribute("message", failedTests + " of " + result.getTestResults().size() + " tests failed");
+            junit.writeCharacters(details.toString());
+            junit.writeEndElement();
+        }
+
+        junit.writeStartElement("system-out");
+        junit.writeCharacters(result.getMethod() + " " + result.getUrl() + " -> " + result.getStatus()
+                + " (" + result.getCost() + " ms)\n");
+        for (TestResult test : result.getTestResults()) {
+            junit.writeCharacters((test.passed ? "[PASS] " : "[FAIL] ") + test.name + "\n");
+        }
+        junit.writeEndElement();
+        junit.writeEndElement();
+        junit.writeCharacters("\n");
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static Path createParent(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,270 @@
+package com.laker.postman.functional.execution;
+
+import com.laker.postman.functional.model.BatchExecutionHistory;
+import com.laker.postman.functional.model.IterationResult;
+import com.laker.postman.functional.model.RequestResult;
+import com.laker.postman.functional.model.RunnerRowData;
+import com.laker.postman.request.model.HttpRequestItem;
+import com.laker.postman.service.collections.InheritanceService;
+import com.laker.postman.service.variable.ExecutionVariableContext;
+import com.laker.postman.service.variable.IterationDataRuntimeSupport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 功能测试批量执行：按 CSV 数据逐轮执行选中的请求，并发度可配置。
+ * <p>
+ * 并发度为 1 时与逐行串行执行完全一致。大于 1 时在固定大小的线程池上执行，
+ * 一轮迭代内按 {@link FunctionalExecutionPlan} 分析出的依赖调度——互不相关的行并行，
+ * 读写同一变量的行保持表格顺序；各轮迭代在没有共享变量写入时也并行执行。
+ * </p>
+ * <p>
+ * 无论执行完成的先后，写入 {@link BatchExecutionHistory} 的迭代按轮次排序、迭代内的请求按行排序，
+ * 结果与串行执行时的结构一致。
+ * </p>
+ */
+@Slf4j
+public final class FunctionalBatchRunner {
+
+    public static final int MAX_CONCURRENCY = 64;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final FunctionalRequestExecutor requestExecutor;
+    private final int concurrency;
+    private final UnaryOperator<HttpRequestItem> effectiveRequest;
+
+    /**
+     * 执行进度回调，均在执行线程上调用
+     */
+    public interface Listener {
+        default void onRequestStarted(int iteration, int row) {
+        }
+
+        /**
+         * 单个请求执行完成；被停止而未发出的请求不会回调
+         */
+        void onRequestFinished(int iteration, int row, FunctionalRequestExecutionResult result);
+
+        /**
+         * 一轮迭代完成并已加入执行历史，按轮次顺序回调
+         */
+        void onIterationFinished(IterationResult iteration);
+    }
+
+    public FunctionalBatchRunner(FunctionalRequestExecutor requestExecutor, int concurrency) {
+        this(requestExecutor, concurrency, new InheritanceService()::applyInheritance);
+    }
+
+    FunctionalBatchRunner(FunctionalRequestExecutor requestExecutor,
+                          int concurrency,
+                          UnaryOperator<HttpRequestItem> effectiveRequest) {
+        this.requestExecutor = requestExecutor;
+        this.concurrency = clampConcurrency(concurrency);
+        this.effectiveRequest = effectiveRequest;
+    }
+
+    public static int clampConcurrency(int concurrency) {
+        return Math.max(1, Math.min(MAX_CONCURRENCY, concurrency));
+    }
+
+    /**
+     * 执行全部迭代，阻塞到结束或停止
+     *
+     * @param rows            要执行的行，按执行顺序排列
+     * @param iterationRows   每轮迭代的 CSV 数据，列表长度即迭代次数
+     * @param history         执行历史，完成的迭代依次加入，结束时调用 complete
+     * @param executionActive 返回 false 时不再发出新的请求
+     */
+    public void run(List<RunnerRowData> rows,
+                    List<Map<String, String>> iterationRows,
+                    BatchExecutionHistory history,
+                    BooleanSupplier executionActive,
+                    Listener listener) {
+        FunctionalExecutionPlan plan = concurrency == 1
+                ? FunctionalExecutionPlan.sequential(rows.size())
+                : FunctionalExecutionPlan.analyze(rows.stream().map(row -> effectiveRequest.apply(row.requestItem)).toList());
+        IterationEmitter emitter = new IterationEmitter(iterationRows.size(), history, listener);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "functional-runner-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> iterations = new ArrayList<>(iterationRows.size());
+            CompletableFuture<Void> previousIteration = CompletableFuture.completedFuture(null);
+            for (int iteration = 0; iteration < iterationRows.size(); iteration++) {
+                IterationRun run = new IterationRun(iteration, iterationRows.size(), iterationRows.get(iteration), rows.size());
+                CompletableFuture<Void> gate = plan.isIterationsIndependent()
+                        ? CompletableFuture.completedFuture(null)
+                        : previousIteration;
+                @SuppressWarnings("unchecked")
+                CompletableFuture<Void>[] rowFutures = new CompletableFuture[rows.size()];
+                for (int row = 0; row < rows.size(); row++) {
+                    int[] dependencies = plan.dependenciesOf(row);
+                    CompletableFuture<?> ready = gate;
+                    if (dependencies.length > 0) {
+                        CompletableFuture<?>[] predecessors = new CompletableFuture[dependencies.length];
+                        for (int i = 0; i < dependencies.length; i++) {
+                            predecessors[i] = rowFutures[dependencies[i]];
+                        }
+                        ready = CompletableFuture.allOf(predecessors);
+                    }
+                    int rowIndex = row;
+                    rowFutures[row] = ready
+                            .handle((ignored, error) -> null)
+                            .thenRunAsync(() -> executeRow(run, rowIndex, rows.get(rowIndex), executionActive, listener, emitter),
+                                    executor);
+                }
+                previousIteration = rows.isEmpty()
+                        ? gate
+                        : CompletableFuture.allOf(rowFutures).handle((ignored, error) -> null);
+                if (rows.isEmpty()) {
+                    emitter.completed(run);
+                }
+                iterations.add(previousIteration);
+            }
+            CompletableFuture.allOf(iterations.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            log.error("Functional batch execution failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            history.complete();
+        }
+    }
+
+    private void executeRow(IterationRun run,
+                            int row,
+                            RunnerRowData rowData,
+                            BooleanSupplier executionActive,
+                            Listener listener,
+                            IterationEmitter emitter) {
+        RequestResult requestResult = null;
+        try {
+            if (executionActive.getAsBoolean()) {
+                run.start();
+                listener.onRequestStarted(run.index, row);
+                FunctionalRequestExecutionResult result = requestExecutor.execute(rowData, run.context, executionActive);
+                if (result.getRequest() != null) {
+                    requestResult = toRequestResult(rowData, result);
+                    listener.onRequestFinished(run.index, row, result);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Functional request execution failed: {}", rowData.requestItem.getName(), e);
+        } finally {
+            if (run.finish(row, requestResult)) {
+                emitter.completed(run);
+            }
+        }
+    }
+
+    private static RequestResult toRequestResult(RunnerRowData row, FunctionalRequestExecutionResult result) {
+        return new RequestResult(
+                row.requestItem.getName(),
+                row.requestItem.getMethod(),
+                result.getRequest().url,
+                result.getRequest(),
+                result.getResponse(),
+                result.getCost(),
+                result.getStatus(),
+                result.getAssertion(),
+                result.getTestResults(),
+                result.getErrorMessage()
+        );
+    }
+
+    /**
+     * 一轮迭代的执行状态，各行的结果先按行号暂存，全部结束后按行号顺序写入迭代结果
+     */
+    private static final class IterationRun {
+        private final int index;
+        private final Map<String, String> iterationData;
+        private final ExecutionVariableContext context = new ExecutionVariableContext();
+        private final RequestResult[] results;
+        private final AtomicInteger remaining;
+        private IterationResult result;
+
+        IterationRun(int index, int iterationCount, Map<String, String> csvRow, int rowCount) {
+            this.index = index;
+            this.iterationData = IterationDataRuntimeSupport.prepare(csvRow);
+            this.results = new RequestResult[rowCount];
+            this.remaining = new AtomicInteger(rowCount);
+            context.setIterationInfo(index, iterationCount);
+            context.replaceIterationData(iterationData);
+        }
+
+        synchronized void start() {
+            if (result == null) {
+                result = new IterationResult(index, iterationData);
+            }
+        }
+
+        /**
+         * @return 是否为本轮最后一个结束的行
+         */
+        boolean finish(int row, RequestResult requestResult) {
+            synchronized (this) {
+                results[row] = requestResult;
+            }
+            if (remaining.decrementAndGet() > 0) {
+                return false;
+            }
+            synchronized (this) {
+                if (result != null) {
+                    for (RequestResult requestResultInRow : results) {
+                        if (requestResultInRow != null) {
+                            result.addRequestResult(requestResultInRow);
+                        }
+                    }
+                    result.complete();
+                }
+            }
+            return true;
+        }
+
+        synchronized IterationResult result() {
+            return result;
+        }
+    }
+
+    /**
+     * 按轮次顺序把完成的迭代加入执行历史；没有发出任何请求的迭代（执行已停止）不记录
+     */
+    private static final class IterationEmitter {
+        private final IterationRun[] completed;
+        private final BatchExecutionHistory history;
+        private final Listener listener;
+        private int next;
+
+        IterationEmitter(int iterations, BatchExecutionHistory history, Listener listener) {
+            this.completed = new IterationRun[iterations];
+            this.history = history;
+            this.listener = listener;
+        }
+
+        synchronized void completed(IterationRun run) {
+            completed[run.index] = run;
+            while (next < completed.length && completed[next] != null) {
+                IterationResult result = completed[next].result();
+                completed[next] = null;
+                next++;
+                if (result != null) {
+                    history.addIteration(result);
+                    listener.onIterationFinished(result);
+                }
+            }
+        }
+    }
+}
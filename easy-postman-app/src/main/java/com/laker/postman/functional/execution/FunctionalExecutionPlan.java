@@ -0,0 +1,269 @@
+package com.laker.postman.functional.execution;
+
+import com.laker.postman.request.model.HttpFormData;
+import com.laker.postman.request.model.HttpFormUrlencoded;
+import com.laker.postman.request.model.HttpHeader;
+import com.laker.postman.request.model.HttpParam;
+import com.laker.postman.request.model.HttpRequestItem;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 功能测试中一轮迭代内各行之间的执行依赖。
+ * <p>
+ * 通过静态分析请求里引用的 {{变量}}，以及脚本对 pm.environment / pm.globals / pm.variables 的读写，
+ * 判断哪些行必须等前面的行执行完：
+ * </p>
+ * <ul>
+ *   <li>读了前面行写入的变量、或写了前面行读过/写过的变量，保持表格中的先后顺序；</li>
+ *   <li>写环境变量或全局变量的行与其它所有行互斥执行：环境对象不是线程安全的，修改对后续所有请求都可见；</li>
+ *   <li>无法静态确定变量名的读写（变量名不是字面量、clear、toObject、把作用域对象赋给别名等）按最保守处理。</li>
+ * </ul>
+ * <p>
+ * 没有行写共享作用域时，各轮迭代使用各自的执行上下文，可以并行；否则迭代之间按顺序执行。
+ * 依赖 Cookie 会话等无法从请求内容看出的隐式顺序不在分析范围内。
+ * </p>
+ */
+public final class FunctionalExecutionPlan {
+
+    private static final Pattern VARIABLE_REFERENCE = Pattern.compile("\\{\\{\\s*([^{}\\s]+)\\s*}}");
+    private static final Pattern SCOPE_REFERENCE =
+            Pattern.compile("\\b(environment|env|globals|variables|collectionVariables)\\b");
+    /**
+     * 紧跟在作用域名之后的方法调用；只有参数是单独的字符串字面量时才能得到变量名
+     */
+    private static final Pattern SCOPE_CALL = Pattern.compile(
+            "\\s*\\.\\s*(get|has|set|unset|clear|replaceIn|toObject)\\s*\\(\\s*(?:(['\"`])([^'\"`\\\\]*)\\2\\s*[,)])?");
+    private static final String LOCAL_SCOPE = "variables";
+
+    private static final int[] NO_DEPENDENCIES = new int[0];
+
+    private final int[][] dependencies;
+    private final boolean iterationsIndependent;
+
+    private FunctionalExecutionPlan(int[][] dependencies, boolean iterationsIndependent) {
+        this.dependencies = dependencies;
+        this.iterationsIndependent = iterationsIndependent;
+    }
+
+    /**
+     * @param requests 按执行顺序排列、已合并分组继承配置的请求
+     */
+    public static FunctionalExecutionPlan analyze(List<HttpRequestItem> requests) {
+        List<Usage> usages = new ArrayList<>(requests.size());
+        boolean sharedWrites = false;
+        for (HttpRequestItem request : requests) {
+            Usage usage = Usage.of(request);
+            usages.add(usage);
+            sharedWrites |= usage.sharedWrites;
+        }
+
+        int[][] dependencies = new int[usages.size()][];
+        for (int row = 0; row < usages.size(); row++) {
+            List<Integer> predecessors = new ArrayList<>();
+            for (int earlier = 0; earlier < row; earlier++) {
+                if (conflicts(usages.get(earlier), usages.get(row))) {
+                    predecessors.add(earlier);
+                }
+            }
+            dependencies[row] = predecessors.isEmpty()
+                    ? NO_DEPENDENCIES
+                    : predecessors.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new FunctionalExecutionPlan(dependencies, !sharedWrites);
+    }
+
+    /**
+     * 每行依赖前一行、迭代之间也依次执行，与串行执行等价
+     */
+    public static FunctionalExecutionPlan sequential(int size) {
+        int[][] dependencies = new int[size][];
+        for (int row = 0; row < size; row++) {
+            dependencies[row] = row == 0 ? NO_DEPENDENCIES : new int[]{row - 1};
+        }
+        return new FunctionalExecutionPlan(dependencies, false);
+    }
+
+    public int size() {
+        return dependencies.length;
+    }
+
+    /**
+     * 同一轮迭代中必须先执行完的行下标，均小于 row
+     */
+    public int[] dependenciesOf(int row) {
+        return dependencies[row].clone();
+    }
+
+    /**
+     * 各轮迭代之间是否可以并行
+     */
+    public boolean isIterationsIndependent() {
+        return iterationsIndependent;
+    }
+
+    private static boolean conflicts(Usage earlier, Usage later) {
+        if (earlier.sharedWrites || later.sharedWrites) {
+            return true;
+        }
+        if ((earlier.unknownWrites && later.touchesVariables()) || (later.unknownWrites && earlier.touchesVariables())) {
+            return true;
+        }
+        if ((earlier.unknownReads && later.writesAny()) || (later.unknownReads && earlier.writesAny())) {
+            return true;
+        }
+        return intersects(earlier.writes, later.reads)
+                || intersects(earlier.reads, later.writes)
+                || intersects(earlier.writes, later.writes);
+    }
+
+    private static boolean intersects(Set<String> a, Set<String> b) {
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        for (String value : smaller) {
+            if (larger.contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Usage {
+        private final Set<String> reads = new HashSet<>();
+        private final Set<String> writes = new HashSet<>();
+        private boolean unknownReads;
+        private boolean unknownWrites;
+        /**
+         * 写了环境、全局等多行共享且非线程安全的作用域
+         */
+        private boolean sharedWrites;
+
+        static Usage of(HttpRequestItem request) {
+            Usage usage = new Usage();
+            if (request == null) {
+                return usage;
+            }
+            usage.readReferences(request.getUrl());
+            usage.readReferences(request.getBody());
+            usage.readReferences(request.getAuthUsername());
+            usage.readReferences(request.getAuthPassword());
+            usage.readReferences(request.getAuthToken());
+            usage.readReferences(request.getAuthApiKeyName());
+            usage.readReferences(request.getAuthApiKeyValue());
+            if (request.getHeadersList() != null) {
+                for (HttpHeader header : request.getHeadersList()) {
+                    if (header != null) {
+                        usage.readReferences(header.getKey());
+                        usage.readReferences(header.getValue());
+                    }
+                }
+            }
+            usage.readParams(request.getParamsList());
+            usage.readParams(request.getPathVariablesList());
+            if (request.getFormDataList() != null) {
+                for (HttpFormData data : request.getFormDataList()) {
+                    if (data != null) {
+                        usage.readReferences(data.getKey());
+                        usage.readReferences(data.getValue());
+                    }
+                }
+            }
+            if (request.getUrlencodedList() != null) {
+                for (HttpFormUrlencoded data : request.getUrlencodedList()) {
+                    if (data != null) {
+                        usage.readReferences(data.getKey());
+                        usage.readReferences(data.getValue());
+                    }
+                }
+            }
+            usage.analyzeScript(request.getPrescript());
+            usage.analyzeScript(request.getPostscript());
+            return usage;
+        }
+
+        boolean writesAny() {
+            return unknownWrites || !writes.isEmpty();
+        }
+
+        boolean touchesVariables() {
+            return writesAny() || unknownReads || !reads.isEmpty();
+        }
+
+        private void readParams(List<HttpParam> params) {
+            if (params == null) {
+                return;
+            }
+            for (HttpParam param : params) {
+                if (param != null) {
+                    readReferences(param.getKey());
+                    readReferences(param.getValue());
+                }
+            }
+        }
+
+        private void readReferences(String text) {
+            if (text == null || text.indexOf("{{") < 0) {
+                return;
+            }
+            Matcher matcher = VARIABLE_REFERENCE.matcher(text);
+            while (matcher.find()) {
+                String name = matcher.group(1);
+                // {{$guid}} 等动态变量不来自任何一行
+                if (!name.startsWith("$")) {
+                    reads.add(name);
+                }
+            }
+        }
+
+        private void analyzeScript(String script) {
+            if (script == null || script.isBlank()) {
+                return;
+            }
+            // 脚本里 replaceIn 等拼出来的模板同样按 {{变量}} 读取
+            readReferences(script);
+            Matcher scope = SCOPE_REFERENCE.matcher(script);
+            Matcher call = SCOPE_CALL.matcher(script);
+            while (scope.find()) {
+                boolean local = LOCAL_SCOPE.equals(scope.group(1));
+                call.region(scope.end(), script.length());
+                if (!call.lookingAt()) {
+                    // 作用域对象被赋值或传递，之后的读写无法追踪
+                    unknownReads = true;
+                    markUnknownWrite(local);
+                    continue;
+                }
+                String method = call.group(1);
+                String key = call.group(3);
+                switch (method) {
+                    case "get", "has" -> {
+                        if (key == null) {
+                            unknownReads = true;
+                        } else {
+                            reads.add(key);
+                        }
+                    }
+                    case "set", "unset" -> {
+                        if (key == null) {
+                            markUnknownWrite(local);
+                        } else {
+                            writes.add(key);
+                            sharedWrites |= !local;
+                        }
+                    }
+                    case "clear" -> markUnknownWrite(local);
+                    default -> unknownReads = true;
+                }
+            }
+        }
+
+        private void markUnknownWrite(boolean local) {
+            unknownWrites = true;
+            sharedWrites |= !local;
+        }
+    }
+}
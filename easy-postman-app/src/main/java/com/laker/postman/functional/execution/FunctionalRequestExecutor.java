@@ -10,10 +10,12 @@ import com.laker.postman.http.runtime.model.PreparedRequest;
 import com.laker.postman.http.runtime.transport.DefaultHttpTransport;
 import com.laker.postman.http.runtime.transport.HttpExchangeOptions;
 import com.laker.postman.http.runtime.transport.HttpTransport;
+import com.laker.postman.model.Environment;
 import com.laker.postman.request.model.HttpRequestItem;
 import com.laker.postman.service.js.ScriptExecutionPipeline;
 import com.laker.postman.service.js.ScriptExecutionResult;
 import com.laker.postman.service.variable.ExecutionVariableContext;
+import com.laker.postman.service.variable.RunScopedVariableContext;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.function.BooleanSupplier;
@@ -47,10 +49,14 @@ public final class FunctionalRequestExecutor {
         PreparedRequest request = PreparedRequestFactory.build(item);
         HttpCaptureProfiles.apply(request, HttpCaptureProfile.FUNCTIONAL_DIAGNOSTIC);
 
+        // 命令行运行时环境变量由 RunScopedVariableContext 提供，脚本里的 pm.environment 也要指向它
+        Environment scopedEnvironment = RunScopedVariableContext.currentEnvironment();
         ScriptExecutionPipeline pipeline = ScriptExecutionPipeline.forRequestExecution(
                 item,
                 request,
-                iterationContext
+                iterationContext,
+                null,
+                scopedEnvironment == null ? null : () -> scopedEnvironment
         );
 
         ScriptExecutionResult preResult = pipeline.executePreScript();
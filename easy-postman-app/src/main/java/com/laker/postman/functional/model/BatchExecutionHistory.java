@@ -2,17 +2,18 @@ package com.laker.postman.functional.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 批量执行的历史记录
- * 记录所有轮次的执行结果
+ * 记录所有轮次的执行结果；执行线程写入、界面线程读取
  */
 public class BatchExecutionHistory {
-    private final List<IterationResult> iterations = new ArrayList<>();
+    private final List<IterationResult> iterations = new CopyOnWriteArrayList<>();
     private int totalIterations;
     private int totalRequests;
     private long startTime;
-    private long endTime;
+    private volatile long endTime;
 
     public BatchExecutionHistory() {
         this.startTime = System.currentTimeMillis();
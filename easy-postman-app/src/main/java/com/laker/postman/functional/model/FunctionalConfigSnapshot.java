@@ -8,10 +8,16 @@ import java.util.List;
 public class FunctionalConfigSnapshot {
     List<FunctionalConfigRow> rows;
     FunctionalCsvDataState csvState;
+    int concurrency;
 
     public FunctionalConfigSnapshot(List<FunctionalConfigRow> rows, FunctionalCsvDataState csvState) {
+        this(rows, csvState, 1);
+    }
+
+    public FunctionalConfigSnapshot(List<FunctionalConfigRow> rows, FunctionalCsvDataState csvState, int concurrency) {
         this.rows = rows == null ? List.of() : List.copyOf(rows);
         this.csvState = csvState;
+        this.concurrency = Math.max(1, concurrency);
     }
 
     public static FunctionalConfigSnapshot empty() {
@@ -37,6 +37,7 @@ public class RequestPreparationNetworkLogPublisher {
         sb.append("Proxy Policy: ").append(request.proxyPolicy == null ? "-" : request.proxyPolicy).append("\n");
         sb.append("SSL Verification: ").append(request.sslVerificationEnabled ? "enabled" : "disabled").append("\n");
         sb.append("HTTP Version: ").append(valueOrDash(request.httpVersion)).append("\n");
+        sb.append("Body Compression: ").append(valueOrDash(request.requestBodyCompression)).append("\n");
         sb.append("Timeout: ").append(request.requestTimeoutMs > 0 ? request.requestTimeoutMs + "ms" : "default").append("\n");
         return sb.toString();
     }
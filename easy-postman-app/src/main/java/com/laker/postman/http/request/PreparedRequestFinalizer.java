@@ -2,6 +2,7 @@ package com.laker.postman.http.request;
 
 import com.laker.postman.http.runtime.model.PreparedRequest;
 import com.laker.postman.http.runtime.mapper.PreparedRequestMapper;
+import com.laker.postman.http.runtime.okhttp.RequestBodyTemplate;
 import com.laker.postman.request.model.AuthApiKeyPlacement;
 import com.laker.postman.request.model.HttpHeader;
 import com.laker.postman.request.model.HttpParam;
@@ -63,7 +64,7 @@ public class PreparedRequestFinalizer {
             replaceVariablesInParamsList(request.paramsList);
             applyDeferredQueryAuthorization(request, deferredAuthorization);
             request.url = HttpUrlUtil.buildEncodedUrl(request.url, request.paramsList);
-            request.body = VariableResolver.resolve(request.body);
+            request.body = resolveBody(request);
 
             applyDeferredAuthorization(request, deferredAuthorization);
         } finally {
@@ -79,6 +80,20 @@ public class PreparedRequestFinalizer {
         finalizeForSend(request, PreparedRequestFactory.resolveDeferredAuthorization(item));
     }
 
+    /**
+     * 请求体未被脚本改写且带有模板时按模板渲染，只解析变量槽位，静态部分沿用预编码字节
+     */
+    private String resolveBody(PreparedRequest request) {
+        RequestBodyTemplate template = request.bodyTemplate;
+        if (template == null || !template.matches(request.body)) {
+            request.renderedBody = null;
+            return VariableResolver.resolve(request.body);
+        }
+        RequestBodyTemplate.Rendered rendered = template.render(VariableResolver::resolve);
+        request.renderedBody = rendered;
+        return rendered.text();
+    }
+
     private void applyDeferredAuthorization(PreparedRequest request,
                                             PreparedRequestMapper.DeferredAuthorization deferredAuthorization) {
         if (request == null) {
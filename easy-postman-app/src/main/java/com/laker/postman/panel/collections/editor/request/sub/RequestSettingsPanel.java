@@ -5,6 +5,7 @@ import com.laker.postman.common.component.ToolWindowSurfaceStyle;
 import com.laker.postman.common.component.button.SwitchButton;
 import com.laker.postman.common.constants.ModernColors;
 import com.laker.postman.request.edit.HttpRequestSettingsDraft;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 import com.laker.postman.request.model.HttpRequestProxyPolicy;
 import com.laker.postman.request.model.HttpRequestVersions;
 import com.laker.postman.service.setting.SettingManager;
@@ -37,6 +38,7 @@ public class RequestSettingsPanel extends JScrollPane {
     private final SwitchButton useCookieJarSwitch;
     private final EasyComboBox<ProxyPolicyOption> proxyPolicyComboBox;
     private final EasyComboBox<HttpVersionOption> httpVersionComboBox;
+    private final EasyComboBox<BodyCompressionOption> bodyCompressionComboBox;
     private final JTextField requestTimeoutField;
     private final JLabel requestTimeoutHintLabel;
 
@@ -60,12 +62,14 @@ public class RequestSettingsPanel extends JScrollPane {
         useCookieJarSwitch = new SwitchButton();
         proxyPolicyComboBox = new EasyComboBox<>(createProxyPolicyOptions(), EasyComboBox.WidthMode.FIXED_MAX);
         httpVersionComboBox = new EasyComboBox<>(createHttpVersionOptions(), EasyComboBox.WidthMode.FIXED_MAX);
+        bodyCompressionComboBox = new EasyComboBox<>(createBodyCompressionOptions(), EasyComboBox.WidthMode.FIXED_MAX);
         requestTimeoutField = new JTextField();
         requestTimeoutHintLabel = createHintLabel();
 
         ((AbstractDocument) requestTimeoutField.getDocument()).setDocumentFilter(new DigitsOnlyDocumentFilter());
         proxyPolicyComboBox.setFont(FontsUtil.getDefaultFontWithOffset(Font.PLAIN, -1));
         httpVersionComboBox.setFont(FontsUtil.getDefaultFontWithOffset(Font.PLAIN, -1));
+        bodyCompressionComboBox.setFont(FontsUtil.getDefaultFontWithOffset(Font.PLAIN, -1));
         requestTimeoutField.setFont(FontsUtil.getDefaultFontWithOffset(Font.PLAIN, -1));
         requestTimeoutField.setColumns(10);
 
@@ -89,6 +93,11 @@ public class RequestSettingsPanel extends JScrollPane {
                 I18nUtil.getMessage(MessageKeys.REQUEST_SETTINGS_HTTP_VERSION_DESC),
                 httpVersionComboBox
         ), "growx, wrap");
+        content.add(createSelectRow(
+                I18nUtil.getMessage(MessageKeys.REQUEST_SETTINGS_BODY_COMPRESSION_LABEL),
+                I18nUtil.getMessage(MessageKeys.REQUEST_SETTINGS_BODY_COMPRESSION_DESC),
+                bodyCompressionComboBox
+        ), "growx, wrap");
         content.add(createTimeoutRow(), "growx, wrap");
         populate(null);
     }
@@ -103,6 +112,9 @@ public class RequestSettingsPanel extends JScrollPane {
         useCookieJarSwitch.setSelected(cookieJarEnabled == null || cookieJarEnabled);
         proxyPolicyComboBox.setSelectedItem(findProxyPolicyOption(settings != null ? settings.getProxyPolicy() : null));
         httpVersionComboBox.setSelectedItem(findHttpVersionOption(settings != null ? settings.getHttpVersion() : null));
+        bodyCompressionComboBox.setSelectedItem(findBodyCompressionOption(
+                settings != null ? settings.getRequestBodyCompression() : null
+        ));
         Integer requestTimeout = settings != null ? settings.getRequestTimeoutMs() : null;
         requestTimeoutField.setText(requestTimeout != null ? String.valueOf(requestTimeout) : "");
     }
@@ -114,6 +126,7 @@ public class RequestSettingsPanel extends JScrollPane {
                 .proxyPolicy(getSelectedProxyPolicy())
                 .httpVersion(getStoredHttpVersionValue())
                 .requestTimeoutMs(getStoredRequestTimeoutValue())
+                .requestBodyCompression(getSelectedBodyCompression())
                 .build();
     }
 
@@ -130,6 +143,7 @@ public class RequestSettingsPanel extends JScrollPane {
         useCookieJarSwitch.setEnabled(editable);
         proxyPolicyComboBox.setEnabled(editable);
         httpVersionComboBox.setEnabled(editable);
+        bodyCompressionComboBox.setEnabled(editable);
         requestTimeoutField.setEditable(editable);
         requestTimeoutField.setEnabled(editable);
     }
@@ -142,6 +156,7 @@ public class RequestSettingsPanel extends JScrollPane {
         useCookieJarSwitch.addActionListener(e -> listener.run());
         proxyPolicyComboBox.addActionListener(e -> listener.run());
         httpVersionComboBox.addActionListener(e -> listener.run());
+        bodyCompressionComboBox.addActionListener(e -> listener.run());
         requestTimeoutField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void insertUpdate(DocumentEvent e) {
@@ -311,6 +326,18 @@ public class RequestSettingsPanel extends JScrollPane {
         return options.toArray(new HttpVersionOption[0]);
     }
 
+    private BodyCompressionOption[] createBodyCompressionOptions() {
+        return new BodyCompressionOption[]{
+                new BodyCompressionOption(
+                        HttpRequestBodyCompressions.NONE,
+                        I18nUtil.getMessage(MessageKeys.REQUEST_SETTINGS_BODY_COMPRESSION_NONE)
+                ),
+                new BodyCompressionOption(HttpRequestBodyCompressions.GZIP, "gzip"),
+                new BodyCompressionOption(HttpRequestBodyCompressions.DEFLATE, "deflate"),
+                new BodyCompressionOption(HttpRequestBodyCompressions.ZSTD, "zstd")
+        };
+    }
+
     private ProxyPolicyOption[] createProxyPolicyOptions() {
         return new ProxyPolicyOption[]{
                 new ProxyPolicyOption(
@@ -353,6 +380,18 @@ public class RequestSettingsPanel extends JScrollPane {
         return model.getElementAt(0);
     }
 
+    private BodyCompressionOption findBodyCompressionOption(String value) {
+        String normalizedValue = HttpRequestBodyCompressions.normalize(value);
+        ComboBoxModel<BodyCompressionOption> model = bodyCompressionComboBox.getModel();
+        for (int i = 0; i < model.getSize(); i++) {
+            BodyCompressionOption option = model.getElementAt(i);
+            if (option.value.equals(normalizedValue)) {
+                return option;
+            }
+        }
+        return model.getElementAt(0);
+    }
+
     private ProxyPolicyOption findProxyPolicyOption(HttpRequestProxyPolicy value) {
         HttpRequestProxyPolicy normalizedValue = HttpRequestProxyPolicy.normalize(value);
         ComboBoxModel<ProxyPolicyOption> model = proxyPolicyComboBox.getModel();
@@ -375,6 +414,11 @@ public class RequestSettingsPanel extends JScrollPane {
         return option != null ? option.value : HttpRequestVersions.AUTO;
     }
 
+    private String getSelectedBodyCompression() {
+        BodyCompressionOption option = (BodyCompressionOption) bodyCompressionComboBox.getSelectedItem();
+        return option != null ? option.value : HttpRequestBodyCompressions.NONE;
+    }
+
     private HttpRequestProxyPolicy getSelectedProxyPolicy() {
         ProxyPolicyOption option = (ProxyPolicyOption) proxyPolicyComboBox.getSelectedItem();
         return option != null ? option.value : HttpRequestProxyPolicy.DEFAULT;
@@ -442,6 +486,21 @@ public class RequestSettingsPanel extends JScrollPane {
         }
     }
 
+    private static final class BodyCompressionOption {
+        private final String value;
+        private final String label;
+
+        private BodyCompressionOption(String value, String label) {
+            this.value = value;
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
     private static final class ProxyPolicyOption {
         private final HttpRequestProxyPolicy value;
         private final String label;
@@ -10,6 +10,7 @@ import com.laker.postman.common.component.SearchableTextArea;
 import com.laker.postman.common.component.ToolWindowSurfaceStyle;
 import com.laker.postman.common.component.ViewportClippedTokenPainter;
 import com.laker.postman.common.component.button.*;
+import com.laker.postman.common.component.largetext.LargeTextViewer;
 import com.laker.postman.common.constants.ModernColors;
 import com.laker.postman.frame.MainFrame;
 import com.laker.postman.http.runtime.model.HttpResponse;
@@ -27,8 +28,10 @@ import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 /**
  * 响应体面板，展示 HTTP 响应体内容
@@ -39,7 +42,7 @@ import java.util.Map;
  * - 文本搜索
  * - 自动换行控制
  * - 下载响应内容
- * - 大文件优化处理
+ * - 大文件优化处理：超大文本响应落盘后分页查看（{@link LargeTextViewer}）
  * </p>
  */
 public class ResponseBodyPanel extends JPanel {
@@ -67,6 +70,12 @@ public class ResponseBodyPanel extends JPanel {
     private static final String SKIP_AUTO_FORMAT_MESSAGE = " Skip auto-format for large response.";
     private static final String CARD_TEXT = "TEXT";
     private static final String CARD_IMAGE = "IMAGE";
+    private static final String CARD_LARGE_TEXT = "LARGE_TEXT";
+    /**
+     * 内存中的响应体超过该字符数时落盘并分页显示，避免整段文本进入编辑器
+     */
+    private static final int LARGE_TEXT_VIEWER_THRESHOLD = 4 * 1024 * 1024;
+    private static final int SYNTAX_SNIFF_BYTES = 256;
 
     // 图片预览组件
     private final JLabel imagePreviewLabel;
@@ -74,6 +83,11 @@ public class ResponseBodyPanel extends JPanel {
 
     private final JLabel sizeWarningLabel;
 
+    // 超大文本分页查看器
+    private final LargeTextViewer largeTextViewer;
+    private boolean largeTextMode;
+    private long largeTextGeneration;
+
     public ResponseBodyPanel(boolean enableSaveButton) {
         setLayout(new BorderLayout());
         ToolWindowSurfaceStyle.applyCard(this);
@@ -110,6 +124,8 @@ public class ResponseBodyPanel extends JPanel {
         ToolWindowSurfaceStyle.applyCard(centerPanel);
         centerPanel.add(searchableTextArea, CARD_TEXT);
         centerPanel.add(imageScrollPane, CARD_IMAGE);
+        largeTextViewer = new LargeTextViewer();
+        centerPanel.add(largeTextViewer, CARD_LARGE_TEXT);
         add(centerPanel, BorderLayout.CENTER);
 
         JPanel toolBarPanel = new JPanel();
@@ -135,6 +151,10 @@ public class ResponseBodyPanel extends JPanel {
         // 搜索按钮
         searchButton = new SearchButton();
         searchButton.addActionListener(e -> {
+            if (largeTextMode) {
+                largeTextViewer.showSearch();
+                return;
+            }
             responseBodyPane.requestFocusInWindow();
             searchableTextArea.showSearch();
         });
@@ -185,6 +205,14 @@ public class ResponseBodyPanel extends JPanel {
         SyntaxType syntaxType = SyntaxType.getByIndex(idx);
 
         String syntax;
+        if (largeTextMode) {
+            // 分页模式下自动检测只看 Content-Type 和文件开头
+            syntax = syntaxType == SyntaxType.AUTO_DETECT
+                    ? detectLargeTextSyntax(readHead(currentFilePath), getCurrentContentTypeFromHeaders())
+                    : syntaxType.getSyntaxStyle();
+            largeTextViewer.setSyntaxStyle(syntax);
+            return;
+        }
         if (syntaxType == SyntaxType.AUTO_DETECT) {
             // 自动检测语法类型
             syntax = detectSyntax(responseBodyPane.getText(), getCurrentContentTypeFromHeaders());
@@ -202,6 +230,7 @@ public class ResponseBodyPanel extends JPanel {
     private void toggleLineWrap() {
         boolean isWrapEnabled = wrapButton.isSelected();
         responseBodyPane.setLineWrap(isWrapEnabled);
+        largeTextViewer.setLineWrap(isWrapEnabled);
     }
 
 
@@ -279,6 +308,11 @@ public class ResponseBodyPanel extends JPanel {
      * 根据 Content-Type 对 JSON 或 XML 进行格式化美化
      */
     private void formatContent() {
+        if (largeTextMode) {
+            // 分页模式只格式化当前页，再次点击恢复原文
+            largeTextViewer.toggleFormatted();
+            return;
+        }
         String text = responseBodyPane.getText();
         if (text == null || text.isEmpty()) {
             return;
@@ -308,7 +342,8 @@ public class ResponseBodyPanel extends JPanel {
      * 将响应体内容复制到系统剪贴板
      */
     private void copyToClipboard() {
-        String text = responseBodyPane.getText();
+        // 分页模式只复制当前页，完整内容请使用下载
+        String text = largeTextMode ? largeTextViewer.getDisplayedText() : responseBodyPane.getText();
         if (text == null || text.isEmpty()) {
             return;
         }
@@ -362,6 +397,7 @@ public class ResponseBodyPanel extends JPanel {
             return;
         }
 
+        closeLargeText();
         this.currentFilePath = resp.filePath;
         this.fileName = resp.fileName;
         this.lastHeaders = resp.headers;
@@ -372,11 +408,22 @@ public class ResponseBodyPanel extends JPanel {
             return;
         }
 
-        // 切换回文本视图
-        switchCard(CARD_TEXT);
         String text = resp.body;
         String contentType = extractContentType(resp.headers);
 
+        // 超过最大响应体设置的文本已由 HTTP 层保存为临时文件，直接分页查看
+        if (isSpooledTextFile(resp, contentType)) {
+            showLargeText(Path.of(resp.filePath), false, contentType);
+            return;
+        }
+        if (text != null && text.length() > LARGE_TEXT_VIEWER_THRESHOLD) {
+            spoolAndShowLargeText(text, contentType);
+            return;
+        }
+
+        // 切换回文本视图
+        switchCard(CARD_TEXT);
+
         int textSize = text != null ? text.getBytes().length : 0;
         boolean isLargeResponse = textSize > LARGE_RESPONSE_THRESHOLD;
 
@@ -405,6 +452,123 @@ public class ResponseBodyPanel extends JPanel {
         responseBodyPane.setCaretPosition(0);
     }
 
+    private boolean isSpooledTextFile(HttpResponse resp, String contentType) {
+        return resp.filePath != null && !resp.filePath.isEmpty()
+                && !FileExtensionUtil.isBinaryType(contentType)
+                && Files.isRegularFile(Path.of(resp.filePath));
+    }
+
+    /**
+     * 在后台把内存中的超大响应体写入临时文件，完成后分页显示；
+     * 临时文件归查看器所有，切换响应或清空时删除
+     */
+    private void spoolAndShowLargeText(String text, String contentType) {
+        long token = ++largeTextGeneration;
+        responseBodyPane.setText("");
+        largeTextMode = true;
+        switchCard(CARD_LARGE_TEXT);
+        updateLargeTextLabel(text.length());
+        new SwingWorker<Path, Void>() {
+            @Override
+            protected Path doInBackground() throws IOException {
+                Path file = Files.createTempFile("easyPostman_large_response_", ".txt");
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    writer.write(text);
+                } catch (IOException e) {
+                    Files.deleteIfExists(file);
+                    throw e;
+                }
+                return file;
+            }
+
+            @Override
+            protected void done() {
+                Path file;
+                try {
+                    file = get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    NotificationCenter.showError("Large Response Error: " + e.getCause().getMessage());
+                    return;
+                }
+                if (token != largeTextGeneration) {
+                    // 已切换到其它响应
+                    file.toFile().delete();
+                    return;
+                }
+                currentFilePath = file.toString();
+                showLargeText(file, true, contentType);
+            }
+        }.execute();
+    }
+
+    private void showLargeText(Path file, boolean deleteOnClose, String contentType) {
+        responseBodyPane.setText("");
+        largeTextMode = true;
+        switchCard(CARD_LARGE_TEXT);
+        String syntax = detectLargeTextSyntax(readHead(file.toString()), contentType);
+        syntaxComboBox.setSelectedIndex(SyntaxType.getBySyntaxStyle(syntax).getIndex());
+        try {
+            largeTextViewer.open(file, deleteOnClose, syntax);
+            largeTextViewer.setLineWrap(wrapButton.isSelected());
+            if (SettingManager.isAutoFormatResponse()) {
+                largeTextViewer.setFormatted(true);
+            }
+            updateLargeTextLabel(largeTextViewer.getDocument().size());
+        } catch (IOException e) {
+            largeTextMode = false;
+            switchCard(CARD_TEXT);
+            responseBodyPane.setText("[Failed to open response file: " + e.getMessage() + "]");
+        }
+    }
+
+    private void closeLargeText() {
+        largeTextGeneration++;
+        largeTextMode = false;
+        largeTextViewer.close();
+    }
+
+    private void updateLargeTextLabel(long size) {
+        sizeWarningLabel.setText(String.format("  [%.2f MB]", size / 1024.0 / 1024.0));
+        sizeWarningLabel.setVisible(true);
+    }
+
+    /**
+     * 读取文件开头的少量字节用于语法识别
+     */
+    private static String readHead(String filePath) {
+        if (filePath == null || filePath.isEmpty()) {
+            return "";
+        }
+        try (InputStream in = new FileInputStream(filePath)) {
+            return new String(in.readNBytes(SYNTAX_SNIFF_BYTES), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * 分页模式下的语法识别：只依据 Content-Type 和文本开头，不读取全文
+     */
+    private String detectLargeTextSyntax(String head, String contentType) {
+        String syntax = detectSyntax(null, contentType);
+        if (!SyntaxConstants.SYNTAX_STYLE_NONE.equals(syntax)) {
+            return syntax;
+        }
+        String t = head.stripLeading();
+        if (t.startsWith("{") || t.startsWith("[")) {
+            return SyntaxConstants.SYNTAX_STYLE_JSON;
+        }
+        if (t.startsWith("<")) {
+            String lower = t.toLowerCase();
+            if (lower.startsWith("<!doctype html") || lower.startsWith("<html")) return SyntaxConstants.SYNTAX_STYLE_HTML;
+            if (lower.startsWith("<?xml")) return SyntaxConstants.SYNTAX_STYLE_XML;
+        }
+        return SyntaxConstants.SYNTAX_STYLE_NONE;
+    }
+
     /**
      * 动态检测语法类型
      * <p>
@@ -488,6 +652,7 @@ public class ResponseBodyPanel extends JPanel {
         searchButton.setEnabled(enabled);
         downloadButton.setEnabled(enabled);
         searchableTextArea.setEnabled(enabled);
+        largeTextViewer.setEnabled(enabled);
 
         if (formatButton != null) formatButton.setEnabled(enabled);
         if (copyButton != null) copyButton.setEnabled(enabled);
@@ -580,6 +745,7 @@ public class ResponseBodyPanel extends JPanel {
      * 清空响应体内容
      */
     private void clearResponseBody() {
+        closeLargeText();
         responseBodyPane.setText("");
         currentFilePath = null;
         fileName = DEFAULT_FILE_NAME;
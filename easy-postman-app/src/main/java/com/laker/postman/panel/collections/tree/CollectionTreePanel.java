@@ -12,11 +12,13 @@ import com.laker.postman.common.async.EasyTaskExecutor;
 import com.laker.postman.common.component.ToolWindowSurfaceStyle;
 import com.laker.postman.common.component.tree.RequestTreeCellRenderer;
 import com.laker.postman.common.component.tree.TreeTransferHandler;
+import com.laker.postman.ioc.BeanFactory;
 import com.laker.postman.panel.collections.OpenedRequestTabSessionRestorer;
 import com.laker.postman.panel.collections.tree.action.TreeNodeCloner;
 import com.laker.postman.panel.collections.tree.handler.RequestTreeKeyboardHandler;
 import com.laker.postman.panel.collections.tree.handler.RequestTreeMouseHandler;
 import com.laker.postman.panel.collections.editor.RequestEditorPanel;
+import com.laker.postman.service.HistoryPersistenceService;
 import com.laker.postman.service.WorkspaceService;
 import com.laker.postman.service.collections.CollectionDocumentRegistry;
 import com.laker.postman.panel.collections.tree.adapter.SwingCollectionRequestSaveCoordinator;
@@ -28,7 +30,7 @@ import com.laker.postman.service.collections.CollectionTreeQueryService;
 import com.laker.postman.service.collections.RequestSaveEventPublisher;
 import com.laker.postman.panel.collections.tree.adapter.SwingCollectionTreePersistence;
 import com.laker.postman.panel.collections.tree.adapter.SwingCollectionTreeQueries;
-import com.laker.postman.panel.collections.tree.adapter.SwingCollectionTreeDocumentMapper;
+import com.laker.postman.service.search.SearchIndexService;
 import com.laker.postman.util.SystemUtil;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -91,12 +93,13 @@ public class CollectionTreePanel extends UiSingletonPanel {
         // 初始化请求树
         rootTreeNode = new DefaultMutableTreeNode(ROOT);
         CollectionTreeRootRegistry.registerRootSupplier(() -> rootTreeNode);
-        CollectionDocumentRegistry.registerDocumentSupplier(() -> SwingCollectionTreeDocumentMapper.fromRoot(rootTreeNode));
         treeModel = new DefaultTreeModel(rootTreeNode);
         Workspace currentWorkspace = WorkspaceService.getInstance().getCurrentWorkspace();
         String filePath = SystemUtil.getCollectionPathForWorkspace(currentWorkspace);
         // 初始化持久化工具
         collectionTreePersistence = new SwingCollectionTreePersistence(filePath, rootTreeNode, treeModel);
+        CollectionDocumentRegistry.registerDocumentSupplier(collectionTreePersistence::cachedDocument);
+        collectionTreePersistence.setSaveListener(SearchIndexService.getInstance()::onCollectionSaved);
         requestSaveCoordinator = new SwingCollectionRequestSaveCoordinator(rootTreeNode, collectionTreePersistence::saveCurrentTree);
         // 创建树组件，重写 getScrollableTracksViewportWidth 确保树宽度始终铺满 viewport，
         // 这样鼠标在行的右侧空白区域仍在 JTree 上，mouseMoved 事件能正常触发
@@ -170,6 +173,7 @@ public class CollectionTreePanel extends UiSingletonPanel {
 
     private StartupLoadSnapshot loadStartupSnapshot() {
         collectionTreePersistence.loadIntoTree();
+        openSearchIndex(SystemUtil.getCollectionPathForWorkspace(WorkspaceService.getInstance().getCurrentWorkspace()));
         List<HttpRequestItem> openedRequests = OpenedRequestTabsStore.loadAll();
         HttpRequestItem lastNonNewRequest = CollectionTreeQueryService.findLastPersistedRequest(openedRequests);
         return new StartupLoadSnapshot(openedRequests, lastNonNewRequest);
@@ -375,6 +379,14 @@ public class CollectionTreePanel extends UiSingletonPanel {
         requestTree.requestFocusInWindow();
     }
 
+    private void openSearchIndex(String collectionFilePath) {
+        SearchIndexService.getInstance().open(
+                collectionFilePath,
+                collectionTreePersistence::cachedDocument,
+                () -> BeanFactory.getBean(HistoryPersistenceService.class).getHistory()
+        );
+    }
+
     /**
      * 切换到指定工作区的请求集合文件，并在集合树加载完成后执行回调。
      */
@@ -386,6 +398,8 @@ public class CollectionTreePanel extends UiSingletonPanel {
                     // 后台线程：执行文件加载操作
                     if (collectionTreePersistence != null) {
                         collectionTreePersistence.switchDataFilePath(collectionFilePath);
+                        // Git 拉取、历史恢复后集合文件已变，索引按文件指纹判断是否需要重建
+                        openSearchIndex(collectionFilePath);
                     }
                 })
                 .onSuccess(() -> {
@@ -30,7 +30,10 @@ import com.laker.postman.panel.collections.tree.adapter.SwingCollectionTreeDocum
 import com.laker.postman.service.curl.CurlParser;
 import com.laker.postman.service.har.HarParser;
 import com.laker.postman.service.ideahttp.IntelliJHttpParser;
+import com.laker.postman.collection.importer.ImportFilter;
+import com.laker.postman.collection.importer.ImportProgressListener;
 import com.laker.postman.collection.importer.postman.PostmanCollectionParser;
+import com.laker.postman.service.search.SearchIndexService;
 import com.laker.postman.service.swagger.SwaggerParser;
 import com.laker.postman.util.I18nUtil;
 import com.laker.postman.util.IconUtil;
@@ -54,6 +57,7 @@ import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import static com.laker.postman.panel.collections.tree.CollectionTreePanel.*;
@@ -67,6 +71,7 @@ public class CollectionTreeToolbar extends UiSingletonPanel {
     private static final String FILE_CHOOSER_STATE_SWAGGER_IMPORT = "collections.import.swagger";
     private static final String FILE_CHOOSER_STATE_HTTP_IMPORT = "collections.import.http";
     private static final String FILE_CHOOSER_STATE_APIPOST_IMPORT = "collections.import.apipost";
+    private static final int CONTENT_SEARCH_LIMIT = 5000;
 
     private SearchTextField searchField;
     /**
@@ -207,7 +212,8 @@ public class CollectionTreeToolbar extends UiSingletonPanel {
                 boolean wholeWord = searchField.isWholeWord();
 
                 DefaultMutableTreeNode filteredRoot = new DefaultMutableTreeNode(ROOT);
-                boolean hasResult = filterNodes(leftPanel.getRootTreeNode(), filteredRoot, text, caseSensitive, wholeWord);
+                boolean hasResult = filterNodes(leftPanel.getRootTreeNode(), filteredRoot, text, caseSensitive, wholeWord,
+                        searchContentMatches(text, caseSensitive, wholeWord));
                 // 无结果时搜索框变红，有结果时恢复正常
                 searchField.setNoResult(!hasResult);
                 leftPanel.getTreeModel().setRoot(filteredRoot);
@@ -239,7 +245,8 @@ public class CollectionTreeToolbar extends UiSingletonPanel {
                 boolean caseSensitive = searchField.isCaseSensitive();
                 boolean wholeWord = searchField.isWholeWord();
                 DefaultMutableTreeNode filteredRoot = new DefaultMutableTreeNode(ROOT);
-                boolean hasResult = filterNodes(leftPanel.getRootTreeNode(), filteredRoot, text, caseSensitive, wholeWord);
+                boolean hasResult = filterNodes(leftPanel.getRootTreeNode(), filteredRoot, text, caseSensitive, wholeWord,
+                        searchContentMatches(text, caseSensitive, wholeWord));
                 searchField.setNoResult(!hasResult);
                 leftPanel.getTreeModel().setRoot(filteredRoot);
                 leftPanel.getTreeModel().reload();
@@ -253,7 +260,8 @@ public class CollectionTreeToolbar extends UiSingletonPanel {
                 boolean caseSensitive = searchField.isCaseSensitive();
                 boolean wholeWord = searchField.isWholeWord();
                 DefaultMutableTreeNode filteredRoot = new DefaultMutableTreeNode(ROOT);
-                boolean hasResult = filterNodes(leftPanel.getRootTreeNode(), filteredRoot, text, caseSensitive, wholeWord);
+                boolean hasResult = filterNodes(leftPanel.getRootTreeNode(), filteredRoot, text, caseSensitive, wholeWord,
+                        searchContentMatches(text, caseSensitive, wholeWord));
                 searchField.setNoResult(!hasResult);
                 leftPanel.getTreeModel().setRoot(filteredRoot);
                 leftPanel.getTreeModel().reload();
@@ -311,9 +319,9 @@ public class CollectionTreeToolbar extends UiSingletonPanel {
         if (userSelection == SystemFileChooser.APPROVE_OPTION) {
             File fileToOpen = fileChooser.getSelectedFile();
             try {
-                String json = FileUtil.readString(fileToOpen, StandardCharsets.UTF_8);
-                CollectionParseResult parseResult =
-                        PostmanCollectionParser.parsePostmanCollection(json);
+                // 流式解析，大文件不整体读入内存
+                CollectionParseResult parseResult = PostmanCollectionParser.parsePostmanCollection(
+                        fileToOpen.toPath(), ImportFilter.all(), ImportProgressListener.NONE);
                 if (parseResult != null) {
                     DefaultMutableTreeNode collectionNode =
                             TreeNodeBuilder.buildFromParseResult(parseResult);
@@ -343,8 +351,9 @@ public class CollectionTreeToolbar extends UiSingletonPanel {
         if (userSelection == SystemFileChooser.APPROVE_OPTION) {
             File fileToOpen = fileChooser.getSelectedFile();
             try {
-                String json = FileUtil.readString(fileToOpen, StandardCharsets.UTF_8);
-                DefaultMutableTreeNode collectionNode = HarParser.parseHar(json);
+                // 流式解析，响应体不会被读入内存
+                DefaultMutableTreeNode collectionNode = HarParser.parseHar(
+                        fileToOpen.toPath(), ImportFilter.all(), ImportProgressListener.NONE);
                 if (collectionNode != null) {
                     leftPanel.getRootTreeNode().add(collectionNode);
                     leftPanel.getTreeModel().reload();
@@ -641,9 +650,20 @@ public class CollectionTreeToolbar extends UiSingletonPanel {
     }
 
 
-    // 递归过滤节点，支持大小写敏感和整词匹配
+    /**
+     * 在全文索引中查找请求头、请求体、脚本或保存的响应命中关键字的请求。
+     * 索引按词匹配且不区分大小写，开启大小写敏感或整词匹配时只按名称和 URL 过滤
+     */
+    private Set<String> searchContentMatches(String keyword, boolean caseSensitive, boolean wholeWord) {
+        if (caseSensitive || wholeWord) {
+            return Set.of();
+        }
+        return SearchIndexService.getInstance().searchRequestIds(keyword, CONTENT_SEARCH_LIMIT);
+    }
+
+    // 递归过滤节点，支持大小写敏感和整词匹配；contentMatches 为内容命中的请求 ID
     private boolean filterNodes(DefaultMutableTreeNode src, DefaultMutableTreeNode dest, String keyword,
-                                boolean caseSensitive, boolean wholeWord) {
+                                boolean caseSensitive, boolean wholeWord, Set<String> contentMatches) {
         boolean matched = false;
         if (CollectionTreeNodes.isGroup(src)) {
             RequestGroup group = CollectionTreeNodes.group(src).orElseThrow();
@@ -652,7 +672,7 @@ public class CollectionTreeToolbar extends UiSingletonPanel {
             boolean childMatched = false;
             for (int i = 0; i < src.getChildCount(); i++) {
                 DefaultMutableTreeNode child = (DefaultMutableTreeNode) src.getChildAt(i);
-                if (filterNodes(child, groupNode, keyword, caseSensitive, wholeWord)) {
+                if (filterNodes(child, groupNode, keyword, caseSensitive, wholeWord, contentMatches)) {
                     childMatched = true;
                 }
             }
@@ -666,7 +686,7 @@ public class CollectionTreeToolbar extends UiSingletonPanel {
                     matchesText(item.getName(), keyword, caseSensitive, wholeWord);
             boolean urlMatch = item.getUrl() != null &&
                     matchesText(item.getUrl(), keyword, caseSensitive, wholeWord);
-            if (nameMatch || urlMatch) {
+            if (nameMatch || urlMatch || contentMatches.contains(item.getId())) {
                 dest.add(CollectionTreeNodes.requestNode(item));
                 matched = true;
             }
@@ -675,7 +695,7 @@ public class CollectionTreeToolbar extends UiSingletonPanel {
             boolean childMatched = false;
             for (int i = 0; i < src.getChildCount(); i++) {
                 DefaultMutableTreeNode child = (DefaultMutableTreeNode) src.getChildAt(i);
-                if (filterNodes(child, dest, keyword, caseSensitive, wholeWord)) {
+                if (filterNodes(child, dest, keyword, caseSensitive, wholeWord, contentMatches)) {
                     childMatched = true;
                 }
             }
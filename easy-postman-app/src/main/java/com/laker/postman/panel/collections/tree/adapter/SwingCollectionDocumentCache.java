@@ -0,0 +1,205 @@
+package com.laker.postman.panel.collections.tree.adapter;
+
+import com.laker.postman.collection.CollectionIndex;
+import com.laker.postman.collection.model.CollectionDocument;
+import com.laker.postman.collection.model.CollectionNode;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Swing 集合树对应的 CollectionDocument 缓存。
+ * <p>
+ * 按 ID 查请求、取分组链时不再每次把整棵 Swing 树映射一遍：文档和它的索引只建立一次，
+ * 之后根据树模型事件增量同步——插入、删除、reload 和节点变更只重新映射受影响的子树。
+ * 无法定位到领域节点的事件（如 reload 整棵树）直接丢弃缓存，下次使用时重建。
+ * </p>
+ */
+public class SwingCollectionDocumentCache implements Supplier<CollectionDocument>, TreeModelListener {
+
+    private final DefaultMutableTreeNode rootTreeNode;
+    private final Map<DefaultMutableTreeNode, CollectionNode> domainNodes = new IdentityHashMap<>();
+    private final Map<CollectionNode, DefaultMutableTreeNode> treeNodes = new IdentityHashMap<>();
+    private CollectionDocument document;
+
+    public SwingCollectionDocumentCache(DefaultMutableTreeNode rootTreeNode) {
+        this.rootTreeNode = rootTreeNode;
+    }
+
+    @Override
+    public synchronized CollectionDocument get() {
+        if (document == null) {
+            rebuild();
+        }
+        return document;
+    }
+
+    /**
+     * 重新映射整棵树，用于保存等需要确保与树完全一致的场景
+     */
+    public synchronized CollectionDocument refresh() {
+        rebuild();
+        return document;
+    }
+
+    public synchronized void invalidate() {
+        document = null;
+        domainNodes.clear();
+        treeNodes.clear();
+    }
+
+    @Override
+    public synchronized void treeNodesInserted(TreeModelEvent e) {
+        if (document == null) {
+            return;
+        }
+        Object parentTreeNode = e.getTreePath().getLastPathComponent();
+        CollectionNode parent = domainNode(parentTreeNode);
+        if (parent == null || parent.isRequest()) {
+            refreshNode(parent, parentTreeNode);
+            return;
+        }
+        int[] indices = e.getChildIndices();
+        Object[] children = e.getChildren();
+        for (int i = 0; i < children.length; i++) {
+            Optional<CollectionNode> child = map(children[i]);
+            if (child.isPresent() && !index().add(parent, indices[i], child.get())) {
+                invalidate();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void treeNodesRemoved(TreeModelEvent e) {
+        if (document == null) {
+            return;
+        }
+        Object parentTreeNode = e.getTreePath().getLastPathComponent();
+        CollectionNode parent = domainNode(parentTreeNode);
+        if (parent != null && parent.isRequest()) {
+            refreshNode(parent, parentTreeNode);
+            return;
+        }
+        for (Object child : e.getChildren()) {
+            CollectionNode node = domainNode(child);
+            if (node == null) {
+                continue;
+            }
+            if (!index().remove(node)) {
+                invalidate();
+                return;
+            }
+            forget(node);
+        }
+    }
+
+    @Override
+    public synchronized void treeNodesChanged(TreeModelEvent e) {
+        if (document == null) {
+            return;
+        }
+        Object[] children = e.getChildren();
+        if (children == null) {
+            // 根节点本身变化
+            invalidate();
+            return;
+        }
+        for (Object child : children) {
+            CollectionNode oldNode = domainNode(child);
+            if (oldNode != null && !refreshNode(oldNode, child)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void treeStructureChanged(TreeModelEvent e) {
+        if (document == null) {
+            return;
+        }
+        Object changed = e.getTreePath().getLastPathComponent();
+        CollectionNode node = domainNode(changed);
+        if (node == null || !node.isGroup()) {
+            refreshNode(node, changed);
+            return;
+        }
+
+        DefaultMutableTreeNode treeNode = (DefaultMutableTreeNode) changed;
+        for (CollectionNode child : node.getChildren()) {
+            forget(child);
+        }
+        List<CollectionNode> children = new ArrayList<>();
+        for (int i = 0; i < treeNode.getChildCount(); i++) {
+            if (treeNode.getChildAt(i) instanceof DefaultMutableTreeNode childNode) {
+                map(childNode).ifPresent(children::add);
+            }
+        }
+        if (!index().replaceChildren(node, children)) {
+            invalidate();
+        }
+    }
+
+    private void rebuild() {
+        domainNodes.clear();
+        treeNodes.clear();
+        document = SwingCollectionTreeDocumentMapper.fromRoot(rootTreeNode, this::remember);
+    }
+
+    private CollectionIndex index() {
+        return document.index();
+    }
+
+    private Optional<CollectionNode> map(Object treeNode) {
+        if (!(treeNode instanceof DefaultMutableTreeNode node)) {
+            return Optional.empty();
+        }
+        return SwingCollectionTreeDocumentMapper.mapNode(node, this::remember);
+    }
+
+    private CollectionNode domainNode(Object treeNode) {
+        return treeNode instanceof DefaultMutableTreeNode node ? domainNodes.get(node) : null;
+    }
+
+    private void remember(DefaultMutableTreeNode treeNode, CollectionNode node) {
+        domainNodes.put(treeNode, node);
+        treeNodes.put(node, treeNode);
+    }
+
+    private void forget(CollectionNode node) {
+        DefaultMutableTreeNode treeNode = treeNodes.remove(node);
+        if (treeNode != null && domainNodes.get(treeNode) == node) {
+            domainNodes.remove(treeNode);
+        }
+        for (CollectionNode child : node.getChildren()) {
+            forget(child);
+        }
+    }
+
+    /**
+     * 按当前树重新映射单个节点并替换到原位置；节点载荷可能已被换成新对象（如请求保存后）。
+     * 请求节点下只有已保存的响应，响应变化也走这里
+     *
+     * @return 无法增量替换、已丢弃缓存时返回 false
+     */
+    private boolean refreshNode(CollectionNode oldNode, Object treeNode) {
+        if (oldNode == null) {
+            invalidate();
+            return false;
+        }
+        forget(oldNode);
+        Optional<CollectionNode> newNode = map(treeNode);
+        if (newNode.isEmpty() || !index().replace(oldNode, newNode.get())) {
+            invalidate();
+            return false;
+        }
+        return true;
+    }
+}
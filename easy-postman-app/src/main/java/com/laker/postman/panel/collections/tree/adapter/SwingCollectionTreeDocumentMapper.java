@@ -12,23 +12,35 @@ import javax.swing.tree.DefaultMutableTreeNode;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 @UtilityClass
 public class SwingCollectionTreeDocumentMapper {
 
+    private static final BiConsumer<DefaultMutableTreeNode, CollectionNode> NO_VISITOR = (treeNode, node) -> {
+    };
+
     public CollectionDocument fromRoot(DefaultMutableTreeNode rootNode) {
+        return fromRoot(rootNode, NO_VISITOR);
+    }
+
+    /**
+     * 映射整棵树，每映射出一个领域节点就回调一次对应的 Swing 节点
+     */
+    public CollectionDocument fromRoot(DefaultMutableTreeNode rootNode,
+                                       BiConsumer<DefaultMutableTreeNode, CollectionNode> visitor) {
         if (rootNode == null) {
             return CollectionDocument.empty();
         }
 
         List<CollectionNode> roots = new ArrayList<>();
-        Optional<CollectionNode> rootAsDomainNode = mapNode(rootNode);
+        Optional<CollectionNode> rootAsDomainNode = mapNode(rootNode, visitor);
         if (rootAsDomainNode.isPresent()) {
             roots.add(rootAsDomainNode.get());
         } else {
             for (int i = 0; i < rootNode.getChildCount(); i++) {
                 if (rootNode.getChildAt(i) instanceof DefaultMutableTreeNode childNode) {
-                    mapNode(childNode).ifPresent(roots::add);
+                    mapNode(childNode, visitor).ifPresent(roots::add);
                 }
             }
         }
@@ -56,20 +68,26 @@ public class SwingCollectionTreeDocumentMapper {
         return result;
     }
 
-    private Optional<CollectionNode> mapNode(DefaultMutableTreeNode treeNode) {
+    /**
+     * 映射单个子树；分组和请求以外的节点（如已保存的响应）返回 empty
+     */
+    public Optional<CollectionNode> mapNode(DefaultMutableTreeNode treeNode,
+                                            BiConsumer<DefaultMutableTreeNode, CollectionNode> visitor) {
         Optional<RequestGroup> group = CollectionTreeNodes.group(treeNode);
         if (group.isPresent()) {
             CollectionNode groupNode = CollectionNode.group(group.get());
+            visitor.accept(treeNode, groupNode);
             for (int i = 0; i < treeNode.getChildCount(); i++) {
                 if (treeNode.getChildAt(i) instanceof DefaultMutableTreeNode childNode) {
-                    mapNode(childNode).ifPresent(groupNode::addChild);
+                    mapNode(childNode, visitor).ifPresent(groupNode::addChild);
                 }
             }
             return Optional.of(groupNode);
         }
 
-        Optional<HttpRequestItem> request = CollectionTreeNodes.request(treeNode);
-        return request.map(CollectionNode::request);
+        Optional<CollectionNode> request = CollectionTreeNodes.request(treeNode).map(CollectionNode::request);
+        request.ifPresent(node -> visitor.accept(treeNode, node));
+        return request;
     }
 
     private Optional<DefaultMutableTreeNode> toTreeNode(CollectionNode node) {
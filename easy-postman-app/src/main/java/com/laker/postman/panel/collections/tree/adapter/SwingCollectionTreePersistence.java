@@ -9,12 +9,16 @@ import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
 import java.io.File;
 import java.io.IOException;
+import java.util.function.Consumer;
 
 @Slf4j
 public class SwingCollectionTreePersistence {
     private final CollectionFilePersistence filePersistence;
     private final DefaultMutableTreeNode rootTreeNode;
     private final DefaultTreeModel treeModel;
+    private final SwingCollectionDocumentCache documentCache;
+    private Consumer<CollectionDocument> saveListener = document -> {
+    };
 
     public SwingCollectionTreePersistence(String filePath, DefaultMutableTreeNode rootTreeNode, DefaultTreeModel treeModel) {
         this(new CollectionFilePersistence(filePath), rootTreeNode, treeModel);
@@ -26,6 +30,8 @@ public class SwingCollectionTreePersistence {
         this.filePersistence = filePersistence;
         this.rootTreeNode = rootTreeNode;
         this.treeModel = treeModel;
+        this.documentCache = new SwingCollectionDocumentCache(rootTreeNode);
+        treeModel.addTreeModelListener(documentCache);
     }
 
     public void exportCurrentTree(File fileToSave) throws IOException {
@@ -41,7 +47,17 @@ public class SwingCollectionTreePersistence {
     }
 
     public void saveCurrentTree() {
-        filePersistence.save(currentDocument());
+        CollectionDocument document = currentDocument();
+        filePersistence.save(document);
+        saveListener.accept(document);
+    }
+
+    /**
+     * 集合保存到文件后回调，参数为刚保存的文档
+     */
+    public void setSaveListener(Consumer<CollectionDocument> saveListener) {
+        this.saveListener = saveListener == null ? document -> {
+        } : saveListener;
     }
 
     public void switchDataFilePath(String path) {
@@ -52,8 +68,16 @@ public class SwingCollectionTreePersistence {
         }
     }
 
+    /**
+     * 供按 ID 查找请求使用的文档，随树模型事件增量更新，不会每次重新映射整棵树
+     */
+    public CollectionDocument cachedDocument() {
+        return documentCache.get();
+    }
+
     private CollectionDocument currentDocument() {
-        return SwingCollectionTreeDocumentMapper.fromRoot(rootTreeNode);
+        // 保存和导出以树为准重新映射一次，顺带刷新缓存
+        return documentCache.refresh();
     }
 
     private CollectionDocument defaultDocument() {
@@ -4,10 +4,10 @@ import com.laker.postman.common.component.notification.NotificationCenter;
 
 import com.laker.postman.functional.model.AssertionResult;
 import com.laker.postman.functional.model.BatchExecutionHistory;
+import com.laker.postman.functional.execution.FunctionalBatchRunner;
 import com.laker.postman.functional.execution.FunctionalRequestExecutionResult;
 import com.laker.postman.functional.execution.FunctionalRequestExecutor;
 import com.laker.postman.functional.model.IterationResult;
-import com.laker.postman.functional.model.RequestResult;
 import com.laker.postman.functional.model.RunnerRowData;
 import com.laker.postman.request.model.HttpRequestItem;
 
@@ -34,8 +34,6 @@ import com.laker.postman.service.FunctionalPersistenceService;
 import com.laker.postman.common.component.RequestMethodUiMetadata;
 import com.laker.postman.service.collections.CollectionRequestLookup;
 import com.laker.postman.service.collections.RequestSaveEventPublisher;
-import com.laker.postman.service.variable.ExecutionVariableContext;
-import com.laker.postman.service.variable.IterationDataRuntimeSupport;
 import com.laker.postman.util.*;
 import lombok.extern.slf4j.Slf4j;
 
@@ -48,11 +46,15 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 @Slf4j
 public class FunctionalPanel extends UiSingletonPanel {
     public static final String ERROR = "Error";
+    private static final long HISTORY_REFRESH_INTERVAL_MS = 500L;
     private JTable table;
     private FunctionalRunnerTableModel tableModel;
     private StartButton runBtn;
@@ -61,6 +63,7 @@ public class FunctionalPanel extends UiSingletonPanel {
     private JLabel progressLabel; // 进度标签
     private long startTime;       // 记录开始时间
     private Timer executionTimer; // 执行时间计时器
+    private JSpinner concurrencySpinner; // 并发数
     private volatile boolean isStopped = false; // 停止标志
     private volatile int executionGeneration = 0;
 
@@ -138,6 +141,19 @@ public class FunctionalPanel extends UiSingletonPanel {
         JPanel rightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
         rightPanel.setOpaque(false);
 
+        // 并发数
+        JLabel concurrencyLabel = new JLabel(I18nUtil.getMessage(MessageKeys.FUNCTIONAL_CONCURRENCY));
+        concurrencySpinner = new JSpinner(new SpinnerNumberModel(1, 1, FunctionalBatchRunner.MAX_CONCURRENCY, 1));
+        concurrencySpinner.setToolTipText(I18nUtil.getMessage(MessageKeys.FUNCTIONAL_CONCURRENCY_TOOLTIP));
+        concurrencyLabel.setToolTipText(concurrencySpinner.getToolTipText());
+        concurrencySpinner.addChangeListener(e -> scheduleSave());
+        rightPanel.add(concurrencyLabel);
+        rightPanel.add(concurrencySpinner);
+
+        JSeparator concurrencySep = new JSeparator(SwingConstants.VERTICAL);
+        concurrencySep.setPreferredSize(new Dimension(1, 16));
+        rightPanel.add(concurrencySep);
+
         // 执行时间
         timeLabel = new JLabel("0 ms");
         timeLabel.setFont(FontsUtil.getDefaultFont(Font.BOLD));
@@ -222,12 +238,26 @@ public class FunctionalPanel extends UiSingletonPanel {
             }
         }
 
-        final int totalExecutions = selectedCount * iterations;
+        // 执行前固定本次要跑的行和每轮的 CSV 数据，执行期间不再从执行线程访问表格和 CSV 面板
+        List<RunnerRowData> runRows = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            RunnerRowData row = tableModel.getRow(i);
+            if (row != null && row.selected && isValidRow(row)) {
+                runRows.add(row);
+            }
+        }
+        List<Map<String, String>> iterationRows = new ArrayList<>(iterations);
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            iterationRows.add(getCsvDataForIteration(iteration));
+        }
+
+        final int totalExecutions = runRows.size() * iterations;
         BatchExecutionHistory currentHistory = new BatchExecutionHistory();
         currentHistory.setTotalIterations(iterations);
         currentHistory.setTotalRequests(totalExecutions);
         executionHistory = currentHistory;
         int generation = ++executionGeneration;
+        ExecutionProgress progress = new ExecutionProgress(runRows, totalExecutions, currentHistory);
 
         clearRunResults(rowCount);
         runBtn.setEnabled(false);
@@ -237,11 +267,24 @@ public class FunctionalPanel extends UiSingletonPanel {
 
 
         startTime = System.currentTimeMillis();
-        executionTimer = new Timer(100, e -> updateExecutionTime());
+        // 执行线程只登记进度，由计时器按批刷新到表格和结果面板，避免每个请求都排一次界面任务
+        executionTimer = new Timer(100, e -> {
+            updateExecutionTime();
+            flushExecutionProgress(generation, progress, false);
+        });
         executionTimer.start();
 
-        final int finalIterations = iterations;
-        new Thread(() -> executeBatchRequestsWithCsv(rowCount, selectedCount, finalIterations, generation, currentHistory)).start();
+        FunctionalBatchRunner batchRunner = new FunctionalBatchRunner(requestExecutor, getConcurrency());
+        Thread runnerThread = new Thread(() -> {
+            batchRunner.run(runRows, iterationRows, currentHistory, () -> isExecutionActive(generation), progress);
+            finalizeExecution(generation, progress);
+        }, "functional-batch");
+        runnerThread.setDaemon(true);
+        runnerThread.start();
+    }
+
+    private int getConcurrency() {
+        return concurrencySpinner == null ? 1 : (Integer) concurrencySpinner.getValue();
     }
 
     private void clearRunResults(int rowCount) {
@@ -258,42 +301,6 @@ public class FunctionalPanel extends UiSingletonPanel {
         }
     }
 
-    private void executeBatchRequestsWithCsv(int rowCount, int selectedCount, int iterations,
-                                             int generation, BatchExecutionHistory currentHistory) {
-        int totalFinished = 0;
-
-        for (int iteration = 0; iteration < iterations && isExecutionActive(generation); iteration++) {
-            // 获取当前迭代的 CSV 数据
-            Map<String, String> currentCsvRow = getCsvDataForIteration(iteration);
-            Map<String, String> currentIterationData = IterationDataRuntimeSupport.prepare(currentCsvRow);
-            ExecutionVariableContext iterationContext = new ExecutionVariableContext();
-            iterationContext.setIterationInfo(iteration, iterations);
-            iterationContext.replaceIterationData(currentIterationData);
-
-            // 创建当前迭代的结果记录
-            IterationResult iterationResult = new IterationResult(iteration, currentIterationData);
-
-            totalFinished = processIterationRequests(rowCount, selectedCount, iterations, totalFinished,
-                    iterationResult, currentIterationData, iterationContext, generation);
-
-            // 完成当前迭代并添加到历史记录（无论是否停止，都要保存当前迭代的结果）
-            iterationResult.complete();
-            currentHistory.addIteration(iterationResult);
-
-            // 实时更新结果面板
-            SwingUtilities.invokeLater(() -> {
-                if (isExecutionGenerationCurrent(generation)) {
-                    resultsPanel.updateExecutionHistory(currentHistory);
-                }
-            });
-
-            if (isStopped) break;
-        }
-
-        currentHistory.complete();
-        finalizeExecution(generation, currentHistory);
-    }
-
     private Map<String, String> getCsvDataForIteration(int iteration) {
         if (csvDataPanel.hasData() && iteration < csvDataPanel.getRowCount()) {
             return csvDataPanel.getRowData(iteration);
@@ -301,29 +308,6 @@ public class FunctionalPanel extends UiSingletonPanel {
         return Collections.emptyMap();
     }
 
-    private int processIterationRequests(int rowCount, int selectedCount, int iterations,
-                                         int totalFinished, IterationResult iterationResult,
-                                         Map<String, String> currentCsvRow,
-                                         ExecutionVariableContext iterationContext,
-                                         int generation) {
-        int finished = totalFinished;
-
-        for (int i = 0; i < rowCount && isExecutionActive(generation); i++) {
-            RunnerRowData row = tableModel.getRow(i);
-
-            if (!isValidRow(row)) {
-                continue;
-            }
-
-            if (row.selected) {
-                finished = executeAndRecordRequest(row, currentCsvRow, iterationResult, finished,
-                        selectedCount, iterations, iterationContext, generation);
-            }
-        }
-
-        return finished;
-    }
-
     private boolean isValidRow(RunnerRowData row) {
         if (row == null || row.requestItem == null) {
             log.warn("Row is invalid, skipping execution");
@@ -340,85 +324,60 @@ public class FunctionalPanel extends UiSingletonPanel {
         return generation == executionGeneration;
     }
 
-    private int executeAndRecordRequest(RunnerRowData row, Map<String, String> currentCsvRow,
-                                        IterationResult iterationResult, int totalFinished,
-                                        int selectedCount, int iterations,
-                                        ExecutionVariableContext iterationContext,
-                                        int generation) {
+    /**
+     * 把执行线程登记的进度刷新到界面：每行只显示最新一轮的结果，结果面板至多每
+     * {@value #HISTORY_REFRESH_INTERVAL_MS} ms 重建一次
+     */
+    private void flushExecutionProgress(int generation, ExecutionProgress progress, boolean force) {
         if (!isExecutionGenerationCurrent(generation)) {
-            return totalFinished;
+            return;
         }
-
-        // 找到当前行的索引
-        int rowIndex = -1;
-        for (int i = 0; i < tableModel.getRowCount(); i++) {
-            if (tableModel.getRow(i) == row) {
-                rowIndex = i;
-                break;
+        RunnerRowData running = progress.runningRow;
+        if (running != null && running != progress.highlightedRow) {
+            progress.highlightedRow = running;
+            int rowIndex = indexOfRow(running);
+            if (rowIndex >= 0) {
+                table.setRowSelectionInterval(rowIndex, rowIndex);
+                table.scrollRectToVisible(table.getCellRect(rowIndex, 0, true));
             }
         }
 
-        // 高亮当前执行的行
-        final int currentRowIndex = rowIndex;
-        if (currentRowIndex >= 0) {
-            SwingUtilities.invokeLater(() -> {
-                if (isExecutionGenerationCurrent(generation) && currentRowIndex < tableModel.getRowCount()) {
-                    table.setRowSelectionInterval(currentRowIndex, currentRowIndex);
-                    table.scrollRectToVisible(table.getCellRect(currentRowIndex, 0, true));
-                }
-            });
-        }
-
-        FunctionalRequestExecutionResult result = requestExecutor.execute(
-                row,
-                iterationContext,
-                () -> isExecutionActive(generation)
-        );
-        if (!isExecutionGenerationCurrent(generation)) {
-            return totalFinished;
-        }
-
-        // 更新表格中的执行结果
-        if (currentRowIndex >= 0) {
+        for (Integer runIndex : progress.rowUpdates.keySet()) {
+            RowUpdate update = progress.rowUpdates.remove(runIndex);
+            RunnerRowData row = progress.rows.get(runIndex);
+            int rowIndex = indexOfRow(row);
+            if (update == null || rowIndex < 0) {
+                continue;
+            }
+            FunctionalRequestExecutionResult result = update.result();
             row.status = result.getStatus();
             row.cost = result.getCost();
             row.assertion = result.getAssertion();
             row.response = result.getResponse();
             row.testResults = result.getTestResults();
-
-            SwingUtilities.invokeLater(() -> {
-                if (isExecutionGenerationCurrent(generation) && currentRowIndex < tableModel.getRowCount()) {
-                    tableModel.fireTableRowsUpdated(currentRowIndex, currentRowIndex);
-                }
-            });
+            tableModel.fireTableRowsUpdated(rowIndex, rowIndex);
         }
 
-        // 记录请求结果到执行历史
-        RequestResult requestResult = new RequestResult(
-                row.requestItem.getName(),
-                row.requestItem.getMethod(),
-                result.getRequest().url,
-                result.getRequest(),
-                result.getResponse(),
-                result.getCost(),
-                result.getStatus(),
-                result.getAssertion(),
-                result.getTestResults(),
-                result.getErrorMessage()
-        );
-        iterationResult.addRequestResult(requestResult);
+        progressLabel.setText(progress.finished.get() + "/" + progress.total);
 
-        int newTotalFinished = totalFinished + 1;
-        SwingUtilities.invokeLater(() -> {
-            if (isExecutionGenerationCurrent(generation)) {
-                progressLabel.setText(newTotalFinished + "/" + (selectedCount * iterations));
-            }
-        });
+        long now = System.currentTimeMillis();
+        if ((force || now - progress.lastHistoryRefresh >= HISTORY_REFRESH_INTERVAL_MS)
+                && progress.historyChanged.getAndSet(false)) {
+            progress.lastHistoryRefresh = now;
+            resultsPanel.updateExecutionHistory(progress.history);
+        }
+    }
 
-        return newTotalFinished;
+    private int indexOfRow(RunnerRowData row) {
+        for (int i = 0; i < tableModel.getRowCount(); i++) {
+            if (tableModel.getRow(i) == row) {
+                return i;
+            }
+        }
+        return -1;
     }
 
-    private void finalizeExecution(int generation, BatchExecutionHistory currentHistory) {
+    private void finalizeExecution(int generation, ExecutionProgress progress) {
         SwingUtilities.invokeLater(() -> {
             if (!isExecutionGenerationCurrent(generation)) {
                 return;
@@ -428,9 +387,11 @@ public class FunctionalPanel extends UiSingletonPanel {
 
             // 停止计时器
             stopExecutionTimer();
+            updateExecutionTime();
 
-            // 最终更新结果面板
-            resultsPanel.updateExecutionHistory(currentHistory);
+            // 最终更新表格和结果面板
+            progress.historyChanged.set(true);
+            flushExecutionProgress(generation, progress, true);
 
             // 无论是正常完成还是用户停止，都切换到结果面板显示已执行的结果
             mainTabbedPane.setSelectedIndex(1); // 切换到执行结果面板
@@ -440,6 +401,49 @@ public class FunctionalPanel extends UiSingletonPanel {
         });
     }
 
+    /**
+     * 一次批量执行的待刷新进度，执行线程写入，界面线程在计时器中批量取走
+     */
+    private static final class ExecutionProgress implements FunctionalBatchRunner.Listener {
+        private final List<RunnerRowData> rows;
+        private final int total;
+        private final BatchExecutionHistory history;
+        private final Map<Integer, RowUpdate> rowUpdates = new ConcurrentHashMap<>();
+        private final AtomicInteger finished = new AtomicInteger();
+        private final AtomicBoolean historyChanged = new AtomicBoolean();
+        private volatile RunnerRowData runningRow;
+        // 以下字段只在界面线程访问
+        private RunnerRowData highlightedRow;
+        private long lastHistoryRefresh;
+
+        ExecutionProgress(List<RunnerRowData> rows, int total, BatchExecutionHistory history) {
+            this.rows = rows;
+            this.total = total;
+            this.history = history;
+        }
+
+        @Override
+        public void onRequestStarted(int iteration, int row) {
+            runningRow = rows.get(row);
+        }
+
+        @Override
+        public void onRequestFinished(int iteration, int row, FunctionalRequestExecutionResult result) {
+            // 并发执行时后面一轮可能先完成，表格里保留轮次最大的结果，与串行执行时一致
+            rowUpdates.merge(row, new RowUpdate(iteration, result),
+                    (current, update) -> update.iteration() >= current.iteration() ? update : current);
+            finished.incrementAndGet();
+        }
+
+        @Override
+        public void onIterationFinished(IterationResult iteration) {
+            historyChanged.set(true);
+        }
+    }
+
+    private record RowUpdate(int iteration, FunctionalRequestExecutionResult result) {
+    }
+
     private void stopExecutionTimer() {
         if (executionTimer != null && executionTimer.isRunning()) {
             executionTimer.stop();
@@ -798,6 +802,7 @@ public class FunctionalPanel extends UiSingletonPanel {
         try {
             FunctionalConfigSnapshot snapshot = persistenceService.loadSnapshot();
             csvDataPanel.restoreState(toCsvState(snapshot.getCsvState()));
+            concurrencySpinner.setValue(FunctionalBatchRunner.clampConcurrency(snapshot.getConcurrency()));
             List<RunnerRowData> savedRows = restoreRows(snapshot.getRows());
             if (!savedRows.isEmpty()) {
                 for (RunnerRowData row : savedRows) {
@@ -937,7 +942,7 @@ public class FunctionalPanel extends UiSingletonPanel {
                 }
             }
         }
-        return new FunctionalConfigSnapshot(configRows, exportFunctionalCsvState());
+        return new FunctionalConfigSnapshot(configRows, exportFunctionalCsvState(), getConcurrency());
     }
 
     private FunctionalCsvDataState exportFunctionalCsvState() {
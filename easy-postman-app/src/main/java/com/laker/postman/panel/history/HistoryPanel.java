@@ -9,6 +9,7 @@ import com.laker.postman.request.model.HttpHeader;
 import com.laker.postman.request.model.HttpParam;
 import com.laker.postman.request.model.HttpFormData;
 import com.laker.postman.request.model.HttpFormUrlencoded;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 import com.laker.postman.request.model.HttpRequestItem;
 
 
@@ -1067,6 +1068,7 @@ public class HistoryPanel extends UiSingletonPanel {
         requestItem.setCookieJarEnabled(request.cookieJarEnabled);
         requestItem.setHttpVersion(request.httpVersion);
         requestItem.setRequestTimeoutMs(request.requestTimeoutMs > 0 ? request.requestTimeoutMs : null);
+        requestItem.setRequestBodyCompression(HttpRequestBodyCompressions.normalize(request.requestBodyCompression));
         requestItem.setPrescript(request.prescript == null ? "" : request.prescript);
         requestItem.setPostscript(request.postscript == null ? "" : request.postscript);
 
@@ -291,6 +291,7 @@ public class PerformancePanel extends UiSingletonPanel {
         performanceResultTablePanel = resultSection.performanceResultTablePanel();
         performanceTrendPanel = resultSection.performanceTrendPanel();
         performanceReportPanel = resultSection.performanceReportPanel();
+        performanceReportPanel.setTrendTiersSupplier(performanceTrendPanel::trendTiers);
         efficientCheckBox = resultSection.efficientCheckBox();
         trendCheckBox = resultSection.trendCheckBox();
         reportRefreshModeBox = resultSection.reportRefreshModeBox();
@@ -9,6 +9,7 @@ import com.laker.postman.performance.core.model.PerformanceTrendSnapshot;
 import com.laker.postman.performance.core.report.PerformanceJsonReport;
 import com.laker.postman.performance.core.report.PerformanceJsonReportTrendWindowSampler;
 import com.laker.postman.performance.core.report.PerformanceJsonReportMetadata;
+import com.laker.postman.performance.core.report.PerformanceJsonReportSaturation;
 import com.laker.postman.performance.core.report.PerformanceJsonReportSummary;
 import com.laker.postman.performance.core.report.PerformanceJsonReportSummaryMapper;
 import com.laker.postman.performance.core.run.PerformanceRunPlan;
@@ -17,12 +18,13 @@ import com.laker.postman.performance.core.runtime.PerformanceThreadFactory;
 import com.laker.postman.performance.core.worker.PerformanceWorkerAssignment;
 import com.laker.postman.performance.core.worker.PerformanceWorkerAssignmentPlanner;
 import com.laker.postman.performance.core.worker.PerformanceWorkerEndpoint;
+import com.laker.postman.performance.core.worker.PerformanceWorkerCapacity;
 import com.laker.postman.performance.core.worker.PerformanceWorkerHealthResponse;
 import com.laker.postman.performance.core.worker.PerformanceWorkerProtocol;
 import com.laker.postman.performance.core.worker.PerformanceWorkerResultDetail;
 import com.laker.postman.performance.core.worker.PerformanceWorkerRunDetailsResponse;
-import com.laker.postman.performance.core.worker.PerformanceWorkerRunRequest;
 import com.laker.postman.performance.core.worker.PerformanceWorkerRunStatusResponse;
+import com.laker.postman.performance.master.PerformanceWorkerAssetShipper;
 import com.laker.postman.performance.master.PerformanceWorkerHttpClient;
 import com.laker.postman.performance.master.PerformanceWorkerReportCollector;
 import com.laker.postman.performance.master.PerformanceWorkerReportCollector.PerformanceWorkerReportResult;
@@ -63,6 +65,7 @@ final class PerformanceRemoteRunControlSupport {
     private final PerformanceWorkerAssignmentPlanner assignmentPlanner = new PerformanceWorkerAssignmentPlanner();
     private final PerformanceWorkerHttpClient workerClient = new PerformanceWorkerHttpClient();
     private final PerformanceWorkerReportCollector reportCollector = new PerformanceWorkerReportCollector(workerClient);
+    private final PerformanceWorkerAssetShipper assetShipper = new PerformanceWorkerAssetShipper(workerClient);
     private final PerformanceJsonReportTrendWindowSampler trendWindowSampler = new PerformanceJsonReportTrendWindowSampler();
     private final AtomicBoolean stopping = new AtomicBoolean(false);
     private volatile String currentRunId = "";
@@ -85,7 +88,6 @@ final class PerformanceRemoteRunControlSupport {
         }
 
         stopping.set(false);
-        showAssetWarningIfNeeded(runPlan);
         runningSetter.accept(true);
         runUiController.markRunning();
         clearCachedPerformanceResultsAction.run();
@@ -133,6 +135,7 @@ final class PerformanceRemoteRunControlSupport {
             waitForWorkers(workers, runId, progressLabel, limitLabel, totalUsers);
             PerformanceJsonReport report = collectReport(workers, runId);
             List<PerformanceWorkerResultDetail> details = collectDetails(workers, runId);
+            showSaturationWarningIfNeeded(report);
             finishRun(report, details, workers.size(), totalUsers, progressLabel, limitLabel);
         } catch (Exception ex) {
             sendStopAsync(runId, workers);
@@ -147,20 +150,20 @@ final class PerformanceRemoteRunControlSupport {
     private int submitRun(PerformanceRunPlan runPlan,
                           List<PerformanceWorkerEndpoint> workers,
                           String runId) throws Exception {
-        // GUI remote 只做 JMeter 风格的控制面分发；plan 中的本地资产路径由用户提前放到每台 worker。
-        validateWorkerProtocols(workers);
-        List<PerformanceWorkerAssignment> assignments = assignmentPlanner.plan(runPlan, workers, runId);
+        // 本机存在的资产按 sha256 上传到 worker 缓存；本机找不到的路径仍需用户提前放到每台 worker。
+        List<PerformanceWorkerCapacity> capacities = validateWorkerProtocols(workers);
+        PerformanceRunPlan shippedPlan = assetShipper.prepare(runPlan);
+        showAssetWarningIfNeeded(shippedPlan);
+        List<PerformanceWorkerAssignment> assignments = assignmentPlanner.plan(shippedPlan, workers, capacities, runId);
         for (int i = 0; i < workers.size(); i++) {
-            workerClient.submitRun(workers.get(i), PerformanceWorkerRunRequest.builder()
-                    .runId(runId)
-                    .plan(runPlan)
-                    .assignment(assignments.get(i))
-                    .build());
+            workerClient.submitRun(workers.get(i), assetShipper.ship(
+                    workers.get(i), runId, shippedPlan, assignments.get(i), PerformanceWorkerHttpClient.DEFAULT_ASSET_UPLOAD_TIMEOUT));
         }
         return totalAssignedUsers(assignments);
     }
 
-    private void validateWorkerProtocols(List<PerformanceWorkerEndpoint> workers) throws Exception {
+    private List<PerformanceWorkerCapacity> validateWorkerProtocols(List<PerformanceWorkerEndpoint> workers) throws Exception {
+        List<PerformanceWorkerCapacity> capacities = new ArrayList<>();
         for (PerformanceWorkerEndpoint worker : workers) {
             PerformanceWorkerHealthResponse health = workerClient.health(worker);
             if (health == null || !health.usesCurrentProtocol()) {
@@ -174,7 +177,9 @@ final class PerformanceRemoteRunControlSupport {
                         actualVersion
                 ));
             }
+            capacities.add(health.getCapacity());
         }
+        return capacities;
     }
 
     private void resetRemoteTrendSamplingWindow() {
@@ -192,14 +197,28 @@ final class PerformanceRemoteRunControlSupport {
     }
 
     private void showAssetWarningIfNeeded(PerformanceRunPlan runPlan) {
-        if (runPlan != null && !runPlan.getAssets().isEmpty()) {
-            NotificationCenter.showWarning(I18nUtil.getMessage(
+        int localOnlyAssets = PerformanceWorkerAssetShipper.localOnlyAssetCount(runPlan);
+        if (localOnlyAssets > 0) {
+            SwingUtilities.invokeLater(() -> NotificationCenter.showWarning(I18nUtil.getMessage(
                     MessageKeys.PERFORMANCE_REMOTE_ASSETS_WARNING,
-                    runPlan.getAssets().size()
-            ));
+                    localOnlyAssets
+            )));
         }
     }
 
+    private void showSaturationWarningIfNeeded(PerformanceJsonReport report) {
+        List<PerformanceJsonReportSaturation> saturation = report == null ? List.of() : report.getGeneratorSaturation();
+        if (saturation.isEmpty()) {
+            return;
+        }
+        long saturatedWorkers = saturation.stream().map(PerformanceJsonReportSaturation::getSource).distinct().count();
+        SwingUtilities.invokeLater(() -> NotificationCenter.showWarning(I18nUtil.getMessage(
+                MessageKeys.PERFORMANCE_REMOTE_GENERATOR_SATURATED,
+                saturatedWorkers,
+                saturation.size()
+        )));
+    }
+
     private void waitForWorkers(List<PerformanceWorkerEndpoint> workers,
                                 String runId,
                                 JLabel progressLabel,
@@ -265,7 +284,7 @@ final class PerformanceRemoteRunControlSupport {
                 reports
         );
         rememberLastLiveReport(report);
-        PerformanceTrendSnapshot trendSnapshot = mergeTrendSnapshots(
+        PerformanceTrendSnapshot trendSnapshot = PerformanceTrendSnapshot.merge(
                 activeUsers,
                 activeWebSocketConnections,
                 activeSseStreams,
@@ -591,93 +610,4 @@ final class PerformanceRemoteRunControlSupport {
             return new RemoteProgressSnapshot(0, totalUsers, 0, 0, 0, 0, 0, null, null);
         }
     }
-
-    private PerformanceTrendSnapshot mergeTrendSnapshots(int activeUsers,
-                                                         int activeWebSocketConnections,
-                                                         int activeSseStreams,
-                                                         List<PerformanceTrendSnapshot> snapshots) {
-        if (snapshots == null || snapshots.isEmpty()) {
-            return null;
-        }
-        return new PerformanceTrendSnapshot(
-                activeUsers,
-                activeWebSocketConnections,
-                activeSseStreams,
-                mergeTrendMetrics(snapshots, PerformanceTrendSnapshot::overview),
-                mergeTrendMetrics(snapshots, PerformanceTrendSnapshot::http),
-                mergeTrendMetrics(snapshots, PerformanceTrendSnapshot::webSocket),
-                mergeTrendMetrics(snapshots, PerformanceTrendSnapshot::sse)
-        );
-    }
-
-    private PerformanceTrendSnapshot.ProtocolWindowMetrics mergeTrendMetrics(
-            List<PerformanceTrendSnapshot> snapshots,
-            TrendMetricsSelector selector) {
-        int samples = 0;
-        int failures = 0;
-        int sentMessages = 0;
-        int receivedMessages = 0;
-        int matchedMessages = 0;
-        double sampleRate = 0;
-        double sentRate = 0;
-        double receivedRate = 0;
-        double matchedRate = 0;
-        double durationTotal = 0;
-        int durationWeight = 0;
-        double firstLatencyTotal = 0;
-        int firstLatencyWeight = 0;
-
-        for (PerformanceTrendSnapshot snapshot : snapshots) {
-            if (snapshot == null) {
-                continue;
-            }
-            PerformanceTrendSnapshot.ProtocolWindowMetrics metrics = selector.select(snapshot);
-            if (metrics == null) {
-                continue;
-            }
-            samples += Math.max(0, metrics.samples());
-            failures += Math.max(0, metrics.failures());
-            sentMessages += Math.max(0, metrics.sentMessages());
-            receivedMessages += Math.max(0, metrics.receivedMessages());
-            matchedMessages += Math.max(0, metrics.matchedMessages());
-            sampleRate += finite(metrics.sampleRate());
-            sentRate += finite(metrics.sentRate());
-            receivedRate += finite(metrics.receivedRate());
-            matchedRate += finite(metrics.matchedRate());
-            int weight = Math.max(0, metrics.samples());
-            if (Double.isFinite(metrics.avgDurationMs())) {
-                int resolvedWeight = weight == 0 ? 1 : weight;
-                durationTotal += metrics.avgDurationMs() * resolvedWeight;
-                durationWeight += resolvedWeight;
-            }
-            if (Double.isFinite(metrics.avgFirstMessageLatencyMs())) {
-                int resolvedWeight = weight == 0 ? 1 : weight;
-                firstLatencyTotal += metrics.avgFirstMessageLatencyMs() * resolvedWeight;
-                firstLatencyWeight += resolvedWeight;
-            }
-        }
-
-        return new PerformanceTrendSnapshot.ProtocolWindowMetrics(
-                samples,
-                failures,
-                samples == 0 ? 0.0 : failures * 100.0 / samples,
-                sampleRate,
-                durationWeight == 0 ? Double.NaN : durationTotal / durationWeight,
-                sentMessages,
-                receivedMessages,
-                matchedMessages,
-                sentRate,
-                receivedRate,
-                matchedRate,
-                firstLatencyWeight == 0 ? Double.NaN : firstLatencyTotal / firstLatencyWeight
-        );
-    }
-
-    private double finite(double value) {
-        return Double.isFinite(value) ? value : 0.0;
-    }
-
-    private interface TrendMetricsSelector {
-        PerformanceTrendSnapshot.ProtocolWindowMetrics select(PerformanceTrendSnapshot snapshot);
-    }
 }
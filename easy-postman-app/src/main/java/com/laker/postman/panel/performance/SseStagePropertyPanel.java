@@ -31,6 +31,7 @@ public class SseStagePropertyPanel extends JPanel {
     private final EasyJSpinner readTimeoutSpinner;
     private final EasyJSpinner holdConnectionSpinner;
     private final EasyJSpinner targetMessageCountSpinner;
+    private final EasyJSpinner stallThresholdSpinner;
     private final EasyTextField eventNameFilterField;
     private final EasyTextField messageFilterField;
     private JLabel eventNameFilterLabel;
@@ -55,6 +56,7 @@ public class SseStagePropertyPanel extends JPanel {
         readTimeoutSpinner = EasyJSpinner.intSpinner(10000, 100, 600000, 100);
         holdConnectionSpinner = EasyJSpinner.intSpinner(30000, 100, 3600000, 1000);
         targetMessageCountSpinner = EasyJSpinner.intSpinner(1, 1, 100000, 1);
+        stallThresholdSpinner = EasyJSpinner.intSpinner(0, 0, 3600000, 100);
         eventNameFilterField = new EasyTextField(20);
         messageFilterField = new EasyTextField(20);
 
@@ -127,6 +129,9 @@ public class SseStagePropertyPanel extends JPanel {
         addCompactFormRow(formPanel, rowGbc, readTimeoutLabel, readTimeoutSpinner);
         addCompactFormRow(formPanel, rowGbc, holdConnectionLabel, holdConnectionSpinner);
         addCompactFormRow(formPanel, rowGbc, targetMessageCountLabel, targetMessageCountSpinner);
+        JLabel stallThresholdLabel = new JLabel(I18nUtil.getMessage(MessageKeys.PERFORMANCE_SSE_STALL_THRESHOLD));
+        stallThresholdLabel.setToolTipText(I18nUtil.getMessage(MessageKeys.PERFORMANCE_SSE_STALL_THRESHOLD_TOOLTIP));
+        addCompactFormRow(formPanel, rowGbc, stallThresholdLabel, stallThresholdSpinner);
 
         rowGbc.gridx = 0;
         rowGbc.gridwidth = 2;
@@ -160,6 +165,7 @@ public class SseStagePropertyPanel extends JPanel {
         readTimeoutSpinner.setValue(data.firstMessageTimeoutMs);
         holdConnectionSpinner.setValue(data.holdConnectionMs);
         targetMessageCountSpinner.setValue(data.targetMessageCount);
+        stallThresholdSpinner.setValue(Math.max(0, data.stallThresholdMs));
         eventNameFilterField.setText(data.eventNameFilter == null ? "" : data.eventNameFilter);
         messageFilterField.setText(data.messageFilter == null ? "" : data.messageFilter);
         updateReadModeState();
@@ -180,6 +186,7 @@ public class SseStagePropertyPanel extends JPanel {
                 data.targetMessageCount = targetMessageCountSpinner.getCommittedIntValue();
                 data.eventNameFilter = eventNameFilterField.getText().trim();
                 data.messageFilter = messageFilterField.getText().trim();
+                data.stallThresholdMs = stallThresholdSpinner.getCommittedIntValue();
             }
         }
         currentNode.ssePerformanceData = data;
@@ -263,6 +270,7 @@ public class SseStagePropertyPanel extends JPanel {
     }
 
     private List<EasyJSpinner> getAllSpinners() {
-        return Arrays.asList(connectTimeoutSpinner, readTimeoutSpinner, holdConnectionSpinner, targetMessageCountSpinner);
+        return Arrays.asList(connectTimeoutSpinner, readTimeoutSpinner, holdConnectionSpinner, targetMessageCountSpinner,
+                stallThresholdSpinner);
     }
 }
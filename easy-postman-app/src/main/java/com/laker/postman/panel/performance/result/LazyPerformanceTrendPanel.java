@@ -5,11 +5,13 @@ import com.laker.postman.common.component.ToolWindowSurfaceStyle;
 import com.laker.postman.common.component.placeholder.PerformanceTrendPlaceholderPanel;
 import com.laker.postman.performance.core.model.PerformanceProtocol;
 import com.laker.postman.performance.core.model.PerformanceTrendSnapshot;
+import com.laker.postman.performance.core.report.PerformanceJsonReportTrendTier;
 import org.jfree.data.time.RegularTimePeriod;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -58,6 +60,11 @@ public class LazyPerformanceTrendPanel extends JPanel implements PerformanceTren
         getOrCreateTrendPanel().addOrUpdate(period, snapshot);
     }
 
+    @Override
+    public List<PerformanceJsonReportTrendTier> trendTiers() {
+        return trendPanel == null ? List.of() : trendPanel.trendTiers();
+    }
+
     private PerformanceTrendPanel getOrCreateTrendPanel() {
         if (trendPanel != null) {
             return trendPanel;
@@ -4,6 +4,10 @@ import com.laker.postman.performance.core.model.PerformanceProtocol;
 import com.laker.postman.performance.core.model.PerformanceReportSnapshot;
 import com.laker.postman.performance.core.model.PerformanceStatsSnapshot;
 import com.laker.postman.performance.core.report.PerformanceJsonReport;
+import com.laker.postman.performance.core.report.PerformanceJsonReportJsonStorage;
+import com.laker.postman.performance.core.report.PerformanceJsonReportMapper;
+import com.laker.postman.performance.core.report.PerformanceJsonReportMetadata;
+import com.laker.postman.performance.core.report.PerformanceJsonReportTrendTier;
 
 
 import com.laker.postman.common.component.ToolWindowActionToolbar;
@@ -15,10 +19,13 @@ import com.laker.postman.performance.report.PerformanceProtocolReportData;
 import com.laker.postman.performance.report.PerformanceReportMarkdownBuilder;
 import com.laker.postman.performance.report.PerformanceReportRowMapper;
 import com.laker.postman.performance.report.PerformanceReportTableSchema;
+import com.formdev.flatlaf.util.SystemFileChooser;
+import com.laker.postman.util.FileChooserUtil;
 import com.laker.postman.util.I18nUtil;
 import com.laker.postman.util.FontsUtil;
 import com.laker.postman.util.MessageKeys;
 import com.laker.postman.common.component.notification.NotificationCenter;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
@@ -28,13 +35,18 @@ import javax.swing.table.TableColumnModel;
 import java.awt.*;
 import java.awt.datatransfer.StringSelection;
 import java.awt.event.MouseEvent;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
+@Slf4j
 public class PerformanceReportPanel extends JPanel {
 
     // 成功率阈值
@@ -58,6 +70,10 @@ public class PerformanceReportPanel extends JPanel {
     private JPanel reportCards;
     private PerformanceProtocol selectedProtocol = PerformanceProtocol.HTTP;
     private Set<PerformanceProtocol> availableProtocols = EnumSet.of(PerformanceProtocol.HTTP);
+    // 当前展示数据对应的 JSON 报表，导出时才转换
+    private Supplier<PerformanceJsonReport> jsonReportSource = () -> null;
+    // 趋势面板保留的分层趋势，随导出的 JSON 报表一起落盘
+    private Supplier<List<PerformanceJsonReportTrendTier>> trendTiersSupplier = List::of;
 
     public PerformanceReportPanel() {
         // Initialize internationalized column names
@@ -92,6 +108,10 @@ public class PerformanceReportPanel extends JPanel {
         applyAvailableProtocols();
     }
 
+    public void setTrendTiersSupplier(Supplier<List<PerformanceJsonReportTrendTier>> trendTiersSupplier) {
+        this.trendTiersSupplier = trendTiersSupplier == null ? List::of : trendTiersSupplier;
+    }
+
     public void setAvailableProtocols(Set<PerformanceProtocol> protocols) {
         availableProtocols = normalizeProtocols(protocols);
         applyAvailableProtocols();
@@ -110,7 +130,12 @@ public class PerformanceReportPanel extends JPanel {
                 false
         );
         copyReportButton.addActionListener(e -> copyMarkdownReport());
-        toolbar.add(ToolWindowActionToolbar.inlineRight(copyReportButton), BorderLayout.EAST);
+        JButton exportJsonButton = ModernButtonFactory.createButton(
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_EXPORT_JSON_BUTTON),
+                false
+        );
+        exportJsonButton.addActionListener(e -> exportJsonReport());
+        toolbar.add(ToolWindowActionToolbar.inlineRight(exportJsonButton, copyReportButton), BorderLayout.EAST);
         return toolbar;
     }
 
@@ -555,6 +580,11 @@ public class PerformanceReportPanel extends JPanel {
 
 
     public void clearReport() {
+        clearTables();
+        jsonReportSource = () -> null;
+    }
+
+    private void clearTables() {
         reportTableModel.setRowCount(0);
         webSocketReportTableModel.setRowCount(0);
         sseReportTableModel.setRowCount(0);
@@ -574,18 +604,21 @@ public class PerformanceReportPanel extends JPanel {
 
     public void updateReport(PerformanceStatsSnapshot statsSnapshot) {
         updateReport(PerformanceProtocolReportData.fromStatsSnapshot(statsSnapshot, totalRowName));
+        jsonReportSource = () -> PerformanceJsonReportMapper.fromStatsSnapshot(exportMetadata(), statsSnapshot);
     }
 
     public void updateReport(PerformanceReportSnapshot reportSnapshot) {
         updateReport(PerformanceProtocolReportData.fromReportSnapshot(reportSnapshot, totalRowName));
+        jsonReportSource = () -> PerformanceJsonReportMapper.fromReportSnapshot(exportMetadata(), reportSnapshot);
     }
 
     public void updateReport(PerformanceJsonReport jsonReport) {
         updateReport(PerformanceProtocolReportData.fromJsonReport(jsonReport, totalRowName));
+        jsonReportSource = () -> jsonReport;
     }
 
     private void updateReport(PerformanceProtocolReportData reportData) {
-        clearReport();
+        clearTables();
 
         for (PerformanceProtocolReportData.HttpReportRow row : reportData.httpRows()) {
             addReportRow(reportTableModel, toHttpRowData(row));
@@ -631,6 +664,56 @@ public class PerformanceReportPanel extends JPanel {
         NotificationCenter.showSuccess(I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_MARKDOWN_COPIED));
     }
 
+    void exportJsonReport() {
+        String json = buildJsonReport();
+        if (json == null) {
+            NotificationCenter.showWarning(I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_MARKDOWN_EMPTY));
+            return;
+        }
+        SystemFileChooser fileChooser = FileChooserUtil.createSaveFileChooser(
+                "performance.report.export",
+                I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_EXPORT_JSON_TITLE));
+        fileChooser.setSelectedFile(new File("report.json"));
+        if (fileChooser.showSaveDialog(this) != SystemFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File selectedFile = fileChooser.getSelectedFile();
+        if (!selectedFile.getName().toLowerCase().endsWith(".json")) {
+            selectedFile = new File(selectedFile.getAbsolutePath() + ".json");
+        }
+        try {
+            Files.writeString(selectedFile.toPath(), json, StandardCharsets.UTF_8);
+            NotificationCenter.showSuccess(I18nUtil.getMessage(
+                    MessageKeys.PERFORMANCE_REPORT_EXPORT_JSON_SUCCESS,
+                    selectedFile.getAbsolutePath()
+            ));
+        } catch (Exception ex) {
+            log.error("Failed to export performance report", ex);
+            NotificationCenter.showError(I18nUtil.getMessage(
+                    MessageKeys.PERFORMANCE_REPORT_EXPORT_JSON_FAIL,
+                    ex.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * 当前报表连同分层趋势序列化成 JSON；还没有报表数据时返回 null
+     */
+    String buildJsonReport() {
+        PerformanceJsonReport report = jsonReportSource.get();
+        if (report == null) {
+            return null;
+        }
+        return new PerformanceJsonReportJsonStorage().toJson(report.withTrendTiers(trendTiersSupplier.get()));
+    }
+
+    private static PerformanceJsonReportMetadata exportMetadata() {
+        return PerformanceJsonReportMetadata.builder()
+                .source("gui")
+                .endTimeMs(System.currentTimeMillis())
+                .build();
+    }
+
     String buildMarkdownReport() {
         return PerformanceReportMarkdownBuilder.build(
                 I18nUtil.getMessage(MessageKeys.PERFORMANCE_REPORT_MARKDOWN_TITLE),
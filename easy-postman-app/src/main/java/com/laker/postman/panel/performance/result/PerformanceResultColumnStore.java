@@ -0,0 +1,446 @@
+package com.laker.postman.panel.performance.result;
+
+import com.laker.postman.performance.core.model.PerformanceProtocol;
+import com.laker.postman.performance.model.PerformanceInternalHeaders;
+import com.laker.postman.performance.model.PerformanceProtocolLabels;
+import com.laker.postman.performance.model.ResultNodeInfo;
+import com.laker.postman.request.model.HttpHeader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * 结果表的列式存储：环形数组保存每条结果的基本类型列，接口名称按字典去重成 int id。
+ * <p>
+ * 表格绘制、排序、名称过滤只读这些基本类型列；原始 {@link ResultNodeInfo} 只在查看详情和深度搜索时才访问。
+ * 超出保留条数时直接覆盖最旧的槽位，不再整体搬移数组。
+ * </p>
+ * 非线程安全：实时数据只在 EDT 上读写，后台排序/过滤使用 {@link #copyFrom(int)} 得到的独立副本。
+ */
+final class PerformanceResultColumnStore {
+
+    static final int COL_PROTOCOL = 0;
+    static final int COL_NAME = 1;
+    static final int COL_STATUS = 2;
+    static final int COL_COST = 3;
+    static final int COL_ASSERTION = 4;
+    static final int COLUMN_COUNT = 5;
+
+    static final char ASSERTION_FAILED = '×';
+    static final char ASSERTION_PASSED = '✓';
+    static final char ASSERTION_NONE = '—';
+
+    private static final byte OUTCOME_SUCCESS = 1;
+    private static final byte OUTCOME_HAS_ASSERTIONS = 1 << 1;
+    private static final byte OUTCOME_ASSERTION_FAILED = 1 << 2;
+
+    private static final int NO_NAME = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final PerformanceProtocol[] PROTOCOLS = PerformanceProtocol.values();
+
+    // 名称字典：id -> 名称，只增不减，clear 时重置
+    private final List<String> names;
+    private final Map<String, Integer> nameIds;
+
+    private int[] nameIdColumn;
+    private byte[] protocolColumn;
+    private int[] statusColumn;
+    private int[] costColumn;
+    private byte[] outcomeColumn;
+    private ResultNodeInfo[] details;
+
+    // 逻辑第 0 行所在的物理槽位
+    private int head;
+    private int size;
+
+    PerformanceResultColumnStore() {
+        this(new ArrayList<>(), new HashMap<>(), 0);
+    }
+
+    private PerformanceResultColumnStore(List<String> names, Map<String, Integer> nameIds, int capacity) {
+        this.names = names;
+        this.nameIds = nameIds;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 追加一条结果，超过保留条数时从头部淘汰最旧的结果
+     *
+     * @return 本次从头部淘汰的行数
+     */
+    int append(ResultNodeInfo info, int rowLimit) {
+        int effectiveLimit = Math.max(1, rowLimit);
+        int removed = trimTo(effectiveLimit - 1);
+        ensureCapacity(size + 1, effectiveLimit);
+
+        int slot = slot(size);
+        nameIdColumn[slot] = intern(info.name);
+        protocolColumn[slot] = (byte) info.protocol.ordinal();
+        statusColumn[slot] = info.responseCode;
+        costColumn[slot] = info.costMs;
+        outcomeColumn[slot] = outcome(info);
+        details[slot] = info;
+        size++;
+        return removed;
+    }
+
+    /**
+     * 只保留最新的 rowLimit 行
+     *
+     * @return 从头部淘汰的行数
+     */
+    int trimTo(int rowLimit) {
+        int removed = size - Math.max(0, rowLimit);
+        if (removed <= 0) {
+            return 0;
+        }
+        for (int i = 0; i < removed; i++) {
+            details[slot(i)] = null;
+        }
+        head = slot(removed);
+        size -= removed;
+        return removed;
+    }
+
+    void clear() {
+        names.clear();
+        nameIds.clear();
+        allocate(0);
+    }
+
+    String name(int row) {
+        int id = nameIdColumn[slot(row)];
+        return id == NO_NAME ? null : names.get(id);
+    }
+
+    PerformanceProtocol protocol(int row) {
+        return PROTOCOLS[protocolColumn[slot(row)]];
+    }
+
+    int status(int row) {
+        return statusColumn[slot(row)];
+    }
+
+    int costMs(int row) {
+        return costColumn[slot(row)];
+    }
+
+    boolean isSuccessful(int row) {
+        return (outcomeColumn[slot(row)] & OUTCOME_SUCCESS) != 0;
+    }
+
+    /**
+     * 断言列符号：有断言时按断言结果，无断言时只在失败时标记
+     */
+    char assertionSymbol(int row) {
+        byte outcome = outcomeColumn[slot(row)];
+        if ((outcome & OUTCOME_HAS_ASSERTIONS) != 0) {
+            return (outcome & OUTCOME_ASSERTION_FAILED) != 0 ? ASSERTION_FAILED : ASSERTION_PASSED;
+        }
+        return (outcome & OUTCOME_SUCCESS) != 0 ? ASSERTION_NONE : ASSERTION_FAILED;
+    }
+
+    ResultNodeInfo detail(int row) {
+        if (row < 0 || row >= size) {
+            return null;
+        }
+        return details[slot(row)];
+    }
+
+    /**
+     * 复制 [fromRow, size) 区间，副本的第 0 行对应本存储的 fromRow 行，供后台线程排序/过滤
+     */
+    PerformanceResultColumnStore copyFrom(int fromRow) {
+        int start = Math.max(0, Math.min(fromRow, size));
+        int count = size - start;
+        PerformanceResultColumnStore copy = new PerformanceResultColumnStore(
+                new ArrayList<>(names), new HashMap<>(nameIds), count);
+        int first = Math.min(count, nameIdColumn.length - slot(start));
+        copySegment(copy, slot(start), 0, first);
+        copySegment(copy, 0, first, count - first);
+        copy.size = count;
+        return copy;
+    }
+
+    /**
+     * 按关键字过滤并按列排序，返回命中行的下标
+     *
+     * @param keyword    小写关键字，为 null 时不过滤
+     * @param sortColumn 排序列，小于 0 时保持追加顺序
+     */
+    int[] select(String keyword, int sortColumn, boolean ascending) {
+        int[] rows = new int[size];
+        int count = 0;
+        if (keyword == null) {
+            for (int row = 0; row < size; row++) {
+                rows[count++] = row;
+            }
+        } else {
+            boolean[] nameMatches = matchNames(keyword);
+            for (int row = 0; row < size; row++) {
+                if (matches(row, keyword, nameMatches)) {
+                    rows[count++] = row;
+                }
+            }
+        }
+        rows = count == rows.length ? rows : Arrays.copyOf(rows, count);
+        if (sortColumn >= 0) {
+            sortRows(rows, comparator(sortColumn, ascending));
+        }
+        return rows;
+    }
+
+    /**
+     * 行比较器：先比较列值，相等时按追加顺序，与 TableRowSorter 的语义一致
+     */
+    IntBinaryOperator comparator(int sortColumn, boolean ascending) {
+        if (sortColumn < 0) {
+            return Integer::compare;
+        }
+        return (a, b) -> {
+            int result = compareColumn(a, b, sortColumn);
+            if (result != 0) {
+                return ascending ? result : -result;
+            }
+            return Integer.compare(a, b);
+        };
+    }
+
+    /**
+     * 稳定的自底向上归并排序，避免把行下标装箱成 Integer
+     */
+    static void sortRows(int[] rows, IntBinaryOperator comparator) {
+        int length = rows.length;
+        if (length < 2) {
+            return;
+        }
+        int[] src = rows;
+        int[] dst = new int[length];
+        for (int width = 1; width < length; width <<= 1) {
+            for (int left = 0; left < length; left += width << 1) {
+                int mid = Math.min(left + width, length);
+                int right = Math.min(left + (width << 1), length);
+                merge(src, left, mid, src, mid, right, dst, left, comparator);
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != rows) {
+            System.arraycopy(src, 0, rows, 0, length);
+        }
+    }
+
+    /**
+     * 合并两个已按同一比较器排好序的行下标数组
+     */
+    static int[] mergeRows(int[] first, int[] second, IntBinaryOperator comparator) {
+        int[] merged = new int[first.length + second.length];
+        merge(first, 0, first.length, second, 0, second.length, merged, 0, comparator);
+        return merged;
+    }
+
+    private static void merge(int[] a, int aFrom, int aTo,
+                              int[] b, int bFrom, int bTo,
+                              int[] out, int outFrom,
+                              IntBinaryOperator comparator) {
+        int i = aFrom;
+        int j = bFrom;
+        int k = outFrom;
+        while (i < aTo && j < bTo) {
+            out[k++] = comparator.applyAsInt(a[i], b[j]) <= 0 ? a[i++] : b[j++];
+        }
+        while (i < aTo) {
+            out[k++] = a[i++];
+        }
+        while (j < bTo) {
+            out[k++] = b[j++];
+        }
+    }
+
+    private int compareColumn(int a, int b, int column) {
+        return switch (column) {
+            case COL_PROTOCOL -> {
+                int left = protocolColumn[slot(a)];
+                int right = protocolColumn[slot(b)];
+                yield left == right ? 0 : String.CASE_INSENSITIVE_ORDER.compare(
+                        PerformanceProtocolLabels.displayName(PROTOCOLS[left]),
+                        PerformanceProtocolLabels.displayName(PROTOCOLS[right]));
+            }
+            case COL_NAME -> compareNames(nameIdColumn[slot(a)], nameIdColumn[slot(b)]);
+            // 无状态码（显示为 "-"）按 0 排序
+            case COL_STATUS -> Integer.compare(Math.max(0, status(a)), Math.max(0, status(b)));
+            case COL_COST -> Integer.compare(costMs(a), costMs(b));
+            case COL_ASSERTION -> Character.compare(assertionSymbol(a), assertionSymbol(b));
+            default -> 0;
+        };
+    }
+
+    private int compareNames(int left, int right) {
+        if (left == right) {
+            return 0;
+        }
+        if (left == NO_NAME) {
+            return -1;
+        }
+        if (right == NO_NAME) {
+            return 1;
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(names.get(left), names.get(right));
+    }
+
+    // 每个名称只判断一次，行上只查表
+    private boolean[] matchNames(String keyword) {
+        boolean[] matches = new boolean[names.size()];
+        for (int id = 0; id < matches.length; id++) {
+            matches[id] = containsIgnoreCase(names.get(id), keyword);
+        }
+        return matches;
+    }
+
+    // 深度搜索：接口名称、用户可见错误、请求（URL、Headers、Body）、响应（Headers、Body）
+    private boolean matches(int row, String keyword, boolean[] nameMatches) {
+        int nameId = nameIdColumn[slot(row)];
+        if (nameId != NO_NAME && nameId < nameMatches.length && nameMatches[nameId]) {
+            return true;
+        }
+        ResultNodeInfo info = details[slot(row)];
+        if (info == null) {
+            return false;
+        }
+        if (containsIgnoreCase(info.errorMsg, keyword)) {
+            return true;
+        }
+        return matchesRequest(info, keyword) || matchesResponse(info, keyword);
+    }
+
+    private static boolean matchesRequest(ResultNodeInfo info, String keyword) {
+        if (info.req == null) {
+            return false;
+        }
+        if (containsIgnoreCase(info.req.url, keyword)) {
+            return true;
+        }
+        if (info.req.headersList != null) {
+            for (HttpHeader header : info.req.headersList) {
+                if (!header.isEnabled()) continue;
+                if (containsIgnoreCase(header.getKey() + ": " + header.getValue(), keyword)) {
+                    return true;
+                }
+            }
+        }
+        return containsIgnoreCase(info.req.body, keyword);
+    }
+
+    private static boolean matchesResponse(ResultNodeInfo info, String keyword) {
+        if (info.resp == null) {
+            return false;
+        }
+        if (info.resp.headers != null) {
+            for (var entry : info.resp.headers.entrySet()) {
+                String key = entry.getKey();
+                if (PerformanceInternalHeaders.isInternalHeader(key)) {
+                    continue;
+                }
+                if (containsIgnoreCase(key + ": " + String.join(", ", entry.getValue()), keyword)) {
+                    return true;
+                }
+            }
+        }
+        return containsIgnoreCase(info.resp.body, keyword);
+    }
+
+    // 逐段忽略大小写比较，避免为每个响应体生成一份小写副本
+    static boolean containsIgnoreCase(String text, String lowerKeyword) {
+        if (text == null) {
+            return false;
+        }
+        int length = lowerKeyword.length();
+        for (int i = 0, last = text.length() - length; i <= last; i++) {
+            if (text.regionMatches(true, i, lowerKeyword, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte outcome(ResultNodeInfo info) {
+        byte outcome = 0;
+        if (info.isActuallySuccessful()) {
+            outcome |= OUTCOME_SUCCESS;
+        }
+        if (info.testResults != null && !info.testResults.isEmpty()) {
+            outcome |= OUTCOME_HAS_ASSERTIONS;
+            if (info.hasAssertionFailed()) {
+                outcome |= OUTCOME_ASSERTION_FAILED;
+            }
+        }
+        return outcome;
+    }
+
+    private int intern(String name) {
+        if (name == null) {
+            return NO_NAME;
+        }
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            nameIds.put(name, id);
+        }
+        return id;
+    }
+
+    private int slot(int row) {
+        int slot = head + row;
+        return slot >= nameIdColumn.length ? slot - nameIdColumn.length : slot;
+    }
+
+    private void ensureCapacity(int required, int rowLimit) {
+        int capacity = nameIdColumn.length;
+        if (required <= capacity) {
+            return;
+        }
+        int grown = Math.max(required, Math.min(Math.max(INITIAL_CAPACITY, capacity << 1), rowLimit));
+        PerformanceResultColumnStore resized = copyFrom(0);
+        allocate(grown);
+        copySegmentFrom(resized, resized.size);
+    }
+
+    private void allocate(int capacity) {
+        nameIdColumn = new int[capacity];
+        protocolColumn = new byte[capacity];
+        statusColumn = new int[capacity];
+        costColumn = new int[capacity];
+        outcomeColumn = new byte[capacity];
+        details = new ResultNodeInfo[capacity];
+        head = 0;
+        size = 0;
+    }
+
+    private void copySegment(PerformanceResultColumnStore target, int from, int to, int count) {
+        if (count <= 0) {
+            return;
+        }
+        System.arraycopy(nameIdColumn, from, target.nameIdColumn, to, count);
+        System.arraycopy(protocolColumn, from, target.protocolColumn, to, count);
+        System.arraycopy(statusColumn, from, target.statusColumn, to, count);
+        System.arraycopy(costColumn, from, target.costColumn, to, count);
+        System.arraycopy(outcomeColumn, from, target.outcomeColumn, to, count);
+        System.arraycopy(details, from, target.details, to, count);
+    }
+
+    // 扩容后把紧凑副本写回，head 归零
+    private void copySegmentFrom(PerformanceResultColumnStore source, int count) {
+        source.copySegment(this, 0, 0, count);
+        size = count;
+    }
+}
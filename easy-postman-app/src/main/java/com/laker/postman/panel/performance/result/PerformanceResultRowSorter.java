@@ -0,0 +1,379 @@
+package com.laker.postman.panel.performance.result;
+
+import com.laker.postman.panel.performance.result.PerformanceResultTablePanel.ResultTableModel;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * 结果表的行排序器：过滤和排序在后台线程基于列式存储的副本计算出行下标数组，EDT 上只做替换或归并。
+ * <p>
+ * 未过滤也未排序时视图与模型一一对应，不维护下标数组。
+ * 有过滤/排序时，新追加的行只对增量部分在后台计算，再按同一比较器归并进现有视图；
+ * 头部淘汰的行在 EDT 上直接从下标数组中剔除并整体平移。
+ * 只支持单列排序。
+ * </p>
+ */
+@Slf4j
+final class PerformanceResultRowSorter extends RowSorter<ResultTableModel> {
+
+    private final ResultTableModel model;
+    private final Runnable viewListener;
+
+    private List<SortKey> sortKeys = List.of();
+    // 小写关键字，null 表示不过滤
+    private String keyword;
+
+    // null 表示视图与模型一一对应
+    private int[] viewToModel;
+    private int[] modelToView;
+    // 模型前 coveredRows 行已经计算进 viewToModel
+    private int coveredRows;
+    // 累计从模型头部淘汰的行数，用于平移后台计算结果
+    private long removedRows;
+
+    // 过滤/排序条件或数据整体变化时递增，丢弃过期的后台结果
+    private int generation;
+    private boolean fullRebuildRequired;
+    private SwingWorker<int[], Void> worker;
+    private boolean rescheduleRequired;
+
+    /**
+     * @param viewListener 后台结果应用到视图后在 EDT 上回调
+     */
+    PerformanceResultRowSorter(ResultTableModel model, Runnable viewListener) {
+        this.model = model;
+        this.viewListener = viewListener;
+    }
+
+    /**
+     * @param keyword 搜索关键字，空白表示不过滤
+     */
+    void setKeyword(String keyword) {
+        String normalized = keyword == null || keyword.isBlank() ? null : keyword.trim().toLowerCase();
+        if (Objects.equals(normalized, this.keyword)) {
+            viewListener.run();
+            return;
+        }
+        this.keyword = normalized;
+        refreshView();
+    }
+
+    boolean isFiltering() {
+        return keyword != null;
+    }
+
+    /**
+     * 后台仍在计算或还有新行未计算进视图
+     */
+    boolean isPending() {
+        return worker != null || (isViewActive() && (fullRebuildRequired || coveredRows < model.getRowCount()));
+    }
+
+    void dispose() {
+        generation++;
+        if (worker != null) {
+            worker.cancel(true);
+            worker = null;
+        }
+    }
+
+    @Override
+    public ResultTableModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        checkColumn(column);
+        SortOrder order = SortOrder.ASCENDING;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column) {
+            order = sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING
+                    ? SortOrder.DESCENDING
+                    : SortOrder.ASCENDING;
+        }
+        setSortKeys(List.of(new SortKey(column, order)));
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> next = List.of();
+        if (keys != null && !keys.isEmpty() && keys.get(0).getSortOrder() != SortOrder.UNSORTED) {
+            SortKey key = keys.get(0);
+            checkColumn(key.getColumn());
+            next = List.of(key);
+        }
+        if (next.equals(sortKeys)) {
+            return;
+        }
+        sortKeys = next;
+        fireSortOrderChanged();
+        refreshView();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (viewToModel == null) {
+            if (index < 0 || index >= model.getRowCount()) {
+                throw new IndexOutOfBoundsException("Invalid index");
+            }
+            return index;
+        }
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (index < 0 || index >= model.getRowCount()) {
+            throw new IndexOutOfBoundsException("Invalid index");
+        }
+        if (viewToModel == null) {
+            return index;
+        }
+        if (modelToView == null) {
+            modelToView = new int[model.getRowCount()];
+            Arrays.fill(modelToView, -1);
+            for (int viewRow = 0; viewRow < viewToModel.length; viewRow++) {
+                if (viewToModel[viewRow] < modelToView.length) {
+                    modelToView[viewToModel[viewRow]] = viewRow;
+                }
+            }
+        }
+        return modelToView[index];
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel == null ? model.getRowCount() : viewToModel.length;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        allRowsChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        generation++;
+        removedRows = 0;
+        coveredRows = 0;
+        modelToView = null;
+        if (isViewActive()) {
+            viewToModel = new int[0];
+            invalidate();
+        }
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        modelToView = null;
+        if (!isViewActive()) {
+            return;
+        }
+        // 结果表只在尾部追加；其他位置插入时整体重算
+        if (firstRow < coveredRows) {
+            invalidate();
+            return;
+        }
+        schedule();
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        int count = endRow - firstRow + 1;
+        modelToView = null;
+        if (firstRow == 0) {
+            removedRows += count;
+        }
+        if (!isViewActive()) {
+            return;
+        }
+        viewToModel = removeRange(viewToModel, firstRow, endRow);
+        if (firstRow < coveredRows) {
+            coveredRows -= Math.min(endRow + 1, coveredRows) - firstRow;
+        }
+        // 中间删除无法用累计淘汰数平移后台结果
+        if (firstRow != 0) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        if (isViewActive()) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        rowsUpdated(firstRow, endRow);
+    }
+
+    private boolean isViewActive() {
+        return keyword != null || !sortKeys.isEmpty();
+    }
+
+    private void refreshView() {
+        if (isViewActive()) {
+            invalidate();
+            return;
+        }
+        generation++;
+        fullRebuildRequired = false;
+        int[] previous = currentViewToModel();
+        viewToModel = null;
+        modelToView = null;
+        coveredRows = 0;
+        fireRowSorterChanged(previous);
+        viewListener.run();
+    }
+
+    private void invalidate() {
+        generation++;
+        fullRebuildRequired = true;
+        schedule();
+    }
+
+    private void schedule() {
+        if (worker != null) {
+            rescheduleRequired = true;
+            return;
+        }
+        if (!isViewActive()) {
+            fullRebuildRequired = false;
+            return;
+        }
+        boolean full = fullRebuildRequired;
+        fullRebuildRequired = false;
+        int fromRow = full ? 0 : coveredRows;
+        if (!full && fromRow >= model.getRowCount()) {
+            return;
+        }
+
+        int jobGeneration = generation;
+        long removedAtStart = removedRows;
+        PerformanceResultColumnStore snapshot = model.columns().copyFrom(fromRow);
+        int coveredAtEnd = fromRow + snapshot.size();
+        String jobKeyword = keyword;
+        int sortColumn = sortColumn();
+        boolean ascending = isAscending();
+
+        worker = new SwingWorker<>() {
+            @Override
+            protected int[] doInBackground() {
+                int[] rows = snapshot.select(jobKeyword, sortColumn, ascending);
+                for (int i = 0; i < rows.length; i++) {
+                    rows[i] += fromRow;
+                }
+                return rows;
+            }
+
+            @Override
+            protected void done() {
+                if (worker != this) {
+                    return;
+                }
+                worker = null;
+                try {
+                    if (!isCancelled() && jobGeneration == generation) {
+                        int shift = (int) (removedRows - removedAtStart);
+                        apply(shift(get(), shift), full, coveredAtEnd - shift);
+                    }
+                } catch (Exception e) {
+                    log.warn("计算结果表视图失败", e);
+                }
+                if (rescheduleRequired || isPending()) {
+                    rescheduleRequired = false;
+                    schedule();
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void apply(int[] rows, boolean full, int covered) {
+        int[] previous = currentViewToModel();
+        if (full || viewToModel == null) {
+            viewToModel = rows;
+        } else if (rows.length > 0) {
+            IntBinaryOperator comparator = model.columns().comparator(sortColumn(), isAscending());
+            viewToModel = PerformanceResultColumnStore.mergeRows(viewToModel, rows, comparator);
+        }
+        coveredRows = Math.max(0, covered);
+        modelToView = null;
+        fireRowSorterChanged(previous);
+        viewListener.run();
+    }
+
+    private int[] currentViewToModel() {
+        if (viewToModel != null) {
+            return viewToModel;
+        }
+        int[] identity = new int[model.getRowCount()];
+        for (int i = 0; i < identity.length; i++) {
+            identity[i] = i;
+        }
+        return identity;
+    }
+
+    private int sortColumn() {
+        return sortKeys.isEmpty() ? -1 : sortKeys.get(0).getColumn();
+    }
+
+    private boolean isAscending() {
+        return sortKeys.isEmpty() || sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING;
+    }
+
+    private void checkColumn(int column) {
+        if (column < 0 || column >= model.getColumnCount()) {
+            throw new IndexOutOfBoundsException("column beyond range of TableModel");
+        }
+    }
+
+    // 后台计算期间头部又淘汰了 shift 行：丢弃已淘汰的下标，其余整体前移
+    private static int[] shift(int[] rows, int shift) {
+        if (shift <= 0) {
+            return rows;
+        }
+        int count = 0;
+        int[] shifted = new int[rows.length];
+        for (int row : rows) {
+            if (row >= shift) {
+                shifted[count++] = row - shift;
+            }
+        }
+        return Arrays.copyOf(shifted, count);
+    }
+
+    private static int[] removeRange(int[] rows, int firstRow, int endRow) {
+        if (rows == null) {
+            return null;
+        }
+        int count = endRow - firstRow + 1;
+        int kept = 0;
+        int[] result = new int[rows.length];
+        for (int row : rows) {
+            if (row < firstRow) {
+                result[kept++] = row;
+            } else if (row > endRow) {
+                result[kept++] = row - count;
+            }
+        }
+        return Arrays.copyOf(result, kept);
+    }
+}
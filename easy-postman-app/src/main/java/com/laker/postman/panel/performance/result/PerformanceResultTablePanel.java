@@ -1,13 +1,8 @@
 package com.laker.postman.panel.performance.result;
 
-import com.laker.postman.request.model.HttpHeader;
-
-
-
 import com.laker.postman.common.component.SearchTextField;
 import com.laker.postman.common.component.AppToolWindowChrome;
 import com.laker.postman.common.component.ToolWindowSurfaceStyle;
-import com.laker.postman.performance.model.PerformanceInternalHeaders;
 import com.laker.postman.performance.model.PerformanceProtocolLabels;
 import com.laker.postman.performance.model.ResultNodeInfo;
 import com.laker.postman.service.render.HttpHtmlRenderer;
@@ -22,10 +17,8 @@ import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -34,7 +27,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 /**
  * 性能测试结果表
  * - 200ms 增量刷新机制
- * - 支持排序和深度搜索过滤
+ * - 列式环形存储，支持排序和深度搜索过滤（后台计算行下标）
  */
 @Slf4j
 public class PerformanceResultTablePanel extends JPanel {
@@ -42,7 +35,7 @@ public class PerformanceResultTablePanel extends JPanel {
     private JTable table;
     private ResultTableModel tableModel;
     private JTabbedPane detailTabs;
-    private TableRowSorter<ResultTableModel> rowSorter;
+    private PerformanceResultRowSorter rowSorter;
 
     private SearchTextField searchField;
 
@@ -108,6 +101,7 @@ public class PerformanceResultTablePanel extends JPanel {
             tableModel.append(batch);
             log.debug("强制刷新了 {} 条待处理的结果到结果树", batch.size());
         }
+        tableModel.flushIfDirty();
     }
 
     private void initUI() {
@@ -134,10 +128,9 @@ public class PerformanceResultTablePanel extends JPanel {
         // 设置自定义渲染器
         table.setDefaultRenderer(Object.class, new ResultRowRenderer());
 
-        // 配置 TableRowSorter
-        rowSorter = new TableRowSorter<>(tableModel);
+        // 过滤和排序在后台计算，结果回到 EDT 后再更新搜索框状态
+        rowSorter = new PerformanceResultRowSorter(tableModel, this::onViewChanged);
         table.setRowSorter(rowSorter);
-        configureSorterComparators();
 
         // 配置列宽
         configureColumnWidths();
@@ -167,32 +160,6 @@ public class PerformanceResultTablePanel extends JPanel {
         add(split, BorderLayout.CENTER);
     }
 
-    // 配置排序比较器
-    private void configureSorterComparators() {
-        // 列 0: Protocol - 字符串排序
-        rowSorter.setComparator(0, Comparator.comparing(String::toString, String.CASE_INSENSITIVE_ORDER));
-
-        // 列 1: Name - 字符串排序
-        rowSorter.setComparator(1, Comparator.comparing(String::toString, String.CASE_INSENSITIVE_ORDER));
-
-        // 列 2: Status - 数值排序（状态码）
-        rowSorter.setComparator(2, Comparator.comparing((Object o) -> {
-            String s = o.toString();
-            if ("-".equals(s)) return 0;
-            try {
-                return Integer.parseInt(s);
-            } catch (NumberFormatException e) {
-                return 0;
-            }
-        }));
-
-        // 列 3: Duration (ms) - 数值排序
-        rowSorter.setComparator(3, Comparator.comparingInt(Integer.class::cast));
-
-        // 列 4: Assertion - 按成功/失败排序
-        rowSorter.setComparator(4, Comparator.comparing(String::toString));
-    }
-
     // 配置列宽度
     private void configureColumnWidths() {
         // Protocol 列
@@ -262,15 +229,12 @@ public class PerformanceResultTablePanel extends JPanel {
      * 执行过滤
      */
     private void doFilter() {
-        String text = searchField.getText();
-        if (text == null || text.trim().isEmpty()) {
-            rowSorter.setRowFilter(null);
-            searchField.setNoResult(false);
-        } else {
-            rowSorter.setRowFilter(new ResultRowFilter(text.trim().toLowerCase()));
-            // 过滤后无可见行时变红
-            searchField.setNoResult(table.getRowCount() == 0);
-        }
+        rowSorter.setKeyword(searchField.getText());
+    }
+
+    private void onViewChanged() {
+        // 过滤后无可见行时变红
+        searchField.setNoResult(rowSorter.isFiltering() && !rowSorter.isPending() && table.getRowCount() == 0);
     }
 
     private void onRowSelected(ListSelectionEvent e) {
@@ -394,195 +358,117 @@ public class PerformanceResultTablePanel extends JPanel {
     // 资源清理
     public void dispose() {
         uiFrameTimer.stop();
+        rowSorter.dispose();
         if (searchDebounceTimer != null) {
             searchDebounceTimer.stop();
         }
     }
 
-    // 自定义 RowFilter - 支持深度搜索
-    static class ResultRowFilter extends RowFilter<ResultTableModel, Integer> {
-        private final String keyword;
-
-        public ResultRowFilter(String keyword) {
-            this.keyword = keyword;
-        }
-
-        @Override
-        public boolean include(Entry<? extends ResultTableModel, ? extends Integer> entry) {
-            ResultTableModel model = entry.getModel();
-            int row = entry.getIdentifier();
-            ResultNodeInfo info = model.getRow(row);
-
-            if (info == null) return false;
-
-            // 1. 检查接口名称
-            if (info.name != null && info.name.toLowerCase().contains(keyword)) {
-                return true;
-            }
-
-            // 2. 检查用户可见错误
-            if (info.errorMsg != null && info.errorMsg.toLowerCase().contains(keyword)) {
-                return true;
-            }
-
-            // 3. 检查请求内容（URL、Headers、Body）
-            if (matchesRequest(info)) {
-                return true;
-            }
-
-            // 4. 检查响应内容（Headers、Body）
-            return matchesResponse(info);
-        }
-
-        // 检查请求内容是否匹配关键字
-        private boolean matchesRequest(ResultNodeInfo info) {
-            if (info.req == null) return false;
-
-            // 检查 URL
-            if (info.req.url != null && info.req.url.toLowerCase().contains(keyword)) {
-                return true;
-            }
-
-            // 检查请求 Headers
-            if (info.req.headersList != null) {
-                for (HttpHeader header : info.req.headersList) {
-                    if (!header.isEnabled()) continue;
-                    String headerStr = (header.getKey() + ": " + header.getValue()).toLowerCase();
-                    if (headerStr.contains(keyword)) {
-                        return true;
-                    }
-                }
-            }
-
-            // 检查请求 Body
-            return info.req.body != null && info.req.body.toLowerCase().contains(keyword);
-        }
-
-        // 检查响应内容是否匹配关键字
-        private boolean matchesResponse(ResultNodeInfo info) {
-            if (info.resp == null) return false;
-
-            // 检查响应 Headers
-            if (info.resp.headers != null) {
-                for (var entry : info.resp.headers.entrySet()) {
-                    String key = entry.getKey();
-                    if (PerformanceInternalHeaders.isInternalHeader(key)) {
-                        continue;
-                    }
-                    List<String> values = entry.getValue();
-                    String headerStr = (key + ": " + String.join(", ", values)).toLowerCase();
-                    if (headerStr.contains(keyword)) {
-                        return true;
-                    }
-                }
-            }
-
-            // 检查响应 Body
-            return info.resp.body != null && info.resp.body.toLowerCase().contains(keyword);
-        }
-
+    record PendingResult(ResultNodeInfo info, int rowLimit) {
     }
 
     // TableModel - 增量刷新优化
-    private record PendingResult(ResultNodeInfo info, int rowLimit) {
-    }
-
     static class ResultTableModel extends AbstractTableModel {
 
-        private static final int COL_PROTOCOL = 0;
-        private static final int COL_NAME = 1;
-        private static final int COL_STATUS = 2;
-        private static final int COL_COST = 3;
-        private static final int COL_ASSERTION = 4;
+        private static final String[] STATUS_TEXT = new String[1000];
 
-        private final List<ResultNodeInfo> dataList = new ArrayList<>(1024);
+        private final PerformanceResultColumnStore columns = new PerformanceResultColumnStore();
         private boolean dirty = false;
-        private boolean fullRefreshRequired = false;
 
-        // 追踪新增行的起始位置，用于增量刷新
-        private int firstNewRow = -1;
+        // 已通知给表格的行数，以及此后从头部淘汰的行数；刷新时换算成删除/插入事件
+        private int publishedRows = 0;
+        private int removedSinceFlush = 0;
 
         @Override
         public int getRowCount() {
-            return dataList.size();
+            return columns.size();
         }
 
         @Override
         public int getColumnCount() {
-            return 5;
+            return PerformanceResultColumnStore.COLUMN_COUNT;
         }
 
         @Override
         public String getColumnName(int col) {
             return switch (col) {
-                case COL_PROTOCOL -> I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_COLUMN_PROTOCOL);
-                case COL_NAME -> I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_COLUMN_NAME);
-                case COL_STATUS -> I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_COLUMN_STATUS);
-                case COL_COST -> I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_COLUMN_COST);
-                case COL_ASSERTION -> I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_COLUMN_ASSERTION);
+                case PerformanceResultColumnStore.COL_PROTOCOL ->
+                        I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_COLUMN_PROTOCOL);
+                case PerformanceResultColumnStore.COL_NAME ->
+                        I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_COLUMN_NAME);
+                case PerformanceResultColumnStore.COL_STATUS ->
+                        I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_COLUMN_STATUS);
+                case PerformanceResultColumnStore.COL_COST ->
+                        I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_COLUMN_COST);
+                case PerformanceResultColumnStore.COL_ASSERTION ->
+                        I18nUtil.getMessage(MessageKeys.PERFORMANCE_RESULT_TREE_COLUMN_ASSERTION);
                 default -> "";
             };
         }
 
+        // 只有可见行会被渲染器取值，单元格内容按需从基本类型列生成
         @Override
         public Object getValueAt(int row, int col) {
-            ResultNodeInfo r = dataList.get(row);
             return switch (col) {
-                case COL_PROTOCOL -> PerformanceProtocolLabels.displayName(r.protocol);
-                case COL_NAME -> r.name;
-                case COL_STATUS -> r.responseCode > 0 ? String.valueOf(r.responseCode) : "-";
-                case COL_COST -> r.costMs;
-                case COL_ASSERTION -> formatAssertion(r);
+                case PerformanceResultColumnStore.COL_PROTOCOL ->
+                        PerformanceProtocolLabels.displayName(columns.protocol(row));
+                case PerformanceResultColumnStore.COL_NAME -> columns.name(row);
+                case PerformanceResultColumnStore.COL_STATUS -> statusText(columns.status(row));
+                case PerformanceResultColumnStore.COL_COST -> columns.costMs(row);
+                case PerformanceResultColumnStore.COL_ASSERTION -> assertionText(columns.assertionSymbol(row));
                 default -> "";
             };
         }
 
-        // Keep assertion symbols themeable; color comes from ResultRowRenderer.
-        private String formatAssertion(ResultNodeInfo r) {
-            // 1. 如果有断言结果
-            if (r.testResults != null && !r.testResults.isEmpty()) {
-                return r.hasAssertionFailed() ? "×" : "✓";
+        private static String statusText(int status) {
+            if (status <= 0) {
+                return "-";
             }
-
-            // 2. 无断言测试
-            if (!r.isActuallySuccessful()) {
-                return "×";
+            if (status >= STATUS_TEXT.length) {
+                return String.valueOf(status);
             }
+            String text = STATUS_TEXT[status];
+            if (text == null) {
+                text = String.valueOf(status);
+                STATUS_TEXT[status] = text;
+            }
+            return text;
+        }
 
-            return "—";
+        // Keep assertion symbols themeable; color comes from ResultRowRenderer.
+        private static String assertionText(char symbol) {
+            return switch (symbol) {
+                case PerformanceResultColumnStore.ASSERTION_FAILED -> "×";
+                case PerformanceResultColumnStore.ASSERTION_PASSED -> "✓";
+                default -> "—";
+            };
         }
 
         @Override
         public Class<?> getColumnClass(int columnIndex) {
             return switch (columnIndex) {
-                case COL_PROTOCOL -> String.class;
-                case COL_NAME -> String.class;
-                case COL_STATUS -> String.class;
-                case COL_COST -> Integer.class;
-                case COL_ASSERTION -> String.class;
+                case PerformanceResultColumnStore.COL_PROTOCOL,
+                     PerformanceResultColumnStore.COL_NAME,
+                     PerformanceResultColumnStore.COL_STATUS,
+                     PerformanceResultColumnStore.COL_ASSERTION -> String.class;
+                case PerformanceResultColumnStore.COL_COST -> Integer.class;
                 default -> Object.class;
             };
         }
 
         ResultNodeInfo getRow(int row) {
-            if (row < 0 || row >= dataList.size()) {
-                return null;
-            }
-            return dataList.get(row);
+            return columns.detail(row);
         }
 
+        PerformanceResultColumnStore columns() {
+            return columns;
+        }
 
         void append(List<PendingResult> batch) {
             if (batch.isEmpty()) return;
 
-            // 记录新增行的起始位置
-            if (firstNewRow == -1) {
-                firstNewRow = dataList.size();
-            }
-
             for (PendingResult pending : batch) {
-                dataList.add(pending.info());
-                trimRowsForRetention(pending.rowLimit());
+                removedSinceFlush += columns.append(pending.info(), pending.rowLimit());
             }
             dirty = true;
         }
@@ -591,41 +477,29 @@ public class PerformanceResultTablePanel extends JPanel {
             if (!dirty) return;
             dirty = false;
 
-            if (fullRefreshRequired) {
-                fullRefreshRequired = false;
-                firstNewRow = -1;
-                fireTableDataChanged();
-                return;
+            // 超出保留条数时只通知头部删除和尾部新增，不再整表刷新
+            int removedPublished = Math.min(removedSinceFlush, publishedRows);
+            int remainingPublished = publishedRows - removedPublished;
+            removedSinceFlush = 0;
+            publishedRows = columns.size();
+            if (removedPublished > 0) {
+                fireTableRowsDeleted(0, removedPublished - 1);
             }
-
-            // 增量刷新：仅通知新增的行
-            if (firstNewRow != -1 && firstNewRow < dataList.size()) {
-                int lastRow = dataList.size() - 1;
-                fireTableRowsInserted(firstNewRow, lastRow);
-                firstNewRow = -1; // 重置
+            if (publishedRows > remainingPublished) {
+                fireTableRowsInserted(remainingPublished, publishedRows - 1);
             }
         }
 
         void clear() {
-            dataList.clear();
+            columns.clear();
             dirty = false;
-            fullRefreshRequired = false;
-            firstNewRow = -1; // 重置
+            publishedRows = 0;
+            removedSinceFlush = 0;
             fireTableDataChanged();
         }
-
-        private void trimRowsForRetention(int rowLimit) {
-            int effectiveLimit = Math.max(1, rowLimit);
-            int overflow = dataList.size() - effectiveLimit;
-            if (overflow > 0) {
-                dataList.subList(0, overflow).clear();
-                fullRefreshRequired = true;
-                firstNewRow = -1;
-            }
-        }
     }
 
-    // 行渲染器 - 设置不同列的对齐方式和颜色
+    // 行渲染器 - 设置不同列的对齐方式和颜色，颜色直接读列式存储，不访问原始结果对象
     static class ResultRowRenderer extends DefaultTableCellRenderer {
 
         @Override
@@ -639,9 +513,11 @@ public class PerformanceResultTablePanel extends JPanel {
 
             // 获取列索引
             int modelColumn = table.convertColumnIndexToModel(column);
-            ResultNodeInfo info = getRowInfo(table, row);
+            PerformanceResultColumnStore columns = getColumns(table);
+            int modelRow = getModelRow(table, row, columns);
+            boolean known = modelRow >= 0;
 
-            setBorder(createCellBorder(modelColumn, info, isSelected));
+            setBorder(createCellBorder(modelColumn, known && columns.isSuccessful(modelRow), known, isSelected));
             if (!isSelected) {
                 setBackground(table.getBackground());
                 setForeground(table.getForeground());
@@ -654,15 +530,15 @@ public class PerformanceResultTablePanel extends JPanel {
                     break;
                 case 1: // 接口名称 - 左对齐
                     setHorizontalAlignment(SwingConstants.LEFT);
-                    if (!isSelected && info != null && !info.isActuallySuccessful()) {
+                    if (!isSelected && known && !columns.isSuccessful(modelRow)) {
                         setForeground(PerformanceTheme.resultFailureForeground());
                         setFont(table.getFont().deriveFont(Font.BOLD));
                     }
                     break;
                 case 2: // 状态码 - 居中对齐，带颜色
                     setHorizontalAlignment(SwingConstants.CENTER);
-                    if (!isSelected && value != null && !"-".equals(value)) {
-                        applyStatusColors(this, value.toString());
+                    if (!isSelected && known && columns.status(modelRow) > 0) {
+                        applyStatusColors(this, columns.status(modelRow));
                     }
                     break;
                 case 3: // 耗时 - 右对齐
@@ -670,8 +546,8 @@ public class PerformanceResultTablePanel extends JPanel {
                     break;
                 case 4: // 断言 - 居中
                     setHorizontalAlignment(SwingConstants.CENTER);
-                    if (!isSelected && info != null) {
-                        applyAssertionColors(this, info);
+                    if (!isSelected && known) {
+                        applyAssertionColors(this, columns.assertionSymbol(modelRow));
                     }
                     break;
                 default: // 其他列 - 左对齐
@@ -682,22 +558,24 @@ public class PerformanceResultTablePanel extends JPanel {
             return this;
         }
 
-        private ResultNodeInfo getRowInfo(JTable table, int viewRow) {
-            int modelRow = table.convertRowIndexToModel(viewRow);
-            if (modelRow < 0) {
-                return null;
-            }
-            if (!(table.getModel() instanceof ResultTableModel model)) {
-                return null;
+        private PerformanceResultColumnStore getColumns(JTable table) {
+            return table.getModel() instanceof ResultTableModel model ? model.columns() : null;
+        }
+
+        private int getModelRow(JTable table, int viewRow, PerformanceResultColumnStore columns) {
+            if (columns == null) {
+                return -1;
             }
-            return model.getRow(modelRow);
+            int modelRow = table.convertRowIndexToModel(viewRow);
+            return modelRow < columns.size() ? modelRow : -1;
         }
 
-        private javax.swing.border.Border createCellBorder(int modelColumn, ResultNodeInfo info, boolean isSelected) {
+        private javax.swing.border.Border createCellBorder(int modelColumn, boolean successful,
+                                                           boolean known, boolean isSelected) {
             int leftInset = modelColumn == 1 ? 8 : 6;
 
-            if (modelColumn == 1 && info != null && !isSelected) {
-                Color stripeColor = info.isActuallySuccessful()
+            if (modelColumn == 1 && known && !isSelected) {
+                Color stripeColor = successful
                         ? PerformanceTheme.resultSuccessStripe()
                         : PerformanceTheme.resultFailureStripe();
                 return BorderFactory.createCompoundBorder(
@@ -712,23 +590,17 @@ public class PerformanceResultTablePanel extends JPanel {
         /**
          * 根据状态码应用颜色 - 参考 FunctionalRunnerTableModel
          */
-        private void applyStatusColors(Component c, String status) {
+        private void applyStatusColors(Component c, int code) {
             Color foreground = PerformanceTheme.tableForeground();
 
-            try {
-                int code = Integer.parseInt(status);
-                if (code >= 200 && code < 300) {
-                    // 成功：使用绿色
-                    foreground = PerformanceTheme.resultSuccessForeground();
-                } else if (code >= 400 && code < 500) {
-                    // 客户端错误：使用警告色
-                    foreground = PerformanceTheme.resultWarningForeground();
-                } else if (code >= 500) {
-                    // 服务器错误：使用错误色
-                    foreground = PerformanceTheme.resultFailureForeground();
-                }
-            } catch (NumberFormatException e) {
-                // 非数字状态（如错误消息）
+            if (code >= 200 && code < 300) {
+                // 成功：使用绿色
+                foreground = PerformanceTheme.resultSuccessForeground();
+            } else if (code >= 400 && code < 500) {
+                // 客户端错误：使用警告色
+                foreground = PerformanceTheme.resultWarningForeground();
+            } else if (code >= 500) {
+                // 服务器错误：使用错误色
                 foreground = PerformanceTheme.resultFailureForeground();
             }
 
@@ -736,16 +608,12 @@ public class PerformanceResultTablePanel extends JPanel {
             c.setForeground(foreground);
         }
 
-        private void applyAssertionColors(Component c, ResultNodeInfo info) {
-            if (info.testResults == null || info.testResults.isEmpty()) {
-                c.setForeground(info.isActuallySuccessful()
-                        ? PerformanceTheme.resultMutedForeground()
-                        : PerformanceTheme.resultFailureForeground());
-                return;
-            }
-            c.setForeground(info.hasAssertionFailed()
-                    ? PerformanceTheme.resultFailureForeground()
-                    : PerformanceTheme.resultSuccessForeground());
+        private void applyAssertionColors(Component c, char symbol) {
+            c.setForeground(switch (symbol) {
+                case PerformanceResultColumnStore.ASSERTION_PASSED -> PerformanceTheme.resultSuccessForeground();
+                case PerformanceResultColumnStore.ASSERTION_NONE -> PerformanceTheme.resultMutedForeground();
+                default -> PerformanceTheme.resultFailureForeground();
+            });
         }
     }
 }
@@ -1,7 +1,11 @@
 package com.laker.postman.panel.performance.result;
 
 import com.laker.postman.performance.core.model.PerformanceProtocol;
+import com.laker.postman.performance.core.model.PerformanceTrendSeries;
 import com.laker.postman.performance.core.model.PerformanceTrendSnapshot;
+import com.laker.postman.performance.core.model.PerformanceTrendTierStore;
+import com.laker.postman.performance.core.report.PerformanceJsonReportMapper;
+import com.laker.postman.performance.core.report.PerformanceJsonReportTrendTier;
 
 
 import com.laker.postman.common.UiSingletonPanel;
@@ -37,6 +41,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -47,7 +52,11 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
 
     private static final String SEPARATE_VIEW = "separate";
     private static final String COMBINED_VIEW = "combined";
-    private static final int MAX_TREND_POINTS = 3_600;
+    /**
+     * 图表宽度未知（未布局或隐藏）时，每条曲线展示的点数
+     */
+    private static final int MIN_DISPLAY_POINTS = 1_000;
+    private static final int ZOOM_REFRESH_DELAY_MS = 150;
     private static final long EMPTY_DOMAIN_WINDOW_MS = 60_000L;
     private static final long MIN_ACTIVE_IDLE_TRANSITION_MS = 1_000L;
     private static final String JFREE_CHART_BUNDLE = "org.jfree.chart.LocalizationBundle";
@@ -90,8 +99,20 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
     private final TimeSeries sseMatchedRateSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_MATCHED_RATE));
     private final TimeSeries sseFirstEventLatencySeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_FIRST_EVENT_LATENCY_MS));
     private final TimeSeries sseStreamDurationSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_STREAM_DURATION_MS));
+    private final TimeSeries sseInterEventGapSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_INTER_EVENT_GAP_MS));
     private final TimeSeries sseErrorRateSeries = new TimeSeries(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TREND_ERROR_RATE_PERCENT));
 
+    // 完整历史保存在分层存储里，TimeSeries 只是按图表宽度降采样后的展示视图
+    private final PerformanceTrendTierStore trendStore = new PerformanceTrendTierStore();
+    private final Map<TimeSeries, PerformanceTrendSeries> trendSeriesKeys = createTrendSeriesKeys();
+    private final Timer zoomRefreshTimer = new Timer(ZOOM_REFRESH_DELAY_MS, e -> refreshZoomedSeries());
+    private long[] pendingZoomRangeMs;
+    /**
+     * 用户放大查看的时间段；null 表示展示整段运行。实时追加不会覆盖放大后的坐标轴，重建曲线时也以它为焦点
+     */
+    private long[] zoomFocusRangeMs;
+    private boolean adjustingDomain;
+
     private final List<TrendView> trendViews = new ArrayList<>();
     private final Map<PerformanceProtocol, JToggleButton> protocolButtons = new EnumMap<>(PerformanceProtocol.class);
     private JPanel protocolSwitcherRow;
@@ -106,7 +127,7 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
 
     @Override
     protected void initUI() {
-        configureSeriesRetention();
+        zoomRefreshTimer.setRepeats(false);
         setLayout(new BorderLayout());
         ToolWindowSurfaceStyle.applyCard(this);
         protocolCards = new JPanel(new CardLayout());
@@ -132,10 +153,26 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
         applyAvailableProtocols();
     }
 
-    private void configureSeriesRetention() {
-        for (TimeSeries series : allSeries()) {
-            series.setMaximumItemCount(MAX_TREND_POINTS);
-        }
+    private Map<TimeSeries, PerformanceTrendSeries> createTrendSeriesKeys() {
+        Map<TimeSeries, PerformanceTrendSeries> keys = new LinkedHashMap<>();
+        keys.put(httpVirtualUsersSeries, PerformanceTrendSeries.HTTP_ACTIVE_USERS);
+        keys.put(httpRpsSeries, PerformanceTrendSeries.HTTP_SAMPLE_RATE);
+        keys.put(httpAvgResponseSeries, PerformanceTrendSeries.HTTP_AVG_DURATION);
+        keys.put(httpErrorRateSeries, PerformanceTrendSeries.HTTP_FAILURE_PERCENT);
+        keys.put(wsActiveSeries, PerformanceTrendSeries.WEBSOCKET_ACTIVE_CONNECTIONS);
+        keys.put(wsSentRateSeries, PerformanceTrendSeries.WEBSOCKET_SENT_RATE);
+        keys.put(wsReceivedRateSeries, PerformanceTrendSeries.WEBSOCKET_RECEIVED_RATE);
+        keys.put(wsFirstMessageLatencySeries, PerformanceTrendSeries.WEBSOCKET_FIRST_MESSAGE_LATENCY);
+        keys.put(wsSessionDurationSeries, PerformanceTrendSeries.WEBSOCKET_AVG_DURATION);
+        keys.put(wsErrorRateSeries, PerformanceTrendSeries.WEBSOCKET_FAILURE_PERCENT);
+        keys.put(sseActiveSeries, PerformanceTrendSeries.SSE_ACTIVE_STREAMS);
+        keys.put(sseEventRateSeries, PerformanceTrendSeries.SSE_RECEIVED_RATE);
+        keys.put(sseMatchedRateSeries, PerformanceTrendSeries.SSE_MATCHED_RATE);
+        keys.put(sseFirstEventLatencySeries, PerformanceTrendSeries.SSE_FIRST_EVENT_LATENCY);
+        keys.put(sseStreamDurationSeries, PerformanceTrendSeries.SSE_AVG_DURATION);
+        keys.put(sseInterEventGapSeries, PerformanceTrendSeries.SSE_INTER_EVENT_GAP);
+        keys.put(sseErrorRateSeries, PerformanceTrendSeries.SSE_FAILURE_PERCENT);
+        return keys;
     }
 
     private JPanel createHttpPanel(JPanel metricControlsCards) {
@@ -169,7 +206,8 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
                 MessageKeys.PERFORMANCE_TREND_METRICS,
                 new SeriesSpec(sseActiveSeries, PerformanceTrendTheme.threadsLine(), true, AxisFormat.INTEGER),
                 new SeriesSpec(sseEventRateSeries, PerformanceTrendTheme.qpsLine(), true, AxisFormat.DECIMAL),
-                new SeriesSpec(sseErrorRateSeries, PerformanceTrendTheme.errorRateLine(), true, AxisFormat.DECIMAL)
+                new SeriesSpec(sseErrorRateSeries, PerformanceTrendTheme.errorRateLine(), true, AxisFormat.DECIMAL),
+                new SeriesSpec(sseInterEventGapSeries, PerformanceTrendTheme.responseTimeLine(), false, AxisFormat.DECIMAL)
         );
     }
 
@@ -348,6 +386,7 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
         dateAxis.setLabelFont(FontsUtil.getDefaultFont(Font.PLAIN));
         dateAxis.setTickLabelPaint(PerformanceTrendTheme.text());
         dateAxis.setLabelPaint(PerformanceTrendTheme.text());
+        dateAxis.addChangeListener(event -> scheduleZoomRefresh(dateAxis));
         plot.setDomainAxis(dateAxis);
 
         NumberAxis rangeAxis = (NumberAxis) plot.getRangeAxis();
@@ -492,16 +531,30 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
         return renderer;
     }
 
+    @Override
+    public List<PerformanceJsonReportTrendTier> trendTiers() {
+        return PerformanceJsonReportMapper.toTrendTiers(trendStore);
+    }
+
     @Override
     public void clearTrendDataset() {
         long resetTimeMs = System.currentTimeMillis();
-        for (TimeSeries series : allSeries()) {
-            series.clear();
-        }
-        trendDomainStartMs = null;
-        trendDomainEndMs = null;
-        for (TrendView trendView : trendViews) {
-            trendView.resetAxes(resetTimeMs);
+        zoomRefreshTimer.stop();
+        pendingZoomRangeMs = null;
+        zoomFocusRangeMs = null;
+        trendStore.clear();
+        adjustingDomain = true;
+        try {
+            for (TimeSeries series : allSeries()) {
+                series.clear();
+            }
+            trendDomainStartMs = null;
+            trendDomainEndMs = null;
+            for (TrendView trendView : trendViews) {
+                trendView.resetAxes(resetTimeMs);
+            }
+        } finally {
+            adjustingDomain = false;
         }
     }
 
@@ -532,7 +585,7 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
                 wsActiveSeries, wsSentRateSeries, wsReceivedRateSeries, wsFirstMessageLatencySeries,
                 wsSessionDurationSeries, wsErrorRateSeries,
                 sseActiveSeries, sseEventRateSeries, sseMatchedRateSeries, sseFirstEventLatencySeries,
-                sseStreamDurationSeries, sseErrorRateSeries
+                sseStreamDurationSeries, sseInterEventGapSeries, sseErrorRateSeries
         };
     }
 
@@ -543,35 +596,128 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
         }
         period = normalizeDisplayPeriod(period, snapshot);
         boolean suppressLeadingIdleActiveCounts = shouldSuppressLeadingIdleActiveCounts(snapshot);
+        long timeMs = period.getFirstMillisecond();
+
+        adjustingDomain = true;
+        try {
+            int displayedPoints = 0;
+            for (Map.Entry<TimeSeries, PerformanceTrendSeries> entry : trendSeriesKeys.entrySet()) {
+                PerformanceTrendSeries trendSeries = entry.getValue();
+                double rawValue = trendSeries.value(snapshot);
+                Number value = trendSeries.activeCount()
+                        ? PerformanceTrendSeriesValue.activeCount((int) rawValue, suppressLeadingIdleActiveCounts)
+                        : PerformanceTrendSeriesValue.sampleMetric(rawValue);
+                trendStore.record(trendSeries.key(), timeMs, value == null ? Double.NaN : value.doubleValue());
+                entry.getKey().addOrUpdate(period, value);
+                displayedPoints = Math.max(displayedPoints, entry.getKey().getItemCount());
+            }
+            syncDomainAxes(period);
+            // 实时追加到两倍预算后整体重建一次，长稳压测中每条曲线的点数始终和图表宽度同一量级
+            if (displayedPoints > 2 * displayPointBudget()) {
+                long[] focus = zoomFocusRangeMs;
+                if (focus != null) {
+                    refreshDisplayedSeries(focus[0], focus[1]);
+                } else {
+                    refreshDisplayedSeries(trendDomainStartMs, trendDomainEndMs);
+                }
+            }
+        } finally {
+            adjustingDomain = false;
+        }
+    }
+
+    /**
+     * 从分层存储重建展示曲线：整段运行按图表宽度降采样，focus 区间内再单独按图表宽度降采样，
+     * 放大到任意时间段时能看到该段的原始点或 10s/1m 聚合点，缩回全局时仍有完整轮廓。
+     */
+    void refreshDisplayedSeries(long focusStartMs, long focusEndMs) {
+        if (trendDomainStartMs == null || trendDomainEndMs == null) {
+            return;
+        }
+        int budget = displayPointBudget();
+        boolean focused = focusStartMs > trendDomainStartMs || focusEndMs < trendDomainEndMs;
+        for (Map.Entry<TimeSeries, PerformanceTrendSeries> entry : trendSeriesKeys.entrySet()) {
+            String key = entry.getValue().key();
+            List<PerformanceTrendTierStore.Point> points = new ArrayList<>();
+            if (focused) {
+                int contextBudget = Math.max(3, budget / 4);
+                addOutsideFocus(points, trendStore.downsample(key, trendDomainStartMs, trendDomainEndMs, contextBudget),
+                        focusStartMs, focusEndMs, true);
+                points.addAll(trendStore.downsample(key, focusStartMs, focusEndMs, budget));
+                addOutsideFocus(points, trendStore.downsample(key, trendDomainStartMs, trendDomainEndMs, contextBudget),
+                        focusStartMs, focusEndMs, false);
+            } else {
+                points.addAll(trendStore.downsample(key, trendDomainStartMs, trendDomainEndMs, budget));
+            }
+            replaceSeries(entry.getKey(), points);
+        }
+    }
 
-        httpVirtualUsersSeries.addOrUpdate(period, PerformanceTrendSeriesValue.activeCount(
-                snapshot.activeUsers(), suppressLeadingIdleActiveCounts));
-        httpRpsSeries.addOrUpdate(period, PerformanceTrendSeriesValue.sampleMetric(snapshot.http().sampleRate()));
-        httpAvgResponseSeries.addOrUpdate(period, PerformanceTrendSeriesValue.sampleMetric(snapshot.http().avgDurationMs()));
-        httpErrorRateSeries.addOrUpdate(period, PerformanceTrendSeriesValue.sampleMetric(snapshot.http().failurePercent()));
-
-        wsActiveSeries.addOrUpdate(period, PerformanceTrendSeriesValue.activeCount(
-                snapshot.activeWebSocketConnections(), suppressLeadingIdleActiveCounts));
-        wsSentRateSeries.addOrUpdate(period, PerformanceTrendSeriesValue.sampleMetric(snapshot.webSocket().sentRate()));
-        wsReceivedRateSeries.addOrUpdate(period, PerformanceTrendSeriesValue.sampleMetric(snapshot.webSocket().receivedRate()));
-        wsFirstMessageLatencySeries.addOrUpdate(period,
-                PerformanceTrendSeriesValue.sampleMetric(snapshot.webSocket().avgFirstMessageLatencyMs()));
-        wsSessionDurationSeries.addOrUpdate(period,
-                PerformanceTrendSeriesValue.sampleMetric(snapshot.webSocket().avgDurationMs()));
-        wsErrorRateSeries.addOrUpdate(period,
-                PerformanceTrendSeriesValue.sampleMetric(snapshot.webSocket().failurePercent()));
-
-        sseActiveSeries.addOrUpdate(period, PerformanceTrendSeriesValue.activeCount(
-                snapshot.activeSseStreams(), suppressLeadingIdleActiveCounts));
-        sseEventRateSeries.addOrUpdate(period, PerformanceTrendSeriesValue.sampleMetric(snapshot.sse().receivedRate()));
-        sseMatchedRateSeries.addOrUpdate(period, PerformanceTrendSeriesValue.sampleMetric(snapshot.sse().matchedRate()));
-        sseFirstEventLatencySeries.addOrUpdate(period,
-                PerformanceTrendSeriesValue.sampleMetric(snapshot.sse().avgFirstMessageLatencyMs()));
-        sseStreamDurationSeries.addOrUpdate(period,
-                PerformanceTrendSeriesValue.sampleMetric(snapshot.sse().avgDurationMs()));
-        sseErrorRateSeries.addOrUpdate(period, PerformanceTrendSeriesValue.sampleMetric(snapshot.sse().failurePercent()));
-
-        syncDomainAxes(period);
+    private static void addOutsideFocus(List<PerformanceTrendTierStore.Point> target,
+                                        List<PerformanceTrendTierStore.Point> context,
+                                        long focusStartMs,
+                                        long focusEndMs,
+                                        boolean before) {
+        for (PerformanceTrendTierStore.Point point : context) {
+            if (before ? point.timeMs() < focusStartMs : point.timeMs() > focusEndMs) {
+                target.add(point);
+            }
+        }
+    }
+
+    private static void replaceSeries(TimeSeries series, List<PerformanceTrendTierStore.Point> points) {
+        series.setNotify(false);
+        try {
+            series.clear();
+            for (PerformanceTrendTierStore.Point point : points) {
+                series.addOrUpdate(new Millisecond(new Date(point.timeMs())),
+                        PerformanceTrendSeriesValue.sampleMetric(point.avg()));
+            }
+        } finally {
+            series.setNotify(true);
+        }
+    }
+
+    /**
+     * 每条曲线展示的点数：与最宽的图表像素宽度相当，LTTB 在这个点数下已能保留尖峰和拐点
+     */
+    private int displayPointBudget() {
+        int width = 0;
+        for (TrendView trendView : trendViews) {
+            width = Math.max(width, trendView.maxChartWidth());
+        }
+        return Math.max(MIN_DISPLAY_POINTS, width);
+    }
+
+    private void scheduleZoomRefresh(DateAxis dateAxis) {
+        if (adjustingDomain || trendDomainStartMs == null) {
+            return;
+        }
+        // 滚轮缩放会连续触发，合并成一次重建
+        pendingZoomRangeMs = new long[]{dateAxis.getMinimumDate().getTime(), dateAxis.getMaximumDate().getTime()};
+        zoomRefreshTimer.restart();
+    }
+
+    private void refreshZoomedSeries() {
+        long[] range = pendingZoomRangeMs;
+        pendingZoomRangeMs = null;
+        if (range == null || trendDomainStartMs == null || trendDomainEndMs == null) {
+            return;
+        }
+        long focusStartMs = Math.max(trendDomainStartMs, range[0]);
+        long focusEndMs = Math.min(trendDomainEndMs, range[1]);
+        if (focusEndMs < focusStartMs) {
+            return;
+        }
+        // 缩回到覆盖整段运行时恢复跟随最新数据
+        boolean zoomed = focusStartMs > trendDomainStartMs || focusEndMs < trendDomainEndMs;
+        zoomFocusRangeMs = zoomed ? new long[]{focusStartMs, focusEndMs} : null;
+        adjustingDomain = true;
+        try {
+            refreshDisplayedSeries(focusStartMs, focusEndMs);
+        } finally {
+            adjustingDomain = false;
+        }
     }
 
     private RegularTimePeriod normalizeDisplayPeriod(RegularTimePeriod period, PerformanceTrendSnapshot snapshot) {
@@ -645,6 +791,10 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
         trendDomainStartMs = trendDomainStartMs == null ? periodStart : Math.min(trendDomainStartMs, periodStart);
         trendDomainEndMs = trendDomainEndMs == null ? periodEnd : Math.max(trendDomainEndMs, periodEnd);
 
+        if (zoomFocusRangeMs != null) {
+            // 用户正在查看放大的时间段，不把坐标轴拉回整段运行
+            return;
+        }
         // 同一次压测的分离图必须共享 X 轴，否则空值较多的指标会自动裁剪到不同时间范围。
         long end = trendDomainEndMs;
         long visibleDurationMs = end - trendDomainStartMs;
@@ -815,6 +965,14 @@ public class PerformanceTrendPanel extends UiSingletonPanel implements Performan
             }
         }
 
+        private int maxChartWidth() {
+            int width = combinedChartPanel.getWidth();
+            for (SplitChart splitChart : splitCharts) {
+                width = Math.max(width, splitChart.chartPanel().getWidth());
+            }
+            return width;
+        }
+
         private void resetAxes(long resetTimeMs) {
             PerformanceTrendPanel.resetAxes(combinedChartPanel, resetTimeMs);
             for (SplitChart splitChart : splitCharts) {
@@ -2,8 +2,10 @@ package com.laker.postman.panel.performance.result;
 
 import com.laker.postman.performance.core.model.PerformanceTrendSnapshot;
 import com.laker.postman.performance.core.model.PerformanceProtocol;
+import com.laker.postman.performance.core.report.PerformanceJsonReportTrendTier;
 import org.jfree.data.time.RegularTimePeriod;
 
+import java.util.List;
 import java.util.Set;
 
 public interface PerformanceTrendView {
@@ -13,4 +15,11 @@ public interface PerformanceTrendView {
     void clearTrendDataset();
 
     void addOrUpdate(RegularTimePeriod period, PerformanceTrendSnapshot snapshot);
+
+    /**
+     * 本次运行保留的分层趋势，导出报表时写入 trendTiers
+     */
+    default List<PerformanceJsonReportTrendTier> trendTiers() {
+        return List.of();
+    }
 }
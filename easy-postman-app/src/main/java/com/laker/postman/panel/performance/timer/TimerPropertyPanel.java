@@ -3,6 +3,7 @@ package com.laker.postman.panel.performance.timer;
 import com.laker.postman.performance.core.timer.TimerData;
 
 
+import com.laker.postman.common.component.EasyComboBox;
 import com.laker.postman.common.component.EasyJSpinner;
 import com.laker.postman.common.constants.ModernColors;
 import com.laker.postman.performance.model.PerformanceTreeNode;
@@ -15,31 +16,66 @@ import javax.swing.*;
 import java.awt.*;
 
 public class TimerPropertyPanel extends JPanel {
+    private final EasyComboBox<TimerData.TimerType> typeComboBox;
     private final EasyJSpinner delaySpinner;
+    private final EasyJSpinner throughputSpinner;
+    private final EasyComboBox<TimerData.ThroughputScope> scopeComboBox;
+    private final EasyJSpinner poissonMeanSpinner;
+    private final EasyJSpinner pacingSpinner;
+    private final JLabel delayLabel;
+    private final JLabel throughputLabel;
+    private final JLabel scopeLabel;
+    private final JLabel poissonMeanLabel;
+    private final JLabel pacingLabel;
     private PerformanceTreeNode currentNode;
 
     public TimerPropertyPanel() {
         setLayout(new GridBagLayout());
-        setMaximumSize(new Dimension(420, 120));
-        setPreferredSize(new Dimension(380, 100));
+        setMaximumSize(new Dimension(460, 240));
+        setPreferredSize(new Dimension(420, 220));
         PerformanceStagePropertyLayout.applyCompactBorder(this);
         GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(6, 6, 6, 6);
-        gbc.anchor = GridBagConstraints.CENTER;
+        gbc.anchor = GridBagConstraints.WEST;
         gbc.fill = GridBagConstraints.NONE;
-        gbc.gridx = 0;
-        gbc.gridy = 0;
-        gbc.gridwidth = 1;
-        JLabel label = new JLabel(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TIMER_DELAY));
-        add(label, gbc);
-        gbc.gridx = 1;
-        gbc.insets = new Insets(6, 0, 6, 6); // 左间距为0，右间距为6
+
+        typeComboBox = new EasyComboBox<>(TimerData.TimerType.values(), EasyComboBox.WidthMode.FIXED_MAX);
+        typeComboBox.setRenderer(new MessageKeyRenderer());
+        typeComboBox.addActionListener(e -> updateFieldVisibility());
+        addRow(gbc, 0, new JLabel(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TIMER_TYPE)), typeComboBox);
+
+        delayLabel = new JLabel(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TIMER_DELAY));
         delaySpinner = EasyJSpinner.intSpinner(1000, 0, 60000, 100);
         delaySpinner.setPreferredSize(new Dimension(100, 28));
-        add(delaySpinner, gbc);
+        addRow(gbc, 1, delayLabel, delaySpinner);
+
+        poissonMeanLabel = new JLabel(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TIMER_POISSON_MEAN));
+        poissonMeanSpinner = EasyJSpinner.intSpinner(300, 0, 60000, 100);
+        poissonMeanSpinner.setPreferredSize(new Dimension(100, 28));
+        addRow(gbc, 2, poissonMeanLabel, poissonMeanSpinner);
+
+        throughputLabel = new JLabel(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TIMER_THROUGHPUT));
+        throughputSpinner = EasyJSpinner.intSpinner(
+                60,
+                TimerData.MIN_THROUGHPUT_PER_MINUTE,
+                TimerData.MAX_THROUGHPUT_PER_MINUTE,
+                10
+        );
+        throughputSpinner.setPreferredSize(new Dimension(100, 28));
+        addRow(gbc, 3, throughputLabel, throughputSpinner);
+
+        scopeLabel = new JLabel(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TIMER_SCOPE));
+        scopeComboBox = new EasyComboBox<>(TimerData.ThroughputScope.values(), EasyComboBox.WidthMode.FIXED_MAX);
+        scopeComboBox.setRenderer(new MessageKeyRenderer());
+        addRow(gbc, 4, scopeLabel, scopeComboBox);
+
+        pacingLabel = new JLabel(I18nUtil.getMessage(MessageKeys.PERFORMANCE_TIMER_PACING));
+        pacingSpinner = EasyJSpinner.intSpinner(1000, 0, 600000, 100);
+        pacingSpinner.setPreferredSize(new Dimension(100, 28));
+        addRow(gbc, 5, pacingLabel, pacingSpinner);
+
         // 帮助说明
         gbc.gridx = 0;
-        gbc.gridy = 1;
+        gbc.gridy = 6;
         gbc.gridwidth = 2;
         gbc.insets = new Insets(6, 6, 6, 6);
         gbc.anchor = GridBagConstraints.CENTER;
@@ -49,12 +85,49 @@ public class TimerPropertyPanel extends JPanel {
         helpLabel.setForeground(ModernColors.getTextSecondary());
         add(helpLabel, gbc);
         // 占位撑满高度
-        gbc.gridy = 2;
         gbc.weighty = 1.0;
         gbc.fill = GridBagConstraints.BOTH;
         gbc.gridx = 0;
-        gbc.gridy = 2;
+        gbc.gridy = 7;
         add(Box.createVerticalGlue(), gbc);
+        updateFieldVisibility();
+    }
+
+    private void addRow(GridBagConstraints gbc, int row, JLabel label, JComponent field) {
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.gridwidth = 1;
+        gbc.insets = new Insets(6, 6, 6, 6);
+        add(label, gbc);
+        gbc.gridx = 1;
+        gbc.insets = new Insets(6, 0, 6, 6); // 左间距为0，右间距为6
+        add(field, gbc);
+    }
+
+    private void updateFieldVisibility() {
+        TimerData.TimerType type = selectedType();
+        boolean fixedOrPoisson = type == TimerData.TimerType.FIXED || type == TimerData.TimerType.POISSON;
+        boolean throughput = type == TimerData.TimerType.CONSTANT_THROUGHPUT;
+        delayLabel.setText(I18nUtil.getMessage(type == TimerData.TimerType.POISSON
+                ? MessageKeys.PERFORMANCE_TIMER_POISSON_OFFSET
+                : MessageKeys.PERFORMANCE_TIMER_DELAY));
+        setRowVisible(delayLabel, delaySpinner, fixedOrPoisson);
+        setRowVisible(poissonMeanLabel, poissonMeanSpinner, type == TimerData.TimerType.POISSON);
+        setRowVisible(throughputLabel, throughputSpinner, throughput);
+        setRowVisible(scopeLabel, scopeComboBox, throughput);
+        setRowVisible(pacingLabel, pacingSpinner, type == TimerData.TimerType.PRECISE_PACING);
+        revalidate();
+        repaint();
+    }
+
+    private static void setRowVisible(JComponent label, JComponent field, boolean visible) {
+        label.setVisible(visible);
+        field.setVisible(visible);
+    }
+
+    private TimerData.TimerType selectedType() {
+        Object selected = typeComboBox.getSelectedItem();
+        return selected instanceof TimerData.TimerType type ? type : TimerData.TimerType.FIXED;
     }
 
     public void setTimerData(PerformanceTreeNode node) {
@@ -64,7 +137,14 @@ public class TimerPropertyPanel extends JPanel {
             data = new TimerData();
             node.timerData = data;
         }
+        data.normalize();
+        typeComboBox.setSelectedItem(data.timerType);
         delaySpinner.setValue(data.delayMs);
+        poissonMeanSpinner.setValue(data.poissonMeanMs);
+        throughputSpinner.setValue(data.targetThroughputPerMinute);
+        scopeComboBox.setSelectedItem(data.throughputScope);
+        pacingSpinner.setValue(data.pacingMs);
+        updateFieldVisibility();
     }
 
     public void saveTimerData() {
@@ -74,10 +154,39 @@ public class TimerPropertyPanel extends JPanel {
             data = new TimerData();
             currentNode.timerData = data;
         }
+        data.timerType = selectedType();
         data.delayMs = delaySpinner.getCommittedIntValue();
+        data.poissonMeanMs = poissonMeanSpinner.getCommittedIntValue();
+        data.targetThroughputPerMinute = throughputSpinner.getCommittedIntValue();
+        Object scope = scopeComboBox.getSelectedItem();
+        data.throughputScope = scope instanceof TimerData.ThroughputScope throughputScope
+                ? throughputScope
+                : TimerData.ThroughputScope.THREAD_GROUP;
+        data.pacingMs = pacingSpinner.getCommittedIntValue();
+        data.normalize();
     }
 
     public void forceCommitAllSpinners() {
         delaySpinner.forceCommit();
+        poissonMeanSpinner.forceCommit();
+        throughputSpinner.forceCommit();
+        pacingSpinner.forceCommit();
+    }
+
+    private static final class MessageKeyRenderer extends DefaultListCellRenderer {
+        @Override
+        public Component getListCellRendererComponent(JList<?> list,
+                                                      Object value,
+                                                      int index,
+                                                      boolean isSelected,
+                                                      boolean cellHasFocus) {
+            Component component = super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+            if (value instanceof TimerData.TimerType timerType) {
+                setText(I18nUtil.getMessage(timerType.getMessageKey()));
+            } else if (value instanceof TimerData.ThroughputScope scope) {
+                setText(I18nUtil.getMessage(scope.getMessageKey()));
+            }
+            return component;
+        }
     }
 }
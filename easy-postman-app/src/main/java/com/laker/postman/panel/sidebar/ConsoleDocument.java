@@ -0,0 +1,55 @@
+package com.laker.postman.panel.sidebar;
+
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.SimpleAttributeSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 支持整批追加的控制台文档：一批日志只获取一次写锁、只触发一次 insertUpdate 事件，
+ * 避免逐行 insertString 时每行一次布局和重绘
+ */
+final class ConsoleDocument extends DefaultStyledDocument {
+
+    private static final char[] LINE_BREAK = {'\n'};
+
+    /**
+     * 在文档末尾追加日志，每条日志占一行（日志自身的换行拆成多个段落）
+     */
+    void appendEntries(List<ConsoleLogBuffer.Entry> entries,
+                       Function<ConsolePanel.LogType, AttributeSet> styles) throws BadLocationException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        AttributeSet paragraph = getParagraphElement(getLength()).getAttributes().copyAttributes();
+        List<ElementSpec> specs = new ArrayList<>(entries.size() * 4 + 2);
+        if (getLength() > 0) {
+            // 末尾已有内容时先结束上一段落，否则首行会并入上一行所在的段落
+            specs.add(new ElementSpec(null, ElementSpec.EndTagType));
+            specs.add(new ElementSpec(paragraph, ElementSpec.StartTagType));
+        }
+        for (ConsoleLogBuffer.Entry entry : entries) {
+            AttributeSet attributes = new SimpleAttributeSet(styles.apply(entry.type()));
+            String message = entry.message() == null ? "null" : entry.message();
+            int lineStart = 0;
+            while (lineStart <= message.length()) {
+                int lineEnd = message.indexOf('\n', lineStart);
+                if (lineEnd < 0) {
+                    lineEnd = message.length();
+                }
+                if (lineEnd > lineStart) {
+                    char[] text = message.substring(lineStart, lineEnd).toCharArray();
+                    specs.add(new ElementSpec(attributes, ElementSpec.ContentType, text, 0, text.length));
+                }
+                specs.add(new ElementSpec(attributes, ElementSpec.ContentType, LINE_BREAK, 0, 1));
+                specs.add(new ElementSpec(null, ElementSpec.EndTagType));
+                specs.add(new ElementSpec(paragraph, ElementSpec.StartTagType));
+                lineStart = lineEnd + 1;
+            }
+        }
+        insert(getLength(), specs.toArray(new ElementSpec[0]));
+    }
+}
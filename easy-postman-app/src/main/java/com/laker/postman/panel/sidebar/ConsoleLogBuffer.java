@@ -0,0 +1,106 @@
+package com.laker.postman.panel.sidebar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 控制台日志的无锁环形缓冲。
+ * <p>
+ * 生产者（脚本、压测线程）每条日志只做一次序号自增和一次槽位 CAS 写入，不加锁也不会被阻塞；
+ * 写满后覆盖最老的日志。读取方按序号增量读取，读取前就已被覆盖的日志计入丢弃数。
+ * </p>
+ */
+final class ConsoleLogBuffer {
+
+    record Entry(long sequence, String message, ConsolePanel.LogType type) {
+    }
+
+    /**
+     * 一次读取的结果
+     *
+     * @param entries      按序号排列的日志
+     * @param nextSequence 下次读取的起始序号
+     * @param dropped      读取前已被覆盖、没能读到的日志数
+     */
+    record Batch(List<Entry> entries, long nextSequence, long dropped) {
+    }
+
+    private final int capacity;
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private volatile long clearedSequence;
+
+    ConsoleLogBuffer(int capacity) {
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    void append(String message, ConsolePanel.LogType type) {
+        long sequence = nextSequence.getAndIncrement();
+        publish(new Entry(sequence, message, type));
+    }
+
+    /**
+     * 写入槽位：分配序号后被挂起的生产者可能在更新一轮的日志写入之后才到达，
+     * 这时槽位里已经是更新的日志，旧日志直接放弃，避免把槽位倒退成旧序号而让读取方停在该处
+     */
+    void publish(Entry entry) {
+        int index = index(entry.sequence());
+        Entry current = slots.get(index);
+        while (current == null || current.sequence() < entry.sequence()) {
+            if (slots.compareAndSet(index, current, entry)) {
+                return;
+            }
+            current = slots.get(index);
+        }
+    }
+
+    /**
+     * 读取序号不小于 from 的日志。
+     * 遇到已分配序号但生产者还没写入的槽位时停在该处，下次从这里继续
+     */
+    Batch readFrom(long from) {
+        long end = nextSequence.get();
+        long floor = Math.max(from, clearedSequence);
+        long start = Math.max(floor, end - capacity);
+        long dropped = start - floor;
+
+        List<Entry> entries = new ArrayList<>((int) Math.max(0, end - start));
+        long sequence = start;
+        for (; sequence < end; sequence++) {
+            Entry entry = slots.get(index(sequence));
+            if (entry == null || entry.sequence() < sequence) {
+                break;
+            }
+            if (entry.sequence() > sequence) {
+                // 读取过程中被新一轮写入覆盖
+                dropped++;
+                continue;
+            }
+            entries.add(entry);
+        }
+        return new Batch(entries, sequence, dropped);
+    }
+
+    /**
+     * 当前保留的全部日志
+     */
+    List<Entry> snapshot() {
+        return readFrom(clearedSequence).entries();
+    }
+
+    /**
+     * 丢弃当前所有日志，返回之后第一条日志的序号
+     */
+    long clear() {
+        long sequence = nextSequence.get();
+        clearedSequence = sequence;
+        return sequence;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
@@ -21,17 +21,22 @@ import java.awt.*;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 @Slf4j
 public class ConsolePanel extends UiSingletonPanel {
     private JTextPane consoleLogArea;
-    private transient StyledDocument consoleDoc;
+    private transient ConsoleDocument consoleDoc;
     private SearchTextField searchField;
     private JButton hideButton;
     private PreviousButton prevBtn;
     private NextButton nextBtn;
     private JLabel matchCountLabel;
+    private JLabel droppedLabel;
     private AutoScrollToggleButton autoScrollBtn;
     private JComboBox<String> logLevelFilter;
     private boolean autoScroll = true;
@@ -39,12 +44,26 @@ public class ConsolePanel extends UiSingletonPanel {
     // 搜索相关
     private final transient List<Integer> matchPositions = new ArrayList<>();
     private int currentMatchIndex = -1;
+    private int searchGeneration;
+    private boolean searchInFlight;
+    /**
+     * 文档内容每变化一次加一，用于丢弃基于旧文本的搜索结果
+     */
+    private int documentVersion;
 
     // 日志过滤相关
     private String currentFilter = "All";
-    private final transient List<LogEntry> allLogs = new ArrayList<>();
     private static final int MAX_LOG_ENTRIES = 10000; // 最多保存10000条日志，防止内存溢出
     private static final int MAX_DISPLAY_LINES = 5000; // 最多显示5000行，超过则删除旧行，优化显示性能
+    private static final int FLUSH_INTERVAL_MS = 33; // 日志按帧批量刷新到界面，约 30 帧/秒
+    private int refreshGeneration;
+
+    // 日志写入相关：生产者只写环形缓冲，界面按帧批量取出渲染
+    private final transient ConsoleLogBuffer logBuffer = new ConsoleLogBuffer(MAX_LOG_ENTRIES);
+    private final transient AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final transient Timer flushTimer = createFlushTimer();
+    private long renderedSequence; // 下一条待渲染日志的序号，仅在 EDT 访问
+    private long droppedLines; // 来不及渲染就被覆盖的日志数，仅在 EDT 访问
     private static final int FILTER_WIDTH = 90;
     private static final int SEARCH_WIDTH = 260;
     private static final int TOOLBAR_CONTROL_HEIGHT = ToolWindowActionToolbar.ACTION_SIZE;
@@ -56,17 +75,6 @@ public class ConsolePanel extends UiSingletonPanel {
         INFO, ERROR, SUCCESS, WARN, DEBUG, TRACE, CUSTOM
     }
 
-    // 日志条目类
-    private static class LogEntry {
-        final String message;
-        final LogType type;
-
-        LogEntry(String message, LogType type) {
-            this.message = message;
-            this.type = type;
-        }
-    }
-
     @Override
     protected void initUI() {
         setLayout(new BorderLayout());
@@ -88,7 +96,7 @@ public class ConsolePanel extends UiSingletonPanel {
             matchCountLabel.setForeground(ConsoleTheme.matchCountForeground());
         }
         // 刷新显示的日志以应用新的颜色方案
-        if (consoleLogArea != null && !allLogs.isEmpty()) {
+        if (consoleLogArea != null && consoleDoc.getLength() > 0) {
             refreshDisplayedLogs();
         }
     }
@@ -189,14 +197,17 @@ public class ConsolePanel extends UiSingletonPanel {
 
     /**
      * 执行搜索并查找所有匹配项（支持大小写敏感和整词匹配）
+     * 在后台线程扫描当前文档文本的快照，结果回到 EDT 后再高亮；文档期间有变化则重新搜索
      */
     private void performSearch() {
+        int generation = ++searchGeneration;
         String keyword = searchField.getText();
         matchPositions.clear();
         currentMatchIndex = -1;
         consoleLogArea.getHighlighter().removeAllHighlights();
 
         if (keyword.isEmpty()) {
+            searchInFlight = false;
             searchField.setNoResult(false);
             updateMatchCounter();
             return;
@@ -205,7 +216,54 @@ public class ConsolePanel extends UiSingletonPanel {
         String text = consoleLogArea.getText();
         boolean caseSensitive = searchField.isCaseSensitive();
         boolean wholeWord = searchField.isWholeWord();
+        int version = documentVersion;
+        searchInFlight = true;
+        new SwingWorker<List<Integer>, Void>() {
+            @Override
+            protected List<Integer> doInBackground() {
+                return findMatches(text, keyword, caseSensitive, wholeWord);
+            }
 
+            @Override
+            protected void done() {
+                if (generation != searchGeneration) {
+                    return;
+                }
+                searchInFlight = false;
+                if (version != documentVersion) {
+                    performSearch();
+                    return;
+                }
+                try {
+                    matchPositions.addAll(get());
+                } catch (Exception ex) {
+                    log.debug("Search console failed", ex);
+                }
+                if (!matchPositions.isEmpty()) {
+                    currentMatchIndex = 0;
+                    highlightAllMatches(keyword.length());
+                    highlightCurrentMatch(keyword.length());
+                }
+
+                // 无匹配时搜索框变红，有匹配时恢复正常
+                searchField.setNoResult(matchPositions.isEmpty());
+
+                updateMatchCounter();
+            }
+        }.execute();
+    }
+
+    /**
+     * 文档追加或删除后刷新搜索结果；已有搜索在进行时由它在完成后发现文档变化并重新搜索
+     */
+    private void refreshSearch() {
+        if (!searchInFlight && !searchField.getText().isEmpty()) {
+            performSearch();
+        }
+    }
+
+    static List<Integer> findMatches(String text, String keyword, boolean caseSensitive, boolean wholeWord) {
+        List<Integer> positions = new ArrayList<>();
         // 准备搜索用的文本和关键词
         String searchText = caseSensitive ? text : text.toLowerCase();
         String searchKeyword = caseSensitive ? keyword : keyword.toLowerCase();
@@ -219,24 +277,14 @@ public class ConsolePanel extends UiSingletonPanel {
                         !Character.isLetterOrDigit(text.charAt(pos + searchKeyword.length()));
 
                 if (isWordStart && isWordEnd) {
-                    matchPositions.add(pos);
+                    positions.add(pos);
                 }
             } else {
-                matchPositions.add(pos);
+                positions.add(pos);
             }
             pos += searchKeyword.length();
         }
-
-        if (!matchPositions.isEmpty()) {
-            currentMatchIndex = 0;
-            highlightAllMatches(keyword.length());
-            highlightCurrentMatch(keyword.length());
-        }
-
-        // 无匹配时搜索框变红，有匹配时恢复正常
-        searchField.setNoResult(matchPositions.isEmpty());
-
-        updateMatchCounter();
+        return positions;
     }
 
     /**
@@ -315,12 +363,12 @@ public class ConsolePanel extends UiSingletonPanel {
     }
 
     private void createConsolePanel() {
-        consoleLogArea = new JTextPane();
+        consoleDoc = new ConsoleDocument();
+        consoleLogArea = new JTextPane(consoleDoc);
         consoleLogArea.setEditable(false);
         consoleLogArea.setFocusable(true);
         consoleLogArea.setCursor(Cursor.getPredefinedCursor(Cursor.TEXT_CURSOR));
         ToolWindowSurfaceStyle.applyTextComponentCard(consoleLogArea);
-        consoleDoc = consoleLogArea.getStyledDocument();
         JScrollPane logScroll = new JScrollPane(consoleLogArea);
         logScroll.setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
         logScroll.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
@@ -366,13 +414,18 @@ public class ConsolePanel extends UiSingletonPanel {
         );
 
         // 右侧：工具按钮
+        droppedLabel = new JLabel();
+        droppedLabel.setForeground(ConsoleTheme.matchCountForeground());
+        droppedLabel.setToolTipText("Lines dropped because logging outpaced the console");
+        droppedLabel.setVisible(false);
+
         autoScrollBtn = new AutoScrollToggleButton();
 
         ClearButton clearBtn = new ClearButton(IconUtil.SIZE_SMALL);
         clearBtn.addActionListener(e -> clearConsole());
 
         hideButton = createToolWindowToolbarButton(TOOL_WINDOW_HIDE_ICON, HIDE_CONSOLE_TOOLTIP);
-        JPanel rightPanel = ToolWindowActionToolbar.inlineRight(autoScrollBtn, clearBtn, hideButton);
+        JPanel rightPanel = ToolWindowActionToolbar.inlineRight(droppedLabel, autoScrollBtn, clearBtn, hideButton);
 
         topPanel.add(centerPanel, BorderLayout.WEST);
         topPanel.add(rightPanel, BorderLayout.EAST);
@@ -406,8 +459,12 @@ public class ConsolePanel extends UiSingletonPanel {
      */
     private void clearConsole() {
         try {
+            renderedSequence = logBuffer.clear(); // 清除所有日志记录
+            refreshGeneration++;
+            droppedLines = 0;
+            updateDroppedLabel();
             consoleDoc.remove(0, consoleDoc.getLength());
-            allLogs.clear(); // 清除所有日志记录
+            documentVersion++;
             matchPositions.clear();
             currentMatchIndex = -1;
             updateMatchCounter();
@@ -416,61 +473,80 @@ public class ConsolePanel extends UiSingletonPanel {
         }
     }
 
-    public synchronized void appendConsoleLog(String msg) {
+    public void appendConsoleLog(String msg) {
         appendConsoleLog(msg, LogType.INFO);
     }
 
-    public synchronized void appendConsoleLog(String msg, LogType type) {
-        // 添加到所有日志列表
-        allLogs.add(new LogEntry(msg, type));
+    /**
+     * 写入一条日志，可在任意线程调用且不会阻塞：
+     * 日志进入环形缓冲，界面在下一帧批量渲染；缓冲写满时覆盖最老的日志
+     */
+    public void appendConsoleLog(String msg, LogType type) {
+        logBuffer.append(msg, type);
+        if (flushScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(flushTimer::restart);
+        }
+    }
+
+    private Timer createFlushTimer() {
+        Timer timer = new Timer(FLUSH_INTERVAL_MS, e -> flushPendingLogs());
+        timer.setRepeats(false);
+        return timer;
+    }
 
-        // 如果超过最大数量，删除最老的日志（FIFO）
-        if (allLogs.size() > MAX_LOG_ENTRIES) {
-            allLogs.remove(0);
+    /**
+     * 把上次渲染之后的新日志一次性追加到文档
+     */
+    private void flushPendingLogs() {
+        // 先复位标记再读取，读取期间写入的日志会重新调度下一帧
+        flushScheduled.set(false);
+        if (consoleLogArea == null) {
+            return;
         }
 
-        SwingUtilities.invokeLater(() -> {
-            // 检查是否应该显示此日志
-            if (!shouldDisplayLog(type)) {
-                return;
-            }
+        ConsoleLogBuffer.Batch batch = logBuffer.readFrom(renderedSequence);
+        renderedSequence = batch.nextSequence();
+        if (batch.dropped() > 0) {
+            droppedLines += batch.dropped();
+            updateDroppedLabel();
+        }
 
-            Style style = consoleLogArea.addStyle("logStyle", null);
-            applyLogStyle(style, type);
+        List<ConsoleLogBuffer.Entry> visible = filterForDisplay(batch.entries(), currentFilter);
+        if (visible.isEmpty()) {
+            return;
+        }
 
-            try {
-                // 保存当前的光标位置
-                int currentCaretPosition = consoleLogArea.getCaretPosition();
+        try {
+            // 保存当前的光标位置
+            int currentCaretPosition = consoleLogArea.getCaretPosition();
 
-                consoleDoc.insertString(consoleDoc.getLength(), msg + "\n", style);
+            consoleDoc.appendEntries(visible, logStyles());
 
-                // 限制显示的行数，避免性能问题
-                limitDisplayLines();
+            // 限制显示的行数，避免性能问题
+            limitDisplayLines();
+            documentVersion++;
 
-                // 根据自动滚动设置决定光标位置
-                if (autoScroll) {
-                    // 滚动到底部
-                    consoleLogArea.setCaretPosition(consoleDoc.getLength());
-                } else {
-                    // 保持用户当前的浏览位置，不自动滚动
-                    try {
-                        // 如果原位置仍然有效，恢复到原位置
-                        if (currentCaretPosition <= consoleDoc.getLength()) {
-                            consoleLogArea.setCaretPosition(currentCaretPosition);
-                        }
-                    } catch (Exception ex) {
-                        // 如果恢复位置失败，不做处理
+            // 根据自动滚动设置决定光标位置
+            if (autoScroll) {
+                // 滚动到底部
+                consoleLogArea.setCaretPosition(consoleDoc.getLength());
+            } else {
+                // 保持用户当前的浏览位置，不自动滚动
+                try {
+                    // 如果原位置仍然有效，恢复到原位置
+                    if (currentCaretPosition <= consoleDoc.getLength()) {
+                        consoleLogArea.setCaretPosition(currentCaretPosition);
                     }
+                } catch (Exception ex) {
+                    // 如果恢复位置失败，不做处理
                 }
-
-                // 如果正在搜索，更新搜索结果
-                if (!searchField.getText().isEmpty()) {
-                    performSearch();
-                }
-            } catch (BadLocationException e) {
-                log.debug("Append console log failed", e);
             }
-        });
+
+            // 如果正在搜索，更新搜索结果
+            refreshSearch();
+        } catch (BadLocationException e) {
+            log.debug("Append console log failed", e);
+        }
     }
 
     /**
@@ -493,53 +569,104 @@ public class ConsolePanel extends UiSingletonPanel {
         }
     }
 
+    private void updateDroppedLabel() {
+        droppedLabel.setText(droppedLines > 0 ? "Dropped " + droppedLines : "");
+        droppedLabel.setVisible(droppedLines > 0);
+    }
+
     /**
      * 判断是否应该显示此日志
      */
-    private boolean shouldDisplayLog(LogType type) {
-        if ("All".equals(currentFilter)) {
+    private static boolean shouldDisplayLog(LogType type, String filter) {
+        if ("All".equals(filter)) {
             return true;
         }
-        return type.name().equals(currentFilter);
+        return type.name().equals(filter);
+    }
+
+    /**
+     * 按级别过滤，只保留最后 MAX_DISPLAY_LINES 条
+     */
+    static List<ConsoleLogBuffer.Entry> filterForDisplay(List<ConsoleLogBuffer.Entry> entries, String filter) {
+        List<ConsoleLogBuffer.Entry> visible = new ArrayList<>();
+        for (ConsoleLogBuffer.Entry entry : entries) {
+            if (shouldDisplayLog(entry.type(), filter)) {
+                visible.add(entry);
+            }
+        }
+        if (visible.size() > MAX_DISPLAY_LINES) {
+            return visible.subList(visible.size() - MAX_DISPLAY_LINES, visible.size());
+        }
+        return visible;
     }
 
     /**
      * 刷新显示的日志（过滤后）
+     * 在后台线程读取环形缓冲并过滤，回到 EDT 后一次性替换文档内容
      */
     private void refreshDisplayedLogs() {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                // 清空当前显示
-                consoleDoc.remove(0, consoleDoc.getLength());
-
-                // 重新添加符合过滤条件的日志
-                for (LogEntry entry : allLogs) {
-                    if (shouldDisplayLog(entry.type)) {
-                        Style style = consoleLogArea.addStyle("logStyle", null);
-                        applyLogStyle(style, entry.type);
-                        consoleDoc.insertString(consoleDoc.getLength(), entry.message + "\n", style);
-                    }
-                }
+        if (consoleLogArea == null) {
+            return;
+        }
+        int generation = ++refreshGeneration;
+        String filter = currentFilter;
+        new SwingWorker<ConsoleLogBuffer.Batch, Void>() {
+            private List<ConsoleLogBuffer.Entry> visible;
 
-                // 滚动到底部
-                if (autoScroll) {
-                    consoleLogArea.setCaretPosition(consoleDoc.getLength());
+            @Override
+            protected ConsoleLogBuffer.Batch doInBackground() {
+                ConsoleLogBuffer.Batch batch = logBuffer.readFrom(0);
+                visible = filterForDisplay(batch.entries(), filter);
+                return batch;
+            }
+
+            @Override
+            protected void done() {
+                if (generation != refreshGeneration) {
+                    return;
                 }
+                try {
+                    ConsoleLogBuffer.Batch batch = get();
+                    // 清空当前显示
+                    consoleDoc.remove(0, consoleDoc.getLength());
 
-                // 更新搜索结果
-                if (!searchField.getText().isEmpty()) {
-                    performSearch();
+                    // 重新添加符合过滤条件的日志
+                    consoleDoc.appendEntries(visible, logStyles());
+                    documentVersion++;
+                    renderedSequence = batch.nextSequence();
+
+                    // 滚动到底部
+                    if (autoScroll) {
+                        consoleLogArea.setCaretPosition(consoleDoc.getLength());
+                    }
+
+                    // 快照之后写入的日志接着追加；更新搜索结果
+                    flushPendingLogs();
+                    refreshSearch();
+                } catch (Exception e) {
+                    log.debug("Refresh logs failed", e);
                 }
-            } catch (BadLocationException e) {
-                log.debug("Refresh logs failed", e);
             }
-        });
+        }.execute();
+    }
+
+    /**
+     * 各日志级别的样式，每批构建一次，主题切换后下一批即使用新的颜色
+     */
+    private Function<LogType, AttributeSet> logStyles() {
+        Map<LogType, AttributeSet> styles = new EnumMap<>(LogType.class);
+        for (LogType type : LogType.values()) {
+            SimpleAttributeSet style = new SimpleAttributeSet();
+            applyLogStyle(style, type);
+            styles.put(type, style);
+        }
+        return styles::get;
     }
 
     /**
      * 应用日志样式 - 使用统一主题配色
      */
-    private void applyLogStyle(Style style, LogType type) {
+    private void applyLogStyle(MutableAttributeSet style, LogType type) {
         // 为所有日志类型设置更大的行间距，提升可读性
         StyleConstants.setLineSpacing(style, 0.2f);
         StyleConstants.setForeground(style, ConsoleTheme.logForeground(type));
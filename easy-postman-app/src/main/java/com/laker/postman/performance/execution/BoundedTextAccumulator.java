@@ -81,6 +81,10 @@ final class BoundedTextAccumulator {
         return new CharSpan(1, 3);
     }
 
+    static long utf8Length(CharSequence value) {
+        return value == null ? 0 : utf8Length(value, 0, value.length());
+    }
+
     private static long utf8Length(CharSequence value, int start, int end) {
         long bytes = 0;
         for (int i = start; i < end; i++) {
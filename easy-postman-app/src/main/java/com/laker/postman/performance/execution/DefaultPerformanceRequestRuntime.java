@@ -1,6 +1,7 @@
 package com.laker.postman.performance.execution;
 
 import com.laker.postman.http.runtime.model.PreparedRequest;
+import com.laker.postman.http.runtime.okhttp.RequestBodyTemplate;
 import com.laker.postman.request.model.HttpRequestItem;
 
 
@@ -13,8 +14,21 @@ import com.laker.postman.http.request.PreparedRequestFactory;
 import com.laker.postman.service.js.ScriptExecutionPipeline;
 import com.laker.postman.service.variable.ExecutionVariableContext;
 
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 默认的压测请求准备：每轮迭代从快照映射出独立的请求，请求体模板按取样器只编译一次。
+ * <p>
+ * 运行时实例随一次压测创建，模板缓存的生命周期也就是这次压测。
+ * </p>
+ */
 final class DefaultPerformanceRequestRuntime implements PerformanceRequestRuntime {
 
+    private final ConcurrentMap<PerformanceRequestSampler, Optional<RequestBodyTemplate>> bodyTemplates =
+            new ConcurrentHashMap<>();
+
     @Override
     public PerformancePreparedRequest prepare(PerformanceRequestSnapshot requestSnapshot,
                                               PerformanceRequestSampler requestSampler,
@@ -29,6 +43,7 @@ final class DefaultPerformanceRequestRuntime implements PerformanceRequestRuntim
                 ? PerformanceExecutionConfig.DEFAULT
                 : executionConfig;
         PreparedRequest request = PreparedRequestFactory.buildWithoutInheritance(requestItem);
+        request.bodyTemplate = resolveBodyTemplate(requestSampler, request);
         ScriptExecutionPipeline pipeline = ScriptExecutionPipeline.builder()
                 .request(request)
                 .preScript(request.prescript)
@@ -49,4 +64,17 @@ final class DefaultPerformanceRequestRuntime implements PerformanceRequestRuntim
                 new DefaultPerformanceScriptRuntime(pipeline)
         );
     }
+
+    /**
+     * 取样器的快照在压测期间不变，首轮编译的模板可直接复用；请求体或 Content-Type 不一致时不使用模板
+     */
+    RequestBodyTemplate resolveBodyTemplate(PerformanceRequestSampler requestSampler, PreparedRequest request) {
+        if (requestSampler == null) {
+            return null;
+        }
+        RequestBodyTemplate template = bodyTemplates
+                .computeIfAbsent(requestSampler, sampler -> Optional.ofNullable(RequestBodyTemplate.compile(request)))
+                .orElse(null);
+        return template != null && template.matches(request.body) ? template : null;
+    }
 }
@@ -0,0 +1,151 @@
+package com.laker.postman.performance.execution;
+
+import com.laker.postman.performance.core.runtime.PerformanceThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 哈希时间轮：一个后台线程按固定刻度推进，到期任务交给 dispatcher 执行。
+ * <p>
+ * 调度和取消都是 O(1)，适合大量会话各自挂着读超时、发送间隔、定时器的场景；
+ * 精度为一个刻度，任务不会早于指定延迟执行。取消的任务留在槽位中，轮到时直接丢弃。
+ * </p>
+ */
+@Slf4j
+final class HashedTimerWheel {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<Timeout>[] buckets;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Executor dispatcher;
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    HashedTimerWheel(String threadName, long tickMs, int wheelSize, Executor dispatcher) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of 2: " + wheelSize);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMs));
+        this.mask = wheelSize - 1;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.dispatcher = dispatcher;
+        this.worker = PerformanceThreadFactory.newDaemonThread(threadName, this::runWorker);
+        this.worker.start();
+    }
+
+    /**
+     * @param delayMs 延迟毫秒数，小于等于 0 时在下一个刻度执行
+     */
+    Timeout schedule(Runnable task, long delayMs) {
+        long deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs));
+        Timeout timeout = new Timeout(task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private void runWorker() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long deadline = waitForNextTick();
+            transferPendingTimeouts();
+            expire(buckets[(int) (tick & mask)], deadline);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startNanos;
+            long sleepNanos = deadline - current;
+            if (sleepNanos <= 0) {
+                return current;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long calculatedTick = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (calculatedTick - tick) / buckets.length;
+            long targetTick = Math.max(calculatedTick, tick);
+            buckets[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(List<Timeout> bucket, long deadlineNanos) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.isCancelled()) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0 && timeout.deadlineNanos <= deadlineNanos) {
+                iterator.remove();
+                if (timeout.expire()) {
+                    dispatch(timeout.task);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Timer task rejected", e);
+        }
+    }
+
+    static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * @return 是否在到期前成功取消
+         */
+        boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private boolean expire() {
+            return state.compareAndSet(PENDING, EXPIRED);
+        }
+    }
+}
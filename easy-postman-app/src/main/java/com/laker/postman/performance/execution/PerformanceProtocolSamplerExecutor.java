@@ -1,7 +1,16 @@
 package com.laker.postman.performance.execution;
 
 
+import java.util.concurrent.CompletableFuture;
+
 @FunctionalInterface
 interface PerformanceProtocolSamplerExecutor {
     ProtocolExecutionResult execute(PerformanceProtocolSamplerContext context) throws Exception;
+
+    /**
+     * 非阻塞执行；默认在调用线程上同步执行后返回已完成的 future
+     */
+    default CompletableFuture<ProtocolExecutionResult> executeAsync(PerformanceProtocolSamplerContext context) throws Exception {
+        return CompletableFuture.completedFuture(execute(context));
+    }
 }
@@ -23,6 +23,9 @@ import com.laker.postman.http.runtime.transport.RealtimeWebSocketConnection;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BooleanSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.Predicate;
@@ -145,6 +148,75 @@ public class PerformanceRequestExecutor {
 
     public PerformanceRequestExecutionResult execute(PerformanceRequestSampler requestSampler,
                                                      ExecutionVariableContext iterationContext) {
+        RequestExchange exchange = prepare(requestSampler, iterationContext);
+        if (exchange == null) {
+            return null;
+        }
+        if (sendable(exchange)) {
+            ProtocolExecutionResult protocolResult = null;
+            Exception failure = null;
+            try {
+                configureTransport(exchange);
+                protocolResult = exchange.scriptRuntime.withExecutionContextThrowing(() ->
+                        transportExecutor.execute(exchange.req, exchange.requestSampler, exchange.requestSnapshot,
+                                exchange.sseRequest, exchange.webSocketRequest, exchange.requestBodyTemplate,
+                                exchange.scriptRuntime, exchange.capturePlan)
+                );
+            } catch (Exception ex) {
+                failure = ex;
+            } finally {
+                exchange.stopClock();
+            }
+            completeTransport(exchange, protocolResult, failure);
+        } else {
+            exchange.stopClock();
+        }
+        return exchange.toResult();
+    }
+
+    /**
+     * WebSocket 请求可以异步执行，发起后不占用调用线程
+     */
+    public boolean supportsAsync(PerformanceRequestSampler requestSampler) {
+        return requestSampler != null
+                && PerformanceRequestProtocolResolver.isWebSocketRequest(requestSampler.getRequestSnapshot());
+    }
+
+    /**
+     * 非阻塞执行：请求准备和前置脚本在调用线程上执行，传输完成后的后置处理投递到 continuationExecutor。
+     */
+    public CompletableFuture<PerformanceRequestExecutionResult> executeAsync(PerformanceRequestSampler requestSampler,
+                                                                             ExecutionVariableContext iterationContext,
+                                                                             Executor continuationExecutor) {
+        RequestExchange exchange = prepare(requestSampler, iterationContext);
+        if (exchange == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!sendable(exchange)) {
+            exchange.stopClock();
+            return CompletableFuture.completedFuture(exchange.toResult());
+        }
+        CompletableFuture<ProtocolExecutionResult> transport;
+        try {
+            configureTransport(exchange);
+            transport = exchange.scriptRuntime.withExecutionContextThrowing(() ->
+                    transportExecutor.executeAsync(exchange.req, exchange.requestSampler, exchange.requestSnapshot,
+                            exchange.sseRequest, exchange.webSocketRequest, exchange.requestBodyTemplate,
+                            exchange.scriptRuntime, exchange.capturePlan)
+            );
+        } catch (Exception ex) {
+            transport = CompletableFuture.failedFuture(ex);
+        }
+        return transport
+                .whenComplete((protocolResult, failure) -> exchange.stopClock())
+                .handleAsync((protocolResult, failure) -> {
+                    completeTransport(exchange, protocolResult, unwrap(failure));
+                    return exchange.toResult();
+                }, continuationExecutor);
+    }
+
+    private RequestExchange prepare(PerformanceRequestSampler requestSampler,
+                                    ExecutionVariableContext iterationContext) {
         PerformanceRequestSnapshot requestSnapshot = requestSampler.getRequestSnapshot();
         PerformancePreparedRequest preparedRequest = requestRuntime.prepare(
                 requestSnapshot,
@@ -155,126 +227,110 @@ public class PerformanceRequestExecutor {
         if (preparedRequest == null) {
             return null;
         }
-        String apiId = preparedRequest.requestId();
-        String apiName = preparedRequest.requestName();
-        boolean webSocketRequest = PerformanceRequestProtocolResolver.isWebSocketRequest(requestSnapshot);
-
-        PreparedRequest req = preparedRequest.request();
-        String requestBodyTemplate = preparedRequest.requestBodyTemplate();
-        PerformanceScriptRuntime scriptRuntime = preparedRequest.scriptRuntime();
-
-        String errorMsg = "";
-        List<TestResult> testResults = new ArrayList<>();
-        boolean executionFailed = false;
-        ScriptExecutionResult preResult = scriptRuntime.executePreScript();
-        boolean preOk = preResult.isSuccess();
-        if (!preOk) {
+        RequestExchange exchange = new RequestExchange(requestSampler, requestSnapshot, preparedRequest);
+        ScriptExecutionResult preResult = exchange.scriptRuntime.executePreScript();
+        exchange.preOk = preResult.isSuccess();
+        if (!exchange.preOk) {
             log.error("前置脚本: {}", preResult.getErrorMessage());
-            errorMsg = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_PRE_SCRIPT_FAILED, preResult.getErrorMessage());
-            executionFailed = true;
+            exchange.errorMsg = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_PRE_SCRIPT_FAILED, preResult.getErrorMessage());
+            exchange.executionFailed = true;
         }
         if (!runningSupplier.getAsBoolean()) {
             return null;
         }
-        if (preOk) {
-            scriptRuntime.finalizeRequest();
+        if (exchange.preOk) {
+            exchange.scriptRuntime.finalizeRequest();
         }
 
-        MonotonicStopwatch requestStopwatch = MonotonicStopwatch.start();
-        long requestStartTime = requestStopwatch.startWallTimeMs();
-        long costMs = 0L;
-        boolean interrupted = false;
-        HttpResponse resp = null;
-        boolean sseRequest = PerformanceRequestProtocolResolver.isSseRequest(requestSnapshot);
-        PerformanceProtocol protocol = PerformanceRequestProtocolResolver.resolvePerformanceProtocol(webSocketRequest, sseRequest);
-        PerformanceResponseCapturePlan capturePlan = PerformanceResponseCapturePlan.resolve(
+        exchange.requestStopwatch = MonotonicStopwatch.start();
+        exchange.requestStartTime = exchange.requestStopwatch.startWallTimeMs();
+        exchange.sseRequest = PerformanceRequestProtocolResolver.isSseRequest(requestSnapshot);
+        exchange.protocol = PerformanceRequestProtocolResolver.resolvePerformanceProtocol(
+                exchange.webSocketRequest,
+                exchange.sseRequest
+        );
+        exchange.capturePlan = PerformanceResponseCapturePlan.resolve(
                 executionConfig.isEfficientMode(),
                 requestSampler,
-                sseRequest,
-                webSocketRequest,
+                exchange.sseRequest,
+                exchange.webSocketRequest,
+                exchange.req.postscript
+        );
+        return exchange;
+    }
+
+    private boolean sendable(RequestExchange exchange) {
+        return exchange.preOk && runningSupplier.getAsBoolean();
+    }
+
+    private void configureTransport(RequestExchange exchange) {
+        PreparedRequest req = exchange.req;
+        PerformanceRequestPreparationSupport.configurePreparedRequest(req, executionConfig.isEventLoggingEnabled());
+        exchange.sseRequest = PerformanceRequestProtocolResolver.isSseRequest(exchange.requestSnapshot, req);
+        exchange.webSocketRequest = PerformanceRequestProtocolResolver.isWebSocketRequest(exchange.requestSnapshot);
+        exchange.protocol = PerformanceRequestProtocolResolver.resolvePerformanceProtocol(
+                exchange.webSocketRequest,
+                exchange.sseRequest
+        );
+        exchange.capturePlan = PerformanceResponseCapturePlan.resolve(
+                executionConfig.isEfficientMode(),
+                exchange.requestSampler,
+                exchange.sseRequest,
+                exchange.webSocketRequest,
                 req.postscript
         );
+        if (!exchange.sseRequest && !exchange.webSocketRequest) {
+            req.responseBodyMode = exchange.capturePlan.httpResponseBodyMode();
+            req.responseBodyPreviewLimitBytes = resolveResponseBodyPreviewLimitBytes(
+                    executionConfig.responseBodyPreviewLimitKb()
+            );
+        }
+    }
 
-        if (preOk && runningSupplier.getAsBoolean()) {
-            try {
-                PerformanceRequestPreparationSupport.configurePreparedRequest(req, executionConfig.isEventLoggingEnabled());
-                sseRequest = PerformanceRequestProtocolResolver.isSseRequest(requestSnapshot, req);
-                webSocketRequest = PerformanceRequestProtocolResolver.isWebSocketRequest(requestSnapshot);
-                protocol = PerformanceRequestProtocolResolver.resolvePerformanceProtocol(webSocketRequest, sseRequest);
-                boolean transportSseRequest = sseRequest;
-                boolean transportWebSocketRequest = webSocketRequest;
-                capturePlan = PerformanceResponseCapturePlan.resolve(
-                        executionConfig.isEfficientMode(),
-                        requestSampler,
-                        transportSseRequest,
-                        transportWebSocketRequest,
-                        req.postscript
+    private void completeTransport(RequestExchange exchange, ProtocolExecutionResult protocolResult, Throwable failure) {
+        if (failure != null) {
+            if (cancelledChecker.test(failure)) {
+                log.debug("请求被取消/中断（压测已停止）: {}", failure.getMessage());
+                exchange.errorMsg = I18nUtil.getMessage(
+                        MessageKeys.PERFORMANCE_MSG_EXECUTION_INTERRUPTED,
+                        "Client stopped HTTP request before completion"
                 );
-                if (!transportSseRequest && !transportWebSocketRequest) {
-                    req.responseBodyMode = capturePlan.httpResponseBodyMode();
-                    req.responseBodyPreviewLimitBytes = resolveResponseBodyPreviewLimitBytes(
-                            executionConfig.responseBodyPreviewLimitKb()
-                    );
-                }
-                PerformanceResponseCapturePlan transportCapturePlan = capturePlan;
-                ProtocolExecutionResult protocolResult = scriptRuntime.withExecutionContextThrowing(() ->
-                        transportExecutor.execute(req, requestSampler, requestSnapshot, transportSseRequest, transportWebSocketRequest,
-                                requestBodyTemplate, scriptRuntime, transportCapturePlan)
-                );
-                resp = protocolResult.response();
-                errorMsg = CharSequenceUtil.blankToDefault(protocolResult.errorMsg(), errorMsg);
-                executionFailed = protocolResult.executionFailed();
-                interrupted = protocolResult.interrupted();
-                if (!protocolResult.testResults().isEmpty()) {
-                    testResults.addAll(protocolResult.testResults());
-                }
-            } catch (Exception ex) {
-                if (cancelledChecker.test(ex)) {
-                    log.debug("请求被取消/中断（压测已停止）: {}", ex.getMessage());
-                    errorMsg = I18nUtil.getMessage(
-                            MessageKeys.PERFORMANCE_MSG_EXECUTION_INTERRUPTED,
-                            "Client stopped HTTP request before completion"
-                    );
-                    interrupted = true;
-                } else {
-                    log.error("请求执行失败: {}", ex.getMessage(), ex);
-                    errorMsg = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_REQUEST_FAILED, ex.getMessage());
-                    executionFailed = true;
-                }
-            } finally {
-                costMs = requestStopwatch.elapsedMs();
+                exchange.interrupted = true;
+            } else {
+                log.error("请求执行失败: {}", failure.getMessage(), failure);
+                exchange.errorMsg = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_REQUEST_FAILED, failure.getMessage());
+                exchange.executionFailed = true;
+            }
+        } else if (protocolResult != null) {
+            exchange.resp = protocolResult.response();
+            exchange.errorMsg = CharSequenceUtil.blankToDefault(protocolResult.errorMsg(), exchange.errorMsg);
+            exchange.executionFailed = protocolResult.executionFailed();
+            exchange.interrupted = protocolResult.interrupted();
+            if (!protocolResult.testResults().isEmpty()) {
+                exchange.testResults.addAll(protocolResult.testResults());
             }
-
-            PerformanceRequestPostProcessResult postProcessResult = postProcessor.process(
-                    requestSampler,
-                    resp,
-                    sseRequest,
-                    webSocketRequest,
-                    scriptRuntime,
-                    errorMsg,
-                    executionFailed,
-                    testResults,
-                    capturePlan
-            );
-            errorMsg = postProcessResult.errorMsg();
-            executionFailed = postProcessResult.executionFailed();
-        } else {
-            costMs = requestStopwatch.elapsedMs();
         }
 
-        return new PerformanceRequestExecutionResult(
-                apiId,
-                apiName,
-                req,
-                resp,
-                errorMsg,
-                testResults,
-                executionFailed,
-                interrupted,
-                protocol,
-                requestStartTime,
-                costMs
+        PerformanceRequestPostProcessResult postProcessResult = postProcessor.process(
+                exchange.requestSampler,
+                exchange.resp,
+                exchange.sseRequest,
+                exchange.webSocketRequest,
+                exchange.scriptRuntime,
+                exchange.errorMsg,
+                exchange.executionFailed,
+                exchange.testResults,
+                exchange.capturePlan
         );
+        exchange.errorMsg = postProcessResult.errorMsg();
+        exchange.executionFailed = postProcessResult.executionFailed();
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            return failure.getCause();
+        }
+        return failure;
     }
 
     static PreparedRequest.ResponseBodyMode resolveHttpResponseBodyModeForAssertionElements(
@@ -292,4 +348,62 @@ public class PerformanceRequestExecutor {
         return PerformanceRequestPreparationSupport.resolveResponseBodyPreviewLimitBytes(previewLimitKb);
     }
 
+    /**
+     * 一次请求从准备到后处理的中间状态；同步执行时在调用线程上完成，异步执行时各阶段依次衔接
+     */
+    private static final class RequestExchange {
+        private final PerformanceRequestSampler requestSampler;
+        private final PerformanceRequestSnapshot requestSnapshot;
+        private final String apiId;
+        private final String apiName;
+        private final PreparedRequest req;
+        private final String requestBodyTemplate;
+        private final PerformanceScriptRuntime scriptRuntime;
+        private final List<TestResult> testResults = new ArrayList<>();
+        private boolean webSocketRequest;
+        private boolean sseRequest;
+        private PerformanceProtocol protocol;
+        private PerformanceResponseCapturePlan capturePlan;
+        private boolean preOk;
+        private String errorMsg = "";
+        private boolean executionFailed;
+        private boolean interrupted;
+        private HttpResponse resp;
+        private MonotonicStopwatch requestStopwatch;
+        private long requestStartTime;
+        private long costMs;
+
+        private RequestExchange(PerformanceRequestSampler requestSampler,
+                                PerformanceRequestSnapshot requestSnapshot,
+                                PerformancePreparedRequest preparedRequest) {
+            this.requestSampler = requestSampler;
+            this.requestSnapshot = requestSnapshot;
+            this.apiId = preparedRequest.requestId();
+            this.apiName = preparedRequest.requestName();
+            this.req = preparedRequest.request();
+            this.requestBodyTemplate = preparedRequest.requestBodyTemplate();
+            this.scriptRuntime = preparedRequest.scriptRuntime();
+            this.webSocketRequest = PerformanceRequestProtocolResolver.isWebSocketRequest(requestSnapshot);
+        }
+
+        private void stopClock() {
+            costMs = requestStopwatch.elapsedMs();
+        }
+
+        private PerformanceRequestExecutionResult toResult() {
+            return new PerformanceRequestExecutionResult(
+                    apiId,
+                    apiName,
+                    req,
+                    resp,
+                    errorMsg,
+                    testResults,
+                    executionFailed,
+                    interrupted,
+                    protocol,
+                    requestStartTime,
+                    costMs
+            );
+        }
+    }
 }
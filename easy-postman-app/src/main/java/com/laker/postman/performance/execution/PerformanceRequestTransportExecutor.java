@@ -10,6 +10,7 @@ import com.laker.postman.http.runtime.transport.RealtimeWebSocketConnection;
 import com.laker.postman.performance.plan.PerformanceRequestSampler;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BooleanSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.Predicate;
@@ -119,12 +120,38 @@ final class PerformanceRequestTransportExecutor {
                 scriptRuntime,
                 capturePlan
         );
+        return samplerExecutor(sseRequest, webSocketRequest).execute(context);
+    }
+
+    /**
+     * 非阻塞执行：WebSocket 场景由事件循环驱动；其他协议仍在调用线程上同步执行
+     */
+    CompletableFuture<ProtocolExecutionResult> executeAsync(PreparedRequest request,
+                                                            PerformanceRequestSampler requestSampler,
+                                                            PerformanceRequestSnapshot requestSnapshot,
+                                                            boolean sseRequest,
+                                                            boolean webSocketRequest,
+                                                            String requestBodyTemplate,
+                                                            PerformanceScriptRuntime scriptRuntime,
+                                                            PerformanceResponseCapturePlan capturePlan) throws Exception {
+        PerformanceProtocolSamplerContext context = new PerformanceProtocolSamplerContext(
+                request,
+                requestSampler,
+                requestSnapshot,
+                requestBodyTemplate,
+                scriptRuntime,
+                capturePlan
+        );
+        return samplerExecutor(sseRequest, webSocketRequest).executeAsync(context);
+    }
+
+    private PerformanceProtocolSamplerExecutor samplerExecutor(boolean sseRequest, boolean webSocketRequest) {
         if (webSocketRequest) {
-            return webSocketSamplerExecutor.execute(context);
+            return webSocketSamplerExecutor;
         }
         if (sseRequest) {
-            return sseSamplerExecutor.execute(context);
+            return sseSamplerExecutor;
         }
-        return httpSamplerExecutor.execute(context);
+        return httpSamplerExecutor;
     }
 }
@@ -5,6 +5,7 @@ import com.laker.postman.http.runtime.model.HttpResponse;
 import com.laker.postman.http.runtime.model.PreparedRequest;
 import com.laker.postman.performance.core.model.PerformanceRealtimeMetrics;
 import com.laker.postman.performance.core.model.SsePerformanceData;
+import com.laker.postman.performance.core.model.SseStreamStats;
 import com.laker.postman.http.runtime.transport.HttpBaseClientProvider;
 import com.laker.postman.http.runtime.transport.DefaultHttpTransport;
 import com.laker.postman.http.runtime.transport.HttpTransport;
@@ -158,6 +159,7 @@ public class SseSampleExecutor {
         AtomicBoolean sessionRegistered = new AtomicBoolean(false);
         AtomicInteger eventCount = new AtomicInteger(0);
         AtomicInteger matchedMessageCount = new AtomicInteger(0);
+        SseStreamStats streamStats = new SseStreamStats(cfg.stallThresholdMs);
         CountDownLatch openLatch = new CountDownLatch(1);
         CountDownLatch firstMessageLatch = new CountDownLatch(1);
         CountDownLatch completionLatch = new CountDownLatch(1);
@@ -216,6 +218,10 @@ public class SseSampleExecutor {
             public void onEvent(EventSource eventSource, String id, String type, String data) {
                 eventCount.incrementAndGet();
                 realtimeMetrics.recordSseReceived(eventSource);
+                long gapMs = streamStats.recordEvent(sampleStopwatch.elapsedMs(), BoundedTextAccumulator.utf8Length(data));
+                if (gapMs >= 0) {
+                    realtimeMetrics.recordSseInterEventGap(gapMs);
+                }
                 String eventType = CharSequenceUtil.blankToDefault(type, "message");
                 boolean firstPhysicalEvent = firstEventRecorded.compareAndSet(false, true);
                 if (firstPhysicalEvent) {
@@ -393,6 +399,13 @@ public class SseSampleExecutor {
             activeSources.remove(eventSource);
         }
 
+        // 卡顿不打断流，按完成条件读完后再把样本判为失败，间隔统计仍然完整
+        if (streamStats.stalled() && !failed.get() && !interrupted.get()) {
+            failed.set(true);
+            errorRef.set(I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_SSE_STREAM_STALLED,
+                    streamStats.gapMaxMs(), streamStats.stallThresholdMs()));
+        }
+
         long elapsedMs = sampleElapsedMs.get() >= 0 ? sampleElapsedMs.get() : sampleStopwatch.elapsedMs();
         long endTime = requestStartTime + elapsedMs;
         resp.endTime = endTime;
@@ -407,7 +420,8 @@ public class SseSampleExecutor {
                 firstEventLatencyMs.get(),
                 lastEventIdRef.get(),
                 lastEventTypeRef.get(),
-                errorRef.get()
+                errorRef.get(),
+                streamStats
         );
 
         return new Result(resp, errorRef.get(), failed.get(), interrupted.get());
@@ -1,6 +1,7 @@
 package com.laker.postman.performance.execution;
 
 import com.laker.postman.performance.core.model.SsePerformanceData;
+import com.laker.postman.performance.core.model.SseStreamStats;
 
 
 import cn.hutool.core.text.CharSequenceUtil;
@@ -21,6 +22,19 @@ class SseSampleResponseBuilder {
                            String lastEventId,
                            String lastEventType,
                            String errorMessage) {
+        addSummaryHeaders(response, config, eventCount, matchedMessageCount, firstEventLatencyMs,
+                lastEventId, lastEventType, errorMessage, null);
+    }
+
+    void addSummaryHeaders(HttpResponse response,
+                           SsePerformanceData config,
+                           int eventCount,
+                           int matchedMessageCount,
+                           long firstEventLatencyMs,
+                           String lastEventId,
+                           String lastEventType,
+                           String errorMessage,
+                           SseStreamStats streamStats) {
         if (response.headers == null) {
             response.headers = new LinkedHashMap<>();
         }
@@ -37,5 +51,8 @@ class SseSampleResponseBuilder {
         if (CharSequenceUtil.isNotBlank(errorMessage)) {
             response.addHeader("X-Easy-SSE-Error", Collections.singletonList(errorMessage));
         }
+        if (streamStats != null && streamStats.events() > 0) {
+            response.addHeader(SseStreamStats.HEADER_NAME, Collections.singletonList(streamStats.encode()));
+        }
     }
 }
@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BooleanSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.Predicate;
@@ -43,27 +44,60 @@ final class WebSocketSamplerExecutor implements PerformanceProtocolSamplerExecut
         if (invalidStageResult != null) {
             return invalidStageResult;
         }
-        WebSocketPerformanceData webSocketPerformanceData = context.getRequestSampler().getWebSocketPerformanceData();
-        if (webSocketPerformanceData == null) {
-            webSocketPerformanceData = new WebSocketPerformanceData();
+        WebSocketScenarioExecutor.Result result = newScenarioExecutor().execute(
+                context.getRequest(),
+                context.getRequestSampler(),
+                webSocketPerformanceData(context),
+                context.getRequestBodyTemplate(),
+                context.getScriptRuntime(),
+                context.getCapturePlan(),
+                context.getRequestId(),
+                context.getRequestName()
+        );
+        return toProtocolResult(result);
+    }
+
+    /**
+     * 场景由 WebSocket 事件循环驱动，调用线程不等待结果
+     */
+    @Override
+    public CompletableFuture<ProtocolExecutionResult> executeAsync(PerformanceProtocolSamplerContext context) {
+        ProtocolExecutionResult invalidStageResult = validateProtocolStages(
+                context.getRequestSampler(),
+                PerformanceProtocol.WEBSOCKET
+        );
+        if (invalidStageResult != null) {
+            return CompletableFuture.completedFuture(invalidStageResult);
         }
-        WebSocketScenarioExecutor.Result result = new WebSocketScenarioExecutor(
-                runningSupplier,
-                cancelledChecker,
-                activeWebSockets,
-                realtimeMetrics,
-                responseBodyPreviewLimitBytes(),
-                baseClientProvider
-        ).execute(
+        return newScenarioExecutor().executeAsync(
                 context.getRequest(),
                 context.getRequestSampler(),
-                webSocketPerformanceData,
+                webSocketPerformanceData(context),
                 context.getRequestBodyTemplate(),
                 context.getScriptRuntime(),
                 context.getCapturePlan(),
                 context.getRequestId(),
                 context.getRequestName()
+        ).thenApply(WebSocketSamplerExecutor::toProtocolResult);
+    }
+
+    private WebSocketScenarioExecutor newScenarioExecutor() {
+        return new WebSocketScenarioExecutor(
+                runningSupplier,
+                cancelledChecker,
+                activeWebSockets,
+                realtimeMetrics,
+                responseBodyPreviewLimitBytes(),
+                baseClientProvider
         );
+    }
+
+    private static WebSocketPerformanceData webSocketPerformanceData(PerformanceProtocolSamplerContext context) {
+        WebSocketPerformanceData webSocketPerformanceData = context.getRequestSampler().getWebSocketPerformanceData();
+        return webSocketPerformanceData == null ? new WebSocketPerformanceData() : webSocketPerformanceData;
+    }
+
+    private static ProtocolExecutionResult toProtocolResult(WebSocketScenarioExecutor.Result result) {
         return new ProtocolExecutionResult(
                 result.response,
                 result.errorMsg,
@@ -0,0 +1,86 @@
+package com.laker.postman.performance.execution;
+
+import com.laker.postman.performance.core.runtime.PerformanceThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WebSocket 场景共享的事件循环：少量工作线程加一个时间轮，驱动所有会话的状态机。
+ * <p>
+ * 每个场景通过 {@link #newMailbox()} 获得一个串行邮箱，OkHttp 回调和定时器到期都只是往邮箱投递事件，
+ * 同一场景的事件按投递顺序在工作线程上逐个处理，状态机内部无需加锁，也不会占住 OkHttp 的读线程。
+ * </p>
+ */
+@Slf4j
+final class WebSocketScenarioEventLoop {
+    private static final long TICK_MS = 5;
+    private static final int WHEEL_SIZE = 1024;
+
+    private static final class Holder {
+        private static final WebSocketScenarioEventLoop INSTANCE = new WebSocketScenarioEventLoop(
+                Math.max(4, Runtime.getRuntime().availableProcessors() * 2)
+        );
+    }
+
+    private final ExecutorService workers;
+    private final HashedTimerWheel timerWheel;
+
+    private WebSocketScenarioEventLoop(int workerThreads) {
+        this.workers = Executors.newFixedThreadPool(workerThreads, PerformanceThreadFactory.daemonFactory("ws-scenario"));
+        this.timerWheel = new HashedTimerWheel("ws-scenario-timer", TICK_MS, WHEEL_SIZE, workers);
+    }
+
+    static WebSocketScenarioEventLoop shared() {
+        return Holder.INSTANCE;
+    }
+
+    Mailbox newMailbox() {
+        return new Mailbox();
+    }
+
+    /**
+     * 串行执行投递的事件；事件之间满足 happens-before，处理过程中抛出的异常只记录日志
+     */
+    final class Mailbox {
+        private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        void post(Runnable event) {
+            events.add(event);
+            scheduleDrain();
+        }
+
+        /**
+         * 延迟投递；返回的句柄取消后事件不会再投递
+         */
+        HashedTimerWheel.Timeout postDelayed(Runnable event, long delayMs) {
+            return timerWheel.schedule(() -> post(event), delayMs);
+        }
+
+        private void scheduleDrain() {
+            if (scheduled.compareAndSet(false, true)) {
+                workers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            Runnable event;
+            while ((event = events.poll()) != null) {
+                try {
+                    event.run();
+                } catch (RuntimeException e) {
+                    log.error("WebSocket scenario event failed", e);
+                }
+            }
+            scheduled.set(false);
+            if (!events.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -7,7 +7,7 @@ import com.laker.postman.performance.core.plan.PerformanceExtractorElement;
 import com.laker.postman.performance.core.plan.PerformancePlanElement;
 import com.laker.postman.performance.core.plan.PerformanceProtocolStageElement;
 import com.laker.postman.performance.core.plan.PerformanceTimerElement;
-import com.laker.postman.performance.core.timer.TimerData;
+import com.laker.postman.performance.core.runtime.PerformanceSamplerTimers;
 
 
 import cn.hutool.core.text.CharSequenceUtil;
@@ -15,6 +15,7 @@ import com.laker.postman.http.runtime.model.HttpResponse;
 import com.laker.postman.http.runtime.model.PreparedRequest;
 import com.laker.postman.script.model.TestResult;
 import com.laker.postman.performance.plan.PerformanceRequestSampler;
+import com.laker.postman.service.variable.ExecutionContextScope;
 import com.laker.postman.http.runtime.transport.HttpBaseClientProvider;
 import com.laker.postman.http.runtime.transport.DefaultHttpTransport;
 import com.laker.postman.http.runtime.transport.HttpTransport;
@@ -22,6 +23,7 @@ import com.laker.postman.http.runtime.transport.RealtimeConnectionOptions;
 import com.laker.postman.util.I18nUtil;
 import com.laker.postman.util.MessageKeys;
 import com.laker.postman.util.MonotonicStopwatch;
+import okhttp3.OkHttpClient;
 import okhttp3.Response;
 import com.laker.postman.http.runtime.transport.RealtimeWebSocketConnection;
 import okhttp3.WebSocket;
@@ -32,17 +34,33 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+/**
+ * WebSocket 场景执行器：按连接、发送、读取、关闭、定时器等步骤驱动一个或多个 WebSocket 会话。
+ * <p>
+ * 场景以事件驱动的状态机运行在 {@link WebSocketScenarioEventLoop} 上，等待建连、等待消息、
+ * 发送间隔和定时器都不占用线程；{@link #execute} 只是在调用线程上等待结果，
+ * 压测引擎通过 {@link #executeAsync} 让少量线程同时驱动大量虚拟用户的长连接会话。
+ * </p>
+ */
 public class WebSocketScenarioExecutor {
+    /**
+     * 等待期间检查运行是否已停止的间隔；等待本身由时间轮和 OkHttp 回调驱动，不轮询
+     */
     private static final long READ_IDLE_CHECK_INTERVAL_MS = 1000;
+    private static final long SEND_QUEUE_DRAIN_TIMEOUT_MS = 500;
+    private static final long SEND_QUEUE_DRAIN_POLL_MS = 10;
 
     public static final class Result {
         public final HttpResponse response;
@@ -139,534 +157,914 @@ public class WebSocketScenarioExecutor {
                           PerformanceResponseCapturePlan capturePlan,
                           String apiId,
                           String apiName) {
-        WebSocketPerformanceData baseRequestCfg = requestCfg == null ? new WebSocketPerformanceData() : requestCfg;
-        MonotonicStopwatch sampleStopwatch = MonotonicStopwatch.start();
-        long requestStartTime = sampleStopwatch.startWallTimeMs();
-        HttpResponse resp = new HttpResponse();
-        AtomicBoolean interrupted = new AtomicBoolean(false);
-        AtomicBoolean failed = new AtomicBoolean(false);
-        AtomicReference<String> errorRef = new AtomicReference<>("");
-        AtomicReference<String> lastMessageRef = new AtomicReference<>("");
-        AtomicReference<WebSocketPerformanceData> lastStepCfgRef = new AtomicReference<>(baseRequestCfg);
-        AtomicBoolean scenarioCompleted = new AtomicBoolean(false);
-        PerformanceResponseCapturePlan effectiveCapturePlan = capturePlan == null
-                ? PerformanceResponseCapturePlan.resolve(true, requestSampler, false, true,
-                        req == null ? "" : req.postscript)
-                : capturePlan;
-        boolean retainReadPayloads = effectiveCapturePlan.retainWebSocketReadPayloads();
-        boolean retainResponseBody = effectiveCapturePlan.retainStreamResponseBody();
-        int retainedReadMessageLimit = retainReadPayloads
-                ? WebSocketReceivedMessageBuffer.DEFAULT_MAX_RETAINED_READ_MESSAGES
-                : WebSocketScenarioStepSupport.maxBufferedMessagesNeededForRead(requestSampler);
-        boolean trackResponseBodySize = retainResponseBody || effectiveCapturePlan.trackStreamResponseBodySize();
-        BoundedTextAccumulator responseBodySizeCounter = trackResponseBodySize
-                ? new BoundedTextAccumulator(0)
-                : null;
-        AtomicReference<String> latestResponseBodyRef = new AtomicReference<>("");
-        AtomicLong sampleEndTimeMs = new AtomicLong(0);
-        AtomicLong sampleElapsedMs = new AtomicLong(-1);
-        AtomicLong firstMessageLatencyMs = new AtomicLong(-1);
-        AtomicBoolean firstReceivedMessageRecorded = new AtomicBoolean(false);
-        AtomicInteger receivedMessageCount = new AtomicInteger(0);
-        AtomicInteger matchedMessageCount = new AtomicInteger(0);
-        AtomicInteger sentMessageCount = new AtomicInteger(0);
-        List<TestResult> stepTestResults = new ArrayList<>();
-        WebSocketReceivedMessageBuffer receivedMessages = new WebSocketReceivedMessageBuffer(
-                responseBodyPreviewLimitBytes,
-                retainReadPayloads,
-                retainedReadMessageLimit
-        );
-        boolean keepReceivedMessages = WebSocketScenarioStepSupport.hasEnabledReadStep(requestSampler);
-        Object messageLock = new Object();
-        class WebSocketScenarioSession {
-            private final long startTimeMs = System.currentTimeMillis();
-            // 同一 WS 会话必须用稳定 key 贯穿 open/send/receive/close；OkHttp 回调对象和 runtime 连接对象不一定相同。
-            private final Object metricsKey = new Object();
-            private final CountDownLatch openLatch = new CountDownLatch(1);
-            private final AtomicBoolean closingSocket = new AtomicBoolean(false);
-            private final AtomicBoolean remoteClosed = new AtomicBoolean(false);
-            private final AtomicBoolean registered = new AtomicBoolean(false);
-            private final AtomicInteger closeCode = new AtomicInteger(-1);
-            private final AtomicReference<String> closeReason = new AtomicReference<>("");
-            private RealtimeWebSocketConnection webSocket;
-            private boolean ended;
-        }
-
-        class WebSocketSessionManager {
-            private final List<WebSocketScenarioSession> sessions = new ArrayList<>();
-            private WebSocketScenarioSession currentSession;
-
-            WebSocketScenarioSession currentOpenSession() {
-                if (currentSession == null || currentSession.webSocket == null || currentSession.remoteClosed.get()) {
-                    return null;
-                }
-                return currentSession;
-            }
-
-            WebSocketScenarioSession open(WebSocketPerformanceData cfg) throws InterruptedException {
-                WebSocketPerformanceData connectCfg = cfg == null ? baseRequestCfg : cfg;
-                WebSocketScenarioSession session = new WebSocketScenarioSession();
-                WebSocketListener listener = new WebSocketListener() {
-                    @Override
-                    public void onOpen(WebSocket webSocket, Response response) {
-                        resp.headers = new LinkedHashMap<>();
-                        for (String name : response.headers().names()) {
-                            resp.addHeader(name, response.headers(name));
-                        }
-                        resp.code = response.code();
-                        resp.protocol = response.protocol().toString();
-                        recordStart(session);
-                        session.openLatch.countDown();
-                    }
+        ScenarioRun run = new ScenarioRun(req, requestSampler, requestCfg, requestBodyTemplate, scriptRuntime,
+                capturePlan, apiId, apiName);
+        CompletableFuture<Result> future = run.start();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.interrupt();
+            return awaitAfterInterrupt(future);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        }
+    }
 
-                    @Override
-                    public void onMessage(WebSocket webSocket, String text) {
-                        appendMessage(text);
-                    }
+    /**
+     * 非阻塞执行：场景由 OkHttp 回调和共享时间轮驱动，调用线程立即返回。
+     * 调用线程上绑定的变量上下文会被捕获，步骤里的脚本、变量解析、提取器都在该上下文中执行。
+     */
+    public CompletableFuture<Result> executeAsync(PreparedRequest req,
+                                                  PerformanceRequestSampler requestSampler,
+                                                  WebSocketPerformanceData requestCfg,
+                                                  String requestBodyTemplate,
+                                                  PerformanceScriptRuntime scriptRuntime,
+                                                  PerformanceResponseCapturePlan capturePlan,
+                                                  String apiId,
+                                                  String apiName) {
+        return new ScenarioRun(req, requestSampler, requestCfg, requestBodyTemplate, scriptRuntime,
+                capturePlan, apiId, apiName).start();
+    }
 
-                    @Override
-                    public void onMessage(WebSocket webSocket, okio.ByteString bytes) {
-                        appendMessage(toHexPreview(bytes));
-                    }
+    private static Result awaitAfterInterrupt(CompletableFuture<Result> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw propagate(e.getCause());
+        }
+    }
 
-                    private void appendMessage(String payload) {
-                        String value = payload == null ? "" : payload;
-                        lastMessageRef.set(headerPreview(value));
-                        if (retainResponseBody) {
-                            latestResponseBodyRef.set(
-                                    WebSocketReceivedMessageBuffer.retainUtf8Prefix(value, responseBodyPreviewLimitBytes)
-                            );
-                        }
-                        if (responseBodySizeCounter != null) {
-                            responseBodySizeCounter.append(value);
-                        }
-                        receivedMessageCount.incrementAndGet();
-                        long receivedAtMs = System.currentTimeMillis();
-                        realtimeMetrics.recordWebSocketReceived(session.metricsKey);
-                        if (firstReceivedMessageRecorded.compareAndSet(false, true)) {
-                            long latencyMs = sampleStopwatch.elapsedMs();
-                            firstMessageLatencyMs.compareAndSet(-1, latencyMs);
-                            realtimeMetrics.recordWebSocketFirstMessageLatency(session.metricsKey, latencyMs);
-                        }
-                        synchronized (messageLock) {
-                            if (keepReceivedMessages) {
-                                receivedMessages.add(value, receivedAtMs);
-                            }
-                            messageLock.notifyAll();
-                        }
-                    }
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
 
-                    @Override
-                    public void onClosed(WebSocket webSocket, int code, String reason) {
-                        session.closeCode.compareAndSet(-1, code);
-                        session.closeReason.compareAndSet("", CharSequenceUtil.blankToDefault(reason, ""));
-                        session.remoteClosed.set(true);
-                        session.openLatch.countDown();
-                        synchronized (messageLock) {
-                            messageLock.notifyAll();
-                        }
-                    }
+    /**
+     * 同一 WS 会话必须用稳定 key 贯穿 open/send/receive/close；OkHttp 回调对象和 runtime 连接对象不一定相同。
+     */
+    private static final class WebSocketScenarioSession {
+        private final long startTimeMs = System.currentTimeMillis();
+        private final Object metricsKey = new Object();
+        private final AtomicBoolean closingSocket = new AtomicBoolean(false);
+        private final AtomicBoolean remoteClosed = new AtomicBoolean(false);
+        private final AtomicBoolean registered = new AtomicBoolean(false);
+        private final AtomicInteger closeCode = new AtomicInteger(-1);
+        private final AtomicReference<String> closeReason = new AtomicReference<>("");
+        private RealtimeWebSocketConnection webSocket;
+        private boolean ended;
+    }
 
-                    @Override
-                    public void onClosing(WebSocket webSocket, int code, String reason) {
-                        session.closeCode.compareAndSet(-1, code);
-                        session.closeReason.compareAndSet("", CharSequenceUtil.blankToDefault(reason, ""));
-                        if (!session.closingSocket.get()) {
-                            session.remoteClosed.set(true);
-                        }
-                        synchronized (messageLock) {
-                            messageLock.notifyAll();
-                        }
-                    }
+    /**
+     * 一次场景执行的状态机。
+     * <p>
+     * 所有状态转换都在场景自己的串行邮箱里执行：OkHttp 回调只更新计数并投递事件，
+     * 建连超时、读取截止、发送间隔、定时器和 While 间隔都挂在共享时间轮上，
+     * 等待期间不占用任何线程。同一时刻最多只有一个等待中的定时事件。
+     * </p>
+     */
+    private final class ScenarioRun {
+        private final PreparedRequest req;
+        private final PerformanceRequestSampler requestSampler;
+        private final WebSocketPerformanceData baseRequestCfg;
+        private final String requestBodyTemplate;
+        private final PerformanceScriptRuntime scriptRuntime;
+        private final String apiId;
+        private final String apiName;
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+        private final WebSocketScenarioEventLoop.Mailbox mailbox = WebSocketScenarioEventLoop.shared().newMailbox();
+        private final ExecutionContextScope.Snapshot executionContext = ExecutionContextScope.capture();
+        private final HttpBaseClientProvider sessionClientProvider;
+        // 等待步骤与采样器前置定时器共用令牌桶和定速状态，发起时在虚拟用户上下文中取定
+        private final PerformanceSamplerTimers stepTimers = PerformanceSamplerTimers.current();
 
-                    @Override
-                    public void onFailure(WebSocket webSocket, Throwable throwable, Response response) {
-                        if (response != null) {
-                            if (resp.headers == null) {
-                                resp.headers = new LinkedHashMap<>();
-                            }
-                            for (String name : response.headers().names()) {
-                                resp.addHeader(name, response.headers(name));
-                            }
-                            resp.code = response.code();
-                            resp.protocol = response.protocol().toString();
-                        }
-                        String message = throwable != null ? throwable.getMessage() : "";
-                        String failureMessage = describeWebSocketFailureMessage(message);
-                        session.closeReason.compareAndSet("", failureMessage);
-                        if (!session.closingSocket.get()) {
-                            if (!runningSupplier.getAsBoolean() || cancelledChecker.test(throwable)) {
-                                interrupted.set(true);
-                                setInterruptedErrorIfBlank(errorRef);
-                            } else {
-                                failed.set(true);
-                                errorRef.set(failureMessage);
-                            }
-                        }
-                        session.remoteClosed.set(true);
-                        session.openLatch.countDown();
-                        synchronized (messageLock) {
-                            messageLock.notifyAll();
-                        }
-                    }
-                };
+        private final MonotonicStopwatch sampleStopwatch = MonotonicStopwatch.start();
+        private final long requestStartTime = sampleStopwatch.startWallTimeMs();
+        private final HttpResponse resp = new HttpResponse();
+        private final AtomicBoolean interrupted = new AtomicBoolean(false);
+        private final AtomicBoolean failed = new AtomicBoolean(false);
+        private final AtomicReference<String> errorRef = new AtomicReference<>("");
+        private final AtomicReference<String> lastMessageRef = new AtomicReference<>("");
+        private final AtomicReference<String> latestResponseBodyRef = new AtomicReference<>("");
+        private final AtomicLong sampleEndTimeMs = new AtomicLong(0);
+        private final AtomicLong sampleElapsedMs = new AtomicLong(-1);
+        private final AtomicLong firstMessageLatencyMs = new AtomicLong(-1);
+        private final AtomicBoolean firstReceivedMessageRecorded = new AtomicBoolean(false);
+        private final AtomicInteger receivedMessageCount = new AtomicInteger(0);
+        private final AtomicInteger matchedMessageCount = new AtomicInteger(0);
+        private final AtomicInteger sentMessageCount = new AtomicInteger(0);
+        private final boolean retainResponseBody;
+        private final BoundedTextAccumulator responseBodySizeCounter;
+        private final boolean keepReceivedMessages;
+        private final WebSocketReceivedMessageBuffer receivedMessages;
 
-                RealtimeWebSocketConnection webSocket = httpTransport.openWebSocket(
-                        req,
-                        listener,
-                        RealtimeConnectionOptions.builder()
-                                .baseClientProvider(baseClientProvider)
-                                .lifecycleLoggingEnabled(false)
-                                .build()
-                );
-                session.webSocket = webSocket;
-                sessions.add(session);
-                currentSession = session;
-                activeWebSockets.add(webSocket);
-                recordStart(session);
+        // 以下状态只在邮箱中访问
+        private final List<TestResult> stepTestResults = new ArrayList<>();
+        private final List<WebSocketScenarioSession> sessions = new ArrayList<>();
+        private final WebSocketScenarioPlanStepCursor scenarioSteps;
+        private WebSocketPerformanceData lastStepCfg;
+        private WebSocketScenarioSession currentSession;
+        private boolean implicitConnectAllowed = true;
+        private boolean scenarioCompleted;
+        private boolean finished;
+        private WebSocketScenarioSession connecting;
+        private Runnable afterConnect;
+        private ReadStep reading;
+        private Object waitToken;
+        private HashedTimerWheel.Timeout waitTimeout;
+        private Runnable waitResume;
 
-                boolean opened = session.openLatch.await(Math.max(100, connectCfg.connectTimeoutMs), TimeUnit.MILLISECONDS);
-                if (!opened && !failed.get() && !interrupted.get()) {
-                    String timeoutMessage = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_WS_CONNECTION_TIMEOUT);
-                    failed.set(true);
-                    errorRef.set(timeoutMessage);
-                    close(session, timeoutMessage);
-                }
-                return session;
+        ScenarioRun(PreparedRequest req,
+                    PerformanceRequestSampler requestSampler,
+                    WebSocketPerformanceData requestCfg,
+                    String requestBodyTemplate,
+                    PerformanceScriptRuntime scriptRuntime,
+                    PerformanceResponseCapturePlan capturePlan,
+                    String apiId,
+                    String apiName) {
+            this.req = req;
+            this.requestSampler = requestSampler;
+            this.baseRequestCfg = requestCfg == null ? new WebSocketPerformanceData() : requestCfg;
+            this.requestBodyTemplate = requestBodyTemplate;
+            this.scriptRuntime = scriptRuntime;
+            this.apiId = apiId;
+            this.apiName = apiName;
+            this.lastStepCfg = baseRequestCfg;
+            PerformanceResponseCapturePlan effectiveCapturePlan = capturePlan == null
+                    ? PerformanceResponseCapturePlan.resolve(true, requestSampler, false, true,
+                            req == null ? "" : req.postscript)
+                    : capturePlan;
+            boolean retainReadPayloads = effectiveCapturePlan.retainWebSocketReadPayloads();
+            this.retainResponseBody = effectiveCapturePlan.retainStreamResponseBody();
+            int retainedReadMessageLimit = retainReadPayloads
+                    ? WebSocketReceivedMessageBuffer.DEFAULT_MAX_RETAINED_READ_MESSAGES
+                    : WebSocketScenarioStepSupport.maxBufferedMessagesNeededForRead(requestSampler);
+            boolean trackResponseBodySize = retainResponseBody || effectiveCapturePlan.trackStreamResponseBodySize();
+            this.responseBodySizeCounter = trackResponseBodySize ? new BoundedTextAccumulator(0) : null;
+            this.receivedMessages = new WebSocketReceivedMessageBuffer(
+                    responseBodyPreviewLimitBytes,
+                    retainReadPayloads,
+                    retainedReadMessageLimit
+            );
+            this.keepReceivedMessages = WebSocketScenarioStepSupport.hasEnabledReadStep(requestSampler);
+            this.scenarioSteps = new WebSocketScenarioPlanStepCursor(requestSampler, runningSupplier);
+            this.sessionClientProvider = bindBaseClient(req);
+        }
+
+        /**
+         * 基础客户端按调用线程上的虚拟用户解析（Cookie 隔离），而建连发生在事件循环线程上，因此在这里先取定
+         */
+        private HttpBaseClientProvider bindBaseClient(PreparedRequest req) {
+            if (baseClientProvider == null) {
+                return null;
+            }
+            OkHttpClient baseClient = baseClientProvider.getBaseClient(req);
+            return ignored -> baseClient;
+        }
+
+        CompletableFuture<Result> start() {
+            post(this::advance);
+            scheduleRunningCheck();
+            return future;
+        }
+
+        /**
+         * 调用线程被中断：按中断结束场景
+         */
+        void interrupt() {
+            post(() -> {
+                interrupted.set(true);
+                setInterruptedErrorIfBlank(errorRef);
+                abortWait();
+            });
+        }
+
+        private void post(Runnable event) {
+            mailbox.post(() -> dispatch(event));
+        }
+
+        private void dispatch(Runnable event) {
+            if (future.isDone()) {
+                return;
+            }
+            try (ExecutionContextScope ignored = executionContext.open()) {
+                event.run();
+            } catch (RuntimeException | Error e) {
+                abandon(e);
             }
+        }
 
-            void closeCurrent(String reason) {
-                WebSocketScenarioSession session = currentSession;
-                if (session == null) {
+        private boolean active() {
+            return runningSupplier.getAsBoolean() && !failed.get() && !interrupted.get();
+        }
+
+        private void continueScenario() {
+            post(this::advance);
+        }
+
+        private void advance() {
+            while (!finished) {
+                if (!active()) {
+                    finish();
+                    return;
+                }
+                WebSocketScenarioPlanStepCursor.Step step = scenarioSteps.nextStep();
+                if (step.isDelay()) {
+                    resumeAfter(step.delayMs(), this::advance);
+                    return;
+                }
+                PerformancePlanElement stepElement = step.element();
+                if (stepElement == null) {
+                    scenarioCompleted = true;
+                    finish();
                     return;
                 }
-                close(session, reason);
+                if (!startStep(stepElement)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * @return 步骤是否已同步完成；返回 false 的步骤完成后自行调用 {@link #continueScenario()}
+         */
+        private boolean startStep(PerformancePlanElement stepElement) {
+            switch (stepElement.getType()) {
+                case WS_CONNECT -> {
+                    WebSocketPerformanceData stepCfg = WebSocketScenarioStepSupport.webSocketData(stepElement, baseRequestCfg);
+                    lastStepCfg = stepCfg;
+                    implicitConnectAllowed = false;
+                    closeCurrent("WebSocket reconnect step", () -> {
+                        if (!failed.get() && !interrupted.get()) {
+                            openSession(stepCfg, ignored -> continueScenario());
+                        } else {
+                            continueScenario();
+                        }
+                    });
+                    return false;
+                }
+                case WS_SEND -> {
+                    WebSocketPerformanceData stepCfg = WebSocketScenarioStepSupport.webSocketData(stepElement, baseRequestCfg);
+                    lastStepCfg = stepCfg;
+                    if (stepCfg.sendMode == WebSocketPerformanceData.SendMode.NONE
+                            || !WebSocketScenarioStepSupport.hasSendPayload(req, requestBodyTemplate, stepCfg)) {
+                        return true;
+                    }
+                    withOpenSession(session -> sendNext(new SendStep(stepElement, stepCfg, session)));
+                    return false;
+                }
+                case WS_READ -> {
+                    WebSocketPerformanceData stepCfg = WebSocketScenarioStepSupport.webSocketData(stepElement, baseRequestCfg);
+                    lastStepCfg = stepCfg;
+                    withOpenSession(session -> {
+                        reading = new ReadStep(stepElement, stepCfg, session);
+                        reading.drain();
+                    });
+                    return false;
+                }
+                case WS_CLOSE -> {
+                    if (!scenarioSteps.hasMoreSteps()) {
+                        scenarioCompleted = true;
+                        markSampleEnd(sampleEndTimeMs, sampleElapsedMs, sampleStopwatch);
+                    }
+                    implicitConnectAllowed = false;
+                    closeCurrent("WebSocket close step", this::continueScenario);
+                    return false;
+                }
+                case TIMER -> {
+                    long delayMs = stepElement instanceof PerformanceTimerElement timerElement
+                            ? stepTimers.delayMs(timerElement)
+                            : 0L;
+                    if (delayMs <= 0) {
+                        return true;
+                    }
+                    resumeAfter(delayMs, this::continueScenario);
+                    return false;
+                }
+                default -> {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * 发送、读取步骤需要已打开的连接；没有显式连接步骤时第一次使用前隐式建连
+         */
+        private void withOpenSession(Consumer<WebSocketScenarioSession> action) {
+            WebSocketScenarioSession session = currentOpenSession();
+            if (session != null) {
+                action.accept(session);
+                return;
+            }
+            if (!implicitConnectAllowed) {
+                failed.set(true);
+                errorRef.set("WebSocket connection is not open");
+                continueScenario();
+                return;
+            }
+            implicitConnectAllowed = false;
+            openSession(baseRequestCfg, opened -> {
+                if (failed.get() || interrupted.get()) {
+                    continueScenario();
+                } else {
+                    action.accept(opened);
+                }
+            });
+        }
+
+        private WebSocketScenarioSession currentOpenSession() {
+            if (currentSession == null || currentSession.webSocket == null || currentSession.remoteClosed.get()) {
+                return null;
+            }
+            return currentSession;
+        }
+
+        // ---------------------------------------------------------------- 连接
+
+        private void openSession(WebSocketPerformanceData cfg, Consumer<WebSocketScenarioSession> then) {
+            WebSocketPerformanceData connectCfg = cfg == null ? baseRequestCfg : cfg;
+            WebSocketScenarioSession session = new WebSocketScenarioSession();
+            RealtimeWebSocketConnection webSocket = httpTransport.openWebSocket(
+                    req,
+                    new ScenarioWebSocketListener(session),
+                    RealtimeConnectionOptions.builder()
+                            .baseClientProvider(sessionClientProvider)
+                            .lifecycleLoggingEnabled(false)
+                            .build()
+            );
+            session.webSocket = webSocket;
+            sessions.add(session);
+            currentSession = session;
+            activeWebSockets.add(webSocket);
+            recordStart(session);
+
+            connecting = session;
+            afterConnect = () -> then.accept(session);
+            resumeAfter(Math.max(100, connectCfg.connectTimeoutMs), () -> connectTimedOut(session));
+        }
+
+        /**
+         * 建连有了结果（打开、关闭或失败）
+         */
+        private void connectSettled(WebSocketScenarioSession session) {
+            if (connecting != session) {
+                return;
+            }
+            cancelWait();
+            resumeAfterConnect();
+        }
+
+        private void connectTimedOut(WebSocketScenarioSession session) {
+            if (connecting != session) {
+                return;
+            }
+            if (!failed.get() && !interrupted.get()) {
+                String timeoutMessage = I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_WS_CONNECTION_TIMEOUT);
+                failed.set(true);
+                errorRef.set(timeoutMessage);
+                connecting = null;
+                Runnable continuation = afterConnect;
+                afterConnect = null;
+                closeSession(session, timeoutMessage, continuation);
+                return;
+            }
+            resumeAfterConnect();
+        }
+
+        private void resumeAfterConnect() {
+            Runnable continuation = afterConnect;
+            connecting = null;
+            afterConnect = null;
+            if (continuation != null) {
+                continuation.run();
+            }
+        }
+
+        private void recordStart(WebSocketScenarioSession session) {
+            if (session.registered.compareAndSet(false, true)) {
+                realtimeMetrics.recordWebSocketSessionStart(session.metricsKey, session.startTimeMs, apiId, apiName);
+            }
+        }
+
+        private void closeCurrent(String reason, Runnable then) {
+            WebSocketScenarioSession session = currentSession;
+            if (session == null) {
+                then.run();
+                return;
+            }
+            closeSession(session, reason, () -> {
                 if (currentSession == session) {
                     currentSession = null;
                 }
+                then.run();
+            });
+        }
+
+        private void closeAll(String reason, int fromIndex, Runnable then) {
+            if (fromIndex >= sessions.size()) {
+                currentSession = null;
+                then.run();
+                return;
+            }
+            closeSession(sessions.get(fromIndex), reason, () -> closeAll(reason, fromIndex + 1, then));
+        }
+
+        /**
+         * 发送关闭帧；正常结束时最多等 {@link #SEND_QUEUE_DRAIN_TIMEOUT_MS} 让发送队列写完再断开
+         */
+        private void closeSession(WebSocketScenarioSession session, String reason, Runnable then) {
+            if (session == null || session.ended) {
+                then.run();
+                return;
+            }
+            session.closingSocket.set(true);
+            RealtimeWebSocketConnection webSocket = session.webSocket;
+            if (webSocket == null) {
+                session.ended = true;
+                then.run();
+                return;
+            }
+            try {
+                webSocket.close(1000, reason);
+            } catch (Exception ignored) {
+            }
+            Runnable end = () -> {
+                webSocket.cancel();
+                activeWebSockets.remove(webSocket);
+                realtimeMetrics.recordWebSocketSessionEnd(session.metricsKey);
+                session.ended = true;
+                then.run();
+            };
+            if (failed.get() || interrupted.get()) {
+                end.run();
+            } else {
+                awaitSendQueueDrained(webSocket,
+                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SEND_QUEUE_DRAIN_TIMEOUT_MS), end);
+            }
+        }
+
+        private void awaitSendQueueDrained(RealtimeWebSocketConnection webSocket, long deadlineNanos, Runnable then) {
+            if (webSocket.queueSize() > 0 && System.nanoTime() < deadlineNanos && runningSupplier.getAsBoolean()) {
+                resumeAfter(SEND_QUEUE_DRAIN_POLL_MS, () -> awaitSendQueueDrained(webSocket, deadlineNanos, then));
+            } else {
+                then.run();
+            }
+        }
+
+        // ---------------------------------------------------------------- 发送
+
+        private void sendNext(SendStep step) {
+            WebSocketScenarioSession session = step.session;
+            while (step.sendIndex < step.sendTimes && active()) {
+                if (session.remoteClosed.get()) {
+                    failed.set(true);
+                    errorRef.set(webSocketClosedBeforeSendCompletedMessage(
+                            sentMessageCount.get(),
+                            step.sendTimes,
+                            session.closeCode.get(),
+                            session.closeReason.get()
+                    ));
+                    break;
+                }
+                var sendScriptResult = WebSocketScenarioStepSupport.executeSendPreScript(
+                        scriptRuntime,
+                        step.stepCfg,
+                        step.sendIndex,
+                        step.sendTimes,
+                        step.stepElement.getName()
+                );
+                if (!sendScriptResult.isSuccess()) {
+                    failed.set(true);
+                    errorRef.set("WebSocket send pre-script failed: " + sendScriptResult.getErrorMessage());
+                    break;
+                }
+                String payload = WebSocketScenarioStepSupport.resolveSendPayload(req, requestBodyTemplate, step.stepCfg);
+                boolean sent = session.webSocket.send(payload == null ? "" : payload);
+                if (sent) {
+                    sentMessageCount.incrementAndGet();
+                    realtimeMetrics.recordWebSocketSent(session.metricsKey);
+                } else {
+                    failed.set(true);
+                    errorRef.set(session.remoteClosed.get()
+                            ? webSocketClosedBeforeSendCompletedMessage(
+                            sentMessageCount.get(),
+                            step.sendTimes,
+                            session.closeCode.get(),
+                            session.closeReason.get()
+                    )
+                            : "WebSocket send failed");
+                    break;
+                }
+                step.sendIndex++;
+                if (step.sendIndex < step.sendTimes && step.intervalMs > 0) {
+                    resumeAfter(step.intervalMs, () -> sendNext(step));
+                    return;
+                }
+            }
+            continueScenario();
+        }
+
+        // ---------------------------------------------------------------- 接收
+
+        private void messageReceived(String value, long receivedAtMs) {
+            if (finished) {
+                return;
+            }
+            if (keepReceivedMessages) {
+                receivedMessages.add(value, receivedAtMs);
+            }
+            if (reading != null) {
+                reading.drain();
+            }
+        }
+
+        private void sessionChanged(WebSocketScenarioSession session) {
+            connectSettled(session);
+            if (reading != null && reading.session == session) {
+                reading.drain();
             }
+        }
+
+        // ---------------------------------------------------------------- 定时等待
 
-            void closeAll(String reason) {
-                for (WebSocketScenarioSession session : sessions) {
-                    close(session, reason);
+        private void resumeAfter(long delayMs, Runnable resume) {
+            cancelWait();
+            Object token = new Object();
+            waitToken = token;
+            waitResume = resume;
+            waitTimeout = mailbox.postDelayed(() -> dispatch(() -> {
+                if (waitToken == token) {
+                    resumeWait();
                 }
-                currentSession = null;
+            }), delayMs);
+        }
+
+        private void resumeWait() {
+            Runnable resume = waitResume;
+            waitToken = null;
+            waitTimeout = null;
+            waitResume = null;
+            if (resume != null) {
+                resume.run();
             }
+        }
+
+        private void cancelWait() {
+            if (waitTimeout != null) {
+                waitTimeout.cancel();
+            }
+            waitToken = null;
+            waitTimeout = null;
+            waitResume = null;
+        }
 
-            private void recordStart(WebSocketScenarioSession session) {
-                if (session.registered.compareAndSet(false, true)) {
-                    realtimeMetrics.recordWebSocketSessionStart(session.metricsKey, session.startTimeMs, apiId, apiName);
+        /**
+         * 运行已停止或被中断：立即结束当前的等待，后续步骤看到状态后会收尾
+         */
+        private void abortWait() {
+            if (connecting != null) {
+                connectSettled(connecting);
+            } else if (reading != null) {
+                reading.drain();
+            } else if (waitResume != null) {
+                if (waitTimeout != null) {
+                    waitTimeout.cancel();
                 }
+                resumeWait();
             }
+        }
 
-            private void close(WebSocketScenarioSession session, String reason) {
-                if (session == null || session.ended) {
-                    return;
+        private void scheduleRunningCheck() {
+            mailbox.postDelayed(() -> dispatch(() -> {
+                if (runningSupplier.getAsBoolean()) {
+                    scheduleRunningCheck();
+                } else {
+                    abortWait();
                 }
-                session.closingSocket.set(true);
-                RealtimeWebSocketConnection webSocket = session.webSocket;
-                if (webSocket != null) {
-                    try {
-                        webSocket.close(1000, reason);
-                    } catch (Exception ignored) {
-                    }
-                    if (!failed.get() && !interrupted.get()) {
-                        try {
-                            waitForSendQueueToDrain(webSocket);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            interrupted.set(true);
-                        }
-                    }
-                    webSocket.cancel();
-                    activeWebSockets.remove(webSocket);
+            }), READ_IDLE_CHECK_INTERVAL_MS);
+        }
+
+        // ---------------------------------------------------------------- 结束
+
+        private void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            reading = null;
+            cancelWait();
+            if (!scenarioCompleted && !runningSupplier.getAsBoolean() && !failed.get() && interrupted.compareAndSet(false, true)) {
+                setInterruptedErrorIfBlank(errorRef);
+            }
+            markSampleEnd(sampleEndTimeMs, sampleElapsedMs, sampleStopwatch);
+            closeAll("Performance sample complete", 0, () -> future.complete(buildResult()));
+        }
+
+        /**
+         * 状态机自身抛出异常：断开所有连接，把异常交给调用方
+         */
+        private void abandon(Throwable error) {
+            finished = true;
+            cancelWait();
+            for (WebSocketScenarioSession session : sessions) {
+                if (!session.ended && session.webSocket != null) {
+                    session.closingSocket.set(true);
+                    session.webSocket.cancel();
+                    activeWebSockets.remove(session.webSocket);
                     realtimeMetrics.recordWebSocketSessionEnd(session.metricsKey);
                 }
                 session.ended = true;
             }
+            future.completeExceptionally(error);
+        }
+
+        private Result buildResult() {
+            long elapsedMs = sampleElapsedMs.get() >= 0 ? sampleElapsedMs.get() : sampleStopwatch.elapsedMs();
+            long endTime = requestStartTime + elapsedMs;
+            resp.endTime = endTime;
+            resp.costMs = elapsedMs;
+            if (retainResponseBody) {
+                resp.body = latestResponseBodyRef.get();
+            } else {
+                resp.body = "";
+            }
+            resp.bodySize = responseBodySizeCounter == null ? 0 : responseBodySizeCounter.totalUtf8Bytes();
+            if (resp.headers == null) {
+                resp.headers = new LinkedHashMap<>();
+            }
+
+            WebSocketPerformanceData headerCfg = lastStepCfg != null ? lastStepCfg : baseRequestCfg;
+            WebSocketScenarioResponseBuilder.addSummaryHeaders(
+                    resp,
+                    headerCfg,
+                    receivedMessageCount.get(),
+                    sentMessageCount.get(),
+                    matchedMessageCount.get(),
+                    firstMessageLatencyMs.get(),
+                    lastMessageRef.get(),
+                    errorRef.get()
+            );
+            return new Result(resp, errorRef.get(), failed.get(), interrupted.get(), stepTestResults);
         }
 
-        WebSocketSessionManager sessionManager = new WebSocketSessionManager();
+        private final class SendStep {
+            private final PerformancePlanElement stepElement;
+            private final WebSocketPerformanceData stepCfg;
+            private final WebSocketScenarioSession session;
+            private final int sendTimes;
+            private final int intervalMs;
+            private int sendIndex;
 
-        try {
-            if (!failed.get() && !interrupted.get()) {
-                WebSocketScenarioPlanStepCursor scenarioSteps = new WebSocketScenarioPlanStepCursor(requestSampler, runningSupplier);
-                boolean implicitConnectAllowed = true;
-                while (runningSupplier.getAsBoolean() && !failed.get() && !interrupted.get()) {
-                    PerformancePlanElement stepElement = scenarioSteps.next();
-                    if (stepElement == null) {
-                        scenarioCompleted.set(true);
-                        break;
+            SendStep(PerformancePlanElement stepElement, WebSocketPerformanceData stepCfg, WebSocketScenarioSession session) {
+                this.stepElement = stepElement;
+                this.stepCfg = stepCfg;
+                this.session = session;
+                this.sendTimes = stepCfg.sendMode == WebSocketPerformanceData.SendMode.REQUEST_BODY_REPEAT
+                        ? Math.max(1, stepCfg.sendCount)
+                        : 1;
+                this.intervalMs = Math.max(0, stepCfg.sendIntervalMs);
+            }
+        }
+
+        /**
+         * 读取步骤：每收到消息、连接状态变化或到达截止时间时消费缓冲区，满足完成条件后执行步骤下的提取器和断言
+         */
+        private final class ReadStep {
+            private final WebSocketPerformanceData stepCfg;
+            private final WebSocketScenarioSession session;
+            private final WebSocketPerformanceData.CompletionMode readMode;
+            private final long readStartTime = System.currentTimeMillis();
+            private final long deadline;
+            private final List<PerformanceAssertionElement> stepAssertions;
+            private final List<PerformanceExtractorElement> stepExtractors;
+            private final boolean stepRequiresResponseBody;
+            private long firstMatchTime = -1;
+            private int stepMatchedCount;
+            private String stepAssertionPayload = "";
+            private boolean done;
+
+            ReadStep(PerformancePlanElement stepElement, WebSocketPerformanceData stepCfg, WebSocketScenarioSession session) {
+                this.stepCfg = stepCfg;
+                this.session = session;
+                this.readMode = stepCfg.completionMode == null
+                        ? WebSocketPerformanceData.CompletionMode.SINGLE_MESSAGE
+                        : stepCfg.completionMode;
+                this.deadline = switch (readMode) {
+                    case SINGLE_MESSAGE, UNTIL_MATCH, MESSAGE_COUNT ->
+                            readStartTime + Math.max(100, stepCfg.firstMessageTimeoutMs);
+                    case FIXED_DURATION -> readStartTime + Math.max(100, stepCfg.holdConnectionMs);
+                };
+                this.stepAssertions = stepElement instanceof PerformanceProtocolStageElement stage
+                        ? PerformanceAssertionRunner.collectDirectAssertionElements(stage.getElements())
+                        : List.of();
+                this.stepExtractors = stepElement instanceof PerformanceProtocolStageElement stage
+                        ? PerformanceExtractorRunner.collectDirectExtractorElements(stage.getElements())
+                        : List.of();
+                this.stepRequiresResponseBody = PerformanceAssertionRunner.requiresResponseBodyElements(stepAssertions)
+                        || PerformanceExtractorRunner.requiresResponseBodyElements(stepExtractors);
+            }
+
+            void drain() {
+                if (done) {
+                    return;
+                }
+                if (!active()) {
+                    complete();
+                    return;
+                }
+                while (!receivedMessages.isEmpty()) {
+                    WebSocketReceivedMessageBuffer.Message message = receivedMessages.removeFirst();
+                    String payload = message.payload();
+                    boolean match = switch (readMode) {
+                        case SINGLE_MESSAGE -> true;
+                        default -> matchesMessage(stepCfg, payload);
+                    };
+                    if (!match) {
+                        continue;
                     }
-                    switch (stepElement.getType()) {
-                        case WS_CONNECT -> {
-                            WebSocketPerformanceData stepCfg = WebSocketScenarioStepSupport.webSocketData(stepElement, baseRequestCfg);
-                            lastStepCfgRef.set(stepCfg);
-                            sessionManager.closeCurrent("WebSocket reconnect step");
-                            if (!failed.get() && !interrupted.get()) {
-                                sessionManager.open(stepCfg);
-                            }
-                            implicitConnectAllowed = false;
-                        }
-                        case WS_SEND -> {
-                            WebSocketPerformanceData stepCfg = WebSocketScenarioStepSupport.webSocketData(stepElement, baseRequestCfg);
-                            lastStepCfgRef.set(stepCfg);
-                            if (stepCfg.sendMode == WebSocketPerformanceData.SendMode.NONE
-                                    || !WebSocketScenarioStepSupport.hasSendPayload(req, requestBodyTemplate, stepCfg)) {
-                                break;
-                            }
-                            WebSocketScenarioSession session = sessionManager.currentOpenSession();
-                            if (session == null) {
-                                if (implicitConnectAllowed) {
-                                    session = sessionManager.open(baseRequestCfg);
-                                    implicitConnectAllowed = false;
-                                } else {
-                                    failed.set(true);
-                                    errorRef.set("WebSocket connection is not open");
-                                    break;
-                                }
-                            }
-                            if (session == null || failed.get() || interrupted.get()) {
-                                break;
-                            }
-                            RealtimeWebSocketConnection webSocket = session.webSocket;
-                            int sendTimes = stepCfg.sendMode == WebSocketPerformanceData.SendMode.REQUEST_BODY_REPEAT
-                                    ? Math.max(1, stepCfg.sendCount)
-                                    : 1;
-                            int intervalMs = Math.max(0, stepCfg.sendIntervalMs);
-                            for (int sendIndex = 0; sendIndex < sendTimes && runningSupplier.getAsBoolean() && !failed.get() && !interrupted.get(); sendIndex++) {
-                                if (session.remoteClosed.get()) {
-                                    failed.set(true);
-                                    errorRef.set(webSocketClosedBeforeSendCompletedMessage(
-                                            sentMessageCount.get(),
-                                            sendTimes,
-                                            session.closeCode.get(),
-                                            session.closeReason.get()
-                                    ));
-                                    break;
-                                }
-                                var sendScriptResult = WebSocketScenarioStepSupport.executeSendPreScript(
-                                        scriptRuntime,
-                                        stepCfg,
-                                        sendIndex,
-                                        sendTimes,
-                                        stepElement.getName()
-                                );
-                                if (!sendScriptResult.isSuccess()) {
-                                    failed.set(true);
-                                    errorRef.set("WebSocket send pre-script failed: " + sendScriptResult.getErrorMessage());
-                                    break;
-                                }
-                                String payload = WebSocketScenarioStepSupport.resolveSendPayload(req, requestBodyTemplate, stepCfg);
-                                boolean sent = webSocket.send(payload == null ? "" : payload);
-                                if (sent) {
-                                    sentMessageCount.incrementAndGet();
-                                    realtimeMetrics.recordWebSocketSent(session.metricsKey);
-                                } else {
-                                    failed.set(true);
-                                    errorRef.set(session.remoteClosed.get()
-                                            ? webSocketClosedBeforeSendCompletedMessage(
-                                            sentMessageCount.get(),
-                                            sendTimes,
-                                            session.closeCode.get(),
-                                            session.closeReason.get()
-                                    )
-                                            : "WebSocket send failed");
-                                    break;
-                                }
-                                if (sendIndex < sendTimes - 1 && intervalMs > 0) {
-                                    TimeUnit.MILLISECONDS.sleep(intervalMs);
-                                }
-                            }
-                        }
-                        case WS_READ -> {
-                            WebSocketPerformanceData stepCfg = WebSocketScenarioStepSupport.webSocketData(stepElement, baseRequestCfg);
-                            lastStepCfgRef.set(stepCfg);
-                            WebSocketScenarioSession session = sessionManager.currentOpenSession();
-                            if (session == null) {
-                                if (implicitConnectAllowed) {
-                                    session = sessionManager.open(baseRequestCfg);
-                                    implicitConnectAllowed = false;
-                                } else {
-                                    failed.set(true);
-                                    errorRef.set("WebSocket connection is not open");
-                                    break;
-                                }
-                            }
-                            if (session == null || failed.get() || interrupted.get()) {
-                                break;
-                            }
-                            WebSocketPerformanceData.CompletionMode readMode = stepCfg.completionMode == null
-                                    ? WebSocketPerformanceData.CompletionMode.SINGLE_MESSAGE
-                                    : stepCfg.completionMode;
-                            long readStartTime = System.currentTimeMillis();
-                            long firstMatchTime = -1;
-                            int stepMatchedCount = 0;
-                            List<PerformanceAssertionElement> stepAssertions =
-                                    stepElement instanceof PerformanceProtocolStageElement stage
-                                            ? PerformanceAssertionRunner.collectDirectAssertionElements(stage.getElements())
-                                            : List.of();
-                            List<PerformanceExtractorElement> stepExtractors =
-                                    stepElement instanceof PerformanceProtocolStageElement stage
-                                            ? PerformanceExtractorRunner.collectDirectExtractorElements(stage.getElements())
-                                            : List.of();
-                            boolean stepRequiresResponseBody =
-                                    PerformanceAssertionRunner.requiresResponseBodyElements(stepAssertions)
-                                            || PerformanceExtractorRunner.requiresResponseBodyElements(stepExtractors);
-                            String stepAssertionPayload = "";
-                            boolean completed = false;
-                            while (runningSupplier.getAsBoolean() && !failed.get() && !interrupted.get() && !completed) {
-                                synchronized (messageLock) {
-                                    while (!receivedMessages.isEmpty()) {
-                                        WebSocketReceivedMessageBuffer.Message message = receivedMessages.removeFirst();
-                                        String payload = message.payload();
-                                        boolean match = switch (readMode) {
-                                            case SINGLE_MESSAGE -> true;
-                                            default -> matchesMessage(stepCfg, payload);
-                                        };
-                                        if (!match) {
-                                            continue;
-                                        }
-                                        if (firstMatchTime < 0) {
-                                            firstMatchTime = message.receivedAtMs();
-                                            firstMessageLatencyMs.compareAndSet(
-                                                    -1,
-                                                    Math.max(0, firstMatchTime - requestStartTime)
-                                            );
-                                        }
-                                        stepMatchedCount++;
-                                        matchedMessageCount.incrementAndGet();
-                                        realtimeMetrics.recordWebSocketMatched(session.metricsKey);
-                                        if (stepRequiresResponseBody) {
-                                            stepAssertionPayload = payload;
-                                        }
-                                        if (readMode == WebSocketPerformanceData.CompletionMode.SINGLE_MESSAGE
-                                                || readMode == WebSocketPerformanceData.CompletionMode.UNTIL_MATCH) {
-                                            completed = true;
-                                            break;
-                                        }
-                                        if (readMode == WebSocketPerformanceData.CompletionMode.MESSAGE_COUNT
-                                                && stepMatchedCount >= Math.max(1, stepCfg.targetMessageCount)) {
-                                            completed = true;
-                                            break;
-                                        }
-                                    }
-                                    if (completed) {
-                                        break;
-                                    }
-                                    if (session.remoteClosed.get()) {
-                                        failed.set(true);
-                                        errorRef.set(I18nUtil.getMessage(
-                                                MessageKeys.PERFORMANCE_MSG_WS_CONNECTION_CLOSED_BEFORE_READ_COMPLETED));
-                                        break;
-                                    }
-                                    long now = System.currentTimeMillis();
-                                    long deadline = switch (readMode) {
-                                        case SINGLE_MESSAGE, UNTIL_MATCH ->
-                                                readStartTime + Math.max(100, stepCfg.firstMessageTimeoutMs);
-                                        case FIXED_DURATION -> readStartTime + Math.max(100, stepCfg.holdConnectionMs);
-                                        case MESSAGE_COUNT -> readStartTime + Math.max(100, stepCfg.firstMessageTimeoutMs);
-                                    };
-                                    if (readMode == WebSocketPerformanceData.CompletionMode.FIXED_DURATION) {
-                                        if (now >= deadline) {
-                                            completed = true;
-                                            break;
-                                        }
-                                    } else if (now >= deadline) {
-                                        failed.set(true);
-                                        errorRef.set(readMode == WebSocketPerformanceData.CompletionMode.MESSAGE_COUNT
-                                                ? I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_WS_TARGET_MESSAGE_COUNT_TIMEOUT)
-                                                : I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_WS_READ_TIMEOUT));
-                                        break;
-                                    }
-                                    long waitMs = Math.min(
-                                            READ_IDLE_CHECK_INTERVAL_MS,
-                                            Math.max(1, deadline - now)
-                                    );
-                                    messageLock.wait(waitMs);
-                                }
-                            }
-                            HttpResponse stepResp = new HttpResponse();
-                            stepResp.code = resp.code;
-                            stepResp.protocol = resp.protocol;
-                            stepResp.headers = resp.headers;
-                            if (stepRequiresResponseBody) {
-                                BoundedTextAccumulator stepBody = new BoundedTextAccumulator(responseBodyPreviewLimitBytes);
-                                stepBody.append(stepAssertionPayload);
-                                stepResp.body = stepBody.value();
-                                stepResp.bodySize = stepBody.totalUtf8Bytes();
-                            } else {
-                                stepResp.body = "";
-                                stepResp.bodySize = 0;
-                            }
-                            PerformanceExtractorRunner.runExtractorElements(stepExtractors, stepResp);
-                            PerformanceAssertionRunner.runAssertionElements(
-                                    stepAssertions,
-                                    stepResp,
-                                    stepTestResults,
-                                    errorRef
-                            );
-                        }
-                        case WS_CLOSE -> {
-                            if (scenarioSteps.peek() == null) {
-                                scenarioCompleted.set(true);
-                                markSampleEnd(sampleEndTimeMs, sampleElapsedMs, sampleStopwatch);
-                            }
-                            sessionManager.closeCurrent("WebSocket close step");
-                            implicitConnectAllowed = false;
-                        }
-                        case TIMER -> {
-                            if (stepElement instanceof PerformanceTimerElement timerElement) {
-                                TimerData timerData = timerElement.getTimerData();
-                                if (timerData != null) {
-                                    TimeUnit.MILLISECONDS.sleep(timerData.delayMs);
-                                }
-                            }
-                        }
-                        default -> {
-                        }
+                    if (firstMatchTime < 0) {
+                        firstMatchTime = message.receivedAtMs();
+                        firstMessageLatencyMs.compareAndSet(
+                                -1,
+                                Math.max(0, firstMatchTime - requestStartTime)
+                        );
+                    }
+                    stepMatchedCount++;
+                    matchedMessageCount.incrementAndGet();
+                    realtimeMetrics.recordWebSocketMatched(session.metricsKey);
+                    if (stepRequiresResponseBody) {
+                        stepAssertionPayload = payload;
+                    }
+                    if (readMode == WebSocketPerformanceData.CompletionMode.SINGLE_MESSAGE
+                            || readMode == WebSocketPerformanceData.CompletionMode.UNTIL_MATCH
+                            || (readMode == WebSocketPerformanceData.CompletionMode.MESSAGE_COUNT
+                            && stepMatchedCount >= Math.max(1, stepCfg.targetMessageCount))) {
+                        complete();
+                        return;
+                    }
+                }
+                if (session.remoteClosed.get()) {
+                    failed.set(true);
+                    errorRef.set(I18nUtil.getMessage(
+                            MessageKeys.PERFORMANCE_MSG_WS_CONNECTION_CLOSED_BEFORE_READ_COMPLETED));
+                    complete();
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                if (now >= deadline) {
+                    if (readMode != WebSocketPerformanceData.CompletionMode.FIXED_DURATION) {
+                        failed.set(true);
+                        errorRef.set(readMode == WebSocketPerformanceData.CompletionMode.MESSAGE_COUNT
+                                ? I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_WS_TARGET_MESSAGE_COUNT_TIMEOUT)
+                                : I18nUtil.getMessage(MessageKeys.PERFORMANCE_MSG_WS_READ_TIMEOUT));
                     }
+                    complete();
+                    return;
+                }
+                if (waitToken == null) {
+                    resumeAfter(deadline - now, this::drain);
                 }
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            interrupted.set(true);
-            setInterruptedErrorIfBlank(errorRef);
-        } finally {
-            if (!scenarioCompleted.get() && !runningSupplier.getAsBoolean() && !failed.get() && interrupted.compareAndSet(false, true)) {
-                setInterruptedErrorIfBlank(errorRef);
+
+            private void complete() {
+                done = true;
+                if (reading == this) {
+                    reading = null;
+                }
+                cancelWait();
+                HttpResponse stepResp = new HttpResponse();
+                stepResp.code = resp.code;
+                stepResp.protocol = resp.protocol;
+                stepResp.headers = resp.headers;
+                if (stepRequiresResponseBody) {
+                    BoundedTextAccumulator stepBody = new BoundedTextAccumulator(responseBodyPreviewLimitBytes);
+                    stepBody.append(stepAssertionPayload);
+                    stepResp.body = stepBody.value();
+                    stepResp.bodySize = stepBody.totalUtf8Bytes();
+                } else {
+                    stepResp.body = "";
+                    stepResp.bodySize = 0;
+                }
+                PerformanceExtractorRunner.runExtractorElements(stepExtractors, stepResp);
+                PerformanceAssertionRunner.runAssertionElements(
+                        stepAssertions,
+                        stepResp,
+                        stepTestResults,
+                        errorRef
+                );
+                continueScenario();
+            }
+        }
+
+        /**
+         * OkHttp 回调：只更新计数和指标，状态转换投递到邮箱，不阻塞 OkHttp 的读线程
+         */
+        private final class ScenarioWebSocketListener extends WebSocketListener {
+            private final WebSocketScenarioSession session;
+
+            ScenarioWebSocketListener(WebSocketScenarioSession session) {
+                this.session = session;
             }
-            markSampleEnd(sampleEndTimeMs, sampleElapsedMs, sampleStopwatch);
-            sessionManager.closeAll("Performance sample complete");
-        }
-
-        long elapsedMs = sampleElapsedMs.get() >= 0 ? sampleElapsedMs.get() : sampleStopwatch.elapsedMs();
-        long endTime = requestStartTime + elapsedMs;
-        resp.endTime = endTime;
-        resp.costMs = elapsedMs;
-        if (retainResponseBody) {
-            resp.body = latestResponseBodyRef.get();
-        } else {
-            resp.body = "";
-        }
-        resp.bodySize = responseBodySizeCounter == null ? 0 : responseBodySizeCounter.totalUtf8Bytes();
-        if (resp.headers == null) {
-            resp.headers = new LinkedHashMap<>();
-        }
-
-        WebSocketPerformanceData headerCfg = lastStepCfgRef.get() != null ? lastStepCfgRef.get() : baseRequestCfg;
-        WebSocketScenarioResponseBuilder.addSummaryHeaders(
-                resp,
-                headerCfg,
-                receivedMessageCount.get(),
-                sentMessageCount.get(),
-                matchedMessageCount.get(),
-                firstMessageLatencyMs.get(),
-                lastMessageRef.get(),
-                errorRef.get()
-        );
 
-        return new Result(resp, errorRef.get(), failed.get(), interrupted.get(), stepTestResults);
+            @Override
+            public void onOpen(WebSocket webSocket, Response response) {
+                resp.headers = new LinkedHashMap<>();
+                for (String name : response.headers().names()) {
+                    resp.addHeader(name, response.headers(name));
+                }
+                resp.code = response.code();
+                resp.protocol = response.protocol().toString();
+                recordStart(session);
+                post(() -> connectSettled(session));
+            }
+
+            @Override
+            public void onMessage(WebSocket webSocket, String text) {
+                appendMessage(text);
+            }
+
+            @Override
+            public void onMessage(WebSocket webSocket, ByteString bytes) {
+                appendMessage(toHexPreview(bytes));
+            }
+
+            private void appendMessage(String payload) {
+                String value = payload == null ? "" : payload;
+                lastMessageRef.set(headerPreview(value));
+                if (retainResponseBody) {
+                    latestResponseBodyRef.set(
+                            WebSocketReceivedMessageBuffer.retainUtf8Prefix(value, responseBodyPreviewLimitBytes)
+                    );
+                }
+                if (responseBodySizeCounter != null) {
+                    responseBodySizeCounter.append(value);
+                }
+                receivedMessageCount.incrementAndGet();
+                long receivedAtMs = System.currentTimeMillis();
+                realtimeMetrics.recordWebSocketReceived(session.metricsKey);
+                if (firstReceivedMessageRecorded.compareAndSet(false, true)) {
+                    long latencyMs = sampleStopwatch.elapsedMs();
+                    firstMessageLatencyMs.compareAndSet(-1, latencyMs);
+                    realtimeMetrics.recordWebSocketFirstMessageLatency(session.metricsKey, latencyMs);
+                }
+                post(() -> messageReceived(value, receivedAtMs));
+            }
+
+            @Override
+            public void onClosed(WebSocket webSocket, int code, String reason) {
+                session.closeCode.compareAndSet(-1, code);
+                session.closeReason.compareAndSet("", CharSequenceUtil.blankToDefault(reason, ""));
+                session.remoteClosed.set(true);
+                post(() -> sessionChanged(session));
+            }
+
+            @Override
+            public void onClosing(WebSocket webSocket, int code, String reason) {
+                session.closeCode.compareAndSet(-1, code);
+                session.closeReason.compareAndSet("", CharSequenceUtil.blankToDefault(reason, ""));
+                if (!session.closingSocket.get()) {
+                    session.remoteClosed.set(true);
+                }
+                post(() -> {
+                    if (reading != null && reading.session == session) {
+                        reading.drain();
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(WebSocket webSocket, Throwable throwable, Response response) {
+                if (response != null) {
+                    if (resp.headers == null) {
+                        resp.headers = new LinkedHashMap<>();
+                    }
+                    for (String name : response.headers().names()) {
+                        resp.addHeader(name, response.headers(name));
+                    }
+                    resp.code = response.code();
+                    resp.protocol = response.protocol().toString();
+                }
+                String message = throwable != null ? throwable.getMessage() : "";
+                String failureMessage = describeWebSocketFailureMessage(message);
+                session.closeReason.compareAndSet("", failureMessage);
+                if (!session.closingSocket.get()) {
+                    if (!runningSupplier.getAsBoolean() || cancelledChecker.test(throwable)) {
+                        interrupted.set(true);
+                        setInterruptedErrorIfBlank(errorRef);
+                    } else {
+                        failed.set(true);
+                        errorRef.set(failureMessage);
+                    }
+                }
+                session.remoteClosed.set(true);
+                post(() -> sessionChanged(session));
+            }
+        }
     }
 
     private static String webSocketClosedBeforeSendCompletedMessage(int sentMessages,
@@ -722,13 +1120,6 @@ public class WebSocketScenarioExecutor {
         return CharSequenceUtil.isBlank(filter) || CharSequenceUtil.contains(payload, filter.trim());
     }
 
-    private void waitForSendQueueToDrain(RealtimeWebSocketConnection webSocket) throws InterruptedException {
-        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
-        while (webSocket.queueSize() > 0 && System.nanoTime() < deadline && runningSupplier.getAsBoolean()) {
-            TimeUnit.MILLISECONDS.sleep(10);
-        }
-    }
-
     private String headerPreview(String value) {
         if (value == null || value.length() <= 1024) {
             return value == null ? "" : value;
@@ -18,35 +18,78 @@ import java.util.function.BooleanSupplier;
 final class WebSocketScenarioPlanStepCursor {
     private final BooleanSupplier runningSupplier;
     private final Deque<Frame> frames = new ArrayDeque<>();
-    private PerformancePlanElement bufferedNext;
+    private Step bufferedStep;
 
     WebSocketScenarioPlanStepCursor(PerformanceRequestSampler requestSampler, BooleanSupplier runningSupplier) {
         this.runningSupplier = runningSupplier;
         frames.push(new Frame(requestSampler == null ? List.of() : requestSampler.getChildren(), 1));
     }
 
+    /**
+     * 取下一个步骤，While 循环间隔在当前线程上等待
+     */
     PerformancePlanElement next() {
-        if (bufferedNext != null) {
-            PerformancePlanElement next = bufferedNext;
-            bufferedNext = null;
-            return next;
+        while (true) {
+            Step step = nextStep();
+            if (!step.isDelay()) {
+                return step.element();
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(step.delayMs());
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+                abandonDelay();
+            }
         }
-        return readNext();
     }
 
     PerformancePlanElement peek() {
-        if (bufferedNext == null) {
-            bufferedNext = readNext();
+        PerformancePlanElement next = next();
+        bufferedStep = next == null ? Step.END : Step.element(next);
+        return next;
+    }
+
+    /**
+     * 非阻塞地取下一个步骤：遇到 While 循环间隔时返回等待时长，调用方等待后再次调用即可继续
+     */
+    Step nextStep() {
+        if (bufferedStep != null) {
+            Step step = bufferedStep;
+            bufferedStep = null;
+            return step;
+        }
+        return readNextStep();
+    }
+
+    /**
+     * 后面是否还有步骤；只向前看一步，不会等待 While 间隔，等待中的循环视为还有步骤
+     */
+    boolean hasMoreSteps() {
+        if (bufferedStep == null) {
+            bufferedStep = readNextStep();
         }
-        return bufferedNext;
+        return !bufferedStep.isEnd();
     }
 
-    private PerformancePlanElement readNext() {
+    private Step readNextStep() {
         while (runningSupplier.getAsBoolean() && !frames.isEmpty()) {
             Frame frame = frames.peek();
+            if (frame.awaitingInterval) {
+                frame.awaitingInterval = false;
+                if (frame.deadlineReached() || !frame.evaluateWhile()) {
+                    frames.pop();
+                } else {
+                    frame.index = 0;
+                }
+                continue;
+            }
             if (frame.index >= frame.elements.size()) {
-                if (!frame.completeCurrentIteration(runningSupplier)) {
+                long delayMs = frame.completeCurrentIteration(runningSupplier);
+                if (delayMs < 0) {
                     frames.pop();
+                } else if (delayMs > 0) {
+                    frame.awaitingInterval = true;
+                    return Step.delay(delayMs);
                 }
                 continue;
             }
@@ -71,13 +114,23 @@ final class WebSocketScenarioPlanStepCursor {
                 }
                 continue;
             }
-            return element;
+            return Step.element(element);
+        }
+        return Step.END;
+    }
+
+    /**
+     * 等待 While 间隔被打断时结束该循环，继续执行循环之后的步骤
+     */
+    private void abandonDelay() {
+        Frame frame = frames.peek();
+        if (frame != null && frame.awaitingInterval) {
+            frames.pop();
         }
-        return null;
     }
 
     void stop() {
-        bufferedNext = null;
+        bufferedStep = null;
         frames.clear();
     }
 
@@ -115,6 +168,7 @@ final class WebSocketScenarioPlanStepCursor {
         private final long deadlineMs;
         private int index;
         private int completedIterations;
+        private boolean awaitingInterval;
 
         private Frame(List<PerformancePlanElement> elements, int iterations) {
             this(elements, iterations, null, null, Long.MAX_VALUE);
@@ -157,14 +211,17 @@ final class WebSocketScenarioPlanStepCursor {
                     && evaluateWhile());
         }
 
-        private boolean completeCurrentIteration(BooleanSupplier runningSupplier) {
+        /**
+         * @return 小于 0 表示退出本层；0 表示立即开始下一轮；大于 0 表示等待该毫秒数后再判断是否继续
+         */
+        private long completeCurrentIteration(BooleanSupplier runningSupplier) {
             if (whileController == null) {
                 completedIterations++;
                 if (completedIterations < iterations) {
                     index = 0;
-                    return true;
+                    return 0L;
                 }
-                return false;
+                return -1L;
             }
 
             completedIterations++;
@@ -172,16 +229,17 @@ final class WebSocketScenarioPlanStepCursor {
                     || !runningSupplier.getAsBoolean()
                     || deadlineReached()
                     || !evaluateWhile()) {
-                return false;
+                return -1L;
             }
-            if (!sleepInterval()) {
-                return false;
+            long delayMs = intervalDelayMs();
+            if (delayMs > 0) {
+                return delayMs;
             }
-            if (deadlineReached() || !evaluateWhile()) {
-                return false;
+            if (delayMs < 0 || deadlineReached() || !evaluateWhile()) {
+                return -1L;
             }
             index = 0;
-            return true;
+            return 0L;
         }
 
         private boolean deadlineReached() {
@@ -199,25 +257,42 @@ final class WebSocketScenarioPlanStepCursor {
             }
         }
 
-        private boolean sleepInterval() {
+        /**
+         * @return 本轮结束后需要等待的毫秒数；超过 While 超时时间时返回 -1
+         */
+        private long intervalDelayMs() {
             if (whileData == null || whileData.intervalMs <= 0) {
-                return true;
+                return 0L;
             }
             long delayMs = whileData.intervalMs;
             if (deadlineMs != Long.MAX_VALUE) {
                 long remainingMs = deadlineMs - System.currentTimeMillis();
                 if (remainingMs <= 0L) {
-                    return false;
+                    return -1L;
                 }
                 delayMs = Math.min(delayMs, remainingMs);
             }
-            try {
-                TimeUnit.MILLISECONDS.sleep(delayMs);
-                return true;
-            } catch (InterruptedException ignored) {
-                Thread.currentThread().interrupt();
-                return false;
-            }
+            return delayMs;
+        }
+    }
+
+    record Step(PerformancePlanElement element, long delayMs) {
+        static final Step END = new Step(null, 0L);
+
+        static Step element(PerformancePlanElement element) {
+            return new Step(element, 0L);
+        }
+
+        static Step delay(long delayMs) {
+            return new Step(null, delayMs);
+        }
+
+        boolean isDelay() {
+            return delayMs > 0;
+        }
+
+        boolean isEnd() {
+            return element == null && delayMs <= 0;
         }
     }
 }
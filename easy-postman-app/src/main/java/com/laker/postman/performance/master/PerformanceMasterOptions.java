@@ -16,6 +16,8 @@ public class PerformanceMasterOptions {
     List<PerformanceWorkerEndpoint> workers;
     long timeoutMs;
     long pollIntervalMs;
+    // 为每台 worker 只上传其虚拟用户区间对应的 CSV 行
+    boolean shardCsv;
 
     @Builder
     public PerformanceMasterOptions(Boolean help,
@@ -23,13 +25,15 @@ public class PerformanceMasterOptions {
                                     Path outPath,
                                     List<PerformanceWorkerEndpoint> workers,
                                     Long timeoutMs,
-                                    Long pollIntervalMs) {
+                                    Long pollIntervalMs,
+                                    Boolean shardCsv) {
         this.help = help != null && help;
         this.planPath = planPath;
         this.outPath = outPath;
         this.workers = workers == null ? List.of() : List.copyOf(workers);
         this.timeoutMs = Math.max(1_000L, timeoutMs == null ? 86_400_000L : timeoutMs);
         this.pollIntervalMs = Math.max(50L, pollIntervalMs == null ? 500L : pollIntervalMs);
+        this.shardCsv = shardCsv != null && shardCsv;
     }
 
     public static PerformanceMasterOptions parse(String[] args) {
@@ -39,6 +43,7 @@ public class PerformanceMasterOptions {
         List<PerformanceWorkerEndpoint> workers = List.of();
         long timeoutMs = 86_400_000L;
         long pollIntervalMs = 500L;
+        boolean shardCsv = false;
         String[] safeArgs = args == null ? new String[0] : args;
         for (int i = 3; i < safeArgs.length; i++) {
             String arg = safeArgs[i];
@@ -66,6 +71,10 @@ public class PerformanceMasterOptions {
                 pollIntervalMs = parsePositiveLong(requiredValue(safeArgs, ++i, "--poll-interval-ms"), "--poll-interval-ms");
                 continue;
             }
+            if ("--shard-csv".equals(arg)) {
+                shardCsv = true;
+                continue;
+            }
             throw new IllegalArgumentException("Unknown option: " + arg);
         }
         return PerformanceMasterOptions.builder()
@@ -75,6 +84,7 @@ public class PerformanceMasterOptions {
                 .workers(workers)
                 .timeoutMs(timeoutMs)
                 .pollIntervalMs(pollIntervalMs)
+                .shardCsv(shardCsv)
                 .build();
     }
 
@@ -71,7 +71,7 @@ public class PerformanceMasterRunCommand {
     }
 
     private static void printUsage(PrintStream out) {
-        out.println("Usage: performance master run --plan <plan.json> --workers host:port[,host:port] [--out <result.json>] [--timeout-sec <seconds>] [--poll-interval-ms <ms>]");
+        out.println("Usage: performance master run --plan <plan.json> --workers host:port[,host:port] [--out <result.json>] [--timeout-sec <seconds>] [--poll-interval-ms <ms>] [--shard-csv]");
     }
 
     private static String describe(Exception ex) {
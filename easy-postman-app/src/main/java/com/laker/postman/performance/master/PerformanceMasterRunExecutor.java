@@ -1,6 +1,9 @@
 package com.laker.postman.performance.master;
 
+import com.laker.postman.performance.core.model.PerformanceTrendSnapshot;
+import com.laker.postman.performance.core.model.PerformanceTrendTierStore;
 import com.laker.postman.performance.core.report.PerformanceJsonReport;
+import com.laker.postman.performance.core.report.PerformanceJsonReportMapper;
 import com.laker.postman.performance.core.report.PerformanceJsonReportMetadata;
 import com.laker.postman.performance.core.report.PerformanceJsonReportSummaryMapper;
 import com.laker.postman.performance.core.run.PerformanceRunPlan;
@@ -9,6 +12,7 @@ import com.laker.postman.performance.core.run.PerformanceRunStatus;
 import com.laker.postman.performance.core.worker.PerformanceWorkerAssignment;
 import com.laker.postman.performance.core.worker.PerformanceWorkerAssignmentPlanner;
 import com.laker.postman.performance.core.worker.PerformanceWorkerEndpoint;
+import com.laker.postman.performance.core.worker.PerformanceWorkerCapacity;
 import com.laker.postman.performance.core.worker.PerformanceWorkerHealthResponse;
 import com.laker.postman.performance.core.worker.PerformanceWorkerProtocol;
 import com.laker.postman.performance.core.worker.PerformanceWorkerRunRequest;
@@ -16,6 +20,7 @@ import com.laker.postman.performance.core.worker.PerformanceWorkerRunStatusRespo
 import com.laker.postman.performance.master.PerformanceWorkerReportCollector.PerformanceWorkerReportResult;
 
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +29,7 @@ public class PerformanceMasterRunExecutor {
     private final PerformanceWorkerAssignmentPlanner assignmentPlanner;
     private final PerformanceWorkerHttpClient workerClient;
     private final PerformanceWorkerReportCollector reportCollector;
+    private final PerformanceWorkerAssetShipper assetShipper;
 
     public PerformanceMasterRunExecutor() {
         this(new PerformanceWorkerAssignmentPlanner(), new PerformanceWorkerHttpClient());
@@ -34,6 +40,7 @@ public class PerformanceMasterRunExecutor {
         this.assignmentPlanner = assignmentPlanner == null ? new PerformanceWorkerAssignmentPlanner() : assignmentPlanner;
         this.workerClient = workerClient == null ? new PerformanceWorkerHttpClient() : workerClient;
         this.reportCollector = new PerformanceWorkerReportCollector(this.workerClient);
+        this.assetShipper = new PerformanceWorkerAssetShipper(this.workerClient);
     }
 
     public PerformanceJsonReport execute(PerformanceMasterOptions options) throws Exception {
@@ -47,28 +54,35 @@ public class PerformanceMasterRunExecutor {
             throw new IllegalArgumentException("--workers is required");
         }
 
-        PerformanceRunPlan runPlan = new PerformanceRunPlanJsonStorage().load(options.getPlanPath());
+        PerformanceRunPlan runPlan = assetShipper.prepare(new PerformanceRunPlanJsonStorage().load(options.getPlanPath()));
         String runId = "run-" + System.currentTimeMillis();
         long deadline = System.currentTimeMillis() + options.getTimeoutMs();
-        validateWorkerProtocols(options.getWorkers(), deadline);
-        List<PerformanceWorkerAssignment> assignments = assignmentPlanner.plan(runPlan, options.getWorkers(), runId);
+        List<PerformanceWorkerCapacity> capacities = validateWorkerProtocols(options.getWorkers(), deadline);
+        List<PerformanceWorkerAssignment> assignments = assignmentPlanner.plan(
+                runPlan, options.getWorkers(), capacities, runId);
         List<PerformanceWorkerEndpoint> submittedWorkers = new ArrayList<>();
+        PerformanceTrendTierStore trendTierStore = new PerformanceTrendTierStore();
+        Path shardDirectory = options.isShardCsv() ? Files.createTempDirectory("easy-postman-csv-shards") : null;
         try {
+            if (shardDirectory != null) {
+                assignments = assetShipper.shardCsv(runPlan, assignments, shardDirectory);
+            }
             for (int i = 0; i < options.getWorkers().size(); i++) {
                 PerformanceWorkerEndpoint endpoint = options.getWorkers().get(i);
-                PerformanceWorkerAssignment assignment = assignments.get(i);
-                workerClient.submitRun(endpoint, PerformanceWorkerRunRequest.builder()
-                        .runId(runId)
-                        .plan(runPlan)
-                        .assignment(assignment)
-                        .build(), timeoutUntil(deadline));
+                PerformanceWorkerRunRequest request = assetShipper.ship(
+                        endpoint, runId, runPlan, assignments.get(i), timeoutUntil(deadline));
+                workerClient.submitRun(endpoint, request, timeoutUntil(deadline));
                 submittedWorkers.add(endpoint);
             }
+            // 分片已上传到各 worker，压测期间不再需要本地副本。
+            PerformanceWorkerAssetShipper.deleteShardDirectory(shardDirectory);
 
-            waitForWorkers(options, runId, deadline);
+            waitForWorkers(options, runId, deadline, trendTierStore);
         } catch (Exception ex) {
             stopSubmittedWorkers(submittedWorkers, runId, ex);
             throw ex;
+        } finally {
+            PerformanceWorkerAssetShipper.deleteShardDirectory(shardDirectory);
         }
 
         List<PerformanceJsonReport> reports = new ArrayList<>();
@@ -90,19 +104,43 @@ public class PerformanceMasterRunExecutor {
                 status,
                 options.getPlanPath().toString(),
                 reports
-        );
+        ).withTrendTiers(PerformanceJsonReportMapper.toTrendTiers(trendTierStore));
     }
 
-    private void waitForWorkers(PerformanceMasterOptions options, String runId, long deadline) throws Exception {
+    /**
+     * 轮询 worker 直到全部结束；每轮顺带排空各 worker 的趋势窗口，合并后写入 master 的分层趋势。
+     * worker 运行时不自行采样分层趋势，master 不取趋势窗口时这段历史就会丢失。
+     */
+    private void waitForWorkers(PerformanceMasterOptions options,
+                                String runId,
+                                long deadline,
+                                PerformanceTrendTierStore trendTierStore) throws Exception {
         boolean allDone;
         do {
             allDone = true;
+            int activeUsers = 0;
+            int activeWebSocketConnections = 0;
+            int activeSseStreams = 0;
+            List<PerformanceTrendSnapshot> trendSnapshots = new ArrayList<>();
             for (PerformanceWorkerEndpoint endpoint : options.getWorkers()) {
-                PerformanceWorkerRunStatusResponse status = workerClient.status(endpoint, runId, false, timeoutUntil(deadline));
+                PerformanceWorkerRunStatusResponse status = workerClient.status(
+                        endpoint, runId, false, true, timeoutUntil(deadline));
                 if (!isTerminal(status.getStatus())) {
                     allDone = false;
                 }
+                activeUsers += Math.max(0, status.getActiveUsers());
+                activeWebSocketConnections += Math.max(0, status.getActiveWebSocketConnections());
+                activeSseStreams += Math.max(0, status.getActiveSseStreams());
+                if (status.getTrendSnapshot() != null) {
+                    trendSnapshots.add(status.getTrendSnapshot());
+                }
             }
+            trendTierStore.record(System.currentTimeMillis(), PerformanceTrendSnapshot.merge(
+                    activeUsers,
+                    activeWebSocketConnections,
+                    activeSseStreams,
+                    trendSnapshots
+            ));
             if (allDone) {
                 return;
             }
@@ -117,7 +155,12 @@ public class PerformanceMasterRunExecutor {
         return PerformanceRunStatus.isTerminal(status);
     }
 
-    private void validateWorkerProtocols(List<PerformanceWorkerEndpoint> workers, long deadline) throws Exception {
+    /**
+     * @return 各 worker 健康检查上报的容量，顺序与 workers 一致，未上报时为 null
+     */
+    private List<PerformanceWorkerCapacity> validateWorkerProtocols(List<PerformanceWorkerEndpoint> workers,
+                                                                    long deadline) throws Exception {
+        List<PerformanceWorkerCapacity> capacities = new ArrayList<>();
         for (PerformanceWorkerEndpoint worker : workers) {
             PerformanceWorkerHealthResponse health = workerClient.health(worker, timeoutUntil(deadline));
             if (health == null || !health.usesCurrentProtocol()) {
@@ -128,7 +171,9 @@ public class PerformanceMasterRunExecutor {
                         + " protocol mismatch: expected " + PerformanceWorkerProtocol.CURRENT_VERSION
                         + ", actual " + actualVersion);
             }
+            capacities.add(health.getCapacity());
         }
+        return capacities;
     }
 
     private PerformanceJsonReport workerErrorReport(PerformanceWorkerEndpoint endpoint,
@@ -0,0 +1,267 @@
+package com.laker.postman.performance.master;
+
+import com.laker.postman.performance.core.config.CsvDataSetData;
+import com.laker.postman.performance.core.plan.PerformanceCorePlanDocumentCompiler;
+import com.laker.postman.performance.core.plan.PerformanceTestPlan;
+import com.laker.postman.performance.core.run.PerformanceRunAsset;
+import com.laker.postman.performance.core.run.PerformanceRunAssetDigest;
+import com.laker.postman.performance.core.run.PerformanceRunCsvShardWriter;
+import com.laker.postman.performance.core.run.PerformanceRunPlan;
+import com.laker.postman.performance.core.worker.PerformanceWorkerAssetStatusResponse;
+import com.laker.postman.performance.core.worker.PerformanceWorkerAssignment;
+import com.laker.postman.performance.core.worker.PerformanceWorkerEndpoint;
+import com.laker.postman.performance.core.worker.PerformanceWorkerRunRequest;
+import com.laker.postman.performance.core.worker.PerformanceWorkerThreadGroupAssignment;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * master 向 worker 分发运行资产。
+ * <p>
+ * 本机存在的 file-source CSV 与 multipart 文件按 sha256 寻址：提交运行前先查询 worker 缓存，
+ * 已缓存的直接跳过，未收完的从 worker 报告的已接收字节数续传。开启 CSV 分片时，
+ * 每台 worker 只收到自己虚拟用户区间对应的行，不再传输完整文件。
+ * 本机找不到的资产不计算哈希，worker 仍按原路径读取。
+ * </p>
+ */
+public class PerformanceWorkerAssetShipper {
+    static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int MAX_STALLED_UPLOADS = 3;
+
+    private final PerformanceWorkerHttpClient workerClient;
+    private final int chunkSize;
+
+    public PerformanceWorkerAssetShipper(PerformanceWorkerHttpClient workerClient) {
+        this(workerClient, DEFAULT_CHUNK_SIZE);
+    }
+
+    PerformanceWorkerAssetShipper(PerformanceWorkerHttpClient workerClient, int chunkSize) {
+        this.workerClient = workerClient == null ? new PerformanceWorkerHttpClient() : workerClient;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * 为本机存在的资产计算 sha256 和大小
+     */
+    public PerformanceRunPlan prepare(PerformanceRunPlan plan) throws IOException {
+        if (plan == null || plan.getAssets().isEmpty()) {
+            return plan;
+        }
+        List<PerformanceRunAsset> assets = new ArrayList<>();
+        for (PerformanceRunAsset asset : plan.getAssets()) {
+            Path file = Path.of(asset.getPath());
+            if (asset.isContentAddressed() || !Files.isRegularFile(file)) {
+                assets.add(asset);
+            } else {
+                assets.add(asset.withContent(PerformanceRunAssetDigest.sha256(file), Files.size(file)));
+            }
+        }
+        return plan.withAssets(assets);
+    }
+
+    /**
+     * 本机找不到、需要用户提前放到 worker 同一路径的资产数量
+     */
+    public static int localOnlyAssetCount(PerformanceRunPlan plan) {
+        if (plan == null) {
+            return 0;
+        }
+        return (int) plan.getAssets().stream().filter(asset -> !asset.isContentAddressed()).count();
+    }
+
+    /**
+     * 按每台 worker 分到的虚拟用户区间切出 file-source CSV 分片，并挂到对应线程组分配上。
+     * 虚拟用户数不少于 CSV 数据行数的线程组没有可省的数据，保持读取完整文件。
+     */
+    public List<PerformanceWorkerAssignment> shardCsv(PerformanceRunPlan plan,
+                                                      List<PerformanceWorkerAssignment> assignments,
+                                                      Path shardDirectory) throws IOException {
+        PerformanceTestPlan testPlan = PerformanceCorePlanDocumentCompiler.compile(plan == null ? null : plan.getTestPlan());
+        List<PerformanceWorkerAssignment> result = new ArrayList<>();
+        for (int workerIndex = 0; workerIndex < assignments.size(); workerIndex++) {
+            PerformanceWorkerAssignment assignment = assignments.get(workerIndex);
+            List<PerformanceWorkerThreadGroupAssignment> threadGroups = new ArrayList<>();
+            for (PerformanceWorkerThreadGroupAssignment threadGroup : assignment.getThreadGroups()) {
+                CsvDataSetData csv = csvDataSet(testPlan, threadGroup.getThreadGroupIndex());
+                PerformanceRunAsset shard = csv == null ? null : writeShard(
+                        csv,
+                        threadGroup,
+                        shardDirectory.resolve("worker-" + (workerIndex + 1)
+                                + "-group-" + threadGroup.getThreadGroupIndex() + ".csv")
+                );
+                threadGroups.add(shard == null ? threadGroup : threadGroup.withCsvShard(shard));
+            }
+            result.add(PerformanceWorkerAssignment.builder()
+                    .schemaVersion(assignment.getSchemaVersion())
+                    .runId(assignment.getRunId())
+                    .workerId(assignment.getWorkerId())
+                    .assignmentId(assignment.getAssignmentId())
+                    .endpoint(assignment.getEndpoint())
+                    .threadGroups(threadGroups)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 上传本 worker 需要的资产，返回可直接提交的运行请求。
+     * 只有本 worker 分到、且没有分片的线程组才需要完整 CSV，其余 CSV 资产不再传输。
+     */
+    public PerformanceWorkerRunRequest ship(PerformanceWorkerEndpoint endpoint,
+                                            String runId,
+                                            PerformanceRunPlan plan,
+                                            PerformanceWorkerAssignment assignment,
+                                            Duration timeout) throws IOException, InterruptedException {
+        Set<String> requiredCsvPaths = requiredCsvPaths(plan, assignment);
+        Set<String> uploaded = new HashSet<>();
+        List<PerformanceRunAsset> assets = new ArrayList<>();
+        for (PerformanceRunAsset asset : plan.getAssets()) {
+            if (!asset.isContentAddressed()) {
+                assets.add(asset);
+            } else if (PerformanceRunAsset.TYPE_CSV.equals(asset.getType()) && !requiredCsvPaths.contains(asset.getPath())) {
+                assets.add(asset.withContent(null, -1L));
+            } else {
+                upload(endpoint, asset, uploaded, timeout);
+                assets.add(asset);
+            }
+        }
+        for (PerformanceWorkerThreadGroupAssignment threadGroup : assignment.getThreadGroups()) {
+            if (threadGroup.getCsvShard() != null && threadGroup.getCsvShard().isContentAddressed()) {
+                upload(endpoint, threadGroup.getCsvShard(), uploaded, timeout);
+            }
+        }
+        return PerformanceWorkerRunRequest.builder()
+                .runId(runId)
+                .plan(plan.withAssets(assets))
+                .assignment(assignment)
+                .build();
+    }
+
+    public static void deleteShardDirectory(Path shardDirectory) {
+        if (shardDirectory == null || !Files.exists(shardDirectory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(shardDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ignored) {
+            // 临时分片清理失败不影响压测结果。
+        }
+    }
+
+    private void upload(PerformanceWorkerEndpoint endpoint,
+                        PerformanceRunAsset asset,
+                        Set<String> uploaded,
+                        Duration timeout) throws IOException, InterruptedException {
+        if (!uploaded.add(asset.getSha256())) {
+            return;
+        }
+        PerformanceWorkerAssetStatusResponse status = workerClient.assetStatus(endpoint, asset.getSha256(), timeout);
+        long size = asset.getSize() >= 0 ? asset.getSize() : Files.size(Path.of(asset.getPath()));
+        int stalled = 0;
+        byte[] buffer = new byte[(int) Math.min(chunkSize, Math.max(1L, size))];
+        try (FileChannel channel = FileChannel.open(Path.of(asset.getPath()), StandardOpenOption.READ)) {
+            while (!status.isComplete()) {
+                long offset = status.getReceivedBytes();
+                if (offset > size) {
+                    throw new IOException("Worker reports more bytes than asset size: " + asset.getPath());
+                }
+                int length = read(channel, offset, buffer, (int) Math.min(buffer.length, size - offset));
+                PerformanceWorkerAssetStatusResponse next = workerClient.uploadAssetChunk(
+                        endpoint, asset.getSha256(), size, offset, buffer, length, timeout);
+                stalled = next.isComplete() || next.getReceivedBytes() > offset ? 0 : stalled + 1;
+                if (stalled >= MAX_STALLED_UPLOADS) {
+                    throw new IOException("Asset upload made no progress: " + asset.getPath());
+                }
+                status = next;
+            }
+        }
+    }
+
+    private static int read(FileChannel channel, long offset, byte[] buffer, int length) throws IOException {
+        ByteBuffer target = ByteBuffer.wrap(buffer, 0, length);
+        long position = offset;
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position);
+            if (read < 0) {
+                throw new IOException("Asset file changed during upload");
+            }
+            position += read;
+        }
+        return length;
+    }
+
+    private Set<String> requiredCsvPaths(PerformanceRunPlan plan, PerformanceWorkerAssignment assignment) {
+        PerformanceTestPlan testPlan = PerformanceCorePlanDocumentCompiler.compile(plan.getTestPlan());
+        Set<String> paths = new HashSet<>();
+        for (PerformanceWorkerThreadGroupAssignment threadGroup : assignment.getThreadGroups()) {
+            CsvDataSetData csv = csvDataSet(testPlan, threadGroup.getThreadGroupIndex());
+            if (csv != null && threadGroup.getVirtualUserCount() > 0 && threadGroup.getCsvShard() == null) {
+                paths.add(csv.getFilePath());
+            }
+        }
+        return paths;
+    }
+
+    private static CsvDataSetData csvDataSet(PerformanceTestPlan testPlan, int threadGroupIndex) {
+        if (threadGroupIndex < 0 || threadGroupIndex >= testPlan.getThreadGroups().size()) {
+            return null;
+        }
+        CsvDataSetData csv = testPlan.getThreadGroups().get(threadGroupIndex).getCsvDataSetData();
+        return csv != null && csv.hasFileReference() ? csv : null;
+    }
+
+    private static PerformanceRunAsset writeShard(CsvDataSetData csv,
+                                                  PerformanceWorkerThreadGroupAssignment threadGroup,
+                                                  Path target) throws IOException {
+        Path source = Path.of(csv.getFilePath());
+        if (!Files.isRegularFile(source)) {
+            return null;
+        }
+        Files.createDirectories(target.getParent());
+        boolean written = PerformanceRunCsvShardWriter.write(
+                source,
+                charset(csv.getEncoding()),
+                csv.isHasHeader(),
+                threadGroup.getFirstVirtualUserIndex(),
+                threadGroup.getVirtualUserCount(),
+                target
+        );
+        if (!written) {
+            return null;
+        }
+        return new PerformanceRunAsset(
+                "csv-shard-" + threadGroup.getThreadGroupIndex(),
+                PerformanceRunAsset.TYPE_CSV,
+                target.toString(),
+                PerformanceRunAssetDigest.sha256(target),
+                Files.size(target)
+        );
+    }
+
+    private static Charset charset(String encoding) {
+        if (encoding == null || encoding.isBlank()) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (Exception ex) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
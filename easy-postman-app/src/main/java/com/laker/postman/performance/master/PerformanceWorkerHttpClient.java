@@ -2,6 +2,7 @@ package com.laker.postman.performance.master;
 
 import com.laker.postman.performance.core.worker.PerformanceWorkerEndpoint;
 import com.laker.postman.performance.core.worker.PerformanceWorkerApiPaths;
+import com.laker.postman.performance.core.worker.PerformanceWorkerAssetStatusResponse;
 import com.laker.postman.performance.core.worker.PerformanceWorkerHealthResponse;
 import com.laker.postman.performance.core.worker.PerformanceWorkerProtocolJsonStorage;
 import com.laker.postman.performance.core.worker.PerformanceWorkerRunDetailsResponse;
@@ -20,6 +21,8 @@ import java.time.Duration;
 
 public class PerformanceWorkerHttpClient {
     static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    // 单个资产分块上传的超时；分块最大 4 MiB，慢速链路下仍留有余量
+    public static final Duration DEFAULT_ASSET_UPLOAD_TIMEOUT = Duration.ofSeconds(120);
 
     private final HttpClient client;
     private final PerformanceWorkerProtocolJsonStorage jsonStorage;
@@ -83,6 +86,45 @@ public class PerformanceWorkerHttpClient {
         }
     }
 
+    public PerformanceWorkerAssetStatusResponse assetStatus(PerformanceWorkerEndpoint endpoint,
+                                                            String sha256,
+                                                            Duration timeout) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder()
+                        .uri(uri(endpoint, PerformanceWorkerApiPaths.asset(sha256)))
+                        .timeout(effectiveTimeout(timeout))
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Worker " + endpointLabel(endpoint) + " asset status failed: " + response.body());
+        }
+        return jsonStorage.assetStatusResponseFromJson(response.body());
+    }
+
+    /**
+     * 从 offset 处追加一个资产分块；worker 已接收字节数与 offset 不一致时（409）同样返回其当前状态，调用方据此续传。
+     */
+    public PerformanceWorkerAssetStatusResponse uploadAssetChunk(PerformanceWorkerEndpoint endpoint,
+                                                                 String sha256,
+                                                                 long size,
+                                                                 long offset,
+                                                                 byte[] chunk,
+                                                                 int length,
+                                                                 Duration timeout) throws IOException, InterruptedException {
+        String path = PerformanceWorkerApiPaths.asset(sha256) + "?offset=" + offset + "&size=" + size;
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder()
+                        .uri(uri(endpoint, path))
+                        .timeout(effectiveTimeout(timeout))
+                        .header("Content-Type", "application/octet-stream")
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(chunk, 0, length))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200 && response.statusCode() != 409) {
+            throw new IOException("Worker " + endpointLabel(endpoint) + " asset upload failed: " + response.body());
+        }
+        return jsonStorage.assetStatusResponseFromJson(response.body());
+    }
+
     public PerformanceWorkerRunStatusResponse status(PerformanceWorkerEndpoint endpoint,
                                                      String runId) throws IOException, InterruptedException {
         return status(endpoint, runId, requestTimeout);
@@ -1,8 +1,10 @@
 package com.laker.postman.performance.model;
 
 import com.laker.postman.http.runtime.model.HttpResponse;
+import com.laker.postman.http.runtime.model.PreparedRequest;
 import com.laker.postman.performance.core.model.PerformanceProtocol;
 import com.laker.postman.performance.core.model.PerformanceSampleRecord;
+import com.laker.postman.performance.core.model.SseStreamStats;
 import com.laker.postman.performance.execution.PerformanceRequestExecutionResult;
 import lombok.experimental.UtilityClass;
 
@@ -17,6 +19,7 @@ public class PerformanceSampleRecordFactory {
             return null;
         }
         HttpResponse response = executionResult.response;
+        PreparedRequest request = executionResult.request;
         long elapsedTimeMs = response == null ? executionResult.fallbackCostMs : response.costMs;
         long endTimeMs = executionResult.requestStartTime + Math.max(0L, elapsedTimeMs);
         PerformanceProtocol protocol = executionResult.protocol == null
@@ -41,7 +44,10 @@ public class PerformanceSampleRecordFactory {
                 .matchedMessages(matchedMessages(response, protocol))
                 .sentBytes(sentBytes(response))
                 .receivedBytes(receivedBytes(response))
+                .requestBodyRawBytes(request == null ? 0 : request.requestBodyRawBytes)
+                .requestBodyCompressedBytes(request == null ? 0 : request.requestBodyCompressedBytes)
                 .firstMessageLatencyMs(firstMessageLatency(response, protocol))
+                .sseStreamStats(sseStreamStats(response, protocol))
                 .successful(!executionResult.interrupted && ResultNodeInfo.isActuallySuccessful(
                         executionResult.executionFailed,
                         response,
@@ -104,6 +110,13 @@ public class PerformanceSampleRecordFactory {
         return -1;
     }
 
+    private SseStreamStats sseStreamStats(HttpResponse response, PerformanceProtocol protocol) {
+        if (response == null || protocol != PerformanceProtocol.SSE) {
+            return null;
+        }
+        return SseStreamStats.decode(headerValue(response.headers, SseStreamStats.HEADER_NAME));
+    }
+
     private int streamMetric(HttpResponse response,
                              PerformanceProtocol protocol,
                              String header,
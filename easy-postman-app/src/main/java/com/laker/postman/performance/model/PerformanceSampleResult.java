@@ -3,6 +3,7 @@ package com.laker.postman.performance.model;
 import com.laker.postman.performance.core.model.PerformanceProtocol;
 import com.laker.postman.performance.core.model.PerformanceSampleRecord;
 import com.laker.postman.performance.core.model.RequestResult;
+import com.laker.postman.performance.core.model.SseStreamStats;
 
 
 import com.laker.postman.http.runtime.model.HttpResponse;
@@ -40,7 +41,11 @@ public class PerformanceSampleResult {
     long sentBytes;
     // 接收字节数：响应头 + 响应体，统计 Received KB/s 和 Avg. Bytes 时使用
     long receivedBytes;
+    // 开启请求体压缩时压缩前后的请求体字节数，未压缩为 0
+    long requestBodyRawBytes;
+    long requestBodyCompressedBytes;
     long firstMessageLatencyMs;
+    SseStreamStats sseStreamStats;
     boolean successful;
 
     public static PerformanceSampleResult fromExecutionResult(PerformanceRequestExecutionResult executionResult) {
@@ -79,7 +84,10 @@ public class PerformanceSampleResult {
                 .matchedMessages(record.getMatchedMessages())
                 .sentBytes(record.getSentBytes())
                 .receivedBytes(record.getReceivedBytes())
+                .requestBodyRawBytes(record.getRequestBodyRawBytes())
+                .requestBodyCompressedBytes(record.getRequestBodyCompressedBytes())
                 .firstMessageLatencyMs(record.getFirstMessageLatencyMs())
+                .sseStreamStats(record.getSseStreamStats())
                 .successful(record.isSuccessful())
                 .build();
     }
@@ -107,7 +115,10 @@ public class PerformanceSampleResult {
                 .matchedMessages(matchedMessages)
                 .sentBytes(sentBytes)
                 .receivedBytes(receivedBytes)
+                .requestBodyRawBytes(requestBodyRawBytes)
+                .requestBodyCompressedBytes(requestBodyCompressedBytes)
                 .firstMessageLatencyMs(firstMessageLatencyMs)
+                .sseStreamStats(sseStreamStats)
                 .successful(successful)
                 .build();
     }
@@ -88,13 +88,16 @@ public class PerformanceCorePlanAdapter {
         }
         List<PerformanceThreadGroupPlan> threadGroups = new ArrayList<>();
         for (PerformanceThreadGroupPlan group : corePlan.getThreadGroups()) {
-            // worker 分片后的虚拟用户 offset 必须保留下来，否则 CSV 行会从第 0 行重新分配。
+            // worker 分片后的虚拟用户 offset 和吞吐量份额必须保留下来，否则 CSV 行会从第 0 行重新分配、限速会按整体目标重复放量。
             threadGroups.add(new PerformanceThreadGroupPlan(
                     group.getName(),
                     group.getThreadGroupData(),
                     group.getCsvDataSetData(),
                     toAppElements(group.getElements()),
-                    group.getVirtualUserIndexOffset()
+                    group.getVirtualUserIndexOffset(),
+                    group.getCsvRowIndexOffset(),
+                    group.getGroupThroughputShare(),
+                    group.getGlobalThroughputShare()
             ));
         }
         return new PerformanceTestPlan(threadGroups);
@@ -6,6 +6,7 @@ import com.laker.postman.request.model.HttpHeader;
 import com.laker.postman.request.model.HttpParam;
 import com.laker.postman.request.model.HttpFormData;
 import com.laker.postman.request.model.HttpFormUrlencoded;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 import com.laker.postman.request.model.HttpRequestItem;
 import com.laker.postman.request.model.HttpRequestProxyPolicy;
 
@@ -54,6 +55,7 @@ public class PerformanceRequestSnapshotMapper {
                 .proxyPolicy(item.resolveProxyPolicy().name())
                 .httpVersion(item.resolveHttpVersion())
                 .requestTimeoutMs(item.getRequestTimeoutMs())
+                .requestBodyCompression(item.resolveRequestBodyCompression())
                 .prescript(item.getPrescript())
                 .postscript(item.getPostscript())
                 .executionScope(toScopeSnapshot(scope))
@@ -112,6 +114,7 @@ public class PerformanceRequestSnapshotMapper {
         item.setProxyPolicy(HttpRequestProxyPolicy.normalize(snapshot.getProxyPolicy()));
         item.setHttpVersion(snapshot.getHttpVersion());
         item.setRequestTimeoutMs(snapshot.getRequestTimeoutMs());
+        item.setRequestBodyCompression(HttpRequestBodyCompressions.normalize(snapshot.getRequestBodyCompression()));
         item.setPrescript(snapshot.getPrescript());
         item.setPostscript(snapshot.getPostscript());
         return item;
@@ -8,6 +8,7 @@ import com.laker.postman.http.runtime.okhttp.HttpClientRuntimeConfig;
 import com.laker.postman.performance.result.PerformanceResultCollector;
 import com.laker.postman.performance.core.model.PerformanceRealtimeMetrics;
 import com.laker.postman.performance.core.plan.PerformanceTestPlan;
+import com.laker.postman.performance.core.plan.PerformanceThreadGroupPlan;
 import com.laker.postman.performance.core.runtime.*;
 import com.laker.postman.performance.core.threadgroup.PerformanceRequestEstimate;
 import com.laker.postman.service.js.JsScriptExecutor;
@@ -15,6 +16,7 @@ import com.laker.postman.service.setting.SettingManager;
 import com.laker.postman.service.variable.ExecutionVariableContext;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BooleanSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
@@ -151,6 +153,19 @@ public final class PerformanceExecutionEngine {
                 realtimeMetrics,
                 this.iterationContextFactory::create,
                 planExecutor::executeIteration,
+                new PerformanceCoreThreadGroupRunner.AsyncIterationExecutor<>() {
+                    @Override
+                    public boolean supports(PerformanceThreadGroupPlan groupPlan) {
+                        return planExecutor.supportsAsyncIteration(groupPlan);
+                    }
+
+                    @Override
+                    public CompletableFuture<Void> executeIteration(PerformanceThreadGroupPlan groupPlan,
+                                                                    ExecutionVariableContext iterationContext,
+                                                                    PerformanceAsyncVirtualUser virtualUser) {
+                        return planExecutor.executeIterationAsync(groupPlan, iterationContext, virtualUser);
+                    }
+                },
                 runListener
         );
     }
@@ -1,11 +1,13 @@
 package com.laker.postman.performance.runtime;
 
 import com.laker.postman.performance.core.plan.PerformanceThreadGroupPlan;
+import com.laker.postman.performance.core.runtime.PerformanceAsyncVirtualUser;
 import com.laker.postman.performance.core.runtime.PerformanceCorePlanExecutor;
 
 
 import com.laker.postman.service.variable.ExecutionVariableContext;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 
@@ -16,6 +18,7 @@ public final class PerformancePlanExecutor {
         void sleep(long delayMs) throws InterruptedException;
     }
 
+    private final PerformanceSamplerExecutor samplerExecutor;
     private final PerformanceCorePlanExecutor<ExecutionVariableContext> delegate;
 
     public PerformancePlanExecutor(BooleanSupplier runningSupplier,
@@ -26,6 +29,7 @@ public final class PerformancePlanExecutor {
     public PerformancePlanExecutor(BooleanSupplier runningSupplier,
                                    PerformanceSamplerExecutor samplerExecutor,
                                    TimerSleeper timerSleeper) {
+        this.samplerExecutor = samplerExecutor;
         this.delegate = new PerformanceCorePlanExecutor<>(
                 runningSupplier,
                 samplerExecutor::execute,
@@ -42,4 +46,17 @@ public final class PerformancePlanExecutor {
                                  ExecutionVariableContext iterationContext) {
         delegate.executeIteration(groupPlan, iterationContext);
     }
+
+    /**
+     * 只含 WebSocket 请求和定时器的线程组可以异步执行，虚拟用户不必各占一个线程
+     */
+    public boolean supportsAsyncIteration(PerformanceThreadGroupPlan groupPlan) {
+        return PerformanceCorePlanExecutor.supportsAsyncIteration(groupPlan, samplerExecutor::supportsAsync);
+    }
+
+    public CompletableFuture<Void> executeIterationAsync(PerformanceThreadGroupPlan groupPlan,
+                                                         ExecutionVariableContext iterationContext,
+                                                         PerformanceAsyncVirtualUser virtualUser) {
+        return delegate.executeIterationAsync(groupPlan, iterationContext, samplerExecutor::executeAsync, virtualUser);
+    }
 }
@@ -5,6 +5,7 @@ import com.laker.postman.model.Environment;
 import com.laker.postman.model.Variable;
 import com.laker.postman.performance.core.model.PerformanceStatsCollector;
 import com.laker.postman.performance.core.model.PerformanceStatsSnapshot;
+import com.laker.postman.performance.core.model.PerformanceTrendTierStore;
 import com.laker.postman.performance.core.model.PerformanceTrendWindowCollector;
 import com.laker.postman.performance.core.plan.PerformanceCorePlanDocumentCompiler;
 import com.laker.postman.performance.core.plan.PerformanceTestPlan;
@@ -26,10 +27,14 @@ import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class PerformanceRunPlanExecutor {
+    private static final long TREND_TIER_SAMPLE_INTERVAL_MS = 1_000L;
 
     public PerformanceRunExecutionResult execute(Path planPath, PrintStream scriptOutput) throws Exception {
         if (planPath == null) {
@@ -52,7 +57,8 @@ public class PerformanceRunPlanExecutor {
                     null,
                     environment,
                     scriptOutput,
-                    new PerformanceRunExecutionControl()
+                    new PerformanceRunExecutionControl(),
+                    true
             );
         }
     }
@@ -74,7 +80,8 @@ public class PerformanceRunPlanExecutor {
                     assignment,
                     environment,
                     scriptOutput,
-                    control == null ? new PerformanceRunExecutionControl() : control
+                    control == null ? new PerformanceRunExecutionControl() : control,
+                    control == null
             );
         }
     }
@@ -84,7 +91,8 @@ public class PerformanceRunPlanExecutor {
                                                             PerformanceWorkerAssignment assignment,
                                                             Environment environment,
                                                             PrintStream scriptOutput,
-                                                            PerformanceRunExecutionControl control) throws InterruptedException {
+                                                            PerformanceRunExecutionControl control,
+                                                            boolean sampleTrendTiers) throws InterruptedException {
         PerformanceTestPlan corePlan = PerformanceCorePlanDocumentCompiler.compile(runPlan.getTestPlan());
         if (assignment != null) {
             corePlan = new PerformanceWorkerExecutionPlanPartitioner().apply(corePlan, assignment);
@@ -171,11 +179,41 @@ public class PerformanceRunPlanExecutor {
         if (runThread == null) {
             throw new IllegalStateException("Performance run did not start");
         }
-        runThread.join();
+        PerformanceTrendTierStore trendTierStore = new PerformanceTrendTierStore();
+        ScheduledExecutorService trendTierSampler = sampleTrendTiers
+                ? startTrendTierSampler(metricsSnapshotService, trendTierStore)
+                : null;
+        try {
+            runThread.join();
+        } finally {
+            if (trendTierSampler != null) {
+                trendTierSampler.shutdownNow();
+                trendTierSampler.awaitTermination(1, TimeUnit.SECONDS);
+            }
+        }
+        if (trendTierSampler != null) {
+            long endTimeMs = System.currentTimeMillis();
+            trendTierStore.record(endTimeMs, metricsSnapshotService.drainTrendWindowSnapshot(endTimeMs));
+        }
         PerformanceStatsSnapshot stats = statsCollector.snapshot();
         PerformanceRunSummary summary = summaryRef.get();
         PerformanceRunError runError = errorRef.get();
-        return toResult(planPath, stats, summary, runError);
+        return toResult(planPath, stats, summary, runError, PerformanceJsonReportMapper.toTrendTiers(trendTierStore));
+    }
+
+    /**
+     * 本机 headless 运行没有 GUI/master 轮询趋势窗口，由这里按 1s 排空窗口写入分层趋势，随报表一起保存。
+     * worker 运行时趋势窗口由 master 轮询排空，这里不再采样，避免两边抢同一个窗口。
+     */
+    private ScheduledExecutorService startTrendTierSampler(PerformanceMetricsSnapshotService metricsSnapshotService,
+                                                           PerformanceTrendTierStore trendTierStore) {
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(
+                PerformanceThreadFactory.daemonFactory("PerformanceTrendTiers"));
+        sampler.scheduleAtFixedRate(() -> {
+            long nowMs = System.currentTimeMillis();
+            trendTierStore.record(nowMs, metricsSnapshotService.drainTrendWindowSnapshot(nowMs));
+        }, TREND_TIER_SAMPLE_INTERVAL_MS, TREND_TIER_SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        return sampler;
     }
 
     private PerformanceExecutionConfig executionConfig(PerformanceRunSettings settings,
@@ -208,7 +246,8 @@ public class PerformanceRunPlanExecutor {
     private PerformanceRunExecutionResult toResult(String planPath,
                                                    PerformanceStatsSnapshot stats,
                                                    PerformanceRunSummary summary,
-                                                   PerformanceRunError runError) {
+                                                   PerformanceRunError runError,
+                                                   List<PerformanceJsonReportTrendTier> trendTiers) {
         long totalRequests = stats == null ? 0L : stats.totalRequests();
         long successRequests = stats == null ? 0L : stats.successRequests();
         long failedRequests = Math.max(0L, totalRequests - successRequests);
@@ -242,7 +281,7 @@ public class PerformanceRunPlanExecutor {
                         .error(errorMessage)
                         .build(),
                 stats
-        );
+        ).withTrendTiers(trendTiers);
         return PerformanceRunExecutionResult.builder()
                 .status(status)
                 .planPath(planPath)
@@ -1,6 +1,7 @@
 package com.laker.postman.performance.runtime;
 
 import com.laker.postman.performance.core.plan.PerformanceSampler;
+import com.laker.postman.performance.core.runtime.PerformanceAsyncVirtualUser;
 import com.laker.postman.performance.core.runtime.PerformanceCoreResultSink;
 
 
@@ -11,6 +12,7 @@ import com.laker.postman.performance.result.PerformanceResultCollector;
 import com.laker.postman.service.variable.ExecutionVariableContext;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
@@ -74,6 +76,31 @@ public final class PerformanceSamplerExecutor {
         return executionResult;
     }
 
+    boolean supportsAsync(PerformanceSampler sampler) {
+        return sampler instanceof PerformanceRequestSampler requestSampler && requestExecutor.supportsAsync(requestSampler);
+    }
+
+    /**
+     * 异步执行采样器，结果在虚拟用户上下文中收集
+     */
+    CompletableFuture<Void> executeAsync(PerformanceSampler sampler,
+                                         ExecutionVariableContext iterationContext,
+                                         PerformanceAsyncVirtualUser virtualUser) {
+        if (!runningSupplier.getAsBoolean() || !(sampler instanceof PerformanceRequestSampler requestSampler)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return requestExecutor.executeAsync(requestSampler, iterationContext, virtualUser)
+                .thenAccept(executionResult -> {
+                    if (executionResult == null) {
+                        return;
+                    }
+                    resultCollector.collect(executionResult, efficientModeSupplier.getAsBoolean(), currentResultSink());
+                    if (executionResult.interrupted) {
+                        log.debug("请求在停止时被中断: {}", requestSampler.getName());
+                    }
+                });
+    }
+
     private PerformanceCoreResultSink currentResultSink() {
         PerformanceCoreResultSink sink = resultSinkSupplier.get();
         return sink == null ? PerformanceCoreResultSink.NOOP : sink;
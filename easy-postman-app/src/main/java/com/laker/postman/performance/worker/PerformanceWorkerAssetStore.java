@@ -0,0 +1,125 @@
+package com.laker.postman.performance.worker;
+
+import com.laker.postman.performance.core.run.PerformanceRunAssetDigest;
+import com.laker.postman.performance.core.worker.PerformanceWorkerAssetStatusResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * worker 本地的内容寻址资产缓存。
+ * <p>
+ * 文件以 sha256 命名：未收完的数据写在 {@code <sha256>.part}，按 offset 顺序追加，
+ * 连接中断后 master 查询已接收字节数即可续传；收满声明的大小后校验哈希，再原子改名为正式文件。
+ * 同一份 CSV 或上传文件在多次压测之间复用，不再重复传输。
+ * </p>
+ */
+public class PerformanceWorkerAssetStore {
+    private static final String PART_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    public PerformanceWorkerAssetStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return 已完整缓存时返回本地文件，否则返回 null
+     */
+    public Path resolve(String sha256) {
+        if (!PerformanceRunAssetDigest.isSha256(sha256)) {
+            return null;
+        }
+        Path file = directory.resolve(sha256);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    public synchronized PerformanceWorkerAssetStatusResponse status(String sha256) throws IOException {
+        requireSha256(sha256);
+        Path complete = directory.resolve(sha256);
+        if (Files.isRegularFile(complete)) {
+            long size = Files.size(complete);
+            return status(sha256, size, size, true);
+        }
+        Path part = directory.resolve(sha256 + PART_SUFFIX);
+        return status(sha256, -1L, Files.isRegularFile(part) ? Files.size(part) : 0L, false);
+    }
+
+    /**
+     * 从 offset 处追加一个分块；offset 必须等于已接收字节数。
+     *
+     * @throws IllegalStateException    offset 与已接收字节数不一致，调用方应重新查询状态后续传
+     * @throws IllegalArgumentException 分块超出声明大小，或收满后哈希不一致（此时已丢弃未完成数据）
+     */
+    public synchronized PerformanceWorkerAssetStatusResponse append(String sha256,
+                                                                    long size,
+                                                                    long offset,
+                                                                    InputStream chunk) throws IOException {
+        requireSha256(sha256);
+        if (size < 0) {
+            throw new IllegalArgumentException("Asset size is required");
+        }
+        PerformanceWorkerAssetStatusResponse current = status(sha256);
+        if (current.isComplete()) {
+            return current;
+        }
+        if (offset != current.getReceivedBytes()) {
+            throw new IllegalStateException("Asset offset " + offset
+                    + " does not match received bytes " + current.getReceivedBytes());
+        }
+        Files.createDirectories(directory);
+        Path part = directory.resolve(sha256 + PART_SUFFIX);
+        long received = offset;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (OutputStream output = Files.newOutputStream(part, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            int read;
+            while ((read = chunk.read(buffer)) >= 0) {
+                if (received + read > size) {
+                    output.close();
+                    Files.deleteIfExists(part);
+                    throw new IllegalArgumentException("Asset chunk exceeds declared size " + size);
+                }
+                output.write(buffer, 0, read);
+                received += read;
+            }
+        }
+        if (received < size) {
+            return status(sha256, size, received, false);
+        }
+        if (!Files.exists(part)) {
+            Files.createFile(part);
+        }
+        String actual = PerformanceRunAssetDigest.sha256(part);
+        if (!sha256.equals(actual)) {
+            Files.deleteIfExists(part);
+            throw new IllegalArgumentException("Asset sha256 mismatch: expected " + sha256 + " but was " + actual);
+        }
+        Files.move(part, directory.resolve(sha256), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return status(sha256, size, size, true);
+    }
+
+    private static PerformanceWorkerAssetStatusResponse status(String sha256, long size, long receivedBytes, boolean complete) {
+        return PerformanceWorkerAssetStatusResponse.builder()
+                .sha256(sha256)
+                .size(size)
+                .receivedBytes(receivedBytes)
+                .complete(complete)
+                .build();
+    }
+
+    private static void requireSha256(String sha256) {
+        if (!PerformanceRunAssetDigest.isSha256(sha256)) {
+            throw new IllegalArgumentException("Invalid asset sha256: " + sha256);
+        }
+    }
+}
@@ -41,7 +41,8 @@ public class PerformanceWorkerCommand {
 
     private static void printUsage(PrintStream out) {
         out.println("Usage: performance worker [--host <host>] [--port <port>] "
-                + "[--progress-interval <seconds>] [--no-progress]");
+                + "[--progress-interval <seconds>] [--no-progress] [--asset-cache-dir <dir>] "
+                + "[--lag-threshold-ms <ms>]");
     }
 
     private static PerformanceWorkerServerListener consoleListener(PrintStream out) {
@@ -30,6 +30,14 @@ public class PerformanceWorkerCommandLine {
                 )));
                 continue;
             }
+            if ("--asset-cache-dir".equals(arg)) {
+                builder.assetCacheDir(requiredValue(safeArgs, ++i, "--asset-cache-dir"));
+                continue;
+            }
+            if ("--lag-threshold-ms".equals(arg)) {
+                builder.lagThresholdMs(parseLagThresholdMs(requiredValue(safeArgs, ++i, "--lag-threshold-ms")));
+                continue;
+            }
             if ("--no-progress".equals(arg)) {
                 builder.progressIntervalMs(0L);
                 continue;
@@ -69,4 +77,16 @@ public class PerformanceWorkerCommandLine {
             throw new IllegalArgumentException("--progress-interval must be a number");
         }
     }
+
+    private long parseLagThresholdMs(String value) {
+        try {
+            long thresholdMs = Long.parseLong(value);
+            if (thresholdMs < 0) {
+                throw new IllegalArgumentException("--lag-threshold-ms must be >= 0");
+            }
+            return thresholdMs;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("--lag-threshold-ms must be a number");
+        }
+    }
 }
@@ -0,0 +1,168 @@
+package com.laker.postman.performance.worker;
+
+import com.laker.postman.performance.core.report.PerformanceJsonReportSaturation;
+import com.laker.postman.performance.core.runtime.PerformanceThreadFactory;
+import com.laker.postman.performance.core.worker.PerformanceWorkerCapacity;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * worker 施压机自监控：探测线程按固定间隔 park，实际唤醒时间比计划晚出的部分即调度延迟。
+ * <p>
+ * CPU 被压测线程占满、GC 停顿或宿主机争抢时调度延迟会先升高，此时请求发出时间被推迟，
+ * 测得的响应时间也偏大。延迟超过阈值的时间段被记录为饱和区间，随最终报告返回给 master。
+ * 容量快照（核数、堆、GC、CPU、近期延迟分位）随健康检查返回，供 master 按容量分配虚拟用户。
+ * </p>
+ */
+public class PerformanceWorkerLoadMonitor implements AutoCloseable {
+    static final long PROBE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int LAG_SAMPLE_CAPACITY = 1000;
+    private static final int MAX_SATURATION_INTERVALS = 1000;
+    // 相邻两次超阈值采样相隔不超过该时长时合并为同一饱和区间
+    private static final long SATURATION_MERGE_GAP_MS = 1000L;
+
+    private final long lagThresholdMs;
+    private final long[] lagSamplesMicros = new long[LAG_SAMPLE_CAPACITY];
+    private final Deque<SaturationInterval> saturation = new ArrayDeque<>();
+    private int lagSampleCount;
+    private int lagSampleNext;
+    private long lastGcTimeMs = -1L;
+    private long lastGcSampleAtMs;
+    private volatile Thread probeThread;
+
+    public PerformanceWorkerLoadMonitor(long lagThresholdMs) {
+        this.lagThresholdMs = Math.max(0L, lagThresholdMs);
+    }
+
+    public void start() {
+        if (probeThread != null) {
+            return;
+        }
+        Thread thread = PerformanceThreadFactory.newDaemonThread("PerformanceWorkerLagProbe", this::probeLoop);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        probeThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        Thread thread = probeThread;
+        probeThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void probeLoop() {
+        long expected = System.nanoTime() + PROBE_INTERVAL_NANOS;
+        while (probeThread == Thread.currentThread() && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(Math.max(0L, expected - System.nanoTime()));
+            long now = System.nanoTime();
+            recordLag(System.currentTimeMillis(), Math.max(0L, now - expected));
+            expected = now + PROBE_INTERVAL_NANOS;
+        }
+    }
+
+    synchronized void recordLag(long nowMs, long lagNanos) {
+        lagSamplesMicros[lagSampleNext] = lagNanos / 1_000L;
+        lagSampleNext = (lagSampleNext + 1) % lagSamplesMicros.length;
+        lagSampleCount = Math.min(lagSampleCount + 1, lagSamplesMicros.length);
+        double lagMs = lagNanos / 1_000_000D;
+        if (lagThresholdMs <= 0 || lagMs < lagThresholdMs) {
+            return;
+        }
+        SaturationInterval last = saturation.peekLast();
+        if (last != null && nowMs - last.endTimeMs <= SATURATION_MERGE_GAP_MS) {
+            last.endTimeMs = nowMs;
+            last.maxLagMs = Math.max(last.maxLagMs, lagMs);
+            return;
+        }
+        if (saturation.size() >= MAX_SATURATION_INTERVALS) {
+            saturation.pollFirst();
+        }
+        long startTimeMs = nowMs - (long) Math.ceil(lagMs);
+        saturation.addLast(new SaturationInterval(startTimeMs, nowMs, lagMs));
+    }
+
+    /**
+     * 与 [startTimeMs, endTimeMs] 有交集的饱和区间
+     */
+    public synchronized List<PerformanceJsonReportSaturation> saturationBetween(String source, long startTimeMs, long endTimeMs) {
+        List<PerformanceJsonReportSaturation> result = new ArrayList<>();
+        for (SaturationInterval interval : saturation) {
+            if (interval.endTimeMs >= startTimeMs && interval.startTimeMs <= endTimeMs) {
+                result.add(PerformanceJsonReportSaturation.builder()
+                        .source(source)
+                        .startTimeMs(Math.max(startTimeMs, interval.startTimeMs))
+                        .endTimeMs(Math.min(endTimeMs, interval.endTimeMs))
+                        .maxSchedulerLagMs(Math.round(interval.maxLagMs * 100D) / 100D)
+                        .thresholdMs(lagThresholdMs)
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    public synchronized PerformanceWorkerCapacity capacity() {
+        Runtime runtime = Runtime.getRuntime();
+        long[] samples = Arrays.copyOf(lagSamplesMicros, lagSampleCount);
+        Arrays.sort(samples);
+        return PerformanceWorkerCapacity.builder()
+                .cores(runtime.availableProcessors())
+                .maxHeapBytes(runtime.maxMemory())
+                .usedHeapBytes(runtime.totalMemory() - runtime.freeMemory())
+                .gcTimeRatio(gcTimeRatio())
+                .cpuLoad(cpuLoad())
+                .schedulerLagP99Ms(samples.length == 0 ? 0D : samples[(int) Math.ceil(samples.length * 0.99) - 1] / 1_000D)
+                .schedulerLagMaxMs(samples.length == 0 ? 0D : samples[samples.length - 1] / 1_000D)
+                .schedulerLagThresholdMs(lagThresholdMs)
+                .build();
+    }
+
+    /**
+     * 距上次查询以来 GC 累计耗时占墙钟时间的比例；首次查询没有基线时返回 0
+     */
+    private double gcTimeRatio() {
+        long gcTimeMs = 0L;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcTimeMs += Math.max(0L, bean.getCollectionTime());
+        }
+        long now = System.currentTimeMillis();
+        double ratio = lastGcTimeMs < 0 || now <= lastGcSampleAtMs
+                ? 0D
+                : (double) (gcTimeMs - lastGcTimeMs) / (now - lastGcSampleAtMs);
+        lastGcTimeMs = gcTimeMs;
+        lastGcSampleAtMs = now;
+        return ratio;
+    }
+
+    private static double cpuLoad() {
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean platformBean) {
+            return platformBean.getCpuLoad();
+        }
+        double loadAverage = bean.getSystemLoadAverage();
+        return loadAverage < 0 ? -1D : loadAverage / Math.max(1, bean.getAvailableProcessors());
+    }
+
+    private static final class SaturationInterval {
+        private final long startTimeMs;
+        private long endTimeMs;
+        private double maxLagMs;
+
+        private SaturationInterval(long startTimeMs, long endTimeMs, double maxLagMs) {
+            this.startTimeMs = startTimeMs;
+            this.endTimeMs = endTimeMs;
+            this.maxLagMs = maxLagMs;
+        }
+    }
+}
@@ -3,25 +3,34 @@ package com.laker.postman.performance.worker;
 import lombok.Builder;
 import lombok.Value;
 
+import java.nio.file.Path;
+
 @Value
 public class PerformanceWorkerOptions {
     public static final String DEFAULT_HOST = "0.0.0.0";
     public static final int DEFAULT_PORT = 19090;
     public static final long DEFAULT_COMPLETED_RUN_RETENTION_MS = 30 * 60 * 1000L;
     public static final long DEFAULT_PROGRESS_INTERVAL_MS = 1000L;
+    public static final String DEFAULT_ASSET_CACHE_DIR_NAME = "easy-postman-worker-assets";
+    public static final long DEFAULT_LAG_THRESHOLD_MS = 50L;
 
     boolean help;
     String host;
     int port;
     long completedRunRetentionMs;
     long progressIntervalMs;
+    String assetCacheDir;
+    // 调度延迟超过该值时认为施压机已饱和，0 表示不检测
+    long lagThresholdMs;
 
     @Builder
     public PerformanceWorkerOptions(Boolean help,
                                     String host,
                                     Integer port,
                                     Long completedRunRetentionMs,
-                                    Long progressIntervalMs) {
+                                    Long progressIntervalMs,
+                                    String assetCacheDir,
+                                    Long lagThresholdMs) {
         this.help = help != null && help;
         this.host = host == null || host.isBlank() ? DEFAULT_HOST : host;
         this.port = port == null ? DEFAULT_PORT : port;
@@ -31,5 +40,11 @@ public class PerformanceWorkerOptions {
         this.progressIntervalMs = progressIntervalMs == null
                 ? DEFAULT_PROGRESS_INTERVAL_MS
                 : Math.max(0L, progressIntervalMs);
+        this.assetCacheDir = assetCacheDir == null || assetCacheDir.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), DEFAULT_ASSET_CACHE_DIR_NAME).toString()
+                : assetCacheDir;
+        this.lagThresholdMs = lagThresholdMs == null
+                ? DEFAULT_LAG_THRESHOLD_MS
+                : Math.max(0L, lagThresholdMs);
     }
 }
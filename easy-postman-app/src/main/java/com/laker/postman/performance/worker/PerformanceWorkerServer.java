@@ -8,6 +8,9 @@ import com.laker.postman.performance.core.report.PerformanceJsonReport;
 import com.laker.postman.performance.core.report.PerformanceJsonReportSummary;
 import com.laker.postman.performance.core.report.PerformanceJsonReportMapper;
 import com.laker.postman.performance.core.report.PerformanceJsonReportMetadata;
+import com.laker.postman.performance.core.run.PerformanceRunAsset;
+import com.laker.postman.performance.core.run.PerformanceRunAssetDigest;
+import com.laker.postman.performance.core.run.PerformanceRunPlanAssetRelocator;
 import com.laker.postman.performance.core.run.PerformanceRunStatus;
 import com.laker.postman.performance.core.runtime.PerformanceThreadFactory;
 import com.laker.postman.performance.core.worker.PerformanceWorkerErrorResponse;
@@ -21,6 +24,7 @@ import com.laker.postman.performance.core.worker.PerformanceWorkerRunDetailsResp
 import com.laker.postman.performance.core.worker.PerformanceWorkerRunRequest;
 import com.laker.postman.performance.core.worker.PerformanceWorkerRunResultResponse;
 import com.laker.postman.performance.core.worker.PerformanceWorkerRunStatusResponse;
+import com.laker.postman.performance.core.worker.PerformanceWorkerThreadGroupAssignment;
 import com.laker.postman.performance.runtime.PerformanceRunExecutionControl;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
@@ -30,6 +34,10 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -48,6 +56,8 @@ public class PerformanceWorkerServer implements AutoCloseable {
     private final PerformanceWorkerOptions options;
     private final PerformanceWorkerRunExecutor runExecutor;
     private final PerformanceWorkerServerListener listener;
+    private final PerformanceWorkerAssetStore assetStore;
+    private final PerformanceWorkerLoadMonitor loadMonitor;
     private final PerformanceWorkerProtocolJsonStorage jsonStorage = new PerformanceWorkerProtocolJsonStorage();
     private final Map<String, WorkerRunState> runs = new ConcurrentHashMap<>();
     private final AtomicBoolean running = new AtomicBoolean(false);
@@ -74,6 +84,8 @@ public class PerformanceWorkerServer implements AutoCloseable {
         this.options = options == null ? PerformanceWorkerOptions.builder().build() : options;
         this.runExecutor = runExecutor == null ? new DefaultPerformanceWorkerRunExecutor() : runExecutor;
         this.listener = listener == null ? PerformanceWorkerServerListener.NOOP : listener;
+        this.assetStore = new PerformanceWorkerAssetStore(Path.of(this.options.getAssetCacheDir()));
+        this.loadMonitor = new PerformanceWorkerLoadMonitor(this.options.getLagThresholdMs());
     }
 
     public void start() throws IOException {
@@ -89,10 +101,12 @@ public class PerformanceWorkerServer implements AutoCloseable {
         httpServer = HttpServer.create(new InetSocketAddress(options.getHost(), options.getPort()), 0);
         httpServer.createContext(PerformanceWorkerApiPaths.HEALTH, this::handleHealth);
         httpServer.createContext(PerformanceWorkerApiPaths.RUNS, this::handleRuns);
+        httpServer.createContext(PerformanceWorkerApiPaths.ASSETS, this::handleAssets);
         httpServer.setExecutor(requestExecutor);
         httpServer.start();
         port = httpServer.getAddress().getPort();
         running.set(true);
+        loadMonitor.start();
         startProgressReporter();
     }
 
@@ -107,6 +121,7 @@ public class PerformanceWorkerServer implements AutoCloseable {
             runExecutorService = null;
         }
         stopProgressReporter();
+        loadMonitor.close();
         if (requestExecutor != null) {
             requestExecutor.shutdownNow();
             requestExecutor = null;
@@ -148,6 +163,7 @@ public class PerformanceWorkerServer implements AutoCloseable {
                 .host(options.getHost())
                 .port(getPort())
                 .workerProtocolVersion(PerformanceWorkerProtocol.CURRENT_VERSION)
+                .capacity(loadMonitor.capacity())
                 .build()));
     }
 
@@ -181,6 +197,39 @@ public class PerformanceWorkerServer implements AutoCloseable {
         write(exchange, 404, error("Not found"));
     }
 
+    private void handleAssets(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String sha256 = path.length() > PerformanceWorkerApiPaths.ASSETS.length() + 1
+                ? path.substring(PerformanceWorkerApiPaths.ASSETS.length() + 1)
+                : "";
+        if (!PerformanceRunAssetDigest.isSha256(sha256)) {
+            write(exchange, 404, error("Not found"));
+            return;
+        }
+        if ("GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            write(exchange, 200, jsonStorage.toJson(assetStore.status(sha256)));
+            return;
+        }
+        if (!"PUT".equalsIgnoreCase(exchange.getRequestMethod())) {
+            write(exchange, 405, error("Method not allowed"));
+            return;
+        }
+        long offset = queryLong(exchange, "offset", -1L);
+        long size = queryLong(exchange, "size", -1L);
+        if (offset < 0 || size < 0) {
+            write(exchange, 400, error("Asset upload requires offset and size"));
+            return;
+        }
+        try {
+            write(exchange, 200, jsonStorage.toJson(assetStore.append(sha256, size, offset, exchange.getRequestBody())));
+        } catch (IllegalStateException ex) {
+            // 断点不一致时返回当前状态，master 按 receivedBytes 重新续传。
+            write(exchange, 409, jsonStorage.toJson(assetStore.status(sha256)));
+        } catch (IllegalArgumentException ex) {
+            write(exchange, 400, error(ex.getMessage()));
+        }
+    }
+
     private void handleRunSubmit(HttpExchange exchange) throws IOException {
         PerformanceWorkerRunRequest request;
         try {
@@ -204,7 +253,14 @@ public class PerformanceWorkerServer implements AutoCloseable {
             return;
         }
 
-        // worker 只接收控制面 JSON；plan.assets 中的本地文件路径必须由用户提前放到本机同一路径。
+        // 带 sha256 的资产已由 master 上传到本地缓存，运行前把计划里的路径换成缓存文件；
+        // 没有 sha256 的资产仍按原路径读取，需要用户提前放到本机同一路径。
+        try {
+            request = localizeAssets(request);
+        } catch (IllegalArgumentException ex) {
+            write(exchange, 400, error(ex.getMessage()));
+            return;
+        }
         String runId;
         WorkerRunState state;
         boolean busy;
@@ -238,6 +294,51 @@ public class PerformanceWorkerServer implements AutoCloseable {
                 .build()));
     }
 
+    private PerformanceWorkerRunRequest localizeAssets(PerformanceWorkerRunRequest request) {
+        Map<String, String> localPaths = new HashMap<>();
+        for (PerformanceRunAsset asset : request.getPlan().getAssets()) {
+            if (asset.isContentAddressed()) {
+                localPaths.put(asset.getPath(), cachedAssetPath(asset));
+            }
+        }
+        PerformanceWorkerAssignment assignment = request.getAssignment();
+        List<PerformanceWorkerThreadGroupAssignment> threadGroups = new ArrayList<>();
+        boolean shardLocalized = false;
+        for (PerformanceWorkerThreadGroupAssignment threadGroup : assignment.getThreadGroups()) {
+            PerformanceRunAsset shard = threadGroup.getCsvShard();
+            if (shard != null && shard.isContentAddressed()) {
+                threadGroups.add(threadGroup.withCsvShard(shard.withPath(cachedAssetPath(shard))));
+                shardLocalized = true;
+            } else {
+                threadGroups.add(threadGroup);
+            }
+        }
+        if (localPaths.isEmpty() && !shardLocalized) {
+            return request;
+        }
+        return PerformanceWorkerRunRequest.builder()
+                .runId(request.getRunId())
+                .plan(PerformanceRunPlanAssetRelocator.relocate(request.getPlan(), localPaths))
+                .assignment(PerformanceWorkerAssignment.builder()
+                        .schemaVersion(assignment.getSchemaVersion())
+                        .runId(assignment.getRunId())
+                        .workerId(assignment.getWorkerId())
+                        .assignmentId(assignment.getAssignmentId())
+                        .endpoint(assignment.getEndpoint())
+                        .threadGroups(threadGroups)
+                        .build())
+                .build();
+    }
+
+    private String cachedAssetPath(PerformanceRunAsset asset) {
+        Path cached = assetStore.resolve(asset.getSha256());
+        if (cached == null) {
+            throw new IllegalArgumentException("Asset is not uploaded to worker: "
+                    + asset.getPath() + " (" + asset.getSha256() + ")");
+        }
+        return cached.toString();
+    }
+
     private PerformanceWorkerRunRequest requestWithRunId(PerformanceWorkerRunRequest request, String runId) {
         PerformanceWorkerAssignment assignment = request.getAssignment();
         if (assignment != null && !runId.equals(assignment.getRunId())) {
@@ -278,7 +379,7 @@ public class PerformanceWorkerServer implements AutoCloseable {
         try {
             PerformanceJsonReport report = runExecutor.execute(request, state.control);
             waitForStoppedResultDrain(state);
-            state.report = refreshStoppedReportFromControl(runId, state, report);
+            state.report = withGeneratorSaturation(refreshStoppedReportFromControl(runId, state, report), state);
             String reportStatus = report == null || report.getMetadata() == null
                     ? PerformanceRunStatus.SUCCESS
                     : state.report.getMetadata().getStatus();
@@ -292,6 +393,20 @@ public class PerformanceWorkerServer implements AutoCloseable {
         }
     }
 
+    /**
+     * 把运行期间探测到的施压机饱和区间附到最终报告上，master 合并后据此标记不可信的时间段
+     */
+    private PerformanceJsonReport withGeneratorSaturation(PerformanceJsonReport report, WorkerRunState state) {
+        if (report == null) {
+            return null;
+        }
+        return report.withGeneratorSaturation(loadMonitor.saturationBetween(
+                state.workerId,
+                state.startedAtMs,
+                System.currentTimeMillis()
+        ));
+    }
+
     private void handleRunStatus(HttpExchange exchange, String runId) throws IOException {
         pruneCompletedRuns();
         WorkerRunState state = runs.get(runId);
@@ -504,6 +619,25 @@ public class PerformanceWorkerServer implements AutoCloseable {
         return queryFlag(exchange, "trend", false);
     }
 
+    private long queryLong(HttpExchange exchange, String name, long defaultValue) {
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery == null || rawQuery.isBlank()) {
+            return defaultValue;
+        }
+        for (String part : rawQuery.split("&")) {
+            int separator = part.indexOf('=');
+            if (separator < 0 || !name.equals(URLDecoder.decode(part.substring(0, separator), StandardCharsets.UTF_8))) {
+                continue;
+            }
+            try {
+                return Long.parseLong(URLDecoder.decode(part.substring(separator + 1), StandardCharsets.UTF_8));
+            } catch (NumberFormatException ex) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
     private boolean queryFlag(HttpExchange exchange, String name, boolean defaultValue) {
         String rawQuery = exchange.getRequestURI().getRawQuery();
         if (rawQuery == null || rawQuery.isBlank()) {
@@ -587,7 +721,7 @@ public class PerformanceWorkerServer implements AutoCloseable {
         }
         long now = System.currentTimeMillis();
         PerformanceJsonReportMetadata baseMetadata = report == null ? null : report.getMetadata();
-        return PerformanceJsonReportMapper.fromStatsSnapshot(
+        PerformanceJsonReport refreshed = PerformanceJsonReportMapper.fromStatsSnapshot(
                 PerformanceJsonReportMetadata.builder()
                         .runId(runId)
                         .source(state.workerId)
@@ -601,6 +735,7 @@ public class PerformanceWorkerServer implements AutoCloseable {
                         .build(),
                 snapshot
         );
+        return report == null ? refreshed : refreshed.withGeneratorSaturation(report.getGeneratorSaturation());
     }
 
     private long reportTotalRequests(PerformanceJsonReport report) {
@@ -13,7 +13,9 @@ import com.laker.postman.model.Workspace;
 import com.laker.postman.model.WorkspaceType;
 import com.laker.postman.plugin.api.service.GitPluginService;
 import com.laker.postman.plugin.git.internal.GitConflictDetector;
+import com.laker.postman.plugin.git.internal.GitWorkspaceRepositories;
 import com.laker.postman.plugin.git.internal.SshCredentialsProvider;
+import com.laker.postman.service.search.SearchIndexService;
 import com.laker.postman.service.setting.SettingManager;
 import com.laker.postman.util.I18nUtil;
 import com.laker.postman.util.MessageKeys;
@@ -98,6 +100,20 @@ public class GitWorkspacePluginService implements GitPluginService {
         );
     }
 
+    @Override
+    public void releaseWorkspace(Workspace workspace) {
+        if (workspace != null && workspace.getPath() != null) {
+            GitWorkspaceRepositories.release(workspace.getPath());
+        }
+    }
+
+    @Override
+    public void notifyFileSaved(String filePath) {
+        if (filePath != null && !filePath.isBlank()) {
+            GitWorkspaceRepositories.fileSaved(filePath);
+        }
+    }
+
     @Override
     public void clearSshCache(String privateKeyPath) {
         if (privateKeyPath != null && !privateKeyPath.isBlank()) {
@@ -108,7 +124,7 @@ public class GitWorkspacePluginService implements GitPluginService {
     @Override
     public List<GitBranchInfo> listBranches(Workspace workspace) throws Exception {
         ensureGitWorkspace(workspace);
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.open(workspace.getPath())) {
             String currentBranch = git.getRepository().getBranch();
             List<Ref> refs = git.branchList().setListMode(ListBranchCommand.ListMode.ALL).call();
             Map<String, String> trackingByLocalBranch = localBranchTrackingMap(git, refs);
@@ -140,7 +156,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Switch Branch";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             var status = git.status().call();
             if (!status.isClean()) {
                 throw new IllegalStateException("Cannot switch branches with uncommitted changes. Commit or stash changes first.");
@@ -178,7 +194,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Fetch Branches";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             var remotes = git.remoteList().call();
             if (remotes.isEmpty()) {
                 throw new IllegalStateException("No remote repository configured, unable to fetch branches");
@@ -206,7 +222,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Create Branch";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             if (git.getRepository().resolve("refs/heads/" + localBranch) != null) {
                 throw new IllegalArgumentException("Branch already exists: " + localBranch);
             }
@@ -237,7 +253,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Delete Branch";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             String currentBranch = git.getRepository().getBranch();
             if (localBranch.equals(currentBranch)) {
                 throw new IllegalStateException("Cannot delete the current branch: " + localBranch);
@@ -271,7 +287,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Publish Branch";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             var remotes = git.remoteList().call();
             if (remotes.isEmpty()) {
                 throw new IllegalStateException("No remote repository configured, unable to publish branch");
@@ -341,7 +357,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Pull";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             String branch = git.getRepository().getBranch();
             String tracking = git.getRepository().getConfig().getString("branch", branch, "merge");
             if (tracking == null) {
@@ -441,7 +457,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Push";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             var remotes = git.remoteList().call();
             if (remotes.isEmpty()) {
                 throw new IllegalStateException("No remote repository configured, unable to push");
@@ -557,7 +573,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Force Push";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             TrackingRef trackingRef = resolveTrackingRef(git);
             ObjectId expectedRemoteId = git.getRepository().resolve(trackingRef.remoteTrackingRef());
             RefSpec forceRefSpec = new RefSpec("refs/heads/" + trackingRef.localBranch()
@@ -607,7 +623,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Stash";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             var status = git.status().call();
             result.affectedFiles.addAll(status.getModified());
             result.affectedFiles.addAll(status.getChanged());
@@ -635,7 +651,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Pop Stash";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             if (!git.stashList().call().iterator().hasNext()) {
                 throw new RuntimeException("No stashed changes found");
             }
@@ -666,7 +682,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Force Pull";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             var statusBefore = git.status().call();
             result.affectedFiles.addAll(statusBefore.getModified());
             result.affectedFiles.addAll(statusBefore.getChanged());
@@ -709,7 +725,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         result.operationType = "Commit";
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             var status = git.status().call();
             boolean hasChanges = !status.getAdded().isEmpty()
                     || !status.getModified().isEmpty()
@@ -742,7 +758,7 @@ public class GitWorkspacePluginService implements GitPluginService {
     @Override
     public List<String> getChangedFilesBetweenCommits(Workspace workspace, String oldCommitId, String newCommitId) throws Exception {
         ensureGitWorkspace(workspace);
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.open(workspace.getPath())) {
             ObjectId oldId = git.getRepository().resolve(oldCommitId);
             ObjectId newId = git.getRepository().resolve(newCommitId);
             List<DiffEntry> diffs = git.diff()
@@ -760,8 +776,8 @@ public class GitWorkspacePluginService implements GitPluginService {
     @Override
     public List<GitFileChange> listWorkingTreeChanges(Workspace workspace) throws Exception {
         ensureGitWorkspace(workspace);
-        try (Git git = Git.open(new File(workspace.getPath()))) {
-            var status = git.status().call();
+        try (Git git = GitWorkspaceRepositories.open(workspace.getPath())) {
+            var status = GitWorkspaceRepositories.status(git);
             Map<String, GitFileChange.Type> changes = new HashMap<>();
             putChanges(changes, status.getAdded(), GitFileChange.Type.ADDED);
             putChanges(changes, status.getChanged(), GitFileChange.Type.MODIFIED);
@@ -782,8 +798,8 @@ public class GitWorkspacePluginService implements GitPluginService {
         ensureGitWorkspace(workspace);
         String normalizedPath = normalizeWorkspaceRelativePath(filePath);
         Path workspacePath = Paths.get(workspace.getPath());
-        try (Git git = Git.open(new File(workspace.getPath()))) {
-            var status = git.status().call();
+        try (Git git = GitWorkspaceRepositories.open(workspace.getPath())) {
+            var status = GitWorkspaceRepositories.status(git);
             int largeFileThresholdMb = SettingManager.getGitDiffLargeFileThresholdMb();
             long largeFileThresholdBytes = SettingManager.gitDiffLargeFileThresholdBytes(largeFileThresholdMb);
             if (status.getUntracked().contains(normalizedPath)) {
@@ -1267,7 +1283,7 @@ public class GitWorkspacePluginService implements GitPluginService {
             throw new IllegalStateException("Only Git workspaces of type INITIALIZED can add a remote repository");
         }
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             git.remoteAdd().setName("origin").setUri(new URIish(remoteUrl)).call();
 
             String currentBranch = git.getRepository().getBranch();
@@ -1318,7 +1334,7 @@ public class GitWorkspacePluginService implements GitPluginService {
     @Override
     public RemoteStatus getRemoteStatus(Workspace workspace) throws Exception {
         ensureGitWorkspace(workspace);
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.open(workspace.getPath())) {
             RemoteStatus status = new RemoteStatus();
             var remotes = git.remoteList().call();
             status.hasRemote = !remotes.isEmpty();
@@ -1350,7 +1366,7 @@ public class GitWorkspacePluginService implements GitPluginService {
     public List<GitCommitInfo> getGitHistory(Workspace workspace, int maxCount) throws Exception {
         ensureGitWorkspace(workspace);
         List<GitCommitInfo> commits = new ArrayList<>();
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.open(workspace.getPath())) {
             Iterable<RevCommit> logs = maxCount > 0 ? git.log().setMaxCount(maxCount).call() : git.log().call();
             for (RevCommit revCommit : logs) {
                 GitCommitInfo commitInfo = new GitCommitInfo();
@@ -1378,7 +1394,7 @@ public class GitWorkspacePluginService implements GitPluginService {
         GitOperationResult result = new GitOperationResult();
         String backupCommitId = null;
 
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspace.getPath())) {
             Repository repository = git.getRepository();
             var status = git.status().call();
             boolean hasChanges = !status.getAdded().isEmpty()
@@ -1437,7 +1453,7 @@ public class GitWorkspacePluginService implements GitPluginService {
     public String getCommitDetails(Workspace workspace, String commitId) throws Exception {
         ensureGitWorkspace(workspace);
         StringBuilder details = new StringBuilder();
-        try (Git git = Git.open(new File(workspace.getPath()))) {
+        try (Git git = GitWorkspaceRepositories.open(workspace.getPath())) {
             Repository repository = git.getRepository();
             try (RevWalk revWalk = new RevWalk(repository)) {
                 ObjectId objectId = repository.resolve(commitId);
@@ -1598,6 +1614,9 @@ public class GitWorkspacePluginService implements GitPluginService {
         ignorePatterns.add("*.bak");
         ignorePatterns.add("*~");
         ignorePatterns.add("");
+        ignorePatterns.add("# Local search index");
+        ignorePatterns.add(SearchIndexService.INDEX_FILE_NAME);
+        ignorePatterns.add("");
         ignorePatterns.add("# OS generated files");
         ignorePatterns.add(".DS_Store");
         ignorePatterns.add("Thumbs.db");
@@ -27,11 +27,14 @@ import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.treewalk.filter.PathFilter;
 
-import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -46,6 +49,16 @@ public class GitConflictDetector {
     // Git 操作超时时间（秒）- 与 WorkspaceService 保持一致
     private static final int GIT_OPERATION_TIMEOUT = 10;
 
+    // 提交级冲突分析缓存的最大条目数
+    private static final int MAX_CACHED_CONFLICT_ANALYSES = 64;
+    private static final Map<TreeTriple, CommittedConflicts> COMMITTED_CONFLICTS = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TreeTriple, CommittedConflicts> eldest) {
+                    return size() > MAX_CACHED_CONFLICT_ANALYSES;
+                }
+            });
+
     private GitConflictDetector() {
         // 工具类，隐藏构造函数
     }
@@ -58,12 +71,12 @@ public class GitConflictDetector {
                                                 SshCredentialsProvider sshCredentialsProvider) {
         GitStatusCheck result = new GitStatusCheck();
 
-        try (Git git = Git.open(new File(workspacePath))) {
+        try (Git git = GitWorkspaceRepositories.open(workspacePath)) {
             // 获取基本信息
             result.currentBranch = git.getRepository().getBranch();
 
             // 检查本地状态
-            Status status = git.status().call();
+            Status status = GitWorkspaceRepositories.status(git);
             checkLocalStatus(status, result);
 
             // 检查远程状态
@@ -779,94 +792,17 @@ public class GitConflictDetector {
     private static void analyzeFileConflicts(Git git, String workspacePath, GitStatusCheck result, ObjectId mergeBase,
                                              ObjectId localId, ObjectId remoteId) {
         try {
-            // 获取从merge base到本地的变更
-            var localDiffs = git.diff()
-                    .setOldTree(prepareTreeParser(git.getRepository(), mergeBase))
-                    .setNewTree(prepareTreeParser(git.getRepository(), localId))
-                    .call();
-
-            // 获取从merge base到远程的变更
-            var remoteDiffs = git.diff()
-                    .setOldTree(prepareTreeParser(git.getRepository(), mergeBase))
-                    .setNewTree(prepareTreeParser(git.getRepository(), remoteId))
-                    .call();
-
-            // 分析冲突情况
-            List<String> localChangedFiles = new ArrayList<>();
-            List<String> remoteChangedFiles = new ArrayList<>();
-            List<String> conflictFiles = new ArrayList<>();
-            List<String> newFiles = new ArrayList<>();
-
-            // 收集本地变更的文件
-            for (DiffEntry diff : localDiffs) {
-                String filePath = diff.getNewPath();
-                localChangedFiles.add(filePath);
-                if (diff.getChangeType() == DiffEntry.ChangeType.ADD) {
-                    newFiles.add(filePath);
-                }
-            }
-
-            // 收集远程变更的文件并检查冲突
-            for (DiffEntry diff : remoteDiffs) {
-                String filePath = diff.getNewPath();
-                remoteChangedFiles.add(filePath);
-                if (diff.getChangeType() == DiffEntry.ChangeType.ADD) {
-                    newFiles.add(filePath);
-                }
-            }
-
-            // 内容级冲突检测
-            Set<String> intersectFiles = new HashSet<>(localChangedFiles);
-            intersectFiles.retainAll(remoteChangedFiles);
+            // 提交之间的差异只取决于三棵树，按树 id 缓存，反复打开操作对话框时不必重新 diff 和合并
+            CommittedConflicts committed = committedConflicts(git, mergeBase, localId, remoteId);
+            List<String> localChangedFiles = committed.localChangedFiles();
+            List<String> remoteChangedFiles = committed.remoteChangedFiles();
+            List<String> newFiles = committed.newFiles();
+            List<String> conflictFiles = new ArrayList<>(committed.conflictFiles());
+            result.conflictDetails.putAll(committed.conflictDetails());
             Repository repo = git.getRepository();
-            for (String filePath : intersectFiles) {
-                String baseContent = getFileContent(repo, mergeBase, filePath);
-                String localContent = getFileContent(repo, localId, filePath);
-                String remoteContent = getFileContent(repo, remoteId, filePath);
-                RawText baseText = new RawText(baseContent.getBytes(StandardCharsets.UTF_8));
-                RawText localText = new RawText(localContent.getBytes(StandardCharsets.UTF_8));
-                RawText remoteText = new RawText(remoteContent.getBytes(StandardCharsets.UTF_8));
-                MergeAlgorithm mergeAlgorithm = new MergeAlgorithm();
-                MergeResult<RawText> mergeResult = mergeAlgorithm.merge(RawTextComparator.DEFAULT, baseText, localText, remoteText);
-                boolean hasConflict = false;
-                List<ConflictBlock> conflictBlocks = new ArrayList<>();
-                // 遍历所有chunk，按冲突区块分组
-                List<MergeChunk> conflictChunkGroup = new ArrayList<>();
-                for (MergeChunk chunk : mergeResult) {
-                    if (chunk.getConflictState() != MergeChunk.ConflictState.NO_CONFLICT) {
-                        hasConflict = true;
-                        conflictChunkGroup.add(chunk);
-                        // 冲突区块通常连续3个chunk（base/local/remote），但有时可能不是，需按sourceIndex分组
-                        if (conflictChunkGroup.size() == 3) {
-                            int begin = conflictChunkGroup.get(0).getBegin();
-                            int end = conflictChunkGroup.get(2).getEnd();
-                            List<String> baseLines = new ArrayList<>();
-                            List<String> localLines = new ArrayList<>();
-                            List<String> remoteLines = new ArrayList<>();
-                            for (MergeChunk c : conflictChunkGroup) {
-                                int srcIdx = c.getSequenceIndex();
-                                for (int line = c.getBegin(); line < c.getEnd(); line++) {
-                                    if (srcIdx == 0) baseLines.add(baseText.getString(line));
-                                    else if (srcIdx == 1) localLines.add(localText.getString(line));
-                                    else if (srcIdx == 2) remoteLines.add(remoteText.getString(line));
-                                }
-                            }
-                            conflictBlocks.add(new ConflictBlock(begin, end, baseLines, localLines, remoteLines));
-                            conflictChunkGroup.clear();
-                        }
-                    } else {
-                        // 非冲突chunk，清空分组
-                        conflictChunkGroup.clear();
-                    }
-                }
-                if (hasConflict) {
-                    conflictFiles.add(filePath);
-                    result.conflictDetails.put(filePath, conflictBlocks);
-                }
-            }
 
             // 检查本地未提交的更改
-            var status = git.status().call();
+            var status = GitWorkspaceRepositories.status(git);
             Set<String> uncommittedFiles = new HashSet<>();
             uncommittedFiles.addAll(status.getModified());
             uncommittedFiles.addAll(status.getUntracked());
@@ -957,6 +893,130 @@ public class GitConflictDetector {
         }
     }
 
+    /**
+     * 计算 merge base 到本地、远程两侧提交的变更和内容级冲突，结果按三棵树的 id 缓存
+     */
+    private static CommittedConflicts committedConflicts(Git git, ObjectId mergeBase, ObjectId localId, ObjectId remoteId)
+            throws Exception {
+        TreeTriple key;
+        try (RevWalk walk = new RevWalk(git.getRepository())) {
+            key = new TreeTriple(
+                    walk.parseCommit(mergeBase).getTree().copy(),
+                    walk.parseCommit(localId).getTree().copy(),
+                    walk.parseCommit(remoteId).getTree().copy()
+            );
+        }
+        CommittedConflicts cached = COMMITTED_CONFLICTS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // 获取从merge base到本地的变更
+        var localDiffs = git.diff()
+                .setOldTree(prepareTreeParser(git.getRepository(), mergeBase))
+                .setNewTree(prepareTreeParser(git.getRepository(), localId))
+                .call();
+
+        // 获取从merge base到远程的变更
+        var remoteDiffs = git.diff()
+                .setOldTree(prepareTreeParser(git.getRepository(), mergeBase))
+                .setNewTree(prepareTreeParser(git.getRepository(), remoteId))
+                .call();
+
+        // 分析冲突情况
+        List<String> localChangedFiles = new ArrayList<>();
+        List<String> remoteChangedFiles = new ArrayList<>();
+        List<String> conflictFiles = new ArrayList<>();
+        List<String> newFiles = new ArrayList<>();
+
+        // 收集本地变更的文件
+        for (DiffEntry diff : localDiffs) {
+            String filePath = diff.getNewPath();
+            localChangedFiles.add(filePath);
+            if (diff.getChangeType() == DiffEntry.ChangeType.ADD) {
+                newFiles.add(filePath);
+            }
+        }
+
+        // 收集远程变更的文件并检查冲突
+        for (DiffEntry diff : remoteDiffs) {
+            String filePath = diff.getNewPath();
+            remoteChangedFiles.add(filePath);
+            if (diff.getChangeType() == DiffEntry.ChangeType.ADD) {
+                newFiles.add(filePath);
+            }
+        }
+
+        // 内容级冲突检测
+        Map<String, List<ConflictBlock>> conflictDetails = new HashMap<>();
+        Set<String> intersectFiles = new HashSet<>(localChangedFiles);
+        intersectFiles.retainAll(remoteChangedFiles);
+        Repository repo = git.getRepository();
+        for (String filePath : intersectFiles) {
+            String baseContent = getFileContent(repo, mergeBase, filePath);
+            String localContent = getFileContent(repo, localId, filePath);
+            String remoteContent = getFileContent(repo, remoteId, filePath);
+            RawText baseText = new RawText(baseContent.getBytes(StandardCharsets.UTF_8));
+            RawText localText = new RawText(localContent.getBytes(StandardCharsets.UTF_8));
+            RawText remoteText = new RawText(remoteContent.getBytes(StandardCharsets.UTF_8));
+            MergeAlgorithm mergeAlgorithm = new MergeAlgorithm();
+            MergeResult<RawText> mergeResult = mergeAlgorithm.merge(RawTextComparator.DEFAULT, baseText, localText, remoteText);
+            boolean hasConflict = false;
+            List<ConflictBlock> conflictBlocks = new ArrayList<>();
+            // 遍历所有chunk，按冲突区块分组
+            List<MergeChunk> conflictChunkGroup = new ArrayList<>();
+            for (MergeChunk chunk : mergeResult) {
+                if (chunk.getConflictState() != MergeChunk.ConflictState.NO_CONFLICT) {
+                    hasConflict = true;
+                    conflictChunkGroup.add(chunk);
+                    // 冲突区块通常连续3个chunk（base/local/remote），但有时可能不是，需按sourceIndex分组
+                    if (conflictChunkGroup.size() == 3) {
+                        int begin = conflictChunkGroup.get(0).getBegin();
+                        int end = conflictChunkGroup.get(2).getEnd();
+                        List<String> baseLines = new ArrayList<>();
+                        List<String> localLines = new ArrayList<>();
+                        List<String> remoteLines = new ArrayList<>();
+                        for (MergeChunk c : conflictChunkGroup) {
+                            int srcIdx = c.getSequenceIndex();
+                            for (int line = c.getBegin(); line < c.getEnd(); line++) {
+                                if (srcIdx == 0) baseLines.add(baseText.getString(line));
+                                else if (srcIdx == 1) localLines.add(localText.getString(line));
+                                else if (srcIdx == 2) remoteLines.add(remoteText.getString(line));
+                            }
+                        }
+                        conflictBlocks.add(new ConflictBlock(begin, end, baseLines, localLines, remoteLines));
+                        conflictChunkGroup.clear();
+                    }
+                } else {
+                    // 非冲突chunk，清空分组
+                    conflictChunkGroup.clear();
+                }
+            }
+            if (hasConflict) {
+                conflictFiles.add(filePath);
+                conflictDetails.put(filePath, conflictBlocks);
+            }
+        }
+        CommittedConflicts computed = new CommittedConflicts(
+                List.copyOf(localChangedFiles),
+                List.copyOf(remoteChangedFiles),
+                List.copyOf(newFiles),
+                List.copyOf(conflictFiles),
+                Map.copyOf(conflictDetails)
+        );
+        COMMITTED_CONFLICTS.put(key, computed);
+        return computed;
+    }
+
+    private record TreeTriple(ObjectId baseTree, ObjectId localTree, ObjectId remoteTree) {
+    }
+
+    private record CommittedConflicts(List<String> localChangedFiles,
+                                      List<String> remoteChangedFiles,
+                                      List<String> newFiles,
+                                      List<String> conflictFiles,
+                                      Map<String, List<ConflictBlock>> conflictDetails) {
+    }
+
     // 获取指定commit下文件内容
     private static String getFileContent(Repository repo, ObjectId commitId, String filePath) {
         try (RevWalk revWalk = new RevWalk(repo)) {
@@ -0,0 +1,372 @@
+package com.laker.postman.plugin.git.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 工作区 Git 仓库句柄缓存。
+ * <p>
+ * 每个工作区只打开一次 {@link Repository}，并用 {@link WatchService} 监听工作树、.git 目录和 refs，
+ * 文件变化后在后台重新计算 status，界面刷新时直接复用最近一次结果。
+ * 监听事件是异步到达的，应用自己保存工作区文件时还会通过 {@link #fileSaved(String)} 同步作废缓存。
+ * 监听不可用、基于轮询（如 macOS 上的 JDK 实现，事件延迟可达数秒）或目录过多时退化为每次重新计算，
+ * 行为与直接调用 {@code git.status()} 一致。
+ */
+@Slf4j
+public final class GitWorkspaceRepositories {
+
+    private static final String GIT_DIRECTORY = ".git";
+    private static final int MAX_WATCHED_DIRECTORIES = 4096;
+    private static final long REFRESH_DELAY_MS = 300L;
+
+    private static final ConcurrentMap<Path, WorkspaceRepository> REPOSITORIES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<WatchKey, WorkspaceRepository> WATCH_KEYS = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "git-workspace-status");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile WatchService watchService;
+
+    private GitWorkspaceRepositories() {
+        // 工具类，隐藏构造函数
+    }
+
+    /**
+     * 打开只读操作使用的 Git 实例，关闭时不会关闭共享的仓库句柄。
+     */
+    public static Git open(String workspacePath) throws IOException {
+        return new WorkspaceGit(repository(workspacePath), false);
+    }
+
+    /**
+     * 打开会修改工作树、索引或引用的 Git 实例，关闭时立即让缓存的 status 失效。
+     */
+    public static Git openForUpdate(String workspacePath) throws IOException {
+        return new WorkspaceGit(repository(workspacePath), true);
+    }
+
+    /**
+     * 返回工作区当前 status；监听生效且期间没有文件变化时直接复用缓存结果。
+     */
+    public static Status status(Git git) throws GitAPIException {
+        if (git instanceof WorkspaceGit workspaceGit) {
+            return workspaceGit.owner.status();
+        }
+        return git.status().call();
+    }
+
+    public static void invalidate(String workspacePath) {
+        WorkspaceRepository repository = REPOSITORIES.get(normalize(workspacePath));
+        if (repository != null) {
+            repository.markChanged();
+        }
+    }
+
+    /**
+     * 应用写入文件后同步作废所在工作区的 status 缓存，不依赖监听事件的到达时机。
+     */
+    public static void fileSaved(String filePath) {
+        Path file = Paths.get(filePath).toAbsolutePath().normalize();
+        for (WorkspaceRepository repository : REPOSITORIES.values()) {
+            if (file.startsWith(repository.workTree)) {
+                repository.markChanged();
+            }
+        }
+    }
+
+    /**
+     * 释放工作区的仓库句柄和目录监听，删除工作区目录前调用，避免 Windows 下文件被占用。
+     */
+    public static void release(String workspacePath) {
+        WorkspaceRepository repository = REPOSITORIES.remove(normalize(workspacePath));
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    private static WorkspaceRepository repository(String workspacePath) throws IOException {
+        Path key = normalize(workspacePath);
+        WorkspaceRepository existing = REPOSITORIES.get(key);
+        if (existing != null && existing.isAlive()) {
+            return existing;
+        }
+        if (existing != null && REPOSITORIES.remove(key, existing)) {
+            existing.close();
+        }
+        Repository repository;
+        try (Git git = Git.open(key.toFile())) {
+            repository = git.getRepository();
+            // Git.open 打开的仓库会随 Git 一起关闭，这里多持有一次引用，交给缓存管理生命周期
+            repository.incrementOpen();
+        }
+        WorkspaceRepository created = new WorkspaceRepository(key, repository);
+        WorkspaceRepository raced = REPOSITORIES.putIfAbsent(key, created);
+        if (raced != null) {
+            repository.close();
+            return raced;
+        }
+        EXECUTOR.execute(created::startWatching);
+        return created;
+    }
+
+    private static Path normalize(String workspacePath) {
+        return Paths.get(workspacePath).toAbsolutePath().normalize();
+    }
+
+    private static WatchService watchService() throws IOException {
+        WatchService current = watchService;
+        if (current != null) {
+            return current;
+        }
+        synchronized (GitWorkspaceRepositories.class) {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+                Thread thread = new Thread(GitWorkspaceRepositories::dispatchEvents, "git-workspace-watcher");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            return watchService;
+        }
+    }
+
+    /**
+     * JDK 在没有原生文件通知的平台上使用 PollingWatchService，事件要等下一轮扫描才到达，不能作为缓存依据。
+     */
+    static boolean isPolling(WatchService service) {
+        return service.getClass().getName().endsWith("PollingWatchService");
+    }
+
+    private static void dispatchEvents() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            WorkspaceRepository owner = WATCH_KEYS.get(key);
+            if (owner != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    owner.onEvent(key, event);
+                }
+            } else {
+                key.pollEvents();
+            }
+            if (!key.reset()) {
+                WATCH_KEYS.remove(key);
+            }
+        }
+    }
+
+    private static final class WorkspaceRepository {
+        private final Path workTree;
+        private final Repository repository;
+        private final List<WatchKey> watchKeys = new CopyOnWriteArrayList<>();
+        private final AtomicLong generation = new AtomicLong();
+        private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+        private volatile boolean watching;
+        private volatile boolean closed;
+        private volatile StatusSnapshot snapshot;
+
+        private WorkspaceRepository(Path workTree, Repository repository) {
+            this.workTree = workTree;
+            this.repository = repository;
+        }
+
+        private boolean isAlive() {
+            return !closed && repository.getDirectory().isDirectory();
+        }
+
+        private Status status() throws GitAPIException {
+            long observedGeneration = generation.get();
+            StatusSnapshot current = snapshot;
+            if (watching && current != null && current.generation() == observedGeneration) {
+                return current.status();
+            }
+            Status status = Git.wrap(repository).status().call();
+            // 计算期间如果又有文件变化，generation 已经前进，这份结果不会被后续读取命中
+            snapshot = new StatusSnapshot(observedGeneration, status);
+            return status;
+        }
+
+        private void markChanged() {
+            generation.incrementAndGet();
+            if (!watching || closed || !refreshScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            // 连续的文件事件合并为一次后台刷新，下次打开 Git 面板时 status 已经就绪
+            EXECUTOR.schedule(() -> {
+                refreshScheduled.set(false);
+                if (closed) {
+                    return;
+                }
+                try {
+                    status();
+                } catch (Exception e) {
+                    log.debug("Background git status refresh failed for {}", workTree, e);
+                }
+            }, REFRESH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+
+        private void startWatching() {
+            if (closed || repository.isBare()) {
+                return;
+            }
+            try {
+                WatchService service = watchService();
+                if (isPolling(service)) {
+                    log.debug("Watch service for {} is polling based, git status will not be cached", workTree);
+                    return;
+                }
+                Path gitDirectory = repository.getDirectory().toPath();
+                if (!registerTree(service, workTree) || !register(service, gitDirectory)
+                        || !registerTree(service, gitDirectory.resolve("refs"))) {
+                    log.info("Git workspace {} has too many directories to watch, status will not be cached", workTree);
+                    cancelWatchKeys();
+                    return;
+                }
+                watching = true;
+                // 注册完成前算出的 status 可能漏掉了变化，统一作废
+                generation.incrementAndGet();
+            } catch (IOException | UnsupportedOperationException e) {
+                log.debug("Failed to watch git workspace {}", workTree, e);
+                cancelWatchKeys();
+            }
+        }
+
+        private boolean registerTree(WatchService service, Path root) throws IOException {
+            if (!Files.isDirectory(root, LinkOption.NOFOLLOW_LINKS)) {
+                return true;
+            }
+            AtomicBoolean withinLimit = new AtomicBoolean(true);
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (!dir.equals(root) && GIT_DIRECTORY.equals(String.valueOf(dir.getFileName()))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (!register(service, dir)) {
+                        withinLimit.set(false);
+                        return FileVisitResult.TERMINATE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            return withinLimit.get();
+        }
+
+        private boolean register(WatchService service, Path directory) throws IOException {
+            if (closed || watchKeys.size() >= MAX_WATCHED_DIRECTORIES) {
+                return false;
+            }
+            WatchKey key = directory.register(
+                    service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY
+            );
+            watchKeys.add(key);
+            WATCH_KEYS.put(key, this);
+            return true;
+        }
+
+        private void onEvent(WatchKey key, WatchEvent<?> event) {
+            markChanged();
+            if (event.kind() != StandardWatchEventKinds.ENTRY_CREATE || !(key.watchable() instanceof Path parent)
+                    || !(event.context() instanceof Path name)) {
+                return;
+            }
+            Path created = parent.resolve(name);
+            if (!Files.isDirectory(created, LinkOption.NOFOLLOW_LINKS)) {
+                return;
+            }
+            boolean gitInternal = created.startsWith(repository.getDirectory().toPath());
+            if (gitInternal && !created.startsWith(repository.getDirectory().toPath().resolve("refs"))) {
+                return;
+            }
+            try {
+                if (!registerTree(watchService(), created)) {
+                    // 超出监听上限后无法保证缓存可靠，退化为每次重新计算
+                    watching = false;
+                    cancelWatchKeys();
+                }
+            } catch (IOException e) {
+                watching = false;
+                cancelWatchKeys();
+            }
+        }
+
+        private void cancelWatchKeys() {
+            for (WatchKey key : watchKeys) {
+                key.cancel();
+                WATCH_KEYS.remove(key);
+            }
+            watchKeys.clear();
+        }
+
+        private void close() {
+            closed = true;
+            watching = false;
+            cancelWatchKeys();
+            repository.close();
+        }
+    }
+
+    private record StatusSnapshot(long generation, Status status) {
+    }
+
+    private static final class WorkspaceGit extends Git {
+        private final WorkspaceRepository owner;
+        private final boolean updating;
+
+        private WorkspaceGit(WorkspaceRepository owner, boolean updating) {
+            super(owner.repository);
+            this.owner = owner;
+            this.updating = updating;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            if (updating) {
+                owner.markChanged();
+            }
+        }
+    }
+}
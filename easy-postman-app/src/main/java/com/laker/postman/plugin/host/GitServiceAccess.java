@@ -17,4 +17,13 @@ public final class GitServiceAccess {
     public static GitPluginService requireService() {
         return BUILT_IN_SERVICE;
     }
+
+    /**
+     * 工作区文件保存后调用，让 Git 面板读到的 status 立即包含这次修改，而不必等待目录监听事件。
+     */
+    public static void notifyFileSaved(String filePath) {
+        if (isServiceAvailable()) {
+            BUILT_IN_SERVICE.notifyFileSaved(filePath);
+        }
+    }
 }
@@ -27,6 +27,14 @@ public final class PluginAccess {
         return PluginRuntime.getRegistry().createScriptApis();
     }
 
+    public static Object createScriptApi(String alias) {
+        return PluginRuntime.getRegistry().createScriptApi(alias);
+    }
+
+    public static boolean hasScriptApi(String alias) {
+        return PluginRuntime.getRegistry().hasScriptApi(alias);
+    }
+
     public static List<ToolboxContribution> getToolboxContributions() {
         return PluginRuntime.getRegistry().getToolboxContributions();
     }
@@ -7,6 +7,7 @@ import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
 import com.laker.postman.model.Environment;
 import com.laker.postman.model.Workspace;
+import com.laker.postman.plugin.host.GitServiceAccess;
 import com.laker.postman.util.SystemUtil;
 import lombok.Getter;
 import lombok.experimental.UtilityClass;
@@ -154,6 +155,7 @@ public class EnvironmentService {
             String jsonStr = JSONUtil.toJsonPrettyStr(envList);
 
             FileUtil.writeString(jsonStr, file, StandardCharsets.UTF_8);
+            GitServiceAccess.notifyFileSaved(filePath);
             log.debug("环境变量已保存到: {}", filePath);
         } catch (Exception e) {
             log.error("保存环境变量失败", e);
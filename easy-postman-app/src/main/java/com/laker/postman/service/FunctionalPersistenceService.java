@@ -3,6 +3,7 @@ package com.laker.postman.service;
 import com.laker.postman.functional.model.FunctionalConfigRow;
 import com.laker.postman.functional.model.FunctionalConfigSnapshot;
 import com.laker.postman.model.Workspace;
+import com.laker.postman.plugin.host.GitServiceAccess;
 
 
 import cn.hutool.json.JSONArray;
@@ -72,6 +73,7 @@ public class FunctionalPersistenceService {
             JSONObject root = new JSONObject();
             root.set("version", "1.0");
             root.set("rows", serializeRows(safeSnapshot.getRows()));
+            root.set("concurrency", safeSnapshot.getConcurrency());
             if (safeSnapshot.getCsvState() != null) {
                 root.set("csvState", serializeCsvState(safeSnapshot.getCsvState()));
             }
@@ -79,6 +81,7 @@ public class FunctionalPersistenceService {
             // 写入文件
             String jsonString = JSONUtil.toJsonPrettyStr(root);
             Files.writeString(configPath, jsonString, StandardCharsets.UTF_8);
+            GitServiceAccess.notifyFileSaved(configPath.toString());
 
             log.info("Successfully saved {} functional test configurations", safeSnapshot.getRows().size());
         } catch (IOException e) {
@@ -102,7 +105,6 @@ public class FunctionalPersistenceService {
      * 通过ID从集合中获取最新的请求配置，确保与集合保持同步
      */
     public FunctionalConfigSnapshot loadSnapshot() {
-        List<FunctionalConfigRow> rows = new ArrayList<>();
         Path configPath = getConfigFilePath();
         File file = configPath.toFile();
 
@@ -120,22 +122,9 @@ public class FunctionalPersistenceService {
                 return FunctionalConfigSnapshot.empty();
             }
 
-            if (fileSizeInBytes == 0) {
-                return FunctionalConfigSnapshot.empty();
-            }
-
-            // 读取文件
-            String jsonString = Files.readString(configPath, StandardCharsets.UTF_8);
-            if (jsonString.trim().isEmpty()) {
-                return FunctionalConfigSnapshot.empty();
-            }
-
-            JSONObject root = JSONUtil.parseObj(jsonString);
-            JSONArray jsonArray = root.getJSONArray("rows");
-            rows.addAll(deserializeRows(jsonArray));
-
-            log.info("Successfully loaded {} functional test configurations", rows.size());
-            return new FunctionalConfigSnapshot(rows, deserializeCsvState(root.getJSONObject("csvState")));
+            FunctionalConfigSnapshot snapshot = readSnapshot(configPath);
+            log.info("Successfully loaded {} functional test configurations", snapshot.getRows().size());
+            return snapshot;
 
         } catch (Exception e) {
             log.error("Failed to load functional test config: {}", e.getMessage(), e);
@@ -145,6 +134,21 @@ public class FunctionalPersistenceService {
         return FunctionalConfigSnapshot.empty();
     }
 
+    /**
+     * 读取指定的功能测试配置文件，不做大小限制和损坏文件清理，供命令行等只读场景使用
+     */
+    public FunctionalConfigSnapshot readSnapshot(Path configPath) throws IOException {
+        String jsonString = Files.readString(configPath, StandardCharsets.UTF_8);
+        if (jsonString.trim().isEmpty()) {
+            return FunctionalConfigSnapshot.empty();
+        }
+
+        JSONObject root = JSONUtil.parseObj(jsonString);
+        List<FunctionalConfigRow> rows = deserializeRows(root.getJSONArray("rows"));
+        return new FunctionalConfigSnapshot(rows, deserializeCsvState(root.getJSONObject("csvState")),
+                root.getInt("concurrency", 1));
+    }
+
     /**
      * 清空配置
      */
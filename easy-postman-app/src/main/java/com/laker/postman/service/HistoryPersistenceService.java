@@ -8,6 +8,7 @@ import com.laker.postman.request.model.HttpHeader;
 import com.laker.postman.request.model.HttpParam;
 import com.laker.postman.request.model.HttpFormData;
 import com.laker.postman.request.model.HttpFormUrlencoded;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 
 
 import cn.hutool.json.JSONArray;
@@ -16,6 +17,7 @@ import cn.hutool.json.JSONUtil;
 import com.laker.postman.common.constants.ConfigPathConstants;
 import com.laker.postman.ioc.Component;
 import com.laker.postman.ioc.PostConstruct;
+import com.laker.postman.service.search.SearchIndexService;
 import com.laker.postman.service.setting.SettingManager;
 import com.laker.postman.util.SystemUtil;
 import lombok.extern.slf4j.Slf4j;
@@ -71,11 +73,13 @@ public class HistoryPersistenceService {
     public RequestHistoryItem addHistory(PreparedRequest request, HttpResponse response, long requestTime) {
         RequestHistoryItem item = new RequestHistoryItem(request, response, requestTime);
         historyItems.add(0, item); // 添加到开头
+        SearchIndexService searchIndex = SearchIndexService.getInstance();
+        searchIndex.onHistoryAdded(item);
 
         // 限制历史记录数量
         int maxCount = SettingManager.getMaxHistoryCount();
         while (historyItems.size() > maxCount) {
-            historyItems.remove(historyItems.size() - 1);
+            searchIndex.onHistoryRemoved(historyItems.remove(historyItems.size() - 1));
         }
 
         // 异步保存
@@ -95,6 +99,7 @@ public class HistoryPersistenceService {
      */
     public void clearHistory() {
         historyItems.clear();
+        SearchIndexService.getInstance().onHistoryCleared();
         saveHistoryAsync();
     }
 
@@ -106,6 +111,7 @@ public class HistoryPersistenceService {
             return;
         }
         if (historyItems.remove(item)) {
+            SearchIndexService.getInstance().onHistoryRemoved(item);
             saveHistoryAsync();
         }
     }
@@ -296,6 +302,7 @@ public class HistoryPersistenceService {
         requestJson.set("sslVerificationEnabled", request.sslVerificationEnabled);
         requestJson.set("httpVersion", request.httpVersion);
         requestJson.set("requestTimeoutMs", request.requestTimeoutMs);
+        requestJson.set("requestBodyCompression", request.requestBodyCompression);
         requestJson.set("collectBasicInfo", request.collectBasicInfo);
         requestJson.set("collectEventInfo", request.collectEventInfo);
         requestJson.set("enableNetworkLog", request.enableNetworkLog);
@@ -412,6 +419,7 @@ public class HistoryPersistenceService {
         request.sslVerificationEnabled = requestJson.getBool("sslVerificationEnabled", false);
         request.httpVersion = requestJson.getStr("httpVersion");
         request.requestTimeoutMs = requestJson.getInt("requestTimeoutMs", 0);
+        request.requestBodyCompression = HttpRequestBodyCompressions.normalize(requestJson.getStr("requestBodyCompression"));
         request.collectBasicInfo = requestJson.getBool("collectBasicInfo", true);
         request.collectEventInfo = requestJson.getBool("collectEventInfo", true);
         request.enableNetworkLog = requestJson.getBool("enableNetworkLog", false);
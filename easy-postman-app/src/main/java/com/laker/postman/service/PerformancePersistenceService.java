@@ -8,6 +8,7 @@ import com.laker.postman.model.Workspace;
 import com.laker.postman.performance.plan.PerformancePlanConfiguration;
 import com.laker.postman.performance.plan.PerformancePlanStorage;
 import com.laker.postman.performance.plan.PerformancePlanWorkspace;
+import com.laker.postman.plugin.host.GitServiceAccess;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
@@ -58,15 +59,21 @@ public class PerformancePersistenceService {
 
     private void saveConfiguration(Path configPath, PerformancePlanConfiguration configuration) {
         planStorage.saveConfiguration(configPath, configuration);
+        GitServiceAccess.notifyFileSaved(configPath.toString());
     }
 
     public void saveWorkspace(PerformancePlanWorkspace workspace) {
-        planStorage.saveWorkspace(getConfigFilePath(), workspace);
+        saveWorkspace(getConfigFilePath(), workspace);
     }
 
     public void saveWorkspaceAsync(PerformancePlanWorkspace workspace) {
         Path configPath = getConfigFilePath();
-        saveExecutor.execute(() -> planStorage.saveWorkspace(configPath, workspace));
+        saveExecutor.execute(() -> saveWorkspace(configPath, workspace));
+    }
+
+    private void saveWorkspace(Path configPath, PerformancePlanWorkspace workspace) {
+        planStorage.saveWorkspace(configPath, workspace);
+        GitServiceAccess.notifyFileSaved(configPath.toString());
     }
 
     public PerformancePlanConfiguration loadConfiguration() {
@@ -182,6 +182,10 @@ public class WorkspaceService {
         if (WorkspaceStorageUtil.isDefaultWorkspace(workspace)) {
             throw new IllegalArgumentException("Default workspace cannot be deleted");
         }
+        if (workspace.getType() == WorkspaceType.GIT && GitServiceAccess.isServiceAvailable()) {
+            // 先释放缓存的仓库句柄，避免删除目录时文件仍被占用
+            requireGitService().releaseWorkspace(workspace);
+        }
         // 删除工作区文件
         Path workspacePath = Paths.get(workspace.getPath());
         if (Files.exists(workspacePath)) {
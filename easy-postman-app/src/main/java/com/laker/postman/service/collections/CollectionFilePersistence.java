@@ -1,6 +1,7 @@
 package com.laker.postman.service.collections;
 
 import com.laker.postman.collection.model.CollectionDocument;
+import com.laker.postman.plugin.host.GitServiceAccess;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
@@ -78,6 +79,7 @@ public class CollectionFilePersistence {
 
     private void saveIgnoringLoadGuard(CollectionDocument document) throws IOException {
         CollectionDocumentJsonCodec.write(new File(filePath), document);
+        GitServiceAccess.notifyFileSaved(filePath);
     }
 
     private CollectionDocument defaultDocument(Supplier<CollectionDocument> defaultDocumentSupplier) {
@@ -1,16 +1,13 @@
 package com.laker.postman.service.collections;
 
 import com.laker.postman.collection.CollectionInheritance;
-import com.laker.postman.collection.model.CollectionRequestContext;
-import com.laker.postman.collection.model.RequestGroup;
+import com.laker.postman.collection.model.InheritedGroupSettings;
 import com.laker.postman.request.model.HttpRequestItem;
 import com.laker.postman.service.variable.RequestExecutionContext;
 import com.laker.postman.service.variable.RequestExecutionScope;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
-
 /**
  * Collection 继承应用服务。
  *
@@ -45,33 +42,38 @@ public class InheritanceService {
         }
 
         try {
-            List<RequestGroup> groupChain = findGroupChain(item.getId());
-            refreshExecutionScope(groupChain);
-            if (groupChain.isEmpty()) {
+            InheritedGroupSettings settings = findInheritedSettings(item.getId());
+            refreshExecutionScope(settings);
+            if (settings.groupChain().isEmpty()) {
                 log.trace("请求 [{}] 不在 Collections 树中或无父分组，使用原始配置", item.getName());
                 return item;
             }
 
             log.debug("为请求 [{}] 应用分组继承", item.getName());
-            return CollectionInheritance.apply(item, groupChain);
+            return CollectionInheritance.apply(item, settings);
         } catch (Exception e) {
             log.debug("应用继承时发生异常（将使用原始配置）: {}", e.getMessage());
             return item;
         }
     }
 
-    private List<RequestGroup> findGroupChain(String requestId) {
+    /**
+     * 优先使用索引预先合并好的分组配置，没有时按分组链现算
+     */
+    private InheritedGroupSettings findInheritedSettings(String requestId) {
         if (requestId == null || requestId.trim().isEmpty()) {
-            return List.of();
+            return InheritedGroupSettings.EMPTY;
         }
         return requestRepository.findRequestContextById(requestId)
-                .map(CollectionRequestContext::getGroupChain)
-                .orElseGet(List::of);
+                .map(context -> context.getInheritedSettings() != null
+                        ? context.getInheritedSettings()
+                        : CollectionInheritance.resolve(context.getGroupChain()))
+                .orElse(InheritedGroupSettings.EMPTY);
     }
 
-    private void refreshExecutionScope(List<RequestGroup> groupChain) {
+    private void refreshExecutionScope(InheritedGroupSettings settings) {
         RequestExecutionContext.setCurrentScope(RequestExecutionScope.fromVariables(
-                CollectionInheritance.mergeGroupVariables(groupChain)
+                settings.variables()
         ));
     }
 }
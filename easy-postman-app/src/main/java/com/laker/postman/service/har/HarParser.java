@@ -10,14 +10,18 @@ import com.laker.postman.request.model.HttpRequestItem;
 import cn.hutool.core.lang.Pair;
 import cn.hutool.json.JSONArray;
 import cn.hutool.json.JSONObject;
-import cn.hutool.json.JSONUtil;
+import com.laker.postman.collection.importer.ImportFilter;
+import com.laker.postman.collection.importer.ImportProgressListener;
+import com.laker.postman.collection.importer.JsonImportStream;
 import com.laker.postman.service.collections.CollectionTreeNodes;
 import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JsonToken;
 
 import javax.swing.tree.DefaultMutableTreeNode;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
@@ -50,61 +54,172 @@ public class HarParser {
      * @return 集合根节点，如果解析失败返回 null
      */
     public static DefaultMutableTreeNode parseHar(String json) {
-        try {
-            JSONObject harRoot = JSONUtil.parseObj(json);
-            if (!harRoot.containsKey("log")) {
-                log.error("HAR文件格式错误：缺少 log 字段");
-                return null;
-            }
+        try (JsonImportStream stream = JsonImportStream.of(json, ImportProgressListener.NONE)) {
+            return parseHar(stream, ImportFilter.all());
+        } catch (Exception e) {
+            log.error("解析HAR文件失败", e);
+            return null;
+        }
+    }
+
+    /**
+     * 流式解析 HAR 文件，逐个 entry 转换并加入集合节点，不把整个文件读入内存。
+     * 响应部分只在需要按 MIME 类型过滤时读取 content.mimeType，响应体始终跳过
+     *
+     * @param file     HAR 文件
+     * @param filter   请求过滤条件
+     * @param listener 进度回调
+     * @return 集合根节点，如果解析失败返回 null
+     */
+    public static DefaultMutableTreeNode parseHar(Path file, ImportFilter filter, ImportProgressListener listener) {
+        try (JsonImportStream stream = JsonImportStream.open(file, listener)) {
+            return parseHar(stream, filter == null ? ImportFilter.all() : filter);
+        } catch (Exception e) {
+            log.error("解析HAR文件失败: {}", file, e);
+            return null;
+        }
+    }
+
+    private static DefaultMutableTreeNode parseHar(JsonImportStream stream, ImportFilter filter) {
+        if (stream.nextToken() != JsonToken.START_OBJECT) {
+            log.error("HAR文件格式错误：根节点不是对象");
+            return null;
+        }
 
-            JSONObject logObj = harRoot.getJSONObject("log");
-            String version = logObj.getStr("version", "");
-            if (!"1.2".equals(version)) {
-                log.warn("HAR版本不是1.2，当前版本: {}", version);
+        DefaultMutableTreeNode collectionNode = null;
+        String name;
+        while ((name = stream.nextProperty()) != null) {
+            if ("log".equals(name) && stream.isStartObject()) {
+                collectionNode = readLog(stream, filter);
+            } else {
+                stream.skipValue();
             }
+        }
+        if (collectionNode == null) {
+            log.error("HAR文件格式错误：缺少 log 字段");
+        }
+        return collectionNode;
+    }
 
-            // 创建分组节点
-            String groupName = "HAR Import " + System.currentTimeMillis();
-            RequestGroup collectionGroup = new RequestGroup(groupName);
-            DefaultMutableTreeNode collectionNode = CollectionTreeNodes.groupNode(collectionGroup);
+    private static DefaultMutableTreeNode readLog(JsonImportStream stream, ImportFilter filter) {
+        // 创建分组节点
+        String groupName = "HAR Import " + System.currentTimeMillis();
+        RequestGroup collectionGroup = new RequestGroup(groupName);
+        DefaultMutableTreeNode collectionNode = CollectionTreeNodes.groupNode(collectionGroup);
 
-            // 解析 entries
-            JSONArray entries = logObj.getJSONArray("entries");
-            if (entries == null || entries.isEmpty()) {
-                log.warn("HAR文件中没有请求条目");
-                return collectionNode;
+        int requestCount = 0;
+        boolean hasEntries = false;
+        String name;
+        while ((name = stream.nextProperty()) != null) {
+            if ("version".equals(name)) {
+                String version = stream.readString();
+                if (!"1.2".equals(version)) {
+                    log.warn("HAR版本不是1.2，当前版本: {}", version);
+                }
+            } else if ("entries".equals(name) && stream.isStartArray()) {
+                // 逐个解析 entry
+                JsonToken token;
+                while ((token = stream.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    hasEntries = true;
+                    if (!stream.isStartObject()) {
+                        stream.skipValue();
+                        continue;
+                    }
+                    HttpRequestItem requestItem = readEntry(stream, filter);
+                    if (requestItem != null) {
+                        collectionNode.add(CollectionTreeNodes.requestNode(requestItem));
+                        requestCount++;
+                        stream.reportProgress(requestCount);
+                    }
+                }
+            } else {
+                stream.skipValue();
             }
+        }
 
-            // 遍历所有条目
-            for (Object entryObj : entries) {
-                JSONObject entry = (JSONObject) entryObj;
-                HttpRequestItem requestItem = parseHarEntry(entry);
-                if (requestItem != null) {
-                    collectionNode.add(CollectionTreeNodes.requestNode(requestItem));
+        if (!hasEntries) {
+            log.warn("HAR文件中没有请求条目");
+        }
+        stream.reportDone(requestCount);
+        return collectionNode;
+    }
+
+    /**
+     * 读取单个 entry，只保留 request 和 comment；被过滤掉的 entry 返回 null
+     */
+    private static HttpRequestItem readEntry(JsonImportStream stream, ImportFilter filter) {
+        JSONObject request = null;
+        String comment = "";
+        String mimeType = null;
+        boolean accepted = true;
+        String name;
+        while ((name = stream.nextProperty()) != null) {
+            switch (name) {
+                case "request" -> {
+                    request = stream.readObject();
+                    accepted = request != null
+                            && filter.acceptsRequest(request.getStr("method", "GET"), request.getStr("url", ""));
+                }
+                case "comment" -> {
+                    String value = stream.readString();
+                    comment = value == null ? "" : value;
                 }
+                case "response" -> {
+                    if (accepted && filter.hasMimeTypeFilter()) {
+                        mimeType = readResponseMimeType(stream);
+                    } else {
+                        stream.skipValue();
+                    }
+                }
+                default -> stream.skipValue();
             }
+        }
 
-            return collectionNode;
-        } catch (Exception e) {
-            log.error("解析HAR文件失败", e);
+        if (request == null) {
+            log.warn("HAR entry 缺少 request 字段");
             return null;
         }
+        if (!accepted || !filter.acceptsMimeType(mimeType)) {
+            return null;
+        }
+        return parseHarEntry(request, comment);
     }
 
     /**
-     * 解析单个 HAR entry 为 HttpRequestItem
+     * 从 response 中只读取 content.mimeType，其余（包括响应体）全部跳过
      */
-    private static HttpRequestItem parseHarEntry(JSONObject entry) {
+    private static String readResponseMimeType(JsonImportStream stream) {
+        if (!stream.isStartObject()) {
+            stream.skipValue();
+            return null;
+        }
+        String mimeType = null;
+        String name;
+        while ((name = stream.nextProperty()) != null) {
+            if ("content".equals(name) && stream.isStartObject()) {
+                String field;
+                while ((field = stream.nextProperty()) != null) {
+                    if ("mimeType".equals(field)) {
+                        mimeType = stream.readString();
+                    } else {
+                        stream.skipValue();
+                    }
+                }
+            } else {
+                stream.skipValue();
+            }
+        }
+        return mimeType;
+    }
+
+    /**
+     * 解析单个 HAR entry 的 request 为 HttpRequestItem
+     */
+    private static HttpRequestItem parseHarEntry(JSONObject request, String comment) {
         try {
             HttpRequestItem req = new HttpRequestItem();
             req.setId(UUID.randomUUID().toString());
 
-            JSONObject request = entry.getJSONObject("request");
-            if (request == null) {
-                log.warn("HAR entry 缺少 request 字段");
-                return null;
-            }
-
             // 方法
             req.setMethod(request.getStr("method", "GET"));
 
@@ -117,7 +232,6 @@ public class HarParser {
             req.setUrl(url);
 
             // 请求名称（从 comment 或 URL 提取）
-            String comment = entry.getStr("comment", "");
             if (!comment.isEmpty()) {
                 req.setName(comment);
             } else {
@@ -4,19 +4,24 @@ import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.Value;
 
 import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * JS Context 对象池
  * <p>
  * 通过复用 GraalVM Context 对象来提升性能，避免频繁创建和销毁 Context。
- * 使用 IIFE (Immediately Invoked Function Expression) 包装用户脚本，实现变量隔离，
- * 避免 let/const 变量污染全局作用域，使 Context 可以安全复用。
+ * 用户脚本被包装成以 pm/request 等绑定为参数的函数，实现变量隔离，
+ * 避免 let/const 变量污染全局作用域，使 Context 可以安全复用；
+ * 编译出的函数缓存在各自的 Context 里，重复执行同一脚本时直接调用。
  * </p>
  *
  * <h3>原理：</h3>
@@ -26,10 +31,10 @@ import java.util.concurrent.atomic.AtomicInteger;
  *   console.log(env);
  *
  * 自动包装为：
- *   (function() {
+ *   (function(pm, request) {
  *     let env = "test";  // 局部变量，不污染全局作用域
  *     console.log(env);
- *   })();
+ *   })
  * </pre>
  *
  * @author laker
@@ -54,9 +59,26 @@ public class JsContextPool {
      * 包装的 Context 对象，带有统计信息
      */
     public static class PooledContext {
+        private static final int COMPILED_SCRIPT_CACHE_MAX_SIZE = 128;
+
         final Context context;
         final long createdTime;
         final AtomicInteger useCount = new AtomicInteger(0);
+        /**
+         * 在当前 Context 中编译好的脚本函数。Value 只能在所属 Context 内调用，因此按 Context 缓存；
+         * 同一时刻只有借出它的线程会访问，不需要加锁。
+         */
+        private final Map<Object, Value> compiledScripts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Value> eldest) {
+                return size() > COMPILED_SCRIPT_CACHE_MAX_SIZE;
+            }
+        };
+        /**
+         * console.* 只在第一次需要输出时安装一次，之后每次执行只切换转发目标。
+         */
+        volatile JsScriptExecutor.OutputCallback consoleTarget;
+        boolean consoleInstalled;
 
         PooledContext(Context context) {
             this.context = context;
@@ -68,6 +90,19 @@ public class JsContextPool {
             return context;
         }
 
+        Value compiledScript(Object key, Function<Context, Value> compiler) {
+            Value compiled = compiledScripts.get(key);
+            if (compiled == null) {
+                compiled = compiler.apply(context);
+                compiledScripts.put(key, compiled);
+            }
+            return compiled;
+        }
+
+        int compiledScriptCount() {
+            return compiledScripts.size();
+        }
+
         public void close() {
             try {
                 context.close();
@@ -241,7 +276,7 @@ public class JsContextPool {
     /**
      * 清理脚本执行期间新增的全局变量。
      * <p>
-     * 注意：由于用户脚本使用 IIFE 包装，let/const 变量都是局部变量，
+     * 注意：由于用户脚本使用函数包装，let/const 变量都是局部变量，
      * 这里主要处理显式写到 globalThis 的变量和我们注入的变量（pm）。
      * </p>
      */
@@ -6,10 +6,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * JS脚本执行器，使用GraalVM的Polyglot API执行JavaScript脚本。
@@ -35,16 +39,25 @@ public class JsScriptExecutor {
     private static volatile int contextAcquireTimeoutMs; // 获取 Context 超时时间
     private static final Object CONTEXT_POOL_LOCK = new Object();
     private static final int SCRIPT_SOURCE_CACHE_MAX_SIZE = 512;
-    private static final Map<String, Source> SCRIPT_SOURCE_CACHE = new LinkedHashMap<>(
+    private static final Map<ScriptSignature, Source> SCRIPT_SOURCE_CACHE = new LinkedHashMap<>(
             SCRIPT_SOURCE_CACHE_MAX_SIZE,
             0.75f,
             true
     ) {
         @Override
-        protected boolean removeEldestEntry(Map.Entry<String, Source> eldest) {
+        protected boolean removeEldestEntry(Map.Entry<ScriptSignature, Source> eldest) {
             return size() > SCRIPT_SOURCE_CACHE_MAX_SIZE;
         }
     };
+    private static final Pattern JS_IDENTIFIER = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+    static final Set<String> JS_RESERVED_WORDS = Set.of(
+            "break", "case", "catch", "class", "const", "continue", "debugger", "default", "delete", "do",
+            "else", "enum", "export", "extends", "false", "finally", "for", "function", "if", "import", "in",
+            "instanceof", "new", "null", "return", "super", "switch", "this", "throw", "true", "try", "typeof",
+            "var", "void", "while", "with", "yield", "let", "static", "await", "arguments", "eval"
+    );
+
+    private static final ScriptPathStats SHARED_PATH_STATS = new ScriptPathStats();
 
     /**
      * ThreadLocal 存储当前正在执行的原始脚本，用于错误报告
@@ -59,17 +72,19 @@ public class JsScriptExecutor {
     public static final class PooledScriptExecutor implements ScriptExecutor, AutoCloseable {
         private final JsContextPool pool;
         private final int acquireTimeoutMs;
-        private final Map<String, Source> scriptSourceCache = new LinkedHashMap<>(
+        private final Map<ScriptSignature, Source> scriptSourceCache = new LinkedHashMap<>(
                 SCRIPT_SOURCE_CACHE_MAX_SIZE,
                 0.75f,
                 true
         ) {
             @Override
-            protected boolean removeEldestEntry(Map.Entry<String, Source> eldest) {
+            protected boolean removeEldestEntry(Map.Entry<ScriptSignature, Source> eldest) {
                 return size() > SCRIPT_SOURCE_CACHE_MAX_SIZE;
             }
         };
 
+        private final ScriptPathStats pathStats = new ScriptPathStats();
+
         public PooledScriptExecutor(int poolSize, int acquireTimeoutMs) {
             this.pool = new JsContextPool(Math.max(1, poolSize));
             this.acquireTimeoutMs = Math.max(1, acquireTimeoutMs);
@@ -77,11 +92,23 @@ public class JsScriptExecutor {
 
         @Override
         public void execute(ScriptExecutionContext context) throws ScriptExecutionException {
-            executeScript(context, pool, acquireTimeoutMs, scriptSourceCache);
+            executeScript(context, pool, acquireTimeoutMs, scriptSourceCache, pathStats);
+        }
+
+        /**
+         * 本次运行的脚本执行路径计数
+         */
+        public ScriptPathStats.Snapshot pathStats() {
+            return pathStats.snapshot();
         }
 
         @Override
         public void close() {
+            ScriptPathStats.Snapshot stats = pathStats.snapshot();
+            if (stats.nativeScripts() + stats.javascriptScripts() > 0) {
+                log.info("Script execution paths for run: native={}, javascript={}, nativeFallback={}",
+                        stats.nativeScripts(), stats.javascriptScripts(), stats.nativeFallbacks());
+            }
             pool.shutdown();
             synchronized (scriptSourceCache) {
                 scriptSourceCache.clear();
@@ -128,18 +155,34 @@ public class JsScriptExecutor {
      * @throws ScriptExecutionException 脚本执行异常
      */
     public static void executeScript(ScriptExecutionContext context) throws ScriptExecutionException {
-        executeScript(context, null, 0, SCRIPT_SOURCE_CACHE);
+        executeScript(context, null, 0, SCRIPT_SOURCE_CACHE, SHARED_PATH_STATS);
+    }
+
+    /**
+     * 共享执行器（普通 GUI / Collection 运行）的脚本执行路径计数
+     */
+    public static ScriptPathStats sharedPathStats() {
+        return SHARED_PATH_STATS;
     }
 
     private static void executeScript(ScriptExecutionContext context,
                                       JsContextPool pool,
                                       int acquireTimeoutMs,
-                                      Map<String, Source> scriptSourceCache) throws ScriptExecutionException {
+                                      Map<ScriptSignature, Source> scriptSourceCache,
+                                      ScriptPathStats pathStats) throws ScriptExecutionException {
         if (context == null || context.getScript() == null || context.getScript().isBlank()) {
             log.debug("Script is empty, skipping execution");
             return;
         }
 
+        // 常见的 pm.test / pm.expect / 变量写入样板脚本直接用 Java 执行，不借用 Context
+        NativeScript.Outcome outcome = NativeScript.tryExecute(context.getScript(), context.getBindings());
+        pathStats.record(outcome);
+        if (outcome == NativeScript.Outcome.EXECUTED) {
+            log.debug("Script executed natively: {}", context.getScriptType().getDisplayName());
+            return;
+        }
+
         try {
             executeScript(
                     context.getScript(),
@@ -162,8 +205,8 @@ public class JsScriptExecutor {
      * 执行JS脚本，自动注入所有变量、polyfill，并支持输出回调。
      * <p>
      * 使用 Context Pool 复用 Context 对象，提高性能并避免内存溢出。
-     * 使用 IIFE (Immediately Invoked Function Expression) 包装用户脚本，
-     * 避免 let/const 变量污染全局作用域，使 Context 可以安全复用。
+     * 用户脚本被编译成以绑定变量为参数的函数，并缓存在借出的 Context 里；
+     * 再次执行同一脚本时直接以本次的绑定值调用该函数，不再重新 eval，也不往全局作用域写变量。
      * </p>
      *
      * @param script         脚本内容
@@ -181,7 +224,7 @@ public class JsScriptExecutor {
                                       OutputCallback outputCallback,
                                       JsContextPool pool,
                                       int acquireTimeoutMs,
-                                      Map<String, Source> scriptSourceCache)
+                                      Map<ScriptSignature, Source> scriptSourceCache)
             throws ScriptExecutionException {
         if (script == null || script.isBlank()) {
             return;
@@ -213,15 +256,16 @@ public class JsScriptExecutor {
             }
             Context context = pooledContext.getContext();
 
-            // 注入输出回调（如果有）
-            if (outputCallback != null) {
-                injectConsoleLog(context, outputCallback);
-            }
+            // 切换 console 输出目标（console 方法每个 Context 只安装一次）
+            bindConsole(pooledContext, outputCallback);
 
-            // 注入变量（polyfill 已在池创建时注入）
-            injectBindings(context, bindings);
+            // 绑定变量作为函数参数传入；无法作为参数名的变量仍写到全局（polyfill 已在池创建时注入）
+            ScriptSignature signature = ScriptSignature.of(script, bindings);
+            injectGlobalBindings(context, bindings, signature);
 
-            context.eval(getCachedScriptSource(script, scriptSourceCache));
+            Value function = pooledContext.compiledScript(signature,
+                    ctx -> ctx.eval(getCachedScriptSource(signature, scriptSourceCache)));
+            function.executeVoid(signature.arguments(bindings));
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -243,6 +287,7 @@ public class JsScriptExecutor {
 
             // 归还 Context 到池中
             if (pooledContext != null) {
+                pooledContext.consoleTarget = null;
                 borrowedPool.returnContext(pooledContext);
             }
         }
@@ -259,47 +304,50 @@ public class JsScriptExecutor {
 
     /**
      * 用户脚本在包装后的起始行号偏移量
-     * IIFE 包装器会添加一行: (function() {
+     * 函数包装会添加一行: (function(pm, request, ...) {
      * 因此用户脚本从第 2 行开始
      */
     private static final int USER_SCRIPT_LINE_OFFSET = 1;
 
     /**
-     * 使用 IIFE 包装脚本，避免 let/const 变量污染全局作用域
+     * 把脚本包装成以绑定变量为参数的函数表达式，避免 let/const 变量污染全局作用域
      * <p>
-     * 原理：将用户脚本包装在一个立即执行的函数中，
-     * 使所有 let/const/var 声明的变量都成为局部变量。
+     * 原理：eval 这段代码只得到一个函数对象，不会执行用户脚本；
+     * 用户脚本里 let/const/var 声明的变量都是函数局部变量，pm 等绑定是函数参数。
      * </p>
      * <p>
      * 包装格式：
-     * 第1行: (function() {
+     * 第1行: (function(pm, request) {
      * 第2行开始: 用户脚本
-     * 最后: })();
+     * 最后: })
      * </p>
      *
-     * @param script 原始脚本
+     * @param script         原始脚本
+     * @param parameterNames 参数名（已排序）
      * @return 包装后的脚本
      */
-    private static String wrapScriptWithIIFE(String script) {
-        return "(function() {\n" + script + "\n})();";
+    private static String wrapScriptAsFunction(String script, List<String> parameterNames) {
+        return "(function(" + String.join(", ", parameterNames) + ") {\n" + script + "\n})";
     }
 
     private static Source getCachedScriptSource(String script) {
-        return getCachedScriptSource(script, SCRIPT_SOURCE_CACHE);
+        return getCachedScriptSource(new ScriptSignature(script, List.of()), SCRIPT_SOURCE_CACHE);
     }
 
-    private static Source getCachedScriptSource(String script, Map<String, Source> scriptSourceCache) {
-        Map<String, Source> resolvedCache = scriptSourceCache == null ? SCRIPT_SOURCE_CACHE : scriptSourceCache;
+    private static Source getCachedScriptSource(ScriptSignature signature, Map<ScriptSignature, Source> scriptSourceCache) {
+        Map<ScriptSignature, Source> resolvedCache = scriptSourceCache == null ? SCRIPT_SOURCE_CACHE : scriptSourceCache;
         synchronized (resolvedCache) {
-            Source source = resolvedCache.get(script);
+            Source source = resolvedCache.get(signature);
             if (source != null) {
                 return source;
             }
 
-            Source newSource = Source.newBuilder("js", wrapScriptWithIIFE(script), buildSourceName(script))
+            String script = signature.script();
+            Source newSource = Source.newBuilder("js", wrapScriptAsFunction(script, signature.parameterNames()),
+                            buildSourceName(script))
                     .cached(true)
                     .buildLiteral();
-            resolvedCache.put(script, newSource);
+            resolvedCache.put(signature, newSource);
             return newSource;
         }
     }
@@ -309,14 +357,21 @@ public class JsScriptExecutor {
     }
 
     /**
-     * 注入自定义的 console 方法实现（使用 Java 回调）
-     * 支持 console.log, console.error, console.warn, console.info, console.debug
+     * 设置本次执行的 console 输出目标。
+     * <p>
+     * 第一次需要输出时才给该 Context 安装自定义的 console 方法（使用 Java 回调），
+     * 之后每次执行只切换 {@link JsContextPool.PooledContext#consoleTarget}。
+     * 支持 console.log, console.error, console.warn, console.info, console.debug；
+     * 没有输出目标时回落到 Context 原本的 console 实现。
+     * </p>
      */
-    private static void injectConsoleLog(Context context, OutputCallback outputCallback) {
-        if (outputCallback == null) {
+    private static void bindConsole(JsContextPool.PooledContext pooledContext, OutputCallback outputCallback) {
+        pooledContext.consoleTarget = outputCallback;
+        if (outputCallback == null || pooledContext.consoleInstalled) {
             return;
         }
 
+        Context context = pooledContext.context;
         // 确保 console 对象存在
         context.eval("js", """
                 if (typeof console === 'undefined') {
@@ -327,19 +382,32 @@ public class JsScriptExecutor {
         // 批量注入所有 console 方法
         var consoleObj = context.getBindings("js").getMember("console");
         for (ConsoleType type : ConsoleType.values()) {
-            consoleObj.putMember(type.getMethodName(), createConsoleFunc(outputCallback, type));
+            Value original = consoleObj.getMember(type.getMethodName());
+            consoleObj.putMember(type.getMethodName(), createConsoleFunc(pooledContext, type,
+                    original != null && original.canExecute() ? original : null));
         }
+        pooledContext.consoleInstalled = true;
     }
 
     /**
      * 创建 console 方法的 ProxyExecutable
      *
-     * @param callback    输出回调
-     * @param consoleType Console 方法类型
+     * @param pooledContext 所属的池化 Context，输出时读取其当前输出目标
+     * @param consoleType   Console 方法类型
+     * @param original      安装前的 console 方法（可为null）
      * @return ProxyExecutable 实例
      */
-    private static ProxyExecutable createConsoleFunc(OutputCallback callback, ConsoleType consoleType) {
+    private static ProxyExecutable createConsoleFunc(JsContextPool.PooledContext pooledContext,
+                                                     ConsoleType consoleType,
+                                                     Value original) {
         return args -> {
+            OutputCallback callback = pooledContext.consoleTarget;
+            if (callback == null) {
+                if (original != null) {
+                    original.executeVoid((Object[]) args);
+                }
+                return null;
+            }
             if (args.length > 0) {
                 StringBuilder sb = new StringBuilder();
                 for (int i = 0; i < args.length; i++) {
@@ -356,7 +424,7 @@ public class JsScriptExecutor {
     /**
      * 格式化Polyglot异常信息
      * <p>
-     * 注意：由于脚本可能被 Group/Request 合并，以及 IIFE 包装，
+     * 注意：由于脚本可能被 Group/Request 合并，以及函数包装，
      * 行号可能不准确。因此主要依赖显示错误代码内容来帮助定位问题。
      */
     private static String formatPolyglotError(PolyglotException e) {
@@ -409,11 +477,20 @@ public class JsScriptExecutor {
     }
 
     /**
-     * 注入变量到JS上下文
+     * 把不能作为函数参数传入的变量注入到全局作用域。
+     * <p>
+     * 变量名不是合法标识符时只能通过全局对象访问；另外 require 进来的模块不在用户函数的作用域内，
+     * 脚本使用 require 时额外把 pm 写到全局，兼容模块里直接引用 pm 的写法（归还 Context 时会清理）。
+     * </p>
      */
-    private static void injectBindings(Context context, Map<String, Object> bindings) {
+    private static void injectGlobalBindings(Context context, Map<String, Object> bindings, ScriptSignature signature) {
         if (bindings != null && !bindings.isEmpty()) {
+            boolean exposePm = signature.script().contains("require");
             for (var entry : bindings.entrySet()) {
+                if (signature.parameterNames().contains(entry.getKey())
+                        && !(exposePm && "pm".equals(entry.getKey()))) {
+                    continue;
+                }
                 try {
                     context.getBindings("js").putMember(entry.getKey(), entry.getValue());
                     log.trace("Injected binding: {}", entry.getKey());
@@ -424,6 +501,36 @@ public class JsScriptExecutor {
         }
     }
 
+    /**
+     * 编译缓存的键：同一脚本在不同参数列表下编译出的函数不同
+     *
+     * @param script         原始脚本
+     * @param parameterNames 作为函数参数传入的绑定变量名（已排序）
+     */
+    record ScriptSignature(String script, List<String> parameterNames) {
+
+        static ScriptSignature of(String script, Map<String, Object> bindings) {
+            if (bindings == null || bindings.isEmpty()) {
+                return new ScriptSignature(script, List.of());
+            }
+            List<String> names = bindings.keySet().stream()
+                    .filter(name -> name != null
+                            && JS_IDENTIFIER.matcher(name).matches()
+                            && !JS_RESERVED_WORDS.contains(name))
+                    .sorted()
+                    .toList();
+            return new ScriptSignature(script, names);
+        }
+
+        Object[] arguments(Map<String, Object> bindings) {
+            Object[] arguments = new Object[parameterNames.size()];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = bindings.get(parameterNames.get(i));
+            }
+            return arguments;
+        }
+    }
+
     /**
      * Console 方法类型枚举
      */
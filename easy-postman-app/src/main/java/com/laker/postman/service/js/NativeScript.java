@@ -0,0 +1,342 @@
+package com.laker.postman.service.js;
+
+import com.laker.postman.script.model.TestResult;
+import com.laker.postman.service.js.api.Expectation;
+import com.laker.postman.service.js.api.PostmanApiContext;
+import com.laker.postman.service.js.api.ResponseAssertion;
+import com.laker.postman.service.js.api.ScriptScopedVariablesApi;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 常见断言脚本的原生执行计划。
+ * <p>
+ * 由 {@link NativeScriptParser} 从脚本源码识别出一小部分固定写法（pm.test 包裹的状态码/响应头/pm.expect 断言，
+ * 以及把响应字段写入 pm.environment/pm.globals/pm.variables），直接调用与 JS 路径相同的
+ * {@link ResponseAssertion}、{@link Expectation} 和变量 API，不借用 GraalJS Context。
+ * </p>
+ * <p>
+ * 执行分两步：先只读地求值所有断言和变量值，遇到无法保证与 JS 行为一致的运行期情况
+ * （JSON 路径落在 null 上、数值类型在 JS 里会被转换等）时整体放弃，由调用方回落到 JS；
+ * 全部求值成功后再按脚本顺序写入测试结果和变量。因此回落前不会产生任何副作用。
+ * </p>
+ */
+@Slf4j
+final class NativeScript {
+
+    static final String ENABLED_PROPERTY = "easyPostman.script.nativeFastPath";
+
+    private static final int COMPILED_CACHE_MAX_SIZE = 512;
+    private static final NativeScript UNSUPPORTED = new NativeScript(List.of());
+    private static final Map<String, NativeScript> COMPILED_CACHE = new LinkedHashMap<>(
+            COMPILED_CACHE_MAX_SIZE,
+            0.75f,
+            true
+    ) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NativeScript> eldest) {
+            return size() > COMPILED_CACHE_MAX_SIZE;
+        }
+    };
+
+    enum Outcome {
+        /**
+         * 原生路径执行完毕
+         */
+        EXECUTED,
+        /**
+         * 脚本不在可识别的子集内
+         */
+        NOT_APPLICABLE,
+        /**
+         * 脚本可识别，但本次响应数据需要交给 JS 处理
+         */
+        FELL_BACK
+    }
+
+    private final List<Step> steps;
+
+    NativeScript(List<Step> steps) {
+        this.steps = List.copyOf(steps);
+    }
+
+    /**
+     * 尝试以原生方式执行脚本；返回 {@link Outcome#EXECUTED} 以外的结果时调用方应继续走 JS。
+     */
+    static Outcome tryExecute(String script, Map<String, Object> bindings) {
+        if (script == null || bindings == null || !isEnabled()
+                || !(bindings.get("pm") instanceof PostmanApiContext pm)) {
+            return Outcome.NOT_APPLICABLE;
+        }
+        NativeScript compiled = compile(script);
+        if (compiled == UNSUPPORTED) {
+            return Outcome.NOT_APPLICABLE;
+        }
+        return compiled.execute(pm) ? Outcome.EXECUTED : Outcome.FELL_BACK;
+    }
+
+    static NativeScript compile(String script) {
+        synchronized (COMPILED_CACHE) {
+            NativeScript cached = COMPILED_CACHE.get(script);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        NativeScript parsed = NativeScriptParser.parse(script);
+        NativeScript compiled = parsed == null ? UNSUPPORTED : parsed;
+        synchronized (COMPILED_CACHE) {
+            COMPILED_CACHE.put(script, compiled);
+        }
+        return compiled;
+    }
+
+    static boolean isSupported(String script) {
+        return compile(script) != UNSUPPORTED;
+    }
+
+    private static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+    }
+
+    boolean execute(PostmanApiContext pm) {
+        if (pm.response == null) {
+            return false;
+        }
+        Evaluation evaluation = new Evaluation(pm);
+        List<Runnable> effects = new ArrayList<>(steps.size());
+        try {
+            for (Step step : steps) {
+                effects.add(step.evaluate(evaluation));
+            }
+        } catch (RuntimeException e) {
+            // 包括 Unsupported 和宿主 API 抛出的非断言异常，它们在 JS 里的表现交给 JS 自己决定
+            log.trace("Native script path fell back to JS: {}", e.getMessage());
+            return false;
+        }
+        effects.forEach(Runnable::run);
+        return true;
+    }
+
+    // ---------------------------------------------------------------- plan
+
+    sealed interface Step permits TestStep, SetStep {
+        Runnable evaluate(Evaluation evaluation);
+    }
+
+    /**
+     * pm.test(name, function () { ... })
+     */
+    record TestStep(String name, List<Assertion> assertions) implements Step {
+        @Override
+        public Runnable evaluate(Evaluation evaluation) {
+            String errorMessage = null;
+            boolean passed = true;
+            try {
+                for (Assertion assertion : assertions) {
+                    assertion.check(evaluation);
+                }
+            } catch (AssertionError e) {
+                passed = false;
+                errorMessage = e.getMessage();
+            }
+            TestResult result = new TestResult(name, passed, errorMessage);
+            result.id = UUID.randomUUID().toString();
+            return () -> evaluation.pm.testResults.add(result);
+        }
+    }
+
+    /**
+     * pm.environment/pm.env/pm.globals/pm.variables.set(key, value)
+     */
+    record SetStep(VariableScope scope, String key, ValueExpr value) implements Step {
+        @Override
+        public Runnable evaluate(Evaluation evaluation) {
+            Object resolved;
+            try {
+                resolved = value.evaluate(evaluation);
+            } catch (AssertionError e) {
+                // 例如响应体不是合法 JSON，JS 路径会以脚本错误结束
+                throw new Unsupported("value evaluation failed");
+            }
+            if (resolved == null) {
+                throw new Unsupported("undefined variable value");
+            }
+            return () -> scope.set(evaluation.pm, key, resolved);
+        }
+    }
+
+    enum VariableScope {
+        ENVIRONMENT, GLOBALS, VARIABLES;
+
+        void set(PostmanApiContext pm, String key, Object value) {
+            // 与 JS 调用时的重载选择一致：字符串走 set(String, String)，其它值走 set(String, Object)
+            if (this == VARIABLES) {
+                if (value instanceof String text) {
+                    pm.variables.set(key, text);
+                } else {
+                    pm.variables.set(key, value);
+                }
+                return;
+            }
+            ScriptScopedVariablesApi api = this == ENVIRONMENT ? pm.environment : pm.globals;
+            if (value instanceof String text) {
+                api.set(key, text);
+            } else {
+                api.set(key, value);
+            }
+        }
+    }
+
+    sealed interface Assertion permits StatusAssertion, HeaderAssertion, ExpectAssertion {
+        void check(Evaluation evaluation);
+    }
+
+    record StatusAssertion(int code) implements Assertion {
+        @Override
+        public void check(Evaluation evaluation) {
+            evaluation.pm.response.status(code);
+        }
+    }
+
+    record HeaderAssertion(String name) implements Assertion {
+        @Override
+        public void check(Evaluation evaluation) {
+            evaluation.pm.response.header(name);
+        }
+    }
+
+    enum ExpectMethod {
+        EQL, INCLUDE, BELOW, ABOVE, LEAST, MOST
+    }
+
+    /**
+     * pm.expect(actual)[.not].method(expected)，链式连接词在解析时已经丢弃
+     */
+    record ExpectAssertion(ValueExpr actual, boolean negated, ExpectMethod method, Object expected)
+            implements Assertion {
+        @Override
+        public void check(Evaluation evaluation) {
+            Expectation expectation = evaluation.pm.expect(actual.evaluate(evaluation));
+            if (negated) {
+                expectation = expectation.not;
+            }
+            switch (method) {
+                case EQL -> expectation.eql(expected);
+                case INCLUDE -> expectation.include(expected);
+                case BELOW -> expectation.below((Number) expected);
+                case ABOVE -> expectation.above((Number) expected);
+                case LEAST -> expectation.least((Number) expected);
+                case MOST -> expectation.most((Number) expected);
+            }
+        }
+    }
+
+    sealed interface ValueExpr permits Literal, ResponseValue, JsonPath {
+        Object evaluate(Evaluation evaluation);
+    }
+
+    record Literal(Object value) implements ValueExpr {
+        @Override
+        public Object evaluate(Evaluation evaluation) {
+            return value;
+        }
+    }
+
+    enum ResponseField {
+        CODE, RESPONSE_TIME, TEXT
+    }
+
+    /**
+     * pm.response.code / pm.response.responseTime / pm.response.text() / pm.response.headers.get(name)
+     */
+    record ResponseValue(ResponseField field, String headerName) implements ValueExpr {
+        @Override
+        public Object evaluate(Evaluation evaluation) {
+            ResponseAssertion response = evaluation.pm.response;
+            if (headerName != null) {
+                return response.headers.get(headerName);
+            }
+            return switch (field) {
+                case CODE -> response.code;
+                case RESPONSE_TIME -> toScriptValue(response.responseTime);
+                case TEXT -> response.text();
+            };
+        }
+    }
+
+    /**
+     * pm.response.json() 后跟属性/下标访问，segments 中 String 为属性名，Integer 为数组下标
+     */
+    record JsonPath(List<Object> segments) implements ValueExpr {
+        @Override
+        public Object evaluate(Evaluation evaluation) {
+            Object current = evaluation.json();
+            for (Object segment : segments) {
+                if (current instanceof Map<?, ?> map && segment instanceof String key) {
+                    current = map.get(key);
+                } else if (current instanceof List<?> list && segment instanceof Integer index) {
+                    current = index >= 0 && index < list.size() ? list.get(index) : null;
+                } else {
+                    // 在 null 上取属性（JS 中为 TypeError）或其它类型的成员访问，交给 JS 处理
+                    throw new Unsupported("unsupported json access");
+                }
+            }
+            return toScriptValue(current);
+        }
+    }
+
+    /**
+     * 模拟值经过 JS 再传回 Java 时的转换：宿主对象原样传递，整数收窄为 Integer，
+     * 其它会被 JS 改变表示的数值（浮点、超出 int 的整数、BigDecimal 等）放弃原生路径。
+     */
+    static Object toScriptValue(Object value) {
+        if (value instanceof Integer || value instanceof String || value instanceof Boolean || value == null) {
+            return value;
+        }
+        if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof Long longValue) {
+            if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+                return longValue.intValue();
+            }
+            throw new Unsupported("long value outside int range");
+        }
+        if (value instanceof Number || value instanceof Character) {
+            throw new Unsupported("numeric value converted by JS");
+        }
+        return value;
+    }
+
+    /**
+     * 单次执行的求值状态；pm.response.json() 只解析一次
+     */
+    static final class Evaluation {
+        private final PostmanApiContext pm;
+        private boolean jsonParsed;
+        private Object json;
+
+        Evaluation(PostmanApiContext pm) {
+            this.pm = pm;
+        }
+
+        Object json() {
+            if (!jsonParsed) {
+                json = pm.response.json();
+                jsonParsed = true;
+            }
+            return json;
+        }
+    }
+
+    static final class Unsupported extends RuntimeException {
+        Unsupported(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
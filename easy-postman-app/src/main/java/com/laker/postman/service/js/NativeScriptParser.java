@@ -0,0 +1,614 @@
+package com.laker.postman.service.js;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 识别可原生执行的脚本子集。
+ * <p>
+ * 只接受下面这些语句（分号可省略，支持 // 和 /* *&#47; 注释），其它任何写法都返回 null 交给 JS：
+ * </p>
+ * <pre>
+ * pm.test("name", function () { 断言; ... });      // 也支持 () =&gt; { ... } 和 () =&gt; 断言
+ * pm.environment.set("key", 值);                   // pm.env / pm.globals / pm.variables 同理
+ * var jsonData = pm.response.json();               // var/let/const，之后可用 jsonData.a[0].b
+ *
+ * 断言：
+ *   pm.response.to.have.status(200)
+ *   pm.response.to.have.header("Content-Type")
+ *   pm.expect(值).to[.not].(eql|equal|include|contain|below|above|least|most)(字面量)
+ * 值：
+ *   字面量（字符串、整数/小数、true/false/null）、pm.response.code、pm.response.responseTime、
+ *   pm.response.text()、pm.response.headers.get("name")、pm.response.json() 及其属性/下标访问
+ * </pre>
+ * <p>
+ * 顶层不允许直接断言：断言失败在 JS 里是脚本错误，不是失败的测试结果。
+ * </p>
+ */
+final class NativeScriptParser {
+
+    /**
+     * 用户函数的参数名（见 ScriptExecutionPipeline 的绑定），let/const 重复声明在 JS 里是语法错误
+     */
+    private static final Set<String> BINDING_NAMES = Set.of(
+            "pm", "postman", "request", "env", "globals", "iterationData",
+            "response", "responseBody", "responseHeaders", "statusCode"
+    );
+    private static final Set<String> CHAIN_WORDS = Set.of(
+            "to", "be", "been", "is", "that", "which", "and", "has", "have", "with", "at", "of", "same", "deep"
+    );
+    private static final Set<String> DECLARATION_KEYWORDS = Set.of("var", "let", "const");
+    private static final Set<String> RESPONSE_CHAIN_WORDS = Set.of("to", "have", "be");
+    private static final Map<String, NativeScript.ExpectMethod> EXPECT_METHODS = Map.of(
+            "eql", NativeScript.ExpectMethod.EQL,
+            "equal", NativeScript.ExpectMethod.EQL,
+            "include", NativeScript.ExpectMethod.INCLUDE,
+            "contain", NativeScript.ExpectMethod.INCLUDE,
+            "below", NativeScript.ExpectMethod.BELOW,
+            "above", NativeScript.ExpectMethod.ABOVE,
+            "least", NativeScript.ExpectMethod.LEAST,
+            "most", NativeScript.ExpectMethod.MOST
+    );
+    private static final Map<String, NativeScript.VariableScope> VARIABLE_SCOPES = Map.of(
+            "environment", NativeScript.VariableScope.ENVIRONMENT,
+            "env", NativeScript.VariableScope.ENVIRONMENT,
+            "globals", NativeScript.VariableScope.GLOBALS,
+            "variables", NativeScript.VariableScope.VARIABLES
+    );
+    /**
+     * JSON 对象在 JS 里是宿主 Map，与其 Java 成员同名的属性访问结果不确定，不走原生路径
+     */
+    private static final Set<String> JSON_MEMBER_NAMES = jsonMemberNames();
+
+    private final List<Token> tokens;
+    private int position;
+
+    private NativeScriptParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * @return 执行计划；脚本不在子集内时返回 null
+     */
+    static NativeScript parse(String script) {
+        List<Token> tokens = tokenize(script);
+        if (tokens == null || tokens.isEmpty()) {
+            return null;
+        }
+        try {
+            return new NativeScriptParser(tokens).program();
+        } catch (NotSupported e) {
+            return null;
+        }
+    }
+
+    // ---------------------------------------------------------------- grammar
+
+    private NativeScript program() {
+        List<NativeScript.Step> steps = new ArrayList<>();
+        Map<String, NativeScript.JsonPath> aliases = new HashMap<>();
+        while (!atEnd()) {
+            if (acceptPunct(";")) {
+                continue;
+            }
+            if (declaration(aliases)) {
+                continue;
+            }
+            expectIdent("pm");
+            expectPunct(".");
+            String member = ident();
+            if ("test".equals(member)) {
+                steps.add(testStep(aliases));
+            } else if (VARIABLE_SCOPES.containsKey(member)) {
+                expectPunct(".");
+                expectIdent("set");
+                expectPunct("(");
+                String key = string();
+                expectPunct(",");
+                NativeScript.ValueExpr value = value(aliases);
+                expectPunct(")");
+                steps.add(new NativeScript.SetStep(VARIABLE_SCOPES.get(member), key, value));
+            } else {
+                throw new NotSupported();
+            }
+            endStatement();
+        }
+        return steps.isEmpty() ? null : new NativeScript(steps);
+    }
+
+    private NativeScript.TestStep testStep(Map<String, NativeScript.JsonPath> outerAliases) {
+        expectPunct("(");
+        String name = string();
+        expectPunct(",");
+        Map<String, NativeScript.JsonPath> aliases = new HashMap<>(outerAliases);
+        List<NativeScript.Assertion> assertions = new ArrayList<>();
+        if (acceptIdent("function")) {
+            if (peek().type == TokenType.IDENT) {
+                // 具名函数表达式的名字在函数体内可见，不能遮蔽 pm 或别名
+                String functionName = ident();
+                if (!isAliasName(functionName)) {
+                    throw new NotSupported();
+                }
+                aliases.remove(functionName);
+            }
+            expectPunct("(");
+            expectPunct(")");
+            block(aliases, assertions);
+        } else {
+            expectPunct("(");
+            expectPunct(")");
+            expectPunct("=>");
+            if (peekPunct("{")) {
+                block(aliases, assertions);
+            } else {
+                assertions.add(assertion(aliases));
+            }
+        }
+        expectPunct(")");
+        return new NativeScript.TestStep(name, assertions);
+    }
+
+    private void block(Map<String, NativeScript.JsonPath> aliases, List<NativeScript.Assertion> assertions) {
+        expectPunct("{");
+        while (!acceptPunct("}")) {
+            if (acceptPunct(";")) {
+                continue;
+            }
+            if (declaration(aliases)) {
+                continue;
+            }
+            assertions.add(assertion(aliases));
+            endStatement();
+        }
+    }
+
+    /**
+     * var/let/const name = pm.response.json();
+     * 别名不允许与外层别名、绑定变量同名，避免遮蔽和重复声明带来的差异
+     */
+    private boolean declaration(Map<String, NativeScript.JsonPath> aliases) {
+        Token token = peek();
+        if (token.type != TokenType.IDENT || !DECLARATION_KEYWORDS.contains(token.text)) {
+            return false;
+        }
+        position++;
+        String name = ident();
+        if (!isAliasName(name) || aliases.containsKey(name)) {
+            throw new NotSupported();
+        }
+        expectPunct("=");
+        expectIdent("pm");
+        expectPunct(".");
+        expectIdent("response");
+        expectPunct(".");
+        expectIdent("json");
+        expectPunct("(");
+        expectPunct(")");
+        aliases.put(name, new NativeScript.JsonPath(List.of()));
+        endStatement();
+        return true;
+    }
+
+    private static boolean isAliasName(String name) {
+        return !BINDING_NAMES.contains(name)
+                && !JsScriptExecutor.JS_RESERVED_WORDS.contains(name)
+                && !Set.of("true", "false", "null", "undefined").contains(name);
+    }
+
+    private NativeScript.Assertion assertion(Map<String, NativeScript.JsonPath> aliases) {
+        expectIdent("pm");
+        expectPunct(".");
+        String member = ident();
+        if ("response".equals(member)) {
+            expectPunct(".");
+            String word = ident();
+            while (RESPONSE_CHAIN_WORDS.contains(word)) {
+                expectPunct(".");
+                word = ident();
+            }
+            expectPunct("(");
+            NativeScript.Assertion assertion;
+            if ("status".equals(word)) {
+                assertion = new NativeScript.StatusAssertion(integer());
+            } else if ("header".equals(word)) {
+                assertion = new NativeScript.HeaderAssertion(string());
+            } else {
+                throw new NotSupported();
+            }
+            expectPunct(")");
+            return assertion;
+        }
+        if (!"expect".equals(member)) {
+            throw new NotSupported();
+        }
+        expectPunct("(");
+        NativeScript.ValueExpr actual = value(aliases);
+        expectPunct(")");
+        boolean negated = false;
+        while (true) {
+            expectPunct(".");
+            String word = ident();
+            if ("not".equals(word)) {
+                negated = !negated;
+                continue;
+            }
+            if (CHAIN_WORDS.contains(word)) {
+                continue;
+            }
+            NativeScript.ExpectMethod method = EXPECT_METHODS.get(word);
+            if (method == null) {
+                throw new NotSupported();
+            }
+            expectPunct("(");
+            Object expected = literal();
+            expectPunct(")");
+            boolean numeric = method != NativeScript.ExpectMethod.EQL && method != NativeScript.ExpectMethod.INCLUDE;
+            if (numeric && !(expected instanceof Number)) {
+                throw new NotSupported();
+            }
+            return new NativeScript.ExpectAssertion(actual, negated, method, expected);
+        }
+    }
+
+    private NativeScript.ValueExpr value(Map<String, NativeScript.JsonPath> aliases) {
+        Token token = peek();
+        if (token.type == TokenType.IDENT && aliases.containsKey(token.text)) {
+            position++;
+            return jsonPath();
+        }
+        if (!(token.type == TokenType.IDENT && "pm".equals(token.text))) {
+            return new NativeScript.Literal(literal());
+        }
+        position++;
+        expectPunct(".");
+        expectIdent("response");
+        expectPunct(".");
+        String member = ident();
+        switch (member) {
+            case "code":
+                return new NativeScript.ResponseValue(NativeScript.ResponseField.CODE, null);
+            case "responseTime":
+                return new NativeScript.ResponseValue(NativeScript.ResponseField.RESPONSE_TIME, null);
+            case "text":
+                expectPunct("(");
+                expectPunct(")");
+                return new NativeScript.ResponseValue(NativeScript.ResponseField.TEXT, null);
+            case "headers":
+                expectPunct(".");
+                expectIdent("get");
+                expectPunct("(");
+                String headerName = string();
+                expectPunct(")");
+                return new NativeScript.ResponseValue(null, headerName);
+            case "json":
+                expectPunct("(");
+                expectPunct(")");
+                return jsonPath();
+            default:
+                throw new NotSupported();
+        }
+    }
+
+    private NativeScript.JsonPath jsonPath() {
+        List<Object> segments = new ArrayList<>();
+        while (true) {
+            if (peekPunct(".") && position + 1 < tokens.size() && tokens.get(position + 1).type == TokenType.IDENT) {
+                position++;
+                segments.add(propertyName(ident()));
+            } else if (acceptPunct("[")) {
+                Token token = next();
+                if (token.type == TokenType.STRING) {
+                    segments.add(propertyName(token.text));
+                } else if (token.type == TokenType.NUMBER && token.value instanceof Integer index && index >= 0) {
+                    segments.add(index);
+                } else {
+                    throw new NotSupported();
+                }
+                expectPunct("]");
+            } else {
+                return new NativeScript.JsonPath(segments);
+            }
+        }
+    }
+
+    private static String propertyName(String name) {
+        if (JSON_MEMBER_NAMES.contains(name)) {
+            throw new NotSupported();
+        }
+        return name;
+    }
+
+    private Object literal() {
+        Token token = next();
+        switch (token.type) {
+            case STRING:
+            case NUMBER:
+                return token.value;
+            case IDENT:
+                switch (token.text) {
+                    case "true":
+                        return Boolean.TRUE;
+                    case "false":
+                        return Boolean.FALSE;
+                    case "null":
+                        return null;
+                    default:
+                        throw new NotSupported();
+                }
+            case PUNCT:
+                if ("-".equals(token.text) && peek().type == TokenType.NUMBER) {
+                    Token number = next();
+                    return negate(number.value);
+                }
+                throw new NotSupported();
+            default:
+                throw new NotSupported();
+        }
+    }
+
+    private int integer() {
+        Object value = literal();
+        if (value instanceof Integer integer) {
+            return integer;
+        }
+        throw new NotSupported();
+    }
+
+    private String string() {
+        Token token = next();
+        if (token.type != TokenType.STRING) {
+            throw new NotSupported();
+        }
+        return token.text;
+    }
+
+    private static Object negate(Object value) {
+        if (value instanceof Integer integer) {
+            if (integer == 0) {
+                // -0 在 JS 里是浮点数，没有对应的整数表示
+                throw new NotSupported();
+            }
+            return -integer;
+        }
+        double negated = -((Double) value);
+        return negated == Integer.MIN_VALUE ? (Object) Integer.MIN_VALUE : (Object) negated;
+    }
+
+    // ---------------------------------------------------------------- token helpers
+
+    private void endStatement() {
+        if (acceptPunct(";") || atEnd() || peekPunct("}")) {
+            return;
+        }
+        // 没有分号时只接受换行后以 pm/声明开头的下一条语句，避免 ASI 带来的歧义
+        Token token = peek();
+        if (token.newlineBefore && token.type == TokenType.IDENT) {
+            return;
+        }
+        throw new NotSupported();
+    }
+
+    private boolean atEnd() {
+        return position >= tokens.size();
+    }
+
+    private Token peek() {
+        return atEnd() ? Token.EOF : tokens.get(position);
+    }
+
+    private Token next() {
+        if (atEnd()) {
+            throw new NotSupported();
+        }
+        return tokens.get(position++);
+    }
+
+    private boolean peekPunct(String punct) {
+        Token token = peek();
+        return token.type == TokenType.PUNCT && token.text.equals(punct);
+    }
+
+    private boolean acceptPunct(String punct) {
+        if (peekPunct(punct)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectPunct(String punct) {
+        if (!acceptPunct(punct)) {
+            throw new NotSupported();
+        }
+    }
+
+    private boolean acceptIdent(String name) {
+        Token token = peek();
+        if (token.type == TokenType.IDENT && token.text.equals(name)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectIdent(String name) {
+        if (!acceptIdent(name)) {
+            throw new NotSupported();
+        }
+    }
+
+    private String ident() {
+        Token token = next();
+        if (token.type != TokenType.IDENT) {
+            throw new NotSupported();
+        }
+        return token.text;
+    }
+
+    // ---------------------------------------------------------------- tokenizer
+
+    private enum TokenType {
+        IDENT, STRING, NUMBER, PUNCT, END
+    }
+
+    private record Token(TokenType type, String text, Object value, boolean newlineBefore) {
+        static final Token EOF = new Token(TokenType.END, "", null, true);
+    }
+
+    /**
+     * @return token 列表；出现子集之外的字符（模板字符串、正则字面量、十六进制数等）时返回 null
+     */
+    private static List<Token> tokenize(String script) {
+        List<Token> tokens = new ArrayList<>();
+        int length = script.length();
+        int i = 0;
+        boolean newline = true;
+        while (i < length) {
+            char c = script.charAt(i);
+            if (c == '\n' || c == '\r') {
+                newline = true;
+                i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '/' && i + 1 < length && script.charAt(i + 1) == '/') {
+                while (i < length && script.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < length && script.charAt(i + 1) == '*') {
+                int end = script.indexOf("*/", i + 2);
+                if (end < 0) {
+                    return null;
+                }
+                if (script.substring(i, end).indexOf('\n') >= 0) {
+                    newline = true;
+                }
+                i = end + 2;
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(script.charAt(i))
+                        || script.charAt(i) == '_' || script.charAt(i) == '$')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.IDENT, script.substring(start, i), null, newline));
+                newline = false;
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < length && Character.isDigit(script.charAt(i))) {
+                    i++;
+                }
+                if (i < length && script.charAt(i) == '.') {
+                    i++;
+                    while (i < length && Character.isDigit(script.charAt(i))) {
+                        i++;
+                    }
+                }
+                if (i < length && (Character.isLetter(script.charAt(i)) || script.charAt(i) == '_')) {
+                    return null;
+                }
+                String text = script.substring(start, i);
+                Object value = numberValue(text);
+                if (value == null) {
+                    return null;
+                }
+                tokens.add(new Token(TokenType.NUMBER, text, value, newline));
+                newline = false;
+            } else if (c == '"' || c == '\'') {
+                StringBuilder sb = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        return null;
+                    }
+                    char ch = script.charAt(i++);
+                    if (ch == c) {
+                        break;
+                    }
+                    if (ch == '\n' || ch == '\r') {
+                        return null;
+                    }
+                    if (ch == '\\') {
+                        if (i >= length) {
+                            return null;
+                        }
+                        char escaped = script.charAt(i++);
+                        switch (escaped) {
+                            case '\\', '\'', '"', '/' -> sb.append(escaped);
+                            case 'n' -> sb.append('\n');
+                            case 't' -> sb.append('\t');
+                            case 'r' -> sb.append('\r');
+                            default -> {
+                                return null;
+                            }
+                        }
+                    } else {
+                        sb.append(ch);
+                    }
+                }
+                String text = sb.toString();
+                tokens.add(new Token(TokenType.STRING, text, text, newline));
+                newline = false;
+            } else if (c == '=' && i + 1 < length && script.charAt(i + 1) == '>') {
+                tokens.add(new Token(TokenType.PUNCT, "=>", null, newline));
+                newline = false;
+                i += 2;
+            } else if (c == '=' && i + 1 < length && script.charAt(i + 1) == '=') {
+                return null;
+            } else if ("(){}[].,;=-".indexOf(c) >= 0) {
+                tokens.add(new Token(TokenType.PUNCT, String.valueOf(c), null, newline));
+                newline = false;
+                i++;
+            } else {
+                return null;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 与 JS 数值传回 Java 时的表示一致：整数值（含 2.0 这种写法）在 int 范围内为 Integer，否则为 Double
+     */
+    private static Object numberValue(String text) {
+        if (text.length() > 1 && text.startsWith("0") && !text.startsWith("0.")) {
+            // 旧式八进制写法
+            return null;
+        }
+        double value;
+        try {
+            value = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (value == Math.rint(value) && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return (int) value;
+        }
+        return value;
+    }
+
+    private static Set<String> jsonMemberNames() {
+        Set<String> names = new HashSet<>();
+        for (Class<?> type : List.of(JSONObject.class, JSONArray.class)) {
+            for (Method method : type.getMethods()) {
+                names.add(method.getName());
+            }
+            for (Field field : type.getFields()) {
+                names.add(field.getName());
+            }
+        }
+        return Set.copyOf(names);
+    }
+
+    private static final class NotSupported extends RuntimeException {
+        NotSupported() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.laker.postman.service.js;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 脚本执行路径计数：原生快速路径执行了多少脚本、多少脚本进入了 GraalJS，
+ * 以及其中有多少是可识别但运行期回落到 JS 的。
+ */
+public final class ScriptPathStats {
+
+    private final LongAdder nativeScripts = new LongAdder();
+    private final LongAdder javascriptScripts = new LongAdder();
+    private final LongAdder nativeFallbacks = new LongAdder();
+
+    void record(NativeScript.Outcome outcome) {
+        switch (outcome) {
+            case EXECUTED -> nativeScripts.increment();
+            case FELL_BACK -> {
+                nativeFallbacks.increment();
+                javascriptScripts.increment();
+            }
+            case NOT_APPLICABLE -> javascriptScripts.increment();
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(nativeScripts.sum(), javascriptScripts.sum(), nativeFallbacks.sum());
+    }
+
+    public void reset() {
+        nativeScripts.reset();
+        javascriptScripts.reset();
+        nativeFallbacks.reset();
+    }
+
+    /**
+     * @param nativeScripts     原生路径执行的脚本数
+     * @param javascriptScripts 进入 GraalJS 执行的脚本数（包含回落）
+     * @param nativeFallbacks   可识别但本次回落到 JS 的脚本数
+     */
+    public record Snapshot(long nativeScripts, long javascriptScripts, long nativeFallbacks) {
+    }
+}
@@ -13,6 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Value;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Postman 脚本 API 上下文 (pm 对象)
@@ -109,7 +110,14 @@ public class PostmanApiContext {
      */
     public TestApi test;
 
-    private final Map<String, Object> pluginApis = new LinkedHashMap<>();
+    /**
+     * 无状态的脚本门面在所有上下文之间共享，每个请求只新建真正持有请求级状态的对象。
+     */
+    private static final ScriptSendRequestExecutor SHARED_SEND_REQUEST_EXECUTOR = new ScriptSendRequestExecutor();
+    private static final ScriptElasticsearchApi SHARED_ELASTICSEARCH_API = new ScriptElasticsearchApi();
+    private static final ScriptInfluxDbApi SHARED_INFLUXDB_API = new ScriptInfluxDbApi();
+
+    private final Map<String, Object> pluginApis = new ConcurrentHashMap<>();
     private final ScriptSendRequestExecutor sendRequestExecutor;
 
     /**
@@ -144,7 +152,7 @@ public class PostmanApiContext {
     }
 
     private PostmanApiContext(Environment environment, Environment globals, Runnable environmentPersistAction) {
-        this(environment, globals, environmentPersistAction, new ScriptSendRequestExecutor());
+        this(environment, globals, environmentPersistAction, SHARED_SEND_REQUEST_EXECUTOR);
     }
 
     private PostmanApiContext(Environment environment,
@@ -152,7 +160,7 @@ public class PostmanApiContext {
                               Runnable environmentPersistAction,
                               ScriptSendRequestExecutor sendRequestExecutor) {
         this.sendRequestExecutor = sendRequestExecutor == null
-                ? new ScriptSendRequestExecutor()
+                ? SHARED_SEND_REQUEST_EXECUTOR
                 : sendRequestExecutor;
         this.environment = new ScriptScopedVariablesApi(
                 environment,
@@ -166,11 +174,10 @@ public class PostmanApiContext {
         this.cookies = new CookieApi(); // 初始化 cookies
         this.test = new TestApi(this); // 初始化 test API
         this.info = new PostmanInfoApi(IterationInfoService.getInstance().getCurrentInfo());
-        this.elasticsearch = new ScriptElasticsearchApi();
-        this.influxdb = new ScriptInfluxDbApi();
-        // 核心 pm 能力先由宿主内建，再把插件注册表里的扩展 API 动态挂进来。
-        // 这样脚本层看到的是一个统一的 pm 对象，而不是“宿主 API + 插件 API”两套入口。
-        PluginAccess.createScriptApis().forEach(this::registerPluginApi);
+        this.elasticsearch = SHARED_ELASTICSEARCH_API;
+        this.influxdb = SHARED_INFLUXDB_API;
+        // 核心 pm 能力先由宿主内建，插件扩展 API 在脚本第一次 pm.plugin(alias) 时再从注册表创建。
+        // 这样脚本层看到的是一个统一的 pm 对象，没用到的插件（包括延迟激活的插件）也不会被加载。
     }
 
     private static Runnable createEnvironmentPersistAction(Environment environment) {
@@ -180,20 +187,17 @@ public class PostmanApiContext {
         return () -> EnvironmentService.saveEnvironment(environment);
     }
 
-    private void registerPluginApi(String alias, Object api) {
-        if (alias == null || api == null) {
-            return;
-        }
-        pluginApis.put(alias, api);
-    }
-
     public Object plugin(String alias) {
         // 统一的插件 API 访问入口，脚本里可以通过 pm.plugin("kafka") 这种方式按需取能力。
-        return pluginApis.get(alias);
+        // 同一个脚本上下文内只创建一次，创建失败（返回 null）时下次仍会重试。
+        if (alias == null) {
+            return null;
+        }
+        return pluginApis.computeIfAbsent(alias, PluginAccess::createScriptApi);
     }
 
     public boolean hasPlugin(String alias) {
-        return alias != null && pluginApis.containsKey(alias);
+        return alias != null && (pluginApis.containsKey(alias) || PluginAccess.hasScriptApi(alias));
     }
 
     /**
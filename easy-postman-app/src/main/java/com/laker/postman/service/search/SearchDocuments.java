@@ -0,0 +1,229 @@
+package com.laker.postman.service.search;
+
+import com.laker.postman.history.RequestHistoryItem;
+import com.laker.postman.http.runtime.model.HttpResponse;
+import com.laker.postman.http.runtime.model.PreparedRequest;
+import com.laker.postman.request.model.HttpFormData;
+import com.laker.postman.request.model.HttpFormUrlencoded;
+import com.laker.postman.request.model.HttpHeader;
+import com.laker.postman.request.model.HttpParam;
+import com.laker.postman.request.model.HttpRequestItem;
+import com.laker.postman.request.model.SavedResponse;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把请求、保存的响应和历史记录转换成全文索引条目。
+ * 第一个字段是标题（请求名、响应名），其余字段依次为 URL、请求头、参数、请求体、脚本和响应体等；
+ * 单个字段只取前 {@link #MAX_FIELD_CHARS} 个字符，避免大响应体拖慢索引
+ */
+@UtilityClass
+public class SearchDocuments {
+
+    static final int MAX_FIELD_CHARS = 64 * 1024;
+
+    private static final String REQUEST_KEY_PREFIX = "request:";
+    private static final String RESPONSE_KEY_PREFIX = "response:";
+    private static final String HISTORY_KEY_PREFIX = "history:";
+
+    /**
+     * 待写入索引的一个条目
+     */
+    public record Indexed(SearchEntry entry, List<String> fields) {
+    }
+
+    public static String requestKey(String requestId) {
+        return REQUEST_KEY_PREFIX + requestId;
+    }
+
+    public static String savedResponseKey(String requestId, String responseId) {
+        return RESPONSE_KEY_PREFIX + requestId + ":" + responseId;
+    }
+
+    /**
+     * 历史记录没有 ID，用请求时间和请求行组成键，重启后仍能按同一条历史删除
+     */
+    public static String historyKey(RequestHistoryItem item) {
+        return HISTORY_KEY_PREFIX + item.getRequestTime() + ":" + item.getMethod() + " " + item.getUrl();
+    }
+
+    /**
+     * 请求本身及其下保存的全部响应
+     */
+    public static List<Indexed> forRequest(HttpRequestItem item) {
+        List<Indexed> result = new ArrayList<>();
+        if (item == null || item.getId() == null) {
+            return result;
+        }
+        List<String> fields = new ArrayList<>();
+        fields.add(item.getName());
+        fields.add(requestLine(item.getMethod(), item.getUrl()));
+        fields.add(item.getDescription());
+        fields.add(headers(item.getHeadersList()));
+        fields.add(params(item.getParamsList()));
+        fields.add(params(item.getPathVariablesList()));
+        fields.add(limit(item.getBody()));
+        fields.add(formData(item.getFormDataList()));
+        fields.add(urlencoded(item.getUrlencodedList()));
+        fields.add(limit(item.getPrescript()));
+        fields.add(limit(item.getPostscript()));
+        result.add(new Indexed(requestEntry(item), fields));
+
+        if (item.getResponse() != null) {
+            for (SavedResponse response : item.getResponse()) {
+                if (response != null && response.getId() != null) {
+                    result.add(forSavedResponse(item, response));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 请求条目本身的展示信息，不含需要分词的字段，可用来低成本地判断条目是否过期
+     */
+    public static SearchEntry requestEntry(HttpRequestItem item) {
+        return new SearchEntry(requestKey(item.getId()), SearchEntryType.REQUEST, item.getId(),
+                item.getName(), requestLine(item.getMethod(), item.getUrl()));
+    }
+
+    /**
+     * {@link #forRequest} 会为其生成条目的已保存响应数
+     */
+    public static int savedResponseCount(HttpRequestItem item) {
+        int count = 0;
+        if (item.getResponse() != null) {
+            for (SavedResponse response : item.getResponse()) {
+                if (response != null && response.getId() != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public static Indexed forHistory(RequestHistoryItem item) {
+        List<String> fields = new ArrayList<>();
+        String requestLine = requestLine(item.getMethod(), item.getUrl());
+        fields.add(requestLine);
+        fields.add(String.valueOf(item.getResponseCode()));
+        PreparedRequest request = item.getRequest();
+        if (request != null) {
+            fields.add(headers(request.headersList));
+            fields.add(limit(request.body));
+            fields.add(formData(request.formDataList));
+            fields.add(urlencoded(request.urlencodedList));
+        }
+        HttpResponse response = item.getResponse();
+        if (response != null) {
+            fields.add(responseHeaders(response.headers));
+            fields.add(limit(response.body));
+        }
+        return new Indexed(new SearchEntry(historyKey(item), SearchEntryType.HISTORY, null, requestLine,
+                String.valueOf(item.getResponseCode())), fields);
+    }
+
+    private static Indexed forSavedResponse(HttpRequestItem item, SavedResponse response) {
+        List<String> fields = new ArrayList<>();
+        fields.add(response.getName());
+        fields.add(response.getCode() + " " + (response.getStatus() == null ? "" : response.getStatus()));
+        fields.add(headers(response.getHeaders()));
+        fields.add(limit(response.getBody()));
+        SavedResponse.OriginalRequest originalRequest = response.getOriginalRequest();
+        if (originalRequest != null) {
+            fields.add(requestLine(originalRequest.getMethod(), originalRequest.getUrl()));
+            fields.add(limit(originalRequest.getBody()));
+        }
+        return new Indexed(new SearchEntry(savedResponseKey(item.getId(), response.getId()),
+                SearchEntryType.SAVED_RESPONSE, item.getId(), response.getName(), item.getName()), fields);
+    }
+
+    private static String requestLine(String method, String url) {
+        if (method == null || method.isEmpty()) {
+            return url == null ? "" : url;
+        }
+        return url == null ? method : method + " " + url;
+    }
+
+    private static String headers(List<HttpHeader> headers) {
+        StringBuilder sb = new StringBuilder();
+        if (headers != null) {
+            for (HttpHeader header : headers) {
+                if (header != null) {
+                    appendPair(sb, header.getKey(), header.getValue());
+                }
+            }
+        }
+        return limit(sb.toString());
+    }
+
+    private static String responseHeaders(Map<String, List<String>> headers) {
+        StringBuilder sb = new StringBuilder();
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                appendPair(sb, header.getKey(), header.getValue() == null ? null : String.join(", ", header.getValue()));
+            }
+        }
+        return limit(sb.toString());
+    }
+
+    private static String params(List<HttpParam> params) {
+        StringBuilder sb = new StringBuilder();
+        if (params != null) {
+            for (HttpParam param : params) {
+                if (param != null) {
+                    appendPair(sb, param.getKey(), param.getValue());
+                }
+            }
+        }
+        return limit(sb.toString());
+    }
+
+    private static String formData(List<HttpFormData> formData) {
+        StringBuilder sb = new StringBuilder();
+        if (formData != null) {
+            for (HttpFormData data : formData) {
+                if (data != null) {
+                    appendPair(sb, data.getKey(), data.getValue());
+                }
+            }
+        }
+        return limit(sb.toString());
+    }
+
+    private static String urlencoded(List<HttpFormUrlencoded> urlencoded) {
+        StringBuilder sb = new StringBuilder();
+        if (urlencoded != null) {
+            for (HttpFormUrlencoded data : urlencoded) {
+                if (data != null) {
+                    appendPair(sb, data.getKey(), data.getValue());
+                }
+            }
+        }
+        return limit(sb.toString());
+    }
+
+    private static void appendPair(StringBuilder sb, String key, String value) {
+        if (sb.length() >= MAX_FIELD_CHARS) {
+            return;
+        }
+        if (key != null) {
+            sb.append(key);
+        }
+        sb.append(": ");
+        if (value != null) {
+            sb.append(value);
+        }
+        sb.append('\n');
+    }
+
+    private static String limit(String text) {
+        if (text == null || text.length() <= MAX_FIELD_CHARS) {
+            return text;
+        }
+        return text.substring(0, MAX_FIELD_CHARS);
+    }
+}
@@ -0,0 +1,13 @@
+package com.laker.postman.service.search;
+
+/**
+ * 全文索引的一条命中结果
+ *
+ * @param key       条目唯一键，同一键重复写入时覆盖
+ * @param type      条目类型
+ * @param requestId 所属请求 ID；历史记录为 null
+ * @param title     展示标题，如请求名、响应名
+ * @param detail    辅助信息，如 "GET https://..."
+ */
+public record SearchEntry(String key, SearchEntryType type, String requestId, String title, String detail) {
+}
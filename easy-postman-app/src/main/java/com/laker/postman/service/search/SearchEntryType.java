@@ -0,0 +1,19 @@
+package com.laker.postman.service.search;
+
+/**
+ * 全文索引中的条目类型
+ */
+public enum SearchEntryType {
+    /**
+     * 集合中的请求
+     */
+    REQUEST,
+    /**
+     * 请求下保存的响应示例
+     */
+    SAVED_RESPONSE,
+    /**
+     * 请求历史
+     */
+    HISTORY
+}
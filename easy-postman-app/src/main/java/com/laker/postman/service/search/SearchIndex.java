@@ -0,0 +1,630 @@
+package com.laker.postman.service.search;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 内存中的倒排索引，支持前缀和短语查询。
+ * <p>
+ * 每个条目由若干字段组成，第一个字段视为标题。分词后的词序列按字段依次拼接（字段之间留一个断点，
+ * 短语不会跨字段匹配），倒排表记录每个词在每个条目中出现的位置。
+ * </p>
+ * <p>
+ * 查询语法：空格分隔的多个子句同时满足；普通子句按短语匹配且最后一个词做前缀匹配，
+ * 如 {@code user ord} 命中 "user orders"；双引号包起来的子句要求完整的词按顺序相邻，
+ * 如 {@code "order id"}。标题中命中的条目排在前面。
+ * </p>
+ * <p>
+ * 持久化只保存仍被条目引用的词和各条目的词序列，倒排表在加载时重建，文件更小、格式也不依赖内部结构。
+ * 读写锁保护全部状态，查询可以和后台更新并发。
+ * </p>
+ */
+public class SearchIndex {
+
+    static final int MAX_TOKENS_PER_FIELD = 2048;
+    static final int MAX_TOKENS_PER_ENTRY = 8192;
+    private static final int FIELD_BREAK = -1;
+    private static final int TITLE_BOOST = 1000;
+    private static final int MAGIC = 0x45505349;
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_STORED_TEXT = 1024;
+    private static final int COMPACT_THRESHOLD = 1024;
+    private static final Pattern CLAUSE_PATTERN = Pattern.compile("\"([^\"]*)(?:\"|$)|([^\\s\"]+)");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Integer> termIds = new TreeMap<>();
+    private final List<String> terms = new ArrayList<>();
+    /**
+     * 按词 ID 排列：条目 ID -> 该词在条目中出现的位置（升序）
+     */
+    private final List<Map<Integer, int[]>> postings = new ArrayList<>();
+    private final Map<String, Integer> docIdsByKey = new HashMap<>();
+    /**
+     * 请求 ID -> 属于该请求的条目键（请求本身和保存的响应）
+     */
+    private final Map<String, Set<String>> keysByRequestId = new HashMap<>();
+    private List<Doc> docs = new ArrayList<>();
+    private int liveDocs;
+    /**
+     * 倒排表非空、即仍被条目引用的词数
+     */
+    private int liveTerms;
+
+    private record Doc(SearchEntry entry, int[] tokens, int titleTokens) {
+    }
+
+    private record Clause(List<String> tokens, boolean prefix) {
+    }
+
+    /**
+     * 写入或覆盖一个条目
+     *
+     * @param fields 条目的各个字段文本，第一个为标题；null 字段忽略
+     */
+    public void put(SearchEntry entry, List<String> fields) {
+        // 分词不需要持锁
+        List<List<String>> tokenizedFields = new ArrayList<>(fields.size());
+        int total = 0;
+        for (String field : fields) {
+            List<String> tokens = SearchTokenizer.tokenize(field,
+                    Math.min(MAX_TOKENS_PER_FIELD, MAX_TOKENS_PER_ENTRY - total));
+            tokenizedFields.add(tokens);
+            total += tokens.size();
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.key());
+            int[] tokens = new int[total + Math.max(0, tokenizedFields.size() - 1)];
+            int position = 0;
+            int titleTokens = 0;
+            for (int i = 0; i < tokenizedFields.size(); i++) {
+                if (i > 0) {
+                    tokens[position++] = FIELD_BREAK;
+                }
+                for (String token : tokenizedFields.get(i)) {
+                    tokens[position++] = termId(token);
+                }
+                if (i == 0) {
+                    titleTokens = position;
+                }
+            }
+            addLocked(entry, tokens, titleTokens);
+            // 覆盖写入同样会留下空位和不再使用的词
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除请求本身及其保存的响应
+     */
+    public void removeRequest(String requestId) {
+        lock.writeLock().lock();
+        try {
+            Set<String> keys = keysByRequestId.get(requestId);
+            if (keys != null) {
+                for (String key : new ArrayList<>(keys)) {
+                    removeLocked(key);
+                }
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除满足条件的全部条目，如清空历史时删除所有历史条目
+     */
+    public void removeIf(Predicate<SearchEntry> filter) {
+        lock.writeLock().lock();
+        try {
+            for (Doc doc : new ArrayList<>(docs)) {
+                if (doc != null && filter.test(doc.entry())) {
+                    removeLocked(doc.entry().key());
+                }
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            terms.clear();
+            postings.clear();
+            docIdsByKey.clear();
+            keysByRequestId.clear();
+            docs = new ArrayList<>();
+            liveDocs = 0;
+            liveTerms = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchEntry entry(String key) {
+        lock.readLock().lock();
+        try {
+            Integer docId = docIdsByKey.get(key);
+            return docId == null ? null : docs.get(docId).entry();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchEntry> entries(Predicate<SearchEntry> filter) {
+        lock.readLock().lock();
+        try {
+            List<SearchEntry> result = new ArrayList<>();
+            for (Doc doc : docs) {
+                if (doc != null && filter.test(doc.entry())) {
+                    result.add(doc.entry());
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 已索引条目涉及的全部请求 ID
+     */
+    public Set<String> requestIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(keysByRequestId.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 属于该请求的条目数，即请求本身加上已索引的保存响应数
+     */
+    public int entryCount(String requestId) {
+        lock.readLock().lock();
+        try {
+            Set<String> keys = keysByRequestId.get(requestId);
+            return keys == null ? 0 : keys.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按查询语法查找条目，标题命中的在前，其余按命中次数排序
+     *
+     * @param limit 最多返回的条目数
+     */
+    public List<SearchEntry> search(String query, int limit) {
+        List<Clause> clauses = parse(query);
+        if (clauses.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> scores = null;
+            for (Clause clause : clauses) {
+                Map<Integer, Integer> matches = match(clause, scores);
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    Map<Integer, Integer> merged = new HashMap<>();
+                    for (Map.Entry<Integer, Integer> match : matches.entrySet()) {
+                        Integer previous = scores.get(match.getKey());
+                        if (previous != null) {
+                            merged.put(match.getKey(), previous + match.getValue());
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Integer.compare(b.getValue(), a.getValue());
+                return byScore != 0 ? byScore : Integer.compare(a.getKey(), b.getKey());
+            });
+            List<SearchEntry> result = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (Map.Entry<Integer, Integer> hit : ranked) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(docs.get(hit.getKey()).entry());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            // 只写仍被引用的词，词 ID 按写出顺序重新编号
+            int[] remap = new int[terms.size()];
+            out.writeInt(liveTerms);
+            int written = 0;
+            for (int i = 0; i < terms.size(); i++) {
+                if (postings.get(i).isEmpty()) {
+                    remap[i] = -1;
+                } else {
+                    remap[i] = written++;
+                    out.writeUTF(terms.get(i));
+                }
+            }
+            out.writeInt(liveDocs);
+            for (Doc doc : docs) {
+                if (doc == null) {
+                    continue;
+                }
+                SearchEntry entry = doc.entry();
+                out.writeUTF(entry.key());
+                out.writeByte(entry.type().ordinal());
+                writeNullable(out, entry.requestId());
+                writeNullable(out, entry.title());
+                writeNullable(out, entry.detail());
+                writeVarInt(out, doc.titleTokens());
+                writeVarInt(out, doc.tokens().length);
+                for (int token : doc.tokens()) {
+                    // 断点写成 0，词 ID 整体加一
+                    writeVarInt(out, token == FIELD_BREAK ? 0 : remap[token] + 1);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 读取 {@link #writeTo} 写出的索引
+     *
+     * @throws IOException 文件损坏或格式版本不符
+     */
+    public static SearchIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported search index format");
+        }
+        SearchIndex index = new SearchIndex();
+        int termCount = in.readInt();
+        for (int i = 0; i < termCount; i++) {
+            index.termId(in.readUTF());
+        }
+        SearchEntryType[] types = SearchEntryType.values();
+        int docCount = in.readInt();
+        for (int i = 0; i < docCount; i++) {
+            String key = in.readUTF();
+            int type = in.readUnsignedByte();
+            if (type >= types.length) {
+                throw new IOException("Unknown search entry type: " + type);
+            }
+            SearchEntry entry = new SearchEntry(key, types[type], readNullable(in), readNullable(in), readNullable(in));
+            int titleTokens = readVarInt(in);
+            int[] tokens = new int[readVarInt(in)];
+            for (int j = 0; j < tokens.length; j++) {
+                tokens[j] = readVarInt(in) - 1;
+                if (tokens[j] >= termCount) {
+                    throw new IOException("Search index term out of range");
+                }
+            }
+            index.removeLocked(key);
+            index.addLocked(entry, tokens, titleTokens);
+        }
+        return index;
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = terms.size();
+            termIds.put(term, id);
+            terms.add(term);
+            postings.add(new HashMap<>(4));
+        }
+        return id;
+    }
+
+    private void addLocked(SearchEntry entry, int[] tokens, int titleTokens) {
+        int docId = docs.size();
+        docs.add(new Doc(entry, tokens, titleTokens));
+        docIdsByKey.put(entry.key(), docId);
+        if (entry.requestId() != null) {
+            keysByRequestId.computeIfAbsent(entry.requestId(), k -> new HashSet<>()).add(entry.key());
+        }
+        liveDocs++;
+
+        Map<Integer, PositionList> positions = new HashMap<>();
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i] != FIELD_BREAK) {
+                positions.computeIfAbsent(tokens[i], k -> new PositionList()).add(i);
+            }
+        }
+        for (Map.Entry<Integer, PositionList> termPositions : positions.entrySet()) {
+            Map<Integer, int[]> posting = postings.get(termPositions.getKey());
+            if (posting.isEmpty()) {
+                liveTerms++;
+            }
+            posting.put(docId, termPositions.getValue().toArray());
+        }
+    }
+
+    private void removeLocked(String key) {
+        Integer docId = docIdsByKey.remove(key);
+        if (docId == null) {
+            return;
+        }
+        Doc doc = docs.get(docId);
+        for (int token : doc.tokens()) {
+            if (token != FIELD_BREAK) {
+                Map<Integer, int[]> posting = postings.get(token);
+                if (posting.remove(docId) != null && posting.isEmpty()) {
+                    liveTerms--;
+                }
+            }
+        }
+        docs.set(docId, null);
+        liveDocs--;
+        String requestId = doc.entry().requestId();
+        Set<String> keys = requestId == null ? null : keysByRequestId.get(requestId);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByRequestId.remove(requestId);
+        }
+    }
+
+    /**
+     * 删除的条目只留下空位，不再被引用的词也留在词典里；条目空位或废弃词过半时，
+     * 只按存活条目的词序列重建词典并重新编号
+     */
+    private void compactIfSparse() {
+        boolean sparseDocs = docs.size() >= COMPACT_THRESHOLD && liveDocs * 2 <= docs.size();
+        boolean sparseTerms = terms.size() >= COMPACT_THRESHOLD && liveTerms * 2 <= terms.size();
+        if (!sparseDocs && !sparseTerms) {
+            return;
+        }
+        List<Doc> live = new ArrayList<>(liveDocs);
+        for (Doc doc : docs) {
+            if (doc != null) {
+                live.add(doc);
+            }
+        }
+        List<String> oldTerms = new ArrayList<>(terms);
+        docs = new ArrayList<>(live.size());
+        docIdsByKey.clear();
+        keysByRequestId.clear();
+        termIds.clear();
+        terms.clear();
+        postings.clear();
+        liveDocs = 0;
+        liveTerms = 0;
+        int[] remap = new int[oldTerms.size()];
+        Arrays.fill(remap, -1);
+        for (Doc doc : live) {
+            int[] tokens = doc.tokens();
+            for (int i = 0; i < tokens.length; i++) {
+                int token = tokens[i];
+                if (token != FIELD_BREAK) {
+                    if (remap[token] < 0) {
+                        remap[token] = termId(oldTerms.get(token));
+                    }
+                    tokens[i] = remap[token];
+                }
+            }
+            addLocked(doc.entry(), tokens, doc.titleTokens());
+        }
+    }
+
+    /**
+     * @param candidates 前面子句已命中的条目，非 null 时只在其中查找
+     * @return 条目 ID -> 得分
+     */
+    private Map<Integer, Integer> match(Clause clause, Map<Integer, Integer> candidates) {
+        List<String> tokens = clause.tokens();
+        Map<Integer, int[]> starts = positionsOf(tokens.get(0), clause.prefix() && tokens.size() == 1, candidates);
+        for (int i = 1; i < tokens.size() && !starts.isEmpty(); i++) {
+            Map<Integer, int[]> next = positionsOf(tokens.get(i), clause.prefix() && i == tokens.size() - 1, starts);
+            starts = follow(starts, next, i);
+        }
+
+        Map<Integer, Integer> scores = new HashMap<>(starts.size() * 2);
+        for (Map.Entry<Integer, int[]> hit : starts.entrySet()) {
+            int[] positions = hit.getValue();
+            boolean inTitle = positions[0] < docs.get(hit.getKey()).titleTokens();
+            scores.put(hit.getKey(), positions.length + (inTitle ? TITLE_BOOST : 0));
+        }
+        return scores;
+    }
+
+    private Map<Integer, int[]> positionsOf(String token, boolean prefix, Map<Integer, ?> candidates) {
+        if (!prefix) {
+            Integer id = termIds.get(token);
+            return id == null ? Map.of() : restrict(postings.get(id), candidates);
+        }
+
+        NavigableMap<String, Integer> expansions = termIds.subMap(token, true, token + Character.MAX_VALUE, false);
+        if (expansions.size() == 1) {
+            return restrict(postings.get(expansions.firstEntry().getValue()), candidates);
+        }
+        Map<Integer, PositionList> merged = new HashMap<>();
+        for (Integer id : expansions.values()) {
+            for (Map.Entry<Integer, int[]> posting : postings.get(id).entrySet()) {
+                if (candidates == null || candidates.containsKey(posting.getKey())) {
+                    merged.computeIfAbsent(posting.getKey(), k -> new PositionList()).addAll(posting.getValue());
+                }
+            }
+        }
+        Map<Integer, int[]> result = new HashMap<>(merged.size() * 2);
+        for (Map.Entry<Integer, PositionList> entry : merged.entrySet()) {
+            int[] positions = entry.getValue().toArray();
+            Arrays.sort(positions);
+            result.put(entry.getKey(), positions);
+        }
+        return result;
+    }
+
+    private static Map<Integer, int[]> restrict(Map<Integer, int[]> posting, Map<Integer, ?> candidates) {
+        if (candidates == null) {
+            return posting;
+        }
+        Map<Integer, int[]> result = new HashMap<>();
+        if (candidates.size() < posting.size()) {
+            for (Integer docId : candidates.keySet()) {
+                int[] positions = posting.get(docId);
+                if (positions != null) {
+                    result.put(docId, positions);
+                }
+            }
+        } else {
+            for (Map.Entry<Integer, int[]> entry : posting.entrySet()) {
+                if (candidates.containsKey(entry.getKey())) {
+                    result.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 保留短语起点中第 offset 个词正好出现在 next 里的那些
+     */
+    private static Map<Integer, int[]> follow(Map<Integer, int[]> starts, Map<Integer, int[]> next, int offset) {
+        Map<Integer, int[]> result = new HashMap<>();
+        for (Map.Entry<Integer, int[]> entry : starts.entrySet()) {
+            int[] nextPositions = next.get(entry.getKey());
+            if (nextPositions == null) {
+                continue;
+            }
+            PositionList kept = new PositionList();
+            for (int start : entry.getValue()) {
+                if (Arrays.binarySearch(nextPositions, start + offset) >= 0) {
+                    kept.add(start);
+                }
+            }
+            if (kept.size > 0) {
+                result.put(entry.getKey(), kept.toArray());
+            }
+        }
+        return result;
+    }
+
+    private static List<Clause> parse(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        Set<Clause> clauses = new LinkedHashSet<>();
+        Matcher matcher = CLAUSE_PATTERN.matcher(query);
+        while (matcher.find()) {
+            boolean quoted = matcher.group(1) != null;
+            List<String> tokens = SearchTokenizer.tokenize(quoted ? matcher.group(1) : matcher.group(2),
+                    MAX_TOKENS_PER_FIELD);
+            if (!tokens.isEmpty()) {
+                clauses.add(new Clause(tokens, !quoted));
+            }
+        }
+        List<Clause> ordered = new ArrayList<>(clauses);
+        // 词多的子句通常命中少，先算可以更早缩小候选范围
+        ordered.sort((a, b) -> Integer.compare(b.tokens().size(), a.tokens().size()));
+        return ordered;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value.length() > MAX_STORED_TEXT ? value.substring(0, MAX_STORED_TEXT) : value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in search index");
+    }
+
+    private static final class PositionList {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(int[] more) {
+            if (size + more.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(size * 2, size + more.length));
+            }
+            System.arraycopy(more, 0, values, size, more.length);
+            size += more.length;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.laker.postman.service.search;
+
+import com.laker.postman.collection.model.CollectionDocument;
+import com.laker.postman.common.constants.ConfigPathConstants;
+import com.laker.postman.history.RequestHistoryItem;
+import com.laker.postman.request.model.HttpRequestItem;
+import com.laker.postman.service.collections.RequestSaveEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 当前工作区的全文索引：覆盖集合中的请求、保存的响应和请求历史。
+ * <p>
+ * 索引保存在集合文件旁的 {@value #INDEX_FILE_NAME}，文件头记录建索引时集合文件和历史文件的大小、修改时间；
+ * 打开工作区时二者一致就直接加载，否则（Git 拉取、WebDAV 恢复、外部修改）在后台重建。
+ * 之后请求保存、集合保存和历史增删都只增量更新受影响的条目，并在空闲几秒后写回磁盘。
+ * 所有更新都在单独的后台线程串行执行，查询直接读内存索引，不阻塞界面。
+ * </p>
+ */
+@Slf4j
+public class SearchIndexService {
+
+    public static final String INDEX_FILE_NAME = "search_index.bin";
+    private static final long PERSIST_DELAY_MS = 3000L;
+
+    private static SearchIndexService instance;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile SearchIndex index = new SearchIndex();
+    private volatile boolean ready;
+
+    // 以下字段只在后台线程访问
+    private Path collectionFile;
+    private Path indexFile;
+    private Supplier<CollectionDocument> documentSupplier = () -> null;
+    private Supplier<List<RequestHistoryItem>> historySupplier = List::of;
+    private ScheduledFuture<?> pendingPersist;
+
+    private SearchIndexService() {
+        RequestSaveEventPublisher.register(this::onRequestSaved);
+    }
+
+    public static synchronized SearchIndexService getInstance() {
+        if (instance == null) {
+            instance = new SearchIndexService();
+        }
+        return instance;
+    }
+
+    /**
+     * 打开集合文件对应的索引，切换工作区、Git 拉取后重新加载集合时也调用它
+     *
+     * @param collectionFilePath 集合文件路径，索引文件放在同一目录
+     * @param documentSupplier   当前集合文档，重建时遍历其中的请求
+     * @param historySupplier    当前请求历史
+     */
+    public void open(String collectionFilePath,
+                     Supplier<CollectionDocument> documentSupplier,
+                     Supplier<List<RequestHistoryItem>> historySupplier) {
+        ready = false;
+        executor.execute(() -> {
+            flushPendingPersist();
+            this.collectionFile = Paths.get(collectionFilePath);
+            this.indexFile = collectionFile.resolveSibling(INDEX_FILE_NAME);
+            excludeFromGit(indexFile.getParent());
+            this.documentSupplier = documentSupplier;
+            this.historySupplier = historySupplier;
+            if (!load()) {
+                rebuild();
+            }
+            ready = true;
+        });
+    }
+
+    /**
+     * 丢弃现有索引并在后台按当前集合和历史重建
+     */
+    public void rebuildAsync() {
+        executor.execute(() -> {
+            if (indexFile != null) {
+                rebuild();
+                ready = true;
+            }
+        });
+    }
+
+    /**
+     * 索引是否已加载或重建完成；未完成前查询结果可能不全
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<SearchEntry> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * 查找内容命中的请求 ID，保存的响应命中时返回其所属请求
+     */
+    public Set<String> searchRequestIds(String query, int limit) {
+        Set<String> requestIds = new LinkedHashSet<>();
+        for (SearchEntry entry : index.search(query, limit)) {
+            if (entry.requestId() != null) {
+                requestIds.add(entry.requestId());
+            }
+        }
+        return requestIds;
+    }
+
+    /**
+     * 集合保存后同步：新增、删除的请求以及改名、改 URL、保存的响应数量变化的请求重新索引。
+     * 请求内容的修改由 {@link RequestSaveEventPublisher} 的保存事件单独处理
+     */
+    public void onCollectionSaved(CollectionDocument document) {
+        if (document == null) {
+            return;
+        }
+        executor.execute(() -> {
+            if (indexFile == null) {
+                return;
+            }
+            if (syncRequests(document.index().requests())) {
+                schedulePersist();
+            }
+        });
+    }
+
+    public void onHistoryAdded(RequestHistoryItem item) {
+        if (item == null) {
+            return;
+        }
+        executor.execute(() -> {
+            put(SearchDocuments.forHistory(item));
+            schedulePersist();
+        });
+    }
+
+    public void onHistoryRemoved(RequestHistoryItem item) {
+        if (item == null) {
+            return;
+        }
+        executor.execute(() -> {
+            index.remove(SearchDocuments.historyKey(item));
+            schedulePersist();
+        });
+    }
+
+    public void onHistoryCleared() {
+        executor.execute(() -> {
+            index.removeIf(entry -> entry.type() == SearchEntryType.HISTORY);
+            schedulePersist();
+        });
+    }
+
+    private void onRequestSaved(HttpRequestItem item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        List<SearchDocuments.Indexed> documents = SearchDocuments.forRequest(item);
+        executor.execute(() -> {
+            index.removeRequest(item.getId());
+            documents.forEach(this::put);
+            schedulePersist();
+        });
+    }
+
+    private boolean syncRequests(List<HttpRequestItem> requests) {
+        boolean changed = false;
+        Set<String> currentRequests = new HashSet<>();
+        for (HttpRequestItem request : requests) {
+            if (request.getId() == null || !currentRequests.add(request.getId())) {
+                continue;
+            }
+            SearchEntry indexed = index.entry(SearchDocuments.requestKey(request.getId()));
+            SearchEntry current = SearchDocuments.requestEntry(request);
+            if (indexed == null
+                    || !Objects.equals(indexed.title(), current.title())
+                    || !Objects.equals(indexed.detail(), current.detail())
+                    || index.entryCount(request.getId()) != 1 + SearchDocuments.savedResponseCount(request)) {
+                index.removeRequest(request.getId());
+                SearchDocuments.forRequest(request).forEach(this::put);
+                changed = true;
+            }
+        }
+        for (String requestId : index.requestIds()) {
+            if (!currentRequests.contains(requestId)) {
+                index.removeRequest(requestId);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        index.clear();
+        CollectionDocument document = documentSupplier.get();
+        if (document != null) {
+            for (HttpRequestItem request : document.index().requests()) {
+                SearchDocuments.forRequest(request).forEach(this::put);
+            }
+        }
+        List<RequestHistoryItem> history = historySupplier.get();
+        if (history != null) {
+            for (RequestHistoryItem item : history) {
+                put(SearchDocuments.forHistory(item));
+            }
+        }
+        log.info("Rebuilt search index with {} entries in {} ms", index.size(), System.currentTimeMillis() - start);
+        persist();
+    }
+
+    private void put(SearchDocuments.Indexed document) {
+        index.put(document.entry(), document.fields());
+    }
+
+    private boolean load() {
+        if (!Files.isRegularFile(indexFile)) {
+            return false;
+        }
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            DataInputStream data = new DataInputStream(in);
+            if (!fingerprint().equals(data.readUTF())) {
+                log.info("Search index is stale, rebuilding: {}", indexFile);
+                return false;
+            }
+            index = SearchIndex.readFrom(data);
+            log.info("Loaded search index with {} entries: {}", index.size(), indexFile);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to load search index, rebuilding: {}", indexFile, e);
+            return false;
+        }
+    }
+
+    private void schedulePersist() {
+        if (pendingPersist != null) {
+            pendingPersist.cancel(false);
+        }
+        pendingPersist = executor.schedule(this::persist, PERSIST_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void flushPendingPersist() {
+        if (pendingPersist != null && pendingPersist.cancel(false)) {
+            persist();
+        }
+        pendingPersist = null;
+    }
+
+    private void persist() {
+        pendingPersist = null;
+        if (indexFile == null) {
+            return;
+        }
+        Path tempFile = indexFile.resolveSibling(INDEX_FILE_NAME + ".tmp");
+        try {
+            Files.createDirectories(indexFile.getParent());
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                DataOutputStream data = new DataOutputStream(out);
+                data.writeUTF(fingerprint());
+                index.writeTo(data);
+                data.flush();
+            }
+            try {
+                Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException atomicMoveFailure) {
+                Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to persist search index: {}", indexFile, e);
+        }
+    }
+
+    /**
+     * 索引是本地缓存，不能被提交。新建的 Git 工作区由 .gitignore 忽略，
+     * 之前已初始化的仓库在这里补到 .git/info/exclude，不改动会被提交的文件
+     */
+    private static void excludeFromGit(Path workspaceDir) {
+        if (workspaceDir == null || !Files.isDirectory(workspaceDir.resolve(".git"))) {
+            return;
+        }
+        Path exclude = workspaceDir.resolve(".git").resolve("info").resolve("exclude");
+        try {
+            String content = Files.isRegularFile(exclude) ? Files.readString(exclude, StandardCharsets.UTF_8) : "";
+            if (content.lines().anyMatch(line -> line.trim().equals(INDEX_FILE_NAME))) {
+                return;
+            }
+            String prefix = content.isEmpty() || content.endsWith("\n") ? "" : System.lineSeparator();
+            Files.createDirectories(exclude.getParent());
+            Files.writeString(exclude, prefix + INDEX_FILE_NAME + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Failed to exclude search index from git: {}", exclude, e);
+        }
+    }
+
+    /**
+     * 集合文件和历史文件的大小、修改时间；任一变化说明索引可能过期
+     */
+    private String fingerprint() {
+        return describe(collectionFile) + "|" + describe(Paths.get(ConfigPathConstants.REQUEST_HISTORY));
+    }
+
+    private static String describe(Path file) {
+        try {
+            if (file == null || !Files.isRegularFile(file)) {
+                return "-";
+            }
+            return Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return "-";
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.laker.postman.service.search;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 全文索引的分词器。
+ * <p>
+ * 按字母、数字的连续片段切词并统一转小写；汉字没有空格分隔，每个字单独成词，
+ * 中文词语按相邻字的短语查询命中。超长的片段（如 base64、token）只保留前
+ * {@link #MAX_TOKEN_LENGTH} 个字符。
+ * </p>
+ */
+@UtilityClass
+public class SearchTokenizer {
+
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    public static List<String> tokenize(String text) {
+        return tokenize(text, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxTokens 最多返回的词数，超出部分忽略
+     */
+    public static List<String> tokenize(String text, int maxTokens) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty() || maxTokens <= 0) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        int length = text.length();
+        for (int i = 0; i < length && tokens.size() < maxTokens; ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN) {
+                flush(current, tokens);
+                if (tokens.size() < maxTokens) {
+                    tokens.add(new String(Character.toChars(codePoint)));
+                }
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (current.length() < MAX_TOKEN_LENGTH) {
+                    current.appendCodePoint(Character.toLowerCase(codePoint));
+                }
+            } else {
+                flush(current, tokens);
+            }
+        }
+        if (tokens.size() < maxTokens) {
+            flush(current, tokens);
+        }
+        return tokens;
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+            current.setLength(0);
+        }
+    }
+}
@@ -63,31 +63,28 @@ class OpenApi3Parser {
             return result;
         }
 
-        Map<String, CollectionNode> tagNodes = new HashMap<>();
-        for (String path : paths.keySet()) {
-            JSONObject pathItem = paths.getJSONObject(path);
-            for (String method : pathItem.keySet()) {
-                if (SwaggerCommonUtil.isNotHttpMethod(method)) {
-                    continue;
-                }
-
-                JSONObject operation = pathItem.getJSONObject(method);
-                HttpRequestItem requestItem = parseOperation(
-                        openApiRoot,
-                        method.toUpperCase(),
-                        path,
-                        pathItem,
-                        operation,
-                        baseUrl,
-                        securitySchemes
-                );
-                if (requestItem == null) {
-                    continue;
-                }
+        // 同一文档内的 $ref 解析结果和示例在所有 operation 间共享
+        SwaggerRefResolver refs = new SwaggerRefResolver(openApiRoot);
+        List<SwaggerCommonUtil.PathOperation> operations = SwaggerCommonUtil.collectOperations(paths);
+        List<HttpRequestItem> requestItems = SwaggerCommonUtil.convertOperations(operations, operation -> parseOperation(
+                refs,
+                operation.method().toUpperCase(),
+                operation.path(),
+                operation.pathItem(),
+                operation.operation(),
+                baseUrl,
+                securitySchemes
+        ));
 
-                CollectionNode tagNode = getOrCreateTagNode(tagNodes, getTag(operation));
-                tagNode.addChild(new CollectionNode(CollectionNodeType.REQUEST, requestItem));
+        Map<String, CollectionNode> tagNodes = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            HttpRequestItem requestItem = requestItems.get(i);
+            if (requestItem == null) {
+                continue;
             }
+
+            CollectionNode tagNode = getOrCreateTagNode(tagNodes, getTag(operations.get(i).operation()));
+            tagNode.addChild(new CollectionNode(CollectionNodeType.REQUEST, requestItem));
         }
 
         tagNodes.values().forEach(result::addChild);
@@ -104,7 +101,7 @@ class OpenApi3Parser {
     }
 
     private static HttpRequestItem parseOperation(
-            JSONObject openApiRoot,
+            SwaggerRefResolver refs,
             String method,
             String path,
             JSONObject pathItem,
@@ -122,15 +119,15 @@ class OpenApi3Parser {
         req.setDescription(operation.getStr("description", ""));
         req.setUrl(baseUrl.isEmpty() ? path : baseUrl + path);
 
-        parseParameters(openApiRoot, pathItem, operation, req);
-        parseRequestBody(openApiRoot, operation, req);
+        parseParameters(refs, pathItem, operation, req);
+        parseRequestBody(refs, operation, req);
         parseScripts(operation, req);
-        parseSecurity(openApiRoot, operation, req, securitySchemes);
+        parseSecurity(refs, operation, req, securitySchemes);
         return req;
     }
 
-    private static void parseParameters(JSONObject openApiRoot, JSONObject pathItem, JSONObject operation, HttpRequestItem req) {
-        List<JSONObject> parameters = SwaggerCommonUtil.mergeParameters(openApiRoot, pathItem, operation);
+    private static void parseParameters(SwaggerRefResolver refs, JSONObject pathItem, JSONObject operation, HttpRequestItem req) {
+        List<JSONObject> parameters = refs.mergeParameters(pathItem, operation);
         if (parameters.isEmpty()) {
             return;
         }
@@ -149,7 +146,7 @@ class OpenApi3Parser {
                 continue;
             }
 
-            JSONObject schema = SwaggerCommonUtil.resolveRefObject(openApiRoot, param.getJSONObject("schema"));
+            JSONObject schema = refs.resolve(param.getJSONObject("schema"));
             Object defaultValue = schema != null && schema.containsKey("default")
                     ? schema.get("default")
                     : param.get("example");
@@ -179,8 +176,8 @@ class OpenApi3Parser {
         }
     }
 
-    private static void parseRequestBody(JSONObject openApiRoot, JSONObject operation, HttpRequestItem req) {
-        JSONObject requestBody = SwaggerCommonUtil.resolveRefObject(openApiRoot, operation.getJSONObject("requestBody"));
+    private static void parseRequestBody(SwaggerRefResolver refs, JSONObject operation, HttpRequestItem req) {
+        JSONObject requestBody = refs.resolve(operation.getJSONObject("requestBody"));
         if (requestBody == null) {
             return;
         }
@@ -203,18 +200,18 @@ class OpenApi3Parser {
 
         if ("application/x-www-form-urlencoded".equals(mediaType)) {
             req.setBodyType(BODY_TYPE_FORM_URLENCODED);
-            req.setUrlencodedList(buildUrlEncoded(openApiRoot, mediaContent));
+            req.setUrlencodedList(buildUrlEncoded(refs, mediaContent));
             return;
         }
 
         if ("multipart/form-data".equals(mediaType)) {
             req.setBodyType(BODY_TYPE_FORM_DATA);
-            req.setFormDataList(buildFormData(openApiRoot, mediaContent));
+            req.setFormDataList(buildFormData(refs, mediaContent));
             return;
         }
 
         req.setBodyType(BODY_TYPE_RAW);
-        String exampleBody = SwaggerCommonUtil.extractExampleFromMediaType(openApiRoot, mediaContent);
+        String exampleBody = refs.extractExampleFromMediaType(mediaContent);
         req.setBody(exampleBody);
     }
 
@@ -236,10 +233,10 @@ class OpenApi3Parser {
         return content.keySet().iterator().next();
     }
 
-    private static List<HttpFormUrlencoded> buildUrlEncoded(JSONObject openApiRoot, JSONObject mediaContent) {
+    private static List<HttpFormUrlencoded> buildUrlEncoded(SwaggerRefResolver refs, JSONObject mediaContent) {
         List<HttpFormUrlencoded> urlencoded = new ArrayList<>();
-        JSONObject schema = SwaggerCommonUtil.resolveRefObject(openApiRoot, mediaContent.getJSONObject("schema"));
-        JSONObject example = parseExampleObject(SwaggerCommonUtil.extractExampleFromMediaType(openApiRoot, mediaContent));
+        JSONObject schema = refs.resolve(mediaContent.getJSONObject("schema"));
+        JSONObject example = parseExampleObject(refs.extractExampleFromMediaType(mediaContent));
         JSONObject properties = schema != null ? schema.getJSONObject("properties") : null;
 
         if (properties != null) {
@@ -256,10 +253,10 @@ class OpenApi3Parser {
         return urlencoded;
     }
 
-    private static List<HttpFormData> buildFormData(JSONObject openApiRoot, JSONObject mediaContent) {
+    private static List<HttpFormData> buildFormData(SwaggerRefResolver refs, JSONObject mediaContent) {
         List<HttpFormData> formData = new ArrayList<>();
-        JSONObject schema = SwaggerCommonUtil.resolveRefObject(openApiRoot, mediaContent.getJSONObject("schema"));
-        JSONObject example = parseExampleObject(SwaggerCommonUtil.extractExampleFromMediaType(openApiRoot, mediaContent));
+        JSONObject schema = refs.resolve(mediaContent.getJSONObject("schema"));
+        JSONObject example = parseExampleObject(refs.extractExampleFromMediaType(mediaContent));
         JSONObject properties = schema != null ? schema.getJSONObject("properties") : null;
 
         if (properties == null && example != null) {
@@ -275,7 +272,7 @@ class OpenApi3Parser {
         }
 
         for (String key : properties.keySet()) {
-            JSONObject propSchema = SwaggerCommonUtil.resolveRefObject(openApiRoot, properties.getJSONObject(key));
+            JSONObject propSchema = refs.resolve(properties.getJSONObject(key));
             String format = propSchema != null ? propSchema.getStr("format", "") : "";
             Object value = example != null ? example.get(key) : "";
             if ("binary".equalsIgnoreCase(format)) {
@@ -310,7 +307,7 @@ class OpenApi3Parser {
         }
     }
 
-    private static void parseSecurity(JSONObject openApiRoot, JSONObject operation, HttpRequestItem req, JSONObject securitySchemes) {
+    private static void parseSecurity(SwaggerRefResolver refs, JSONObject operation, HttpRequestItem req, JSONObject securitySchemes) {
         JSONArray security = operation.getJSONArray("security");
         if (security == null || security.isEmpty() || securitySchemes == null) {
             req.setAuthType(AUTH_TYPE_NONE);
@@ -324,7 +321,7 @@ class OpenApi3Parser {
         }
 
         String securityName = firstSecurity.keySet().iterator().next();
-        JSONObject securityScheme = SwaggerCommonUtil.resolveRefObject(openApiRoot, securitySchemes.getJSONObject(securityName));
+        JSONObject securityScheme = refs.resolve(securitySchemes.getJSONObject(securityName));
         if (securityScheme == null) {
             req.setAuthType(AUTH_TYPE_NONE);
             return;
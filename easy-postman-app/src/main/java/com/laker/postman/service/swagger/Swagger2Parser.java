@@ -60,31 +60,29 @@ class Swagger2Parser {
             return result;
         }
 
-        Map<String, CollectionNode> tagNodes = new HashMap<>();
-        for (String path : paths.keySet()) {
-            JSONObject pathItem = paths.getJSONObject(path);
-            for (String method : pathItem.keySet()) {
-                if (SwaggerCommonUtil.isNotHttpMethod(method)) {
-                    continue;
-                }
+        // 同一文档内的 $ref 解析结果和示例在所有 operation 间共享
+        SwaggerRefResolver refs = new SwaggerRefResolver(swaggerRoot);
+        String requestBaseUrl = baseUrl;
+        List<SwaggerCommonUtil.PathOperation> operations = SwaggerCommonUtil.collectOperations(paths);
+        List<HttpRequestItem> requestItems = SwaggerCommonUtil.convertOperations(operations, operation -> parseOperation(
+                refs,
+                operation.method().toUpperCase(),
+                operation.path(),
+                operation.pathItem(),
+                operation.operation(),
+                requestBaseUrl,
+                securityDefsMap
+        ));
 
-                JSONObject operation = pathItem.getJSONObject(method);
-                HttpRequestItem requestItem = parseOperation(
-                        swaggerRoot,
-                        method.toUpperCase(),
-                        path,
-                        pathItem,
-                        operation,
-                        baseUrl,
-                        securityDefsMap
-                );
-                if (requestItem == null) {
-                    continue;
-                }
-
-                CollectionNode tagNode = getOrCreateTagNode(tagNodes, getTag(operation));
-                tagNode.addChild(new CollectionNode(CollectionNodeType.REQUEST, requestItem));
+        Map<String, CollectionNode> tagNodes = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            HttpRequestItem requestItem = requestItems.get(i);
+            if (requestItem == null) {
+                continue;
             }
+
+            CollectionNode tagNode = getOrCreateTagNode(tagNodes, getTag(operations.get(i).operation()));
+            tagNode.addChild(new CollectionNode(CollectionNodeType.REQUEST, requestItem));
         }
 
         tagNodes.values().forEach(result::addChild);
@@ -125,7 +123,7 @@ class Swagger2Parser {
     }
 
     private static HttpRequestItem parseOperation(
-            JSONObject swaggerRoot,
+            SwaggerRefResolver refs,
             String method,
             String path,
             JSONObject pathItem,
@@ -143,15 +141,15 @@ class Swagger2Parser {
         req.setDescription(operation.getStr("description", ""));
         req.setUrl(baseUrl.isEmpty() ? path : baseUrl + path);
 
-        parseParameters(swaggerRoot, pathItem, operation, req);
-        parseRequestBody(swaggerRoot, pathItem, operation, req);
+        parseParameters(refs, pathItem, operation, req);
+        parseRequestBody(refs, pathItem, operation, req);
         parseScripts(operation, req);
-        parseSecurity(swaggerRoot, operation, req, securityDefinitions);
+        parseSecurity(refs, operation, req, securityDefinitions);
         return req;
     }
 
-    private static void parseParameters(JSONObject swaggerRoot, JSONObject pathItem, JSONObject operation, HttpRequestItem req) {
-        List<JSONObject> parameters = SwaggerCommonUtil.mergeParameters(swaggerRoot, pathItem, operation);
+    private static void parseParameters(SwaggerRefResolver refs, JSONObject pathItem, JSONObject operation, HttpRequestItem req) {
+        List<JSONObject> parameters = refs.mergeParameters(pathItem, operation);
         if (parameters.isEmpty()) {
             return;
         }
@@ -215,8 +213,8 @@ class Swagger2Parser {
         }
     }
 
-    private static void parseRequestBody(JSONObject swaggerRoot, JSONObject pathItem, JSONObject operation, HttpRequestItem req) {
-        List<JSONObject> parameters = SwaggerCommonUtil.mergeParameters(swaggerRoot, pathItem, operation);
+    private static void parseRequestBody(SwaggerRefResolver refs, JSONObject pathItem, JSONObject operation, HttpRequestItem req) {
+        List<JSONObject> parameters = refs.mergeParameters(pathItem, operation);
         if (parameters.isEmpty()) {
             return;
         }
@@ -226,15 +224,15 @@ class Swagger2Parser {
                 continue;
             }
 
-            JSONObject schema = SwaggerCommonUtil.resolveRefObject(swaggerRoot, param.getJSONObject("schema"));
+            JSONObject schema = refs.resolve(param.getJSONObject("schema"));
             if (schema == null) {
                 return;
             }
 
             req.setBodyType(BODY_TYPE_RAW);
-            req.setBody(SwaggerCommonUtil.generateExampleFromSchema(swaggerRoot, schema));
+            req.setBody(refs.generateExampleFromSchema(param.getJSONObject("schema")));
             List<HttpHeader> headers = req.getHeadersList() == null ? new ArrayList<>() : req.getHeadersList();
-            String contentType = resolveConsumesContentType(swaggerRoot, operation);
+            String contentType = resolveConsumesContentType(refs.root(), operation);
             SwaggerCommonUtil.upsertHeader(headers, "Content-Type", contentType);
             req.setHeadersList(headers);
             return;
@@ -264,7 +262,7 @@ class Swagger2Parser {
         }
     }
 
-    private static void parseSecurity(JSONObject swaggerRoot, JSONObject operation, HttpRequestItem req, JSONObject securityDefinitions) {
+    private static void parseSecurity(SwaggerRefResolver refs, JSONObject operation, HttpRequestItem req, JSONObject securityDefinitions) {
         JSONArray security = operation.getJSONArray("security");
         if (security == null || security.isEmpty() || securityDefinitions == null) {
             req.setAuthType(AUTH_TYPE_NONE);
@@ -278,7 +276,7 @@ class Swagger2Parser {
         }
 
         String securityName = firstSecurity.keySet().iterator().next();
-        JSONObject securityDef = SwaggerCommonUtil.resolveRefObject(swaggerRoot, securityDefinitions.getJSONObject(securityName));
+        JSONObject securityDef = refs.resolve(securityDefinitions.getJSONObject(securityName));
         if (securityDef == null) {
             req.setAuthType(AUTH_TYPE_NONE);
             return;
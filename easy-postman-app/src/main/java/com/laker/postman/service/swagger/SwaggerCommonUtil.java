@@ -13,6 +13,11 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 /**
  * Swagger/OpenAPI 共享工具类
@@ -22,165 +27,84 @@ import java.util.Locale;
 class SwaggerCommonUtil {
 
     /**
-     * 判断是否不是 HTTP 方法
+     * operation 数量达到该值时才并行转换，小文档直接在当前线程完成
      */
-    static boolean isNotHttpMethod(String method) {
-        return !"get".equalsIgnoreCase(method) &&
-                !"post".equalsIgnoreCase(method) &&
-                !"put".equalsIgnoreCase(method) &&
-                !"delete".equalsIgnoreCase(method) &&
-                !"patch".equalsIgnoreCase(method) &&
-                !"head".equalsIgnoreCase(method) &&
-                !"options".equalsIgnoreCase(method);
-    }
+    static final int PARALLEL_CONVERSION_THRESHOLD = 32;
+    private static final ExecutorService CONVERSION_EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "swagger-import");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     /**
-     * 从 schema 生成示例 JSON
+     * paths 下的一个 operation
      */
-    static String generateExampleFromSchema(JSONObject schema) {
-        return generateExampleFromSchema(null, schema);
+    record PathOperation(String path, String method, JSONObject pathItem, JSONObject operation) {
     }
 
     /**
-     * 从 schema 生成示例 JSON，支持本地 $ref
+     * 按文档顺序收集 paths 下所有 HTTP 方法的 operation
      */
-    static String generateExampleFromSchema(JSONObject root, JSONObject schema) {
-        if (schema == null) {
-            return "{}";
-        }
-
-        schema = resolveRefObject(root, schema);
-
-        Object example = getExampleValue(schema);
-        if (example != null) {
-            return toJsonText(example);
-        }
-
-        String type = getSchemaType(schema);
-        if ("object".equals(type)) {
-            JSONObject properties = schema.getJSONObject("properties");
-            if (properties == null) {
-                return "{}";
-            }
-            JSONObject result = new JSONObject();
-            for (String key : properties.keySet()) {
-                result.set(key, generateExampleValue(root, properties.getJSONObject(key)));
-            }
-            return result.toString();
-        }
-
-        if ("array".equals(type)) {
-            JSONArray array = new JSONArray();
-            JSONObject items = resolveRefObject(root, schema.getJSONObject("items"));
-            if (items != null) {
-                array.add(generateExampleValue(root, items));
+    static List<PathOperation> collectOperations(JSONObject paths) {
+        List<PathOperation> operations = new ArrayList<>();
+        for (String path : paths.keySet()) {
+            JSONObject pathItem = paths.getJSONObject(path);
+            for (String method : pathItem.keySet()) {
+                if (isNotHttpMethod(method)) {
+                    continue;
+                }
+                operations.add(new PathOperation(path, method, pathItem, pathItem.getJSONObject(method)));
             }
-            return array.toString();
         }
-
-        return JSONUtil.toJsonStr(generateExampleValue(root, schema));
+        return operations;
     }
 
     /**
-     * 生成示例值
+     * 逐个转换 operation 并保持原有顺序；数量较多时在有界线程池上并行转换。
+     * 转换过程只能读取文档和 {@link SwaggerRefResolver} 的缓存，不能修改共享的 JSON 对象。
      */
-    static Object generateExampleValue(JSONObject schema) {
-        return generateExampleValue(null, schema);
+    static <R> List<R> convertOperations(List<PathOperation> operations, Function<PathOperation, R> converter) {
+        List<R> results = new ArrayList<>(operations.size());
+        if (operations.size() < PARALLEL_CONVERSION_THRESHOLD) {
+            for (PathOperation operation : operations) {
+                results.add(converter.apply(operation));
+            }
+            return results;
+        }
+        List<CompletableFuture<R>> pending = new ArrayList<>(operations.size());
+        for (PathOperation operation : operations) {
+            pending.add(CompletableFuture.supplyAsync(() -> converter.apply(operation), CONVERSION_EXECUTOR));
+        }
+        for (CompletableFuture<R> future : pending) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                // 与串行转换保持一致：把转换中的异常原样抛给调用方
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+        return results;
     }
 
     /**
-     * 生成示例值，支持本地 $ref
+     * 判断是否不是 HTTP 方法
      */
-    static Object generateExampleValue(JSONObject root, JSONObject schema) {
-        if (schema == null) {
-            return "";
-        }
-
-        schema = resolveRefObject(root, schema);
-
-        Object example = getExampleValue(schema);
-        if (example != null) {
-            return example;
-        }
-
-        JSONArray enumValues = schema.getJSONArray("enum");
-        if (enumValues != null && !enumValues.isEmpty()) {
-            return enumValues.get(0);
-        }
-        if (schema.containsKey("default")) {
-            return schema.get("default");
-        }
-
-        String type = getSchemaType(schema);
-        switch (type) {
-            case "string":
-                String format = schema.getStr("format", "");
-                if ("date".equals(format)) {
-                    return "2024-01-01";
-                }
-                if ("date-time".equals(format)) {
-                    return "2024-01-01T00:00:00Z";
-                }
-                if ("email".equals(format)) {
-                    return "user@example.com";
-                }
-                return "string";
-
-            case "integer":
-                return 0;
-
-            case "number":
-                return 0.0;
-
-            case "boolean":
-                return false;
-
-            case "array":
-                JSONArray array = new JSONArray();
-                JSONObject items = resolveRefObject(root, schema.getJSONObject("items"));
-                if (items != null) {
-                    array.add(generateExampleValue(root, items));
-                }
-                return array;
-
-            case "object":
-                JSONObject objectResult = new JSONObject();
-                JSONObject properties = schema.getJSONObject("properties");
-                if (properties != null) {
-                    for (String key : properties.keySet()) {
-                        objectResult.set(key, generateExampleValue(root, properties.getJSONObject(key)));
-                    }
-                }
-                return objectResult;
-
-            default:
-                JSONArray oneOf = schema.getJSONArray("oneOf");
-                if (oneOf != null && !oneOf.isEmpty()) {
-                    return generateExampleValue(root, oneOf.getJSONObject(0));
-                }
-                JSONArray anyOf = schema.getJSONArray("anyOf");
-                if (anyOf != null && !anyOf.isEmpty()) {
-                    return generateExampleValue(root, anyOf.getJSONObject(0));
-                }
-                JSONArray allOf = schema.getJSONArray("allOf");
-                if (allOf != null && !allOf.isEmpty()) {
-                    JSONObject merged = new JSONObject();
-                    for (Object item : allOf) {
-                        if (item instanceof JSONObject part) {
-                            Object value = generateExampleValue(root, part);
-                            if (value instanceof JSONObject valueObj) {
-                                for (String key : valueObj.keySet()) {
-                                    merged.set(key, valueObj.get(key));
-                                }
-                            }
-                        }
-                    }
-                    if (!merged.isEmpty()) {
-                        return merged;
-                    }
-                }
-                return "";
-        }
+    static boolean isNotHttpMethod(String method) {
+        return !"get".equalsIgnoreCase(method) &&
+                !"post".equalsIgnoreCase(method) &&
+                !"put".equalsIgnoreCase(method) &&
+                !"delete".equalsIgnoreCase(method) &&
+                !"patch".equalsIgnoreCase(method) &&
+                !"head".equalsIgnoreCase(method) &&
+                !"options".equalsIgnoreCase(method);
     }
 
     /**
@@ -258,79 +182,6 @@ class SwaggerCommonUtil {
         return JSONUtil.toJsonStr(value);
     }
 
-    static JSONObject resolveRefObject(JSONObject root, JSONObject source) {
-        if (source == null) {
-            return null;
-        }
-
-        String ref = source.getStr("$ref", "");
-        if (ref.isBlank()) {
-            return source;
-        }
-
-        Object resolved = resolveLocalRef(root, ref);
-        if (!(resolved instanceof JSONObject resolvedObject)) {
-            return source;
-        }
-
-        JSONObject merged = JSONUtil.parseObj(resolvedObject.toString());
-        for (String key : source.keySet()) {
-            if (!"$ref".equals(key)) {
-                merged.set(key, source.get(key));
-            }
-        }
-
-        if (merged.containsKey("$ref") && !ref.equals(merged.getStr("$ref"))) {
-            return resolveRefObject(root, merged);
-        }
-        return merged;
-    }
-
-    static Object resolveLocalRef(JSONObject root, String ref) {
-        if (root == null || ref == null || ref.isBlank() || !ref.startsWith("#/")) {
-            return null;
-        }
-
-        Object current = root;
-        String[] parts = ref.substring(2).split("/");
-        for (String rawPart : parts) {
-            String part = rawPart.replace("~1", "/").replace("~0", "~");
-            if (current instanceof JSONObject currentObj) {
-                current = currentObj.get(part);
-            } else if (current instanceof JSONArray currentArr) {
-                try {
-                    current = currentArr.get(Integer.parseInt(part));
-                } catch (NumberFormatException ex) {
-                    return null;
-                }
-            } else {
-                return null;
-            }
-            if (current == null) {
-                return null;
-            }
-        }
-        return current;
-    }
-
-    static String extractExampleFromMediaType(JSONObject root, JSONObject mediaType) {
-        if (mediaType == null) {
-            return "";
-        }
-
-        Object directExample = getExampleValue(mediaType);
-        if (directExample != null) {
-            return toJsonText(directExample);
-        }
-
-        JSONObject schema = resolveRefObject(root, mediaType.getJSONObject("schema"));
-        if (schema == null) {
-            return "";
-        }
-
-        return generateExampleFromSchema(root, schema);
-    }
-
     static void upsertHeader(List<HttpHeader> headers, String key, String value) {
         if (headers == null || key == null || key.isBlank()) {
             return;
@@ -368,42 +219,6 @@ class SwaggerCommonUtil {
         return String.join("\n", matches).trim();
     }
 
-    static List<JSONObject> mergeParameters(JSONObject root, JSONObject... containers) {
-        List<JSONObject> merged = new ArrayList<>();
-        if (containers == null) {
-            return merged;
-        }
-
-        JSONObject deduped = new JSONObject();
-        for (JSONObject container : containers) {
-            if (container == null) {
-                continue;
-            }
-            JSONArray parameters = container.getJSONArray("parameters");
-            if (parameters == null || parameters.isEmpty()) {
-                continue;
-            }
-            for (Object item : parameters) {
-                if (item instanceof JSONObject parameter) {
-                    JSONObject resolved = resolveRefObject(root, parameter);
-                    if (resolved == null) {
-                        continue;
-                    }
-                    String in = resolved.getStr("in", "");
-                    String name = resolved.getStr("name", "");
-                    String dedupeKey = in + ":" + name;
-                    deduped.set(dedupeKey, resolved);
-                }
-            }
-        }
-        for (Object value : deduped.values()) {
-            if (value instanceof JSONObject parameter) {
-                merged.add(parameter);
-            }
-        }
-        return merged;
-    }
-
     static List<String> extractServerUrlsFromExtensionEnv(JSONObject envObject) {
         List<String> urls = new ArrayList<>();
         if (envObject == null) {
@@ -0,0 +1,400 @@
+package com.laker.postman.service.swagger;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单次导入内共享的本地 $ref 解析与示例生成上下文。
+ * <p>
+ * 同一个引用（如 {@code #/components/schemas/Pet}）只解析一次：链式引用被展开后的结果按引用路径缓存，
+ * 不带兄弟字段的纯引用直接返回缓存对象，带兄弟字段时才浅拷贝一份再覆盖。
+ * 纯引用生成的示例值和示例文本同样按引用路径缓存。缓存对象在多个请求间共享、可被多个线程同时读取，
+ * 调用方只能读取，不能修改。
+ * </p>
+ * <p>
+ * 递归引用（如树形节点的 children 指回自身）在第二次进入同一引用时截断为空对象/空数组。
+ * 展开过程中发生过截断的示例与进入位置有关，不缓存；因此缓存结果与请求的解析顺序无关。
+ * </p>
+ */
+final class SwaggerRefResolver {
+
+    private final JSONObject root;
+    private final Map<String, Optional<JSONObject>> resolvedRefs = new ConcurrentHashMap<>();
+    private final Map<String, Object> exampleValuesByRef = new ConcurrentHashMap<>();
+    private final Map<String, String> exampleTextsByRef = new ConcurrentHashMap<>();
+
+    SwaggerRefResolver(JSONObject root) {
+        this.root = root;
+    }
+
+    JSONObject root() {
+        return root;
+    }
+
+    /**
+     * 展开 source 上的 $ref；source 的兄弟字段覆盖被引用的定义
+     */
+    JSONObject resolve(JSONObject source) {
+        return resolve(source, new HashSet<>());
+    }
+
+    private JSONObject resolve(JSONObject source, Set<String> resolving) {
+        if (source == null) {
+            return null;
+        }
+        String ref = refOf(source);
+        if (ref == null) {
+            return source;
+        }
+        JSONObject target = resolveTarget(ref, resolving);
+        if (target == null) {
+            return source;
+        }
+        if (source.size() == 1) {
+            return target;
+        }
+        JSONObject merged = new JSONObject();
+        for (Map.Entry<String, Object> entry : target.entrySet()) {
+            merged.set(entry.getKey(), entry.getValue());
+        }
+        for (String key : source.keySet()) {
+            if (!"$ref".equals(key)) {
+                merged.set(key, source.get(key));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 解析引用指向的定义并展开其中的链式引用；无法解析时返回 null，引用链成环时在回到环入口处停止展开
+     */
+    private JSONObject resolveTarget(String ref, Set<String> resolving) {
+        Optional<JSONObject> cached = resolvedRefs.get(ref);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        if (!resolving.add(ref)) {
+            return null;
+        }
+        JSONObject resolved;
+        try {
+            resolved = resolveLocalRef(ref) instanceof JSONObject target ? resolve(target, resolving) : null;
+        } finally {
+            resolving.remove(ref);
+        }
+        // 并发下同一引用可能被重复解析，结果相同，保留先写入的
+        resolvedRefs.putIfAbsent(ref, Optional.ofNullable(resolved));
+        return resolved;
+    }
+
+    private Object resolveLocalRef(String ref) {
+        if (root == null || !ref.startsWith("#/")) {
+            return null;
+        }
+
+        Object current = root;
+        String[] parts = ref.substring(2).split("/");
+        for (String rawPart : parts) {
+            String part = rawPart.replace("~1", "/").replace("~0", "~");
+            if (current instanceof JSONObject currentObj) {
+                current = currentObj.get(part);
+            } else if (current instanceof JSONArray currentArr) {
+                try {
+                    current = currentArr.get(Integer.parseInt(part));
+                } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    private static String refOf(JSONObject schema) {
+        String ref = schema.getStr("$ref", "");
+        return ref.isBlank() ? null : ref;
+    }
+
+    // ---------------------------------------------------------------- examples
+
+    /**
+     * 从 schema 生成示例 JSON 文本
+     */
+    String generateExampleFromSchema(JSONObject schema) {
+        if (schema == null) {
+            return "{}";
+        }
+        String ref = refOf(schema);
+        boolean pureRef = ref != null && schema.size() == 1;
+        if (pureRef) {
+            String cached = exampleTextsByRef.get(ref);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        ExampleScope scope = new ExampleScope();
+        if (ref != null) {
+            scope.active.add(ref);
+        }
+        String text = exampleText(resolve(schema), scope);
+        if (pureRef && !scope.truncated) {
+            exampleTextsByRef.putIfAbsent(ref, text);
+        }
+        return text;
+    }
+
+    private String exampleText(JSONObject schema, ExampleScope scope) {
+        Object example = SwaggerCommonUtil.getExampleValue(schema);
+        if (example != null) {
+            return SwaggerCommonUtil.toJsonText(example);
+        }
+
+        String type = SwaggerCommonUtil.getSchemaType(schema);
+        if ("object".equals(type)) {
+            JSONObject properties = schema.getJSONObject("properties");
+            if (properties == null) {
+                return "{}";
+            }
+            JSONObject result = new JSONObject();
+            for (String key : properties.keySet()) {
+                result.set(key, exampleValue(properties.getJSONObject(key), scope));
+            }
+            return result.toString();
+        }
+
+        if ("array".equals(type)) {
+            JSONArray array = new JSONArray();
+            JSONObject items = schema.getJSONObject("items");
+            if (items != null) {
+                array.add(exampleValue(items, scope));
+            }
+            return array.toString();
+        }
+
+        return JSONUtil.toJsonStr(exampleValue(schema, scope));
+    }
+
+    /**
+     * 生成示例值
+     */
+    Object generateExampleValue(JSONObject schema) {
+        return exampleValue(schema, new ExampleScope());
+    }
+
+    private Object exampleValue(JSONObject schema, ExampleScope scope) {
+        if (schema == null) {
+            return "";
+        }
+        String ref = refOf(schema);
+        if (ref == null) {
+            return computeExampleValue(schema, scope);
+        }
+
+        if (scope.active.contains(ref)) {
+            scope.truncated = true;
+            return cycleStub(resolve(schema));
+        }
+        boolean pureRef = schema.size() == 1;
+        if (pureRef) {
+            Object cached = exampleValuesByRef.get(ref);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        boolean outerTruncated = scope.truncated;
+        scope.active.add(ref);
+        scope.truncated = false;
+        Object value;
+        try {
+            value = computeExampleValue(resolve(schema), scope);
+        } finally {
+            scope.active.remove(ref);
+        }
+        // 没有发生截断说明该引用不在任何环上，展开结果与从哪里进入无关
+        boolean complete = !scope.truncated;
+        scope.truncated = outerTruncated || scope.truncated;
+        if (pureRef && complete && value != null) {
+            exampleValuesByRef.putIfAbsent(ref, value);
+        }
+        return value;
+    }
+
+    private static Object cycleStub(JSONObject schema) {
+        String type = SwaggerCommonUtil.getSchemaType(schema);
+        if ("array".equals(type)) {
+            return new JSONArray();
+        }
+        if ("object".equals(type) || "composed".equals(type)) {
+            return new JSONObject();
+        }
+        return "";
+    }
+
+    private Object computeExampleValue(JSONObject schema, ExampleScope scope) {
+        Object example = SwaggerCommonUtil.getExampleValue(schema);
+        if (example != null) {
+            return example;
+        }
+
+        JSONArray enumValues = schema.getJSONArray("enum");
+        if (enumValues != null && !enumValues.isEmpty()) {
+            return enumValues.get(0);
+        }
+        if (schema.containsKey("default")) {
+            return schema.get("default");
+        }
+
+        String type = SwaggerCommonUtil.getSchemaType(schema);
+        switch (type) {
+            case "string":
+                String format = schema.getStr("format", "");
+                if ("date".equals(format)) {
+                    return "2024-01-01";
+                }
+                if ("date-time".equals(format)) {
+                    return "2024-01-01T00:00:00Z";
+                }
+                if ("email".equals(format)) {
+                    return "user@example.com";
+                }
+                return "string";
+
+            case "integer":
+                return 0;
+
+            case "number":
+                return 0.0;
+
+            case "boolean":
+                return false;
+
+            case "array":
+                JSONArray array = new JSONArray();
+                JSONObject items = schema.getJSONObject("items");
+                if (items != null) {
+                    array.add(exampleValue(items, scope));
+                }
+                return array;
+
+            case "object":
+                JSONObject objectResult = new JSONObject();
+                JSONObject properties = schema.getJSONObject("properties");
+                if (properties != null) {
+                    for (String key : properties.keySet()) {
+                        objectResult.set(key, exampleValue(properties.getJSONObject(key), scope));
+                    }
+                }
+                return objectResult;
+
+            default:
+                JSONArray oneOf = schema.getJSONArray("oneOf");
+                if (oneOf != null && !oneOf.isEmpty()) {
+                    return exampleValue(oneOf.getJSONObject(0), scope);
+                }
+                JSONArray anyOf = schema.getJSONArray("anyOf");
+                if (anyOf != null && !anyOf.isEmpty()) {
+                    return exampleValue(anyOf.getJSONObject(0), scope);
+                }
+                JSONArray allOf = schema.getJSONArray("allOf");
+                if (allOf != null && !allOf.isEmpty()) {
+                    JSONObject merged = new JSONObject();
+                    for (Object item : allOf) {
+                        if (item instanceof JSONObject part) {
+                            Object value = exampleValue(part, scope);
+                            if (value instanceof JSONObject valueObj) {
+                                for (String key : valueObj.keySet()) {
+                                    merged.set(key, valueObj.get(key));
+                                }
+                            }
+                        }
+                    }
+                    if (!merged.isEmpty()) {
+                        return merged;
+                    }
+                }
+                return "";
+        }
+    }
+
+    String extractExampleFromMediaType(JSONObject mediaType) {
+        if (mediaType == null) {
+            return "";
+        }
+
+        Object directExample = SwaggerCommonUtil.getExampleValue(mediaType);
+        if (directExample != null) {
+            return SwaggerCommonUtil.toJsonText(directExample);
+        }
+
+        JSONObject schema = mediaType.getJSONObject("schema");
+        if (schema == null) {
+            return "";
+        }
+        return generateExampleFromSchema(schema);
+    }
+
+    // ---------------------------------------------------------------- parameters
+
+    /**
+     * 合并 path 级与 operation 级参数，按 in + name 去重，后者覆盖前者
+     */
+    List<JSONObject> mergeParameters(JSONObject... containers) {
+        List<JSONObject> merged = new ArrayList<>();
+        if (containers == null) {
+            return merged;
+        }
+
+        Map<String, JSONObject> deduped = new LinkedHashMap<>();
+        for (JSONObject container : containers) {
+            if (container == null) {
+                continue;
+            }
+            JSONArray parameters = container.getJSONArray("parameters");
+            if (parameters == null || parameters.isEmpty()) {
+                continue;
+            }
+            for (Object item : parameters) {
+                if (item instanceof JSONObject parameter) {
+                    JSONObject resolved = resolve(parameter);
+                    if (resolved == null) {
+                        continue;
+                    }
+                    String in = resolved.getStr("in", "");
+                    String name = resolved.getStr("name", "");
+                    deduped.put(in + ":" + name, resolved);
+                }
+            }
+        }
+        merged.addAll(deduped.values());
+        return merged;
+    }
+
+    /**
+     * 一次示例生成的递归状态
+     */
+    private static final class ExampleScope {
+        /**
+         * 当前递归路径上正在展开的引用
+         */
+        private final Set<String> active = new HashSet<>();
+        /**
+         * 当前子树中是否发生过递归截断
+         */
+        private boolean truncated;
+    }
+}
@@ -0,0 +1,20 @@
+package com.laker.postman.service.sync;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+
+/**
+ * 按内容哈希寻址的数据块存储，增量快照通过它上传和下载文件块。
+ */
+interface WebDavBlobStore {
+
+    /**
+     * 远端已存在的数据块哈希；实现可以缓存，调用方只把它当作跳过上传的依据。
+     */
+    Set<String> knownBlobIds() throws IOException;
+
+    void putBlob(String blobId, byte[] content, int length) throws IOException;
+
+    void copyBlob(String blobId, OutputStream target) throws IOException;
+}
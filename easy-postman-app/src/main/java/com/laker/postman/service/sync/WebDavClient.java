@@ -12,30 +12,50 @@ import okio.Okio;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-public class WebDavClient {
+public class WebDavClient implements WebDavBlobStore {
     private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
     private static final MediaType XML = MediaType.get("application/xml; charset=utf-8");
     private static final String SNAPSHOT_FILE = "snapshot.zip";
     private static final String MANIFEST_FILE = "manifest.json";
+    private static final String OBJECTS_DIRECTORY = "objects";
+    private static final Pattern BLOB_ID = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern PROPFIND_HREF = Pattern.compile(
+            "<(?:[A-Za-z0-9_-]+:)?href>([^<]*)</(?:[A-Za-z0-9_-]+:)?href>",
+            Pattern.CASE_INSENSITIVE
+    );
     private static final String PROPFIND_ALLPROP = """
             <?xml version="1.0" encoding="utf-8"?>
             <D:propfind xmlns:D="DAV:"><D:allprop/></D:propfind>
             """;
+    private static final String PROPFIND_RESOURCETYPE = """
+            <?xml version="1.0" encoding="utf-8"?>
+            <D:propfind xmlns:D="DAV:"><D:prop><D:resourcetype/></D:prop></D:propfind>
+            """;
 
     private final OkHttpClient client;
     private final HttpUrl serverUrl;
     private final String remoteDirectory;
     private final String username;
     private final String password;
+    // PROPFIND 结果只在本实例内复用。同步服务每次上传/恢复都会新建客户端，
+    // 因此远端目录被清空或被其他客户端改动后，下一次上传一定会重新列举 objects 目录。
+    private volatile boolean directoryVerified;
+    private volatile Set<String> remoteObjects;
 
     public WebDavClient(String serverUrl, String remoteDirectory, String username, String password) {
         this(new OkHttpClient(), serverUrl, remoteDirectory, username, password);
@@ -55,6 +75,102 @@ public class WebDavClient {
 
     public void testConnection() throws IOException {
         ensureRemoteDirectoryExists();
+        directoryVerified = true;
+    }
+
+    /**
+     * 与 testConnection 相同，但同一个客户端实例内只探测一次。
+     */
+    public void ensureRemoteDirectory() throws IOException {
+        if (directoryVerified) {
+            return;
+        }
+        testConnection();
+    }
+
+    /**
+     * 首次调用时 PROPFIND 列举 objects 目录，之后在本实例内随上传增量维护。
+     */
+    @Override
+    public Set<String> knownBlobIds() throws IOException {
+        Set<String> cached = remoteObjects;
+        if (cached == null) {
+            cached = ConcurrentHashMap.newKeySet();
+            cached.addAll(listObjects());
+            remoteObjects = cached;
+        }
+        return Set.copyOf(cached);
+    }
+
+    @Override
+    public void putBlob(String blobId, byte[] content, int length) throws IOException {
+        HttpUrl url = objectUrl(requireBlobId(blobId));
+        Request request = requestBuilder(url)
+                .put(RequestBody.create(content, OCTET_STREAM, 0, length))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            if (!isSuccessfulWebDavResponse(response)) {
+                throw responseException("WebDAV upload failed", response);
+            }
+        }
+        Set<String> cached = remoteObjects;
+        if (cached != null) {
+            cached.add(blobId);
+        }
+    }
+
+    @Override
+    public void copyBlob(String blobId, OutputStream target) throws IOException {
+        Request request = requestBuilder(objectUrl(requireBlobId(blobId))).get().build();
+        try (Response response = client.newCall(request).execute()) {
+            if (!isSuccessfulWebDavResponse(response) || response.body() == null) {
+                if (response.code() == 404) {
+                    remoteObjects = null;
+                }
+                throw responseException("WebDAV download failed", response);
+            }
+            try (InputStream inputStream = response.body().byteStream()) {
+                inputStream.transferTo(target);
+            }
+        }
+    }
+
+    private Set<String> listObjects() throws IOException {
+        HttpUrl objectsUrl = objectUrl(null);
+        Request propfind = requestBuilder(objectsUrl)
+                .header("Depth", "1")
+                .method("PROPFIND", RequestBody.create(PROPFIND_RESOURCETYPE.getBytes(StandardCharsets.UTF_8), XML))
+                .build();
+        try (Response response = client.newCall(propfind).execute()) {
+            if (response.code() != 404) {
+                if (!isSuccessfulWebDavResponse(response) || response.body() == null) {
+                    throw responseException("WebDAV listing failed", response);
+                }
+                return parseBlobIds(response.body().string());
+            }
+        }
+        Request mkcol = requestBuilder(objectsUrl)
+                .method("MKCOL", RequestBody.create(new byte[0], null))
+                .build();
+        try (Response response = client.newCall(mkcol).execute()) {
+            if (!isSuccessfulWebDavResponse(response) && response.code() != 405) {
+                throw responseException("WebDAV directory creation failed", response);
+            }
+        }
+        return Set.of();
+    }
+
+    static Set<String> parseBlobIds(String multistatus) {
+        Set<String> blobIds = new HashSet<>();
+        Matcher matcher = PROPFIND_HREF.matcher(multistatus == null ? "" : multistatus);
+        while (matcher.find()) {
+            String href = trimSlashes(matcher.group(1).trim());
+            String name = href.substring(href.lastIndexOf('/') + 1);
+            if (BLOB_ID.matcher(name).matches()) {
+                blobIds.add(name);
+            }
+        }
+        return blobIds;
     }
 
     private void ensureRemoteDirectoryExists() throws IOException {
@@ -108,6 +224,18 @@ public class WebDavClient {
         download(SNAPSHOT_FILE, targetPath);
     }
 
+    /**
+     * 删除旧版本整包上传留下的 snapshot.zip，避免旧客户端或兼容分支恢复出过期数据。远端不存在时忽略。
+     */
+    public void deleteSnapshot() throws IOException {
+        Request request = requestBuilder(remoteUrl(SNAPSHOT_FILE, false)).delete().build();
+        try (Response response = client.newCall(request).execute()) {
+            if (!isSuccessfulWebDavResponse(response) && response.code() != 404) {
+                throw responseException("WebDAV delete failed", response);
+            }
+        }
+    }
+
     public void uploadManifest(String manifestJson) throws IOException {
         upload(MANIFEST_FILE, manifestJson == null ? new byte[0] : manifestJson.getBytes(StandardCharsets.UTF_8), JSON);
     }
@@ -207,6 +335,19 @@ public class WebDavClient {
         return builder.build();
     }
 
+    private HttpUrl objectUrl(String blobId) {
+        HttpUrl.Builder builder = remoteUrl(OBJECTS_DIRECTORY, false).newBuilder();
+        builder.addPathSegment(blobId == null ? "" : blobId);
+        return builder.build();
+    }
+
+    private static String requireBlobId(String blobId) {
+        if (blobId == null || !BLOB_ID.matcher(blobId).matches()) {
+            throw new IllegalArgumentException("Invalid WebDAV blob id: " + blobId);
+        }
+        return blobId;
+    }
+
     private HttpUrl directoryUrl(List<String> directorySegments) {
         HttpUrl.Builder builder = serverUrl.newBuilder();
         for (String segment : directorySegments) {
@@ -0,0 +1,121 @@
+package com.laker.postman.service.sync;
+
+import com.laker.postman.util.JsonUtil;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 增量快照清单：记录每个同步文件的内容哈希和按固定大小切分后的数据块哈希。
+ * 数据块以哈希为名存放在远端 objects 目录，相同内容只会上传一次。
+ */
+public record WebDavSnapshotManifest(
+        int schemaVersion,
+        String createdAt,
+        String appVersion,
+        List<FileEntry> files
+) {
+    public static final int INCREMENTAL_SCHEMA_VERSION = 2;
+
+    public WebDavSnapshotManifest {
+        createdAt = createdAt == null ? "" : createdAt;
+        appVersion = appVersion == null ? "" : appVersion;
+        files = files == null ? List.of() : List.copyOf(files);
+    }
+
+    public record FileEntry(String path, long size, String sha256, List<String> chunks) {
+        public FileEntry {
+            path = path == null ? "" : path;
+            sha256 = sha256 == null ? "" : sha256;
+            chunks = chunks == null ? List.of() : List.copyOf(chunks);
+        }
+    }
+
+    public boolean isIncremental() {
+        return schemaVersion >= INCREMENTAL_SCHEMA_VERSION;
+    }
+
+    public long totalBytes() {
+        long total = 0L;
+        for (FileEntry file : files) {
+            total += Math.max(0L, file.size());
+        }
+        return total;
+    }
+
+    public Set<String> blobIds() {
+        Set<String> ids = new LinkedHashSet<>();
+        for (FileEntry file : files) {
+            ids.addAll(file.chunks());
+        }
+        return ids;
+    }
+
+    WebDavSnapshotManifest withHeader(String createdAt, String appVersion) {
+        return new WebDavSnapshotManifest(schemaVersion, createdAt, appVersion, files);
+    }
+
+    String toJson() {
+        ObjectNode root = JsonUtil.createJsonNode();
+        root.put("schemaVersion", schemaVersion);
+        root.put("createdAt", createdAt);
+        root.put("appVersion", appVersion);
+        // snapshotBytes 保留给旧版本读取清单摘要，增量清单里表示全部文件的逻辑大小。
+        root.put("snapshotBytes", totalBytes());
+        ArrayNode fileNodes = root.putArray("files");
+        for (FileEntry file : files) {
+            ObjectNode fileNode = fileNodes.addObject();
+            fileNode.put("path", file.path());
+            fileNode.put("size", file.size());
+            fileNode.put("sha256", file.sha256());
+            ArrayNode chunkNodes = fileNode.putArray("chunks");
+            for (String chunk : file.chunks()) {
+                chunkNodes.add(chunk);
+            }
+        }
+        return JsonUtil.toJsonPrettyStr(root);
+    }
+
+    static WebDavSnapshotManifest fromJson(String json) {
+        JsonNode root = JsonUtil.readTree(json == null || json.isBlank() ? "{}" : json);
+        if (root == null || !root.isObject()) {
+            throw new IllegalArgumentException("Invalid WebDAV manifest");
+        }
+        List<FileEntry> files = new ArrayList<>();
+        JsonNode fileNodes = root.get("files");
+        if (fileNodes != null && fileNodes.isArray()) {
+            for (JsonNode fileNode : fileNodes) {
+                List<String> chunks = new ArrayList<>();
+                JsonNode chunkNodes = fileNode.get("chunks");
+                if (chunkNodes != null && chunkNodes.isArray()) {
+                    for (JsonNode chunkNode : chunkNodes) {
+                        chunks.add(chunkNode.asText());
+                    }
+                }
+                files.add(new FileEntry(
+                        textValue(fileNode, "path"),
+                        fileNode.has("size") ? fileNode.get("size").asLong() : 0L,
+                        textValue(fileNode, "sha256"),
+                        chunks
+                ));
+            }
+        }
+        JsonNode schemaVersion = root.get("schemaVersion");
+        return new WebDavSnapshotManifest(
+                schemaVersion == null || schemaVersion.isNull() ? 0 : schemaVersion.asInt(),
+                textValue(root, "createdAt"),
+                textValue(root, "appVersion"),
+                files
+        );
+    }
+
+    private static String textValue(JsonNode root, String key) {
+        JsonNode node = root.get(key);
+        return node == null || node.isNull() ? "" : node.asText();
+    }
+}
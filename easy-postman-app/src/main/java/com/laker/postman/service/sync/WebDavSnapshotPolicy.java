@@ -33,7 +33,9 @@ public class WebDavSnapshotPolicy {
     );
     private static final Set<String> EXCLUDED_FILE_NAMES = Set.of(
             ".ds_store",
-            "thumbs.db"
+            "thumbs.db",
+            // 本地全文索引，恢复后按集合文件重建
+            "search_index.bin"
     );
     private static final Set<String> WINDOWS_RESERVED_NAMES = Set.of(
             "con",
@@ -5,16 +5,26 @@ import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.node.ArrayNode;
 import tools.jackson.databind.node.ObjectNode;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
@@ -32,6 +42,7 @@ public class WebDavSnapshotService {
     private static final String MANAGED_WORKSPACES_DIR = "workspaces";
     private static final String EXTERNAL_WORKSPACES_DIR = "workspaces/synced-external";
     private static final int MAX_SYNC_BACKUP_COUNT = 3;
+    static final int CHUNK_SIZE = 1024 * 1024;
     private static final List<String> GIT_WORKSPACE_FIELDS = List.of(
             "gitRepoSource",
             "gitRemoteUrl",
@@ -63,25 +74,53 @@ public class WebDavSnapshotService {
         if (parent != null) {
             Files.createDirectories(parent);
         }
-        WorkspaceSnapshotPlan workspacePlan = createWorkspaceSnapshotPlan(normalizedRoot);
-        Set<String> writtenEntries = new HashSet<>();
+        List<SnapshotSource> sources = collectSnapshotSources(normalizedRoot);
         try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(normalizedSnapshot))) {
-            if (!Files.exists(normalizedRoot)) {
-                return;
+            for (SnapshotSource source : sources) {
+                zip.putNextEntry(new ZipEntry(source.entryName()));
+                try (InputStream input = source.open()) {
+                    input.transferTo(zip);
+                }
+                zip.closeEntry();
             }
-            try (var stream = Files.walk(normalizedRoot)) {
-                for (Path file : stream
-                        .filter(Files::isRegularFile)
-                        .filter(path -> policy.shouldInclude(normalizedRoot, path))
-                        .sorted(Comparator.comparing(path -> policy.entryName(normalizedRoot, path)))
-                        .toList()) {
-                    String entryName = policy.entryName(normalizedRoot, file);
-                    writeSnapshotEntry(zip, writtenEntries, entryName,
-                            snapshotContent(normalizedRoot, entryName, file, workspacePlan));
+        }
+    }
+
+    /**
+     * 生成增量快照：文件按固定大小切块并以 sha256 命名，只上传 blobStore 中还没有的块。
+     * 文件内容以流式方式读取，单次只在内存中保留一个数据块。
+     */
+    WebDavSnapshotManifest createIncrementalSnapshot(Path dataRoot, WebDavBlobStore blobStore) throws IOException {
+        Path normalizedRoot = dataRoot.toAbsolutePath().normalize();
+        Set<String> knownBlobs = new HashSet<>(blobStore.knownBlobIds());
+        List<WebDavSnapshotManifest.FileEntry> files = new ArrayList<>();
+        byte[] buffer = new byte[CHUNK_SIZE];
+        for (SnapshotSource source : collectSnapshotSources(normalizedRoot)) {
+            MessageDigest fileDigest = sha256();
+            List<String> chunks = new ArrayList<>();
+            long size = 0L;
+            try (InputStream input = source.open()) {
+                int read;
+                while ((read = input.readNBytes(buffer, 0, CHUNK_SIZE)) > 0) {
+                    fileDigest.update(buffer, 0, read);
+                    size += read;
+                    MessageDigest chunkDigest = sha256();
+                    chunkDigest.update(buffer, 0, read);
+                    String chunkId = HexFormat.of().formatHex(chunkDigest.digest());
+                    if (knownBlobs.add(chunkId)) {
+                        blobStore.putBlob(chunkId, buffer, read);
+                    }
+                    chunks.add(chunkId);
                 }
             }
-            writeExternalWorkspaceEntries(zip, writtenEntries, normalizedRoot, workspacePlan.externalWorkspaces());
+            files.add(new WebDavSnapshotManifest.FileEntry(
+                    source.entryName(),
+                    size,
+                    HexFormat.of().formatHex(fileDigest.digest()),
+                    chunks
+            ));
         }
+        return new WebDavSnapshotManifest(WebDavSnapshotManifest.INCREMENTAL_SCHEMA_VERSION, "", "", files);
     }
 
     public WebDavRestoreResult restoreSnapshot(Path snapshotPath, Path dataRoot) throws IOException {
@@ -99,21 +138,122 @@ public class WebDavSnapshotService {
                 if (!target.startsWith(normalizedRoot)) {
                     continue;
                 }
-                byte[] content = zip.readAllBytes();
-                if (WORKSPACES_JSON.equals(entryName)) {
-                    content = restorePortableWorkspacePaths(new String(content, StandardCharsets.UTF_8), normalizedRoot)
-                            .getBytes(StandardCharsets.UTF_8);
-                }
                 Path parent = target.getParent();
                 if (parent != null) {
                     Files.createDirectories(parent);
                 }
-                Files.write(target, content);
+                if (WORKSPACES_JSON.equals(entryName)) {
+                    String content = restorePortableWorkspacePaths(
+                            new String(zip.readAllBytes(), StandardCharsets.UTF_8),
+                            normalizedRoot
+                    );
+                    Files.writeString(target, content, StandardCharsets.UTF_8);
+                } else {
+                    Files.copy(zip, target, StandardCopyOption.REPLACE_EXISTING);
+                }
             }
         }
         return new WebDavRestoreResult(backupPath);
     }
 
+    /**
+     * 按增量清单恢复：本地内容哈希一致的文件直接跳过，其余文件逐块流式下载到临时文件后原子替换。
+     */
+    WebDavRestoreResult restoreIncrementalSnapshot(WebDavSnapshotManifest manifest,
+                                                   WebDavBlobStore blobStore,
+                                                   Path dataRoot) throws IOException {
+        Path normalizedRoot = dataRoot.toAbsolutePath().normalize();
+        Files.createDirectories(normalizedRoot);
+        Path backupPath = createBackup(normalizedRoot);
+        for (WebDavSnapshotManifest.FileEntry file : manifest.files()) {
+            if (!policy.shouldRestoreEntry(file.path())) {
+                continue;
+            }
+            String entryName = policy.restoreEntryName(file.path());
+            Path target = normalizedRoot.resolve(entryName).normalize();
+            if (!target.startsWith(normalizedRoot)) {
+                continue;
+            }
+            Path parent = target.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            if (WORKSPACES_JSON.equals(entryName)) {
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                for (String chunk : file.chunks()) {
+                    blobStore.copyBlob(chunk, content);
+                }
+                Files.writeString(
+                        target,
+                        restorePortableWorkspacePaths(content.toString(StandardCharsets.UTF_8), normalizedRoot),
+                        StandardCharsets.UTF_8
+                );
+                continue;
+            }
+            if (hasContent(target, file)) {
+                continue;
+            }
+            restoreFile(file, blobStore, target);
+        }
+        return new WebDavRestoreResult(backupPath);
+    }
+
+    private void restoreFile(WebDavSnapshotManifest.FileEntry file,
+                             WebDavBlobStore blobStore,
+                             Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream output = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                for (String chunk : file.chunks()) {
+                    blobStore.copyBlob(chunk, output);
+                }
+            }
+            if (!file.sha256().isBlank() && !file.sha256().equalsIgnoreCase(HexFormat.of().formatHex(digest.digest()))) {
+                throw new IOException("WebDAV snapshot content mismatch: " + file.path());
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private boolean hasContent(Path target, WebDavSnapshotManifest.FileEntry file) throws IOException {
+        if (!Files.isRegularFile(target) || Files.size(target) != file.size() || file.sha256().isBlank()) {
+            return false;
+        }
+        MessageDigest digest = sha256();
+        try (InputStream input = new DigestInputStream(Files.newInputStream(target), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return file.sha256().equalsIgnoreCase(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private List<SnapshotSource> collectSnapshotSources(Path normalizedRoot) throws IOException {
+        List<SnapshotSource> sources = new ArrayList<>();
+        if (!Files.exists(normalizedRoot)) {
+            return sources;
+        }
+        WorkspaceSnapshotPlan workspacePlan = createWorkspaceSnapshotPlan(normalizedRoot);
+        Set<String> collectedEntries = new HashSet<>();
+        try (var stream = Files.walk(normalizedRoot)) {
+            for (Path file : stream
+                    .filter(Files::isRegularFile)
+                    .filter(path -> policy.shouldInclude(normalizedRoot, path))
+                    .sorted(Comparator.comparing(path -> policy.entryName(normalizedRoot, path)))
+                    .toList()) {
+                String entryName = policy.entryName(normalizedRoot, file);
+                if (collectedEntries.add(entryName)) {
+                    sources.add(requiresTextTransform(entryName)
+                            ? SnapshotSource.ofContent(entryName, transformedContent(entryName, file, workspacePlan))
+                            : SnapshotSource.ofFile(entryName, file));
+                }
+            }
+        }
+        collectExternalWorkspaceSources(sources, collectedEntries, normalizedRoot, workspacePlan.externalWorkspaces());
+        return sources;
+    }
+
     private Path createBackup(Path dataRoot) throws IOException {
         Path backupDir = dataRoot.resolve("backups");
         Files.createDirectories(backupDir);
@@ -163,13 +303,9 @@ public class WebDavSnapshotService {
         }
     }
 
-    private byte[] snapshotContent(Path dataRoot,
-                                   String entryName,
-                                   Path file,
-                                   WorkspaceSnapshotPlan workspacePlan) throws IOException {
-        if (!requiresTextTransform(entryName)) {
-            return Files.readAllBytes(file);
-        }
+    private byte[] transformedContent(String entryName,
+                                      Path file,
+                                      WorkspaceSnapshotPlan workspacePlan) throws IOException {
         String content = Files.readString(file, StandardCharsets.UTF_8);
         String transformed = switch (entryName) {
             case WORKSPACES_JSON -> workspacePlan.workspacesJson();
@@ -319,10 +455,10 @@ public class WebDavSnapshotService {
         return value + "/";
     }
 
-    private void writeExternalWorkspaceEntries(ZipOutputStream zip,
-                                               Set<String> writtenEntries,
-                                               Path dataRoot,
-                                               List<ExternalWorkspace> externalWorkspaces) throws IOException {
+    private void collectExternalWorkspaceSources(List<SnapshotSource> sources,
+                                                 Set<String> collectedEntries,
+                                                 Path dataRoot,
+                                                 List<ExternalWorkspace> externalWorkspaces) throws IOException {
         for (ExternalWorkspace externalWorkspace : externalWorkspaces) {
             try (var stream = Files.walk(externalWorkspace.sourceRoot())) {
                 for (Path file : stream
@@ -336,22 +472,20 @@ public class WebDavSnapshotService {
                     if (!policy.shouldInclude(dataRoot, virtualPath)) {
                         continue;
                     }
-                    writeSnapshotEntry(zip, writtenEntries, entryName, Files.readAllBytes(file));
+                    if (collectedEntries.add(entryName)) {
+                        sources.add(SnapshotSource.ofFile(entryName, file));
+                    }
                 }
             }
         }
     }
 
-    private void writeSnapshotEntry(ZipOutputStream zip,
-                                    Set<String> writtenEntries,
-                                    String entryName,
-                                    byte[] content) throws IOException {
-        if (!writtenEntries.add(entryName)) {
-            return;
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
-        zip.putNextEntry(new ZipEntry(entryName));
-        zip.write(content);
-        zip.closeEntry();
     }
 
     private String uniqueExternalWorkspaceName(ObjectNode workspaceNode, int index, Set<String> usedNames) {
@@ -409,4 +543,18 @@ public class WebDavSnapshotService {
 
     private record ExternalWorkspace(Path sourceRoot, String snapshotRoot) {
     }
+
+    private record SnapshotSource(String entryName, Path file, byte[] content) {
+        static SnapshotSource ofFile(String entryName, Path file) {
+            return new SnapshotSource(entryName, file, null);
+        }
+
+        static SnapshotSource ofContent(String entryName, byte[] content) {
+            return new SnapshotSource(entryName, null, content);
+        }
+
+        InputStream open() throws IOException {
+            return content != null ? new ByteArrayInputStream(content) : Files.newInputStream(file);
+        }
+    }
 }
@@ -1,11 +1,9 @@
 package com.laker.postman.service.sync;
 
 import com.laker.postman.http.runtime.okhttp.OkHttpClientManager;
-import com.laker.postman.util.JsonUtil;
 import com.laker.postman.util.SystemUtil;
 import okhttp3.OkHttpClient;
 import okhttp3.HttpUrl;
-import tools.jackson.databind.node.ObjectNode;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -57,23 +55,34 @@ public class WebDavSyncService {
         }
     }
 
+    /**
+     * 增量上传：只推送远端还没有的数据块，最后写入清单；清单写入前的中断不会影响远端已有快照。
+     * 清单写入后删除旧格式的 snapshot.zip，旧客户端恢复时会明确失败而不是恢复出过期数据。
+     */
     public void uploadSnapshot(WebDavSyncSettings settings) throws IOException {
-        WebDavSyncSettings validatedSettings = validate(settings);
-        Path snapshot = Files.createTempFile("easypostman-webdav-upload-", ".zip");
-        try {
-            snapshotService.createSnapshot(dataRoot, snapshot);
-            long snapshotBytes = Files.size(snapshot);
-            WebDavClient client = createClient(validatedSettings);
-            client.testConnection();
-            client.uploadSnapshot(snapshot);
-            client.uploadManifest(createManifest(snapshotBytes));
-        } finally {
-            Files.deleteIfExists(snapshot);
-        }
+        WebDavClient client = createClient(validate(settings));
+        client.ensureRemoteDirectory();
+        WebDavSnapshotManifest manifest = snapshotService.createIncrementalSnapshot(dataRoot, client)
+                .withHeader(Instant.now().toString(), SystemUtil.getCurrentVersion());
+        client.uploadManifest(manifest.toJson());
+        client.deleteSnapshot();
     }
 
     public WebDavRestoreResult restoreSnapshot(WebDavSyncSettings settings) throws IOException {
         WebDavClient client = createClient(validate(settings));
+        Optional<byte[]> manifestContent = client.downloadManifestIfPresent();
+        if (manifestContent.isPresent()) {
+            WebDavSnapshotManifest manifest;
+            try {
+                manifest = WebDavSnapshotManifest.fromJson(new String(manifestContent.get(), StandardCharsets.UTF_8));
+            } catch (RuntimeException e) {
+                throw new IOException("Invalid WebDAV manifest", e);
+            }
+            if (manifest.isIncremental()) {
+                return snapshotService.restoreIncrementalSnapshot(manifest, client, dataRoot);
+            }
+        }
+        // 兼容旧版本上传的整包 snapshot.zip。
         Path snapshot = Files.createTempFile("easypostman-webdav-restore-", ".zip");
         try {
             client.downloadSnapshot(snapshot);
@@ -124,16 +133,6 @@ public class WebDavSyncService {
         return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
     }
 
-    private static String createManifest(long snapshotBytes) {
-        ObjectNode root = JsonUtil.createJsonNode();
-        root.put("schemaVersion", 1);
-        root.put("createdAt", Instant.now().toString());
-        root.put("appVersion", SystemUtil.getCurrentVersion());
-        root.put("snapshotFile", "snapshot.zip");
-        root.put("snapshotBytes", snapshotBytes);
-        return JsonUtil.toJsonPrettyStr(root);
-    }
-
     @FunctionalInterface
     interface WebDavClientFactory {
         WebDavClient create(String serverUrl, String remoteDirectory, String username, String password);
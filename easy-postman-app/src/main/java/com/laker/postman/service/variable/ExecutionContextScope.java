@@ -1,6 +1,7 @@
 package com.laker.postman.service.variable;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 绑定/恢复脚本执行上下文的作用域对象。
@@ -31,6 +32,27 @@ public final class ExecutionContextScope implements AutoCloseable {
         return openInternal(context, requestExecutionScope == null ? RequestExecutionScope.empty() : requestExecutionScope);
     }
 
+    /**
+     * 捕获当前线程绑定的执行上下文，之后可在其它线程上通过 {@link Snapshot#open()} 重新绑定。
+     * 变量表按引用共享，任一线程的写入对捕获方可见；当前线程尚未创建变量表时先创建并绑定。
+     */
+    public static Snapshot capture() {
+        Map<String, String> variables = VariablesService.getInstance().getCurrentContextMap();
+        if (variables == null) {
+            variables = new ConcurrentHashMap<>();
+            VariablesService.getInstance().attachContextMap(variables);
+        }
+        Map<String, String> iterationData = IterationDataVariableService.getInstance().getCurrentContextMap();
+        if (iterationData == null) {
+            iterationData = new ConcurrentHashMap<>();
+            IterationDataVariableService.getInstance().attachContextMap(iterationData);
+        }
+        ExecutionVariableContext context = new ExecutionVariableContext(variables, iterationData);
+        IterationInfoService.IterationInfo info = IterationInfoService.getInstance().getCurrentInfo();
+        context.setIterationInfo(info.iteration(), info.iterationCount());
+        return new Snapshot(context, RequestExecutionContext.captureCurrentScope());
+    }
+
     private static ExecutionContextScope openInternal(ExecutionVariableContext context,
                                                       RequestExecutionScope requestExecutionScope) {
         Map<String, String> previousVariables = VariablesService.getInstance().getCurrentContextMap();
@@ -69,4 +91,18 @@ public final class ExecutionContextScope implements AutoCloseable {
         }
         closed = true;
     }
+
+    public static final class Snapshot {
+        private final ExecutionVariableContext context;
+        private final RequestExecutionScope requestExecutionScope;
+
+        private Snapshot(ExecutionVariableContext context, RequestExecutionScope requestExecutionScope) {
+            this.context = context;
+            this.requestExecutionScope = requestExecutionScope;
+        }
+
+        public ExecutionContextScope open() {
+            return ExecutionContextScope.open(context, requestExecutionScope);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.laker.postman.startup;
 
+import com.laker.postman.functional.cli.FunctionalCliCommand;
 import com.laker.postman.performance.cli.PerformanceCliCommand;
 
 import java.io.PrintStream;
@@ -7,22 +8,34 @@ import java.util.OptionalInt;
 
 public class AppCommandRouter {
     private final PerformanceCliCommand performanceCliCommand;
+    private final FunctionalCliCommand functionalCliCommand;
 
     public AppCommandRouter() {
-        this(new PerformanceCliCommand());
+        this(new PerformanceCliCommand(), new FunctionalCliCommand());
     }
 
     AppCommandRouter(PerformanceCliCommand performanceCliCommand) {
+        this(performanceCliCommand, null);
+    }
+
+    AppCommandRouter(PerformanceCliCommand performanceCliCommand, FunctionalCliCommand functionalCliCommand) {
         this.performanceCliCommand = performanceCliCommand == null
                 ? new PerformanceCliCommand()
                 : performanceCliCommand;
+        this.functionalCliCommand = functionalCliCommand == null
+                ? new FunctionalCliCommand()
+                : functionalCliCommand;
     }
 
     public OptionalInt route(String[] args, PrintStream out, PrintStream err) {
-        if (!PerformanceCliCommand.matches(args)) {
-            return OptionalInt.empty();
+        if (PerformanceCliCommand.matches(args)) {
+            System.setProperty("java.awt.headless", "true");
+            return OptionalInt.of(performanceCliCommand.run(args, out, err));
+        }
+        if (FunctionalCliCommand.matches(args)) {
+            System.setProperty("java.awt.headless", "true");
+            return OptionalInt.of(functionalCliCommand.run(args, out, err));
         }
-        System.setProperty("java.awt.headless", "true");
-        return OptionalInt.of(performanceCliCommand.run(args, out, err));
+        return OptionalInt.empty();
     }
 }
@@ -0,0 +1,135 @@
+package com.laker.postman.functional.cli;
+
+import cn.hutool.json.JSONUtil;
+import com.laker.postman.collection.model.CollectionDocument;
+import com.laker.postman.collection.model.CollectionNode;
+import com.laker.postman.collection.model.RequestGroup;
+import com.laker.postman.model.Environment;
+import com.laker.postman.request.model.HttpRequestItem;
+import com.laker.postman.service.collections.CollectionDocumentJsonCodec;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class FunctionalRunCliCommandTest {
+
+    @Test
+    public void shouldParseRunOptionsAndResolveWorkspaceFiles() throws Exception {
+        Path workspace = Files.createTempDirectory("ep-functional-options");
+        Files.writeString(workspace.resolve("environments.json"), "[]");
+
+        FunctionalRunCliOptions options = FunctionalRunCliOptions.parse(new String[]{
+                "functional", "run", "--workspace", workspace.toString(), "--concurrency", "4",
+                "--junit", "/tmp/report.xml", "--bail"
+        });
+
+        assertFalse(options.isHelp());
+        assertTrue(options.isBail());
+        assertEquals(options.getConcurrency(), Integer.valueOf(4));
+        assertEquals(options.resolveCollectionPath(), workspace.resolve("collections.json"));
+        assertEquals(options.resolveEnvironmentsPath(), workspace.resolve("environments.json"));
+        assertEquals(options.resolveConfigPath(), null);
+        assertEquals(options.getJunitPath(), Path.of("/tmp/report.xml"));
+    }
+
+    @Test
+    public void shouldRejectInvalidConcurrencyAndMissingCollection() {
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        FunctionalRunCliCommand command = new FunctionalRunCliCommand(() -> {
+        });
+
+        assertEquals(command.run(new String[]{"functional", "run"},
+                new PrintStream(new ByteArrayOutputStream()), new PrintStream(stderr)), 2);
+        assertTrue(stderr.toString().contains("--workspace or --collection is required"));
+        assertEquals(command.run(new String[]{"functional", "run", "--collection", "c.json", "--concurrency", "0"},
+                new PrintStream(new ByteArrayOutputStream()), new PrintStream(stderr)), 2);
+        assertTrue(stderr.toString().contains("--concurrency requires a positive integer"));
+    }
+
+    @Test
+    public void shouldRunWorkspaceHeadlesslyAndWriteJsonAndJunitReports() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return request.getPath().startsWith("/health")
+                            ? new MockResponse().setBody("ok")
+                            : new MockResponse().setResponseCode(404);
+                }
+            });
+            server.start();
+
+            Path workspace = Files.createTempDirectory("ep-functional-cli");
+            writeCollection(workspace.resolve("collections.json"));
+            writeEnvironment(workspace.resolve("environments.json"), server.url("/").toString());
+            Path data = workspace.resolve("data.csv");
+            Files.writeString(data, "user\nalice\nbob\n");
+            Path junit = workspace.resolve("reports/junit.xml");
+            Path json = workspace.resolve("reports/result.json");
+            ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+            ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+            int exitCode = new FunctionalRunCliCommand(() -> {
+            }).run(new String[]{
+                    "functional", "run", "--workspace", workspace.toString(), "--data", data.toString(),
+                    "--concurrency", "2", "--junit", junit.toString(), "--out", json.toString()
+            }, new PrintStream(stdout, true, StandardCharsets.UTF_8), new PrintStream(stderr, true, StandardCharsets.UTF_8));
+
+            assertEquals(exitCode, 1, stderr.toString(StandardCharsets.UTF_8));
+            assertEquals(server.getRequestCount(), 4);
+            assertTrue(stdout.toString(StandardCharsets.UTF_8).contains("iterations=2 total=4 failed=2 errors=0"));
+
+            String result = Files.readString(json);
+            assertTrue(JSONUtil.isTypeJSONObject(result), result);
+            assertEquals(JSONUtil.parseObj(result).getJSONArray("iterations").size(), 2);
+            assertEquals(JSONUtil.parseObj(result).getJSONObject("summary").getInt("failedRequests"), 2);
+            assertTrue(result.contains("\"user\":\"bob\""));
+
+            String report = Files.readString(junit);
+            assertTrue(report.contains("tests=\"2\" failures=\"1\" errors=\"0\""), report);
+            assertTrue(report.contains("<testcase classname=\"" + workspace.getFileName() + ".Iteration 1\" name=\"Health\""));
+            assertTrue(report.contains("<property name=\"user\" value=\"alice\""));
+            assertTrue(report.trim().endsWith("</testsuites>"));
+        }
+    }
+
+    private static void writeCollection(Path file) throws Exception {
+        RequestGroup group = new RequestGroup("Smoke");
+        group.setId("group-smoke");
+        CollectionNode groupNode = CollectionNode.group(group);
+        groupNode.addChild(CollectionNode.request(request("req-health", "Health", "{{baseUrl}}health?u={{user}}")));
+        groupNode.addChild(CollectionNode.request(request("req-missing", "Missing", "{{baseUrl}}missing")));
+        CollectionDocumentJsonCodec.write(file.toFile(), new CollectionDocument(List.of(groupNode)));
+    }
+
+    private static HttpRequestItem request(String id, String name, String url) {
+        HttpRequestItem item = new HttpRequestItem();
+        item.setId(id);
+        item.setName(name);
+        item.setMethod("GET");
+        item.setUrl(url);
+        item.setPostscript("pm.test('Status code is 200', function() {\n    pm.response.to.have.status(200);\n});");
+        return item;
+    }
+
+    private static void writeEnvironment(Path file, String baseUrl) throws Exception {
+        Environment environment = new Environment("CI");
+        environment.setId("env-ci");
+        environment.setActive(true);
+        environment.addVariable("baseUrl", baseUrl);
+        Files.writeString(file, JSONUtil.toJsonStr(List.of(environment)));
+    }
+}
@@ -0,0 +1,161 @@
+package com.laker.postman.functional.execution;
+
+import com.laker.postman.functional.model.BatchExecutionHistory;
+import com.laker.postman.functional.model.IterationResult;
+import com.laker.postman.functional.model.RequestResult;
+import com.laker.postman.functional.model.RunnerRowData;
+import com.laker.postman.http.runtime.model.HttpResponse;
+import com.laker.postman.http.runtime.model.PreparedRequest;
+import com.laker.postman.http.runtime.transport.HttpExchangeOptions;
+import com.laker.postman.http.runtime.transport.HttpTransport;
+import com.laker.postman.http.runtime.transport.RealtimeConnectionHandle;
+import com.laker.postman.http.runtime.transport.RealtimeConnectionOptions;
+import com.laker.postman.http.runtime.transport.RealtimeWebSocketConnection;
+import com.laker.postman.request.model.HttpRequestItem;
+import okhttp3.WebSocketListener;
+import okhttp3.sse.EventSourceListener;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class FunctionalBatchRunnerTest {
+
+    @Test
+    public void concurrentRunShouldRecordIterationsAndRowsInTableOrder() {
+        RecordingTransport transport = new RecordingTransport();
+        List<RunnerRowData> rows = List.of(
+                row("https://example.test/slow"),
+                row("https://example.test/a"),
+                row("https://example.test/b"));
+        List<Map<String, String>> iterationRows = List.of(Map.of("n", "1"), Map.of("n", "2"), Map.of("n", "3"));
+        BatchExecutionHistory history = new BatchExecutionHistory();
+        List<Integer> emitted = Collections.synchronizedList(new ArrayList<>());
+
+        runner(transport, 4).run(rows, iterationRows, history, () -> true, new FunctionalBatchRunner.Listener() {
+            @Override
+            public void onRequestFinished(int iteration, int row, FunctionalRequestExecutionResult result) {
+            }
+
+            @Override
+            public void onIterationFinished(IterationResult iteration) {
+                emitted.add(iteration.getIterationIndex());
+            }
+        });
+
+        assertEquals(emitted, List.of(0, 1, 2));
+        assertEquals(history.getIterations().size(), 3);
+        for (int i = 0; i < 3; i++) {
+            IterationResult iteration = history.getIterations().get(i);
+            assertEquals(iteration.getIterationIndex(), i);
+            assertEquals(iteration.getCsvData().get("n"), String.valueOf(i + 1));
+            assertEquals(iteration.getRequestResults().stream().map(RequestResult::getRequestName).toList(),
+                    List.of("https://example.test/slow", "https://example.test/a", "https://example.test/b"));
+        }
+        assertTrue(transport.maxInFlight.get() > 1, "independent rows should overlap");
+    }
+
+    @Test
+    public void dependentRowShouldStartAfterTheRowThatSetsItsVariable() {
+        RecordingTransport transport = new RecordingTransport();
+        RunnerRowData login = row("https://example.test/slow-login");
+        login.requestItem.setPostscript("pm.variables.set('token', 'abc');");
+        RunnerRowData profile = row("https://example.test/me?token={{token}}");
+        BatchExecutionHistory history = new BatchExecutionHistory();
+
+        runner(transport, 4).run(List.of(login, profile), List.of(Map.of()), history, () -> true, new NoopListener());
+
+        assertEquals(transport.events, List.of(
+                "start https://example.test/slow-login",
+                "end https://example.test/slow-login",
+                "start https://example.test/me?token=abc",
+                "end https://example.test/me?token=abc"));
+    }
+
+    @Test
+    public void stoppedRunShouldNotRecordUnstartedIterations() {
+        RecordingTransport transport = new RecordingTransport();
+        AtomicInteger finished = new AtomicInteger();
+        BatchExecutionHistory history = new BatchExecutionHistory();
+
+        runner(transport, 1).run(List.of(row("https://example.test/a"), row("https://example.test/b")),
+                List.of(Map.of(), Map.of(), Map.of()), history, () -> finished.get() < 3,
+                new NoopListener() {
+                    @Override
+                    public void onRequestFinished(int iteration, int row, FunctionalRequestExecutionResult result) {
+                        finished.incrementAndGet();
+                    }
+                });
+
+        assertEquals(history.getIterations().size(), 2);
+        assertEquals(history.getIterations().get(0).getRequestResults().size(), 2);
+        assertEquals(history.getIterations().get(1).getRequestResults().size(), 1);
+        assertTrue(history.getEndTime() > 0);
+    }
+
+    private static FunctionalBatchRunner runner(HttpTransport transport, int concurrency) {
+        return new FunctionalBatchRunner(new FunctionalRequestExecutor(null, transport), concurrency, UnaryOperator.identity());
+    }
+
+    private static RunnerRowData row(String url) {
+        HttpRequestItem item = new HttpRequestItem();
+        item.setName(url);
+        item.setMethod("GET");
+        item.setUrl(url);
+        return new RunnerRowData(item);
+    }
+
+    private static class NoopListener implements FunctionalBatchRunner.Listener {
+        @Override
+        public void onRequestFinished(int iteration, int row, FunctionalRequestExecutionResult result) {
+        }
+
+        @Override
+        public void onIterationFinished(IterationResult iteration) {
+        }
+    }
+
+    private static final class RecordingTransport implements HttpTransport {
+        private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public HttpResponse execute(PreparedRequest request, HttpExchangeOptions options) {
+            events.add("start " + request.url);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(request.url.contains("slow") ? 150 : 20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            events.add("end " + request.url);
+            HttpResponse response = new HttpResponse();
+            response.code = 200;
+            return response;
+        }
+
+        @Override
+        public RealtimeConnectionHandle openSse(PreparedRequest request,
+                                                EventSourceListener listener,
+                                                RealtimeConnectionOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public RealtimeWebSocketConnection openWebSocket(PreparedRequest request,
+                                                        WebSocketListener listener,
+                                                        RealtimeConnectionOptions options) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.laker.postman.functional.execution;
+
+import com.laker.postman.request.model.HttpHeader;
+import com.laker.postman.request.model.HttpRequestItem;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class FunctionalExecutionPlanTest {
+
+    @Test
+    public void rowsReadingVariablesSetByEarlierRowsShouldWaitForThem() {
+        HttpRequestItem login = request("https://example.test/login");
+        login.setPostscript("pm.variables.set('token', pm.response.json().token);");
+        HttpRequestItem health = request("https://example.test/health");
+        HttpRequestItem profile = request("https://example.test/me");
+        profile.setHeadersList(List.of(new HttpHeader(true, "Authorization", "Bearer {{token}}")));
+        HttpRequestItem orders = request("https://example.test/orders?trace={{$guid}}");
+        orders.setPrescript("const id = pm.variables.get(\"token\");");
+
+        FunctionalExecutionPlan plan = FunctionalExecutionPlan.analyze(List.of(login, health, profile, orders));
+
+        assertEquals(plan.dependenciesOf(0), new int[0]);
+        assertEquals(plan.dependenciesOf(1), new int[0]);
+        assertEquals(plan.dependenciesOf(2), new int[]{0});
+        assertEquals(plan.dependenciesOf(3), new int[]{0});
+        assertTrue(plan.isIterationsIndependent());
+    }
+
+    @Test
+    public void sharedScopeWritesShouldSerializeRowsAndIterations() {
+        HttpRequestItem first = request("https://example.test/a");
+        HttpRequestItem writer = request("https://example.test/b");
+        writer.setPostscript("pm.environment.set('orderId', '1');");
+        HttpRequestItem last = request("https://example.test/c");
+
+        FunctionalExecutionPlan plan = FunctionalExecutionPlan.analyze(List.of(first, writer, last));
+
+        assertEquals(plan.dependenciesOf(1), new int[]{0});
+        assertEquals(plan.dependenciesOf(2), new int[]{1});
+        assertFalse(plan.isIterationsIndependent());
+    }
+
+    @Test
+    public void untrackedVariableAccessShouldBeTreatedConservatively() {
+        HttpRequestItem reader = request("https://example.test/{{host}}");
+        HttpRequestItem dynamic = request("https://example.test/x");
+        dynamic.setPrescript("const key = 'h' + 'ost'; pm.variables.set(key, 'other');");
+        HttpRequestItem independent = request("https://example.test/y");
+
+        FunctionalExecutionPlan plan = FunctionalExecutionPlan.analyze(List.of(reader, dynamic, independent));
+
+        assertEquals(plan.dependenciesOf(1), new int[]{0});
+        assertEquals(plan.dependenciesOf(2), new int[0]);
+        assertTrue(plan.isIterationsIndependent());
+    }
+
+    @Test
+    public void sequentialPlanShouldChainEveryRow() {
+        FunctionalExecutionPlan plan = FunctionalExecutionPlan.sequential(3);
+
+        assertEquals(plan.size(), 3);
+        assertEquals(plan.dependenciesOf(0), new int[0]);
+        assertEquals(plan.dependenciesOf(2), new int[]{1});
+        assertFalse(plan.isIterationsIndependent());
+    }
+
+    private static HttpRequestItem request(String url) {
+        HttpRequestItem item = new HttpRequestItem();
+        item.setName(url);
+        item.setMethod("GET");
+        item.setUrl(url);
+        return item;
+    }
+}
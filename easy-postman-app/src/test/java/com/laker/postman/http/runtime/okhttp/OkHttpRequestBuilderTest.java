@@ -6,6 +6,7 @@ import com.laker.postman.request.model.HttpFormData;
 import com.laker.postman.request.model.HttpFormUrlencoded;
 
 
+import okhttp3.MultipartBody;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okio.Buffer;
@@ -16,6 +17,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import static org.testng.Assert.*;
@@ -522,6 +524,98 @@ public class OkHttpRequestBuilderTest {
         assertTrue(bodyContent.contains("中文测试"));
     }
 
+    // ==================== 请求体模板测试 ====================
+
+    @Test(description = "测试静态请求体模板整份复用预编码字节")
+    public void testStaticBodyTemplateReusesEncodedBytes() throws IOException {
+        request.headersList.add(new HttpHeader(true, "Content-Type", "application/json"));
+        request.body = "{\"name\":\"中文\"}";
+        RequestBodyTemplate template = RequestBodyTemplate.compile(request);
+
+        assertNotNull(template);
+        assertFalse(template.hasVariables());
+        RequestBodyTemplate.Rendered first = template.render(slot -> {
+            fail("static body has no slots");
+            return slot;
+        });
+        assertSame(template.render(slot -> slot), first);
+
+        request.body = first.text();
+        request.renderedBody = first;
+        assertEquals(readRequestBody(OkHttpRequestBuilder.buildRequest(request).body()), "{\"name\":\"中文\"}");
+    }
+
+    @Test(description = "测试请求体模板只解析变量槽位")
+    public void testBodyTemplateRendersOnlyVariableSlots() throws IOException {
+        request.headersList.add(new HttpHeader(true, "Content-Type", "application/json; charset=utf-8"));
+        request.body = "{\"user\":\"{{user}}\",\"id\":{{id}},\"keep\":\"{{missing}}\"}";
+        RequestBodyTemplate template = RequestBodyTemplate.compile(request);
+        List<String> resolvedSlots = new ArrayList<>();
+
+        RequestBodyTemplate.Rendered rendered = template.render(slot -> {
+            resolvedSlots.add(slot);
+            return switch (slot) {
+                case "{{user}}" -> "张三";
+                case "{{id}}" -> "42";
+                default -> slot;
+            };
+        });
+
+        assertEquals(resolvedSlots, List.of("{{user}}", "{{id}}", "{{missing}}"));
+        assertEquals(rendered.text(), "{\"user\":\"张三\",\"id\":42,\"keep\":\"{{missing}}\"}");
+        request.body = rendered.text();
+        request.renderedBody = rendered;
+        Request okRequest = OkHttpRequestBuilder.buildRequest(request);
+        assertEquals(readRequestBody(okRequest.body()), rendered.text());
+        assertEquals(Objects.requireNonNull(okRequest.body()).contentLength(),
+                rendered.text().getBytes(java.nio.charset.StandardCharsets.UTF_8).length);
+    }
+
+    @Test(description = "测试请求体被改写或 Content-Type 变化时不使用预编码字节")
+    public void testRenderedBodyIgnoredAfterRewrite() throws IOException {
+        request.headersList.add(new HttpHeader(true, "Content-Type", "text/plain"));
+        request.body = "hello {{name}}";
+        RequestBodyTemplate.Rendered rendered = RequestBodyTemplate.compile(request).render(slot -> "world");
+        request.renderedBody = rendered;
+
+        request.body = "rewritten";
+        assertEquals(readRequestBody(OkHttpRequestBuilder.buildRequest(request).body()), "rewritten");
+
+        request.body = rendered.text();
+        request.headersList.set(0, new HttpHeader(true, "Content-Type", "application/json"));
+        RequestBody body = OkHttpRequestBuilder.buildRequest(request).body();
+        assertEquals(readRequestBody(body), "hello world");
+        assertEquals(Objects.requireNonNull(Objects.requireNonNull(body).contentType()).subtype(), "json");
+    }
+
+    @Test(description = "测试带注释的 JSON 请求体不编译模板，变量带入注释时回退清理")
+    public void testBodyTemplateFallsBackForJsonComments() throws IOException {
+        request.headersList.add(new HttpHeader(true, "Content-Type", "application/json"));
+        request.body = "{\"a\":1 // comment\n}";
+        assertNull(RequestBodyTemplate.compile(request));
+
+        request.body = "{\"a\":{{value}}}";
+        RequestBodyTemplate.Rendered rendered = RequestBodyTemplate.compile(request).render(slot -> "1 /* note */");
+        request.body = rendered.text();
+        request.renderedBody = rendered;
+
+        assertFalse(readRequestBody(OkHttpRequestBuilder.buildRequest(request).body()).contains("note"));
+    }
+
+    @Test(description = "测试同一文件的上传请求体跨请求复用")
+    public void testMultipartFileBodyReusedAcrossRequests() throws IOException {
+        File tempFile = Files.createTempFile("template", ".json").toFile();
+        tempFile.deleteOnExit();
+        Files.writeString(tempFile.toPath(), "{}");
+        request.formDataList = new ArrayList<>();
+        request.formDataList.add(new HttpFormData(true, "file", HttpFormData.TYPE_FILE, tempFile.getAbsolutePath()));
+
+        MultipartBody first = (MultipartBody) OkHttpRequestBuilder.buildMultipartRequest(request).body();
+        MultipartBody second = (MultipartBody) OkHttpRequestBuilder.buildMultipartRequest(request).body();
+
+        assertSame(Objects.requireNonNull(second).part(0).body(), Objects.requireNonNull(first).part(0).body());
+    }
+
     // ==================== 辅助方法 ====================
 
     /**
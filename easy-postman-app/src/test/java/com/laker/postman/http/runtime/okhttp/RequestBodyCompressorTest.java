@@ -0,0 +1,108 @@
+package com.laker.postman.http.runtime.okhttp;
+
+import com.github.luben.zstd.Zstd;
+import com.laker.postman.http.runtime.model.PreparedRequest;
+import com.laker.postman.request.model.HttpFormUrlencoded;
+import com.laker.postman.request.model.HttpHeader;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
+import okhttp3.Request;
+import okio.Buffer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.testng.Assert.*;
+
+/**
+ * RequestBodyCompressor 单元测试
+ */
+public class RequestBodyCompressorTest {
+
+    private static final String BODY = "{\"items\":\"" + "easy-postman ".repeat(100) + "\"}";
+
+    private PreparedRequest request;
+
+    @BeforeMethod
+    public void setUp() {
+        request = new PreparedRequest();
+        request.url = "https://api.example.com/upload";
+        request.method = "POST";
+        request.headersList = new ArrayList<>(List.of(new HttpHeader(true, "Content-Type", "application/json")));
+        request.body = BODY;
+    }
+
+    @Test(description = "gzip、deflate、zstd 压缩结果都能被标准解码器还原，且压缩器可在同一线程重复使用")
+    public void testCompressRoundTrip() throws IOException {
+        byte[] raw = BODY.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < 2; i++) {
+            byte[] gzip = RequestBodyCompressor.compress(HttpRequestBodyCompressions.GZIP, raw);
+            try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+                assertEquals(input.readAllBytes(), raw);
+            }
+            byte[] deflate = RequestBodyCompressor.compress(HttpRequestBodyCompressions.DEFLATE, raw);
+            try (InflaterInputStream input = new InflaterInputStream(new ByteArrayInputStream(deflate))) {
+                assertEquals(input.readAllBytes(), raw);
+            }
+            byte[] zstd = RequestBodyCompressor.compress(HttpRequestBodyCompressions.ZSTD, raw);
+            assertEquals(Zstd.decompress(zstd, raw.length), raw);
+            assertTrue(zstd.length < raw.length);
+        }
+        assertSame(RequestBodyCompressor.compress(HttpRequestBodyCompressions.NONE, raw), raw);
+    }
+
+    @Test(description = "开启压缩后请求体被压缩、自动添加 Content-Encoding 并记录压缩前后的字节数")
+    public void testBuildCompressedRequest() throws IOException {
+        request.requestBodyCompression = HttpRequestBodyCompressions.ZSTD;
+
+        Request okRequest = OkHttpRequestBuilder.buildRequest(request);
+
+        assertEquals(okRequest.header("Content-Encoding"), "zstd");
+        assertEquals(okRequest.body().contentType().toString(), "application/json");
+        Buffer buffer = new Buffer();
+        okRequest.body().writeTo(buffer);
+        byte[] sent = buffer.readByteArray();
+        assertEquals(new String(Zstd.decompress(sent, BODY.length()), StandardCharsets.UTF_8), BODY);
+        assertEquals(request.requestBodyRawBytes, BODY.length());
+        assertEquals(request.requestBodyCompressedBytes, sent.length);
+        assertEquals(okRequest.body().contentLength(), sent.length);
+    }
+
+    @Test(description = "用户自己设置的 Content-Encoding 不被覆盖")
+    public void testKeepUserContentEncoding() {
+        request.requestBodyCompression = HttpRequestBodyCompressions.GZIP;
+        request.headersList.add(new HttpHeader(true, "Content-Encoding", "x-gzip"));
+
+        Request okRequest = OkHttpRequestBuilder.buildRequest(request);
+
+        assertEquals(okRequest.headers("Content-Encoding"), List.of("x-gzip"));
+    }
+
+    @Test(description = "表单请求体同样压缩，未开启压缩时不添加编码头也不记录字节数")
+    public void testFormBodyAndDisabledCompression() throws IOException {
+        request.body = null;
+        request.urlencodedList = new ArrayList<>(List.of(new HttpFormUrlencoded(true, "name", "easy-postman")));
+        request.requestBodyCompression = HttpRequestBodyCompressions.DEFLATE;
+
+        Request compressed = OkHttpRequestBuilder.buildFormRequest(request);
+        Buffer buffer = new Buffer();
+        compressed.body().writeTo(buffer);
+        try (InflaterInputStream input = new InflaterInputStream(buffer.inputStream())) {
+            assertEquals(new String(input.readAllBytes(), StandardCharsets.UTF_8), "name=easy-postman");
+        }
+        assertEquals(compressed.header("Content-Encoding"), "deflate");
+
+        request.requestBodyCompression = HttpRequestBodyCompressions.NONE;
+        Request plain = OkHttpRequestBuilder.buildFormRequest(request);
+
+        assertNull(plain.header("Content-Encoding"));
+        assertEquals(request.requestBodyRawBytes, -1);
+        assertEquals(request.requestBodyCompressedBytes, -1);
+    }
+}
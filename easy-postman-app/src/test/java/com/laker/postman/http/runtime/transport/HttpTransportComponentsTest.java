@@ -8,8 +8,15 @@ import com.laker.postman.http.runtime.okhttp.OkHttpExchangeEventListener;
 import com.laker.postman.http.runtime.okhttp.WebSocketLifecycleLogListener;
 import com.laker.postman.http.runtime.okhttp.OkHttpClientManager;
 import com.laker.postman.service.setting.SettingManager;
+import com.github.luben.zstd.Zstd;
+import com.laker.postman.util.HttpHeaderConstants;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -18,6 +25,7 @@ import java.lang.reflect.Method;
 import java.net.Proxy;
 import java.net.ProxySelector;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -27,6 +35,7 @@ import java.util.stream.Collectors;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 public class HttpTransportComponentsTest {
@@ -272,6 +281,29 @@ public class HttpTransportComponentsTest {
         assertTrue(RealtimeConnectionOptions.defaults().isLifecycleLoggingEnabled());
     }
 
+    @Test
+    public void networkInterceptorShouldDecodeZstdResponses() throws Exception {
+        String body = "zstd-response-".repeat(50);
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse()
+                    .setHeader("Content-Encoding", "zstd")
+                    .setBody(new Buffer().write(Zstd.compress(body.getBytes(StandardCharsets.UTF_8)))));
+            server.start();
+            OkHttpClient client = new OkHttpClient.Builder()
+                    .addNetworkInterceptor(new CompressionDecompressNetworkInterceptor())
+                    .build();
+
+            try (Response response = client.newCall(new Request.Builder()
+                    .url(server.url("/zstd"))
+                    .header("Accept-Encoding", "zstd")
+                    .build()).execute()) {
+                assertEquals(response.body().string(), body);
+                assertEquals(response.header(HttpHeaderConstants.EASY_CONTENT_ENCODING), "zstd");
+                assertNull(response.header("Content-Encoding"));
+            }
+        }
+    }
+
     private static Properties getSettingsProperties() throws Exception {
         Field propsField = SettingManager.class.getDeclaredField("props");
         propsField.setAccessible(true);
@@ -1,6 +1,7 @@
 package com.laker.postman.panel.collections.editor.request.sub;
 
 import com.laker.postman.common.component.button.WrapToggleButton;
+import com.laker.postman.common.component.largetext.LargeTextViewer;
 import com.laker.postman.http.runtime.model.HttpResponse;
 import com.laker.postman.test.AbstractSwingUiTest;
 import com.laker.postman.util.UiI18n;
@@ -13,6 +14,8 @@ import javax.swing.event.PopupMenuEvent;
 import java.awt.*;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -113,6 +116,47 @@ public class ResponseBodyPanelTest extends AbstractSwingUiTest {
         assertTrue(copyItem.isEnabled());
     }
 
+    @Test
+    public void shouldPageTextResponsesSavedToTempFileInsteadOfLoadingThemIntoTheEditor() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; body.length() < 1024 * 1024; i++) {
+            body.append("{\"row\":").append(i).append("}\n");
+        }
+        Path file = Files.createTempFile("response-body-panel-test", ".json");
+        Files.writeString(file, body, StandardCharsets.UTF_8);
+        HttpResponse response = responseWithBody("body too large, saved to file");
+        response.filePath = file.toString();
+
+        try {
+            ResponseBodyPanel panel = createPanelWithResponse(response);
+            LargeTextViewer viewer = findComponent(panel, LargeTextViewer.class);
+            assertNotNull(viewer);
+
+            String[] displayed = new String[1];
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (System.currentTimeMillis() < deadline) {
+                SwingUtilities.invokeAndWait(() -> displayed[0] = viewer.getDisplayedText());
+                if (!displayed[0].isEmpty()) {
+                    break;
+                }
+                Thread.sleep(20);
+            }
+
+            assertTrue(viewer.isShowing() || viewer.isVisible());
+            assertEquals(panel.getResponseBodyPane().getText(), "");
+            assertTrue(displayed[0].startsWith("{"), displayed[0].substring(0, Math.min(20, displayed[0].length())));
+            assertTrue(displayed[0].length() < body.length());
+            assertEquals(viewer.getDocument().size(), Files.size(file));
+
+            SwingUtilities.invokeAndWait(() -> panel.setBodyText(responseWithBody("{\"ok\":true}")));
+            assertFalse(viewer.isOpen());
+            // 文件归 HTTP 层所有，查看器关闭时不删除
+            assertTrue(Files.exists(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     private ResponseBodyPanel createPanelWithResponse(HttpResponse response) throws Exception {
         ResponseBodyPanel[] holder = new ResponseBodyPanel[1];
         SwingUtilities.invokeAndWait(() -> {
@@ -145,6 +189,21 @@ public class ResponseBodyPanelTest extends AbstractSwingUiTest {
                 """.formatted("a".repeat(4_500));
     }
 
+    private <T extends Component> T findComponent(Container container, Class<T> type) {
+        for (Component component : container.getComponents()) {
+            if (type.isInstance(component)) {
+                return type.cast(component);
+            }
+            if (component instanceof Container child) {
+                T found = findComponent(child, type);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
     private WrapToggleButton findWrapButton(Container container) {
         for (Component component : container.getComponents()) {
             if (component instanceof WrapToggleButton wrapToggleButton) {
@@ -0,0 +1,79 @@
+package com.laker.postman.panel.collections.tree.adapter;
+
+import com.laker.postman.collection.CollectionTreeQueries;
+import com.laker.postman.collection.model.CollectionDocument;
+import com.laker.postman.collection.model.RequestGroup;
+import com.laker.postman.request.model.HttpRequestItem;
+import com.laker.postman.service.collections.CollectionTreeNodes;
+import org.testng.annotations.Test;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class SwingCollectionDocumentCacheTest {
+
+    @Test
+    public void treeModelEventsShouldUpdateCachedDocumentInPlace() {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        DefaultMutableTreeNode collection = CollectionTreeNodes.groupNode(new RequestGroup("Collection"));
+        DefaultMutableTreeNode folder = CollectionTreeNodes.groupNode(new RequestGroup("Folder"));
+        collection.add(folder);
+        root.add(collection);
+        DefaultTreeModel model = new DefaultTreeModel(root);
+        SwingCollectionDocumentCache cache = new SwingCollectionDocumentCache(root);
+        model.addTreeModelListener(cache);
+        CollectionDocument document = cache.get();
+
+        DefaultMutableTreeNode requestNode = CollectionTreeNodes.requestNode(request("req-1", "First"));
+        model.insertNodeInto(requestNode, folder, 0);
+        assertSame(cache.get(), document);
+        assertEquals(document.index().findPath("req-1").orElseThrow(), "Collection/Folder/First");
+
+        // 拖拽移动：先删除再插入
+        model.removeNodeFromParent(requestNode);
+        model.insertNodeInto(requestNode, collection, 0);
+        assertSame(cache.get(), document);
+        assertEquals(document.index().findPath("req-1").orElseThrow(), "Collection/First");
+
+        // 保存请求会替换节点载荷
+        CollectionTreeNodes.setRequest(requestNode, request("req-1", "Renamed"));
+        model.nodeChanged(requestNode);
+        assertEquals(CollectionTreeQueries.findRequestById(cache.get(), "req-1").orElseThrow().getName(), "Renamed");
+
+        folder.add(CollectionTreeNodes.requestNode(request("req-2", "Second")));
+        model.reload(folder);
+        assertSame(cache.get(), document);
+        assertEquals(CollectionTreeQueries.collectRequests(document).stream().map(HttpRequestItem::getId).toList(),
+                List.of("req-1", "req-2"));
+    }
+
+    @Test
+    public void rootReloadShouldRebuildDocument() {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        DefaultTreeModel model = new DefaultTreeModel(root);
+        SwingCollectionDocumentCache cache = new SwingCollectionDocumentCache(root);
+        model.addTreeModelListener(cache);
+        CollectionDocument before = cache.get();
+
+        DefaultMutableTreeNode collection = CollectionTreeNodes.groupNode(new RequestGroup("Collection"));
+        collection.add(CollectionTreeNodes.requestNode(request("req-1", "First")));
+        root.add(collection);
+        model.reload();
+
+        CollectionDocument after = cache.get();
+        assertTrue(after != before);
+        assertTrue(CollectionTreeQueries.findRequestById(after, "req-1").isPresent());
+    }
+
+    private static HttpRequestItem request(String id, String name) {
+        HttpRequestItem item = new HttpRequestItem();
+        item.setId(id);
+        item.setName(name);
+        return item;
+    }
+}
@@ -6,6 +6,8 @@ import com.laker.postman.performance.core.model.PerformanceProtocol;
 import com.laker.postman.performance.core.model.RequestResult;
 import com.laker.postman.performance.core.model.PerformanceStatsCollector;
 import com.laker.postman.performance.core.model.PerformanceStatsSnapshot;
+import com.laker.postman.performance.core.report.PerformanceJsonReportTrendPoint;
+import com.laker.postman.performance.core.report.PerformanceJsonReportTrendTier;
 import com.laker.postman.performance.model.PerformanceProtocolLabels;
 import com.laker.postman.test.AbstractSwingUiTest;
 import com.laker.postman.util.I18nUtil;
@@ -26,10 +28,12 @@ import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 public class PerformanceReportPanelTest extends AbstractSwingUiTest {
@@ -68,6 +72,33 @@ public class PerformanceReportPanelTest extends AbstractSwingUiTest {
         assertTrue(markdown.contains("1.00"), markdown);
     }
 
+    @Test
+    public void shouldExportJsonReportWithTrendTiers() {
+        PerformanceReportPanel panel = new PerformanceReportPanel();
+        assertNull(panel.buildJsonReport());
+
+        panel.setTrendTiersSupplier(() -> List.of(PerformanceJsonReportTrendTier.builder()
+                .name("raw")
+                .resolutionMs(0L)
+                .series(Map.of("activeUsers", List.of(PerformanceJsonReportTrendPoint.builder()
+                        .timeMs(1_000L)
+                        .count(1L)
+                        .min(3.0)
+                        .max(3.0)
+                        .avg(3.0)
+                        .p50(3.0)
+                        .p95(3.0)
+                        .build())))
+                .build()));
+        panel.updateReport(statsSnapshot(new RequestResult(1_000, 1_100, true,
+                "search", "Search API", PerformanceProtocol.HTTP)));
+
+        String json = panel.buildJsonReport();
+
+        assertTrue(json.contains("\"trendTiers\""), json);
+        assertTrue(json.contains("Search API"), json);
+    }
+
     @Test
     public void shouldNotExposeAverageReceivedBytesColumnInHttpReport() throws Exception {
         RequestResult result = new RequestResult(1_000, 1_100, true,
@@ -0,0 +1,90 @@
+package com.laker.postman.panel.performance.result;
+
+import com.laker.postman.http.runtime.model.HttpResponse;
+import com.laker.postman.http.runtime.model.PreparedRequest;
+import com.laker.postman.performance.core.model.PerformanceProtocol;
+import com.laker.postman.performance.model.ResultNodeInfo;
+import com.laker.postman.script.model.TestResult;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class PerformanceResultColumnStoreTest {
+
+    @Test
+    public void shouldOverwriteOldestRowsWhenRingIsFull() {
+        PerformanceResultColumnStore store = new PerformanceResultColumnStore();
+        int removed = 0;
+        for (int i = 0; i < 2_500; i++) {
+            removed += store.append(result("api-" + (i % 3), 200, i, null), 2_000);
+        }
+
+        assertEquals(store.size(), 2_000);
+        assertEquals(removed, 500);
+        assertEquals(store.costMs(0), 500);
+        assertEquals(store.costMs(1_999), 2_499);
+        assertEquals(store.name(0), "api-2");
+        assertEquals(store.detail(0).costMs, 500);
+        assertNull(store.detail(2_000));
+
+        // 保留条数调小后从头部淘汰
+        assertEquals(store.trimTo(10), 1_990);
+        assertEquals(store.costMs(0), 2_490);
+    }
+
+    @Test
+    public void shouldDeriveStatusAndAssertionColumns() {
+        PerformanceResultColumnStore store = new PerformanceResultColumnStore();
+        store.append(result("ok", 200, 1, null), 10);
+        store.append(result("down", 503, 1, null), 10);
+        store.append(result("checked", 200, 1, List.of(new TestResult("a", true, null))), 10);
+        store.append(result("broken", 200, 1, List.of(new TestResult("a", false, "boom"))), 10);
+        store.append(result(null, 0, 1, null), 10);
+
+        assertTrue(store.isSuccessful(0));
+        assertEquals(store.assertionSymbol(0), PerformanceResultColumnStore.ASSERTION_NONE);
+        assertFalse(store.isSuccessful(1));
+        assertEquals(store.assertionSymbol(1), PerformanceResultColumnStore.ASSERTION_FAILED);
+        assertEquals(store.assertionSymbol(2), PerformanceResultColumnStore.ASSERTION_PASSED);
+        assertEquals(store.assertionSymbol(3), PerformanceResultColumnStore.ASSERTION_FAILED);
+        assertNull(store.name(4));
+        assertEquals(store.protocol(4), PerformanceProtocol.HTTP);
+    }
+
+    @Test
+    public void shouldFilterByDeepSearchAndSortOnSnapshot() {
+        PerformanceResultColumnStore store = new PerformanceResultColumnStore();
+        store.append(result("Login", 200, 30, null), 100);
+        store.append(result("search", 500, 10, null), 100);
+        store.append(result("login", 200, 20, null), 100);
+        ResultNodeInfo withBody = result("Order", 200, 5, null);
+        withBody.resp.body = "{\"error\":\"LOGIN_REQUIRED\"}";
+        store.append(withBody, 100);
+
+        PerformanceResultColumnStore snapshot = store.copyFrom(0);
+        assertEquals(snapshot.select("login", -1, true), new int[]{0, 2, 3});
+        assertEquals(snapshot.select("login", PerformanceResultColumnStore.COL_COST, true), new int[]{3, 2, 0});
+        // 名称相同（忽略大小写）时按追加顺序
+        assertEquals(snapshot.select(null, PerformanceResultColumnStore.COL_NAME, false), new int[]{1, 3, 0, 2});
+        assertEquals(snapshot.select(null, PerformanceResultColumnStore.COL_STATUS, false), new int[]{1, 0, 2, 3});
+        assertEquals(store.copyFrom(2).select(null, -1, true), new int[]{0, 1});
+    }
+
+    @Test
+    public void shouldMergeSortedRowIndexes() {
+        int[] rows = {5, 1, 4, 2, 3, 0};
+        PerformanceResultColumnStore.sortRows(rows, Integer::compare);
+        assertEquals(rows, new int[]{0, 1, 2, 3, 4, 5});
+        assertEquals(PerformanceResultColumnStore.mergeRows(new int[]{1, 4, 9}, new int[]{2, 3, 10}, Integer::compare),
+                new int[]{1, 2, 3, 4, 9, 10});
+    }
+
+    static ResultNodeInfo result(String name, int code, int costMs, List<TestResult> testResults) {
+        HttpResponse response = new HttpResponse();
+        response.code = code;
+        response.costMs = costMs;
+        return new ResultNodeInfo(name, "", new PreparedRequest(), response, testResults, false);
+    }
+}
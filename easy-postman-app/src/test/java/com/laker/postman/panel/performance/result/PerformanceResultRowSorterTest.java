@@ -0,0 +1,96 @@
+package com.laker.postman.panel.performance.result;
+
+import com.laker.postman.panel.performance.result.PerformanceResultTablePanel.PendingResult;
+import com.laker.postman.panel.performance.result.PerformanceResultTablePanel.ResultTableModel;
+import org.testng.annotations.Test;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+
+public class PerformanceResultRowSorterTest {
+
+    @Test
+    public void shouldKeepFilteredSortedViewInSyncWithAppendsAndTrims() throws Exception {
+        ResultTableModel model = new ResultTableModel();
+        PerformanceResultRowSorter sorter = new PerformanceResultRowSorter(model, () -> {
+        });
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                append(model, sorter, 0, 100);
+                sorter.setKeyword("  Even ");
+                sorter.toggleSortOrder(PerformanceResultColumnStore.COL_COST);
+                sorter.toggleSortOrder(PerformanceResultColumnStore.COL_COST);
+            });
+            awaitView(sorter);
+            assertEquals(viewCosts(model, sorter).size(), 50);
+            assertEquals(viewCosts(model, sorter).get(0).intValue(), 98);
+
+            // 追加并淘汰最旧的行：新行增量归并进视图，被淘汰的行从视图剔除
+            SwingUtilities.invokeAndWait(() -> append(model, sorter, 100, 150));
+            awaitView(sorter);
+            List<Integer> costs = viewCosts(model, sorter);
+            assertEquals(costs.size(), 50);
+            assertEquals(costs.get(0).intValue(), 148);
+            assertEquals(costs.get(costs.size() - 1).intValue(), 50);
+
+            SwingUtilities.invokeAndWait(() -> {
+                sorter.setKeyword("");
+                sorter.setSortKeys(null);
+            });
+            assertEquals(viewCosts(model, sorter).get(0).intValue(), 50);
+            assertEquals(viewCosts(model, sorter).size(), 100);
+        } finally {
+            SwingUtilities.invokeAndWait(sorter::dispose);
+        }
+    }
+
+    // 模拟 JTable 把模型事件转发给排序器
+    private static void append(ResultTableModel model, PerformanceResultRowSorter sorter, int from, int to) {
+        List<PendingResult> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            batch.add(new PendingResult(PerformanceResultColumnStoreTest.result(
+                    i % 2 == 0 ? "even" : "odd", 200, i, null), 100));
+        }
+        model.addTableModelListener(event -> {
+            if (event.getType() == TableModelEvent.INSERT) {
+                sorter.rowsInserted(event.getFirstRow(), event.getLastRow());
+            } else if (event.getType() == TableModelEvent.DELETE) {
+                sorter.rowsDeleted(event.getFirstRow(), event.getLastRow());
+            }
+        });
+        model.append(batch);
+        model.flushIfDirty();
+        for (var listener : model.getTableModelListeners()) {
+            model.removeTableModelListener(listener);
+        }
+    }
+
+    private static void awaitView(PerformanceResultRowSorter sorter) throws Exception {
+        AtomicBoolean pending = new AtomicBoolean(true);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (pending.get() && System.currentTimeMillis() < deadline) {
+            SwingUtilities.invokeAndWait(() -> pending.set(sorter.isPending()));
+            Thread.sleep(10);
+        }
+        assertEquals(pending.get(), false, "view was not rebuilt in time");
+    }
+
+    private static List<Integer> viewCosts(ResultTableModel model, PerformanceResultRowSorter sorter) throws Exception {
+        AtomicReference<List<Integer>> costs = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < sorter.getViewRowCount(); i++) {
+                values.add((Integer) model.getValueAt(sorter.convertRowIndexToModel(i),
+                        PerformanceResultColumnStore.COL_COST));
+            }
+            costs.set(values);
+        });
+        return costs.get();
+    }
+}
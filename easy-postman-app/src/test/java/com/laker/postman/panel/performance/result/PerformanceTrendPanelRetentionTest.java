@@ -1,7 +1,9 @@
 package com.laker.postman.panel.performance.result;
 
 import com.laker.postman.common.UiSingletonFactory;
+import com.laker.postman.performance.core.model.PerformanceTrendSnapshot;
 import org.jfree.chart.ChartPanel;
+import org.jfree.chart.axis.DateAxis;
 import org.jfree.data.time.Millisecond;
 import org.jfree.data.time.TimeSeries;
 import org.jfree.data.time.TimeSeriesCollection;
@@ -10,16 +12,18 @@ import org.testng.annotations.Test;
 import javax.swing.SwingUtilities;
 import java.awt.Component;
 import java.awt.Container;
+import java.lang.reflect.Method;
 import java.util.Date;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 public class PerformanceTrendPanelRetentionTest {
 
     @Test
-    public void shouldLimitTrendSeriesLengthForLongRunningTests() throws Exception {
+    public void shouldKeepFullHistoryAndBoundDisplayedPointsForLongRunningTests() throws Exception {
         runOnEdtAndWait(() -> {
             PerformanceTrendPanel panel = UiSingletonFactory.getInstance(PerformanceTrendPanel.class);
             panel.clearTrendDataset();
@@ -28,16 +32,82 @@ public class PerformanceTrendPanelRetentionTest {
             TimeSeriesCollection dataset = (TimeSeriesCollection) chartPanel.getChart().getXYPlot().getDataset();
             TimeSeries series = dataset.getSeries(0);
 
-            long base = System.currentTimeMillis();
-            for (int i = 0; i < 3_605; i++) {
-                series.add(new Millisecond(new Date(base + i)), i);
+            long base = 1_700_000_000_000L;
+            int points = 2_500;
+            for (int i = 0; i < points; i++) {
+                panel.addOrUpdate(new Millisecond(new Date(base + i * 1_000L)), activeUsers(i % 50 + 1));
             }
 
-            assertEquals(series.getMaximumItemCount(), 3_600);
-            assertEquals(series.getItemCount(), 3_600);
+            assertEquals(series.getMaximumItemCount(), Integer.MAX_VALUE);
+            assertTrue(series.getItemCount() < points);
+            // 最早的历史不会被丢弃，降采样保留首尾点
+            assertEquals(series.getTimePeriod(0).getFirstMillisecond(), base);
+            assertEquals(series.getTimePeriod(series.getItemCount() - 1).getFirstMillisecond(),
+                    base + (points - 1) * 1_000L);
+
+            // 放大到某个时间段后重新取该段的原始点，段外仍保留降采样后的轮廓
+            panel.refreshDisplayedSeries(base + 1_000_000L, base + 1_099_000L);
+            assertEquals(countBetween(series, base + 1_000_000L, base + 1_099_000L), 100);
+            assertEquals(series.getTimePeriod(0).getFirstMillisecond(), base);
+            assertTrue(series.getItemCount() < points);
+        });
+    }
+
+    @Test
+    public void liveRebuildShouldKeepUserZoomAsFocus() throws Exception {
+        runOnEdtAndWait(() -> {
+            PerformanceTrendPanel panel = UiSingletonFactory.getInstance(PerformanceTrendPanel.class);
+            panel.clearTrendDataset();
+            ChartPanel chartPanel = findFirst(panel, ChartPanel.class);
+            assertNotNull(chartPanel);
+            TimeSeries series = ((TimeSeriesCollection) chartPanel.getChart().getXYPlot().getDataset()).getSeries(0);
+            DateAxis dateAxis = (DateAxis) chartPanel.getChart().getXYPlot().getDomainAxis();
+
+            long base = 1_700_000_000_000L;
+            int points = 2_500;
+            for (int i = 0; i < points; i++) {
+                panel.addOrUpdate(new Millisecond(new Date(base + i * 1_000L)), activeUsers(i % 50 + 1));
+            }
+
+            // 模拟用户拖选放大：坐标轴变化后由缩放定时器触发重建
+            dateAxis.setRange(new Date(base + 1_000_000L), new Date(base + 1_099_000L));
+            invokeZoomRefresh(panel);
+            assertEquals(countBetween(series, base + 1_000_000L, base + 1_099_000L), 100);
+
+            // 继续实时追加，直到触发按预算的整体重建
+            for (int i = points; i < points + 2_100; i++) {
+                panel.addOrUpdate(new Millisecond(new Date(base + i * 1_000L)), activeUsers(i % 50 + 1));
+            }
+
+            assertEquals(countBetween(series, base + 1_000_000L, base + 1_099_000L), 100);
+            assertEquals(dateAxis.getMinimumDate().getTime(), base + 1_000_000L);
+            assertEquals(dateAxis.getMaximumDate().getTime(), base + 1_099_000L);
         });
     }
 
+    private static void invokeZoomRefresh(PerformanceTrendPanel panel) throws Exception {
+        Method method = PerformanceTrendPanel.class.getDeclaredMethod("refreshZoomedSeries");
+        method.setAccessible(true);
+        method.invoke(panel);
+    }
+
+    private static int countBetween(TimeSeries series, long fromMs, long toMs) {
+        int count = 0;
+        for (int i = 0; i < series.getItemCount(); i++) {
+            long timeMs = series.getTimePeriod(i).getFirstMillisecond();
+            if (timeMs >= fromMs && timeMs <= toMs) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static PerformanceTrendSnapshot activeUsers(int activeUsers) {
+        PerformanceTrendSnapshot.ProtocolWindowMetrics metrics = new PerformanceTrendSnapshot.ProtocolWindowMetrics(
+                10, 0, 0.0, 10.0, 20.0, 0, 0, 0, 0.0, 0.0, 0.0, Double.NaN, Double.NaN);
+        return new PerformanceTrendSnapshot(activeUsers, 0, 0, metrics, metrics, metrics, metrics);
+    }
+
     private static <T extends Component> T findFirst(Component root, Class<T> type) {
         if (type.isInstance(root)) {
             return type.cast(root);
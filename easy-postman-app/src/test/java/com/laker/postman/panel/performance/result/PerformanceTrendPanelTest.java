@@ -604,7 +604,8 @@ public class PerformanceTrendPanelTest extends AbstractSwingUiTest {
     private static PerformanceTrendSnapshot snapshotWithHttpResponse(double responseMs) {
         PerformanceTrendSnapshot.ProtocolWindowMetrics empty = emptyMetrics();
         PerformanceTrendSnapshot.ProtocolWindowMetrics http = new PerformanceTrendSnapshot.ProtocolWindowMetrics(
-                0, 0, 0, 0, responseMs, 0, 0, 0, 0, 0, 0, Double.NaN
+                0, 0, 0, 0, responseMs, 0, 0, 0, 0, 0, 0, Double.NaN,
+                Double.NaN
         );
         return new PerformanceTrendSnapshot(0, 0, 0, empty, http, empty, empty);
     }
@@ -612,7 +613,8 @@ public class PerformanceTrendPanelTest extends AbstractSwingUiTest {
     private static PerformanceTrendSnapshot snapshotWithHttpErrorRate(double errorRate) {
         PerformanceTrendSnapshot.ProtocolWindowMetrics empty = emptyMetrics();
         PerformanceTrendSnapshot.ProtocolWindowMetrics http = new PerformanceTrendSnapshot.ProtocolWindowMetrics(
-                1, Double.isFinite(errorRate) && errorRate > 0 ? 1 : 0, errorRate, 1, 10, 0, 0, 0, 0, 0, 0, Double.NaN
+                1, Double.isFinite(errorRate) && errorRate > 0 ? 1 : 0, errorRate, 1, 10, 0, 0, 0, 0, 0, 0, Double.NaN,
+                Double.NaN
         );
         return new PerformanceTrendSnapshot(0, 0, 0, empty, http, empty, empty);
     }
@@ -620,30 +622,36 @@ public class PerformanceTrendPanelTest extends AbstractSwingUiTest {
     private static PerformanceTrendSnapshot snapshotWithWebSocketLatency(double latencyMs) {
         PerformanceTrendSnapshot.ProtocolWindowMetrics empty = emptyMetrics();
         PerformanceTrendSnapshot.ProtocolWindowMetrics ws = new PerformanceTrendSnapshot.ProtocolWindowMetrics(
-                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, latencyMs
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, latencyMs,
+                Double.NaN
         );
         return new PerformanceTrendSnapshot(0, 0, 0, empty, empty, ws, empty);
     }
 
     private static PerformanceTrendSnapshot snapshotWithAllProtocolMetrics() {
         PerformanceTrendSnapshot.ProtocolWindowMetrics overview = new PerformanceTrendSnapshot.ProtocolWindowMetrics(
-                3, 0, 0, 3.0, 50.0, 1, 2, 1, 1.0, 2.0, 1.0, 30.0
+                3, 0, 0, 3.0, 50.0, 1, 2, 1, 1.0, 2.0, 1.0, 30.0,
+                Double.NaN
         );
         PerformanceTrendSnapshot.ProtocolWindowMetrics http = new PerformanceTrendSnapshot.ProtocolWindowMetrics(
-                1, 0, 0, 1.0, 50.0, 0, 0, 0, 0, 0, 0, Double.NaN
+                1, 0, 0, 1.0, 50.0, 0, 0, 0, 0, 0, 0, Double.NaN,
+                Double.NaN
         );
         PerformanceTrendSnapshot.ProtocolWindowMetrics ws = new PerformanceTrendSnapshot.ProtocolWindowMetrics(
-                1, 0, 0, 1.0, 60.0, 1, 1, 1, 1.0, 1.0, 1.0, 20.0
+                1, 0, 0, 1.0, 60.0, 1, 1, 1, 1.0, 1.0, 1.0, 20.0,
+                Double.NaN
         );
         PerformanceTrendSnapshot.ProtocolWindowMetrics sse = new PerformanceTrendSnapshot.ProtocolWindowMetrics(
-                1, 0, 0, 1.0, 70.0, 0, 1, 1, 0, 1.0, 1.0, 25.0
+                1, 0, 0, 1.0, 70.0, 0, 1, 1, 0, 1.0, 1.0, 25.0,
+                Double.NaN
         );
         return new PerformanceTrendSnapshot(5, 3, 2, overview, http, ws, sse);
     }
 
     private static PerformanceTrendSnapshot.ProtocolWindowMetrics emptyMetrics() {
         return new PerformanceTrendSnapshot.ProtocolWindowMetrics(
-                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, Double.NaN
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, Double.NaN,
+                Double.NaN
         );
     }
 
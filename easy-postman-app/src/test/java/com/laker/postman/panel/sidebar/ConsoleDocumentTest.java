@@ -0,0 +1,76 @@
+package com.laker.postman.panel.sidebar;
+
+import org.testng.annotations.Test;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.Element;
+import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.StyleConstants;
+import java.awt.*;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.testng.Assert.assertEquals;
+
+public class ConsoleDocumentTest {
+
+    private static final Function<ConsolePanel.LogType, AttributeSet> STYLES = type -> {
+        SimpleAttributeSet style = new SimpleAttributeSet();
+        StyleConstants.setForeground(style, type == ConsolePanel.LogType.ERROR ? Color.RED : Color.GRAY);
+        StyleConstants.setBold(style, type == ConsolePanel.LogType.ERROR);
+        return style;
+    };
+
+    @Test
+    public void batchAppendShouldMatchLineByLineInsertionWithOneEvent() throws Exception {
+        List<ConsoleLogBuffer.Entry> entries = List.of(
+                new ConsoleLogBuffer.Entry(0, "first", ConsolePanel.LogType.INFO),
+                new ConsoleLogBuffer.Entry(1, "multi\nline", ConsolePanel.LogType.ERROR),
+                new ConsoleLogBuffer.Entry(2, "", ConsolePanel.LogType.INFO),
+                new ConsoleLogBuffer.Entry(3, "trailing\n", ConsolePanel.LogType.DEBUG)
+        );
+
+        DefaultStyledDocument expected = new DefaultStyledDocument();
+        for (ConsoleLogBuffer.Entry entry : entries) {
+            expected.insertString(expected.getLength(), entry.message() + "\n", STYLES.apply(entry.type()));
+        }
+
+        ConsoleDocument document = new ConsoleDocument();
+        document.appendEntries(List.of(entries.get(0)), STYLES);
+        int[] inserts = {0};
+        document.addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                inserts[0]++;
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        document.appendEntries(entries.subList(1, entries.size()), STYLES);
+
+        assertEquals(inserts[0], 1);
+        assertEquals(document.getText(0, document.getLength()), expected.getText(0, expected.getLength()));
+        Element root = document.getDefaultRootElement();
+        Element expectedRoot = expected.getDefaultRootElement();
+        assertEquals(root.getElementCount(), expectedRoot.getElementCount());
+        for (int line = 0; line < root.getElementCount(); line++) {
+            assertEquals(root.getElement(line).getStartOffset(), expectedRoot.getElement(line).getStartOffset());
+        }
+
+        int errorOffset = document.getText(0, document.getLength()).indexOf("line");
+        AttributeSet errorAttributes = document.getCharacterElement(errorOffset).getAttributes();
+        assertEquals(StyleConstants.getForeground(errorAttributes), Color.RED);
+        assertEquals(StyleConstants.isBold(errorAttributes), true);
+        AttributeSet firstAttributes = document.getCharacterElement(0).getAttributes();
+        assertEquals(StyleConstants.getForeground(firstAttributes), Color.GRAY);
+    }
+}
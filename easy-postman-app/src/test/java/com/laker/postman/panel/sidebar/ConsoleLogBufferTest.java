@@ -0,0 +1,177 @@
+package com.laker.postman.panel.sidebar;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ConsoleLogBufferTest {
+
+    @Test
+    public void readerShouldResumeFromLastSequence() {
+        ConsoleLogBuffer buffer = new ConsoleLogBuffer(8);
+        buffer.append("a", ConsolePanel.LogType.INFO);
+        buffer.append("b", ConsolePanel.LogType.ERROR);
+
+        ConsoleLogBuffer.Batch first = buffer.readFrom(0);
+        assertEquals(messages(first.entries()), List.of("a", "b"));
+        assertEquals(first.nextSequence(), 2L);
+        assertEquals(first.dropped(), 0L);
+
+        buffer.append("c", ConsolePanel.LogType.WARN);
+        ConsoleLogBuffer.Batch second = buffer.readFrom(first.nextSequence());
+        assertEquals(messages(second.entries()), List.of("c"));
+        assertEquals(second.entries().get(0).type(), ConsolePanel.LogType.WARN);
+    }
+
+    @Test
+    public void overwrittenEntriesShouldBeCountedAsDropped() {
+        ConsoleLogBuffer buffer = new ConsoleLogBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.append("line " + i, ConsolePanel.LogType.INFO);
+        }
+
+        ConsoleLogBuffer.Batch batch = buffer.readFrom(0);
+        assertEquals(messages(batch.entries()), List.of("line 6", "line 7", "line 8", "line 9"));
+        assertEquals(batch.dropped(), 6L);
+        assertEquals(batch.nextSequence(), 10L);
+        assertEquals(messages(buffer.snapshot()), List.of("line 6", "line 7", "line 8", "line 9"));
+    }
+
+    @Test
+    public void clearShouldHideEarlierEntriesWithoutCountingThemAsDropped() {
+        ConsoleLogBuffer buffer = new ConsoleLogBuffer(4);
+        buffer.append("old", ConsolePanel.LogType.INFO);
+        long cleared = buffer.clear();
+        buffer.append("new", ConsolePanel.LogType.INFO);
+
+        ConsoleLogBuffer.Batch batch = buffer.readFrom(0);
+        assertEquals(messages(batch.entries()), List.of("new"));
+        assertEquals(batch.dropped(), 0L);
+        assertEquals(cleared, 1L);
+        assertEquals(messages(buffer.snapshot()), List.of("new"));
+    }
+
+    @Test
+    public void concurrentProducersShouldNeverBlockOrLoseOrdering() throws Exception {
+        int producers = 4;
+        int perProducer = 5_000;
+        ConsoleLogBuffer buffer = new ConsoleLogBuffer(producers * perProducer);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        buffer.append(producer + ":" + i, ConsolePanel.LogType.INFO);
+                    }
+                });
+            }
+
+            // 生产者写入的同时增量读取
+            start.countDown();
+            List<ConsoleLogBuffer.Entry> received = new ArrayList<>();
+            long next = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+                ConsoleLogBuffer.Batch batch = buffer.readFrom(next);
+                assertEquals(batch.dropped(), 0L);
+                received.addAll(batch.entries());
+                next = batch.nextSequence();
+            }
+
+            assertEquals(received.size(), producers * perProducer);
+            Set<String> unique = new HashSet<>();
+            int[] lastPerProducer = new int[producers];
+            Arrays.fill(lastPerProducer, -1);
+            for (int i = 0; i < received.size(); i++) {
+                ConsoleLogBuffer.Entry entry = received.get(i);
+                assertEquals(entry.sequence(), (long) i);
+                assertTrue(unique.add(entry.message()));
+                String[] parts = entry.message().split(":");
+                int producer = Integer.parseInt(parts[0]);
+                int index = Integer.parseInt(parts[1]);
+                assertTrue(index > lastPerProducer[producer], "per-producer order must be kept");
+                lastPerProducer[producer] = index;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void lateWriterShouldNotRollSlotBackToOlderSequence() {
+        ConsoleLogBuffer buffer = new ConsoleLogBuffer(2);
+        buffer.append("line 0", ConsolePanel.LogType.INFO);
+        buffer.append("line 1", ConsolePanel.LogType.INFO);
+        buffer.append("line 2", ConsolePanel.LogType.INFO);
+        buffer.append("line 3", ConsolePanel.LogType.INFO);
+
+        // 序号 0 的生产者在序号 2 写入之后才到达
+        buffer.publish(new ConsoleLogBuffer.Entry(0, "line 0", ConsolePanel.LogType.INFO));
+
+        ConsoleLogBuffer.Batch batch = buffer.readFrom(0);
+        assertEquals(messages(batch.entries()), List.of("line 2", "line 3"));
+        assertEquals(batch.nextSequence(), 4L);
+    }
+
+    @Test
+    public void moreProducersThanCapacityShouldLeaveNewestEntriesReadable() throws Exception {
+        int capacity = 4;
+        int producers = 16;
+        int perProducer = 20_000;
+        ConsoleLogBuffer buffer = new ConsoleLogBuffer(capacity);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        buffer.append(producer + ":" + i, ConsolePanel.LogType.INFO);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            long total = (long) producers * perProducer;
+            ConsoleLogBuffer.Batch batch = buffer.readFrom(0);
+            assertEquals(batch.nextSequence(), total);
+            assertEquals(batch.entries().size(), capacity);
+            assertEquals(batch.dropped(), total - capacity);
+            for (int i = 0; i < capacity; i++) {
+                assertEquals(batch.entries().get(i).sequence(), total - capacity + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<String> messages(List<ConsoleLogBuffer.Entry> entries) {
+        return entries.stream().map(ConsoleLogBuffer.Entry::message).toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.laker.postman.performance.execution;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class HashedTimerWheelTest {
+
+    @Test
+    public void shouldFireInDeadlineOrderAndNeverEarly() throws Exception {
+        HashedTimerWheel wheel = new HashedTimerWheel("timer-wheel-test", 5, 8, Runnable::run);
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+        long[] elapsedMs = new long[3];
+
+        // 120ms 超过一圈（8 * 5ms），需要经过多轮才到期
+        wheel.schedule(() -> record(fired, elapsedMs, 2, start, done), 120);
+        wheel.schedule(() -> record(fired, elapsedMs, 0, start, done), 0);
+        wheel.schedule(() -> record(fired, elapsedMs, 1, start, done), 30);
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(fired, List.of(0, 1, 2));
+        assertTrue(elapsedMs[1] >= 30, "elapsed=" + elapsedMs[1]);
+        assertTrue(elapsedMs[2] >= 120, "elapsed=" + elapsedMs[2]);
+    }
+
+    @Test
+    public void cancelledTimeoutsShouldNotFire() throws Exception {
+        HashedTimerWheel wheel = new HashedTimerWheel("timer-wheel-test", 5, 64,
+                Executors.newSingleThreadExecutor());
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        CountDownLatch kept = new CountDownLatch(1);
+
+        HashedTimerWheel.Timeout cancelled = wheel.schedule(cancelledRuns::incrementAndGet, 20);
+        wheel.schedule(kept::countDown, 40);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(kept.await(2, TimeUnit.SECONDS));
+        Thread.sleep(30);
+        assertEquals(cancelledRuns.get(), 0);
+    }
+
+    private static void record(List<Integer> fired, long[] elapsedMs, int index, long start, CountDownLatch done) {
+        elapsedMs[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        fired.add(index);
+        done.countDown();
+    }
+}
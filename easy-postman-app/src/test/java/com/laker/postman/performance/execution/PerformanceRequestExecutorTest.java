@@ -8,13 +8,16 @@ import com.laker.postman.http.runtime.okhttp.OkHttpClientManager;
 import com.laker.postman.request.model.RequestItemProtocolEnum;
 import com.laker.postman.request.model.HttpHeader;
 import com.laker.postman.request.model.HttpRequestItem;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 
 
 import com.laker.postman.performance.core.assertion.AssertionData;
 import com.laker.postman.performance.model.PerformanceTreeNode;
 import com.laker.postman.performance.core.model.NodeType;
 import com.laker.postman.performance.core.model.PerformanceProtocol;
+import com.laker.postman.performance.model.PerformanceSampleRecordFactory;
 import com.laker.postman.performance.model.PerformanceSampleResult;
+import com.laker.postman.performance.core.model.PerformanceSampleRecord;
 import com.laker.postman.performance.core.model.RequestResult;
 import com.laker.postman.performance.core.model.SsePerformanceData;
 import com.laker.postman.performance.core.model.WebSocketPerformanceData;
@@ -35,6 +38,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -42,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -212,6 +217,94 @@ public class PerformanceRequestExecutorTest {
         }
     }
 
+    @Test
+    public void shouldRenderBodyTemplateSlotsPerIterationAndHonorScriptRewrites() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("ok"));
+            server.enqueue(new MockResponse().setBody("ok"));
+            server.enqueue(new MockResponse().setBody("ok"));
+            server.start();
+
+            HttpRequestItem item = new HttpRequestItem();
+            item.setId("body-template");
+            item.setName("Body Template");
+            item.setProtocol(RequestItemProtocolEnum.HTTP);
+            item.setMethod("POST");
+            item.setUrl(server.url("/template").toString());
+            item.setHeadersList(new ArrayList<>(List.of(new HttpHeader(true, "Content-Type", "application/json"))));
+            item.setBody("{\"user\":\"{{user}}\"}");
+            PerformanceRequestSampler sampler = new PerformanceRequestSampler(item.getName(), item, null, List.of());
+            PerformanceRequestExecutor executor = new PerformanceRequestExecutor(
+                    () -> true,
+                    throwable -> false,
+                    ConcurrentHashMap.newKeySet(),
+                    ConcurrentHashMap.newKeySet(),
+                    PerformanceExecutionConfig.fixed(false, 1, false)
+            );
+
+            for (String user : List.of("alice", "bob")) {
+                PerformanceRequestExecutionResult result = executor.execute(
+                        sampler,
+                        new ExecutionVariableContext(Map.of(), Map.of("user", user))
+                );
+                assertFalse(result.executionFailed, result.errorMsg);
+                assertEquals(server.takeRequest(RECORDED_REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS).getBody().readUtf8(),
+                        "{\"user\":\"" + user + "\"}");
+            }
+
+            item.setPrescript("pm.request.raw.body = JSON.stringify({user: 'script'});");
+            PerformanceRequestSampler rewritingSampler = new PerformanceRequestSampler(item.getName(), item, null, List.of());
+            PerformanceRequestExecutionResult rewritten = executor.execute(
+                    rewritingSampler,
+                    new ExecutionVariableContext(Map.of(), Map.of("user", "carol"))
+            );
+            assertFalse(rewritten.executionFailed, rewritten.errorMsg);
+            assertEquals(server.takeRequest(RECORDED_REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS).getBody().readUtf8(),
+                    "{\"user\":\"script\"}");
+        }
+    }
+
+    @Test
+    public void shouldCompressRequestBodyAndRecordRawAndSentBodyBytes() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("ok"));
+            server.start();
+
+            String body = "{\"items\":\"" + "abc".repeat(200) + "\"}";
+            HttpRequestItem item = new HttpRequestItem();
+            item.setId("gzip-body");
+            item.setName("Gzip Body");
+            item.setProtocol(RequestItemProtocolEnum.HTTP);
+            item.setMethod("POST");
+            item.setUrl(server.url("/gzip").toString());
+            item.setHeadersList(new ArrayList<>(List.of(new HttpHeader(true, "Content-Type", "application/json"))));
+            item.setBody(body);
+            item.setRequestBodyCompression(HttpRequestBodyCompressions.GZIP);
+
+            PerformanceRequestExecutionResult result = new PerformanceRequestExecutor(
+                    () -> true,
+                    throwable -> false,
+                    ConcurrentHashMap.newKeySet(),
+                    ConcurrentHashMap.newKeySet(),
+                    PerformanceExecutionConfig.fixed(false, 1, false)
+            ).execute(
+                    new PerformanceRequestSampler(item.getName(), item, null, List.of()),
+                    new ExecutionVariableContext()
+            );
+
+            assertFalse(result.executionFailed, result.errorMsg);
+            RecordedRequest recorded = server.takeRequest(RECORDED_REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(recorded.getHeader("Content-Encoding"), "gzip");
+            try (GZIPInputStream input = new GZIPInputStream(recorded.getBody().inputStream())) {
+                assertEquals(new String(input.readAllBytes(), StandardCharsets.UTF_8), body);
+            }
+            PerformanceSampleRecord record = PerformanceSampleRecordFactory.fromExecutionResult(result);
+            assertEquals(record.getRequestBodyRawBytes(), body.length());
+            assertEquals(record.getRequestBodyCompressedBytes(), recorded.getBodySize());
+            assertTrue(record.getRequestBodyCompressedBytes() < record.getRequestBodyRawBytes());
+        }
+    }
+
     @Test
     public void shouldRouteScriptConsoleOutputThroughInjectedPerformanceConfig() throws Exception {
         try (MockWebServer server = new MockWebServer()) {
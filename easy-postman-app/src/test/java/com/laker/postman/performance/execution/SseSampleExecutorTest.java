@@ -9,6 +9,7 @@ import com.laker.postman.request.model.HttpRequestItem;
 import com.laker.postman.performance.core.model.NodeType;
 import com.laker.postman.performance.core.model.PerformanceRealtimeMetrics;
 import com.laker.postman.performance.core.model.SsePerformanceData;
+import com.laker.postman.performance.core.model.SseStreamStats;
 import com.laker.postman.performance.core.plan.PerformanceProtocolStageElement;
 import com.laker.postman.performance.plan.PerformanceRequestSampler;
 import com.laker.postman.util.I18nUtil;
@@ -359,6 +360,42 @@ public class SseSampleExecutorTest {
         }
     }
 
+    @Test
+    public void shouldFailStreamWhenInterEventGapReachesStallThreshold() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse()
+                    .setHeader("Content-Type", "text/event-stream")
+                    .setBody("data: a\n\ndata: b\n\n")
+                    .throttleBody(9, 300, TimeUnit.MILLISECONDS));
+            server.start();
+
+            PreparedRequest request = new PreparedRequest();
+            request.method = "GET";
+            request.url = server.url("/stream").toString();
+            request.headersList = List.of(new HttpHeader(true, "Accept", "text/event-stream"));
+
+            SsePerformanceData cfg = new SsePerformanceData();
+            cfg.completionMode = SsePerformanceData.CompletionMode.STREAM_CLOSED;
+            cfg.connectTimeoutMs = 2000;
+            cfg.holdConnectionMs = 3000;
+            cfg.stallThresholdMs = 100;
+
+            SseSampleExecutor.Result result = new SseSampleExecutor(
+                    () -> true,
+                    throwable -> false,
+                    ConcurrentHashMap.newKeySet()
+            ).execute(request, cfg);
+
+            assertTrue(result.executionFailed);
+            SseStreamStats stats = SseStreamStats.decode(
+                    result.response.headers.get(SseStreamStats.HEADER_NAME).get(0));
+            assertEquals(stats.events(), 2);
+            assertEquals(stats.gapCount(), 1);
+            assertEquals(stats.stalls(), 1);
+            assertTrue(stats.gapMaxMs() >= 100, String.valueOf(stats.gapMaxMs()));
+        }
+    }
+
     @Test
     public void shouldRetainStreamClosedResponseBodyEvenWhenRetentionDisabled() throws Exception {
         try (MockWebServer server = new MockWebServer()) {
@@ -470,6 +470,105 @@ public class WebSocketScenarioExecutorTest {
         assertEquals(cursor.next(), null);
     }
 
+    @Test
+    public void whileIntervalShouldBeReportedAsDelayStepWithoutSleeping() {
+        PerformanceTestPlanNode requestNode = new PerformanceTestPlanNode(new PerformanceTreeNode("request", NodeType.REQUEST));
+        PerformanceTreeNode whileData = new PerformanceTreeNode("while", NodeType.WHILE);
+        whileData.whileData = new WhileData();
+        whileData.whileData.expression = "true";
+        whileData.whileData.intervalMs = 5_000;
+        whileData.whileData.maxIterations = 2;
+        PerformanceTestPlanNode whileNode = new PerformanceTestPlanNode(whileData);
+        whileNode.add(new PerformanceTestPlanNode(new PerformanceTreeNode("send", NodeType.WS_SEND)));
+        requestNode.add(whileNode);
+
+        PerformanceRequestSampler requestSampler = PerformanceTestPlanCompiler.compileRequestSampler(requestNode);
+        WebSocketScenarioPlanStepCursor cursor = new WebSocketScenarioPlanStepCursor(requestSampler, () -> true);
+
+        long start = System.nanoTime();
+        assertEquals(cursor.nextStep().element().getName(), "send");
+        assertTrue(cursor.hasMoreSteps());
+        WebSocketScenarioPlanStepCursor.Step delay = cursor.nextStep();
+        assertTrue(delay.isDelay());
+        assertEquals(delay.delayMs(), 5_000L);
+        assertEquals(cursor.nextStep().element().getName(), "send");
+        assertTrue(cursor.nextStep().isEnd());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+    }
+
+    @Test
+    public void asyncScenariosShouldShareEventLoopWithoutParkingCallerThreads() throws Exception {
+        int sessions = 40;
+        try (MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+                @Override
+                public MockResponse dispatch(okhttp3.mockwebserver.RecordedRequest request) {
+                    return new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+                        @Override
+                        public void onMessage(WebSocket webSocket, String text) {
+                            webSocket.send("ack:" + text);
+                        }
+
+                        @Override
+                        public void onClosing(WebSocket webSocket, int code, String reason) {
+                            webSocket.close(1000, null);
+                        }
+                    });
+                }
+            });
+            server.start();
+
+            PreparedRequest request = new PreparedRequest();
+            request.method = "GET";
+            request.url = server.url("/socket").toString().replaceFirst("^http", "ws");
+            WebSocketPerformanceData requestCfg = new WebSocketPerformanceData();
+            requestCfg.connectTimeoutMs = 5000;
+
+            PerformanceTestPlanNode requestNode = new PerformanceTestPlanNode(new PerformanceTreeNode("request", NodeType.REQUEST));
+            addConnectStep(requestNode, requestCfg);
+            PerformanceTreeNode sendStep = new PerformanceTreeNode("send", NodeType.WS_SEND);
+            sendStep.webSocketPerformanceData = new WebSocketPerformanceData();
+            sendStep.webSocketPerformanceData.sendMode = WebSocketPerformanceData.SendMode.REQUEST_BODY_REPEAT;
+            sendStep.webSocketPerformanceData.sendContentSource = WebSocketPerformanceData.SendContentSource.CUSTOM_TEXT;
+            sendStep.webSocketPerformanceData.customSendBody = "ping";
+            sendStep.webSocketPerformanceData.sendCount = 3;
+            sendStep.webSocketPerformanceData.sendIntervalMs = 100;
+            requestNode.add(new PerformanceTestPlanNode(sendStep));
+            PerformanceTreeNode readStep = new PerformanceTreeNode("read", NodeType.WS_READ);
+            readStep.webSocketPerformanceData = new WebSocketPerformanceData();
+            readStep.webSocketPerformanceData.completionMode = WebSocketPerformanceData.CompletionMode.MESSAGE_COUNT;
+            readStep.webSocketPerformanceData.targetMessageCount = 3;
+            readStep.webSocketPerformanceData.firstMessageTimeoutMs = 5000;
+            requestNode.add(new PerformanceTestPlanNode(readStep));
+            PerformanceRequestSampler sampler = PerformanceTestPlanCompiler.compileRequestSampler(requestNode);
+
+            PerformanceRealtimeMetrics metrics = new PerformanceRealtimeMetrics();
+            WebSocketScenarioExecutor executor = new WebSocketScenarioExecutor(
+                    () -> true,
+                    throwable -> false,
+                    ConcurrentHashMap.newKeySet(),
+                    metrics
+            );
+            long submitStart = System.nanoTime();
+            List<java.util.concurrent.CompletableFuture<WebSocketScenarioExecutor.Result>> futures = new java.util.ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                futures.add(executor.executeAsync(request, sampler, requestCfg, "", null, null, "ws-" + i, "ws-" + i));
+            }
+            boolean anyDoneAfterSubmit = futures.stream().anyMatch(java.util.concurrent.CompletableFuture::isDone);
+
+            for (java.util.concurrent.CompletableFuture<WebSocketScenarioExecutor.Result> future : futures) {
+                WebSocketScenarioExecutor.Result result = future.get(20, TimeUnit.SECONDS);
+                assertFalse(result.executionFailed, result.errorMsg);
+                assertEquals(result.response.headers.get("X-Easy-WS-Sent-Count").get(0), "3");
+                assertEquals(result.response.headers.get("X-Easy-WS-Message-Count").get(0), "3");
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitStart);
+            // 每个会话至少要等两次 100ms 发送间隔：提交时不应有会话已完成，整体耗时也远小于逐个执行
+            assertFalse(anyDoneAfterSubmit);
+            assertTrue(elapsedMs < sessions * 200L / 2, "elapsedMs=" + elapsedMs);
+        }
+    }
+
     @Test
     public void shouldResolveCustomSendBodyWithExecutionAndIterationVariables() throws Exception {
         VariablesService.getInstance().detachContext();
@@ -2,6 +2,9 @@ package com.laker.postman.performance.master;
 
 import com.laker.postman.performance.core.model.NodeType;
 import com.laker.postman.performance.core.model.PerformanceProtocol;
+import com.laker.postman.performance.core.model.PerformanceTrendSnapshot;
+import com.laker.postman.performance.core.model.PerformanceTrendTierStore;
+import com.laker.postman.performance.core.model.RequestResult;
 import com.laker.postman.performance.core.plan.PerformanceCorePlanDocument;
 import com.laker.postman.performance.core.plan.PerformanceCorePlanNode;
 import com.laker.postman.performance.core.report.PerformanceJsonReportApi;
@@ -11,6 +14,7 @@ import com.laker.postman.performance.core.report.PerformanceJsonReportMetadata;
 import com.laker.postman.performance.core.report.PerformanceJsonReportProtocol;
 import com.laker.postman.performance.core.report.PerformanceJsonReportSummary;
 import com.laker.postman.performance.core.report.PerformanceJsonReportSummaryMapper;
+import com.laker.postman.performance.core.report.PerformanceJsonReportTrendTier;
 import com.laker.postman.performance.core.run.PerformanceRunPlan;
 import com.laker.postman.performance.core.run.PerformanceRunPlanJsonStorage;
 import com.laker.postman.performance.core.worker.PerformanceWorkerHealthResponse;
@@ -147,6 +151,30 @@ public class PerformanceMasterRunCommandTest {
         assertTrue(report.getMetadata().getError().contains("boom"));
     }
 
+    @Test
+    public void shouldRecordWorkerTrendWindowsIntoMasterReportTiers() throws Exception {
+        Path tempDir = Files.createTempDirectory("ep-master-run-trend");
+        Path planPath = tempDir.resolve("plan.json");
+        new PerformanceRunPlanJsonStorage().save(planPath, emptyPlan());
+        RecordingWorkerHttpClient workerClient = new RecordingWorkerHttpClient();
+
+        PerformanceJsonReport report = new PerformanceMasterRunExecutor(
+                new com.laker.postman.performance.core.worker.PerformanceWorkerAssignmentPlanner(),
+                workerClient
+        ).execute(PerformanceMasterOptions.builder()
+                .planPath(planPath)
+                .workers(List.of(new com.laker.postman.performance.core.worker.PerformanceWorkerEndpoint("127.0.0.1", 19090)))
+                .timeoutMs(1_000L)
+                .pollIntervalMs(50L)
+                .build());
+
+        PerformanceJsonReportTrendTier rawTier = report.getTrendTiers().stream()
+                .filter(tier -> PerformanceTrendTierStore.RAW_TIER.equals(tier.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(rawTier.getSeries().values().stream().anyMatch(points -> !points.isEmpty()));
+    }
+
     @Test
     public void shouldFallbackToStatusReportWhenResultReportIsMissing() throws Exception {
         Path tempDir = Files.createTempDirectory("ep-master-run-status-report");
@@ -309,6 +337,16 @@ public class PerformanceMasterRunCommandTest {
                 String runId,
                 boolean includeReport,
                 Duration timeout) {
+            return status(endpoint, runId, includeReport, false, timeout);
+        }
+
+        @Override
+        public com.laker.postman.performance.core.worker.PerformanceWorkerRunStatusResponse status(
+                com.laker.postman.performance.core.worker.PerformanceWorkerEndpoint endpoint,
+                String runId,
+                boolean includeReport,
+                boolean includeTrend,
+                Duration timeout) {
             timeouts.add(timeout);
             PerformanceJsonReport report = null;
             if (includeReport && omitResultReport) {
@@ -319,6 +357,8 @@ public class PerformanceMasterRunCommandTest {
                     .runId(runId)
                     .workerId("worker-a")
                     .status("SUCCESS")
+                    .activeUsers(includeTrend ? 2 : 0)
+                    .trendSnapshot(includeTrend ? workerTrendSnapshot() : null)
                     .report(report)
                     .build();
         }
@@ -353,6 +393,19 @@ public class PerformanceMasterRunCommandTest {
         }
     }
 
+    private static PerformanceTrendSnapshot workerTrendSnapshot() {
+        long now = System.currentTimeMillis();
+        return PerformanceTrendSnapshot.fromResults(
+                List.of(new RequestResult(now - 100, now, true, "api", PerformanceProtocol.HTTP)),
+                now - 1_000,
+                now,
+                2,
+                0,
+                0,
+                1_000
+        );
+    }
+
     private static PerformanceRunPlan emptyPlan() {
         return PerformanceRunPlan.builder()
                 .testPlan(new PerformanceCorePlanDocument(PerformanceCorePlanNode.builder()
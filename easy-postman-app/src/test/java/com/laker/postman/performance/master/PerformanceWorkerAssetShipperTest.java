@@ -0,0 +1,124 @@
+package com.laker.postman.performance.master;
+
+import com.laker.postman.performance.core.config.CsvDataSetData;
+import com.laker.postman.performance.core.model.NodeType;
+import com.laker.postman.performance.core.plan.PerformanceCorePlanDocument;
+import com.laker.postman.performance.core.plan.PerformanceCorePlanNode;
+import com.laker.postman.performance.core.report.PerformanceJsonReport;
+import com.laker.postman.performance.core.request.PerformanceRequestFormDataPart;
+import com.laker.postman.performance.core.request.PerformanceRequestSnapshot;
+import com.laker.postman.performance.core.run.PerformanceRunAsset;
+import com.laker.postman.performance.core.run.PerformanceRunPlan;
+import com.laker.postman.performance.core.threadgroup.ThreadGroupData;
+import com.laker.postman.performance.core.worker.PerformanceWorkerAssignment;
+import com.laker.postman.performance.core.worker.PerformanceWorkerAssignmentPlanner;
+import com.laker.postman.performance.core.worker.PerformanceWorkerEndpoint;
+import com.laker.postman.performance.core.worker.PerformanceWorkerRunRequest;
+import com.laker.postman.performance.core.worker.PerformanceWorkerThreadGroupAssignment;
+import com.laker.postman.performance.worker.PerformanceWorkerOptions;
+import com.laker.postman.performance.worker.PerformanceWorkerServer;
+import org.testng.annotations.Test;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class PerformanceWorkerAssetShipperTest {
+
+    @Test
+    public void shouldUploadAssetsByHashAndSendOnlyTheWorkerCsvShard() throws Exception {
+        Path masterDir = Files.createTempDirectory("master-assets");
+        Path csv = Files.writeString(masterDir.resolve("users.csv"), "userId\nu0\nu1\nu2\nu3\n");
+        Path upload = Files.writeString(masterDir.resolve("avatar.txt"), "avatar-bytes");
+        Path cacheDir = Files.createTempDirectory("worker-cache");
+        AtomicReference<PerformanceWorkerRunRequest> captured = new AtomicReference<>();
+        CountDownLatch executed = new CountDownLatch(1);
+        try (PerformanceWorkerServer server = new PerformanceWorkerServer(
+                PerformanceWorkerOptions.builder().host("127.0.0.1").port(0).assetCacheDir(cacheDir.toString()).build(),
+                (request, control) -> {
+                    captured.set(request);
+                    executed.countDown();
+                    return PerformanceJsonReport.builder().build();
+                }
+        )) {
+            server.start();
+            PerformanceWorkerEndpoint endpoint = new PerformanceWorkerEndpoint("127.0.0.1", server.getPort());
+            PerformanceWorkerHttpClient client = new PerformanceWorkerHttpClient(HttpClient.newHttpClient(), null);
+            PerformanceWorkerAssetShipper shipper = new PerformanceWorkerAssetShipper(client, 3);
+
+            PerformanceRunPlan plan = shipper.prepare(PerformanceRunPlan.builder()
+                    .testPlan(document(csv.toString(), upload.toString()))
+                    .build());
+            List<PerformanceWorkerAssignment> assignments = shipper.shardCsv(
+                    plan,
+                    new PerformanceWorkerAssignmentPlanner().plan(plan, List.of(endpoint, endpoint), "run-assets"),
+                    masterDir.resolve("shards")
+            );
+            PerformanceWorkerRunRequest request = shipper.ship(
+                    endpoint, "run-assets", plan, assignments.get(1), Duration.ofSeconds(10));
+            client.submitRun(endpoint, request);
+            assertTrue(executed.await(10, TimeUnit.SECONDS));
+
+            assertEquals(PerformanceWorkerAssetShipper.localOnlyAssetCount(plan), 0);
+            PerformanceRunAsset csvAsset = asset(captured.get().getPlan(), PerformanceRunAsset.TYPE_CSV);
+            assertNull(csvAsset.getSha256());
+            assertFalse(Files.exists(cacheDir.resolve(asset(plan, PerformanceRunAsset.TYPE_CSV).getSha256())));
+            PerformanceWorkerThreadGroupAssignment threadGroup = captured.get().getAssignment().getThreadGroups().get(0);
+            Path shard = Path.of(threadGroup.getCsvShard().getPath());
+            assertEquals(shard.getParent(), cacheDir);
+            assertEquals(Files.readString(shard), "userId\nu2\nu3\n");
+            PerformanceRunAsset fileAsset = asset(captured.get().getPlan(), PerformanceRunAsset.TYPE_FILE);
+            assertEquals(Path.of(fileAsset.getPath()).getParent(), cacheDir);
+            assertEquals(Files.readString(Path.of(fileAsset.getPath())), "avatar-bytes");
+            PerformanceRequestSnapshot snapshot = captured.get().getPlan().getTestPlan().getRoot()
+                    .getChildren().get(0).getChildren().get(1).getRequestSnapshot();
+            assertEquals(snapshot.getFormData().get(0).getValue(), fileAsset.getPath());
+        }
+    }
+
+    private static PerformanceRunAsset asset(PerformanceRunPlan plan, String type) {
+        return plan.getAssets().stream().filter(asset -> type.equals(asset.getType())).findFirst().orElseThrow();
+    }
+
+    private static PerformanceCorePlanDocument document(String csvPath, String uploadPath) {
+        ThreadGroupData threadGroupData = new ThreadGroupData();
+        threadGroupData.threadMode = ThreadGroupData.ThreadMode.FIXED;
+        threadGroupData.numThreads = 4;
+        threadGroupData.useTime = false;
+        threadGroupData.loops = 1;
+        return new PerformanceCorePlanDocument(PerformanceCorePlanNode.builder()
+                .name("run plan")
+                .type(NodeType.ROOT)
+                .children(List.of(PerformanceCorePlanNode.builder()
+                        .name("users")
+                        .type(NodeType.THREAD_GROUP)
+                        .threadGroupData(threadGroupData)
+                        .children(List.of(
+                                PerformanceCorePlanNode.builder()
+                                        .name("csv users")
+                                        .type(NodeType.CSV_DATA_SET)
+                                        .csvDataSetData(CsvDataSetData.file("users.csv", csvPath))
+                                        .build(),
+                                PerformanceCorePlanNode.builder()
+                                        .name("upload")
+                                        .type(NodeType.REQUEST)
+                                        .requestSnapshot(PerformanceRequestSnapshot.builder()
+                                                .url("https://example.test/upload")
+                                                .formData(List.of(new PerformanceRequestFormDataPart(
+                                                        true, "avatar", PerformanceRequestFormDataPart.TYPE_FILE, uploadPath)))
+                                                .build())
+                                        .build()))
+                        .build()))
+                .build());
+    }
+}
@@ -46,7 +46,8 @@ public class PerformanceMetricsSnapshotServiceTest {
                 8.0,
                 9.0,
                 4,
-                10.0
+                10.0,
+                Double.NaN
         );
         PerformanceMetricsSnapshotService service = new PerformanceMetricsSnapshotService(
                 new PerformanceStatsCollector(),
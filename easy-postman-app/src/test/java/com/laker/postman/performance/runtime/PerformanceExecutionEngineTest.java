@@ -1,6 +1,7 @@
 package com.laker.postman.performance.runtime;
 
 import com.laker.postman.http.runtime.config.HttpRuntimeSettingsProvider;
+import com.laker.postman.http.runtime.okhttp.HttpClientRuntimeConfig;
 import com.laker.postman.http.runtime.okhttp.OkHttpClientManager;
 import com.laker.postman.request.model.RequestItemProtocolEnum;
 import com.laker.postman.request.model.HttpHeader;
@@ -27,6 +28,9 @@ import com.laker.postman.performance.plan.PerformanceRequestSampler;
 import com.laker.postman.performance.plan.PerformanceTestPlanCompiler;
 import com.laker.postman.performance.plan.PerformanceTestPlanNode;
 import com.laker.postman.performance.result.PerformanceResultCollector;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
 import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -37,6 +41,7 @@ import org.testng.annotations.Test;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ConcurrentHashMap;
@@ -417,6 +422,145 @@ public class PerformanceExecutionEngineTest {
         }
     }
 
+    @Test(timeOut = 30000)
+    public void webSocketThreadGroupShouldHoldManyVirtualUsersOnBoundedThreads() throws Exception {
+        int virtualUsers = 200;
+        List<WebSocket> openSockets = new CopyOnWriteArrayList<>();
+        CountDownLatch allConnected = new CountDownLatch(virtualUsers);
+        Set<String> engineThreadsWhileConnected = ConcurrentHashMap.newKeySet();
+        try (MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+                        @Override
+                        public void onOpen(WebSocket webSocket, Response response) {
+                            openSockets.add(webSocket);
+                            allConnected.countDown();
+                            if (allConnected.getCount() == 0) {
+                                // 所有虚拟用户同时挂着连接时记录引擎线程，然后统一放行
+                                Thread.getAllStackTraces().keySet().stream()
+                                        .map(Thread::getName)
+                                        .filter(name -> name.startsWith("Performance"))
+                                        .forEach(engineThreadsWhileConnected::add);
+                                openSockets.forEach(socket -> socket.send("ready"));
+                            }
+                        }
+
+                        @Override
+                        public void onClosing(WebSocket webSocket, int code, String reason) {
+                            webSocket.close(1000, null);
+                        }
+                    });
+                }
+            });
+            server.start();
+
+            HttpRequestItem item = new HttpRequestItem();
+            item.setId("ws-many-users");
+            item.setName("WS Many Users");
+            item.setProtocol(RequestItemProtocolEnum.WEBSOCKET);
+            item.setMethod("GET");
+            item.setUrl(server.url("/socket").toString().replaceFirst("^http", "ws"));
+            PerformanceTestPlanNode request = new PerformanceTestPlanNode(
+                    new PerformanceTreeNode(item.getName(), NodeType.REQUEST, item)
+            );
+            PerformanceTreeNode connectStep = new PerformanceTreeNode("connect", NodeType.WS_CONNECT);
+            connectStep.webSocketPerformanceData = new WebSocketPerformanceData();
+            connectStep.webSocketPerformanceData.connectTimeoutMs = 20_000;
+            request.add(new PerformanceTestPlanNode(connectStep));
+            PerformanceTreeNode readStep = new PerformanceTreeNode("read", NodeType.WS_READ);
+            readStep.webSocketPerformanceData = new WebSocketPerformanceData();
+            readStep.webSocketPerformanceData.completionMode = WebSocketPerformanceData.CompletionMode.SINGLE_MESSAGE;
+            readStep.webSocketPerformanceData.firstMessageTimeoutMs = 20_000;
+            request.add(new PerformanceTestPlanNode(readStep));
+            request.add(new PerformanceTestPlanNode(new PerformanceTreeNode("close", NodeType.WS_CLOSE)));
+            PerformanceTestPlanNode group = fixedThreadGroup(virtualUsers, 1);
+            group.add(request);
+
+            PerformanceStatsCollector statsCollector = new PerformanceStatsCollector();
+            // OkHttp 每条 WebSocket 连接占用一个读线程并计入 Dispatcher 并发数，按压测设置放开上限
+            HttpClientRuntimeConfig httpClientConfig = new HttpClientRuntimeConfig(
+                    HttpClientRuntimeConfig.DEFAULT_MAX_IDLE_CONNECTIONS,
+                    HttpClientRuntimeConfig.DEFAULT_KEEP_ALIVE_DURATION_SECONDS,
+                    virtualUsers * 2,
+                    virtualUsers * 2
+            );
+            new PerformanceExecutionEngine(
+                    () -> true,
+                    PerformanceExecutionConfig.fixed(false, 4, false),
+                    statsResultCollector(statsCollector),
+                    PerformanceRunListener.NOOP,
+                    () -> httpClientConfig
+            ).runTestPlan(compile(group), virtualUsers);
+
+            assertEquals(statsCollector.snapshot().totalRequests(), virtualUsers);
+            assertEquals(statsCollector.snapshot().successRequests(), virtualUsers);
+            assertFalse(engineThreadsWhileConnected.isEmpty());
+            assertTrue(engineThreadsWhileConnected.stream().noneMatch(name -> name.startsWith("PerformanceFixedWorker")),
+                    engineThreadsWhileConnected.toString());
+            long asyncWorkers = engineThreadsWhileConnected.stream()
+                    .filter(name -> name.startsWith("PerformanceAsyncWorker"))
+                    .count();
+            assertTrue(asyncWorkers <= Math.max(2, Runtime.getRuntime().availableProcessors()),
+                    engineThreadsWhileConnected.toString());
+        }
+    }
+
+    @Test(timeOut = 20000)
+    public void webSocketTimerStepShouldApplyPrecisePacingAcrossIterations() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+                        @Override
+                        public void onClosing(WebSocket webSocket, int code, String reason) {
+                            webSocket.close(1000, null);
+                        }
+                    });
+                }
+            });
+            server.start();
+
+            HttpRequestItem item = new HttpRequestItem();
+            item.setId("ws-pacing-step");
+            item.setName("WS Pacing Step");
+            item.setProtocol(RequestItemProtocolEnum.WEBSOCKET);
+            item.setMethod("GET");
+            item.setUrl(server.url("/socket").toString().replaceFirst("^http", "ws"));
+            PerformanceTestPlanNode request = new PerformanceTestPlanNode(
+                    new PerformanceTreeNode(item.getName(), NodeType.REQUEST, item)
+            );
+            request.add(new PerformanceTestPlanNode(new PerformanceTreeNode("connect", NodeType.WS_CONNECT)));
+            PerformanceTreeNode pacingStep = new PerformanceTreeNode("pacing", NodeType.TIMER);
+            pacingStep.timerData = new TimerData();
+            pacingStep.timerData.timerType = TimerData.TimerType.PRECISE_PACING;
+            pacingStep.timerData.pacingMs = 300;
+            // 固定等待字段在定速模式下不生效，按固定等待处理会明显拖慢整个压测
+            pacingStep.timerData.delayMs = 5000;
+            request.add(new PerformanceTestPlanNode(pacingStep));
+            request.add(new PerformanceTestPlanNode(new PerformanceTreeNode("close", NodeType.WS_CLOSE)));
+            PerformanceTestPlanNode group = fixedThreadGroup(1, 3);
+            group.add(request);
+
+            PerformanceStatsCollector statsCollector = new PerformanceStatsCollector();
+            long startNanos = System.nanoTime();
+            new PerformanceExecutionEngine(
+                    () -> true,
+                    () -> false,
+                    () -> 4,
+                    statsResultCollector(statsCollector)
+            ).runTestPlan(compile(group), 1);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+            assertEquals(statsCollector.snapshot().successRequests(), 3);
+            // 同一虚拟用户三次放行间隔 300ms：至少 600ms，且远小于按固定等待计算的 15s
+            assertTrue(elapsedMs >= 550, "elapsed " + elapsedMs);
+            assertTrue(elapsedMs < 5000, "elapsed " + elapsedMs);
+        }
+    }
+
     @Test
     public void compiledPlanExecutionShouldValidateSseStagesBeforeNetwork() throws Exception {
         try (MockWebServer server = new MockWebServer()) {
@@ -551,9 +695,13 @@ public class PerformanceExecutionEngineTest {
     }
 
     private static PerformanceTestPlanNode fixedThreadGroup(int loops) {
+        return fixedThreadGroup(1, loops);
+    }
+
+    private static PerformanceTestPlanNode fixedThreadGroup(int numThreads, int loops) {
         ThreadGroupData threadGroupData = new ThreadGroupData();
         threadGroupData.threadMode = ThreadGroupData.ThreadMode.FIXED;
-        threadGroupData.numThreads = 1;
+        threadGroupData.numThreads = numThreads;
         threadGroupData.useTime = false;
         threadGroupData.loops = loops;
         return new PerformanceTestPlanNode(new PerformanceTreeNode("thread group", NodeType.THREAD_GROUP, threadGroupData));
@@ -0,0 +1,70 @@
+package com.laker.postman.performance.worker;
+
+import com.laker.postman.performance.core.worker.PerformanceWorkerAssetStatusResponse;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class PerformanceWorkerAssetStoreTest {
+
+    @Test
+    public void shouldResumeChunkedUploadAndPublishVerifiedFile() throws Exception {
+        PerformanceWorkerAssetStore store = new PerformanceWorkerAssetStore(Files.createTempDirectory("asset-store"));
+        byte[] content = "userId\nu1\nu2\n".getBytes(StandardCharsets.UTF_8);
+        String sha256 = sha256(content);
+
+        PerformanceWorkerAssetStatusResponse first = store.append(sha256, content.length, 0, chunk(content, 0, 5));
+        assertFalse(first.isComplete());
+        assertEquals(store.status(sha256).getReceivedBytes(), 5);
+        assertNull(store.resolve(sha256));
+        expectThrows(IllegalStateException.class, () -> store.append(sha256, content.length, 0, chunk(content, 0, 5)));
+
+        PerformanceWorkerAssetStatusResponse done = store.append(sha256, content.length, 5, chunk(content, 5, content.length));
+
+        assertTrue(done.isComplete());
+        assertEquals(Files.readAllBytes(store.resolve(sha256)), content);
+        assertTrue(store.status(sha256).isComplete());
+        assertEquals(store.status(sha256).getSize(), content.length);
+    }
+
+    @Test
+    public void shouldDiscardUploadWhenHashDoesNotMatch() throws Exception {
+        PerformanceWorkerAssetStore store = new PerformanceWorkerAssetStore(Files.createTempDirectory("asset-store"));
+        byte[] content = "abc".getBytes(StandardCharsets.UTF_8);
+        String otherSha256 = sha256("abd".getBytes(StandardCharsets.UTF_8));
+
+        expectThrows(IllegalArgumentException.class,
+                () -> store.append(otherSha256, content.length, 0, chunk(content, 0, content.length)));
+
+        assertEquals(store.status(otherSha256).getReceivedBytes(), 0);
+        assertNull(store.resolve(otherSha256));
+    }
+
+    @Test
+    public void shouldRejectInvalidHashes() throws Exception {
+        Path directory = Files.createTempDirectory("asset-store");
+        PerformanceWorkerAssetStore store = new PerformanceWorkerAssetStore(directory);
+
+        assertNull(store.resolve("../secret"));
+        expectThrows(IllegalArgumentException.class, () -> store.status("../" + "a".repeat(61)));
+    }
+
+    private static ByteArrayInputStream chunk(byte[] content, int from, int to) {
+        return new ByteArrayInputStream(content, from, to - from);
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
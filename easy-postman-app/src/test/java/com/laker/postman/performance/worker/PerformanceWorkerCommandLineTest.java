@@ -23,6 +23,16 @@ public class PerformanceWorkerCommandLineTest {
         assertEquals(options.getHost(), PerformanceWorkerOptions.DEFAULT_HOST);
         assertEquals(options.getPort(), PerformanceWorkerOptions.DEFAULT_PORT);
         assertEquals(options.getProgressIntervalMs(), PerformanceWorkerOptions.DEFAULT_PROGRESS_INTERVAL_MS);
+        assertEquals(options.getLagThresholdMs(), PerformanceWorkerOptions.DEFAULT_LAG_THRESHOLD_MS);
+    }
+
+    @Test
+    public void shouldParseLagThreshold() {
+        PerformanceWorkerOptions options = PerformanceWorkerCommandLine.parse(new String[]{
+                "performance", "worker", "--lag-threshold-ms", "20"
+        });
+
+        assertEquals(options.getLagThresholdMs(), 20L);
     }
 
     @Test
@@ -0,0 +1,49 @@
+package com.laker.postman.performance.worker;
+
+import com.laker.postman.performance.core.report.PerformanceJsonReportSaturation;
+import com.laker.postman.performance.core.worker.PerformanceWorkerCapacity;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class PerformanceWorkerLoadMonitorTest {
+
+    @Test
+    public void shouldMergeLagAboveThresholdIntoSaturationIntervals() {
+        PerformanceWorkerLoadMonitor monitor = new PerformanceWorkerLoadMonitor(50L);
+        monitor.recordLag(10_000L, TimeUnit.MILLISECONDS.toNanos(2));
+        monitor.recordLag(10_100L, TimeUnit.MILLISECONDS.toNanos(80));
+        monitor.recordLag(10_600L, TimeUnit.MILLISECONDS.toNanos(120));
+        monitor.recordLag(20_000L, TimeUnit.MILLISECONDS.toNanos(60));
+
+        List<PerformanceJsonReportSaturation> saturation = monitor.saturationBetween("worker-a", 0L, 15_000L);
+
+        assertEquals(saturation.size(), 1);
+        assertEquals(saturation.get(0).getSource(), "worker-a");
+        assertEquals(saturation.get(0).getStartTimeMs(), 10_020L);
+        assertEquals(saturation.get(0).getEndTimeMs(), 10_600L);
+        assertEquals(saturation.get(0).getMaxSchedulerLagMs(), 120D, 1e-9);
+        assertEquals(saturation.get(0).getThresholdMs(), 50L);
+        assertEquals(monitor.saturationBetween("worker-a", 0L, 30_000L).size(), 2);
+    }
+
+    @Test
+    public void shouldReportLagPercentilesInCapacity() {
+        PerformanceWorkerLoadMonitor monitor = new PerformanceWorkerLoadMonitor(0L);
+        for (int i = 1; i <= 100; i++) {
+            monitor.recordLag(i, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        PerformanceWorkerCapacity capacity = monitor.capacity();
+
+        assertTrue(capacity.getCores() > 0);
+        assertTrue(capacity.getMaxHeapBytes() > 0);
+        assertEquals(capacity.getSchedulerLagP99Ms(), 99D, 1e-9);
+        assertEquals(capacity.getSchedulerLagMaxMs(), 100D, 1e-9);
+        assertTrue(monitor.saturationBetween("worker-a", 0L, Long.MAX_VALUE).isEmpty());
+    }
+}
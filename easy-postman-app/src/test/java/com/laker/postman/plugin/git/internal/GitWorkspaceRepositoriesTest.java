@@ -0,0 +1,152 @@
+package com.laker.postman.plugin.git.internal;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class GitWorkspaceRepositoriesTest {
+
+    private static final long WATCH_TIMEOUT_MS = 10_000L;
+
+    private Path workspacePath;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workspacePath = Files.createTempDirectory("easy-postman-git-repositories");
+        try (Git git = Git.init().setInitialBranch("main").setDirectory(workspacePath.toFile()).call()) {
+            Files.writeString(workspacePath.resolve("README.md"), "initial", StandardCharsets.UTF_8);
+            git.add().addFilepattern("README.md").call();
+            git.commit().setMessage("Initial commit").setSign(false).call();
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        GitWorkspaceRepositories.release(workspacePath.toString());
+        try (var paths = Files.walk(workspacePath)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void openShouldReuseRepositoryHandleUntilReleased() throws Exception {
+        try (Git first = GitWorkspaceRepositories.open(workspacePath.toString());
+             Git second = GitWorkspaceRepositories.open(workspacePath.toString())) {
+            assertSame(first.getRepository(), second.getRepository());
+
+            GitWorkspaceRepositories.release(workspacePath.toString());
+
+            try (Git reopened = GitWorkspaceRepositories.open(workspacePath.toString())) {
+                assertNotSame(reopened.getRepository(), first.getRepository());
+            }
+        }
+    }
+
+    @Test
+    public void statusShouldBeCachedAndRefreshedByWorkingTreeWatcher() throws Exception {
+        try (Git git = GitWorkspaceRepositories.open(workspacePath.toString())) {
+            Status cached = awaitCachedStatus(git);
+            assertTrue(cached.isClean());
+
+            Files.writeString(workspacePath.resolve("new-request.json"), "{}", StandardCharsets.UTF_8);
+
+            long deadline = System.currentTimeMillis() + WATCH_TIMEOUT_MS;
+            Status refreshed = GitWorkspaceRepositories.status(git);
+            while (!refreshed.getUntracked().contains("new-request.json") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20L);
+                refreshed = GitWorkspaceRepositories.status(git);
+            }
+            assertTrue(refreshed.getUntracked().contains("new-request.json"));
+        }
+    }
+
+    @Test
+    public void closingUpdateHandleShouldInvalidateCachedStatusImmediately() throws Exception {
+        try (Git git = GitWorkspaceRepositories.open(workspacePath.toString())) {
+            awaitCachedStatus(git);
+        }
+
+        try (Git git = GitWorkspaceRepositories.openForUpdate(workspacePath.toString())) {
+            Files.writeString(workspacePath.resolve("README.md"), "changed", StandardCharsets.UTF_8);
+            git.add().addFilepattern("README.md").call();
+        }
+
+        try (Git git = GitWorkspaceRepositories.open(workspacePath.toString())) {
+            assertTrue(GitWorkspaceRepositories.status(git).getChanged().contains("README.md"));
+        }
+    }
+
+    @Test
+    public void fileSavedShouldInvalidateCachedStatusBeforeWatcherEventArrives() throws Exception {
+        try (Git git = GitWorkspaceRepositories.open(workspacePath.toString())) {
+            awaitCachedStatus(git);
+
+            Path saved = workspacePath.resolve("collections.json");
+            Files.writeString(saved, "{}", StandardCharsets.UTF_8);
+            GitWorkspaceRepositories.fileSaved(saved.toString());
+
+            assertTrue(GitWorkspaceRepositories.status(git).getUntracked().contains("collections.json"));
+        }
+    }
+
+    @Test
+    public void pollingWatchServiceShouldNotBeTrustedForCaching() throws Exception {
+        assertTrue(GitWorkspaceRepositories.isPolling(new FakePollingWatchService()));
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            assertEquals(GitWorkspaceRepositories.isPolling(service),
+                    service.getClass().getName().equals("sun.nio.fs.PollingWatchService"));
+        }
+    }
+
+    private static Status awaitCachedStatus(Git git) throws Exception {
+        long deadline = System.currentTimeMillis() + WATCH_TIMEOUT_MS;
+        Status previous = GitWorkspaceRepositories.status(git);
+        while (System.currentTimeMillis() < deadline) {
+            Status current = GitWorkspaceRepositories.status(git);
+            if (current == previous) {
+                return current;
+            }
+            previous = current;
+            Thread.sleep(20L);
+        }
+        throw new AssertionError("Git status was never served from cache");
+    }
+
+    private static final class FakePollingWatchService implements WatchService {
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public WatchKey poll() {
+            return null;
+        }
+
+        @Override
+        public WatchKey poll(long timeout, TimeUnit unit) {
+            return null;
+        }
+
+        @Override
+        public WatchKey take() {
+            return null;
+        }
+    }
+}
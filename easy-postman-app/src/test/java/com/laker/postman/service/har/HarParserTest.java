@@ -4,9 +4,15 @@ import com.laker.postman.request.model.RequestBodyTypes;
 import com.laker.postman.request.model.HttpRequestItem;
 
 
+import com.laker.postman.collection.importer.ImportFilter;
 import org.testng.annotations.Test;
 
 import javax.swing.tree.DefaultMutableTreeNode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 import static com.laker.postman.request.model.RequestBodyTypes.BODY_TYPE_FORM_URLENCODED;
 import static org.testng.Assert.*;
@@ -62,4 +68,64 @@ public class HarParserTest {
         assertEquals(request.getUrlencodedList().size(), 2);
         assertTrue(request.getHeadersList().stream().anyMatch(h -> "Content-Type".equals(h.getKey())));
     }
+
+    @Test
+    public void streamingImportShouldFilterEntriesAndSkipResponses() throws Exception {
+        StringBuilder json = new StringBuilder("{\"log\":{\"version\":\"1.2\",\"entries\":[");
+        String responseBody = "x".repeat(256 * 1024);
+        int entryCount = 40;
+        for (int i = 0; i < entryCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String host = i % 2 == 0 ? "api.example.com" : "cdn.other.com";
+            String method = i % 4 == 0 ? "POST" : "GET";
+            String mimeType = i % 3 == 0 ? "image/png" : "application/json; charset=utf-8";
+            // response 排在 request 前面，过滤只能在 entry 结束时判断
+            json.append("""
+                    {"response":{"status":200,"content":{"size":1,"text":"%s","mimeType":"%s"}},
+                     "request":{"method":"%s","url":"https://%s/items/%d","headers":[]},
+                     "timings":{"wait":1}}
+                    """.formatted(responseBody, mimeType, method, host, i));
+        }
+        json.append("]}}");
+        Path file = Files.createTempFile("har-parser-test", ".har");
+        Files.writeString(file, json);
+
+        try {
+            ImportFilter filter = new ImportFilter(Set.of("Example.com"), Set.of("get"), Set.of("application/json"));
+            List<Integer> progress = new ArrayList<>();
+            DefaultMutableTreeNode root = HarParser.parseHar(file, filter,
+                    (readSize, totalSize, requestCount) -> progress.add(requestCount));
+            assertNotNull(root);
+
+            List<String> urls = new ArrayList<>();
+            for (int i = 0; i < root.getChildCount(); i++) {
+                DefaultMutableTreeNode requestNode = (DefaultMutableTreeNode) root.getChildAt(i);
+                urls.add(((HttpRequestItem) ((Object[]) requestNode.getUserObject())[1]).getUrl());
+            }
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < entryCount; i++) {
+                if (i % 2 == 0 && i % 4 != 0 && i % 3 != 0) {
+                    expected.add("https://api.example.com/items/" + i);
+                }
+            }
+            assertEquals(urls, expected);
+            assertTrue(progress.size() > 1, "progress should be reported while reading");
+            assertEquals(progress.get(progress.size() - 1).intValue(), expected.size());
+
+            DefaultMutableTreeNode unfiltered = HarParser.parseHar(file, ImportFilter.all(), null);
+            assertNotNull(unfiltered);
+            assertEquals(unfiltered.getChildCount(), entryCount);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void parseHarShouldRejectDocumentsWithoutLog() {
+        assertNull(HarParser.parseHar("{\"entries\":[]}"));
+        assertNull(HarParser.parseHar("{\"log\":"));
+        assertEquals(HarParser.parseHar("{\"log\":{\"version\":\"1.2\"}}").getChildCount(), 0);
+    }
 }
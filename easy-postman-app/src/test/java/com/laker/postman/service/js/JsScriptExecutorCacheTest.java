@@ -10,7 +10,9 @@ import org.testng.annotations.Test;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -64,6 +66,49 @@ public class JsScriptExecutorCacheTest {
         assertEquals(secondSink.toString(), "second");
     }
 
+    @Test(description = "pooled contexts should compile a script once and call it with per-execution bindings")
+    public void pooledContextShouldReuseCompiledScriptFunction() throws Exception {
+        JsContextPool replacementPool = new JsContextPool(1);
+        JsContextPool previousPool = getStaticField("contextPool", JsContextPool.class);
+        int previousPoolSize = getStaticIntField("contextPoolSize");
+        int previousTimeoutMs = getStaticIntField("contextAcquireTimeoutMs");
+
+        try {
+            setStaticField("contextPool", replacementPool);
+            setStaticField("contextPoolSize", 1);
+            setStaticField("contextAcquireTimeoutMs", 1000);
+
+            String script = "sink.append(typeof globalThis.sink).append(':').append(value); console.log(value);";
+            List<String> firstOutput = new ArrayList<>();
+            List<String> secondOutput = new ArrayList<>();
+            for (String value : List.of("first", "second")) {
+                StringBuilder sink = new StringBuilder();
+                Map<String, Object> bindings = new HashMap<>();
+                bindings.put("sink", sink);
+                bindings.put("value", value);
+                List<String> output = "first".equals(value) ? firstOutput : secondOutput;
+                JsScriptExecutor.executeScript(script, bindings, output::add);
+                assertEquals(sink.toString(), "undefined:" + value);
+            }
+
+            assertEquals(firstOutput, List.of("first"));
+            assertEquals(secondOutput, List.of("second"));
+
+            JsContextPool.PooledContext pooled = replacementPool.borrowContext(1000);
+            try {
+                assertEquals(pooled.compiledScriptCount(), 1);
+                assertEquals(pooled.consoleTarget, null);
+            } finally {
+                replacementPool.returnContext(pooled);
+            }
+        } finally {
+            setStaticField("contextPool", previousPool);
+            setStaticField("contextPoolSize", previousPoolSize);
+            setStaticField("contextAcquireTimeoutMs", previousTimeoutMs);
+            replacementPool.shutdown();
+        }
+    }
+
     @Test(description = "plain pm variable scripts should not load lazy built-in libraries")
     public void plainPostmanVariableScriptShouldNotLoadLazyBuiltinLibraries() throws Exception {
         JsContextPool replacementPool = new JsContextPool(1);
@@ -0,0 +1,191 @@
+package com.laker.postman.service.js;
+
+import com.laker.postman.http.runtime.model.HttpResponse;
+import com.laker.postman.model.Environment;
+import com.laker.postman.script.model.TestResult;
+import com.laker.postman.service.js.api.PostmanApiContext;
+import com.laker.postman.service.variable.ExecutionContextScope;
+import com.laker.postman.service.variable.ExecutionVariableContext;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class NativeScriptTest {
+
+    private static final String BODY = """
+            {"token":"abc","count":3,"ok":true,"price":1.5,"items":[{"id":7},{"id":8}],"nested":{"name":"x"}}
+            """;
+
+    @Test(description = "boilerplate assertions should produce the same test results as the JS path")
+    public void nativeAssertionsShouldMatchJavaScriptResults() throws Exception {
+        String script = """
+                // status and header checks
+                pm.test("status is 200", function () {
+                    pm.response.to.have.status(200);
+                });
+                pm.test("status is 201", () => pm.response.to.have.status(201));
+                pm.test("has content type", () => { pm.response.to.have.header('Content-Type') })
+                pm.test("body values", function () {
+                    var jsonData = pm.response.json();
+                    pm.expect(jsonData.token).to.eql("abc");
+                    pm.expect(jsonData.count).to.equal(3);
+                    pm.expect(jsonData.items[1].id).to.be.above(7);
+                    pm.expect(jsonData["nested"].name).to.not.eql("y");
+                    pm.expect(pm.response.text()).to.include("token");
+                });
+                pm.test("failing body value", function () {
+                    pm.expect(pm.response.json().count).to.be.below(2);
+                });
+                pm.test("time", function () {
+                    pm.expect(pm.response.responseTime).to.be.below(1000);
+                    pm.expect(pm.response.code).to.eql(200);
+                    pm.expect(pm.response.headers.get("content-type")).to.include("json");
+                });
+                """;
+        assertTrue(NativeScript.isSupported(script));
+
+        Run nativeRun = run(script, true);
+        Run javascriptRun = run(script, false);
+
+        assertEquals(nativeRun.outcome, NativeScript.Outcome.EXECUTED);
+        assertEquals(describe(nativeRun.pm.testResults), describe(javascriptRun.pm.testResults));
+        assertEquals(nativeRun.pm.testResults.stream().filter(result -> !result.passed).count(), 2L);
+    }
+
+    @Test(description = "variable writes should store the same values as the JS path")
+    public void nativeVariableWritesShouldMatchJavaScript() throws Exception {
+        String script = """
+                const body = pm.response.json();
+                pm.environment.set("token", body.token);
+                pm.environment.set("count", body.count);
+                pm.globals.set("flag", body.ok);
+                pm.environment.set("first", body.items[0]);
+                pm.variables.set("literal", "value");
+                """;
+
+        Run nativeRun = run(script, true);
+        Run javascriptRun = run(script, false);
+
+        assertEquals(nativeRun.outcome, NativeScript.Outcome.EXECUTED);
+        assertEquals(nativeRun.environment.getVariables(), javascriptRun.environment.getVariables());
+        assertEquals(nativeRun.globals.getVariables(), javascriptRun.globals.getVariables());
+        assertEquals(nativeRun.environment.getVariable("count"), "3");
+        assertEquals(nativeRun.variables.get("literal"), "value");
+        assertEquals(javascriptRun.variables.get("literal"), "value");
+    }
+
+    @Test(description = "values that JS would convert differently should fall back without side effects")
+    public void runtimeMismatchShouldFallBackWithoutSideEffects() throws Exception {
+        String script = """
+                pm.environment.set("token", pm.response.json().token);
+                pm.environment.set("price", pm.response.json().price);
+                """;
+        assertTrue(NativeScript.isSupported(script));
+
+        Run nativeRun = run(script, true);
+
+        assertEquals(nativeRun.outcome, NativeScript.Outcome.FELL_BACK);
+        assertFalse(nativeRun.environment.hasVariable("token"));
+    }
+
+    @Test(description = "scripts outside the recognised subset should be left to JS")
+    public void unsupportedScriptsShouldNotBeCompiled() {
+        assertFalse(NativeScript.isSupported("console.log(pm.response.code);"));
+        assertFalse(NativeScript.isSupported("pm.response.to.have.status(200);"));
+        assertFalse(NativeScript.isSupported("pm.test(`t`, () => pm.response.to.have.status(200));"));
+        assertFalse(NativeScript.isSupported("pm.test('t', () => pm.expect(pm.response.json().size).to.eql(1));"));
+        assertFalse(NativeScript.isSupported("let response = pm.response.json();\npm.environment.set('a', response.a);"));
+        assertFalse(NativeScript.isSupported("pm.test('t', () => pm.expect(1).to.be.below('2'));"));
+        assertFalse(NativeScript.isSupported("pm.environment.set('a', 'b') pm.environment.set('c', 'd');"));
+    }
+
+    @Test(description = "executors should count which path each script took")
+    public void pooledExecutorShouldCountScriptPaths() throws Exception {
+        try (JsScriptExecutor.PooledScriptExecutor executor = new JsScriptExecutor.PooledScriptExecutor(1, 1000);
+             ExecutionContextScope ignored = ExecutionContextScope.open(new ExecutionVariableContext())) {
+            PostmanApiContext pm = newContext(new Environment("env"), new Environment("globals"));
+            executor.execute(context("pm.test('ok', () => pm.response.to.have.status(200));", pm));
+            executor.execute(context("pm.test('ok', () => pm.expect(1 + 1).to.eql(2));", pm));
+            executor.execute(context("pm.environment.set('price', pm.response.json().price);", pm));
+
+            ScriptPathStats.Snapshot stats = executor.pathStats();
+            assertEquals(stats.nativeScripts(), 1L);
+            assertEquals(stats.javascriptScripts(), 2L);
+            assertEquals(stats.nativeFallbacks(), 1L);
+        }
+    }
+
+    private static Run run(String script, boolean nativePath) throws Exception {
+        Environment environment = new Environment("env");
+        Environment globals = new Environment("globals");
+        ExecutionVariableContext variables = new ExecutionVariableContext();
+        try (ExecutionContextScope ignored = ExecutionContextScope.open(variables)) {
+            PostmanApiContext pm = newContext(environment, globals);
+            NativeScript.Outcome outcome = null;
+            if (nativePath) {
+                outcome = NativeScript.tryExecute(script, bindings(pm));
+            } else {
+                String previous = System.setProperty(NativeScript.ENABLED_PROPERTY, "false");
+                try {
+                    JsScriptExecutor.executeScript(context(script, pm));
+                } finally {
+                    if (previous == null) {
+                        System.clearProperty(NativeScript.ENABLED_PROPERTY);
+                    } else {
+                        System.setProperty(NativeScript.ENABLED_PROPERTY, previous);
+                    }
+                }
+            }
+            return new Run(outcome, pm, environment, globals, variables.getVariables());
+        }
+    }
+
+    private static PostmanApiContext newContext(Environment environment, Environment globals) {
+        PostmanApiContext pm = PostmanApiContext.scoped(environment, globals);
+        HttpResponse response = new HttpResponse();
+        response.code = 200;
+        response.costMs = 42;
+        response.body = BODY;
+        response.headers = new LinkedHashMap<>();
+        response.headers.put("Content-Type", List.of("application/json"));
+        pm.setResponse(response);
+        return pm;
+    }
+
+    private static ScriptExecutionContext context(String script, PostmanApiContext pm) {
+        return ScriptExecutionContext.builder()
+                .script(script)
+                .scriptType(ScriptExecutionContext.ScriptType.POST_REQUEST)
+                .bindings(bindings(pm))
+                .build();
+    }
+
+    private static Map<String, Object> bindings(PostmanApiContext pm) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("pm", pm);
+        bindings.put("postman", pm);
+        return bindings;
+    }
+
+    private static List<String> describe(List<TestResult> results) {
+        List<String> described = new ArrayList<>();
+        for (TestResult result : results) {
+            described.add(result.name + "|" + result.passed + "|" + result.message);
+        }
+        return described;
+    }
+
+    private record Run(NativeScript.Outcome outcome,
+                       PostmanApiContext pm,
+                       Environment environment,
+                       Environment globals,
+                       Map<String, String> variables) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.laker.postman.service.postman;
 
+import com.laker.postman.collection.importer.ImportFilter;
 import com.laker.postman.collection.importer.postman.PostmanCollectionParser;
 import com.laker.postman.collection.model.CollectionParseResult;
 import com.laker.postman.request.model.AuthApiKeyPlacement;
@@ -8,6 +9,12 @@ import com.laker.postman.request.model.HttpRequestItem;
 import com.laker.postman.request.model.RequestBodyTypes;
 import org.testng.annotations.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 import static com.laker.postman.request.model.RequestBodyTypes.BODY_TYPE_FORM_DATA;
 import static com.laker.postman.request.model.RequestBodyTypes.BODY_TYPE_RAW;
 import static org.testng.Assert.*;
@@ -637,4 +644,76 @@ public class PostmanCollectionParserTest {
         assertEquals(graphql.getBodyType(), BODY_TYPE_RAW);
         assertTrue(graphql.getBody().contains("query Ping"));
     }
+
+    @Test
+    public void testParsePostmanCollection_StreamingFileWithFilter() throws Exception {
+        String json = """
+                {
+                  "item": [
+                    {
+                      "name": "Users",
+                      "item": [
+                        {
+                          "name": "List Users",
+                          "request": {"method": "GET", "url": {"raw": "https://api.example.com/users"}},
+                          "response": [{"name": "OK", "code": 200, "status": "OK", "body": "[]"}]
+                        },
+                        {
+                          "name": "Delete User",
+                          "request": {"method": "DELETE", "url": "https://api.example.com/users/1"},
+                          "response": [{"name": "Gone", "code": 204, "body": "%s"}]
+                        }
+                      ]
+                    },
+                    {
+                      "name": "Third Party",
+                      "item": [
+                        {"name": "Ping", "request": "https://other.com/ping"}
+                      ]
+                    },
+                    {"name": "Templated", "request": {"method": "GET", "url": "{{baseUrl}}/health"}}
+                  ],
+                  "info": {"name": "Streamed Collection"},
+                  "variable": [{"key": "baseUrl", "value": "https://api.example.com"}]
+                }
+                """.formatted("x".repeat(64 * 1024));
+        Path file = Files.createTempFile("postman-parser-test", ".json");
+        Files.writeString(file, json);
+
+        try {
+            List<Integer> progress = new ArrayList<>();
+            CollectionParseResult result = PostmanCollectionParser.parsePostmanCollection(file,
+                    new ImportFilter(Set.of("example.com"), Set.of("GET"), Set.of()),
+                    (readSize, totalSize, requestCount) -> progress.add(requestCount));
+            assertNotNull(result);
+            assertEquals(result.getGroup().getName(), "Streamed Collection");
+            assertEquals(result.getGroup().getVariables().size(), 1);
+
+            // 只保留 Users 文件夹下的 GET 请求，过滤后为空的文件夹和无法解析域名的请求被丢弃
+            assertEquals(result.getChildren().size(), 1);
+            var users = result.getChildren().get(0);
+            assertEquals(users.asGroup().getName(), "Users");
+            assertEquals(users.getChildren().size(), 1);
+            HttpRequestItem listUsers = users.getChildren().get(0).asRequest();
+            assertEquals(listUsers.getName(), "List Users");
+            assertEquals(listUsers.getResponse().size(), 1);
+            assertEquals(progress.get(progress.size() - 1).intValue(), 1);
+
+            CollectionParseResult unfiltered = PostmanCollectionParser.parsePostmanCollection(file, ImportFilter.all(), null);
+            assertNotNull(unfiltered);
+            assertEquals(unfiltered.getChildren().size(), 3);
+            assertEquals(unfiltered.getChildren().get(0).getChildren().size(), 2);
+            assertEquals(unfiltered.getChildren().get(1).getChildren().get(0).asRequest().getUrl(), "https://other.com/ping");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testParsePostmanCollection_MissingInfoOrItems() {
+        assertNull(PostmanCollectionParser.parsePostmanCollection("{\"item\": []}"));
+        assertNull(PostmanCollectionParser.parsePostmanCollection("{\"info\": {\"name\": \"x\"}}"));
+        assertNull(PostmanCollectionParser.parsePostmanCollection("[]"));
+        assertNull(PostmanCollectionParser.parsePostmanCollection("{\"info\": {"));
+    }
 }
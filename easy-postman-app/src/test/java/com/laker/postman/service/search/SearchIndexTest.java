@@ -0,0 +1,161 @@
+package com.laker.postman.service.search;
+
+import com.laker.postman.request.model.HttpHeader;
+import com.laker.postman.request.model.HttpRequestItem;
+import com.laker.postman.request.model.SavedResponse;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class SearchIndexTest {
+
+    @Test
+    public void shouldMatchPrefixesAndQuotedPhrases() {
+        SearchIndex index = new SearchIndex();
+        index.put(request("a"), List.of("List user orders", "GET /api/orders"));
+        index.put(request("b"), List.of("Create order", "POST /api/orders", "{\"user\": \"orders-bot\"}"));
+        index.put(request("c"), List.of("Order id lookup", "GET /api/order/{id}"));
+
+        assertEquals(keys(index.search("user ord", 10)), List.of("a", "b"));
+        assertEquals(keys(index.search("\"order id\"", 10)), List.of("c"));
+        assertEquals(keys(index.search("\"order\" get", 10)), List.of("c"));
+        assertTrue(index.search("\"user ord\"", 10).isEmpty());
+        assertTrue(index.search("orders missing", 10).isEmpty());
+    }
+
+    @Test
+    public void phrasesShouldNotSpanFieldsAndTitleHitsShouldRankFirst() {
+        SearchIndex index = new SearchIndex();
+        index.put(request("body"), List.of("Other", "token value", "token value token value"));
+        index.put(request("title"), List.of("Token value", "GET /"));
+        index.put(request("split"), List.of("Token", "value"));
+
+        assertEquals(keys(index.search("\"token value\"", 10)), List.of("title", "body"));
+        assertEquals(keys(index.search("订单", 10)), List.of());
+
+        index.put(request("zh"), List.of("查询订单详情", "GET /orders"));
+        assertEquals(keys(index.search("订单", 10)), List.of("zh"));
+        assertTrue(index.search("单订", 10).isEmpty());
+    }
+
+    @Test
+    public void removalsShouldDropEntriesAndRequestGroups() {
+        SearchIndex index = new SearchIndex();
+        HttpRequestItem item = new HttpRequestItem();
+        item.setId("req-1");
+        item.setName("Login");
+        item.setUrl("https://example.com/login");
+        item.setHeadersList(List.of(new HttpHeader(true, "X-Tenant", "acme")));
+        SavedResponse response = new SavedResponse();
+        response.setId("resp-1");
+        response.setName("Locked account");
+        response.setBody("{\"error\":\"account_locked\"}");
+        item.setResponse(List.of(response));
+        for (SearchDocuments.Indexed document : SearchDocuments.forRequest(item)) {
+            index.put(document.entry(), document.fields());
+        }
+        index.put(new SearchEntry("history:1", SearchEntryType.HISTORY, null, "GET /", "200"), List.of("acme history"));
+
+        List<SearchEntry> hits = index.search("acme", 10);
+        assertEquals(hits.size(), 2);
+        assertEquals(index.search("account_locked", 10).get(0).requestId(), "req-1");
+        assertEquals(index.entryCount("req-1"), 2);
+
+        index.removeRequest("req-1");
+        assertEquals(keys(index.search("acme", 10)), List.of("history:1"));
+        assertTrue(index.requestIds().isEmpty());
+        index.removeIf(entry -> entry.type() == SearchEntryType.HISTORY);
+        assertEquals(index.size(), 0);
+        assertTrue(index.search("acme", 10).isEmpty());
+    }
+
+    @Test
+    public void shouldRoundTripThroughStreams() throws IOException {
+        SearchIndex index = new SearchIndex();
+        index.put(request("a"), List.of("Get profile", "GET /me"));
+        index.put(request("b"), List.of("Delete profile", "DELETE /me"));
+        index.remove("b");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        SearchIndex loaded = SearchIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(loaded.size(), 1);
+        assertEquals(keys(loaded.search("prof", 10)), List.of("a"));
+        assertEquals(loaded.entry("a"), request("a"));
+        assertNull(loaded.entry("b"));
+    }
+
+    @Test
+    public void shouldStayConsistentAfterCompactingManyEntries() {
+        SearchIndex index = new SearchIndex();
+        for (int i = 0; i < 50_000; i++) {
+            index.put(request("r" + i), List.of("Request " + i, "GET /items/" + i, "tenant" + (i % 100)));
+        }
+        for (int i = 0; i < 40_000; i++) {
+            index.remove("r" + i);
+        }
+
+        assertEquals(index.size(), 10_000);
+        assertEquals(keys(index.search("\"items 49999\"", 10)), List.of("r49999"));
+        assertEquals(index.search("\"tenant7\"", 1000).size(), 100);
+        assertEquals(index.search("request", 20_000).size(), 10_000);
+    }
+
+    @Test
+    public void replacedTermsShouldNotAccumulateInDictionaryOrFile() throws IOException {
+        SearchIndex index = new SearchIndex();
+        index.put(request("stable"), List.of("Stable request", "GET /stable"));
+        int baseline = serializedSize(index);
+        for (int i = 0; i < 20_000; i++) {
+            index.put(request("draft"), List.of("Draft " + i, "POST /drafts/word" + i));
+        }
+
+        int size = serializedSize(index);
+        assertTrue(size < baseline + 256, "serialized size " + size + " should stay near " + baseline);
+        assertEquals(index.size(), 2);
+        assertEquals(keys(index.search("\"word19999\"", 10)), List.of("draft"));
+        assertTrue(index.search("\"word0\"", 10).isEmpty());
+        assertEquals(keys(index.search("stab", 10)), List.of("stable"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        SearchIndex loaded = SearchIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(keys(loaded.search("\"drafts word19999\"", 10)), List.of("draft"));
+        assertEquals(keys(loaded.search("stable", 10)), List.of("stable"));
+    }
+
+    @Test
+    public void removedTermsShouldBeDroppedFromFileBeforeCompaction() throws IOException {
+        SearchIndex index = new SearchIndex();
+        index.put(request("a"), List.of("Get profile", "GET /me"));
+        int baseline = serializedSize(index);
+        index.put(request("b"), List.of("Unique words only here", "PATCH /elsewhere"));
+        index.remove("b");
+
+        assertEquals(serializedSize(index), baseline);
+    }
+
+    private static int serializedSize(SearchIndex index) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        return bytes.size();
+    }
+
+    private static SearchEntry request(String key) {
+        return new SearchEntry(key, SearchEntryType.REQUEST, key, key, null);
+    }
+
+    private static List<String> keys(List<SearchEntry> entries) {
+        return entries.stream().map(SearchEntry::key).toList();
+    }
+}
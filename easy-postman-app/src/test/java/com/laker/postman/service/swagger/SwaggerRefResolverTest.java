@@ -0,0 +1,139 @@
+package com.laker.postman.service.swagger;
+
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import com.laker.postman.collection.model.CollectionNode;
+import com.laker.postman.collection.model.CollectionParseResult;
+import com.laker.postman.request.model.HttpRequestItem;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class SwaggerRefResolverTest {
+
+    private static final String COMPONENTS = """
+            {
+              "Pet": {
+                "type": "object",
+                "properties": {
+                  "id": {"type": "integer"},
+                  "category": {"$ref": "#/components/schemas/Category"},
+                  "tags": {"type": "array", "items": {"$ref": "#/components/schemas/Tag"}}
+                }
+              },
+              "Category": {"$ref": "#/components/schemas/NamedEntity"},
+              "NamedEntity": {
+                "type": "object",
+                "properties": {"name": {"type": "string", "example": "dogs"}}
+              },
+              "Tag": {"type": "object", "properties": {"label": {"type": "string"}}},
+              "Node": {
+                "type": "object",
+                "properties": {
+                  "name": {"type": "string"},
+                  "parent": {"$ref": "#/components/schemas/Node"},
+                  "children": {"type": "array", "items": {"$ref": "#/components/schemas/Node"}}
+                }
+              },
+              "Loop": {"$ref": "#/components/schemas/Loop"}
+            }
+            """;
+
+    @Test
+    public void chainedRefsShouldResolveOnceAndBeShared() {
+        SwaggerRefResolver refs = new SwaggerRefResolver(openApiRoot(new JSONObject()));
+        JSONObject first = refs.resolve(JSONUtil.parseObj("{\"$ref\":\"#/components/schemas/Category\"}"));
+        JSONObject second = refs.resolve(JSONUtil.parseObj("{\"$ref\":\"#/components/schemas/Category\"}"));
+
+        assertSame(second, first);
+        assertEquals(first.getJSONObject("properties").getJSONObject("name").getStr("example"), "dogs");
+
+        JSONObject withSibling = refs.resolve(JSONUtil.parseObj(
+                "{\"$ref\":\"#/components/schemas/Category\",\"description\":\"override\"}"));
+        assertEquals(withSibling.getStr("description"), "override");
+        assertTrue(withSibling.containsKey("properties"));
+        assertTrue(!first.containsKey("description"));
+    }
+
+    @Test
+    public void recursiveSchemasShouldBeTruncatedInsteadOfOverflowing() {
+        SwaggerRefResolver refs = new SwaggerRefResolver(openApiRoot(new JSONObject()));
+
+        String example = refs.generateExampleFromSchema(JSONUtil.parseObj("{\"$ref\":\"#/components/schemas/Node\"}"));
+        assertEquals(example, "{\"name\":\"string\",\"parent\":{},\"children\":[{}]}");
+
+        // 自引用的定义无法展开，保持原样
+        JSONObject loop = JSONUtil.parseObj("{\"$ref\":\"#/components/schemas/Loop\"}");
+        assertEquals(refs.resolve(loop).getStr("$ref"), "#/components/schemas/Loop");
+    }
+
+    @Test
+    public void examplesShouldNotDependOnResolutionOrder() {
+        SwaggerRefResolver warm = new SwaggerRefResolver(openApiRoot(new JSONObject()));
+        warm.generateExampleFromSchema(JSONUtil.parseObj("{\"$ref\":\"#/components/schemas/Node\"}"));
+        String afterWarmup = warm.generateExampleFromSchema(JSONUtil.parseObj("{\"$ref\":\"#/components/schemas/Pet\"}"));
+
+        SwaggerRefResolver cold = new SwaggerRefResolver(openApiRoot(new JSONObject()));
+        String direct = cold.generateExampleFromSchema(JSONUtil.parseObj("{\"$ref\":\"#/components/schemas/Pet\"}"));
+
+        assertEquals(afterWarmup, direct);
+        assertEquals(direct, "{\"id\":0,\"category\":{\"name\":\"dogs\"},\"tags\":[{\"label\":\"string\"}]}");
+    }
+
+    @Test
+    public void largeSpecShouldConvertInPathOrder() {
+        int operationCount = SwaggerCommonUtil.PARALLEL_CONVERSION_THRESHOLD * 8;
+        JSONObject paths = new JSONObject();
+        for (int i = 0; i < operationCount; i++) {
+            String schema = i % 2 == 0 ? "Pet" : "Node";
+            paths.set("/items/" + i, JSONUtil.parseObj("""
+                    {
+                      "post": {
+                        "tags": ["Items"],
+                        "operationId": "op%d",
+                        "parameters": [{"name": "id", "in": "path", "required": true, "schema": {"type": "integer"}}],
+                        "requestBody": {
+                          "content": {"application/json": {"schema": {"$ref": "#/components/schemas/%s"}}}
+                        }
+                      }
+                    }
+                    """.formatted(i, schema)));
+        }
+
+        CollectionParseResult result = SwaggerParser.parseSwagger(openApiRoot(paths).toString());
+        assertNotNull(result);
+        assertEquals(result.getChildren().size(), 1);
+
+        List<CollectionNode> requests = result.getChildren().get(0).getChildren();
+        assertEquals(requests.size(), operationCount);
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < operationCount; i++) {
+            HttpRequestItem request = requests.get(i).asRequest();
+            assertEquals(request.getName(), "op" + i);
+            bodies.add(request.getBody());
+        }
+        assertEquals(bodies.get(0), "{\"id\":0,\"category\":{\"name\":\"dogs\"},\"tags\":[{\"label\":\"string\"}]}");
+        assertEquals(bodies.get(1), "{\"name\":\"string\",\"parent\":{},\"children\":[{}]}");
+        for (int i = 2; i < operationCount; i++) {
+            assertEquals(bodies.get(i), bodies.get(i % 2));
+        }
+    }
+
+    private static JSONObject openApiRoot(JSONObject paths) {
+        JSONObject root = JSONUtil.parseObj("""
+                {
+                  "openapi": "3.0.0",
+                  "info": {"title": "Large API", "version": "1.0.0"}
+                }
+                """);
+        root.set("paths", paths);
+        root.set("components", JSONUtil.parseObj("{\"schemas\":" + COMPONENTS + "}"));
+        return root;
+    }
+}
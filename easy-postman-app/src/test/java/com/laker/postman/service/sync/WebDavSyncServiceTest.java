@@ -7,25 +7,33 @@ import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.zip.ZipInputStream;
+import java.util.Set;
 
 import static org.testng.Assert.*;
 
 public class WebDavSyncServiceTest {
 
     @Test
-    public void uploadSnapshotShouldCreateRemoteDirectoryAndUploadSnapshotWithManifest() throws Exception {
+    public void uploadSnapshotShouldCreateRemoteDirectoryAndUploadChangedBlobsWithManifest() throws Exception {
         Path dataRoot = Files.createTempDirectory("webdav-sync-upload");
         write(dataRoot.resolve("workspaces/default/collections.json"), "{\"ok\":true}");
 
         try (MockWebServer server = new MockWebServer()) {
             server.enqueue(new MockResponse().setResponseCode(207));
+            server.enqueue(new MockResponse().setResponseCode(404));
+            server.enqueue(new MockResponse().setResponseCode(201));
             server.enqueue(new MockResponse().setResponseCode(201));
             server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(404));
             server.start();
 
             WebDavSyncService service = newService(dataRoot);
@@ -43,21 +51,218 @@ public class WebDavSyncServiceTest {
             assertEquals(propfind.getMethod(), "PROPFIND");
             assertEquals(propfind.getPath(), "/dav/EasyPostman/");
 
-            RecordedRequest snapshotPut = server.takeRequest();
-            assertEquals(snapshotPut.getMethod(), "PUT");
-            assertEquals(snapshotPut.getPath(), "/dav/EasyPostman/snapshot.zip");
-            assertEquals(snapshotPut.getHeader("Authorization"), Credentials.basic("alice", "secret"));
-            assertTrue(isZip(snapshotPut.getBody().readByteArray()));
+            RecordedRequest listObjects = server.takeRequest();
+            assertEquals(listObjects.getMethod(), "PROPFIND");
+            assertEquals(listObjects.getPath(), "/dav/EasyPostman/objects/");
+            assertEquals(listObjects.getHeader("Depth"), "1");
+            assertEquals(server.takeRequest().getMethod(), "MKCOL");
+
+            RecordedRequest blobPut = server.takeRequest();
+            assertEquals(blobPut.getMethod(), "PUT");
+            assertTrue(blobPut.getPath().startsWith("/dav/EasyPostman/objects/"));
+            assertEquals(blobPut.getHeader("Authorization"), Credentials.basic("alice", "secret"));
+            assertEquals(blobPut.getBody().readUtf8(), "{\"ok\":true}");
 
             RecordedRequest manifestPut = server.takeRequest();
             assertEquals(manifestPut.getMethod(), "PUT");
             assertEquals(manifestPut.getPath(), "/dav/EasyPostman/manifest.json");
-            assertTrue(manifestPut.getBody().readUtf8().contains("\"snapshotFile\""));
+            WebDavSnapshotManifest manifest = WebDavSnapshotManifest.fromJson(manifestPut.getBody().readUtf8());
+            assertTrue(manifest.isIncremental());
+            assertEquals(manifest.files().size(), 1);
+            assertEquals(manifest.files().get(0).path(), "workspaces/default/collections.json");
+
+            RecordedRequest legacyDelete = server.takeRequest();
+            assertEquals(legacyDelete.getMethod(), "DELETE");
+            assertEquals(legacyDelete.getPath(), "/dav/EasyPostman/snapshot.zip");
+        }
+    }
+
+    @Test
+    public void uploadSnapshotShouldRemoveLegacySnapshotZipLeftByOlderClients() throws Exception {
+        Path dataRoot = Files.createTempDirectory("webdav-sync-upload-migrate");
+        write(dataRoot.resolve("workspaces/default/collections.json"), "{\"ok\":true}");
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(207));
+            server.enqueue(new MockResponse().setResponseCode(207).setBody("<d:multistatus xmlns:d=\"DAV:\"/>"));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(204));
+            server.start();
+            WebDavSyncSettings settings = new WebDavSyncSettings(
+                    true,
+                    server.url("/dav/").toString(),
+                    "EasyPostman",
+                    "",
+                    ""
+            );
+
+            newService(dataRoot).uploadSnapshot(settings);
+
+            server.takeRequest();
+            server.takeRequest();
+            server.takeRequest();
+            String manifestJson = server.takeRequest().getBody().readUtf8();
+            RecordedRequest delete = server.takeRequest();
+            assertEquals(delete.getMethod(), "DELETE");
+            assertEquals(delete.getPath(), "/dav/EasyPostman/snapshot.zip");
+            assertTrue(WebDavSnapshotManifest.fromJson(manifestJson).isIncremental());
+        }
+    }
+
+    @Test
+    public void uploadSnapshotShouldFailWhenLegacySnapshotZipCannotBeRemoved() throws Exception {
+        Path dataRoot = Files.createTempDirectory("webdav-sync-upload-migrate-fail");
+        write(dataRoot.resolve("workspaces/default/collections.json"), "{\"ok\":true}");
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(207));
+            server.enqueue(new MockResponse().setResponseCode(207).setBody("<d:multistatus xmlns:d=\"DAV:\"/>"));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(403));
+            server.start();
+            WebDavSyncSettings settings = new WebDavSyncSettings(
+                    true,
+                    server.url("/dav/").toString(),
+                    "EasyPostman",
+                    "",
+                    ""
+            );
+
+            IOException error = expectThrows(IOException.class, () -> newService(dataRoot).uploadSnapshot(settings));
+            assertTrue(error.getMessage().contains("HTTP 403"));
+        }
+    }
+
+    @Test
+    public void secondUploadShouldRelistObjectsAndReuploadBlobsMissingOnServer() throws Exception {
+        Path dataRoot = Files.createTempDirectory("webdav-sync-upload-wiped");
+        write(dataRoot.resolve("workspaces/default/collections.json"), "{\"ok\":true}");
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(207));
+            server.enqueue(new MockResponse().setResponseCode(207).setBody("<d:multistatus xmlns:d=\"DAV:\"/>"));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(404));
+            // 两次上传之间远端 objects 目录被清空
+            server.enqueue(new MockResponse().setResponseCode(207));
+            server.enqueue(new MockResponse().setResponseCode(207).setBody("<d:multistatus xmlns:d=\"DAV:\"/>"));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(404));
+            server.start();
+            WebDavSyncService service = newService(dataRoot);
+            WebDavSyncSettings settings = new WebDavSyncSettings(
+                    true,
+                    server.url("/dav/").toString(),
+                    "EasyPostman",
+                    "",
+                    ""
+            );
+
+            service.uploadSnapshot(settings);
+            service.uploadSnapshot(settings);
+
+            for (int upload = 0; upload < 2; upload++) {
+                assertEquals(server.takeRequest().getPath(), "/dav/EasyPostman/");
+                assertEquals(server.takeRequest().getPath(), "/dav/EasyPostman/objects/");
+                RecordedRequest blobPut = server.takeRequest();
+                assertEquals(blobPut.getMethod(), "PUT");
+                assertTrue(blobPut.getPath().startsWith("/dav/EasyPostman/objects/"));
+                assertEquals(server.takeRequest().getPath(), "/dav/EasyPostman/manifest.json");
+                assertEquals(server.takeRequest().getMethod(), "DELETE");
+            }
+            assertEquals(server.getRequestCount(), 10);
+        }
+    }
+
+    @Test
+    public void secondUploadShouldSkipBlobsListedOnServer() throws Exception {
+        Path dataRoot = Files.createTempDirectory("webdav-sync-upload-twice");
+        write(dataRoot.resolve("workspaces/default/collections.json"), "{\"ok\":true}");
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(207));
+            server.enqueue(new MockResponse().setResponseCode(207).setBody("<d:multistatus xmlns:d=\"DAV:\"/>"));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(404));
+            server.start();
+            WebDavSyncService service = newService(dataRoot);
+            WebDavSyncSettings settings = new WebDavSyncSettings(
+                    true,
+                    server.url("/dav/").toString(),
+                    "EasyPostman",
+                    "",
+                    ""
+            );
+
+            service.uploadSnapshot(settings);
+            server.takeRequest();
+            server.takeRequest();
+            String blobPath = server.takeRequest().getPath();
+            server.takeRequest();
+            server.takeRequest();
+
+            server.enqueue(new MockResponse().setResponseCode(207));
+            server.enqueue(new MockResponse().setResponseCode(207).setBody(
+                    "<d:multistatus xmlns:d=\"DAV:\"><d:response><d:href>" + blobPath + "</d:href></d:response></d:multistatus>"));
+            server.enqueue(new MockResponse().setResponseCode(201));
+            server.enqueue(new MockResponse().setResponseCode(404));
+            service.uploadSnapshot(settings);
+
+            assertEquals(server.takeRequest().getMethod(), "PROPFIND");
+            assertEquals(server.takeRequest().getPath(), "/dav/EasyPostman/objects/");
+            assertEquals(server.takeRequest().getPath(), "/dav/EasyPostman/manifest.json");
+            assertEquals(server.takeRequest().getMethod(), "DELETE");
+            assertEquals(server.getRequestCount(), 9);
+        }
+    }
+
+    @Test
+    public void restoreSnapshotShouldStreamOnlyChangedFilesFromIncrementalManifest() throws Exception {
+        Path sourceRoot = Files.createTempDirectory("webdav-sync-incremental-source");
+        write(sourceRoot.resolve("workspaces/default/collections.json"), "{\"remote\":true}");
+        write(sourceRoot.resolve("workspaces/default/environments.json"), "[]");
+        Map<String, byte[]> blobs = new HashMap<>();
+        WebDavSnapshotManifest manifest = new WebDavSnapshotService()
+                .createIncrementalSnapshot(sourceRoot, new InMemoryBlobStore(blobs));
+
+        Path targetRoot = Files.createTempDirectory("webdav-sync-incremental-target");
+        write(targetRoot.resolve("workspaces/default/collections.json"), "{\"local\":true}");
+        write(targetRoot.resolve("workspaces/default/environments.json"), "[]");
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(200).setBody(manifest.toJson()));
+            String changedBlob = manifest.files().stream()
+                    .filter(file -> file.path().endsWith("collections.json"))
+                    .findFirst()
+                    .orElseThrow()
+                    .chunks()
+                    .get(0);
+            server.enqueue(new MockResponse().setResponseCode(200).setBody(new okio.Buffer().write(blobs.get(changedBlob))));
+            server.start();
+
+            WebDavRestoreResult result = newService(targetRoot).restoreSnapshot(new WebDavSyncSettings(
+                    true,
+                    server.url("/dav/").toString(),
+                    "EasyPostman",
+                    "",
+                    ""
+            ));
+
+            assertEquals(server.takeRequest().getPath(), "/dav/EasyPostman/manifest.json");
+            assertEquals(server.takeRequest().getPath(), "/dav/EasyPostman/objects/" + changedBlob);
+            assertEquals(server.getRequestCount(), 2);
+            assertTrue(Files.exists(result.backupPath()));
+            assertEquals(Files.readString(targetRoot.resolve("workspaces/default/collections.json")), "{\"remote\":true}");
         }
     }
 
     @Test
-    public void restoreSnapshotShouldDownloadSnapshotAndCreateLocalBackup() throws Exception {
+    public void restoreSnapshotShouldFallBackToLegacySnapshotZip() throws Exception {
         Path sourceRoot = Files.createTempDirectory("webdav-sync-restore-source");
         write(sourceRoot.resolve("workspaces/default/collections.json"), "{\"remote\":true}");
         Path snapshot = Files.createTempFile("webdav-sync-restore", ".zip");
@@ -67,6 +272,7 @@ public class WebDavSyncServiceTest {
         write(targetRoot.resolve("workspaces/default/collections.json"), "{\"local\":true}");
 
         try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(404));
             server.enqueue(new MockResponse()
                     .setResponseCode(200)
                     .setBody(new okio.Buffer().write(Files.readAllBytes(snapshot))));
@@ -81,6 +287,7 @@ public class WebDavSyncServiceTest {
                     ""
             ));
 
+            assertEquals(server.takeRequest().getPath(), "/dav/EasyPostman/manifest.json");
             RecordedRequest request = server.takeRequest();
             assertEquals(request.getMethod(), "GET");
             assertEquals(request.getPath(), "/dav/EasyPostman/snapshot.zip");
@@ -90,6 +297,45 @@ public class WebDavSyncServiceTest {
         }
     }
 
+    @Test
+    public void restoreSnapshotShouldUseSnapshotZipWhenManifestIsLegacyFormat() throws Exception {
+        Path sourceRoot = Files.createTempDirectory("webdav-sync-restore-legacy-source");
+        write(sourceRoot.resolve("workspaces/default/collections.json"), "{\"remote\":true}");
+        Path snapshot = Files.createTempFile("webdav-sync-restore-legacy", ".zip");
+        new WebDavSnapshotService().createSnapshot(sourceRoot, snapshot);
+
+        Path targetRoot = Files.createTempDirectory("webdav-sync-restore-legacy-target");
+        write(targetRoot.resolve("workspaces/default/collections.json"), "{\"local\":true}");
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(200).setBody("""
+                    {
+                        "schemaVersion": 1,
+                        "createdAt": "2026-06-22T08:00:00Z",
+                        "snapshotFile": "snapshot.zip",
+                        "snapshotBytes": 12345
+                    }
+                    """));
+            server.enqueue(new MockResponse()
+                    .setResponseCode(200)
+                    .setBody(new okio.Buffer().write(Files.readAllBytes(snapshot))));
+            server.start();
+
+            newService(targetRoot).restoreSnapshot(new WebDavSyncSettings(
+                    true,
+                    server.url("/dav/").toString(),
+                    "EasyPostman",
+                    "",
+                    ""
+            ));
+
+            assertEquals(server.takeRequest().getPath(), "/dav/EasyPostman/manifest.json");
+            assertEquals(server.takeRequest().getPath(), "/dav/EasyPostman/snapshot.zip");
+            assertTrue(Files.readString(targetRoot.resolve("workspaces/default/collections.json"))
+                    .contains("remote"));
+        }
+    }
+
     @Test
     public void fetchRemoteSnapshotShouldParseManifestWhenPresent() throws Exception {
         Path dataRoot = Files.createTempDirectory("webdav-sync-manifest");
@@ -160,11 +406,20 @@ public class WebDavSyncServiceTest {
         );
     }
 
-    private static boolean isZip(byte[] bytes) {
-        try (ZipInputStream zip = new ZipInputStream(new java.io.ByteArrayInputStream(bytes))) {
-            return zip.getNextEntry() != null;
-        } catch (Exception e) {
-            return false;
+    private record InMemoryBlobStore(Map<String, byte[]> blobs) implements WebDavBlobStore {
+        @Override
+        public Set<String> knownBlobIds() {
+            return blobs.keySet();
+        }
+
+        @Override
+        public void putBlob(String blobId, byte[] content, int length) {
+            blobs.put(blobId, Arrays.copyOf(content, length));
+        }
+
+        @Override
+        public void copyBlob(String blobId, OutputStream target) throws IOException {
+            target.write(blobs.get(blobId));
         }
     }
 
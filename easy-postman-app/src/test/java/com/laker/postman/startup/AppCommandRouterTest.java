@@ -26,12 +26,26 @@ public class AppCommandRouterTest {
         assertTrue(stdout.toString().contains("performance run --plan"));
     }
 
+    @Test
+    public void shouldRouteFunctionalCommandsBeforeSwingStartup() {
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+
+        OptionalInt exitCode = new AppCommandRouter().route(new String[]{"functional", "run", "--help"},
+                new PrintStream(stdout),
+                new PrintStream(new ByteArrayOutputStream()));
+
+        assertTrue(exitCode.isPresent());
+        assertEquals(exitCode.getAsInt(), 0);
+        assertTrue(stdout.toString().contains("functional run (--workspace <dir> | --collection <collections.json>)"));
+    }
+
     @DataProvider
     public Object[][] performanceHelpCommands() {
         return new Object[][]{
                 {new String[]{"performance", "run", "--help"}},
                 {new String[]{"performance", "worker", "--help"}},
-                {new String[]{"performance", "master", "run", "--help"}}
+                {new String[]{"performance", "master", "run", "--help"}},
+                {new String[]{"functional", "run", "--help"}}
         };
     }
 
@@ -0,0 +1,385 @@
+package com.laker.postman.collection;
+
+import com.laker.postman.collection.model.CollectionDocument;
+import com.laker.postman.collection.model.CollectionNode;
+import com.laker.postman.collection.model.CollectionRequestContext;
+import com.laker.postman.collection.model.InheritedGroupSettings;
+import com.laker.postman.collection.model.RequestGroup;
+import com.laker.postman.request.model.HttpRequestItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * CollectionDocument 的查找索引：请求 ID 到节点和分组链、请求 ID 与路径互查，
+ * 并为每个分组预先合并好可继承的认证、请求头、脚本和变量。
+ * <p>
+ * 整树只在首次查询时遍历一次，之后分组下的增删、移动和替换通过本类的方法增量维护；
+ * 根节点列表随文档不可变，根级别的变化需要重新创建文档。
+ * 查询和修改在同一把锁内执行，可以在后台线程查询。
+ * </p>
+ * <p>
+ * 请求 ID 或路径重复时以遍历顺序中的第一个为准，与逐层遍历查找的结果一致；
+ * 重复的节点都会登记，删除第一个后由剩下的节点中遍历顺序最靠前的接替。
+ * </p>
+ */
+public final class CollectionIndex {
+
+    private static final String PATH_SEPARATOR = "/";
+    private static final GroupScope ROOT_SCOPE = new GroupScope("", InheritedGroupSettings.EMPTY);
+
+    private final List<CollectionNode> roots;
+    /**
+     * 请求 ID -> 带该 ID 的请求节点，通常只有一个
+     */
+    private final Map<String, List<CollectionNode>> requestNodes = new HashMap<>();
+    /**
+     * 路径 -> 该路径上的请求节点，通常只有一个
+     */
+    private final Map<String, List<CollectionNode>> pathNodes = new HashMap<>();
+    /**
+     * 请求节点 -> 索引时的请求 ID 和路径
+     */
+    private final Map<CollectionNode, IndexedRequest> indexedRequests = new IdentityHashMap<>();
+    private final Map<CollectionNode, CollectionNode> parents = new IdentityHashMap<>();
+    private final Map<CollectionNode, GroupScope> groupScopes = new IdentityHashMap<>();
+    /**
+     * 按遍历顺序排列的全部请求，结构变化后置空、下次使用时重建
+     */
+    private List<HttpRequestItem> requests;
+
+    private record GroupScope(String path, InheritedGroupSettings settings) {
+    }
+
+    private record IndexedRequest(String id, String path) {
+    }
+
+    private CollectionIndex(List<CollectionNode> roots) {
+        this.roots = roots;
+        for (CollectionNode root : roots) {
+            indexNode(root, null);
+        }
+    }
+
+    public static CollectionIndex of(CollectionDocument document) {
+        return new CollectionIndex(document == null ? List.of() : document.getRoots());
+    }
+
+    public synchronized Optional<CollectionRequestContext> findRequestContext(String requestId) {
+        CollectionNode node = requestNode(requestId);
+        if (node == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new CollectionRequestContext(node.getRequest(), scopeOf(parents.get(node)).settings()));
+    }
+
+    public synchronized Optional<CollectionNode> findRequestNode(String requestId) {
+        return Optional.ofNullable(requestNode(requestId));
+    }
+
+    /**
+     * 按分组名和请求名组成的路径查找请求 ID，如 "Orders/Admin/Get Order"
+     */
+    public synchronized Optional<String> findRequestIdByPath(String path) {
+        CollectionNode node = path == null ? null : firstInTraversalOrder(pathNodes.get(path));
+        return Optional.ofNullable(node == null ? null : indexedRequests.get(node).id());
+    }
+
+    public synchronized Optional<String> findPath(String requestId) {
+        CollectionNode node = requestNode(requestId);
+        return Optional.ofNullable(node == null ? null : indexedRequests.get(node).path());
+    }
+
+    /**
+     * 分组及其所有上级分组合并后的可继承配置；未索引的节点返回 empty
+     */
+    public synchronized Optional<InheritedGroupSettings> findGroupSettings(CollectionNode groupNode) {
+        GroupScope scope = groupNode == null ? null : groupScopes.get(groupNode);
+        return Optional.ofNullable(scope == null ? null : scope.settings());
+    }
+
+    public synchronized List<HttpRequestItem> requests() {
+        if (requests == null) {
+            List<HttpRequestItem> collected = new ArrayList<>();
+            for (CollectionNode root : roots) {
+                collectRequests(root, collected);
+            }
+            requests = Collections.unmodifiableList(collected);
+        }
+        return requests;
+    }
+
+    public synchronized boolean contains(CollectionNode node) {
+        return node != null && parents.containsKey(node);
+    }
+
+    /**
+     * 把节点追加到分组末尾
+     *
+     * @return parent 不是已索引的分组时返回 false，文档不变
+     */
+    public boolean add(CollectionNode parent, CollectionNode child) {
+        return add(parent, Integer.MAX_VALUE, child);
+    }
+
+    /**
+     * 把节点插入到分组的指定位置，超出范围时追加到末尾
+     *
+     * @return parent 不是已索引的分组时返回 false，文档不变
+     */
+    public synchronized boolean add(CollectionNode parent, int position, CollectionNode child) {
+        if (child == null || !groupScopes.containsKey(parent)) {
+            return false;
+        }
+        List<CollectionNode> children = parent.getChildren();
+        children.add(Math.max(0, Math.min(position, children.size())), child);
+        indexNode(child, parent);
+        requests = null;
+        return true;
+    }
+
+    /**
+     * 从所在分组中删除节点及其子树
+     *
+     * @return 节点未索引或是根节点时返回 false，文档不变
+     */
+    public synchronized boolean remove(CollectionNode node) {
+        CollectionNode parent = parents.get(node);
+        if (parent == null) {
+            return false;
+        }
+        parent.getChildren().remove(indexOfChild(parent, node));
+        unindexNode(node);
+        requests = null;
+        return true;
+    }
+
+    /**
+     * 把节点移动到另一个分组的指定位置，子树的分组链和路径随之更新
+     *
+     * @return 节点不能删除或目标不是已索引的分组时返回 false，文档不变
+     */
+    public synchronized boolean move(CollectionNode node, CollectionNode newParent, int position) {
+        if (!groupScopes.containsKey(newParent) || parents.get(node) == null || isSelfOrAncestor(node, newParent)) {
+            return false;
+        }
+        remove(node);
+        return add(newParent, position, node);
+    }
+
+    /**
+     * 用新节点替换原位置上的节点，如请求保存后换成了新的请求对象
+     *
+     * @return 原节点未索引或是根节点时返回 false，文档不变
+     */
+    public synchronized boolean replace(CollectionNode oldNode, CollectionNode newNode) {
+        CollectionNode parent = parents.get(oldNode);
+        if (parent == null || newNode == null) {
+            return false;
+        }
+        parent.getChildren().set(indexOfChild(parent, oldNode), newNode);
+        unindexNode(oldNode);
+        indexNode(newNode, parent);
+        requests = null;
+        return true;
+    }
+
+    /**
+     * 整体替换分组的子节点，并按分组当前的名称和配置重新计算其继承配置；
+     * 分组本身被修改（改名、改请求头等）后也用它刷新
+     *
+     * @return 分组未索引时返回 false，文档不变
+     */
+    public synchronized boolean replaceChildren(CollectionNode groupNode, List<CollectionNode> children) {
+        if (!groupScopes.containsKey(groupNode)) {
+            return false;
+        }
+        CollectionNode parent = parents.get(groupNode);
+        List<CollectionNode> newChildren = new ArrayList<>(children);
+        for (CollectionNode child : groupNode.getChildren()) {
+            unindexNode(child);
+        }
+        groupNode.getChildren().clear();
+        groupNode.getChildren().addAll(newChildren);
+        groupScopes.put(groupNode, childScope(scopeOf(parent), groupNode.getGroup()));
+        for (CollectionNode child : newChildren) {
+            indexNode(child, groupNode);
+        }
+        requests = null;
+        return true;
+    }
+
+    private void indexNode(CollectionNode node, CollectionNode parent) {
+        if (node == null) {
+            return;
+        }
+        parents.put(node, parent);
+        GroupScope parentScope = scopeOf(parent);
+        if (node.isRequest()) {
+            HttpRequestItem request = node.getRequest();
+            if (request != null && request.getId() != null) {
+                String path = childPath(parentScope.path(), request.getName());
+                indexedRequests.put(node, new IndexedRequest(request.getId(), path));
+                requestNodes.computeIfAbsent(request.getId(), k -> new ArrayList<>(1)).add(node);
+                pathNodes.computeIfAbsent(path, k -> new ArrayList<>(1)).add(node);
+            }
+            return;
+        }
+
+        groupScopes.put(node, childScope(parentScope, node.getGroup()));
+        for (CollectionNode child : node.getChildren()) {
+            indexNode(child, node);
+        }
+    }
+
+    private void unindexNode(CollectionNode node) {
+        if (node == null) {
+            return;
+        }
+        parents.remove(node);
+        if (node.isRequest()) {
+            IndexedRequest indexed = indexedRequests.remove(node);
+            if (indexed != null) {
+                removeNode(requestNodes, indexed.id(), node);
+                removeNode(pathNodes, indexed.path(), node);
+            }
+            return;
+        }
+
+        groupScopes.remove(node);
+        for (CollectionNode child : node.getChildren()) {
+            unindexNode(child);
+        }
+    }
+
+    private CollectionNode requestNode(String requestId) {
+        return requestId == null ? null : firstInTraversalOrder(requestNodes.get(requestId));
+    }
+
+    private static void removeNode(Map<String, List<CollectionNode>> nodesByKey, String key, CollectionNode node) {
+        List<CollectionNode> nodes = nodesByKey.get(key);
+        if (nodes == null) {
+            return;
+        }
+        nodes.removeIf(candidate -> candidate == node);
+        if (nodes.isEmpty()) {
+            nodesByKey.remove(key);
+        }
+    }
+
+    /**
+     * 重复的节点按当前在树中的位置比较，增删移动之后也与逐层遍历查找的结果一致
+     */
+    private CollectionNode firstInTraversalOrder(List<CollectionNode> nodes) {
+        if (nodes == null || nodes.isEmpty()) {
+            return null;
+        }
+        CollectionNode first = nodes.get(0);
+        if (nodes.size() == 1) {
+            return first;
+        }
+        List<Integer> firstPosition = traversalPosition(first);
+        for (int i = 1; i < nodes.size(); i++) {
+            List<Integer> position = traversalPosition(nodes.get(i));
+            if (comparePositions(position, firstPosition) < 0) {
+                first = nodes.get(i);
+                firstPosition = position;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * 从根节点到该节点每一层的下标
+     */
+    private List<Integer> traversalPosition(CollectionNode node) {
+        List<Integer> position = new ArrayList<>();
+        CollectionNode current = node;
+        for (CollectionNode parent = parents.get(current); parent != null; parent = parents.get(current)) {
+            position.add(indexOfChild(parent, current));
+            current = parent;
+        }
+        position.add(indexOfRoot(current));
+        Collections.reverse(position);
+        return position;
+    }
+
+    private int indexOfRoot(CollectionNode root) {
+        for (int i = 0; i < roots.size(); i++) {
+            if (roots.get(i) == root) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Indexed node is missing from the document roots");
+    }
+
+    private static int comparePositions(List<Integer> a, List<Integer> b) {
+        for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+            int compared = Integer.compare(a.get(i), b.get(i));
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return Integer.compare(a.size(), b.size());
+    }
+
+    private GroupScope scopeOf(CollectionNode groupNode) {
+        GroupScope scope = groupNode == null ? null : groupScopes.get(groupNode);
+        return scope == null ? ROOT_SCOPE : scope;
+    }
+
+    private static GroupScope childScope(GroupScope parentScope, RequestGroup group) {
+        return new GroupScope(
+                childPath(parentScope.path(), group == null ? null : group.getName()),
+                CollectionInheritance.extend(parentScope.settings(), group)
+        );
+    }
+
+    private static String childPath(String parentPath, String name) {
+        String safeName = name == null ? "" : name;
+        return parentPath.isEmpty() ? safeName : parentPath + PATH_SEPARATOR + safeName;
+    }
+
+    private boolean isSelfOrAncestor(CollectionNode node, CollectionNode target) {
+        for (CollectionNode current = target; current != null; current = parents.get(current)) {
+            if (current == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按引用查找子节点位置；CollectionNode 的 equals 比较的是内容
+     */
+    private static int indexOfChild(CollectionNode parent, CollectionNode child) {
+        List<CollectionNode> children = parent.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i) == child) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Indexed node is missing from its parent");
+    }
+
+    private static void collectRequests(CollectionNode node, List<HttpRequestItem> requests) {
+        if (node == null) {
+            return;
+        }
+        if (node.isRequest()) {
+            HttpRequestItem request = node.getRequest();
+            if (request != null) {
+                requests.add(request);
+            }
+            return;
+        }
+        for (CollectionNode child : node.getChildren()) {
+            collectRequests(child, requests);
+        }
+    }
+}
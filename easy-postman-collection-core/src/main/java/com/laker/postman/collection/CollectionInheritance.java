@@ -1,5 +1,7 @@
 package com.laker.postman.collection;
 
+import com.laker.postman.collection.model.InheritedGroupSettings;
+import com.laker.postman.collection.model.InheritedGroupSettings.ScriptSection;
 import com.laker.postman.collection.model.RequestGroup;
 import com.laker.postman.model.Variable;
 import com.laker.postman.request.model.AuthType;
@@ -22,36 +24,93 @@ public class CollectionInheritance {
         if (item == null || groupChain == null || groupChain.isEmpty()) {
             return item;
         }
+        return apply(item, resolve(groupChain));
+    }
+
+    /**
+     * 使用预先合并好的分组配置应用继承，同一分组下的请求不必重复遍历分组链
+     */
+    public static HttpRequestItem apply(HttpRequestItem item, InheritedGroupSettings settings) {
+        if (item == null || settings == null || settings.groupChain().isEmpty()) {
+            return item;
+        }
 
         HttpRequestItem mergedItem = JsonUtil.deepCopy(item, HttpRequestItem.class);
         if (mergedItem == null) {
             return item;
         }
 
-        applyAuthInheritance(mergedItem, groupChain);
-        mergedItem.setPrescript(mergePreScripts(groupChain, item.getPrescript()));
-        mergedItem.setPostscript(mergePostScripts(item.getPostscript(), groupChain));
-        mergedItem.setHeadersList(mergeHeaders(collectGroupHeaders(groupChain), safeList(item.getHeadersList())));
+        applyAuthInheritance(mergedItem, settings.authGroup());
+        mergedItem.setPrescript(mergePreScripts(settings, item.getPrescript()));
+        mergedItem.setPostscript(mergePostScripts(item.getPostscript(), settings));
+        mergedItem.setHeadersList(mergeHeaders(settings.headers(), safeList(item.getHeadersList())));
         return mergedItem;
     }
 
+    /**
+     * 合并整条分组链的可继承配置
+     */
+    public static InheritedGroupSettings resolve(List<RequestGroup> groupChain) {
+        InheritedGroupSettings settings = InheritedGroupSettings.EMPTY;
+        if (groupChain != null) {
+            for (RequestGroup group : groupChain) {
+                settings = extend(settings, group);
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * 在父分组链的配置上叠加一个子分组
+     */
+    public static InheritedGroupSettings extend(InheritedGroupSettings parent, RequestGroup group) {
+        if (group == null) {
+            return parent;
+        }
+
+        List<RequestGroup> groupChain = new ArrayList<>(parent.groupChain());
+        groupChain.add(group);
+
+        RequestGroup authGroup = parent.authGroup();
+        String groupAuthType = group.getAuthType();
+        if (groupAuthType != null && !AuthType.INHERIT.getConstant().equals(groupAuthType)) {
+            authGroup = group;
+        }
+
+        List<HttpHeader> headers = parent.headers();
+        if (group.getHeaders() != null && !group.getHeaders().isEmpty()) {
+            headers = new ArrayList<>(parent.headers());
+            headers.addAll(group.getHeaders());
+        }
+
+        List<ScriptSection> preScripts = parent.preScripts();
+        if (hasText(group.getPrescript())) {
+            preScripts = new ArrayList<>(parent.preScripts());
+            preScripts.add(new ScriptSection(group.getName() + " PreScript", group.getPrescript()));
+        }
+
+        List<ScriptSection> postScripts = parent.postScripts();
+        if (hasText(group.getPostscript())) {
+            postScripts = new ArrayList<>();
+            postScripts.add(new ScriptSection(group.getName() + " PostScript", group.getPostscript()));
+            postScripts.addAll(parent.postScripts());
+        }
+
+        List<Variable> variables = parent.variables();
+        if (group.getVariables() != null && !group.getVariables().isEmpty()) {
+            Map<String, Variable> mergedMap = new LinkedHashMap<>();
+            putVariables(mergedMap, parent.variables());
+            putVariables(mergedMap, group.getVariables());
+            variables = new ArrayList<>(mergedMap.values());
+        }
+        return new InheritedGroupSettings(groupChain, authGroup, headers, preScripts, postScripts, variables);
+    }
+
     public static List<Variable> mergeGroupVariables(List<RequestGroup> groupChain) {
         if (groupChain == null || groupChain.isEmpty()) {
             return new ArrayList<>();
         }
-
-        Map<String, Variable> mergedMap = new LinkedHashMap<>();
-        for (RequestGroup group : groupChain) {
-            if (group == null || group.getVariables() == null) {
-                continue;
-            }
-            for (Variable variable : group.getVariables()) {
-                if (variable != null && variable.getKey() != null && !variable.getKey().trim().isEmpty()) {
-                    mergedMap.put(variable.getKey(), variable);
-                }
-            }
-        }
-        return new ArrayList<>(mergedMap.values());
+        return new ArrayList<>(resolve(groupChain).variables());
     }
 
     public static List<HttpHeader> mergeHeaders(List<HttpHeader> groupHeaders, List<HttpHeader> requestHeaders) {
@@ -78,64 +137,43 @@ public class CollectionInheritance {
         return new ArrayList<>(mergedMap.values());
     }
 
-    private static void applyAuthInheritance(HttpRequestItem item, List<RequestGroup> groupChain) {
-        if (!AuthType.INHERIT.getConstant().equals(item.getAuthType())) {
+    private static void applyAuthInheritance(HttpRequestItem item, RequestGroup group) {
+        if (!AuthType.INHERIT.getConstant().equals(item.getAuthType()) || group == null) {
             return;
         }
 
-        for (int i = groupChain.size() - 1; i >= 0; i--) {
-            RequestGroup group = groupChain.get(i);
-            if (group == null) {
-                continue;
-            }
-            String groupAuthType = group.getAuthType();
-            if (groupAuthType == null || AuthType.INHERIT.getConstant().equals(groupAuthType)) {
-                continue;
-            }
-            if (AuthType.NONE.getConstant().equals(groupAuthType)) {
-                item.setAuthType(AuthType.NONE.getConstant());
-                return;
-            }
-            item.setAuthType(group.getAuthType());
-            item.setAuthUsername(group.getAuthUsername());
-            item.setAuthPassword(group.getAuthPassword());
-            item.setAuthToken(group.getAuthToken());
-            item.setAuthApiKeyName(group.getAuthApiKeyName());
-            item.setAuthApiKeyValue(group.getAuthApiKeyValue());
-            item.setAuthApiKeyPlacement(group.getAuthApiKeyPlacement());
+        if (AuthType.NONE.getConstant().equals(group.getAuthType())) {
+            item.setAuthType(AuthType.NONE.getConstant());
             return;
         }
+        item.setAuthType(group.getAuthType());
+        item.setAuthUsername(group.getAuthUsername());
+        item.setAuthPassword(group.getAuthPassword());
+        item.setAuthToken(group.getAuthToken());
+        item.setAuthApiKeyName(group.getAuthApiKeyName());
+        item.setAuthApiKeyValue(group.getAuthApiKeyValue());
+        item.setAuthApiKeyPlacement(group.getAuthApiKeyPlacement());
     }
 
-    private static String mergePreScripts(List<RequestGroup> groupChain, String requestScript) {
-        List<ScriptPart> scripts = new ArrayList<>();
-        for (RequestGroup group : groupChain) {
-            if (group != null && hasText(group.getPrescript())) {
-                scripts.add(new ScriptPart(group.getName() + " PreScript", group.getPrescript()));
-            }
-        }
+    private static String mergePreScripts(InheritedGroupSettings settings, String requestScript) {
+        List<ScriptSection> scripts = new ArrayList<>(settings.preScripts());
         if (hasText(requestScript)) {
-            scripts.add(new ScriptPart("请求级脚本", requestScript));
+            scripts.add(new ScriptSection("请求级脚本", requestScript));
         }
         return mergeScripts(scripts);
     }
 
-    private static String mergePostScripts(String requestScript, List<RequestGroup> groupChain) {
-        List<ScriptPart> scripts = new ArrayList<>();
+    private static String mergePostScripts(String requestScript, InheritedGroupSettings settings) {
+        List<ScriptSection> scripts = new ArrayList<>();
         if (hasText(requestScript)) {
-            scripts.add(new ScriptPart("请求级脚本", requestScript));
-        }
-        for (int i = groupChain.size() - 1; i >= 0; i--) {
-            RequestGroup group = groupChain.get(i);
-            if (group != null && hasText(group.getPostscript())) {
-                scripts.add(new ScriptPart(group.getName() + " PostScript", group.getPostscript()));
-            }
+            scripts.add(new ScriptSection("请求级脚本", requestScript));
         }
+        scripts.addAll(settings.postScripts());
         return mergeScripts(scripts);
     }
 
-    private static String mergeScripts(List<ScriptPart> scripts) {
-        List<ScriptPart> validScripts = scripts.stream()
+    private static String mergeScripts(List<ScriptSection> scripts) {
+        List<ScriptSection> validScripts = scripts.stream()
                 .filter(script -> script != null && hasText(script.content()))
                 .toList();
         if (validScripts.isEmpty()) {
@@ -147,7 +185,7 @@ public class CollectionInheritance {
 
         StringBuilder merged = new StringBuilder();
         for (int i = 0; i < validScripts.size(); i++) {
-            ScriptPart script = validScripts.get(i);
+            ScriptSection script = validScripts.get(i);
             if (hasText(script.source())) {
                 merged.append(String.format(SECTION_COMMENT_TEMPLATE, script.source()));
             }
@@ -159,14 +197,12 @@ public class CollectionInheritance {
         return merged.toString();
     }
 
-    private static List<HttpHeader> collectGroupHeaders(List<RequestGroup> groupChain) {
-        List<HttpHeader> headers = new ArrayList<>();
-        for (RequestGroup group : groupChain) {
-            if (group != null && group.getHeaders() != null && !group.getHeaders().isEmpty()) {
-                headers.addAll(group.getHeaders());
+    private static void putVariables(Map<String, Variable> mergedMap, List<Variable> variables) {
+        for (Variable variable : variables) {
+            if (variable != null && variable.getKey() != null && !variable.getKey().trim().isEmpty()) {
+                mergedMap.put(variable.getKey(), variable);
             }
         }
-        return headers;
     }
 
     private static void putHeaderIfValid(Map<String, HttpHeader> mergedMap, HttpHeader header) {
@@ -182,7 +218,4 @@ public class CollectionInheritance {
     private static boolean hasText(String text) {
         return text != null && !text.trim().isEmpty();
     }
-
-    private record ScriptPart(String source, String content) {
-    }
 }
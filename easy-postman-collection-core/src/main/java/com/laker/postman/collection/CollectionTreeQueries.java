@@ -1,9 +1,7 @@
 package com.laker.postman.collection;
 
 import com.laker.postman.collection.model.CollectionDocument;
-import com.laker.postman.collection.model.CollectionNode;
 import com.laker.postman.collection.model.CollectionRequestContext;
-import com.laker.postman.collection.model.RequestGroup;
 import com.laker.postman.request.model.HttpRequestItem;
 import lombok.experimental.UtilityClass;
 
@@ -19,13 +17,7 @@ public class CollectionTreeQueries {
         if (document == null || requestId == null || requestId.isBlank()) {
             return Optional.empty();
         }
-        for (CollectionNode root : document.getRoots()) {
-            Optional<CollectionRequestContext> found = findRequestContextById(root, requestId, new ArrayList<>());
-            if (found.isPresent()) {
-                return found;
-            }
-        }
-        return Optional.empty();
+        return document.index().findRequestContext(requestId);
     }
 
     public static Optional<HttpRequestItem> findRequestById(CollectionDocument document, String requestId) {
@@ -33,59 +25,19 @@ public class CollectionTreeQueries {
                 .map(CollectionRequestContext::getRequest);
     }
 
-    public static List<HttpRequestItem> collectRequests(CollectionDocument document) {
-        List<HttpRequestItem> requests = new ArrayList<>();
-        if (document == null) {
-            return requests;
-        }
-        for (CollectionNode root : document.getRoots()) {
-            collectRequests(root, requests);
-        }
-        return requests;
-    }
-
-    private static Optional<CollectionRequestContext> findRequestContextById(CollectionNode node,
-                                                                             String requestId,
-                                                                             List<RequestGroup> groupChain) {
-        if (node == null) {
-            return Optional.empty();
-        }
-        if (node.isRequest()) {
-            HttpRequestItem request = node.getRequest();
-            if (request != null && requestId.equals(request.getId())) {
-                return Optional.of(new CollectionRequestContext(request, groupChain));
-            }
+    public static Optional<CollectionRequestContext> findRequestContextByPath(CollectionDocument document,
+                                                                              String path) {
+        if (document == null || path == null || path.isBlank()) {
             return Optional.empty();
         }
-
-        List<RequestGroup> childGroupChain = groupChain;
-        RequestGroup group = node.getGroup();
-        if (group != null) {
-            childGroupChain = new ArrayList<>(groupChain);
-            childGroupChain.add(group);
-        }
-        for (CollectionNode child : node.getChildren()) {
-            Optional<CollectionRequestContext> found = findRequestContextById(child, requestId, childGroupChain);
-            if (found.isPresent()) {
-                return found;
-            }
-        }
-        return Optional.empty();
+        CollectionIndex index = document.index();
+        return index.findRequestIdByPath(path).flatMap(index::findRequestContext);
     }
 
-    private static void collectRequests(CollectionNode node, List<HttpRequestItem> requests) {
-        if (node == null) {
-            return;
-        }
-        if (node.isRequest()) {
-            HttpRequestItem request = node.getRequest();
-            if (request != null) {
-                requests.add(request);
-            }
-            return;
-        }
-        for (CollectionNode child : node.getChildren()) {
-            collectRequests(child, requests);
+    public static List<HttpRequestItem> collectRequests(CollectionDocument document) {
+        if (document == null) {
+            return new ArrayList<>();
         }
+        return new ArrayList<>(document.index().requests());
     }
 }
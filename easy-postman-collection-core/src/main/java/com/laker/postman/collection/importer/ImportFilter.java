@@ -0,0 +1,110 @@
+package com.laker.postman.collection.importer;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 导入时的请求过滤条件，每一项为空表示不限制
+ *
+ * @param domains   域名，同时匹配其子域名，不区分大小写
+ * @param methods   HTTP 方法，不区分大小写
+ * @param mimeTypes 响应 MIME 类型前缀（如 application/json、image/），只对记录了响应信息的抓包格式生效
+ */
+public record ImportFilter(Set<String> domains, Set<String> methods, Set<String> mimeTypes) {
+
+    private static final ImportFilter ALL = new ImportFilter(Set.of(), Set.of(), Set.of());
+
+    public ImportFilter {
+        domains = normalize(domains);
+        methods = normalize(methods);
+        mimeTypes = normalize(mimeTypes);
+    }
+
+    /**
+     * 不过滤任何请求
+     */
+    public static ImportFilter all() {
+        return ALL;
+    }
+
+    public boolean isAll() {
+        return domains.isEmpty() && methods.isEmpty() && mimeTypes.isEmpty();
+    }
+
+    public boolean hasMimeTypeFilter() {
+        return !mimeTypes.isEmpty();
+    }
+
+    /**
+     * 判断请求的方法和域名是否满足条件；设置了域名条件时，无法解析出 host 的 URL（如含变量）不匹配
+     */
+    public boolean acceptsRequest(String method, String url) {
+        if (!methods.isEmpty() && (method == null || !methods.contains(method.toLowerCase(Locale.ROOT)))) {
+            return false;
+        }
+        if (domains.isEmpty()) {
+            return true;
+        }
+        String host = hostOf(url);
+        if (host == null) {
+            return false;
+        }
+        for (String domain : domains) {
+            if (host.equals(domain) || host.endsWith("." + domain)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断响应的 MIME 类型是否满足条件，忽略 charset 等参数
+     */
+    public boolean acceptsMimeType(String mimeType) {
+        if (mimeTypes.isEmpty()) {
+            return true;
+        }
+        if (mimeType == null) {
+            return false;
+        }
+        String normalized = mimeType.toLowerCase(Locale.ROOT);
+        int separator = normalized.indexOf(';');
+        if (separator >= 0) {
+            normalized = normalized.substring(0, separator);
+        }
+        normalized = normalized.trim();
+        for (String prefix : mimeTypes) {
+            if (normalized.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String hostOf(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return host == null ? null : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Set<String> normalize(Set<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                normalized.add(value.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return Set.copyOf(normalized);
+    }
+}
@@ -0,0 +1,18 @@
+package com.laker.postman.collection.importer;
+
+/**
+ * 流式导入进度回调，在解析线程上调用
+ */
+@FunctionalInterface
+public interface ImportProgressListener {
+
+    ImportProgressListener NONE = (readSize, totalSize, requestCount) -> {
+    };
+
+    /**
+     * @param readSize     已读取的大小（文件为字节数，字符串为字符数）
+     * @param totalSize    总大小
+     * @param requestCount 已导入的请求数
+     */
+    void onProgress(long readSize, long totalSize, int requestCount);
+}
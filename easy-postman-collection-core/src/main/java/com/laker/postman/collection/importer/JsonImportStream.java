@@ -0,0 +1,182 @@
+package com.laker.postman.collection.importer;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONNull;
+import cn.hutool.json.JSONObject;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.TokenStreamLocation;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 基于 Jackson token 流的导入读取器。
+ * <p>
+ * 大文件导入时按条目把需要的子树读成 hutool JSON，交给原有的转换逻辑；
+ * 不需要的部分（如抓包记录里的响应体）只跳过，不解码字符串、不建对象。
+ * </p>
+ */
+public final class JsonImportStream implements Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * 两次进度回调之间至少读取的大小
+     */
+    private static final long PROGRESS_STEP = 1024 * 1024;
+
+    private final JsonParser parser;
+    private final long totalSize;
+    private final ImportProgressListener listener;
+    private long lastReportedSize;
+
+    private JsonImportStream(JsonParser parser, long totalSize, ImportProgressListener listener) {
+        this.parser = parser;
+        this.totalSize = totalSize;
+        this.listener = listener == null ? ImportProgressListener.NONE : listener;
+    }
+
+    public static JsonImportStream open(Path file, ImportProgressListener listener) throws IOException {
+        long size = Files.size(file);
+        BufferedInputStream input = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        return new JsonImportStream(JSON_FACTORY.createParser(input), size, listener);
+    }
+
+    public static JsonImportStream of(String json, ImportProgressListener listener) {
+        return new JsonImportStream(JSON_FACTORY.createParser(json), json.length(), listener);
+    }
+
+    public JsonToken nextToken() {
+        return parser.nextToken();
+    }
+
+    public JsonToken currentToken() {
+        return parser.currentToken();
+    }
+
+    /**
+     * 读取当前对象的下一个字段名并前进到字段值；对象结束时返回 null
+     */
+    public String nextProperty() {
+        String name = parser.nextName();
+        if (name != null) {
+            parser.nextToken();
+        }
+        return name;
+    }
+
+    /**
+     * 跳过当前值；对象和数组整体跳过，字符串内容不会被解码
+     */
+    public void skipValue() {
+        parser.skipChildren();
+    }
+
+    /**
+     * 把当前值读成 hutool 的 JSON 值，与 JSONUtil.parse 的结果一致：
+     * 小数为 BigDecimal，对象中的 null 为 JSONNull，数组中的 null 被忽略
+     */
+    public Object readValue() {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            return null;
+        }
+        return switch (token) {
+            case START_OBJECT -> readObjectBody();
+            case START_ARRAY -> readArrayBody();
+            case VALUE_STRING -> parser.getString();
+            case VALUE_NUMBER_INT -> parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    /**
+     * 当前值为对象时读取它，否则跳过并返回 null
+     */
+    public JSONObject readObject() {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            skipValue();
+            return null;
+        }
+        return readObjectBody();
+    }
+
+    /**
+     * 当前值为标量时返回其文本，否则跳过并返回 null
+     */
+    public String readString() {
+        JsonToken token = parser.currentToken();
+        if (token == null || !token.isScalarValue() || token == JsonToken.VALUE_NULL) {
+            skipValue();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    public boolean isStartObject() {
+        return parser.currentToken() == JsonToken.START_OBJECT;
+    }
+
+    public boolean isStartArray() {
+        return parser.currentToken() == JsonToken.START_ARRAY;
+    }
+
+    /**
+     * 按读取进度节流回调
+     */
+    public void reportProgress(int requestCount) {
+        long readSize = readSize();
+        if (readSize - lastReportedSize >= PROGRESS_STEP) {
+            lastReportedSize = readSize;
+            listener.onProgress(readSize, totalSize, requestCount);
+        }
+    }
+
+    /**
+     * 读取结束时回调一次最终进度
+     */
+    public void reportDone(int requestCount) {
+        listener.onProgress(totalSize, totalSize, requestCount);
+    }
+
+    private long readSize() {
+        TokenStreamLocation location = parser.currentLocation();
+        long byteOffset = location.getByteOffset();
+        return byteOffset >= 0 ? byteOffset : location.getCharOffset();
+    }
+
+    private JSONObject readObjectBody() {
+        JSONObject object = new JSONObject();
+        String name;
+        while ((name = nextProperty()) != null) {
+            Object value = readValue();
+            object.set(name, value == null ? JSONNull.NULL : value);
+        }
+        return object;
+    }
+
+    private JSONArray readArrayBody() {
+        JSONArray array = new JSONArray();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            Object value = readValue();
+            if (value != null) {
+                array.add(value);
+            }
+        }
+        return array;
+    }
+
+    @Override
+    public void close() {
+        parser.close();
+    }
+}
@@ -1,6 +1,9 @@
 package com.laker.postman.collection.importer.postman;
 
 import com.laker.postman.collection.importer.AuthParserUtil;
+import com.laker.postman.collection.importer.ImportFilter;
+import com.laker.postman.collection.importer.ImportProgressListener;
+import com.laker.postman.collection.importer.JsonImportStream;
 import com.laker.postman.collection.model.CollectionNode;
 import com.laker.postman.collection.model.CollectionNodeType;
 import com.laker.postman.collection.model.CollectionParseResult;
@@ -15,10 +18,11 @@ import com.laker.postman.request.model.HttpRequestItem;
 
 import cn.hutool.json.JSONArray;
 import cn.hutool.json.JSONObject;
-import cn.hutool.json.JSONUtil;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JsonToken;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -57,114 +61,217 @@ public class PostmanCollectionParser {
      * @return 解析结果，如果解析失败返回 null
      */
     public static CollectionParseResult parsePostmanCollection(String json) {
-        try {
-            JSONObject postmanRoot = JSONUtil.parseObj(json);
-            if (postmanRoot.containsKey("info") && postmanRoot.containsKey("item")) {
-                // 解析 collection 名称和描述
-                JSONObject info = postmanRoot.getJSONObject("info");
-                String collectionName = info.getStr("name", "Postman");
-                RequestGroup collectionGroup = new RequestGroup(collectionName);
-
-                // 解析集合描述
-                String description = extractDescription(info.get("description"));
-                if (description != null && !description.isEmpty()) {
-                    collectionGroup.setDescription(description);
-                }
-
-                // 解析集合级别的认证
-                if (postmanRoot.containsKey("auth")) {
-                    AuthParserUtil.parsePostmanAuthToGroup(postmanRoot.getJSONObject("auth"), collectionGroup);
-                }
-
-                // 解析集合级别的脚本
-                if (postmanRoot.containsKey(KEY_EVENT)) {
-                    parseEventsToGroup(postmanRoot.getJSONArray(KEY_EVENT), collectionGroup);
-                }
-
-                // 解析集合级别的变量
-                if (postmanRoot.containsKey("variable")) {
-                    collectionGroup.setVariables(parseVariables(postmanRoot.getJSONArray("variable")));
-                }
-
-                JSONArray items = postmanRoot.getJSONArray("item");
-                CollectionParseResult result = new CollectionParseResult(collectionGroup);
-
-                // 递归解析树结构
-                List<CollectionNode> children = parsePostmanItems(items);
-                for (CollectionNode child : children) {
-                    result.addChild(child);
-                }
-                return result;
-            }
+        try (JsonImportStream stream = JsonImportStream.of(json, ImportProgressListener.NONE)) {
+            return parsePostmanCollection(stream, ImportFilter.all());
         } catch (Exception e) {
             // 返回 null 表示解析失败
             log.error("解析Postman Collection失败", e);
             return null;
         }
-        return null;
     }
 
     /**
-     * 递归解析Postman集合，返回节点列表
+     * 流式解析 Postman Collection 文件，逐个请求转换，不把整个文件读入内存
      *
-     * @param items Postman collection 的 item 数组
-     * @return 节点列表
+     * @param file     Postman Collection 文件
+     * @param filter   请求过滤条件；被过滤掉的请求不读取其保存的响应，过滤后为空的文件夹不导入
+     * @param listener 进度回调
+     * @return 解析结果，如果解析失败返回 null
      */
-    private static List<CollectionNode> parsePostmanItems(JSONArray items) {
-        List<CollectionNode> nodeList = new ArrayList<>();
-        for (Object obj : items) {
-            JSONObject item = (JSONObject) obj;
-
-            // 判断是文件夹还是请求
-            // 文件夹：有 item 字段
-            // 请求：有 request 字段
-            if (item.containsKey("item")) {
-                // 文件夹节点
-                String folderName = item.getStr("name", "default group");
-                RequestGroup group = new RequestGroup(folderName);
-
-                // 解析文件夹描述
-                String description = extractDescription(item.get("description"));
-                if (description != null && !description.isEmpty()) {
-                    group.setDescription(description);
-                }
+    public static CollectionParseResult parsePostmanCollection(Path file, ImportFilter filter, ImportProgressListener listener) {
+        try (JsonImportStream stream = JsonImportStream.open(file, listener)) {
+            return parsePostmanCollection(stream, filter);
+        } catch (Exception e) {
+            log.error("解析Postman Collection失败: {}", file, e);
+            return null;
+        }
+    }
 
-                if (item.containsKey("variable")) {
-                    group.setVariables(parseVariables(item.getJSONArray("variable")));
-                }
+    private static CollectionParseResult parsePostmanCollection(JsonImportStream stream, ImportFilter filter) {
+        if (stream.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
 
-                // 解析分组级别的认证
-                JSONObject auth = item.getJSONObject("auth");
-                if (auth != null) {
-                    AuthParserUtil.parsePostmanAuthToGroup(auth, group);
+        // 顶层除 item 以外的字段都很小，直接读出；item 逐个流式转换
+        ImportState state = new ImportState(stream, filter);
+        JSONObject postmanRoot = new JSONObject();
+        List<CollectionNode> children = null;
+        String name;
+        while ((name = stream.nextProperty()) != null) {
+            if ("item".equals(name) && stream.isStartArray()) {
+                children = readItems(state);
+            } else if ("info".equals(name) || "auth".equals(name) || KEY_EVENT.equals(name) || "variable".equals(name)) {
+                Object value = stream.readValue();
+                if (value != null) {
+                    postmanRoot.set(name, value);
                 }
+            } else {
+                stream.skipValue();
+            }
+        }
+        if (!postmanRoot.containsKey("info") || children == null) {
+            return null;
+        }
 
-                // 解析分组级别的脚本
-                JSONArray events = item.getJSONArray("event");
-                if (events != null && !events.isEmpty()) {
-                    parseEventsToGroup(events, group);
-                }
+        // 解析 collection 名称和描述
+        JSONObject info = postmanRoot.getJSONObject("info");
+        String collectionName = info.getStr("name", "Postman");
+        RequestGroup collectionGroup = new RequestGroup(collectionName);
 
-                CollectionNode folderNode = new CollectionNode(CollectionNodeType.GROUP, group);
+        // 解析集合描述
+        String description = extractDescription(info.get("description"));
+        if (description != null && !description.isEmpty()) {
+            collectionGroup.setDescription(description);
+        }
 
-                // 递归处理子节点
-                JSONArray children = item.getJSONArray("item");
-                List<CollectionNode> childNodes = parsePostmanItems(children);
-                for (CollectionNode child : childNodes) {
-                    folderNode.addChild(child);
-                }
-                nodeList.add(folderNode);
-            } else if (item.containsKey("request")) {
-                // 纯请求节点
-                HttpRequestItem req = parsePostmanSingleItem(item);
-                CollectionNode requestNode = new CollectionNode(CollectionNodeType.REQUEST, req);
+        // 解析集合级别的认证
+        if (postmanRoot.containsKey("auth")) {
+            AuthParserUtil.parsePostmanAuthToGroup(postmanRoot.getJSONObject("auth"), collectionGroup);
+        }
+
+        // 解析集合级别的脚本
+        if (postmanRoot.containsKey(KEY_EVENT)) {
+            parseEventsToGroup(postmanRoot.getJSONArray(KEY_EVENT), collectionGroup);
+        }
 
-                nodeList.add(requestNode);
+        // 解析集合级别的变量
+        if (postmanRoot.containsKey("variable")) {
+            collectionGroup.setVariables(parseVariables(postmanRoot.getJSONArray("variable")));
+        }
+
+        CollectionParseResult result = new CollectionParseResult(collectionGroup);
+        for (CollectionNode child : children) {
+            result.addChild(child);
+        }
+        stream.reportDone(state.requestCount);
+        return result;
+    }
+
+    /**
+     * 逐个读取 item 数组中的节点，当前位置为数组开始
+     */
+    private static List<CollectionNode> readItems(ImportState state) {
+        List<CollectionNode> nodeList = new ArrayList<>();
+        JsonToken token;
+        while ((token = state.stream.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (!state.stream.isStartObject()) {
+                state.stream.skipValue();
+                continue;
+            }
+            CollectionNode node = readItem(state);
+            if (node != null) {
+                nodeList.add(node);
             }
         }
         return nodeList;
     }
 
+    /**
+     * 读取单个 item：文件夹（有 item 字段）递归读取子节点，请求（有 request 字段）读完后转换
+     */
+    private static CollectionNode readItem(ImportState state) {
+        JsonImportStream stream = state.stream;
+        JSONObject item = new JSONObject();
+        List<CollectionNode> children = null;
+        Boolean accepted = null;
+        String name;
+        while ((name = stream.nextProperty()) != null) {
+            if ("item".equals(name) && stream.isStartArray()) {
+                children = readItems(state);
+            } else if ("response".equals(name) && Boolean.FALSE.equals(accepted)) {
+                // 被过滤掉的请求不读取保存的响应
+                stream.skipValue();
+            } else {
+                Object value = stream.readValue();
+                if (value != null) {
+                    item.set(name, value);
+                }
+                if ("request".equals(name)) {
+                    accepted = acceptsRequest(item.get("request"), state.filter);
+                }
+            }
+        }
+
+        if (children != null) {
+            if (children.isEmpty() && !state.filter.isAll()) {
+                return null;
+            }
+            CollectionNode folderNode = new CollectionNode(CollectionNodeType.GROUP, parseFolderGroup(item));
+            for (CollectionNode child : children) {
+                folderNode.addChild(child);
+            }
+            return folderNode;
+        }
+        if (!Boolean.TRUE.equals(accepted)) {
+            return null;
+        }
+
+        // 纯请求节点
+        HttpRequestItem req = parsePostmanSingleItem(item);
+        state.requestCount++;
+        stream.reportProgress(state.requestCount);
+        return new CollectionNode(CollectionNodeType.REQUEST, req);
+    }
+
+    /**
+     * 解析文件夹的名称、描述、变量、认证和脚本
+     */
+    private static RequestGroup parseFolderGroup(JSONObject item) {
+        String folderName = item.getStr("name", "default group");
+        RequestGroup group = new RequestGroup(folderName);
+
+        // 解析文件夹描述
+        String description = extractDescription(item.get("description"));
+        if (description != null && !description.isEmpty()) {
+            group.setDescription(description);
+        }
+
+        if (item.containsKey("variable")) {
+            group.setVariables(parseVariables(item.getJSONArray("variable")));
+        }
+
+        // 解析分组级别的认证
+        JSONObject auth = item.getJSONObject("auth");
+        if (auth != null) {
+            AuthParserUtil.parsePostmanAuthToGroup(auth, group);
+        }
+
+        // 解析分组级别的脚本
+        JSONArray events = item.getJSONArray("event");
+        if (events != null && !events.isEmpty()) {
+            parseEventsToGroup(events, group);
+        }
+        return group;
+    }
+
+    private static boolean acceptsRequest(Object requestObj, ImportFilter filter) {
+        if (filter.isAll()) {
+            return true;
+        }
+        if (requestObj instanceof String requestUrl) {
+            return filter.acceptsRequest("GET", requestUrl);
+        }
+        if (requestObj instanceof JSONObject request) {
+            Object urlObj = request.get("url");
+            String url = urlObj instanceof JSONObject urlJson ? buildRawUrl(urlJson) : String.valueOf(urlObj);
+            return filter.acceptsRequest(request.getStr("method", "GET"), url);
+        }
+        return false;
+    }
+
+    /**
+     * 一次流式解析的状态
+     */
+    private static final class ImportState {
+        final JsonImportStream stream;
+        final ImportFilter filter;
+        int requestCount;
+
+        ImportState(JsonImportStream stream, ImportFilter filter) {
+            this.stream = stream;
+            this.filter = filter == null ? ImportFilter.all() : filter;
+        }
+    }
 
     /**
      * 解析Postman的events到RequestGroup
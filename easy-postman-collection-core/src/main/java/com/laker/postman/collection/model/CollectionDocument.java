@@ -1,6 +1,12 @@
 package com.laker.postman.collection.model;
 
+import com.laker.postman.collection.CollectionIndex;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -9,6 +15,12 @@ import java.util.List;
 public class CollectionDocument {
     List<CollectionNode> roots;
 
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    transient volatile CollectionIndex index;
+
     public CollectionDocument(List<CollectionNode> roots) {
         this.roots = roots == null ? List.of() : List.copyOf(roots);
     }
@@ -20,4 +32,22 @@ public class CollectionDocument {
     public List<CollectionNode> mutableRootsCopy() {
         return new ArrayList<>(roots);
     }
+
+    /**
+     * 文档的查找索引，首次调用时建立。
+     * 建立索引后分组下的结构变化应通过索引的增量方法进行，直接修改子节点列表不会被索引感知
+     */
+    public CollectionIndex index() {
+        CollectionIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = CollectionIndex.of(this);
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
 }
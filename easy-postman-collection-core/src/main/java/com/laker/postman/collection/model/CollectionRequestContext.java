@@ -9,10 +9,21 @@ import java.util.List;
 public class CollectionRequestContext {
     HttpRequestItem request;
     List<RequestGroup> groupChain;
+    /**
+     * 索引预先合并好的分组配置；直接按分组链构造时为 null
+     */
+    InheritedGroupSettings inheritedSettings;
 
     public CollectionRequestContext(HttpRequestItem request, List<RequestGroup> groupChain) {
         this.request = request;
         this.groupChain = groupChain == null ? List.of() : List.copyOf(groupChain);
+        this.inheritedSettings = null;
+    }
+
+    public CollectionRequestContext(HttpRequestItem request, InheritedGroupSettings inheritedSettings) {
+        this.request = request;
+        this.groupChain = inheritedSettings.groupChain();
+        this.inheritedSettings = inheritedSettings;
     }
 
     public boolean hasRequest() {
@@ -0,0 +1,51 @@
+package com.laker.postman.collection.model;
+
+import com.laker.postman.model.Variable;
+import com.laker.postman.request.model.HttpHeader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一条分组链预先合并好的可继承配置，同一分组下的请求共用一份。
+ *
+ * @param groupChain  从外到内的分组链
+ * @param authGroup   最近的、认证方式不是继承的分组；没有则为 null
+ * @param headers     各分组的请求头，按从外到内的顺序拼接，未去重
+ * @param preScripts  各分组的前置脚本，从外到内
+ * @param postScripts 各分组的后置脚本，从内到外
+ * @param variables   合并后的分组变量，内层覆盖外层
+ */
+public record InheritedGroupSettings(List<RequestGroup> groupChain,
+                                     RequestGroup authGroup,
+                                     List<HttpHeader> headers,
+                                     List<ScriptSection> preScripts,
+                                     List<ScriptSection> postScripts,
+                                     List<Variable> variables) {
+
+    public static final InheritedGroupSettings EMPTY =
+            new InheritedGroupSettings(List.of(), null, List.of(), List.of(), List.of(), List.of());
+
+    public InheritedGroupSettings {
+        groupChain = immutable(groupChain);
+        headers = immutable(headers);
+        preScripts = immutable(preScripts);
+        postScripts = immutable(postScripts);
+        variables = immutable(variables);
+    }
+
+    private static <T> List<T> immutable(List<T> list) {
+        // 分组里的请求头、变量可能含 null 元素，不能用 List.copyOf
+        return list == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    /**
+     * 合并脚本中的一段
+     *
+     * @param source  来源说明，合并时作为分段注释
+     * @param content 脚本内容
+     */
+    public record ScriptSection(String source, String content) {
+    }
+}
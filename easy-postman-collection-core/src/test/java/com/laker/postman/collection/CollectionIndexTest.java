@@ -0,0 +1,168 @@
+package com.laker.postman.collection;
+
+import com.laker.postman.collection.model.CollectionDocument;
+import com.laker.postman.collection.model.CollectionNode;
+import com.laker.postman.collection.model.CollectionRequestContext;
+import com.laker.postman.collection.model.InheritedGroupSettings;
+import com.laker.postman.collection.model.RequestGroup;
+import com.laker.postman.request.model.AuthType;
+import com.laker.postman.request.model.HttpHeader;
+import com.laker.postman.request.model.HttpRequestItem;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class CollectionIndexTest {
+
+    @Test
+    public void shouldResolveIdsPathsAndPrecomputedSettings() {
+        RequestGroup outer = new RequestGroup("Orders");
+        outer.setAuthType(AuthType.BEARER.getConstant());
+        outer.setAuthToken("token");
+        outer.setHeaders(List.of(new HttpHeader(true, "X-Outer", "1")));
+        outer.setPrescript("outer()");
+        RequestGroup inner = new RequestGroup("Admin");
+        inner.setHeaders(List.of(new HttpHeader(true, "X-Inner", "2")));
+        inner.setPostscript("inner()");
+
+        CollectionNode root = CollectionNode.group(outer);
+        CollectionNode folder = CollectionNode.group(inner);
+        folder.addChild(CollectionNode.request(request("req-1", "Get Order")));
+        root.addChild(folder);
+        CollectionIndex index = new CollectionDocument(List.of(root)).index();
+
+        assertEquals(index.findRequestIdByPath("Orders/Admin/Get Order").orElseThrow(), "req-1");
+        assertEquals(index.findPath("req-1").orElseThrow(), "Orders/Admin/Get Order");
+
+        CollectionRequestContext context = index.findRequestContext("req-1").orElseThrow();
+        assertEquals(context.getGroupChain(), List.of(outer, inner));
+        InheritedGroupSettings settings = context.getInheritedSettings();
+        assertSame(settings.authGroup(), outer);
+        assertEquals(settings.headers().stream().map(HttpHeader::getKey).toList(), List.of("X-Outer", "X-Inner"));
+        assertEquals(settings.preScripts().stream().map(InheritedGroupSettings.ScriptSection::content).toList(), List.of("outer()"));
+        assertEquals(settings.postScripts().stream().map(InheritedGroupSettings.ScriptSection::content).toList(), List.of("inner()"));
+        assertSame(index.findGroupSettings(folder).orElseThrow(), settings);
+    }
+
+    @Test
+    public void precomputedSettingsShouldApplyLikeGroupChain() {
+        RequestGroup outer = new RequestGroup("Outer");
+        outer.setAuthType(AuthType.BASIC.getConstant());
+        outer.setAuthUsername("user");
+        outer.setHeaders(List.of(new HttpHeader(true, "X-Shared", "outer")));
+        outer.setPrescript("outerPre()");
+        outer.setPostscript("outerPost()");
+        RequestGroup inner = new RequestGroup("Inner");
+        inner.setAuthType(AuthType.INHERIT.getConstant());
+        inner.setHeaders(List.of(new HttpHeader(true, "x-shared", "inner")));
+        inner.setPrescript("innerPre()");
+        inner.setPostscript("innerPost()");
+        HttpRequestItem item = request("req-1", "Request");
+        item.setAuthType(AuthType.INHERIT.getConstant());
+        item.setPrescript("requestPre()");
+        item.setPostscript("requestPost()");
+
+        HttpRequestItem byChain = CollectionInheritance.apply(item, List.of(outer, inner));
+        HttpRequestItem bySettings = CollectionInheritance.apply(item,
+                CollectionInheritance.extend(CollectionInheritance.extend(InheritedGroupSettings.EMPTY, outer), inner));
+
+        assertEquals(bySettings.getAuthType(), byChain.getAuthType());
+        assertEquals(bySettings.getAuthUsername(), "user");
+        assertEquals(bySettings.getPrescript(), byChain.getPrescript());
+        assertEquals(bySettings.getPostscript(), byChain.getPostscript());
+        assertEquals(bySettings.getHeadersList(), byChain.getHeadersList());
+    }
+
+    @Test
+    public void incrementalChangesShouldKeepLookupsInSync() {
+        CollectionNode root = CollectionNode.group(new RequestGroup("Root"));
+        CollectionNode left = CollectionNode.group(new RequestGroup("Left"));
+        CollectionNode right = CollectionNode.group(new RequestGroup("Right"));
+        root.addChild(left);
+        root.addChild(right);
+        CollectionDocument document = new CollectionDocument(List.of(root));
+        CollectionIndex index = document.index();
+
+        CollectionNode moved = CollectionNode.request(request("req-1", "Moved"));
+        assertTrue(index.add(left, moved));
+        assertTrue(index.add(right, 0, CollectionNode.request(request("req-2", "Stays"))));
+        assertEquals(index.findPath("req-1").orElseThrow(), "Root/Left/Moved");
+        assertEquals(CollectionTreeQueries.collectRequests(document).stream().map(HttpRequestItem::getId).toList(),
+                List.of("req-1", "req-2"));
+
+        assertTrue(index.move(moved, right, 1));
+        assertEquals(index.findPath("req-1").orElseThrow(), "Root/Right/Moved");
+        assertTrue(index.findRequestIdByPath("Root/Left/Moved").isEmpty());
+        assertEquals(index.findRequestContext("req-1").orElseThrow().getGroupChain().get(1).getName(), "Right");
+        assertEquals(CollectionTreeQueries.collectRequests(document).stream().map(HttpRequestItem::getId).toList(),
+                List.of("req-2", "req-1"));
+
+        assertTrue(index.remove(moved));
+        assertTrue(index.findRequestContext("req-1").isEmpty());
+        assertEquals(right.getChildren().size(), 1);
+
+        left.getGroup().setName("Renamed");
+        assertTrue(index.replaceChildren(left, List.of(CollectionNode.request(request("req-3", "New")))));
+        assertEquals(index.findPath("req-3").orElseThrow(), "Root/Renamed/New");
+    }
+
+    @Test
+    public void structuralChangesOutsideIndexedGroupsShouldBeRejected() {
+        CollectionNode root = CollectionNode.group(new RequestGroup("Root"));
+        CollectionNode child = CollectionNode.group(new RequestGroup("Child"));
+        root.addChild(child);
+        CollectionIndex index = new CollectionDocument(List.of(root)).index();
+
+        assertFalse(index.remove(root));
+        assertFalse(index.move(root, child, 0));
+        assertFalse(index.add(CollectionNode.group(new RequestGroup("Detached")), CollectionNode.request(request("x", "x"))));
+        assertNull(index.findRequestContext("x").orElse(null));
+    }
+
+    @Test
+    public void removingOneOfTwoDuplicatesShouldFallBackToTheOther() {
+        CollectionNode root = CollectionNode.group(new RequestGroup("Root"));
+        CollectionNode left = CollectionNode.group(new RequestGroup("Left"));
+        CollectionNode right = CollectionNode.group(new RequestGroup("Right"));
+        CollectionNode first = CollectionNode.request(request("dup", "Get"));
+        CollectionNode second = CollectionNode.request(request("dup", "Get"));
+        CollectionNode samePath = CollectionNode.request(request("other", "Get"));
+        left.addChild(first);
+        left.addChild(samePath);
+        right.addChild(second);
+        root.addChild(left);
+        root.addChild(right);
+        CollectionIndex index = new CollectionDocument(List.of(root)).index();
+
+        assertSame(index.findRequestNode("dup").orElseThrow(), first);
+        assertEquals(index.findPath("dup").orElseThrow(), "Root/Left/Get");
+        assertEquals(index.findRequestIdByPath("Root/Left/Get").orElseThrow(), "dup");
+
+        assertTrue(index.remove(first));
+        assertSame(index.findRequestNode("dup").orElseThrow(), second);
+        assertEquals(index.findPath("dup").orElseThrow(), "Root/Right/Get");
+        assertEquals(index.findRequestContext("dup").orElseThrow().getGroupChain().get(1).getName(), "Right");
+        assertEquals(index.findRequestIdByPath("Root/Left/Get").orElseThrow(), "other");
+
+        // 重新插到前面后按树中位置重新成为第一个
+        assertTrue(index.add(left, 0, first));
+        assertSame(index.findRequestNode("dup").orElseThrow(), first);
+        assertTrue(index.remove(second));
+        assertTrue(index.remove(first));
+        assertTrue(index.findRequestNode("dup").isEmpty());
+        assertTrue(index.findPath("dup").isEmpty());
+    }
+
+    private static HttpRequestItem request(String id, String name) {
+        HttpRequestItem item = new HttpRequestItem();
+        item.setId(id);
+        item.setName(name);
+        return item;
+    }
+}
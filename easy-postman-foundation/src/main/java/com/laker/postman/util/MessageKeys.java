@@ -570,6 +570,8 @@ public final class MessageKeys {
     public static final String FUNCTIONAL_MSG_CSV_DETECTED = "functional.msg.csv_detected";
     public static final String FUNCTIONAL_MSG_CSV_TITLE = "functional.msg.csv_title";
     public static final String FUNCTIONAL_STATUS_SKIPPED = "functional.status.skipped";
+    public static final String FUNCTIONAL_CONCURRENCY = "functional.concurrency";
+    public static final String FUNCTIONAL_CONCURRENCY_TOOLTIP = "functional.concurrency.tooltip";
 
     // ============ 工作区相关 ============
     public static final String WORKSPACE_CREATE = "workspace.create";
@@ -799,6 +801,7 @@ public final class MessageKeys {
     public static final String PERFORMANCE_REMOTE_MSG_FAILED = "performance.remote.msg.failed";
     public static final String PERFORMANCE_REMOTE_MSG_STARTED = "performance.remote.msg.started";
     public static final String PERFORMANCE_REMOTE_ASSETS_WARNING = "performance.remote.assets.warning";
+    public static final String PERFORMANCE_REMOTE_GENERATOR_SATURATED = "performance.remote.generator.saturated";
     public static final String PERFORMANCE_REMOTE_WORKER_PROTOCOL_MISMATCH = "performance.remote.worker.protocol_mismatch";
     public static final String PERFORMANCE_PLAN_LABEL = "performance.plan.label";
     public static final String PERFORMANCE_PLAN_ADD_TOOLTIP = "performance.plan.add.tooltip";
@@ -868,6 +871,18 @@ public final class MessageKeys {
     public static final String PERFORMANCE_ONCE_ONLY_DESCRIPTION = "performance.once_only.description";
     public static final String PERFORMANCE_TIMER_DELAY = "performance.timer.delay";
     public static final String PERFORMANCE_TIMER_HINT = "performance.timer.hint";
+    public static final String PERFORMANCE_TIMER_TYPE = "performance.timer.type";
+    public static final String PERFORMANCE_TIMER_TYPE_FIXED = "performance.timer.type.fixed";
+    public static final String PERFORMANCE_TIMER_TYPE_CONSTANT_THROUGHPUT = "performance.timer.type.constant_throughput";
+    public static final String PERFORMANCE_TIMER_TYPE_POISSON = "performance.timer.type.poisson";
+    public static final String PERFORMANCE_TIMER_TYPE_PRECISE_PACING = "performance.timer.type.precise_pacing";
+    public static final String PERFORMANCE_TIMER_THROUGHPUT = "performance.timer.throughput";
+    public static final String PERFORMANCE_TIMER_SCOPE = "performance.timer.scope";
+    public static final String PERFORMANCE_TIMER_SCOPE_THREAD_GROUP = "performance.timer.scope.thread_group";
+    public static final String PERFORMANCE_TIMER_SCOPE_GLOBAL = "performance.timer.scope.global";
+    public static final String PERFORMANCE_TIMER_POISSON_OFFSET = "performance.timer.poisson_offset";
+    public static final String PERFORMANCE_TIMER_POISSON_MEAN = "performance.timer.poisson_mean";
+    public static final String PERFORMANCE_TIMER_PACING = "performance.timer.pacing";
     public static final String PERFORMANCE_ASSERTION_TYPE_LABEL = "performance.assertion.type_label";
     public static final String PERFORMANCE_ASSERTION_OPERATOR = "performance.assertion.operator";
     public static final String PERFORMANCE_ASSERTION_VALUE = "performance.assertion.value";
@@ -959,6 +974,7 @@ public final class MessageKeys {
     public static final String PERFORMANCE_MSG_SSE_TARGET_COUNT_CLOSED = "performance.msg.sse_target_count_closed";
     public static final String PERFORMANCE_MSG_SSE_TARGET_MESSAGE_COUNT_TIMEOUT = "performance.msg.sse_target_message_count_timeout";
     public static final String PERFORMANCE_MSG_SSE_STREAM_CLOSE_TIMEOUT = "performance.msg.sse_stream_close_timeout";
+    public static final String PERFORMANCE_MSG_SSE_STREAM_STALLED = "performance.msg.sse_stream_stalled";
     public static final String PERFORMANCE_MSG_SSE_REQUEST_TIMEOUT = "performance.msg.sse_request_timeout";
     public static final String PERFORMANCE_MSG_WS_CONNECTION_TIMEOUT = "performance.msg.ws_connection_timeout";
     public static final String PERFORMANCE_MSG_WS_READ_TIMEOUT = "performance.msg.ws_read_timeout";
@@ -987,6 +1003,8 @@ public final class MessageKeys {
     public static final String PERFORMANCE_SSE_OBSERVE_DURATION = "performance.sse.observe_duration";
     public static final String PERFORMANCE_SSE_STREAM_CLOSE_TIMEOUT = "performance.sse.stream_close_timeout";
     public static final String PERFORMANCE_SSE_TARGET_MESSAGE_COUNT = "performance.sse.target_message_count";
+    public static final String PERFORMANCE_SSE_STALL_THRESHOLD = "performance.sse.stall_threshold";
+    public static final String PERFORMANCE_SSE_STALL_THRESHOLD_TOOLTIP = "performance.sse.stall_threshold.tooltip";
     public static final String PERFORMANCE_SSE_HINT_FIRST_MESSAGE = "performance.sse.hint.first_message";
     public static final String PERFORMANCE_SSE_HINT_MATCHED_MESSAGE = "performance.sse.hint.matched_message";
     public static final String PERFORMANCE_SSE_HINT_FIXED_DURATION = "performance.sse.hint.fixed_duration";
@@ -1076,6 +1094,10 @@ public final class MessageKeys {
     public static final String PERFORMANCE_REPORT_MARKDOWN_TITLE = "performance.report.markdown.title";
     public static final String PERFORMANCE_REPORT_MARKDOWN_EMPTY = "performance.report.markdown.empty";
     public static final String PERFORMANCE_REPORT_MARKDOWN_COPIED = "performance.report.markdown.copied";
+    public static final String PERFORMANCE_REPORT_EXPORT_JSON_BUTTON = "performance.report.export_json.button";
+    public static final String PERFORMANCE_REPORT_EXPORT_JSON_TITLE = "performance.report.export_json.title";
+    public static final String PERFORMANCE_REPORT_EXPORT_JSON_SUCCESS = "performance.report.export_json.success";
+    public static final String PERFORMANCE_REPORT_EXPORT_JSON_FAIL = "performance.report.export_json.fail";
 
     // ============ 性能趋势相关 ============
     public static final String PERFORMANCE_TREND_THREADS = "performance.trend.threads";
@@ -1105,6 +1127,7 @@ public final class MessageKeys {
     public static final String PERFORMANCE_TREND_LATENCY_DURATION_MS = "performance.trend.latency_duration_ms";
     public static final String PERFORMANCE_TREND_SESSION_DURATION_MS = "performance.trend.session_duration_ms";
     public static final String PERFORMANCE_TREND_STREAM_DURATION_MS = "performance.trend.stream_duration_ms";
+    public static final String PERFORMANCE_TREND_INTER_EVENT_GAP_MS = "performance.trend.inter_event_gap_ms";
 
     // ============ 性能结果树相关 ============
     public static final String PERFORMANCE_RESULT_TREE_COLUMN_PROTOCOL = "performance.result_tree.column.protocol";
@@ -1287,6 +1310,9 @@ public final class MessageKeys {
     public static final String REQUEST_SETTINGS_HTTP_VERSION_AUTO = "request.settings.http_version.auto";
     public static final String REQUEST_SETTINGS_HTTP_VERSION_HTTP_1_1 = "request.settings.http_version.http_1_1";
     public static final String REQUEST_SETTINGS_HTTP_VERSION_HTTP_2 = "request.settings.http_version.http_2";
+    public static final String REQUEST_SETTINGS_BODY_COMPRESSION_LABEL = "request.settings.body_compression.label";
+    public static final String REQUEST_SETTINGS_BODY_COMPRESSION_DESC = "request.settings.body_compression.desc";
+    public static final String REQUEST_SETTINGS_BODY_COMPRESSION_NONE = "request.settings.body_compression.none";
     public static final String REQUEST_SETTINGS_TIMEOUT_LABEL = "request.settings.timeout.label";
     public static final String REQUEST_SETTINGS_TIMEOUT_DESC = "request.settings.timeout.desc";
     public static final String REQUEST_SETTINGS_TIMEOUT_HINT = "request.settings.timeout.hint";
@@ -1,6 +1,7 @@
 package com.laker.postman.http.runtime.config;
 
 import com.laker.postman.http.runtime.okhttp.OkHttpClientManager;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 import com.laker.postman.request.model.HttpRequestItem;
 import com.laker.postman.request.model.HttpRequestProxyPolicy;
 import lombok.experimental.UtilityClass;
@@ -62,6 +63,10 @@ public class HttpRequestRuntimeSettingsResolver {
                 : settings().getRequestTimeout();
     }
 
+    public static String resolveRequestBodyCompression(HttpRequestItem item) {
+        return item != null ? item.resolveRequestBodyCompression() : HttpRequestBodyCompressions.NONE;
+    }
+
     private static HttpRuntimeSettings settings() {
         return HttpRuntimeSettingsProvider.get();
     }
@@ -4,6 +4,7 @@ import com.laker.postman.request.model.HttpHeader;
 import com.laker.postman.request.model.HttpParam;
 import com.laker.postman.request.model.HttpFormData;
 import com.laker.postman.request.model.HttpFormUrlencoded;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 import com.laker.postman.request.model.HttpRequestItem;
 import com.laker.postman.request.model.HttpRequestProxyPolicy;
 import com.laker.postman.request.model.TransportAuth;
@@ -11,6 +12,7 @@ import com.laker.postman.http.runtime.interaction.DownloadProgressSinkFactory;
 import com.laker.postman.http.runtime.interaction.ResponseSizeLimitWarningSink;
 import com.laker.postman.http.runtime.observation.HttpLifecycleLogSink;
 import com.laker.postman.http.runtime.observation.NetworkLogSink;
+import com.laker.postman.http.runtime.okhttp.RequestBodyTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +28,8 @@ public class PreparedRequest {
 
     public String body;
     public String bodyType;
+    public transient RequestBodyTemplate bodyTemplate; // 压测取样器复用的请求体模板，发送前由 finalizer 渲染
+    public transient RequestBodyTemplate.Rendered renderedBody; // 本轮渲染结果，body 未被改写时直接发送预编码字节
 
     public List<HttpHeader> headersList;
     public List<HttpFormData> formDataList;
@@ -40,6 +44,9 @@ public class PreparedRequest {
     public boolean sslVerificationEnabled = false; // 默认禁用 SSL 校验
     public String httpVersion = HttpRequestItem.HTTP_VERSION_AUTO; // HTTP 协议偏好
     public int requestTimeoutMs = 0; // 0 表示不超时
+    public String requestBodyCompression = HttpRequestBodyCompressions.NONE; // 请求体压缩方式
+    public transient long requestBodyRawBytes = -1; // 压缩前的请求体字节数，未压缩时为 -1
+    public transient long requestBodyCompressedBytes = -1; // 压缩后实际发送的请求体字节数，未压缩时为 -1
     public TransportAuth transportAuth; // 发送阶段需要的传输层认证元数据（例如 Digest challenge 认证）
 
     // 事件监听控制（精细化控制）
@@ -84,6 +91,8 @@ public class PreparedRequest {
         copy.exchangeEventInfo = null;
         copy.body = this.body;
         copy.bodyType = this.bodyType;
+        copy.bodyTemplate = this.bodyTemplate;
+        copy.renderedBody = this.renderedBody;
         copy.sentRequestBody = this.sentRequestBody;
         copy.sentRequestBodyReplayable = this.sentRequestBodyReplayable;
         copy.isMultipart = this.isMultipart;
@@ -93,6 +102,7 @@ public class PreparedRequest {
         copy.sslVerificationEnabled = this.sslVerificationEnabled;
         copy.httpVersion = this.httpVersion;
         copy.requestTimeoutMs = this.requestTimeoutMs;
+        copy.requestBodyCompression = this.requestBodyCompression;
         copy.transportAuth = this.transportAuth != null ? this.transportAuth.shallowCopy() : null;
         copy.captureProfile = this.captureProfile;
         copy.collectBasicInfo = this.collectBasicInfo;
@@ -119,7 +129,7 @@ public class PreparedRequest {
     /**
      * 简化对象，将渲染时不需要的字段置为 null，减少内存占用
      * 保留的字段：url, method, sentUrl, sentMethod, sentHeadersList, formDataList, urlencodedList, sentRequestBody, sentRequestBodyReplayable
-     * 置为 null 的字段：id, name, body, bodyType, transportAuth, headersList,
+     * 置为 null 的字段：id, name, body, bodyType, bodyTemplate, renderedBody, transportAuth, headersList,
      * pathVariablesList, paramsList, exchangeEventInfo
      */
     public void simplify() {
@@ -127,6 +137,8 @@ public class PreparedRequest {
         this.name = null;
         this.body = null;
         this.bodyType = null;
+        this.bodyTemplate = null;
+        this.renderedBody = null;
         this.transportAuth = null;
         this.headersList = null;  // 渲染用的是 sentHeadersList
         this.pathVariablesList = null;
@@ -24,8 +24,8 @@ import static com.laker.postman.request.util.HttpUrlUtil.extractBaseUri;
  */
 @Slf4j
 public class OkHttpClientManager {
-    // 每个 baseUri 一个连接池和 OkHttpClient
-    private static final Map<String, OkHttpClient> clientMap = new ConcurrentHashMap<>();
+    // 每个 baseUri 一个连接池和 OkHttpClient；请求级 SSL 模式覆盖的客户端按 sslMode 另起一项
+    private static final Map<ClientCacheKey, OkHttpClient> clientMap = new ConcurrentHashMap<>();
     // 连接池参数
     private static final int MAX_IDLE_CONNECTIONS = 6;
     private static final long KEEP_ALIVE_DURATION = 90L;
@@ -75,8 +75,12 @@ public class OkHttpClientManager {
     public static OkHttpClient getClient(String baseUri, boolean followRedirects, HttpRequestProxyPolicy proxyPolicy) {
         HttpRequestProxyPolicy resolvedProxyPolicy = HttpRequestProxyPolicy.normalize(proxyPolicy);
         // 将代理配置也作为客户端缓存key的一部分，确保代理设置变更时重新创建客户端
-        String proxyKey = getProxyConfigKey(baseUri, resolvedProxyPolicy);
-        String key = baseUri + "|" + followRedirects + "|" + proxyKey;
+        ClientCacheKey key = new ClientCacheKey(
+                baseUri,
+                followRedirects,
+                null,
+                getProxyConfigKey(baseUri, resolvedProxyPolicy)
+        );
 
         return clientMap.computeIfAbsent(key, k -> createClient(
                 baseUri,
@@ -87,21 +91,38 @@ public class OkHttpClientManager {
     }
 
     /**
-     * 创建一个不参与缓存的客户端，用于请求级 SSL 模式覆盖。
+     * 获取请求级 SSL 模式覆盖使用的客户端：独立连接池，与同 baseUri 的默认客户端共用 Dispatcher。
      */
-    public static OkHttpClient createClientForSslMode(String baseUri,
+    public static OkHttpClient getClientForSslMode(String baseUri,
                                                       boolean followRedirects,
                                                       SSLConfigurationUtil.SSLVerificationMode sslMode) {
-        return createClientForSslMode(baseUri, followRedirects, sslMode, HttpRequestProxyPolicy.DEFAULT);
+        return getClientForSslMode(baseUri, followRedirects, sslMode, HttpRequestProxyPolicy.DEFAULT);
     }
 
-    public static OkHttpClient createClientForSslMode(String baseUri,
+    public static OkHttpClient getClientForSslMode(String baseUri,
                                                       boolean followRedirects,
                                                       SSLConfigurationUtil.SSLVerificationMode sslMode,
                                                       HttpRequestProxyPolicy proxyPolicy) {
         HttpRequestProxyPolicy resolvedProxyPolicy = HttpRequestProxyPolicy.normalize(proxyPolicy);
+        ClientCacheKey key = new ClientCacheKey(
+                baseUri,
+                followRedirects,
+                sslMode,
+                getProxyConfigKey(baseUri, resolvedProxyPolicy)
+        );
+        OkHttpClient cached = clientMap.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // 先在 computeIfAbsent 之外取得共享 Dispatcher，避免在映射函数里递归修改 clientMap
         Dispatcher sharedDispatcher = getClient(baseUri, followRedirects, resolvedProxyPolicy).dispatcher();
-        return createClient(baseUri, followRedirects, sslMode, sharedDispatcher, resolvedProxyPolicy);
+        return clientMap.computeIfAbsent(key, k -> createClient(
+                baseUri,
+                followRedirects,
+                sslMode,
+                sharedDispatcher,
+                resolvedProxyPolicy
+        ));
     }
 
     /**
@@ -379,13 +400,14 @@ public class OkHttpClientManager {
         }
         boolean effectiveProxySslDisabled = isProxyActiveForBaseUri(baseUri, resolvedProxyPolicy)
                 && settings().isProxySslVerificationDisabled();
-        return String.format("%s|ssl:%b:%b|customTrust:%b:%s|%s",
-                proxyPart,
-                effectiveProxySslDisabled,
-                settings().isRequestSslVerificationDisabled(),
-                settings().isCustomTrustMaterialEnabled(),
-                trustPart,
-                buildClientCertificateCachePart(baseUri));
+        return new StringBuilder(proxyPart.length() + trustPart.length() + 64)
+                .append(proxyPart)
+                .append("|ssl:").append(effectiveProxySslDisabled)
+                .append(':').append(settings().isRequestSslVerificationDisabled())
+                .append("|customTrust:").append(settings().isCustomTrustMaterialEnabled())
+                .append(':').append(trustPart)
+                .append('|').append(buildClientCertificateCachePart(baseUri))
+                .toString();
     }
 
     private static String buildProxyConfigPart(String baseUri) {
@@ -560,4 +582,13 @@ public class OkHttpClientManager {
     private static HttpRuntimeSettings settings() {
         return HttpRuntimeSettingsProvider.get();
     }
+
+    /**
+     * @param sslMode 为 null 表示按全局设置解析 SSL 模式的默认客户端
+     */
+    private record ClientCacheKey(String baseUri,
+                                  boolean followRedirects,
+                                  SSLConfigurationUtil.SSLVerificationMode sslMode,
+                                  String runtimeSettingsKey) {
+    }
 }
@@ -15,14 +15,29 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * OkHttp 请求构建工具类
+ * <p>
+ * 构建出的请求都以 {@code PreparedRequest.class} 为 tag 携带原始请求，
+ * 共享的拦截器、认证器和事件监听器从 tag 读取请求级状态，派生客户端因此可以跨请求缓存。
+ * </p>
+ * <p>
+ * 解析后的 MediaType 和上传文件的 MIME 探测结果按值缓存；请求带有 {@link RequestBodyTemplate} 的渲染结果时，
+ * 直接发送预编码好的字节。
+ * </p>
+ * <p>
+ * 请求设置开启了请求体压缩时，最终请求体交给 {@link RequestBodyCompressor} 压缩，
+ * 并在用户没有自己设置时补上 Content-Encoding 头。
+ * </p>
  */
 @UtilityClass
 public class OkHttpRequestBuilder {
 
     private static final String CONTENT_TYPE = "Content-Type";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
     private static final String DEFAULT_JSON_CONTENT_TYPE = "application/json; charset=utf-8";
     private static final String DEFAULT_FORM_CONTENT_TYPE = "application/x-www-form-urlencoded; charset=UTF-8";
     private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
@@ -30,6 +45,15 @@ public class OkHttpRequestBuilder {
     private static final String METHOD_GET = "GET";
     private static final String METHOD_HEAD = "HEAD";
     private static final byte[] EMPTY_BODY = new byte[0];
+    private static final int MAX_CACHE_SIZE = 256;
+    private static final ConcurrentMap<String, MediaType> MEDIA_TYPES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<FilePartKey, RequestBody> FILE_PARTS = new ConcurrentHashMap<>();
+
+    /**
+     * 文件大小或修改时间变化后重新探测 MIME 类型
+     */
+    private record FilePartKey(String path, long length, long lastModified) {
+    }
 
 
     /**
@@ -38,13 +62,15 @@ public class OkHttpRequestBuilder {
     public static Request buildRequest(PreparedRequest req) {
         String methodUpper = req.method.toUpperCase();
         String contentType = extractContentType(req.headersList);
-        RequestBody requestBody = buildRequestBody(req.body, methodUpper, contentType);
+        RequestBody requestBody = RequestBodyCompressor.compress(req, buildRequestBody(req, methodUpper, contentType));
 
         Request.Builder builder = new Request.Builder()
                 .url(req.url)
-                .method(methodUpper, requestBody);
+                .method(methodUpper, requestBody)
+                .tag(PreparedRequest.class, req);
 
         addHeadersFromList(builder, req.headersList);
+        addContentEncoding(builder, req);
 
         return builder.build();
     }
@@ -59,9 +85,11 @@ public class OkHttpRequestBuilder {
 
         Request.Builder builder = new Request.Builder()
                 .url(req.url)
-                .method(req.method, multipartBuilder.build());
+                .method(req.method, RequestBodyCompressor.compress(req, multipartBuilder.build()))
+                .tag(PreparedRequest.class, req);
 
         addHeadersFromList(builder, req.headersList);
+        addContentEncoding(builder, req);
 
         return builder.build();
     }
@@ -76,9 +104,11 @@ public class OkHttpRequestBuilder {
 
         Request.Builder builder = new Request.Builder()
                 .url(req.url)
-                .method(req.method, formBuilder.build());
+                .method(req.method, RequestBodyCompressor.compress(req, formBuilder.build()))
+                .tag(PreparedRequest.class, req);
 
         boolean hasContentType = addHeadersFromList(builder, req.headersList);
+        addContentEncoding(builder, req);
 
         if (!hasContentType) {
             builder.addHeader(CONTENT_TYPE, DEFAULT_FORM_CONTENT_TYPE);
@@ -87,10 +117,27 @@ public class OkHttpRequestBuilder {
         return builder.build();
     }
 
+    /**
+     * 请求体确实被压缩过、且用户没有自己设置 Content-Encoding 时补上对应的编码头
+     */
+    private static void addContentEncoding(Request.Builder builder, PreparedRequest req) {
+        if (req.requestBodyCompressedBytes < 0) {
+            return;
+        }
+        if (req.headersList != null) {
+            for (HttpHeader header : req.headersList) {
+                if (header.isEnabled() && CONTENT_ENCODING.equalsIgnoreCase(header.getKey())) {
+                    return;
+                }
+            }
+        }
+        builder.header(CONTENT_ENCODING, RequestBodyCompressor.contentEncoding(req.requestBodyCompression));
+    }
+
     /**
      * 从 headersList 中提取 Content-Type
      */
-    private static String extractContentType(List<HttpHeader> headersList) {
+    static String extractContentType(List<HttpHeader> headersList) {
         if (headersList == null) {
             return null;
         }
@@ -109,11 +156,16 @@ public class OkHttpRequestBuilder {
     /**
      * 构建请求体
      */
-    private static RequestBody buildRequestBody(String body, String method, String contentType) {
+    private static RequestBody buildRequestBody(PreparedRequest req, String method, String contentType) {
         if (METHOD_GET.equals(method) || METHOD_HEAD.equals(method)) {
             return null;
         }
 
+        String body = req.body;
+        RequestBodyTemplate.Rendered renderedBody = req.renderedBody;
+        if (renderedBody != null && renderedBody.usableFor(body, contentType)) {
+            return RequestBody.create(renderedBody.bytes(), renderedBody.mediaType());
+        }
         if (body != null && !body.isEmpty()) {
             return createRequestBodyWithContent(body, contentType);
         }
@@ -127,7 +179,7 @@ public class OkHttpRequestBuilder {
     private static RequestBody createRequestBodyWithContent(String body, String contentType) {
         String actualContentType = contentType != null ? contentType : DEFAULT_JSON_CONTENT_TYPE;
         String processedBody = processBodyContent(body, actualContentType);
-        MediaType mediaType = MediaType.parse(actualContentType);
+        MediaType mediaType = parseMediaType(actualContentType);
         Charset charset = mediaType != null ? mediaType.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
 
         return RequestBody.create(processedBody.getBytes(charset), mediaType);
@@ -143,7 +195,7 @@ public class OkHttpRequestBuilder {
         return body;
     }
 
-    private static boolean containsJsonComment(String body) {
+    static boolean containsJsonComment(String body) {
         if (body == null || body.length() < 2) {
             return false;
         }
@@ -178,7 +230,7 @@ public class OkHttpRequestBuilder {
     /**
      * 判断是否为 JSON Content-Type
      */
-    private static boolean isJsonContentType(String contentType) {
+    static boolean isJsonContentType(String contentType) {
         return contentType != null && contentType.toLowerCase().contains(APPLICATION_JSON);
     }
 
@@ -198,10 +250,43 @@ public class OkHttpRequestBuilder {
      * 创建空请求体
      */
     private static RequestBody createEmptyRequestBody(String contentType) {
-        MediaType mediaType = contentType != null ? MediaType.parse(contentType) : null;
+        MediaType mediaType = contentType != null ? parseMediaType(contentType) : null;
         return RequestBody.create(EMPTY_BODY, mediaType);
     }
 
+    /**
+     * 解析 Content-Type，结果按原始字符串缓存；无法解析时返回 null
+     */
+    static MediaType parseMediaType(String contentType) {
+        MediaType cached = MEDIA_TYPES.get(contentType);
+        if (cached != null) {
+            return cached;
+        }
+        MediaType mediaType = MediaType.parse(contentType);
+        if (mediaType != null) {
+            if (MEDIA_TYPES.size() >= MAX_CACHE_SIZE) {
+                MEDIA_TYPES.clear();
+            }
+            MEDIA_TYPES.put(contentType, mediaType);
+        }
+        return mediaType;
+    }
+
+    /**
+     * 上传文件的请求体；RequestBody 只在写出时读取文件，可以跨请求复用
+     */
+    private static RequestBody fileRequestBody(File file) {
+        FilePartKey key = new FilePartKey(file.getPath(), file.length(), file.lastModified());
+        RequestBody cached = FILE_PARTS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (FILE_PARTS.size() >= MAX_CACHE_SIZE) {
+            FILE_PARTS.clear();
+        }
+        return FILE_PARTS.computeIfAbsent(key, k -> RequestBody.create(file, parseMediaType(detectMimeType(file))));
+    }
+
 
     /**
      * 检测文件 MIME 类型
@@ -288,20 +373,15 @@ public class OkHttpRequestBuilder {
                 String filePath = formData.getValue();
                 if (filePath != null && !filePath.isEmpty()) {
                     File file = new File(filePath);
-                    if (file.exists() && file.isFile()) {
-                        String mimeType = detectMimeType(file);
-                        builder.addFormDataPart(
-                                key,
-                                file.getName(),
-                                RequestBody.create(file, MediaType.parse(mimeType))
-                        );
+                    if (file.isFile()) {
+                        builder.addFormDataPart(key, file.getName(), fileRequestBody(file));
                     } else {
                         // 文件不存在或不是一个普通文件时，添加空文件占位
                         // 这样用户可以在响应中看到该字段，而不是静默失败
                         builder.addFormDataPart(
                                 key,
                                 "",
-                                RequestBody.create(EMPTY_BODY, MediaType.parse(DEFAULT_MIME_TYPE))
+                                RequestBody.create(EMPTY_BODY, parseMediaType(DEFAULT_MIME_TYPE))
                         );
                     }
                 }
@@ -0,0 +1,136 @@
+package com.laker.postman.http.runtime.okhttp;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.laker.postman.http.runtime.model.PreparedRequest;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
+import lombok.experimental.UtilityClass;
+import okhttp3.RequestBody;
+import okio.Buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 请求体压缩：按请求设置把请求体压缩成 gzip、deflate（zlib 格式）或 zstd。
+ * <p>
+ * 压缩器按线程复用，每次使用前重置，压测时每个虚拟用户线程只创建一次 Deflater / ZstdCompressCtx，
+ * 不会每个请求都分配新的本地压缩缓冲区。压缩后的请求体缓存在内存里，长度已知，重定向和重试时可以重复发送。
+ * </p>
+ */
+@UtilityClass
+public class RequestBodyCompressor {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int OS_UNKNOWN = 0xff;
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private static final ThreadLocal<Deflater> GZIP_DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    private static final ThreadLocal<Deflater> ZLIB_DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, false));
+    private static final ThreadLocal<ZstdCompressCtx> ZSTD_CONTEXTS =
+            ThreadLocal.withInitial(() -> new ZstdCompressCtx().setLevel(Zstd.defaultCompressionLevel()));
+    private static final ThreadLocal<byte[]> CHUNKS = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+
+    /**
+     * 按请求设置压缩请求体，并把压缩前后的字节数记到请求上
+     *
+     * @return 未开启压缩或请求体为空时原样返回
+     */
+    static RequestBody compress(PreparedRequest req, RequestBody body) {
+        req.requestBodyRawBytes = -1;
+        req.requestBodyCompressedBytes = -1;
+        String compression = HttpRequestBodyCompressions.normalize(req.requestBodyCompression);
+        if (body == null || HttpRequestBodyCompressions.NONE.equals(compression)) {
+            return body;
+        }
+        byte[] raw = readBytes(body);
+        if (raw.length == 0) {
+            return body;
+        }
+        byte[] compressed = compress(compression, raw);
+        req.requestBodyRawBytes = raw.length;
+        req.requestBodyCompressedBytes = compressed.length;
+        return RequestBody.create(compressed, body.contentType());
+    }
+
+    /**
+     * 压缩方式对应的 Content-Encoding，未开启压缩时返回 null
+     */
+    public static String contentEncoding(String compression) {
+        String normalized = HttpRequestBodyCompressions.normalize(compression);
+        return HttpRequestBodyCompressions.NONE.equals(normalized) ? null : normalized.toLowerCase(Locale.ROOT);
+    }
+
+    public static byte[] compress(String compression, byte[] raw) {
+        return switch (HttpRequestBodyCompressions.normalize(compression)) {
+            case HttpRequestBodyCompressions.GZIP -> gzip(raw);
+            case HttpRequestBodyCompressions.DEFLATE -> zlib(raw);
+            case HttpRequestBodyCompressions.ZSTD -> ZSTD_CONTEXTS.get().compress(raw);
+            default -> raw;
+        };
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(estimate(raw) + 18);
+        // 10 字节头：魔数、CM=8(deflate)、无标志位、无时间戳、无额外标志、未知操作系统
+        out.write(GZIP_MAGIC & 0xff);
+        out.write(GZIP_MAGIC >> 8);
+        out.write(Deflater.DEFLATED);
+        out.write(0);
+        writeIntLe(out, 0);
+        out.write(0);
+        out.write(OS_UNKNOWN);
+        deflate(GZIP_DEFLATERS.get(), raw, out);
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        writeIntLe(out, (int) crc.getValue());
+        writeIntLe(out, raw.length);
+        return out.toByteArray();
+    }
+
+    private static byte[] zlib(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(estimate(raw));
+        deflate(ZLIB_DEFLATERS.get(), raw, out);
+        return out.toByteArray();
+    }
+
+    private static void deflate(Deflater deflater, byte[] raw, ByteArrayOutputStream out) {
+        byte[] chunk = CHUNKS.get();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int count = deflater.deflate(chunk);
+                out.write(chunk, 0, count);
+            }
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    private static void writeIntLe(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+
+    private static int estimate(byte[] raw) {
+        return Math.max(64, raw.length / 2);
+    }
+
+    private static byte[] readBytes(RequestBody body) {
+        try (Buffer buffer = new Buffer()) {
+            body.writeTo(buffer);
+            return buffer.readByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read request body for compression", e);
+        }
+    }
+}
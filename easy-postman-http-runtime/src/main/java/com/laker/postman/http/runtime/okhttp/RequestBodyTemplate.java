@@ -0,0 +1,204 @@
+package com.laker.postman.http.runtime.okhttp;
+
+import com.laker.postman.http.runtime.model.PreparedRequest;
+import okhttp3.MediaType;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 请求体模板：按 {{变量}} 占位符把原始请求体切成静态片段和变量槽位，静态片段预先编码成字节。
+ * <p>
+ * 压测时同一个取样器每轮迭代的原始请求体和 Content-Type 都不变，模板只编译一次；
+ * 每轮只解析变量槽位并编码槽位的值，再和预编码的静态片段拼接。没有槽位的请求体整份复用。
+ * 模板实例不可变，可以被多个虚拟用户线程共享。
+ * </p>
+ * <p>
+ * 槽位逐个交给变量解析器，嵌套变量在槽位内部多轮解析；和整串解析的差别只在于
+ * 解析结果与相邻静态文本拼出新占位符这种情况不会再被解析。
+ * </p>
+ */
+public final class RequestBodyTemplate {
+
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{(.+?)}}");
+    private static final String DEFAULT_JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    /**
+     * 无状态的单字节/UTF-8 编码：分段编码再拼接和整串编码结果一致
+     */
+    private static final Set<Charset> SEGMENT_SAFE_CHARSETS = Set.of(
+            StandardCharsets.UTF_8,
+            StandardCharsets.US_ASCII,
+            StandardCharsets.ISO_8859_1
+    );
+
+    private final String source;
+    private final String contentType;
+    private final MediaType mediaType;
+    private final Charset charset;
+    private final boolean json;
+    private final boolean segmentSafe;
+    private final List<String> slots;
+    private final byte[][] staticBytes;
+    private final String[] staticTexts;
+    private final Rendered staticBody;
+
+    private RequestBodyTemplate(String source, String contentType) {
+        this.source = source;
+        this.contentType = contentType;
+        String actualContentType = contentType != null ? contentType : DEFAULT_JSON_CONTENT_TYPE;
+        this.mediaType = OkHttpRequestBuilder.parseMediaType(actualContentType);
+        this.charset = mediaType != null ? mediaType.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+        this.json = OkHttpRequestBuilder.isJsonContentType(actualContentType);
+        this.segmentSafe = SEGMENT_SAFE_CHARSETS.contains(charset);
+
+        List<String> texts = new ArrayList<>();
+        List<String> variableSlots = new ArrayList<>();
+        Matcher matcher = VARIABLE_PATTERN.matcher(source);
+        int last = 0;
+        while (matcher.find()) {
+            texts.add(source.substring(last, matcher.start()));
+            variableSlots.add(matcher.group());
+            last = matcher.end();
+        }
+        texts.add(source.substring(last));
+
+        this.slots = List.copyOf(variableSlots);
+        this.staticTexts = texts.toArray(new String[0]);
+        this.staticBytes = new byte[staticTexts.length][];
+        if (segmentSafe) {
+            for (int i = 0; i < staticTexts.length; i++) {
+                staticBytes[i] = staticTexts[i].getBytes(charset);
+            }
+        }
+        this.staticBody = slots.isEmpty() ? new Rendered(this, source, source.getBytes(charset)) : null;
+    }
+
+    /**
+     * 按请求当前的请求体和 Content-Type 编译模板
+     *
+     * @return 请求体为空，或是带注释的 JSON（发送前需要清理注释）时返回 null
+     */
+    public static RequestBodyTemplate compile(PreparedRequest request) {
+        if (request == null || request.body == null || request.body.isEmpty() || request.isMultipart) {
+            return null;
+        }
+        String contentType = OkHttpRequestBuilder.extractContentType(request.headersList);
+        String actualContentType = contentType != null ? contentType : DEFAULT_JSON_CONTENT_TYPE;
+        if (OkHttpRequestBuilder.isJsonContentType(actualContentType)
+                && OkHttpRequestBuilder.containsJsonComment(request.body)) {
+            return null;
+        }
+        return new RequestBodyTemplate(request.body, contentType);
+    }
+
+    /**
+     * 请求体是否仍是编译模板时的原文；前置脚本改写过请求体时返回 false
+     */
+    public boolean matches(String body) {
+        return source == body || source.equals(body);
+    }
+
+    public boolean hasVariables() {
+        return !slots.isEmpty();
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * 渲染一轮请求体
+     *
+     * @param resolver 解析单个 {{变量}} 占位符，无法解析时原样返回
+     */
+    public Rendered render(UnaryOperator<String> resolver) {
+        if (staticBody != null) {
+            return staticBody;
+        }
+        String[] values = new String[slots.size()];
+        int textLength = 0;
+        for (String text : staticTexts) {
+            textLength += text.length();
+        }
+        for (int i = 0; i < values.length; i++) {
+            String value = resolver.apply(slots.get(i));
+            values[i] = value != null ? value : slots.get(i);
+            textLength += values[i].length();
+        }
+
+        StringBuilder text = new StringBuilder(textLength);
+        for (int i = 0; i < values.length; i++) {
+            text.append(staticTexts[i]).append(values[i]);
+        }
+        text.append(staticTexts[values.length]);
+        String body = text.toString();
+
+        // 变量值可能带入 JSON 注释，此时交回构建器按原逻辑清理后再编码
+        if (json && OkHttpRequestBuilder.containsJsonComment(body)) {
+            return new Rendered(this, body, null);
+        }
+        if (!segmentSafe) {
+            return new Rendered(this, body, body.getBytes(charset));
+        }
+        byte[][] valueBytes = new byte[values.length][];
+        int byteLength = 0;
+        for (byte[] bytes : staticBytes) {
+            byteLength += bytes.length;
+        }
+        for (int i = 0; i < values.length; i++) {
+            valueBytes[i] = values[i].getBytes(charset);
+            byteLength += valueBytes[i].length;
+        }
+        byte[] bytes = new byte[byteLength];
+        int offset = 0;
+        for (int i = 0; i < values.length; i++) {
+            System.arraycopy(staticBytes[i], 0, bytes, offset, staticBytes[i].length);
+            offset += staticBytes[i].length;
+            System.arraycopy(valueBytes[i], 0, bytes, offset, valueBytes[i].length);
+            offset += valueBytes[i].length;
+        }
+        System.arraycopy(staticBytes[values.length], 0, bytes, offset, staticBytes[values.length].length);
+        return new Rendered(this, body, bytes);
+    }
+
+    /**
+     * 一轮渲染结果：文本写回 {@code PreparedRequest.body} 供脚本和结果展示，字节直接作为请求体发送
+     */
+    public static final class Rendered {
+        private final RequestBodyTemplate template;
+        private final String text;
+        private final byte[] bytes;
+
+        private Rendered(RequestBodyTemplate template, String text, byte[] bytes) {
+            this.template = template;
+            this.text = text;
+            this.bytes = bytes;
+        }
+
+        public String text() {
+            return text;
+        }
+
+        /**
+         * 预编码结果能否用于当前请求：请求体必须还是这次渲染出的同一个字符串，Content-Type 也未改变
+         */
+        boolean usableFor(String body, String contentType) {
+            return bytes != null && text == body && Objects.equals(template.contentType, contentType);
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        MediaType mediaType() {
+            return template.mediaType;
+        }
+    }
+}
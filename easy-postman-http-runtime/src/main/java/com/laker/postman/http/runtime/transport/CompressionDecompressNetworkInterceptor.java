@@ -1,5 +1,6 @@
 package com.laker.postman.http.runtime.transport;
 
+import com.github.luben.zstd.ZstdInputStream;
 import okhttp3.*;
 import okio.BufferedSource;
 import okio.GzipSource;
@@ -13,7 +14,7 @@ import java.util.zip.Inflater;
 import static com.laker.postman.util.HttpHeaderConstants.*;
 
 /**
- * 网络拦截器：自动解压 gzip、deflate、br 三种压缩格式，流式解压，兼容 SSE/chunked/普通响应
+ * 网络拦截器：自动解压 gzip、deflate、br、zstd 四种压缩格式，流式解压，兼容 SSE/chunked/普通响应
  * 严格参考 OkHttp BridgeInterceptor 的 promisesBody 逻辑，只有在响应确实有 body 时才解压
  * 头部处理与 BridgeInterceptor 保持一致，移除 Content-Encoding/Content-Length，保留 Content-Type
  */
@@ -51,6 +52,8 @@ public class CompressionDecompressNetworkInterceptor implements Interceptor {
             } else if ("br".equals(encoding)) {
                 BrotliInputStream brInputStream = new BrotliInputStream(response.body().byteStream());
                 decompressed = Okio.buffer(Okio.source(brInputStream));
+            } else if ("zstd".equals(encoding)) {
+                decompressed = Okio.buffer(Okio.source(new ZstdInputStream(response.body().byteStream())));
             } else {
                 return response;
             }
@@ -13,11 +13,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
+/**
+ * 无状态的共享实例：显式 Cookie 头从请求 tag 上的 {@link PreparedRequest} 读取，派生客户端可以跨请求复用。
+ */
 final class CookieHeaderMergeNetworkInterceptor implements Interceptor {
-    private final PreparedRequest preparedRequest;
+    static final CookieHeaderMergeNetworkInterceptor INSTANCE = new CookieHeaderMergeNetworkInterceptor();
 
-    CookieHeaderMergeNetworkInterceptor(PreparedRequest preparedRequest) {
-        this.preparedRequest = preparedRequest;
+    private CookieHeaderMergeNetworkInterceptor() {
     }
 
     static boolean hasEnabledExplicitCookieHeader(PreparedRequest preparedRequest) {
@@ -30,7 +32,7 @@ final class CookieHeaderMergeNetworkInterceptor implements Interceptor {
     }
 
     private Request mergeExplicitCookieHeader(Request request) {
-        String explicitCookie = explicitCookieHeader(preparedRequest);
+        String explicitCookie = explicitCookieHeader(request.tag(PreparedRequest.class));
         if (isBlank(explicitCookie)) {
             return request;
         }
@@ -11,31 +11,64 @@ import com.laker.postman.http.runtime.okhttp.OkHttpExchangeEventListener;
 import com.laker.postman.http.runtime.ssl.SSLConfigurationUtil;
 import com.laker.postman.request.model.HttpRequestItem;
 import com.laker.postman.request.model.TransportAuth;
+import okhttp3.Authenticator;
 import okhttp3.CookieJar;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
 
-import java.net.URI;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import static com.laker.postman.request.util.HttpUrlUtil.extractBaseUri;
 
+/**
+ * 在基础客户端上叠加请求级设置（超时、HTTP 版本、Cookie、摘要认证、采集策略）得到实际发请求的客户端。
+ * <p>
+ * 派生客户端只由 {@link DerivedClientSignature} 决定，按基础客户端分组缓存；
+ * 拦截器、认证器和事件监听器都是共享实例，请求级状态通过 OkHttp 请求 tag 上的 {@link PreparedRequest} 传递，
+ * 高 RPS 压测时不再每个请求都 newBuilder().build() 一次。
+ * </p>
+ */
 public final class HttpClientResolver {
     static final HttpClientResolver DEFAULT = new HttpClientResolver();
 
+    private static final Interceptor COMPRESSION_INTERCEPTOR = new CompressionDecompressNetworkInterceptor();
+    private static final EventListener.Factory EXCHANGE_EVENT_LISTENER_FACTORY = call -> {
+        PreparedRequest preparedRequest = call.request().tag(PreparedRequest.class);
+        return preparedRequest == null ? EventListener.NONE : new OkHttpExchangeEventListener(preparedRequest);
+    };
+    // 摘要认证的 nonce 计数只在一次挑战内有意义，每次挑战按请求 tag 上的凭据新建认证器
+    private static final Authenticator DIGEST_AUTHENTICATOR = (route, response) -> {
+        TransportAuth auth = usableDigestAuth(response.request().tag(PreparedRequest.class));
+        return auth == null
+                ? null
+                : new DigestAuthenticator(auth.username, auth.password == null ? "" : auth.password)
+                .authenticate(route, response);
+    };
+    // 基础客户端被清理后，其派生客户端随弱引用键一起回收
+    private static final Map<OkHttpClient, Map<DerivedClientSignature, OkHttpClient>> DERIVED_CLIENTS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
     public OkHttpClient resolveClient(PreparedRequest request, HttpBaseClientProvider baseClientProvider) {
         OkHttpClient baseClient = baseClientProvider == null
                 ? resolveDefaultBaseClient(request)
                 : baseClientProvider.getBaseClient(request);
-        return buildDynamicClient(baseClient, request, request.requestTimeoutMs);
+        DerivedClientSignature signature = DerivedClientSignature.of(request, request.requestTimeoutMs);
+        return DERIVED_CLIENTS.computeIfAbsent(baseClient, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(signature, key -> buildDerivedClient(baseClient, key));
     }
 
     OkHttpClient resolveDefaultBaseClient(PreparedRequest request) {
         String baseUri = extractBaseUri(request.url);
         boolean isolateSslConfiguration = shouldIsolateConnectionPool(request);
         return isolateSslConfiguration
-                ? OkHttpClientManager.createClientForSslMode(
+                ? OkHttpClientManager.getClientForSslMode(
                         baseUri,
                         request.followRedirects,
                         resolveSslVerificationMode(request),
@@ -49,16 +82,7 @@ public final class HttpClientResolver {
             return false;
         }
 
-        URI uri;
-        try {
-            uri = URI.create(preparedRequest.url);
-        } catch (Exception e) {
-            return false;
-        }
-
-        String scheme = uri.getScheme();
-        boolean secureScheme = "https".equalsIgnoreCase(scheme) || "wss".equalsIgnoreCase(scheme);
-        if (!secureScheme) {
+        if (!hasSecureScheme(preparedRequest.url)) {
             return false;
         }
 
@@ -84,30 +108,32 @@ public final class HttpClientResolver {
         return ("https".equalsIgnoreCase(scheme) || "wss".equalsIgnoreCase(scheme)) ? 443 : 80;
     }
 
-    private OkHttpClient buildDynamicClient(OkHttpClient baseClient,
-                                            PreparedRequest preparedRequest,
-                                            int timeoutMs) {
+    private OkHttpClient buildDerivedClient(OkHttpClient baseClient, DerivedClientSignature signature) {
         OkHttpClient.Builder builder = baseClient.newBuilder();
-        HttpCapturePolicy capturePolicy = HttpCaptureProfiles.resolve(preparedRequest);
-        boolean needEventListener = capturePolicy.collectMetrics()
-                || capturePolicy.collectEventDetails()
-                || capturePolicy.emitNetworkLog();
-        if (CookieHeaderMergeNetworkInterceptor.hasEnabledExplicitCookieHeader(preparedRequest)) {
-            builder.addNetworkInterceptor(new CookieHeaderMergeNetworkInterceptor(preparedRequest));
-        }
-        if (capturePolicy.captureSentRequest()) {
-            builder.addNetworkInterceptor(
-                    new RequestSnapshotNetworkInterceptor(preparedRequest, capturePolicy.captureSentRequestBody())
-            );
+        if (signature.mergeExplicitCookieHeader()) {
+            builder.addNetworkInterceptor(CookieHeaderMergeNetworkInterceptor.INSTANCE);
         }
-        builder.addNetworkInterceptor(new CompressionDecompressNetworkInterceptor());
-
-        applyRequestSettings(builder, preparedRequest);
+        if (signature.captureSentRequest()) {
+            builder.addNetworkInterceptor(RequestSnapshotNetworkInterceptor.INSTANCE);
+        }
+        builder.addNetworkInterceptor(COMPRESSION_INTERCEPTOR);
 
-        if (needEventListener) {
-            builder.eventListenerFactory(call -> new OkHttpExchangeEventListener(preparedRequest));
+        if (!signature.cookieJarEnabled()) {
+            builder.cookieJar(CookieJar.NO_COOKIES);
+        }
+        if (signature.digestAuth()) {
+            builder.authenticator(DIGEST_AUTHENTICATOR);
+        }
+        if (HttpRequestItem.HTTP_VERSION_HTTP_1_1.equals(signature.httpVersion())) {
+            builder.protocols(List.of(Protocol.HTTP_1_1));
+        } else if (HttpRequestItem.HTTP_VERSION_HTTP_2.equals(signature.httpVersion())) {
+            builder.protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        }
+        if (signature.exchangeEventListener()) {
+            builder.eventListenerFactory(EXCHANGE_EVENT_LISTENER_FACTORY);
         }
 
+        int timeoutMs = signature.timeoutMs();
         if (timeoutMs > 0) {
             builder.connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
                     .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
@@ -117,38 +143,16 @@ public final class HttpClientResolver {
         return builder.build();
     }
 
-    private void applyRequestSettings(OkHttpClient.Builder builder,
-                                      PreparedRequest preparedRequest) {
-        if (!preparedRequest.cookieJarEnabled) {
-            builder.cookieJar(CookieJar.NO_COOKIES);
-        }
-
-        applyDigestAuthenticator(builder, preparedRequest);
-
-        String httpVersion = preparedRequest.httpVersion != null
-                ? preparedRequest.httpVersion
-                : HttpRequestItem.HTTP_VERSION_AUTO;
-        if (HttpRequestItem.HTTP_VERSION_HTTP_1_1.equals(httpVersion)) {
-            builder.protocols(List.of(Protocol.HTTP_1_1));
-        } else if (HttpRequestItem.HTTP_VERSION_HTTP_2.equals(httpVersion)) {
-            builder.protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1));
-        }
-    }
-
-    private void applyDigestAuthenticator(OkHttpClient.Builder builder,
-                                          PreparedRequest preparedRequest) {
+    static TransportAuth usableDigestAuth(PreparedRequest preparedRequest) {
         TransportAuth auth = preparedRequest != null ? preparedRequest.transportAuth : null;
         if (auth == null || !auth.isDigest()) {
-            return;
+            return null;
         }
         if (isBlank(auth.username) || containsUnresolvedPlaceholder(auth.username)
                 || containsUnresolvedPlaceholder(auth.password)) {
-            return;
+            return null;
         }
-        builder.authenticator(new DigestAuthenticator(
-                auth.username,
-                auth.password == null ? "" : auth.password
-        ));
+        return auth;
     }
 
     private SSLConfigurationUtil.SSLVerificationMode resolveGlobalSslVerificationMode() {
@@ -165,11 +169,53 @@ public final class HttpClientResolver {
                 : SSLConfigurationUtil.SSLVerificationMode.STRICT;
     }
 
-    private boolean isBlank(String value) {
+    private static boolean hasSecureScheme(String url) {
+        return url != null
+                && (url.regionMatches(true, 0, "https:", 0, 6) || url.regionMatches(true, 0, "wss:", 0, 4));
+    }
+
+    private static boolean isBlank(String value) {
         return value == null || value.trim().isEmpty();
     }
 
-    private boolean containsUnresolvedPlaceholder(String value) {
+    private static boolean containsUnresolvedPlaceholder(String value) {
         return value != null && value.contains("{{") && value.contains("}}");
     }
+
+    /**
+     * 决定派生客户端配置的全部请求级设置；两个请求签名相同即可共用同一个派生客户端
+     */
+    record DerivedClientSignature(int timeoutMs,
+                                  boolean cookieJarEnabled,
+                                  String httpVersion,
+                                  boolean digestAuth,
+                                  boolean mergeExplicitCookieHeader,
+                                  boolean captureSentRequest,
+                                  boolean exchangeEventListener) {
+
+        static DerivedClientSignature of(PreparedRequest preparedRequest, int timeoutMs) {
+            HttpCapturePolicy capturePolicy = HttpCaptureProfiles.resolve(preparedRequest);
+            return new DerivedClientSignature(
+                    Math.max(0, timeoutMs),
+                    preparedRequest.cookieJarEnabled,
+                    normalizeHttpVersion(preparedRequest.httpVersion),
+                    usableDigestAuth(preparedRequest) != null,
+                    CookieHeaderMergeNetworkInterceptor.hasEnabledExplicitCookieHeader(preparedRequest),
+                    capturePolicy.captureSentRequest(),
+                    capturePolicy.collectMetrics()
+                            || capturePolicy.collectEventDetails()
+                            || capturePolicy.emitNetworkLog()
+            );
+        }
+
+        private static String normalizeHttpVersion(String httpVersion) {
+            if (HttpRequestItem.HTTP_VERSION_HTTP_1_1.equals(httpVersion)) {
+                return HttpRequestItem.HTTP_VERSION_HTTP_1_1;
+            }
+            if (HttpRequestItem.HTTP_VERSION_HTTP_2.equals(httpVersion)) {
+                return HttpRequestItem.HTTP_VERSION_HTTP_2;
+            }
+            return HttpRequestItem.HTTP_VERSION_AUTO;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.laker.postman.http.runtime.transport;
 
+import com.laker.postman.http.runtime.model.HttpCaptureProfiles;
 import com.laker.postman.http.runtime.model.PreparedRequest;
 import com.laker.postman.http.runtime.okhttp.OkHttpRequestSnapshotCapture;
 import okhttp3.Interceptor;
@@ -7,20 +8,27 @@ import okhttp3.Response;
 
 import java.io.IOException;
 
+/**
+ * 无状态的共享实例：采集目标和是否采集请求体都从请求 tag 上的 {@link PreparedRequest} 读取。
+ */
 final class RequestSnapshotNetworkInterceptor implements Interceptor {
-    private final PreparedRequest preparedRequest;
-    private final boolean captureBody;
+    static final RequestSnapshotNetworkInterceptor INSTANCE = new RequestSnapshotNetworkInterceptor();
 
-    RequestSnapshotNetworkInterceptor(PreparedRequest preparedRequest, boolean captureBody) {
-        this.preparedRequest = preparedRequest;
-        this.captureBody = captureBody;
+    private RequestSnapshotNetworkInterceptor() {
     }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
-        // network interceptor 才能看到 OkHttp 实际使用的连接和补齐后的请求头。
-        HttpExchangeTraceSupport.updateFromConnection(preparedRequest, chain.connection());
-        OkHttpRequestSnapshotCapture.capture(preparedRequest, chain.request(), captureBody);
+        PreparedRequest preparedRequest = chain.request().tag(PreparedRequest.class);
+        if (preparedRequest != null) {
+            // network interceptor 才能看到 OkHttp 实际使用的连接和补齐后的请求头。
+            HttpExchangeTraceSupport.updateFromConnection(preparedRequest, chain.connection());
+            OkHttpRequestSnapshotCapture.capture(
+                    preparedRequest,
+                    chain.request(),
+                    HttpCaptureProfiles.resolve(preparedRequest).captureSentRequestBody()
+            );
+        }
         return chain.proceed(chain.request());
     }
 }
@@ -6,7 +6,9 @@ import com.laker.postman.http.runtime.model.HttpCaptureProfile;
 import com.laker.postman.http.runtime.model.HttpCaptureProfiles;
 import com.laker.postman.http.runtime.model.PreparedRequest;
 import com.laker.postman.http.runtime.okhttp.OkHttpClientManager;
+import com.laker.postman.request.model.AuthType;
 import com.laker.postman.request.model.HttpRequestProxyPolicy;
+import com.laker.postman.request.model.TransportAuth;
 import okhttp3.OkHttpClient;
 import org.testng.annotations.Test;
 
@@ -14,6 +16,8 @@ import java.net.Proxy;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 public class HttpClientResolverTest {
@@ -69,6 +73,43 @@ public class HttpClientResolverTest {
         assertFalse(hasNetworkInterceptor(client, RequestSnapshotNetworkInterceptor.class));
     }
 
+    @Test
+    public void sameRequestSettingsShouldReuseDerivedClient() {
+        OkHttpClient baseClient = new OkHttpClient();
+        HttpClientResolver resolver = new HttpClientResolver();
+        PreparedRequest first = requestWithProxyPolicy(HttpRequestProxyPolicy.DEFAULT);
+        first.requestTimeoutMs = 1000;
+        PreparedRequest second = requestWithProxyPolicy(HttpRequestProxyPolicy.DEFAULT);
+        second.url = "https://api.example.com/other";
+        second.requestTimeoutMs = 1000;
+        PreparedRequest longerTimeout = requestWithProxyPolicy(HttpRequestProxyPolicy.DEFAULT);
+        longerTimeout.requestTimeoutMs = 2000;
+
+        OkHttpClient firstClient = resolver.resolveClient(first, ignored -> baseClient);
+
+        assertSame(resolver.resolveClient(second, ignored -> baseClient), firstClient);
+        assertSame(new HttpClientResolver().resolveClient(second, ignored -> baseClient), firstClient);
+        assertNotSame(resolver.resolveClient(longerTimeout, ignored -> baseClient), firstClient);
+        assertNotSame(resolver.resolveClient(first, ignored -> new OkHttpClient()), firstClient);
+    }
+
+    @Test
+    public void derivedClientSignatureShouldIgnorePerRequestValues() {
+        PreparedRequest first = requestWithProxyPolicy(HttpRequestProxyPolicy.DEFAULT);
+        first.transportAuth = digestAuth("alice", "secret");
+        PreparedRequest second = requestWithProxyPolicy(HttpRequestProxyPolicy.DEFAULT);
+        second.url = "https://api.example.com/users/42";
+        second.transportAuth = digestAuth("bob", "other");
+        PreparedRequest unresolved = requestWithProxyPolicy(HttpRequestProxyPolicy.DEFAULT);
+        unresolved.transportAuth = digestAuth("{{user}}", "secret");
+
+        HttpClientResolver.DerivedClientSignature signature = HttpClientResolver.DerivedClientSignature.of(first, 0);
+
+        assertEquals(HttpClientResolver.DerivedClientSignature.of(second, 0), signature);
+        assertTrue(signature.digestAuth());
+        assertFalse(HttpClientResolver.DerivedClientSignature.of(unresolved, 0).digestAuth());
+    }
+
     @Test
     public void requestUseProxyPolicyShouldUseConfiguredProxyWhenGlobalProxyDisabled() {
         try {
@@ -92,6 +133,10 @@ public class HttpClientResolverTest {
         return request;
     }
 
+    private static TransportAuth digestAuth(String username, String password) {
+        return new TransportAuth(AuthType.DIGEST.getConstant(), username, password);
+    }
+
     private static HttpRuntimeSettings manualProxySettings(boolean proxyEnabled) {
         return new HttpRuntimeSettings() {
             @Override
@@ -22,6 +22,8 @@ public class PerformanceRealtimeMetrics {
     private final AtomicLong sseMatchedMessages = new AtomicLong();
     private final AtomicLong sseFirstMessageLatencyTotalMs = new AtomicLong();
     private final AtomicLong sseFirstMessageLatencyCount = new AtomicLong();
+    private final AtomicLong sseInterEventGapTotalMs = new AtomicLong();
+    private final AtomicLong sseInterEventGapCount = new AtomicLong();
     private final Map<Object, StreamSessionMetrics> webSocketSessionStarts = new ConcurrentHashMap<>();
     private final Map<Object, StreamSessionMetrics> sseSessionStarts = new ConcurrentHashMap<>();
     private final AtomicInteger activeWebSocketSessions = new AtomicInteger();
@@ -43,6 +45,8 @@ public class PerformanceRealtimeMetrics {
     private final AtomicLong lastSseMatchedMessages = new AtomicLong();
     private final AtomicLong lastSseFirstMessageLatencyTotalMs = new AtomicLong();
     private final AtomicLong lastSseFirstMessageLatencyCount = new AtomicLong();
+    private final AtomicLong lastSseInterEventGapTotalMs = new AtomicLong();
+    private final AtomicLong lastSseInterEventGapCount = new AtomicLong();
 
     public synchronized void reset(long nowMs) {
         webSocketSentMessages.set(0);
@@ -54,6 +58,8 @@ public class PerformanceRealtimeMetrics {
         sseMatchedMessages.set(0);
         sseFirstMessageLatencyTotalMs.set(0);
         sseFirstMessageLatencyCount.set(0);
+        sseInterEventGapTotalMs.set(0);
+        sseInterEventGapCount.set(0);
         webSocketSessionStarts.clear();
         sseSessionStarts.clear();
         activeWebSocketSessions.set(0);
@@ -73,6 +79,8 @@ public class PerformanceRealtimeMetrics {
         lastSseMatchedMessages.set(0);
         lastSseFirstMessageLatencyTotalMs.set(0);
         lastSseFirstMessageLatencyCount.set(0);
+        lastSseInterEventGapTotalMs.set(0);
+        lastSseInterEventGapCount.set(0);
     }
 
     public void recordWebSocketSent() {
@@ -168,6 +176,14 @@ public class PerformanceRealtimeMetrics {
         recordSessionLatency(sseSessionStarts, session, latencyMs);
     }
 
+    /**
+     * 记录同一条 SSE 流内相邻两个事件的间隔，趋势图按窗口取平均
+     */
+    public void recordSseInterEventGap(long gapMs) {
+        sseInterEventGapTotalMs.addAndGet(Math.max(0, gapMs));
+        sseInterEventGapCount.incrementAndGet();
+    }
+
     public void recordSseSessionStart(Object session, long startTimeMs) {
         recordSseSessionStart(session, startTimeMs, "", "");
     }
@@ -220,6 +236,8 @@ public class PerformanceRealtimeMetrics {
         long currentSseMatched = sseMatchedMessages.get();
         long currentSseLatencyTotal = sseFirstMessageLatencyTotalMs.get();
         long currentSseLatencyCount = sseFirstMessageLatencyCount.get();
+        long currentSseGapTotal = sseInterEventGapTotalMs.get();
+        long currentSseGapCount = sseInterEventGapCount.get();
         int webSocketActiveSessionCount = peakAndReset(activeWebSocketSessions, peakWebSocketSessions);
         int sseActiveSessionCount = peakAndReset(activeSseSessions, peakSseSessions);
 
@@ -245,7 +263,11 @@ public class PerformanceRealtimeMetrics {
                         sseLatencyCountDelta
                 ),
                 sseActiveSessionCount,
-                activeDuration(activeSseSessions.get(), sseActiveSessionStartTotalMs.get(), nowMs)
+                activeDuration(activeSseSessions.get(), sseActiveSessionStartTotalMs.get(), nowMs),
+                average(
+                        currentSseGapTotal - lastSseInterEventGapTotalMs.getAndSet(currentSseGapTotal),
+                        currentSseGapCount - lastSseInterEventGapCount.getAndSet(currentSseGapCount)
+                )
         );
     }
 
@@ -401,10 +423,11 @@ public class PerformanceRealtimeMetrics {
             double sseMatchedRate,
             double sseFirstMessageLatencyMs,
             int sseActiveSessions,
-            double sseActiveSessionDurationMs
+            double sseActiveSessionDurationMs,
+            double sseInterEventGapMs
     ) {
         public static Sample empty() {
-            return new Sample(0, 0, 0, Double.NaN, 0, 0, 0, 0, Double.NaN, 0, 0);
+            return new Sample(0, 0, 0, Double.NaN, 0, 0, 0, 0, Double.NaN, 0, 0, Double.NaN);
         }
     }
 
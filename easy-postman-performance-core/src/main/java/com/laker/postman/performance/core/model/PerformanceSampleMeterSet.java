@@ -12,8 +12,11 @@ final class PerformanceSampleMeterSet {
     private final PerformanceCounter matchedMessages = new PerformanceCounter();
     private final PerformanceDistributionSummary sentBytes = new PerformanceDistributionSummary();
     private final PerformanceDistributionSummary receivedBytes = new PerformanceDistributionSummary();
+    private final PerformanceCounter requestBodyRawBytes = new PerformanceCounter();
+    private final PerformanceCounter requestBodyCompressedBytes = new PerformanceCounter();
     private final PerformanceTimer durations = new PerformanceTimer();
     private final PerformanceTimer firstMessageLatencies = new PerformanceTimer();
+    private final SseStreamMeter sseStreams = new SseStreamMeter();
     private final PerformanceSampleTimeWindow sampleWindow = new PerformanceSampleTimeWindow();
     private final AtomicReference<String> apiName = new AtomicReference<>("");
 
@@ -33,12 +36,17 @@ final class PerformanceSampleMeterSet {
         matchedMessages.increment(result.matchedMessages);
         sentBytes.record(result.sentBytes);
         receivedBytes.record(result.receivedBytes);
+        requestBodyRawBytes.increment(result.requestBodyRawBytes);
+        requestBodyCompressedBytes.increment(result.requestBodyCompressedBytes);
         if (result.apiName != null && !result.apiName.isBlank()) {
             apiName.compareAndSet("", result.apiName);
         }
         if (result.firstMessageLatencyMs >= 0) {
             firstMessageLatencies.record(result.firstMessageLatencyMs);
         }
+        if (result.sseStreamStats != null) {
+            sseStreams.record(result.sseStreamStats);
+        }
         total.increment();
     }
 
@@ -50,10 +58,13 @@ final class PerformanceSampleMeterSet {
         matchedMessages.clear();
         sentBytes.clear();
         receivedBytes.clear();
+        requestBodyRawBytes.clear();
+        requestBodyCompressedBytes.clear();
         sampleWindow.clear();
         apiName.set("");
         firstMessageLatencies.clear();
         durations.clear();
+        sseStreams.clear();
     }
 
     String apiName() {
@@ -80,6 +91,8 @@ final class PerformanceSampleMeterSet {
                 matchedMessages.count(),
                 sentBytes.totalAmount(),
                 receivedBytes.totalAmount(),
+                requestBodyRawBytes.count(),
+                requestBodyCompressedBytes.count(),
                 sampleWindow.firstStartMs(),
                 sampleWindow.lastEndMs(),
                 sampleWindow.spanSeconds(),
@@ -88,7 +101,9 @@ final class PerformanceSampleMeterSet {
                 durations.snapshot(),
                 firstMessageLatencies.count() == 0 ? Double.NaN : firstMessageLatencies.meanMs(),
                 firstMessageLatencies.avgMs(),
-                firstMessageLatencies.snapshot()
+                firstMessageLatencies.snapshot(),
+                sseStreams.meanGapMs(),
+                sseStreams.snapshot()
         );
     }
 
@@ -122,8 +137,11 @@ final class PerformanceSampleMeterSet {
                 PerformanceMetricMath.rate(snapshot.sentBytes(), spanSeconds),
                 PerformanceMetricMath.rate(snapshot.receivedBytes(), spanSeconds),
                 snapshot.avgReceivedBytes(),
+                snapshot.requestBodyRawBytes(),
+                snapshot.requestBodyCompressedBytes(),
                 snapshot.avgFirstMessageLatencyRoundedMs(),
-                snapshot.firstMessageLatencyStats()
+                snapshot.firstMessageLatencyStats(),
+                snapshot.sseStreams()
         );
     }
 
@@ -12,6 +12,8 @@ record PerformanceSampleMeterSnapshot(
         long matchedMessages,
         long sentBytes,
         long receivedBytes,
+        long requestBodyRawBytes,
+        long requestBodyCompressedBytes,
         long firstSampleStartTimeMs,
         long lastSampleEndTimeMs,
         double sampleSpanSeconds,
@@ -20,7 +22,9 @@ record PerformanceSampleMeterSnapshot(
         PerformanceStatsSnapshot.DurationStats durationStats,
         double avgFirstMessageLatencyMs,
         long avgFirstMessageLatencyRoundedMs,
-        PerformanceStatsSnapshot.DurationStats firstMessageLatencyStats
+        PerformanceStatsSnapshot.DurationStats firstMessageLatencyStats,
+        double avgInterEventGapMs,
+        PerformanceStatsSnapshot.SseStreamSummary sseStreams
 ) {
     static PerformanceSampleMeterSnapshot empty(String apiId, String apiName, PerformanceProtocol protocol) {
         return new PerformanceSampleMeterSnapshot(
@@ -40,10 +44,14 @@ record PerformanceSampleMeterSnapshot(
                 0,
                 0,
                 0,
+                0,
+                0,
                 PerformanceStatsSnapshot.DurationStats.empty(),
                 Double.NaN,
                 0,
-                PerformanceStatsSnapshot.DurationStats.empty()
+                PerformanceStatsSnapshot.DurationStats.empty(),
+                Double.NaN,
+                PerformanceStatsSnapshot.SseStreamSummary.empty()
         );
     }
 }
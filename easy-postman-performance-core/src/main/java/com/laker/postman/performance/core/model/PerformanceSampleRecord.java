@@ -25,7 +25,12 @@ public class PerformanceSampleRecord {
     long sentBytes;
     // 接收字节数：响应头 + 响应体，worker/master 合并时直接求和
     long receivedBytes;
+    // 请求体压缩前后的字节数，只统计开启了请求体压缩的样本，未压缩为 0
+    long requestBodyRawBytes;
+    long requestBodyCompressedBytes;
     long firstMessageLatencyMs;
+    // SSE 流内统计（事件间隔分桶、吞吐、卡顿），其它协议为 null
+    SseStreamStats sseStreamStats;
     boolean successful;
 
     public PerformanceSampleRecord(String apiId,
@@ -45,7 +50,10 @@ public class PerformanceSampleRecord {
                                    int matchedMessages,
                                    long sentBytes,
                                    long receivedBytes,
+                                   long requestBodyRawBytes,
+                                   long requestBodyCompressedBytes,
                                    long firstMessageLatencyMs,
+                                   SseStreamStats sseStreamStats,
                                    boolean successful) {
         this.apiId = apiId == null ? "" : apiId;
         this.apiName = apiName == null ? "" : apiName;
@@ -65,7 +73,10 @@ public class PerformanceSampleRecord {
         this.matchedMessages = Math.max(0, matchedMessages);
         this.sentBytes = Math.max(0, sentBytes);
         this.receivedBytes = Math.max(0, receivedBytes);
+        this.requestBodyRawBytes = Math.max(0, requestBodyRawBytes);
+        this.requestBodyCompressedBytes = Math.max(0, requestBodyCompressedBytes);
         this.firstMessageLatencyMs = firstMessageLatencyMs;
+        this.sseStreamStats = sseStreamStats;
         this.successful = successful;
     }
 
@@ -77,7 +88,10 @@ public class PerformanceSampleRecord {
         result.matchedMessages = matchedMessages;
         result.sentBytes = sentBytes;
         result.receivedBytes = receivedBytes;
+        result.requestBodyRawBytes = requestBodyRawBytes;
+        result.requestBodyCompressedBytes = requestBodyCompressedBytes;
         result.firstMessageLatencyMs = firstMessageLatencyMs;
+        result.sseStreamStats = sseStreamStats;
         return result;
     }
 }
@@ -78,8 +78,14 @@ public final class PerformanceStatsSnapshot {
             double receivedBytesPerSecond,
             // 平均接收字节数：receivedBytes / total，用于对齐 JMeter Avg. Bytes 口径
             long avgReceivedBytes,
+            // 开启请求体压缩的样本压缩前的请求体字节数
+            long requestBodyRawBytes,
+            // 开启请求体压缩的样本实际发送的请求体字节数
+            long requestBodyCompressedBytes,
             long avgFirstMessageLatencyMs,
-            DurationStats firstMessageLatencyStats
+            DurationStats firstMessageLatencyStats,
+            // SSE 流内统计，其它协议为 SseStreamSummary.empty()
+            SseStreamSummary sseStreams
     ) {
         ApiSummary withName(String newName) {
             return new ApiSummary(
@@ -105,8 +111,11 @@ public final class PerformanceStatsSnapshot {
                     sentBytesPerSecond,
                     receivedBytesPerSecond,
                     avgReceivedBytes,
+                    requestBodyRawBytes,
+                    requestBodyCompressedBytes,
                     avgFirstMessageLatencyMs,
-                    firstMessageLatencyStats
+                    firstMessageLatencyStats,
+                    sseStreams
             );
         }
     }
@@ -123,4 +132,39 @@ public final class PerformanceStatsSnapshot {
             return new DurationStats(0, 0, 0, 0, 0, 0);
         }
     }
+
+    /**
+     * SSE 流内统计：事件间隔分布、抖动、单流吞吐分布和卡顿
+     */
+    public record SseStreamSummary(
+            // 有流内统计的流数
+            long streams,
+            // 至少卡顿一次的流数，这些样本已计为失败
+            long stalledStreams,
+            // 卡顿总次数：事件间隔达到阈值的次数
+            long stalls,
+            // 事件间隔分布，分位值按固定分桶估算
+            DurationStats interEventGapStats,
+            // 抖动：全部事件间隔的标准差
+            double interEventJitterMs,
+            // 事件间隔直方图，按 SseStreamStats.gapBucketUpperBoundsMs() 分桶
+            List<Long> interEventGapBuckets,
+            // 单流事件吞吐（events/s）在各条流之间的分布
+            DurationStats eventsPerSecondStats,
+            // 单流字节吞吐（bytes/s）在各条流之间的分布
+            DurationStats bytesPerSecondStats
+    ) {
+        public static SseStreamSummary empty() {
+            return new SseStreamSummary(0, 0, 0, DurationStats.empty(), 0, List.of(),
+                    DurationStats.empty(), DurationStats.empty());
+        }
+
+        public long interEventGapCount() {
+            long count = 0;
+            for (Long bucket : interEventGapBuckets) {
+                count += bucket == null ? 0 : bucket;
+            }
+            return count;
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package com.laker.postman.performance.core.model;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * 趋势曲线降采样：Largest-Triangle-Three-Buckets (LTTB)。
+ * <p>
+ * 首尾点固定保留，中间按点数均分成桶，每个桶选出与上一个选中点、下一个桶均值构成三角形面积最大的点，
+ * 尖峰和拐点会被保留下来，适合把几万点的长稳压测曲线缩到和图表像素宽度相当的点数。
+ * 取值为 NaN 的点表示该窗口没有样本：桶里有有效值时不选它，整个桶都是 NaN 时保留一个 NaN 作为断点。
+ * </p>
+ */
+@UtilityClass
+public class PerformanceTrendDownsampler {
+
+    /**
+     * @param timesMs   按时间升序的横坐标
+     * @param values    与 timesMs 一一对应的取值，NaN 表示断点
+     * @param threshold 目标点数，小于 3 时按 3 处理
+     * @return 选中点的下标，升序；点数不超过目标时原样返回全部下标
+     */
+    public static int[] largestTriangleThreeBuckets(long[] timesMs, double[] values, int threshold) {
+        int size = Math.min(timesMs.length, values.length);
+        int target = Math.max(3, threshold);
+        if (size <= target) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] sampled = new int[target];
+        int sampledCount = 0;
+        // 中间 target - 2 个桶平分首尾之外的点
+        double bucketSize = (double) (size - 2) / (target - 2);
+        int selected = 0;
+        sampled[sampledCount++] = selected;
+        for (int bucket = 0; bucket < target - 2; bucket++) {
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double nextX = 0;
+            double nextY = 0;
+            int nextCount = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                if (Double.isFinite(values[i])) {
+                    nextX += timesMs[i] - timesMs[0];
+                    nextY += values[i];
+                    nextCount++;
+                }
+            }
+            if (nextCount > 0) {
+                nextX /= nextCount;
+                nextY /= nextCount;
+            } else {
+                nextX = timesMs[Math.min(nextStart, size - 1)] - timesMs[0];
+                nextY = Double.NaN;
+            }
+
+            double selectedX = timesMs[selected] - timesMs[0];
+            double selectedY = values[selected];
+            // 上一个选中点或下一个桶是断点时，用另一端代替，避免面积算成 NaN
+            double leftY = Double.isFinite(selectedY) ? selectedY : nextY;
+            double rightY = Double.isFinite(nextY) ? nextY : leftY;
+
+            int rangeStart = (int) Math.floor(bucket * bucketSize) + 1;
+            int rangeEnd = Math.min((int) Math.floor((bucket + 1) * bucketSize) + 1, size - 1);
+            int chosen = rangeStart;
+            double maxArea = -1D;
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                if (!Double.isFinite(values[i])) {
+                    continue;
+                }
+                double area = Double.isFinite(leftY)
+                        ? Math.abs((selectedX - nextX) * (values[i] - leftY)
+                        - (selectedX - (timesMs[i] - timesMs[0])) * (rightY - leftY))
+                        : 0D;
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            selected = chosen;
+            sampled[sampledCount++] = selected;
+        }
+        sampled[sampledCount] = size - 1;
+        return sampled;
+    }
+}
@@ -0,0 +1,63 @@
+package com.laker.postman.performance.core.model;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 趋势图上的各条指标曲线，key 同时用作分层趋势存储和 JSON 报表里的序列名。
+ */
+public enum PerformanceTrendSeries {
+    HTTP_ACTIVE_USERS("http.activeUsers", true, PerformanceTrendSnapshot::activeUsers),
+    HTTP_SAMPLE_RATE("http.sampleRate", false, snapshot -> snapshot.http().sampleRate()),
+    HTTP_AVG_DURATION("http.avgDurationMs", false, snapshot -> snapshot.http().avgDurationMs()),
+    HTTP_FAILURE_PERCENT("http.failurePercent", false, snapshot -> snapshot.http().failurePercent()),
+
+    WEBSOCKET_ACTIVE_CONNECTIONS("webSocket.activeConnections", true,
+            PerformanceTrendSnapshot::activeWebSocketConnections),
+    WEBSOCKET_SENT_RATE("webSocket.sentRate", false, snapshot -> snapshot.webSocket().sentRate()),
+    WEBSOCKET_RECEIVED_RATE("webSocket.receivedRate", false, snapshot -> snapshot.webSocket().receivedRate()),
+    WEBSOCKET_FIRST_MESSAGE_LATENCY("webSocket.avgFirstMessageLatencyMs", false,
+            snapshot -> snapshot.webSocket().avgFirstMessageLatencyMs()),
+    WEBSOCKET_AVG_DURATION("webSocket.avgDurationMs", false, snapshot -> snapshot.webSocket().avgDurationMs()),
+    WEBSOCKET_FAILURE_PERCENT("webSocket.failurePercent", false, snapshot -> snapshot.webSocket().failurePercent()),
+
+    SSE_ACTIVE_STREAMS("sse.activeStreams", true, PerformanceTrendSnapshot::activeSseStreams),
+    SSE_RECEIVED_RATE("sse.receivedRate", false, snapshot -> snapshot.sse().receivedRate()),
+    SSE_MATCHED_RATE("sse.matchedRate", false, snapshot -> snapshot.sse().matchedRate()),
+    SSE_FIRST_EVENT_LATENCY("sse.avgFirstMessageLatencyMs", false,
+            snapshot -> snapshot.sse().avgFirstMessageLatencyMs()),
+    SSE_AVG_DURATION("sse.avgDurationMs", false, snapshot -> snapshot.sse().avgDurationMs()),
+    SSE_INTER_EVENT_GAP("sse.avgInterEventGapMs", false, snapshot -> snapshot.sse().avgInterEventGapMs()),
+    SSE_FAILURE_PERCENT("sse.failurePercent", false, snapshot -> snapshot.sse().failurePercent());
+
+    private final String key;
+    private final boolean activeCount;
+    private final ToDoubleFunction<PerformanceTrendSnapshot> extractor;
+
+    PerformanceTrendSeries(String key, boolean activeCount, ToDoubleFunction<PerformanceTrendSnapshot> extractor) {
+        this.key = key;
+        this.activeCount = activeCount;
+        this.extractor = extractor;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * 活跃用户/连接数这类瞬时计数，其余曲线都是采样窗口内的统计值
+     */
+    public boolean activeCount() {
+        return activeCount;
+    }
+
+    /**
+     * @return 窗口内没有样本时为 NaN，活跃计数不小于 0
+     */
+    public double value(PerformanceTrendSnapshot snapshot) {
+        if (snapshot == null) {
+            return Double.NaN;
+        }
+        double value = extractor.applyAsDouble(snapshot);
+        return activeCount ? Math.max(0D, value) : value;
+    }
+}
@@ -1,6 +1,7 @@
 package com.laker.postman.performance.core.model;
 
 import java.util.List;
+import java.util.function.Function;
 
 public record PerformanceTrendSnapshot(
         int activeUsers,
@@ -24,6 +25,7 @@ public record PerformanceTrendSnapshot(
                     Double.NaN,
                     Double.NaN,
                     Double.NaN,
+                    Double.NaN,
                     Double.NaN
             );
 
@@ -100,6 +102,104 @@ public record PerformanceTrendSnapshot(
         );
     }
 
+    /**
+     * 合并多个 worker 同一轮的趋势窗口：计数和速率相加，平均耗时按样本数加权；活跃数由调用方汇总后传入。
+     *
+     * @return 没有任何窗口时返回 null
+     */
+    public static PerformanceTrendSnapshot merge(int activeUsers,
+                                                 int activeWebSocketConnections,
+                                                 int activeSseStreams,
+                                                 List<PerformanceTrendSnapshot> snapshots) {
+        if (snapshots == null || snapshots.isEmpty()) {
+            return null;
+        }
+        return new PerformanceTrendSnapshot(
+                activeUsers,
+                activeWebSocketConnections,
+                activeSseStreams,
+                mergeMetrics(snapshots, PerformanceTrendSnapshot::overview),
+                mergeMetrics(snapshots, PerformanceTrendSnapshot::http),
+                mergeMetrics(snapshots, PerformanceTrendSnapshot::webSocket),
+                mergeMetrics(snapshots, PerformanceTrendSnapshot::sse)
+        );
+    }
+
+    private static ProtocolWindowMetrics mergeMetrics(List<PerformanceTrendSnapshot> snapshots,
+                                                      Function<PerformanceTrendSnapshot, ProtocolWindowMetrics> selector) {
+        int samples = 0;
+        int failures = 0;
+        int sentMessages = 0;
+        int receivedMessages = 0;
+        int matchedMessages = 0;
+        double sampleRate = 0;
+        double sentRate = 0;
+        double receivedRate = 0;
+        double matchedRate = 0;
+        double durationTotal = 0;
+        int durationWeight = 0;
+        double firstLatencyTotal = 0;
+        int firstLatencyWeight = 0;
+        double interEventGapTotal = 0;
+        int interEventGapWeight = 0;
+
+        for (PerformanceTrendSnapshot snapshot : snapshots) {
+            if (snapshot == null) {
+                continue;
+            }
+            ProtocolWindowMetrics metrics = selector.apply(snapshot);
+            if (metrics == null) {
+                continue;
+            }
+            samples += Math.max(0, metrics.samples());
+            failures += Math.max(0, metrics.failures());
+            sentMessages += Math.max(0, metrics.sentMessages());
+            receivedMessages += Math.max(0, metrics.receivedMessages());
+            matchedMessages += Math.max(0, metrics.matchedMessages());
+            sampleRate += finite(metrics.sampleRate());
+            sentRate += finite(metrics.sentRate());
+            receivedRate += finite(metrics.receivedRate());
+            matchedRate += finite(metrics.matchedRate());
+            int weight = Math.max(0, metrics.samples());
+            if (Double.isFinite(metrics.avgDurationMs())) {
+                int resolvedWeight = weight == 0 ? 1 : weight;
+                durationTotal += metrics.avgDurationMs() * resolvedWeight;
+                durationWeight += resolvedWeight;
+            }
+            if (Double.isFinite(metrics.avgFirstMessageLatencyMs())) {
+                int resolvedWeight = weight == 0 ? 1 : weight;
+                firstLatencyTotal += metrics.avgFirstMessageLatencyMs() * resolvedWeight;
+                firstLatencyWeight += resolvedWeight;
+            }
+            if (Double.isFinite(metrics.avgInterEventGapMs())) {
+                // 事件间隔按事件数加权，事件多的 worker 间隔样本也多
+                int resolvedWeight = Math.max(1, metrics.receivedMessages());
+                interEventGapTotal += metrics.avgInterEventGapMs() * resolvedWeight;
+                interEventGapWeight += resolvedWeight;
+            }
+        }
+
+        return new ProtocolWindowMetrics(
+                samples,
+                failures,
+                samples == 0 ? 0.0 : failures * 100.0 / samples,
+                sampleRate,
+                durationWeight == 0 ? Double.NaN : durationTotal / durationWeight,
+                sentMessages,
+                receivedMessages,
+                matchedMessages,
+                sentRate,
+                receivedRate,
+                matchedRate,
+                firstLatencyWeight == 0 ? Double.NaN : firstLatencyTotal / firstLatencyWeight,
+                interEventGapWeight == 0 ? Double.NaN : interEventGapTotal / interEventGapWeight
+        );
+    }
+
+    private static double finite(double value) {
+        return Double.isFinite(value) ? value : 0.0;
+    }
+
     private static PerformanceSampleMeterSnapshot accumulate(List<RequestResult> results, PerformanceProtocol protocol) {
         PerformanceSampleMeterSet accumulator = new PerformanceSampleMeterSet("", protocol);
         for (RequestResult result : results) {
@@ -122,7 +222,9 @@ public record PerformanceTrendSnapshot(
             double sentRate,
             double receivedRate,
             double matchedRate,
-            double avgFirstMessageLatencyMs
+            double avgFirstMessageLatencyMs,
+            // SSE 流内相邻事件的平均间隔，其它协议为 NaN
+            double avgInterEventGapMs
     ) {
     }
 }
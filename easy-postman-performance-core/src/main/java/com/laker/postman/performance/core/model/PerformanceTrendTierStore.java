@@ -0,0 +1,402 @@
+package com.laker.postman.performance.core.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分层趋势存储：最近一段时间保留每次采样的原始点（默认 1 小时，按 1s 采样），
+ * 更早的数据只保留 10s / 1m 聚合桶，每个桶记录样本数、min/max/avg 和 p50/p95 包络。
+ * <p>
+ * 每个采样点写入时同时累加到 10s 和 1m 的当前桶，原始点过期时聚合桶早已生成，不需要回填。
+ * 查询时按时间段拼接不同精度：最近的用原始点，更早的用 10s 桶，超过 10s 保留期的用 1m 桶；
+ * 再用 {@link PerformanceTrendDownsampler} 缩到图表像素宽度，多天的长稳压测放大任意时间段都只处理几千个点。
+ * </p>
+ * <p>
+ * 同一序列的采样时间需单调不减：时间相同视为更新上一个点，早于上一个点的采样直接丢弃。
+ * NaN 表示该窗口没有样本，原始层保留为断点，聚合桶不计入。
+ * </p>
+ */
+public final class PerformanceTrendTierStore {
+
+    public static final String RAW_TIER = "raw";
+    public static final String TEN_SECOND_TIER = "10s";
+    public static final String ONE_MINUTE_TIER = "1m";
+    public static final long DEFAULT_RAW_RETENTION_MS = 60 * 60_000L;
+
+    private static final long TEN_SECOND_MS = 10_000L;
+    private static final long ONE_MINUTE_MS = 60_000L;
+    private static final long TEN_SECOND_RETENTION_MS = 24 * 60 * 60_000L;
+    private static final long ONE_MINUTE_RETENTION_MS = 30L * 24 * 60 * 60_000L;
+
+    private final long rawRetentionMs;
+    private final Map<String, SeriesTiers> series = new LinkedHashMap<>();
+
+    public PerformanceTrendTierStore() {
+        this(DEFAULT_RAW_RETENTION_MS);
+    }
+
+    /**
+     * @param rawRetentionMs 原始点保留时长，至少 1 分钟
+     */
+    public PerformanceTrendTierStore(long rawRetentionMs) {
+        this.rawRetentionMs = Math.max(ONE_MINUTE_MS, rawRetentionMs);
+    }
+
+    /**
+     * 按 {@link PerformanceTrendSeries} 把一次趋势采样拆成各条曲线写入
+     */
+    public synchronized void record(long timeMs, PerformanceTrendSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        for (PerformanceTrendSeries trendSeries : PerformanceTrendSeries.values()) {
+            recordUnlocked(trendSeries.key(), timeMs, trendSeries.value(snapshot));
+        }
+    }
+
+    public synchronized void record(String key, long timeMs, double value) {
+        recordUnlocked(key, timeMs, value);
+    }
+
+    public synchronized void clear() {
+        series.clear();
+    }
+
+    public synchronized boolean isEmpty() {
+        return series.isEmpty();
+    }
+
+    /**
+     * 取时间段内的全部点，最近的是原始点，更早的是聚合桶（时间取桶起点，取值为桶平均值）
+     */
+    public synchronized List<Point> points(String key, long fromMs, long toMs) {
+        SeriesTiers tiers = series.get(key);
+        if (tiers == null || toMs < fromMs) {
+            return List.of();
+        }
+        long rawStart = tiers.raw.isEmpty() ? Long.MAX_VALUE : tiers.raw.oldestTimeMs();
+        long tenSecondStart = Math.min(tiers.tenSeconds.oldestTimeMs(), rawStart);
+        List<Point> points = new ArrayList<>();
+        tiers.oneMinute.collect(points, fromMs, tenSecondStart, toMs);
+        tiers.tenSeconds.collect(points, Math.max(fromMs, tenSecondStart), rawStart, toMs);
+        tiers.raw.collect(points, Math.max(fromMs, rawStart), toMs);
+        return points;
+    }
+
+    /**
+     * 取时间段内的点并用 LTTB 降到不超过 maxPoints 个
+     */
+    public List<Point> downsample(String key, long fromMs, long toMs, int maxPoints) {
+        List<Point> points = points(key, fromMs, toMs);
+        if (points.size() <= Math.max(3, maxPoints)) {
+            return points;
+        }
+        long[] timesMs = new long[points.size()];
+        double[] values = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            timesMs[i] = points.get(i).timeMs();
+            values[i] = points.get(i).avg();
+        }
+        int[] indexes = PerformanceTrendDownsampler.largestTriangleThreeBuckets(timesMs, values, maxPoints);
+        List<Point> sampled = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            sampled.add(points.get(index));
+        }
+        return sampled;
+    }
+
+    /**
+     * 各层当前保留的数据，供写入报表；只包含有样本的点，原始层的 resolutionMs 为 0
+     */
+    public synchronized List<Tier> tiers() {
+        Map<String, List<Point>> raw = new LinkedHashMap<>();
+        Map<String, List<Point>> tenSeconds = new LinkedHashMap<>();
+        Map<String, List<Point>> oneMinute = new LinkedHashMap<>();
+        for (Map.Entry<String, SeriesTiers> entry : series.entrySet()) {
+            putIfNotEmpty(raw, entry.getKey(), entry.getValue().raw.samples());
+            putIfNotEmpty(tenSeconds, entry.getKey(), entry.getValue().tenSeconds.samples());
+            putIfNotEmpty(oneMinute, entry.getKey(), entry.getValue().oneMinute.samples());
+        }
+        return List.of(
+                new Tier(RAW_TIER, 0L, Collections.unmodifiableMap(raw)),
+                new Tier(TEN_SECOND_TIER, TEN_SECOND_MS, Collections.unmodifiableMap(tenSeconds)),
+                new Tier(ONE_MINUTE_TIER, ONE_MINUTE_MS, Collections.unmodifiableMap(oneMinute))
+        );
+    }
+
+    private void recordUnlocked(String key, long timeMs, double value) {
+        if (key == null) {
+            return;
+        }
+        series.computeIfAbsent(key, ignored -> new SeriesTiers(rawRetentionMs)).record(timeMs, value);
+    }
+
+    private static void putIfNotEmpty(Map<String, List<Point>> target, String key, List<Point> points) {
+        if (!points.isEmpty()) {
+            target.put(key, List.copyOf(points));
+        }
+    }
+
+    /**
+     * 原始点或聚合桶；原始点的 count 为 1（断点为 0），min/max/avg/p50/p95 都等于采样值
+     */
+    public record Point(long timeMs, long count, double min, double max, double avg, double p50, double p95) {
+
+        public static Point raw(long timeMs, double value) {
+            return new Point(timeMs, Double.isFinite(value) ? 1 : 0, value, value, value, value, value);
+        }
+    }
+
+    public record Tier(String name, long resolutionMs, Map<String, List<Point>> series) {
+    }
+
+    private static final class SeriesTiers {
+        private final RawRing raw;
+        private final RollupTier tenSeconds = new RollupTier(TEN_SECOND_MS, TEN_SECOND_RETENTION_MS);
+        private final RollupTier oneMinute = new RollupTier(ONE_MINUTE_MS, ONE_MINUTE_RETENTION_MS);
+
+        private SeriesTiers(long rawRetentionMs) {
+            this.raw = new RawRing(rawRetentionMs);
+        }
+
+        void record(long timeMs, double value) {
+            if (!raw.isEmpty() && timeMs < raw.newestTimeMs()) {
+                return;
+            }
+            if (!raw.isEmpty() && timeMs == raw.newestTimeMs()) {
+                double previous = raw.replaceNewest(value);
+                tenSeconds.replaceLast(previous, value);
+                oneMinute.replaceLast(previous, value);
+                return;
+            }
+            raw.add(timeMs, value);
+            tenSeconds.add(timeMs, value);
+            oneMinute.add(timeMs, value);
+        }
+    }
+
+    /**
+     * 原始点环形缓冲：按时间而不是按点数过期，采样间隔变化时保留的时长不变
+     */
+    private static final class RawRing {
+        private final long retentionMs;
+        private long[] timesMs = new long[64];
+        private double[] values = new double[64];
+        private int head;
+        private int size;
+
+        private RawRing(long retentionMs) {
+            this.retentionMs = retentionMs;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long oldestTimeMs() {
+            return timeAt(0);
+        }
+
+        long newestTimeMs() {
+            return timeAt(size - 1);
+        }
+
+        void add(long timeMs, double value) {
+            if (size == timesMs.length) {
+                grow();
+            }
+            int index = (head + size) % timesMs.length;
+            timesMs[index] = timeMs;
+            values[index] = value;
+            size++;
+            while (size > 0 && timeAt(0) < timeMs - retentionMs) {
+                head = (head + 1) % timesMs.length;
+                size--;
+            }
+        }
+
+        double replaceNewest(double value) {
+            int index = (head + size - 1) % timesMs.length;
+            double previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        void collect(List<Point> target, long fromMs, long toMs) {
+            for (int i = firstIndexAtOrAfter(fromMs); i < size; i++) {
+                long timeMs = timeAt(i);
+                if (timeMs > toMs) {
+                    break;
+                }
+                target.add(Point.raw(timeMs, valueAt(i)));
+            }
+        }
+
+        List<Point> samples() {
+            List<Point> points = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                if (Double.isFinite(valueAt(i))) {
+                    points.add(Point.raw(timeAt(i), valueAt(i)));
+                }
+            }
+            return points;
+        }
+
+        private int firstIndexAtOrAfter(long timeMs) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (timeAt(middle) < timeMs) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private long timeAt(int offset) {
+            return timesMs[(head + offset) % timesMs.length];
+        }
+
+        private double valueAt(int offset) {
+            return values[(head + offset) % values.length];
+        }
+
+        private void grow() {
+            long[] grownTimes = new long[timesMs.length * 2];
+            double[] grownValues = new double[values.length * 2];
+            for (int i = 0; i < size; i++) {
+                grownTimes[i] = timeAt(i);
+                grownValues[i] = valueAt(i);
+            }
+            timesMs = grownTimes;
+            values = grownValues;
+            head = 0;
+        }
+    }
+
+    /**
+     * 固定时长的聚合层：当前桶缓存桶内有效值，跨桶时排序一次算出 min/max/avg/p50/p95
+     */
+    private static final class RollupTier {
+        private final long resolutionMs;
+        private final long retentionMs;
+        private final ArrayDeque<Point> closed = new ArrayDeque<>();
+        private boolean open;
+        private long openStartMs;
+        private double[] openValues = new double[16];
+        private int openCount;
+
+        private RollupTier(long resolutionMs, long retentionMs) {
+            this.resolutionMs = resolutionMs;
+            this.retentionMs = retentionMs;
+        }
+
+        void add(long timeMs, double value) {
+            long bucketStartMs = Math.floorDiv(timeMs, resolutionMs) * resolutionMs;
+            if (open && bucketStartMs > openStartMs) {
+                closed.addLast(summarize());
+                open = false;
+            }
+            if (!open) {
+                open = true;
+                openStartMs = bucketStartMs;
+                openCount = 0;
+            }
+            append(value);
+            while (!closed.isEmpty() && closed.peekFirst().timeMs() < timeMs - retentionMs) {
+                closed.pollFirst();
+            }
+        }
+
+        /**
+         * 同一时刻重复写入时，用新值替换当前桶里最后一个值
+         */
+        void replaceLast(double previous, double value) {
+            if (!open) {
+                return;
+            }
+            if (Double.isFinite(previous) && openCount > 0) {
+                openCount--;
+            }
+            append(value);
+        }
+
+        long oldestTimeMs() {
+            if (!closed.isEmpty()) {
+                return closed.peekFirst().timeMs();
+            }
+            return open ? openStartMs : Long.MAX_VALUE;
+        }
+
+        void collect(List<Point> target, long fromMs, long beforeMs, long toMs) {
+            for (Point point : closed) {
+                if (point.timeMs() >= beforeMs || point.timeMs() > toMs) {
+                    return;
+                }
+                if (point.timeMs() >= fromMs) {
+                    target.add(point);
+                }
+            }
+            if (open && openStartMs >= fromMs && openStartMs < beforeMs && openStartMs <= toMs) {
+                target.add(summarize());
+            }
+        }
+
+        List<Point> samples() {
+            List<Point> points = new ArrayList<>(closed.size() + 1);
+            for (Point point : closed) {
+                if (point.count() > 0) {
+                    points.add(point);
+                }
+            }
+            if (open && openCount > 0) {
+                points.add(summarize());
+            }
+            return points;
+        }
+
+        private void append(double value) {
+            if (!Double.isFinite(value)) {
+                return;
+            }
+            if (openCount == openValues.length) {
+                openValues = Arrays.copyOf(openValues, openValues.length * 2);
+            }
+            openValues[openCount++] = value;
+        }
+
+        private Point summarize() {
+            if (openCount == 0) {
+                return new Point(openStartMs, 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+            }
+            double[] sorted = Arrays.copyOf(openValues, openCount);
+            Arrays.sort(sorted);
+            double total = 0D;
+            for (double value : sorted) {
+                total += value;
+            }
+            return new Point(
+                    openStartMs,
+                    openCount,
+                    sorted[0],
+                    sorted[openCount - 1],
+                    total / openCount,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.95)
+            );
+        }
+
+        private static double percentile(double[] sorted, double percentile) {
+            int rank = (int) Math.ceil(sorted.length * percentile);
+            return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+        }
+    }
+}
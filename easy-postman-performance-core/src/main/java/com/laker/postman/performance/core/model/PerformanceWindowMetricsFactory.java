@@ -20,6 +20,7 @@ final class PerformanceWindowMetricsFactory {
         double matchedRate = stepRate(stats.matchedMessages(), stepIntervalMs);
         double avgDuration = stats.avgDurationMs();
         double avgFirstMessageLatency = stats.avgFirstMessageLatencyMs();
+        double avgInterEventGap = protocol == PerformanceProtocol.SSE ? stats.avgInterEventGapMs() : Double.NaN;
 
         if (realtimeMetrics != null && protocol == PerformanceProtocol.WEBSOCKET) {
             sentRate = realtimeMetrics.webSocketSentRate();
@@ -33,6 +34,10 @@ final class PerformanceWindowMetricsFactory {
             receivedRate = realtimeMetrics.sseReceivedRate();
             matchedRate = realtimeMetrics.sseMatchedRate();
             avgFirstMessageLatency = realtimeMetrics.sseFirstMessageLatencyMs();
+            if (Double.isFinite(realtimeMetrics.sseInterEventGapMs())) {
+                // 实时计数器按事件到达记录，长连接在结束前也能看到间隔变化
+                avgInterEventGap = realtimeMetrics.sseInterEventGapMs();
+            }
             if (realtimeMetrics.sseActiveSessionDurationMs() > 0) {
                 avgDuration = realtimeMetrics.sseActiveSessionDurationMs();
             }
@@ -56,7 +61,8 @@ final class PerformanceWindowMetricsFactory {
                 sentRate,
                 receivedRate,
                 matchedRate,
-                avgFirstMessageLatency
+                avgFirstMessageLatency,
+                avgInterEventGap
         );
     }
 
@@ -80,7 +86,8 @@ final class PerformanceWindowMetricsFactory {
                     realtimeMetrics.webSocketSentRate(),
                     realtimeMetrics.webSocketReceivedRate(),
                     realtimeMetrics.webSocketMatchedRate(),
-                    realtimeMetrics.webSocketFirstMessageLatencyMs()
+                    realtimeMetrics.webSocketFirstMessageLatencyMs(),
+                    Double.NaN
             );
         }
         if (realtimeMetrics != null && protocol == PerformanceProtocol.SSE) {
@@ -96,7 +103,8 @@ final class PerformanceWindowMetricsFactory {
                     0,
                     realtimeMetrics.sseReceivedRate(),
                     realtimeMetrics.sseMatchedRate(),
-                    realtimeMetrics.sseFirstMessageLatencyMs()
+                    realtimeMetrics.sseFirstMessageLatencyMs(),
+                    realtimeMetrics.sseInterEventGapMs()
             );
         }
         return new PerformanceTrendSnapshot.ProtocolWindowMetrics(
@@ -111,6 +119,7 @@ final class PerformanceWindowMetricsFactory {
                 0,
                 0,
                 0,
+                Double.NaN,
                 Double.NaN
         );
     }
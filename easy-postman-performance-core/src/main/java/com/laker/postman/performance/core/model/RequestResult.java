@@ -15,7 +15,10 @@ public class RequestResult {
     public int matchedMessages;
     public long sentBytes;      // 发送字节数：请求头 + 请求体，用于计算 Sent KB/s
     public long receivedBytes;  // 接收字节数：响应头 + 响应体，用于计算 Received KB/s
+    public long requestBodyRawBytes;         // 开启请求体压缩时压缩前的请求体字节数，未压缩为 0
+    public long requestBodyCompressedBytes;  // 开启请求体压缩时实际发送的请求体字节数，未压缩为 0
     public long firstMessageLatencyMs = -1;
+    public SseStreamStats sseStreamStats;  // SSE 流内统计，其它协议为 null
 
     /**
      * 主构造函数
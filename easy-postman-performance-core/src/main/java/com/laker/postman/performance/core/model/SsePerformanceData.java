@@ -20,6 +20,10 @@ public class SsePerformanceData {
     public int targetMessageCount = 1;
     public String eventNameFilter = "";
     public String messageFilter = "";
+    /**
+     * 流内相邻事件间隔达到该值记为卡顿，出现卡顿的样本判为失败；0 表示不检测
+     */
+    public int stallThresholdMs = 0;
 
     public static boolean usesEventNameFilter(CompletionMode mode) {
         return mode == CompletionMode.UNTIL_MATCH || mode == CompletionMode.MESSAGE_COUNT;
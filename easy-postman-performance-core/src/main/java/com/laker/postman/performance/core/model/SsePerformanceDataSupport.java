@@ -22,5 +22,6 @@ public class SsePerformanceDataSupport {
         target.targetMessageCount = source.targetMessageCount;
         target.eventNameFilter = source.eventNameFilter;
         target.messageFilter = source.messageFilter;
+        target.stallThresholdMs = source.stallThresholdMs;
     }
 }
@@ -0,0 +1,126 @@
+package com.laker.postman.performance.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按 API 汇总 SSE 流内统计：各流的事件间隔分桶直接相加，单流吞吐记入分布。
+ */
+final class SseStreamMeter {
+    private final LongAdder[] gapBuckets = new LongAdder[SseStreamStats.gapBucketCount()];
+    private final LongAdder streams = new LongAdder();
+    private final LongAdder stalledStreams = new LongAdder();
+    private final LongAdder stalls = new LongAdder();
+    private final LongAdder gapCount = new LongAdder();
+    private final LongAdder gapTotalMs = new LongAdder();
+    private final DoubleAdder gapSquareTotalMs = new DoubleAdder();
+    private final AtomicLong gapMaxMs = new AtomicLong();
+    private final DurationStatsHistogram eventsPerSecond = new DurationStatsHistogram();
+    private final DurationStatsHistogram bytesPerSecond = new DurationStatsHistogram();
+
+    SseStreamMeter() {
+        for (int i = 0; i < gapBuckets.length; i++) {
+            gapBuckets[i] = new LongAdder();
+        }
+    }
+
+    void record(SseStreamStats stats) {
+        if (stats == null || stats.events() == 0) {
+            return;
+        }
+        long[] buckets = stats.gapBuckets();
+        for (int i = 0; i < Math.min(buckets.length, gapBuckets.length); i++) {
+            if (buckets[i] > 0) {
+                gapBuckets[i].add(buckets[i]);
+            }
+        }
+        gapCount.add(stats.gapCount());
+        gapTotalMs.add(stats.gapTotalMs());
+        gapSquareTotalMs.add(stats.gapSquareTotalMs());
+        gapMaxMs.accumulateAndGet(stats.gapMaxMs(), Math::max);
+        stalls.add(stats.stalls());
+        if (stats.stalled()) {
+            stalledStreams.increment();
+        }
+        if (stats.gapCount() > 0) {
+            eventsPerSecond.record(Math.round(stats.eventsPerSecond()));
+            bytesPerSecond.record(Math.round(stats.bytesPerSecond()));
+        }
+        streams.increment();
+    }
+
+    /**
+     * 平均事件间隔，没有间隔样本时为 NaN
+     */
+    double meanGapMs() {
+        long count = gapCount.sum();
+        return count == 0 ? Double.NaN : PerformanceMetricMath.round((double) gapTotalMs.sum() / count);
+    }
+
+    PerformanceStatsSnapshot.SseStreamSummary snapshot() {
+        long streamCount = streams.sum();
+        if (streamCount == 0) {
+            return PerformanceStatsSnapshot.SseStreamSummary.empty();
+        }
+        long[] buckets = new long[gapBuckets.length];
+        List<Long> bucketList = new ArrayList<>(gapBuckets.length);
+        for (int i = 0; i < gapBuckets.length; i++) {
+            buckets[i] = gapBuckets[i].sum();
+            bucketList.add(buckets[i]);
+        }
+        long count = gapCount.sum();
+        long total = gapTotalMs.sum();
+        long max = gapMaxMs.get();
+        PerformanceStatsSnapshot.DurationStats gapStats = count == 0
+                ? PerformanceStatsSnapshot.DurationStats.empty()
+                : new PerformanceStatsSnapshot.DurationStats(
+                total / count,
+                minFromBuckets(buckets, max),
+                max,
+                SseStreamStats.percentile(buckets, max, 0.90),
+                SseStreamStats.percentile(buckets, max, 0.95),
+                SseStreamStats.percentile(buckets, max, 0.99)
+        );
+        return new PerformanceStatsSnapshot.SseStreamSummary(
+                streamCount,
+                stalledStreams.sum(),
+                stalls.sum(),
+                gapStats,
+                PerformanceMetricMath.round(SseStreamStats.standardDeviation(count, total, gapSquareTotalMs.sum())),
+                List.copyOf(bucketList),
+                eventsPerSecond.snapshot(),
+                bytesPerSecond.snapshot()
+        );
+    }
+
+    void clear() {
+        for (LongAdder bucket : gapBuckets) {
+            bucket.reset();
+        }
+        streams.reset();
+        stalledStreams.reset();
+        stalls.reset();
+        gapCount.reset();
+        gapTotalMs.reset();
+        gapSquareTotalMs.reset();
+        gapMaxMs.set(0);
+        eventsPerSecond.clear();
+        bytesPerSecond.clear();
+    }
+
+    /**
+     * 最小值只能精确到所在桶：取第一个非空桶的下界
+     */
+    private static long minFromBuckets(long[] buckets, long max) {
+        long[] bounds = SseStreamStats.gapBucketUpperBoundsMs();
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] > 0) {
+                return Math.min(i == 0 ? 0 : bounds[i - 1] + 1, max);
+            }
+        }
+        return 0;
+    }
+}
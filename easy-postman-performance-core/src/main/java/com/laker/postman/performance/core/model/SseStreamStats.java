@@ -0,0 +1,284 @@
+package com.laker.postman.performance.core.model;
+
+import java.util.Arrays;
+
+/**
+ * 单条 SSE 流的增量统计：事件间隔直方图、抖动、事件/字节吞吐和卡顿次数。
+ * <p>
+ * 每收到一个事件只更新几个计数器和一个固定分桶，不缓存事件内容或逐个间隔；
+ * 分桶边界全局固定，单流、API 汇总和 master 合并 worker 报告时都可以直接按桶相加。
+ * 流结束后通过 {@link #encode()} 写入响应摘要头，结果记录再用 {@link #decode(String)} 还原。
+ * </p>
+ */
+public final class SseStreamStats {
+
+    /**
+     * 承载编码后统计的 SSE 响应摘要头
+     */
+    public static final String HEADER_NAME = "X-Easy-SSE-Stream-Stats";
+
+    /**
+     * 事件间隔直方图各桶的上界（毫秒，含），最后一桶为溢出桶
+     */
+    private static final long[] GAP_BUCKET_UPPER_BOUNDS_MS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000, Long.MAX_VALUE
+    };
+
+    private final long stallThresholdMs;
+    private final long[] gapBuckets;
+    private long firstEventTimeMs = -1;
+    private long lastEventTimeMs = -1;
+    private long events;
+    private long bytes;
+    private long gapCount;
+    private long gapTotalMs;
+    private double gapSquareTotalMs;
+    private long gapMaxMs;
+    private long stalls;
+
+    /**
+     * @param stallThresholdMs 事件间隔达到该值记为一次卡顿，小于等于 0 时不检测
+     */
+    public SseStreamStats(long stallThresholdMs) {
+        this.stallThresholdMs = Math.max(0, stallThresholdMs);
+        this.gapBuckets = new long[GAP_BUCKET_UPPER_BOUNDS_MS.length];
+    }
+
+    /**
+     * 记录一个事件
+     *
+     * @param nowMs 事件到达时间，同一条流内需单调
+     * @param bytes 事件 data 的字节数
+     * @return 与上一个事件的间隔，首个事件返回 -1
+     */
+    public synchronized long recordEvent(long nowMs, long bytes) {
+        events++;
+        this.bytes += Math.max(0, bytes);
+        if (firstEventTimeMs < 0) {
+            firstEventTimeMs = nowMs;
+            lastEventTimeMs = nowMs;
+            return -1;
+        }
+        long gapMs = Math.max(0, nowMs - lastEventTimeMs);
+        lastEventTimeMs = nowMs;
+        gapCount++;
+        gapTotalMs += gapMs;
+        gapSquareTotalMs += (double) gapMs * gapMs;
+        gapMaxMs = Math.max(gapMaxMs, gapMs);
+        gapBuckets[bucketIndex(gapMs)]++;
+        if (stallThresholdMs > 0 && gapMs >= stallThresholdMs) {
+            stalls++;
+        }
+        return gapMs;
+    }
+
+    public synchronized long events() {
+        return events;
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    /**
+     * 首个事件到最后一个事件的跨度
+     */
+    public synchronized long spanMs() {
+        return firstEventTimeMs < 0 ? 0 : lastEventTimeMs - firstEventTimeMs;
+    }
+
+    public synchronized long gapCount() {
+        return gapCount;
+    }
+
+    public synchronized long gapTotalMs() {
+        return gapTotalMs;
+    }
+
+    public synchronized double gapSquareTotalMs() {
+        return gapSquareTotalMs;
+    }
+
+    public synchronized long gapMaxMs() {
+        return gapMaxMs;
+    }
+
+    public synchronized long stalls() {
+        return stalls;
+    }
+
+    public long stallThresholdMs() {
+        return stallThresholdMs;
+    }
+
+    public synchronized long[] gapBuckets() {
+        return gapBuckets.clone();
+    }
+
+    /**
+     * 事件吞吐：首尾事件之间的事件数 / 跨度，少于两个事件时为 0
+     */
+    public synchronized double eventsPerSecond() {
+        long spanMs = spanMs();
+        return events < 2 || spanMs <= 0 ? 0 : (events - 1) * 1000.0 / spanMs;
+    }
+
+    /**
+     * 字节吞吐：事件 data 总字节数 / 首尾事件跨度，少于两个事件时为 0
+     */
+    public synchronized double bytesPerSecond() {
+        long spanMs = spanMs();
+        return events < 2 || spanMs <= 0 ? 0 : bytes * 1000.0 / spanMs;
+    }
+
+    /**
+     * 抖动：事件间隔的标准差
+     */
+    public synchronized double jitterMs() {
+        return standardDeviation(gapCount, gapTotalMs, gapSquareTotalMs);
+    }
+
+    public synchronized boolean stalled() {
+        return stalls > 0;
+    }
+
+    /**
+     * 编码为响应头里的摘要，字段顺序固定，未知字段在解码时忽略
+     */
+    public synchronized String encode() {
+        StringBuilder builder = new StringBuilder(128);
+        builder.append("events=").append(events)
+                .append(";bytes=").append(bytes)
+                .append(";spanMs=").append(spanMs())
+                .append(";gapCount=").append(gapCount)
+                .append(";gapTotalMs=").append(gapTotalMs)
+                .append(";gapSquareTotalMs=").append(Math.round(gapSquareTotalMs))
+                .append(";gapMaxMs=").append(gapMaxMs)
+                .append(";stalls=").append(stalls)
+                .append(";stallThresholdMs=").append(stallThresholdMs)
+                .append(";buckets=");
+        for (int i = 0; i < gapBuckets.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(gapBuckets[i]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return 解析失败或为空时返回 null
+     */
+    public static SseStreamStats decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        long events = 0;
+        long bytes = 0;
+        long spanMs = 0;
+        long gapCount = 0;
+        long gapTotalMs = 0;
+        long gapSquareTotalMs = 0;
+        long gapMaxMs = 0;
+        long stalls = 0;
+        long stallThresholdMs = 0;
+        long[] buckets = new long[GAP_BUCKET_UPPER_BOUNDS_MS.length];
+        try {
+            for (String part : encoded.split(";")) {
+                int separator = part.indexOf('=');
+                if (separator <= 0) {
+                    continue;
+                }
+                String key = part.substring(0, separator).trim();
+                String value = part.substring(separator + 1).trim();
+                switch (key) {
+                    case "events" -> events = Long.parseLong(value);
+                    case "bytes" -> bytes = Long.parseLong(value);
+                    case "spanMs" -> spanMs = Long.parseLong(value);
+                    case "gapCount" -> gapCount = Long.parseLong(value);
+                    case "gapTotalMs" -> gapTotalMs = Long.parseLong(value);
+                    case "gapSquareTotalMs" -> gapSquareTotalMs = Long.parseLong(value);
+                    case "gapMaxMs" -> gapMaxMs = Long.parseLong(value);
+                    case "stalls" -> stalls = Long.parseLong(value);
+                    case "stallThresholdMs" -> stallThresholdMs = Long.parseLong(value);
+                    case "buckets" -> {
+                        String[] counts = value.split(",");
+                        for (int i = 0; i < Math.min(counts.length, buckets.length); i++) {
+                            buckets[i] = Long.parseLong(counts[i].trim());
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        SseStreamStats stats = new SseStreamStats(stallThresholdMs);
+        stats.events = Math.max(0, events);
+        stats.bytes = Math.max(0, bytes);
+        if (stats.events > 0) {
+            stats.firstEventTimeMs = 0;
+            stats.lastEventTimeMs = Math.max(0, spanMs);
+        }
+        stats.gapCount = Math.max(0, gapCount);
+        stats.gapTotalMs = Math.max(0, gapTotalMs);
+        stats.gapSquareTotalMs = Math.max(0, gapSquareTotalMs);
+        stats.gapMaxMs = Math.max(0, gapMaxMs);
+        stats.stalls = Math.max(0, stalls);
+        System.arraycopy(buckets, 0, stats.gapBuckets, 0, buckets.length);
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+
+    public static int bucketIndex(long gapMs) {
+        int index = Arrays.binarySearch(GAP_BUCKET_UPPER_BOUNDS_MS, Math.max(0, gapMs));
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * 按分桶估算分位值：取累计计数首次达到目标的桶上界，且不超过实际最大值
+     */
+    public static long percentile(long[] buckets, long maxMs, double percentile) {
+        long total = 0;
+        for (long count : buckets) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile));
+        long seen = 0;
+        for (int i = 0; i < Math.min(buckets.length, GAP_BUCKET_UPPER_BOUNDS_MS.length); i++) {
+            seen += buckets[i];
+            if (seen >= target) {
+                return Math.min(GAP_BUCKET_UPPER_BOUNDS_MS[i], maxMs);
+            }
+        }
+        return maxMs;
+    }
+
+    public static double standardDeviation(long count, double total, double squareTotal) {
+        if (count < 2) {
+            return 0;
+        }
+        double mean = total / count;
+        double variance = squareTotal / count - mean * mean;
+        return variance <= 0 ? 0 : Math.sqrt(variance);
+    }
+
+    /**
+     * 事件间隔直方图各桶的上界（毫秒，含），最后一桶为 {@link Long#MAX_VALUE}
+     */
+    public static long[] gapBucketUpperBoundsMs() {
+        return GAP_BUCKET_UPPER_BOUNDS_MS.clone();
+    }
+
+    public static int gapBucketCount() {
+        return GAP_BUCKET_UPPER_BOUNDS_MS.length;
+    }
+}
@@ -6,6 +6,7 @@ import com.laker.postman.performance.core.controller.LoopData;
 import com.laker.postman.performance.core.controller.WhileData;
 import com.laker.postman.performance.core.model.NodeType;
 import com.laker.postman.performance.core.threadgroup.ThreadGroupData;
+import com.laker.postman.performance.core.timer.TimerData;
 import lombok.experimental.UtilityClass;
 
 import java.util.ArrayList;
@@ -101,7 +102,7 @@ public class PerformanceCorePlanDocumentCompiler {
             case CONDITION -> compileCondition(node);
             case WHILE -> compileWhile(node);
             case ONCE_ONLY -> compileOnceOnly(node);
-            case TIMER -> new PerformanceTimerElement(node.getName(), node.getTimerData());
+            case TIMER -> compileTimer(node);
             case REQUEST -> compileRequest(node);
             case ASSERTION -> new PerformanceAssertionElement(node.getName(), node.getAssertionData());
             case EXTRACTOR -> new PerformanceExtractorElement(node.getName(), node.getExtractorData());
@@ -141,6 +142,15 @@ public class PerformanceCorePlanDocumentCompiler {
         return new PerformanceWhileController(node.getName(), whileData, compileElements(node));
     }
 
+    private PerformanceTimerElement compileTimer(PerformanceCorePlanNode node) {
+        TimerData timerData = PerformancePlanCoreDataCopies.copyTimerData(node.getTimerData());
+        if (timerData == null) {
+            timerData = new TimerData();
+        }
+        timerData.normalize();
+        return new PerformanceTimerElement(node.getName(), timerData);
+    }
+
     private PerformanceOnceOnlyController compileOnceOnly(PerformanceCorePlanNode node) {
         return new PerformanceOnceOnlyController(node.getName(), compileElements(node));
     }
@@ -170,6 +170,7 @@ public class PerformanceCorePlanJsonStorage {
         json.put("proxyPolicy", snapshot.getProxyPolicy());
         json.put("httpVersion", snapshot.getHttpVersion());
         json.put("requestTimeoutMs", snapshot.getRequestTimeoutMs());
+        json.put("requestBodyCompression", snapshot.getRequestBodyCompression());
         json.put("prescript", snapshot.getPrescript());
         json.put("postscript", snapshot.getPostscript());
         if (snapshot.getExecutionScope() != null && !snapshot.getExecutionScope().getGroupVariables().isEmpty()) {
@@ -337,7 +338,14 @@ public class PerformanceCorePlanJsonStorage {
             return null;
         }
         Map<String, Object> json = new LinkedHashMap<>();
+        json.put("timerType", data.timerType != null ? data.timerType.name() : TimerData.TimerType.FIXED.name());
         json.put("delayMs", data.delayMs);
+        json.put("targetThroughputPerMinute", data.targetThroughputPerMinute);
+        json.put("throughputScope", data.throughputScope != null
+                ? data.throughputScope.name()
+                : TimerData.ThroughputScope.THREAD_GROUP.name());
+        json.put("poissonMeanMs", data.poissonMeanMs);
+        json.put("pacingMs", data.pacingMs);
         return json;
     }
 
@@ -355,6 +363,7 @@ public class PerformanceCorePlanJsonStorage {
         json.put("targetMessageCount", data.targetMessageCount);
         json.put("eventNameFilter", data.eventNameFilter);
         json.put("messageFilter", data.messageFilter);
+        json.put("stallThresholdMs", data.stallThresholdMs);
         return json;
     }
 
@@ -474,6 +483,7 @@ public class PerformanceCorePlanJsonStorage {
                 .proxyPolicy(stringValue(requestJson, "proxyPolicy", null))
                 .httpVersion(stringValue(requestJson, "httpVersion", null))
                 .requestTimeoutMs(integerObjectValue(requestJson, "requestTimeoutMs"))
+                .requestBodyCompression(stringValue(requestJson, "requestBodyCompression", null))
                 .prescript(stringValue(requestJson, "prescript", null))
                 .postscript(stringValue(requestJson, "postscript", null))
                 .executionScope(deserializeRequestExecutionScopeSnapshot(objectMap(requestJson.get("executionScope"))))
@@ -657,7 +667,16 @@ public class PerformanceCorePlanJsonStorage {
             return null;
         }
         TimerData data = new TimerData();
+        data.timerType = enumValue(TimerData.TimerType.class, stringValue(json, "timerType", null), data.timerType);
         data.delayMs = intValue(json, "delayMs", data.delayMs);
+        data.targetThroughputPerMinute = intValue(json, "targetThroughputPerMinute", data.targetThroughputPerMinute);
+        data.throughputScope = enumValue(
+                TimerData.ThroughputScope.class,
+                stringValue(json, "throughputScope", null),
+                data.throughputScope
+        );
+        data.poissonMeanMs = intValue(json, "poissonMeanMs", data.poissonMeanMs);
+        data.pacingMs = intValue(json, "pacingMs", data.pacingMs);
         return data;
     }
 
@@ -677,6 +696,7 @@ public class PerformanceCorePlanJsonStorage {
         data.targetMessageCount = intValue(json, "targetMessageCount", data.targetMessageCount);
         data.eventNameFilter = stringValue(json, "eventNameFilter", data.eventNameFilter);
         data.messageFilter = stringValue(json, "messageFilter", data.messageFilter);
+        data.stallThresholdMs = intValue(json, "stallThresholdMs", data.stallThresholdMs);
         return data;
     }
 
@@ -14,6 +14,9 @@ public final class PerformanceThreadGroupPlan {
     private final CsvDataSetData csvDataSetData;
     private final List<PerformancePlanElement> elements;
     private final int virtualUserIndexOffset;
+    private final int csvRowIndexOffset;
+    private final double groupThroughputShare;
+    private final double globalThroughputShare;
 
     public PerformanceThreadGroupPlan(String name,
                                       ThreadGroupData threadGroupData,
@@ -33,6 +36,31 @@ public final class PerformanceThreadGroupPlan {
                                       CsvDataSetData csvDataSetData,
                                       List<PerformancePlanElement> elements,
                                       int virtualUserIndexOffset) {
+        this(name, threadGroupData, csvDataSetData, elements, virtualUserIndexOffset, 1.0d, 1.0d);
+    }
+
+    public PerformanceThreadGroupPlan(String name,
+                                      ThreadGroupData threadGroupData,
+                                      CsvDataSetData csvDataSetData,
+                                      List<PerformancePlanElement> elements,
+                                      int virtualUserIndexOffset,
+                                      double groupThroughputShare,
+                                      double globalThroughputShare) {
+        this(name, threadGroupData, csvDataSetData, elements, virtualUserIndexOffset,
+                virtualUserIndexOffset, groupThroughputShare, globalThroughputShare);
+    }
+
+    /**
+     * @param csvRowIndexOffset CSV 取行起点；worker 收到按分配切好的 CSV 分片时为 0，否则与虚拟用户起点一致
+     */
+    public PerformanceThreadGroupPlan(String name,
+                                      ThreadGroupData threadGroupData,
+                                      CsvDataSetData csvDataSetData,
+                                      List<PerformancePlanElement> elements,
+                                      int virtualUserIndexOffset,
+                                      int csvRowIndexOffset,
+                                      double groupThroughputShare,
+                                      double globalThroughputShare) {
         this.name = name;
         this.threadGroupData = PerformancePlanCoreDataCopies.copyThreadGroupData(threadGroupData);
         if (this.threadGroupData != null) {
@@ -41,6 +69,9 @@ public final class PerformanceThreadGroupPlan {
         this.csvDataSetData = PerformancePlanCoreDataCopies.copyCsvDataSetData(csvDataSetData);
         this.elements = Collections.unmodifiableList(new ArrayList<>(elements == null ? List.of() : elements));
         this.virtualUserIndexOffset = Math.max(0, virtualUserIndexOffset);
+        this.csvRowIndexOffset = Math.max(0, csvRowIndexOffset);
+        this.groupThroughputShare = normalizeShare(groupThroughputShare);
+        this.globalThroughputShare = normalizeShare(globalThroughputShare);
     }
 
     public String getName() {
@@ -56,8 +87,8 @@ public final class PerformanceThreadGroupPlan {
     }
 
     public Map<String, String> csvRowForVirtualUser(int virtualUserIndex) {
-        // 分布式执行时 virtualUserIndexOffset 表示 worker 分到的全局用户起点，CSV 行也按这个全局编号绑定。
-        return csvDataSetData == null ? null : csvDataSetData.rowForVirtualUser(virtualUserIndexOffset + virtualUserIndex);
+        // 分布式执行时 CSV 行按 worker 分到的全局用户起点绑定；收到 CSV 分片时分片第 0 行就是起点对应的行。
+        return csvDataSetData == null ? null : csvDataSetData.rowForVirtualUser(csvRowIndexOffset + virtualUserIndex);
     }
 
     public List<PerformancePlanElement> getElements() {
@@ -67,4 +98,29 @@ public final class PerformanceThreadGroupPlan {
     public int getVirtualUserIndexOffset() {
         return virtualUserIndexOffset;
     }
+
+    public int getCsvRowIndexOffset() {
+        return csvRowIndexOffset;
+    }
+
+    /**
+     * 本计划承担的线程组级吞吐量份额，单机为 1；分布式执行时等于 worker 分到的该线程组用户占比。
+     */
+    public double getGroupThroughputShare() {
+        return groupThroughputShare;
+    }
+
+    /**
+     * 本计划承担的全局吞吐量份额，单机为 1；分布式执行时等于 worker 分到的用户占全计划用户的比例。
+     */
+    public double getGlobalThroughputShare() {
+        return globalThroughputShare;
+    }
+
+    private static double normalizeShare(double share) {
+        if (Double.isNaN(share) || share <= 0d) {
+            return 1.0d;
+        }
+        return Math.min(1.0d, share);
+    }
 }
@@ -10,6 +10,9 @@ public final class PerformanceTimerElement implements PerformancePlanElement {
     public PerformanceTimerElement(String name, TimerData timerData) {
         this.name = name;
         this.timerData = PerformancePlanCoreDataCopies.copyTimerData(timerData);
+        if (this.timerData != null) {
+            this.timerData.normalize();
+        }
     }
 
     @Override
@@ -25,4 +28,34 @@ public final class PerformanceTimerElement implements PerformancePlanElement {
     public TimerData getTimerData() {
         return PerformancePlanCoreDataCopies.copyTimerData(timerData);
     }
+
+    // 以下只读访问器供执行热路径使用，避免每个采样器前都深拷贝一次 TimerData。
+
+    public boolean hasTimerData() {
+        return timerData != null;
+    }
+
+    public TimerData.TimerType getTimerType() {
+        return timerData == null ? TimerData.TimerType.FIXED : timerData.timerType;
+    }
+
+    public int getDelayMs() {
+        return timerData == null ? 0 : timerData.delayMs;
+    }
+
+    public int getTargetThroughputPerMinute() {
+        return timerData == null ? TimerData.MIN_THROUGHPUT_PER_MINUTE : timerData.targetThroughputPerMinute;
+    }
+
+    public TimerData.ThroughputScope getThroughputScope() {
+        return timerData == null ? TimerData.ThroughputScope.THREAD_GROUP : timerData.throughputScope;
+    }
+
+    public int getPoissonMeanMs() {
+        return timerData == null ? 0 : timerData.poissonMeanMs;
+    }
+
+    public int getPacingMs() {
+        return timerData == null ? 0 : timerData.pacingMs;
+    }
 }
@@ -5,6 +5,7 @@ import lombok.Value;
 
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Value
@@ -12,14 +13,30 @@ public class PerformanceJsonReport {
     PerformanceJsonReportMetadata metadata;
     PerformanceJsonReportSummary summary;
     Map<String, PerformanceJsonReportProtocol> protocols;
+    // 施压机饱和时间段，这些区间内的指标不可信；为空表示没有检测到饱和
+    List<PerformanceJsonReportSaturation> generatorSaturation;
+    // 本机运行期间的分层趋势（raw / 10s / 1m），未采样趋势时为空
+    List<PerformanceJsonReportTrendTier> trendTiers;
 
     @Builder
     public PerformanceJsonReport(PerformanceJsonReportMetadata metadata,
                                  PerformanceJsonReportSummary summary,
-                                 Map<String, PerformanceJsonReportProtocol> protocols) {
+                                 Map<String, PerformanceJsonReportProtocol> protocols,
+                                 List<PerformanceJsonReportSaturation> generatorSaturation,
+                                 List<PerformanceJsonReportTrendTier> trendTiers) {
         this.metadata = metadata == null ? PerformanceJsonReportMetadata.builder().build() : metadata;
         this.summary = summary == null ? PerformanceJsonReportSummary.builder().build() : summary;
         this.protocols = copyProtocols(protocols);
+        this.generatorSaturation = generatorSaturation == null ? List.of() : List.copyOf(generatorSaturation);
+        this.trendTiers = trendTiers == null ? List.of() : List.copyOf(trendTiers);
+    }
+
+    public PerformanceJsonReport withGeneratorSaturation(List<PerformanceJsonReportSaturation> generatorSaturation) {
+        return new PerformanceJsonReport(metadata, summary, protocols, generatorSaturation, trendTiers);
+    }
+
+    public PerformanceJsonReport withTrendTiers(List<PerformanceJsonReportTrendTier> trendTiers) {
+        return new PerformanceJsonReport(metadata, summary, protocols, generatorSaturation, trendTiers);
     }
 
     private static Map<String, PerformanceJsonReportProtocol> copyProtocols(
@@ -18,18 +18,26 @@ public class PerformanceJsonReportBytes {
     double receivedBytesPerSecond;
     // 平均接收字节数：receivedBytes / total，对齐 JMeter Avg. Bytes
     long avgReceivedBytes;
+    // 开启请求体压缩的样本压缩前的请求体字节数，未开启压缩时为 0
+    long requestBodyRawBytes;
+    // 开启请求体压缩的样本实际发送的请求体字节数，和 requestBodyRawBytes 对比即压缩率
+    long requestBodyCompressedBytes;
 
     @Builder
     public PerformanceJsonReportBytes(Long sentBytes,
                                       Long receivedBytes,
                                       Double sentBytesPerSecond,
                                       Double receivedBytesPerSecond,
-                                      Long avgReceivedBytes) {
+                                      Long avgReceivedBytes,
+                                      Long requestBodyRawBytes,
+                                      Long requestBodyCompressedBytes) {
         this.sentBytes = Math.max(0L, sentBytes == null ? 0L : sentBytes);
         this.receivedBytes = Math.max(0L, receivedBytes == null ? 0L : receivedBytes);
         this.sentBytesPerSecond = finite(sentBytesPerSecond);
         this.receivedBytesPerSecond = finite(receivedBytesPerSecond);
         this.avgReceivedBytes = Math.max(0L, avgReceivedBytes == null ? 0L : avgReceivedBytes);
+        this.requestBodyRawBytes = Math.max(0L, requestBodyRawBytes == null ? 0L : requestBodyRawBytes);
+        this.requestBodyCompressedBytes = Math.max(0L, requestBodyCompressedBytes == null ? 0L : requestBodyCompressedBytes);
     }
 
     private static double finite(Double value) {
@@ -1,5 +1,6 @@
 package com.laker.postman.performance.core.report;
 
+import com.laker.postman.performance.core.model.SseStreamStats;
 import com.laker.postman.performance.core.run.PerformanceRunStatus;
 import com.laker.postman.util.JsonUtil;
 
@@ -10,6 +11,7 @@ import java.util.Map;
 
 public class PerformanceJsonReportJsonStorage {
     public static final String FORMAT_VERSION = "1.1";
+    private static final List<String> TREND_POINT_COLUMNS = List.of("timeMs", "count", "min", "max", "avg", "p50", "p95");
 
     public String toJson(PerformanceJsonReport report) {
         return JsonUtil.toJsonPrettyStr(toMap(report));
@@ -38,6 +40,12 @@ public class PerformanceJsonReportJsonStorage {
         root.put("error", metadata.getError());
         root.put("summary", summaryToMap(safeReport.getSummary()));
         root.put("protocols", protocolsToMap(safeReport.getProtocols()));
+        if (!safeReport.getGeneratorSaturation().isEmpty()) {
+            root.put("generatorSaturation", saturationToList(safeReport.getGeneratorSaturation()));
+        }
+        if (!safeReport.getTrendTiers().isEmpty()) {
+            root.put("trendTiers", trendTiersToList(safeReport.getTrendTiers()));
+        }
         return root;
     }
 
@@ -56,9 +64,102 @@ public class PerformanceJsonReportJsonStorage {
                         .build())
                 .summary(readSummary(objectMap(root.get("summary"))))
                 .protocols(readProtocols(objectMap(root.get("protocols"))))
+                .generatorSaturation(readSaturation(listValue(root.get("generatorSaturation"))))
+                .trendTiers(readTrendTiers(listValue(root.get("trendTiers"))))
                 .build();
     }
 
+    /**
+     * 点写成 [timeMs, count, min, max, avg, p50, p95] 数组，列名写在 columns 里，长稳压测的趋势点数较多
+     */
+    private List<Map<String, Object>> trendTiersToList(List<PerformanceJsonReportTrendTier> tiers) {
+        List<Map<String, Object>> array = new ArrayList<>();
+        for (PerformanceJsonReportTrendTier tier : tiers) {
+            Map<String, Object> series = new LinkedHashMap<>();
+            for (Map.Entry<String, List<PerformanceJsonReportTrendPoint>> entry : tier.getSeries().entrySet()) {
+                List<List<Number>> points = new ArrayList<>();
+                for (PerformanceJsonReportTrendPoint point : entry.getValue()) {
+                    points.add(List.of(point.getTimeMs(), point.getCount(), point.getMin(), point.getMax(),
+                            point.getAvg(), point.getP50(), point.getP95()));
+                }
+                series.put(entry.getKey(), points);
+            }
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("name", tier.getName());
+            json.put("resolutionMs", tier.getResolutionMs());
+            json.put("columns", TREND_POINT_COLUMNS);
+            json.put("series", series);
+            array.add(json);
+        }
+        return array;
+    }
+
+    private List<PerformanceJsonReportTrendTier> readTrendTiers(List<Object> array) {
+        List<PerformanceJsonReportTrendTier> tiers = new ArrayList<>();
+        for (Object item : array) {
+            Map<String, Object> json = objectMap(item);
+            Map<String, List<PerformanceJsonReportTrendPoint>> series = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : objectMap(json.get("series")).entrySet()) {
+                List<PerformanceJsonReportTrendPoint> points = new ArrayList<>();
+                for (Object value : listValue(entry.getValue())) {
+                    List<Object> columns = listValue(value);
+                    if (columns.size() < TREND_POINT_COLUMNS.size()) {
+                        continue;
+                    }
+                    points.add(PerformanceJsonReportTrendPoint.builder()
+                            .timeMs(numberValue(columns.get(0)).longValue())
+                            .count(numberValue(columns.get(1)).longValue())
+                            .min(numberValue(columns.get(2)).doubleValue())
+                            .max(numberValue(columns.get(3)).doubleValue())
+                            .avg(numberValue(columns.get(4)).doubleValue())
+                            .p50(numberValue(columns.get(5)).doubleValue())
+                            .p95(numberValue(columns.get(6)).doubleValue())
+                            .build());
+                }
+                series.put(entry.getKey(), points);
+            }
+            tiers.add(PerformanceJsonReportTrendTier.builder()
+                    .name(stringValue(json, "name", ""))
+                    .resolutionMs(longValue(json, "resolutionMs", 0))
+                    .series(series)
+                    .build());
+        }
+        return tiers;
+    }
+
+    private Number numberValue(Object value) {
+        return value instanceof Number number ? number : 0;
+    }
+
+    private List<Map<String, Object>> saturationToList(List<PerformanceJsonReportSaturation> saturation) {
+        List<Map<String, Object>> array = new ArrayList<>();
+        for (PerformanceJsonReportSaturation interval : saturation) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("source", interval.getSource());
+            json.put("startTimeMs", interval.getStartTimeMs());
+            json.put("endTimeMs", interval.getEndTimeMs());
+            json.put("maxSchedulerLagMs", interval.getMaxSchedulerLagMs());
+            json.put("thresholdMs", interval.getThresholdMs());
+            array.add(json);
+        }
+        return array;
+    }
+
+    private List<PerformanceJsonReportSaturation> readSaturation(List<Object> array) {
+        List<PerformanceJsonReportSaturation> saturation = new ArrayList<>();
+        for (Object item : array) {
+            Map<String, Object> json = objectMap(item);
+            saturation.add(PerformanceJsonReportSaturation.builder()
+                    .source(stringValue(json, "source", ""))
+                    .startTimeMs(longValue(json, "startTimeMs", 0))
+                    .endTimeMs(longValue(json, "endTimeMs", 0))
+                    .maxSchedulerLagMs(doubleValue(json, "maxSchedulerLagMs", 0))
+                    .thresholdMs(longValue(json, "thresholdMs", 0))
+                    .build());
+        }
+        return saturation;
+    }
+
     private Map<String, Object> summaryToMap(PerformanceJsonReportSummary summary) {
         PerformanceJsonReportSummary safeSummary = summary == null
                 ? PerformanceJsonReportSummary.builder().build()
@@ -212,6 +313,16 @@ public class PerformanceJsonReportJsonStorage {
         json.put("sendRate", safeStream.getSendRate());
         json.put("receiveRate", safeStream.getReceiveRate());
         json.put("matchedRate", safeStream.getMatchedRate());
+        if (safeStream.hasSseStreamStats()) {
+            json.put("streams", safeStream.getStreams());
+            json.put("stalledStreams", safeStream.getStalledStreams());
+            json.put("stalls", safeStream.getStalls());
+            json.put("interEventGapMs", durationToMap(safeStream.getInterEventGapMs()));
+            json.put("interEventJitterMs", safeStream.getInterEventJitterMs());
+            json.put("interEventGapHistogram", gapHistogramToList(safeStream.getInterEventGapBuckets()));
+            json.put("eventsPerSecond", durationToMap(safeStream.getEventsPerSecond()));
+            json.put("bytesPerSecond", durationToMap(safeStream.getBytesPerSecond()));
+        }
         return json;
     }
 
@@ -223,9 +334,40 @@ public class PerformanceJsonReportJsonStorage {
                 .sendRate(doubleValue(json, "sendRate", 0))
                 .receiveRate(doubleValue(json, "receiveRate", 0))
                 .matchedRate(doubleValue(json, "matchedRate", 0))
+                .streams(longValue(json, "streams", 0))
+                .stalledStreams(longValue(json, "stalledStreams", 0))
+                .stalls(longValue(json, "stalls", 0))
+                .interEventGapMs(readDuration(objectMap(json.get("interEventGapMs"))))
+                .interEventJitterMs(doubleValue(json, "interEventJitterMs", 0))
+                .interEventGapBuckets(readGapHistogram(listValue(json.get("interEventGapHistogram"))))
+                .eventsPerSecond(readDuration(objectMap(json.get("eventsPerSecond"))))
+                .bytesPerSecond(readDuration(objectMap(json.get("bytesPerSecond"))))
                 .build();
     }
 
+    /**
+     * 直方图写成 [{upperBoundMs, count}]，溢出桶的 upperBoundMs 为 null
+     */
+    private List<Map<String, Object>> gapHistogramToList(List<Long> buckets) {
+        long[] bounds = SseStreamStats.gapBucketUpperBoundsMs();
+        List<Map<String, Object>> values = new ArrayList<>();
+        for (int i = 0; i < Math.min(bounds.length, buckets.size()); i++) {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("upperBoundMs", bounds[i] == Long.MAX_VALUE ? null : bounds[i]);
+            bucket.put("count", buckets.get(i));
+            values.add(bucket);
+        }
+        return values;
+    }
+
+    private List<Long> readGapHistogram(List<Object> values) {
+        List<Long> buckets = new ArrayList<>();
+        for (Object value : values) {
+            buckets.add(Math.max(0L, longValue(objectMap(value), "count", 0)));
+        }
+        return buckets;
+    }
+
     private Map<String, Object> bytesToMap(PerformanceJsonReportBytes bytes) {
         PerformanceJsonReportBytes safeBytes = bytes == null
                 ? PerformanceJsonReportBytes.builder().build()
@@ -236,6 +378,8 @@ public class PerformanceJsonReportJsonStorage {
         json.put("sentBytesPerSecond", safeBytes.getSentBytesPerSecond());
         json.put("receivedBytesPerSecond", safeBytes.getReceivedBytesPerSecond());
         json.put("avgReceivedBytes", safeBytes.getAvgReceivedBytes());
+        json.put("requestBodyRawBytes", safeBytes.getRequestBodyRawBytes());
+        json.put("requestBodyCompressedBytes", safeBytes.getRequestBodyCompressedBytes());
         return json;
     }
 
@@ -246,6 +390,8 @@ public class PerformanceJsonReportJsonStorage {
                 .sentBytesPerSecond(doubleValue(json, "sentBytesPerSecond", 0))
                 .receivedBytesPerSecond(doubleValue(json, "receivedBytesPerSecond", 0))
                 .avgReceivedBytes(longValue(json, "avgReceivedBytes", 0))
+                .requestBodyRawBytes(longValue(json, "requestBodyRawBytes", 0))
+                .requestBodyCompressedBytes(longValue(json, "requestBodyCompressedBytes", 0))
                 .build();
     }
 
@@ -4,9 +4,11 @@ import com.laker.postman.performance.core.model.PerformanceProtocol;
 import com.laker.postman.performance.core.model.PerformanceRealtimeMetrics;
 import com.laker.postman.performance.core.model.PerformanceReportSnapshot;
 import com.laker.postman.performance.core.model.PerformanceStatsSnapshot;
+import com.laker.postman.performance.core.model.PerformanceTrendTierStore;
 import lombok.experimental.UtilityClass;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -52,6 +54,40 @@ public class PerformanceJsonReportMapper {
                 .build();
     }
 
+    /**
+     * 把分层趋势存储当前保留的数据转成报表里的 trendTiers，没有任何点时返回空列表
+     */
+    public List<PerformanceJsonReportTrendTier> toTrendTiers(PerformanceTrendTierStore store) {
+        if (store == null || store.isEmpty()) {
+            return List.of();
+        }
+        List<PerformanceJsonReportTrendTier> tiers = new ArrayList<>();
+        for (PerformanceTrendTierStore.Tier tier : store.tiers()) {
+            Map<String, List<PerformanceJsonReportTrendPoint>> series = new LinkedHashMap<>();
+            for (Map.Entry<String, List<PerformanceTrendTierStore.Point>> entry : tier.series().entrySet()) {
+                List<PerformanceJsonReportTrendPoint> points = new ArrayList<>(entry.getValue().size());
+                for (PerformanceTrendTierStore.Point point : entry.getValue()) {
+                    points.add(PerformanceJsonReportTrendPoint.builder()
+                            .timeMs(point.timeMs())
+                            .count(point.count())
+                            .min(point.min())
+                            .max(point.max())
+                            .avg(point.avg())
+                            .p50(point.p50())
+                            .p95(point.p95())
+                            .build());
+                }
+                series.put(entry.getKey(), points);
+            }
+            tiers.add(PerformanceJsonReportTrendTier.builder()
+                    .name(tier.name())
+                    .resolutionMs(tier.resolutionMs())
+                    .series(series)
+                    .build());
+        }
+        return tiers;
+    }
+
     private boolean hasLiveStreamData(PerformanceRealtimeMetrics.LiveSnapshot liveSnapshot) {
         if (liveSnapshot == null) {
             return false;
@@ -128,6 +164,9 @@ public class PerformanceJsonReportMapper {
         PerformanceStatsSnapshot.DurationStats firstLatencyStats = summary.firstMessageLatencyStats() == null
                 ? PerformanceStatsSnapshot.DurationStats.empty()
                 : summary.firstMessageLatencyStats();
+        PerformanceStatsSnapshot.SseStreamSummary sseStreams = summary.sseStreams() == null
+                ? PerformanceStatsSnapshot.SseStreamSummary.empty()
+                : summary.sseStreams();
         return PerformanceJsonReportApi.builder()
                 .apiId(summary.apiId())
                 .name(summary.name())
@@ -146,6 +185,8 @@ public class PerformanceJsonReportMapper {
                         .sentBytesPerSecond(summary.sentBytesPerSecond())
                         .receivedBytesPerSecond(summary.receivedBytesPerSecond())
                         .avgReceivedBytes(summary.avgReceivedBytes())
+                        .requestBodyRawBytes(summary.requestBodyRawBytes())
+                        .requestBodyCompressedBytes(summary.requestBodyCompressedBytes())
                         .build())
                 .stream(PerformanceJsonReportStream.builder()
                         .sentMessages(summary.sentMessages())
@@ -154,6 +195,14 @@ public class PerformanceJsonReportMapper {
                         .sendRate(summary.sendRate())
                         .receiveRate(summary.receiveRate())
                         .matchedRate(summary.matchedRate())
+                        .streams(sseStreams.streams())
+                        .stalledStreams(sseStreams.stalledStreams())
+                        .stalls(sseStreams.stalls())
+                        .interEventGapMs(toDuration(sseStreams.interEventGapStats()))
+                        .interEventJitterMs(sseStreams.interEventJitterMs())
+                        .interEventGapBuckets(sseStreams.interEventGapBuckets())
+                        .eventsPerSecond(toDuration(sseStreams.eventsPerSecondStats()))
+                        .bytesPerSecond(toDuration(sseStreams.bytesPerSecondStats()))
                         .build())
                 .firstMessageLatencyMs(toDuration(firstLatencyStats))
                 .build();
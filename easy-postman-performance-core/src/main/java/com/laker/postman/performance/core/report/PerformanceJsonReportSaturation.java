@@ -0,0 +1,35 @@
+package com.laker.postman.performance.core.report;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 施压机自身饱和的时间段：期间调度延迟超过阈值，请求发出时间和测得的延迟都不可信。
+ */
+@Value
+public class PerformanceJsonReportSaturation {
+    String source;
+    long startTimeMs;
+    long endTimeMs;
+    double maxSchedulerLagMs;
+    long thresholdMs;
+
+    @Builder
+    public PerformanceJsonReportSaturation(String source,
+                                           Long startTimeMs,
+                                           Long endTimeMs,
+                                           Double maxSchedulerLagMs,
+                                           Long thresholdMs) {
+        this.source = source == null ? "" : source;
+        this.startTimeMs = Math.max(0L, startTimeMs == null ? 0L : startTimeMs);
+        this.endTimeMs = Math.max(this.startTimeMs, endTimeMs == null ? 0L : endTimeMs);
+        this.maxSchedulerLagMs = maxSchedulerLagMs == null || !Double.isFinite(maxSchedulerLagMs)
+                ? 0D
+                : Math.max(0D, maxSchedulerLagMs);
+        this.thresholdMs = Math.max(0L, thresholdMs == null ? 0L : thresholdMs);
+    }
+
+    public PerformanceJsonReportSaturation withSource(String source) {
+        return new PerformanceJsonReportSaturation(source, startTimeMs, endTimeMs, maxSchedulerLagMs, thresholdMs);
+    }
+}
@@ -3,6 +3,8 @@ package com.laker.postman.performance.core.report;
 import lombok.Builder;
 import lombok.Value;
 
+import java.util.List;
+
 @Value
 public class PerformanceJsonReportStream {
     long sentMessages;
@@ -11,6 +13,16 @@ public class PerformanceJsonReportStream {
     double sendRate;
     double receiveRate;
     double matchedRate;
+    // 以下为 SSE 流内统计，streams 为 0 时表示没有数据
+    long streams;
+    long stalledStreams;
+    long stalls;
+    PerformanceJsonReportDuration interEventGapMs;
+    double interEventJitterMs;
+    // 按 SseStreamStats.gapBucketUpperBoundsMs() 分桶的事件间隔计数，master 合并时按桶相加
+    List<Long> interEventGapBuckets;
+    PerformanceJsonReportDuration eventsPerSecond;
+    PerformanceJsonReportDuration bytesPerSecond;
 
     @Builder
     public PerformanceJsonReportStream(Long sentMessages,
@@ -18,13 +30,33 @@ public class PerformanceJsonReportStream {
                                        Long matchedMessages,
                                        Double sendRate,
                                        Double receiveRate,
-                                       Double matchedRate) {
+                                       Double matchedRate,
+                                       Long streams,
+                                       Long stalledStreams,
+                                       Long stalls,
+                                       PerformanceJsonReportDuration interEventGapMs,
+                                       Double interEventJitterMs,
+                                       List<Long> interEventGapBuckets,
+                                       PerformanceJsonReportDuration eventsPerSecond,
+                                       PerformanceJsonReportDuration bytesPerSecond) {
         this.sentMessages = Math.max(0L, sentMessages == null ? 0L : sentMessages);
         this.receivedMessages = Math.max(0L, receivedMessages == null ? 0L : receivedMessages);
         this.matchedMessages = Math.max(0L, matchedMessages == null ? 0L : matchedMessages);
         this.sendRate = finite(sendRate);
         this.receiveRate = finite(receiveRate);
         this.matchedRate = finite(matchedRate);
+        this.streams = Math.max(0L, streams == null ? 0L : streams);
+        this.stalledStreams = Math.max(0L, stalledStreams == null ? 0L : stalledStreams);
+        this.stalls = Math.max(0L, stalls == null ? 0L : stalls);
+        this.interEventGapMs = interEventGapMs == null ? PerformanceJsonReportDuration.builder().build() : interEventGapMs;
+        this.interEventJitterMs = finite(interEventJitterMs);
+        this.interEventGapBuckets = interEventGapBuckets == null ? List.of() : List.copyOf(interEventGapBuckets);
+        this.eventsPerSecond = eventsPerSecond == null ? PerformanceJsonReportDuration.builder().build() : eventsPerSecond;
+        this.bytesPerSecond = bytesPerSecond == null ? PerformanceJsonReportDuration.builder().build() : bytesPerSecond;
+    }
+
+    public boolean hasSseStreamStats() {
+        return streams > 0;
     }
 
     private static double finite(Double value) {
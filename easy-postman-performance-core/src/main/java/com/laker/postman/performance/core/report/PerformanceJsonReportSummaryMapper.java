@@ -1,6 +1,7 @@
 package com.laker.postman.performance.core.report;
 
 import com.laker.postman.performance.core.model.PerformanceProtocol;
+import com.laker.postman.performance.core.model.SseStreamStats;
 import com.laker.postman.performance.core.run.PerformanceRunStatus;
 import lombok.experimental.UtilityClass;
 
@@ -36,6 +37,7 @@ public class PerformanceJsonReportSummaryMapper {
         long end = 0;
         boolean stopped = false;
         StringBuilder errors = new StringBuilder();
+        List<PerformanceJsonReportSaturation> saturation = new ArrayList<>();
         if (reports != null) {
             for (PerformanceJsonReport report : reports) {
                 if (report == null) {
@@ -62,6 +64,12 @@ public class PerformanceJsonReportSummaryMapper {
                         appendError(errors, metadata.getSource(), failureSummary);
                     }
                 }
+                // 饱和区间只标记可信度，不改变运行状态；保留来源以便定位是哪台 worker。
+                for (PerformanceJsonReportSaturation interval : report.getGeneratorSaturation()) {
+                    saturation.add(interval.getSource().isBlank() && metadata != null
+                            ? interval.withSource(metadata.getSource())
+                            : interval);
+                }
             }
         }
         String resolvedStatus = PerformanceJsonReportStatusResolver.resolve(
@@ -90,6 +98,7 @@ public class PerformanceJsonReportSummaryMapper {
                         .successRequests(success)
                         .build())
                 .protocols(mergeProtocols(reports))
+                .generatorSaturation(saturation)
                 .build();
     }
 
@@ -189,8 +198,11 @@ public class PerformanceJsonReportSummaryMapper {
         private long receivedBytes;
         private double reportedSentBytesPerSecond;
         private double reportedReceivedBytesPerSecond;
+        private long requestBodyRawBytes;
+        private long requestBodyCompressedBytes;
         private final MutableDuration duration = new MutableDuration();
         private final MutableDuration firstLatency = new MutableDuration();
+        private final MutableSseStream sseStream = new MutableSseStream();
 
         private MutableApi(String protocol, String apiId, String name) {
             this.protocol = protocol == null ? "" : protocol;
@@ -219,12 +231,15 @@ public class PerformanceJsonReportSummaryMapper {
                 reportedSendRate += api.getStream().getSendRate();
                 reportedReceiveRate += api.getStream().getReceiveRate();
                 reportedMatchedRate += api.getStream().getMatchedRate();
+                sseStream.add(api.getStream());
             }
             if (api.getBytes() != null) {
                 sentBytes += api.getBytes().getSentBytes();
                 receivedBytes += api.getBytes().getReceivedBytes();
                 reportedSentBytesPerSecond += api.getBytes().getSentBytesPerSecond();
                 reportedReceivedBytesPerSecond += api.getBytes().getReceivedBytesPerSecond();
+                requestBodyRawBytes += api.getBytes().getRequestBodyRawBytes();
+                requestBodyCompressedBytes += api.getBytes().getRequestBodyCompressedBytes();
             }
             duration.add(api.getDurationMs(), api.getTotal());
             firstLatency.add(api.getFirstMessageLatencyMs(), positiveWeight(api.getFirstMessageLatencyMs(), api.getTotal()));
@@ -262,6 +277,8 @@ public class PerformanceJsonReportSummaryMapper {
                             .sentBytesPerSecond(sentBytesPerSecond)
                             .receivedBytesPerSecond(receivedBytesPerSecond)
                             .avgReceivedBytes(total == 0 ? 0 : receivedBytes / total)
+                            .requestBodyRawBytes(requestBodyRawBytes)
+                            .requestBodyCompressedBytes(requestBodyCompressedBytes)
                             .build())
                     .stream(PerformanceJsonReportStream.builder()
                             .sentMessages(sentMessages)
@@ -270,6 +287,14 @@ public class PerformanceJsonReportSummaryMapper {
                             .sendRate(sendRate)
                             .receiveRate(receiveRate)
                             .matchedRate(matchedRate)
+                            .streams(sseStream.streams)
+                            .stalledStreams(sseStream.stalledStreams)
+                            .stalls(sseStream.stalls)
+                            .interEventGapMs(sseStream.gapDuration())
+                            .interEventJitterMs(sseStream.jitterMs())
+                            .interEventGapBuckets(sseStream.bucketList())
+                            .eventsPerSecond(sseStream.eventsPerSecond.toDuration())
+                            .bytesPerSecond(sseStream.bytesPerSecond.toDuration())
                             .build())
                     .firstMessageLatencyMs(firstLatency.toDuration())
                     .build();
@@ -291,6 +316,80 @@ public class PerformanceJsonReportSummaryMapper {
         }
     }
 
+    /**
+     * SSE 流内统计的合并：事件间隔分桶直接相加并重算分位值，抖动由各 worker 的均值和标准差还原平方和后重算
+     */
+    private static final class MutableSseStream {
+        private final long[] buckets = new long[SseStreamStats.gapBucketCount()];
+        private long streams;
+        private long stalledStreams;
+        private long stalls;
+        private long gapCount;
+        private double gapTotalMs;
+        private double gapSquareTotalMs;
+        // 尚无间隔样本时为 Long.MAX_VALUE，0 是合法的最小间隔
+        private long gapMinMs = Long.MAX_VALUE;
+        private long gapMaxMs;
+        private final MutableDuration eventsPerSecond = new MutableDuration();
+        private final MutableDuration bytesPerSecond = new MutableDuration();
+
+        private void add(PerformanceJsonReportStream stream) {
+            if (stream == null || !stream.hasSseStreamStats()) {
+                return;
+            }
+            streams += stream.getStreams();
+            stalledStreams += stream.getStalledStreams();
+            stalls += stream.getStalls();
+            long count = 0;
+            List<Long> sourceBuckets = stream.getInterEventGapBuckets();
+            for (int i = 0; i < Math.min(buckets.length, sourceBuckets.size()); i++) {
+                buckets[i] += sourceBuckets.get(i);
+                count += sourceBuckets.get(i);
+            }
+            PerformanceJsonReportDuration gap = stream.getInterEventGapMs();
+            if (count > 0) {
+                double mean = gap.getAvg();
+                double jitter = stream.getInterEventJitterMs();
+                gapCount += count;
+                gapTotalMs += mean * count;
+                gapSquareTotalMs += count * (jitter * jitter + mean * mean);
+                gapMinMs = Math.min(gapMinMs, gap.getMin());
+                gapMaxMs = Math.max(gapMaxMs, gap.getMax());
+            }
+            eventsPerSecond.add(stream.getEventsPerSecond(), stream.getStreams());
+            bytesPerSecond.add(stream.getBytesPerSecond(), stream.getStreams());
+        }
+
+        private PerformanceJsonReportDuration gapDuration() {
+            if (gapCount == 0) {
+                return PerformanceJsonReportDuration.builder().build();
+            }
+            return PerformanceJsonReportDuration.builder()
+                    .avg(Math.round(gapTotalMs / gapCount))
+                    .min(gapMinMs)
+                    .max(gapMaxMs)
+                    .p90(SseStreamStats.percentile(buckets, gapMaxMs, 0.90))
+                    .p95(SseStreamStats.percentile(buckets, gapMaxMs, 0.95))
+                    .p99(SseStreamStats.percentile(buckets, gapMaxMs, 0.99))
+                    .build();
+        }
+
+        private double jitterMs() {
+            return SseStreamStats.standardDeviation(gapCount, gapTotalMs, gapSquareTotalMs);
+        }
+
+        private List<Long> bucketList() {
+            if (streams == 0) {
+                return List.of();
+            }
+            List<Long> values = new ArrayList<>(buckets.length);
+            for (long bucket : buckets) {
+                values.add(bucket);
+            }
+            return values;
+        }
+    }
+
     private static final class MutableDuration {
         private long avg;
         private long avgWeight;
@@ -0,0 +1,41 @@
+package com.laker.postman.performance.core.report;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 趋势分层里的一个点：原始层是单次采样，聚合层是一个时间桶的包络。
+ */
+@Value
+public class PerformanceJsonReportTrendPoint {
+    // 原始点的采样时间，聚合桶的起始时间
+    long timeMs;
+    // 桶内有效采样数，原始点为 1
+    long count;
+    double min;
+    double max;
+    double avg;
+    double p50;
+    double p95;
+
+    @Builder
+    public PerformanceJsonReportTrendPoint(Long timeMs,
+                                           Long count,
+                                           Double min,
+                                           Double max,
+                                           Double avg,
+                                           Double p50,
+                                           Double p95) {
+        this.timeMs = Math.max(0L, timeMs == null ? 0L : timeMs);
+        this.count = Math.max(0L, count == null ? 0L : count);
+        this.min = finite(min);
+        this.max = finite(max);
+        this.avg = finite(avg);
+        this.p50 = finite(p50);
+        this.p95 = finite(p95);
+    }
+
+    private static double finite(Double value) {
+        return value == null || !Double.isFinite(value) ? 0D : value;
+    }
+}
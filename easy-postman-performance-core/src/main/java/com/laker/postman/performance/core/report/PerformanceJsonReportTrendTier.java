@@ -0,0 +1,44 @@
+package com.laker.postman.performance.core.report;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 长稳压测的分层趋势：raw 为最近一段时间的原始采样，10s / 1m 为更早时间段的聚合桶。
+ */
+@Value
+public class PerformanceJsonReportTrendTier {
+    String name;
+    // 聚合桶时长，原始层为 0
+    long resolutionMs;
+    // 序列名 -> 按时间升序的点，序列名见 PerformanceTrendSeries
+    Map<String, List<PerformanceJsonReportTrendPoint>> series;
+
+    @Builder
+    public PerformanceJsonReportTrendTier(String name,
+                                          Long resolutionMs,
+                                          Map<String, List<PerformanceJsonReportTrendPoint>> series) {
+        this.name = name == null ? "" : name;
+        this.resolutionMs = Math.max(0L, resolutionMs == null ? 0L : resolutionMs);
+        this.series = copySeries(series);
+    }
+
+    private static Map<String, List<PerformanceJsonReportTrendPoint>> copySeries(
+            Map<String, List<PerformanceJsonReportTrendPoint>> series) {
+        Map<String, List<PerformanceJsonReportTrendPoint>> copy = new LinkedHashMap<>();
+        if (series == null) {
+            return Collections.unmodifiableMap(copy);
+        }
+        for (Map.Entry<String, List<PerformanceJsonReportTrendPoint>> entry : series.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null && !entry.getValue().isEmpty()) {
+                copy.put(entry.getKey(), List.copyOf(entry.getValue()));
+            }
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+}
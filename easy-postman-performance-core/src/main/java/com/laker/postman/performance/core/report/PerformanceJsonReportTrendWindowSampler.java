@@ -129,6 +129,7 @@ public final class PerformanceJsonReportTrendWindowSampler {
                 webSocketMetrics.sentRate() + sseMetrics.sentRate(),
                 webSocketMetrics.receivedRate() + sseMetrics.receivedRate(),
                 webSocketMetrics.matchedRate() + sseMetrics.matchedRate(),
+                Double.NaN,
                 Double.NaN
         );
     }
@@ -230,7 +231,8 @@ public final class PerformanceJsonReportTrendWindowSampler {
                     rate(sentDelta, elapsedMs),
                     rate(receivedDelta, elapsedMs),
                     rate(matchedDelta, elapsedMs),
-                    averageDuration(api == null ? null : api.getFirstMessageLatencyMs(), totalDelta, firstLatencyDeltaMs)
+                    averageDuration(api == null ? null : api.getFirstMessageLatencyMs(), totalDelta, firstLatencyDeltaMs),
+                    Double.NaN
             );
         }
 
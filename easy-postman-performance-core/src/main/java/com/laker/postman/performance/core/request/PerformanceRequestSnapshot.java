@@ -7,12 +7,17 @@ import lombok.Value;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 @Value
 public class PerformanceRequestSnapshot {
     public static final String HTTP_VERSION_AUTO = "AUTO";
     public static final String HTTP_VERSION_HTTP_1_1 = "HTTP_1_1";
     public static final String HTTP_VERSION_HTTP_2 = "HTTP_2";
+    public static final String REQUEST_BODY_COMPRESSION_NONE = "NONE";
+    public static final String REQUEST_BODY_COMPRESSION_GZIP = "GZIP";
+    public static final String REQUEST_BODY_COMPRESSION_DEFLATE = "DEFLATE";
+    public static final String REQUEST_BODY_COMPRESSION_ZSTD = "ZSTD";
     public static final String PROXY_POLICY_DEFAULT = "DEFAULT";
     public static final String PROXY_POLICY_USE_PROXY = "USE_PROXY";
     public static final String PROXY_POLICY_NO_PROXY = "NO_PROXY";
@@ -42,6 +47,7 @@ public class PerformanceRequestSnapshot {
     String proxyPolicy;
     String httpVersion;
     Integer requestTimeoutMs;
+    String requestBodyCompression;
     String prescript;
     String postscript;
     PerformanceRequestExecutionScopeSnapshot executionScope;
@@ -71,6 +77,7 @@ public class PerformanceRequestSnapshot {
                                       String proxyPolicy,
                                       String httpVersion,
                                       Integer requestTimeoutMs,
+                                      String requestBodyCompression,
                                       String prescript,
                                       String postscript,
                                       PerformanceRequestExecutionScopeSnapshot executionScope) {
@@ -98,6 +105,7 @@ public class PerformanceRequestSnapshot {
         this.proxyPolicy = normalizeProxyPolicy(proxyPolicy);
         this.httpVersion = normalizeHttpVersion(httpVersion);
         this.requestTimeoutMs = requestTimeoutMs;
+        this.requestBodyCompression = normalizeRequestBodyCompression(requestBodyCompression);
         this.prescript = blankToEmpty(prescript);
         this.postscript = blankToEmpty(postscript);
         this.executionScope = executionScope == null
@@ -162,6 +170,19 @@ public class PerformanceRequestSnapshot {
         return HTTP_VERSION_AUTO;
     }
 
+    public static String normalizeRequestBodyCompression(String compression) {
+        if (compression == null || compression.trim().isEmpty()) {
+            return REQUEST_BODY_COMPRESSION_NONE;
+        }
+        String normalized = compression.trim().toUpperCase(Locale.ROOT);
+        if (REQUEST_BODY_COMPRESSION_GZIP.equals(normalized)
+                || REQUEST_BODY_COMPRESSION_DEFLATE.equals(normalized)
+                || REQUEST_BODY_COMPRESSION_ZSTD.equals(normalized)) {
+            return normalized;
+        }
+        return REQUEST_BODY_COMPRESSION_NONE;
+    }
+
     public static String normalizeProxyPolicy(String proxyPolicy) {
         if (proxyPolicy == null || proxyPolicy.trim().isEmpty()) {
             return PROXY_POLICY_DEFAULT;
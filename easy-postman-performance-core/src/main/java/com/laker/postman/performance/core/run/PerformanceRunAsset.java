@@ -11,12 +11,31 @@ public class PerformanceRunAsset {
     String id;
     String type;
     String path;
+    // 内容哈希为空表示 master 没有上传该文件，worker 仍按 path 读取本机同路径文件。
     String sha256;
+    long size;
 
     public PerformanceRunAsset(String id, String type, String path, String sha256) {
+        this(id, type, path, sha256, -1L);
+    }
+
+    public PerformanceRunAsset(String id, String type, String path, String sha256, long size) {
         this.id = id == null ? "" : id;
         this.type = type == null ? TYPE_FILE : type;
         this.path = path == null ? "" : path;
         this.sha256 = sha256;
+        this.size = size < 0 ? -1L : size;
+    }
+
+    public boolean isContentAddressed() {
+        return sha256 != null && !sha256.isBlank();
+    }
+
+    public PerformanceRunAsset withContent(String sha256, long size) {
+        return new PerformanceRunAsset(id, type, path, sha256, size);
+    }
+
+    public PerformanceRunAsset withPath(String path) {
+        return new PerformanceRunAsset(id, type, path, sha256, size);
     }
 }
@@ -0,0 +1,109 @@
+package com.laker.postman.performance.core.run;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 按 worker 分到的虚拟用户区间切出 CSV 分片。
+ * <p>
+ * 记录边界与 CsvDataSetData 的解析规则一致：引号外的换行结束一条记录。分片保留表头，
+ * 数据行依次为全局第 {@code firstRowIndex} 行起的 {@code rowCount} 行（超过末尾时从第 0 行回绕），
+ * 因此 worker 上第 k 个虚拟用户取分片第 k 行，与读取完整文件时取到的行相同。
+ * 文件按记录流式复制，不整体读入内存。
+ * </p>
+ */
+@UtilityClass
+public class PerformanceRunCsvShardWriter {
+
+    /**
+     * @return 写出分片时返回 true；虚拟用户数不少于数据行数时分片与原文件等价，不写文件并返回 false
+     */
+    public boolean write(Path source,
+                         Charset charset,
+                         boolean hasHeader,
+                         int firstRowIndex,
+                         int rowCount,
+                         Path target) throws IOException {
+        int headerRecords = hasHeader ? 1 : 0;
+        int dataRows = Math.max(0, countRecords(source, charset) - headerRecords);
+        if (dataRows == 0 || rowCount <= 0 || rowCount >= dataRows) {
+            return false;
+        }
+        int start = Math.max(0, firstRowIndex) % dataRows;
+        int end = start + rowCount;
+        try (Writer writer = Files.newBufferedWriter(target, charset)) {
+            copyRecords(source, charset, writer, 0, headerRecords);
+            copyRecords(source, charset, writer, headerRecords + start, headerRecords + Math.min(end, dataRows));
+            if (end > dataRows) {
+                copyRecords(source, charset, writer, headerRecords, headerRecords + end - dataRows);
+            }
+        }
+        return true;
+    }
+
+    static int countRecords(Path source, Charset charset) throws IOException {
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(source, charset)) {
+            while (readRecord(reader, null)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 复制 [from, to) 范围内的原始记录，缺少结尾换行的最后一条补上换行
+     */
+    private static void copyRecords(Path source, Charset charset, Writer writer, int from, int to) throws IOException {
+        if (from >= to) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(source, charset)) {
+            StringBuilder record = new StringBuilder();
+            int index = 0;
+            while (index < to) {
+                record.setLength(0);
+                if (!readRecord(reader, record)) {
+                    return;
+                }
+                if (index >= from) {
+                    writer.append(record);
+                    if (record.charAt(record.length() - 1) != '\n') {
+                        writer.append('\n');
+                    }
+                }
+                index++;
+            }
+        }
+    }
+
+    /**
+     * 读取一条原始记录（含结尾换行）；文件末尾只剩回车或空引号时不算记录，与解析器一致
+     */
+    private static boolean readRecord(Reader reader, StringBuilder record) throws IOException {
+        boolean quoted = false;
+        boolean content = false;
+        int ch;
+        while ((ch = reader.read()) >= 0) {
+            if (record != null) {
+                record.append((char) ch);
+            }
+            if (ch == '"') {
+                quoted = !quoted;
+            } else if (ch == '\n' && !quoted) {
+                return true;
+            } else if (ch != '\r') {
+                content = true;
+            }
+        }
+        return content;
+    }
+}
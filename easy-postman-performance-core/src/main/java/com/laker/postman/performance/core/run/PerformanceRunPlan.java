@@ -47,6 +47,10 @@ public class PerformanceRunPlan {
         this.assets = sanitizeAssets(assets, executableTestPlan);
     }
 
+    public PerformanceRunPlan withAssets(List<PerformanceRunAsset> assets) {
+        return new PerformanceRunPlan(schemaVersion, generatedBy, generatedAt, environment, globals, settings, testPlan, assets);
+    }
+
     private static PerformanceRunEnvironment sanitizeEnvironment(PerformanceRunEnvironment environment) {
         if (environment == null) {
             return PerformanceRunEnvironment.empty();
@@ -0,0 +1,99 @@
+package com.laker.postman.performance.core.run;
+
+import com.laker.postman.performance.core.config.CsvDataSetData;
+import com.laker.postman.performance.core.plan.PerformanceCorePlanDocument;
+import com.laker.postman.performance.core.plan.PerformanceCorePlanNode;
+import com.laker.postman.performance.core.request.PerformanceRequestFormDataPart;
+import com.laker.postman.performance.core.request.PerformanceRequestSnapshot;
+import com.laker.postman.util.JsonUtil;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把运行快照里引用的 CSV 与上传文件路径替换为本机路径，worker 用它指向内容寻址缓存里的文件。
+ */
+@UtilityClass
+public class PerformanceRunPlanAssetRelocator {
+
+    /**
+     * @param localPaths 原路径到本机路径的映射，未出现在映射里的路径保持不变
+     */
+    public PerformanceRunPlan relocate(PerformanceRunPlan plan, Map<String, String> localPaths) {
+        if (plan == null || localPaths == null || localPaths.isEmpty()) {
+            return plan;
+        }
+        PerformanceCorePlanDocument testPlan = plan.getTestPlan();
+        List<PerformanceRunAsset> assets = new ArrayList<>();
+        for (PerformanceRunAsset asset : plan.getAssets()) {
+            assets.add(asset.withPath(localPaths.getOrDefault(asset.getPath(), asset.getPath())));
+        }
+        return PerformanceRunPlan.builder()
+                .schemaVersion(plan.getSchemaVersion())
+                .generatedBy(plan.getGeneratedBy())
+                .generatedAt(plan.getGeneratedAt())
+                .environment(plan.getEnvironment())
+                .globals(plan.getGlobals())
+                .settings(plan.getSettings())
+                .testPlan(new PerformanceCorePlanDocument(
+                        relocateNode(testPlan == null ? null : testPlan.getRoot(), localPaths)))
+                .assets(assets)
+                .build();
+    }
+
+    private PerformanceCorePlanNode relocateNode(PerformanceCorePlanNode node, Map<String, String> localPaths) {
+        if (node == null) {
+            return null;
+        }
+        List<PerformanceCorePlanNode> children = new ArrayList<>();
+        for (PerformanceCorePlanNode child : node.getChildren()) {
+            children.add(relocateNode(child, localPaths));
+        }
+        return PerformanceCorePlanNode.builder()
+                .name(node.getName())
+                .type(node.getType())
+                .enabled(node.isEnabled())
+                .threadGroupData(node.getThreadGroupData())
+                .csvDataSetData(relocateCsv(node.getCsvDataSetData(), localPaths))
+                .loopData(node.getLoopData())
+                .conditionData(node.getConditionData())
+                .whileData(node.getWhileData())
+                .requestSnapshot(relocateRequest(node.getRequestSnapshot(), localPaths))
+                .assertionData(node.getAssertionData())
+                .extractorData(node.getExtractorData())
+                .timerData(node.getTimerData())
+                .ssePerformanceData(node.getSsePerformanceData())
+                .webSocketPerformanceData(node.getWebSocketPerformanceData())
+                .requestInheritanceSnapshot(node.isRequestInheritanceSnapshot())
+                .children(children)
+                .build();
+    }
+
+    private CsvDataSetData relocateCsv(CsvDataSetData data, Map<String, String> localPaths) {
+        if (data == null || !data.hasFileReference() || !localPaths.containsKey(data.getFilePath())) {
+            return data;
+        }
+        CsvDataSetData copy = JsonUtil.deepCopy(data, CsvDataSetData.class);
+        copy.setFilePath(localPaths.get(data.getFilePath()));
+        return copy;
+    }
+
+    private PerformanceRequestSnapshot relocateRequest(PerformanceRequestSnapshot request, Map<String, String> localPaths) {
+        if (request == null || request.getFormData().isEmpty()) {
+            return request;
+        }
+        List<PerformanceRequestFormDataPart> formData = new ArrayList<>();
+        for (PerformanceRequestFormDataPart part : request.getFormData()) {
+            if (part != null && part.isFile() && localPaths.containsKey(part.getValue())) {
+                formData.add(new PerformanceRequestFormDataPart(
+                        part.isEnabled(), part.getKey(), part.getType(),
+                        localPaths.get(part.getValue()), part.getDescription()));
+            } else {
+                formData.add(part);
+            }
+        }
+        return request.toBuilder().formData(formData).build();
+    }
+}
@@ -130,6 +130,9 @@ public class PerformanceRunPlanJsonStorage {
             json.put("type", asset.getType());
             json.put("path", asset.getPath());
             json.put("sha256", asset.getSha256());
+            if (asset.getSize() >= 0) {
+                json.put("size", asset.getSize());
+            }
             array.add(json);
         }
         return array;
@@ -191,7 +194,8 @@ public class PerformanceRunPlanJsonStorage {
                         stringValue(json, "id", ""),
                         stringValue(json, "type", PerformanceRunAsset.TYPE_FILE),
                         stringValue(json, "path", ""),
-                        stringValue(json, "sha256", null)
+                        stringValue(json, "sha256", null),
+                        longValue(json, "size", -1L)
                 ));
             }
         }
@@ -0,0 +1,78 @@
+package com.laker.postman.performance.core.runtime;
+
+import com.laker.postman.performance.core.plan.PerformanceTimerElement;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步执行的虚拟用户：不独占线程，每段逻辑都投递到线程组共享的少量工作线程上执行。
+ * <p>
+ * 每段执行前把虚拟用户序号、作用域和迭代序号绑定到当前线程，执行完再解绑，
+ * 因此按线程读取虚拟用户身份的代码（迭代上下文、Cookie 隔离等）不需要区分同步还是异步执行。
+ * 同一虚拟用户的各段逻辑前后衔接、不会并发执行，状态无需加锁。
+ * </p>
+ */
+public final class PerformanceAsyncVirtualUser implements Executor {
+    private final PerformanceVirtualUserCoordinator coordinator;
+    private final int index;
+    private final String scope;
+    private final Executor workers;
+    private final ScheduledExecutorService scheduler;
+    private final Map<PerformanceTimerElement, Long> pacingReleases = new IdentityHashMap<>();
+    private int iterationIndex;
+
+    PerformanceAsyncVirtualUser(PerformanceVirtualUserCoordinator coordinator,
+                                int index,
+                                String scope,
+                                Executor workers,
+                                ScheduledExecutorService scheduler) {
+        this.coordinator = coordinator;
+        this.index = index;
+        this.scope = scope;
+        this.workers = workers;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * 在工作线程上以本虚拟用户的身份执行
+     */
+    @Override
+    public void execute(Runnable task) {
+        workers.execute(() -> coordinator.runAs(this, task));
+    }
+
+    /**
+     * 等待 delayMs 后以本虚拟用户的身份执行；等待期间不占用工作线程
+     */
+    public void schedule(long delayMs, Runnable task) {
+        if (delayMs <= 0) {
+            execute(task);
+            return;
+        }
+        scheduler.schedule(() -> execute(task), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    int index() {
+        return index;
+    }
+
+    String scope() {
+        return scope;
+    }
+
+    int iterationIndex() {
+        return iterationIndex;
+    }
+
+    void iterationIndex(int iterationIndex) {
+        this.iterationIndex = iterationIndex;
+    }
+
+    Map<PerformanceTimerElement, Long> pacingReleases() {
+        return pacingReleases;
+    }
+}
@@ -42,6 +42,18 @@ public final class PerformanceCoreExecutionEngine<C> implements PerformanceCoreR
                                           PerformanceCoreThreadGroupRunner.IterationContextFactory<C> iterationContextFactory,
                                           PerformanceCoreThreadGroupRunner.IterationExecutor<C> iterationExecutor,
                                           PerformanceRunListener runListener) {
+        this(runningSupplier, networkControl, virtualUsers, realtimeMetrics, iterationContextFactory,
+                iterationExecutor, null, runListener);
+    }
+
+    public PerformanceCoreExecutionEngine(BooleanSupplier runningSupplier,
+                                          PerformanceNetworkControl networkControl,
+                                          PerformanceVirtualUserCoordinator virtualUsers,
+                                          PerformanceRealtimeMetrics realtimeMetrics,
+                                          PerformanceCoreThreadGroupRunner.IterationContextFactory<C> iterationContextFactory,
+                                          PerformanceCoreThreadGroupRunner.IterationExecutor<C> iterationExecutor,
+                                          PerformanceCoreThreadGroupRunner.AsyncIterationExecutor<C> asyncIterationExecutor,
+                                          PerformanceRunListener runListener) {
         this.runningSupplier = runningSupplier == null ? () -> false : runningSupplier;
         this.networkControl = networkControl == null ? PerformanceNetworkControl.NOOP : networkControl;
         this.virtualUsers = virtualUsers == null ? new PerformanceVirtualUserCoordinator() : virtualUsers;
@@ -55,6 +67,7 @@ public final class PerformanceCoreExecutionEngine<C> implements PerformanceCoreR
                 this.virtualUsers,
                 iterationContextFactory,
                 iterationExecutor,
+                asyncIterationExecutor,
                 this::currentResultSink
         );
     }
@@ -10,14 +10,15 @@ import com.laker.postman.performance.core.plan.PerformanceWhileController;
 import com.laker.postman.performance.core.plan.PerformanceSampler;
 import com.laker.postman.performance.core.plan.PerformanceThreadGroupPlan;
 import com.laker.postman.performance.core.plan.PerformanceTimerElement;
-import com.laker.postman.performance.core.timer.TimerData;
 
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 
 public final class PerformanceCorePlanExecutor<C> {
 
@@ -26,6 +27,14 @@ public final class PerformanceCorePlanExecutor<C> {
         void execute(PerformanceSampler sampler, C iterationContext);
     }
 
+    @FunctionalInterface
+    public interface AsyncSamplerExecutor<C> {
+        /**
+         * 发起采样并立即返回；采样完成后的后处理应通过 virtualUser 回到虚拟用户上下文执行。
+         */
+        CompletableFuture<Void> execute(PerformanceSampler sampler, C iterationContext, PerformanceAsyncVirtualUser virtualUser);
+    }
+
     @FunctionalInterface
     public interface TimerSleeper {
         void sleep(long delayMs) throws InterruptedException;
@@ -53,6 +62,7 @@ public final class PerformanceCorePlanExecutor<C> {
     private final OnceOnlyState<C> onceOnlyState;
     private final WhileEvaluator<C> whileEvaluator;
     private final DefaultOnceOnlyState<C> defaultOnceOnlyState;
+    private final PerformanceCoreTimerState timerState = new PerformanceCoreTimerState();
 
     public PerformanceCorePlanExecutor(BooleanSupplier runningSupplier,
                                        SamplerExecutor<C> samplerExecutor) {
@@ -100,17 +110,60 @@ public final class PerformanceCorePlanExecutor<C> {
             return;
         }
         if (defaultOnceOnlyState == null) {
-            executeElements(groupPlan.getElements(), PerformanceCoreTimerScope.empty(), iterationContext);
+            executeElements(groupPlan.getElements(), PerformanceCoreTimerScope.forThreadGroup(groupPlan), iterationContext);
             return;
         }
         defaultOnceOnlyState.beginTopLevelExecution();
         try {
-            executeElements(groupPlan.getElements(), PerformanceCoreTimerScope.empty(), iterationContext);
+            executeElements(groupPlan.getElements(), PerformanceCoreTimerScope.forThreadGroup(groupPlan), iterationContext);
         } finally {
             defaultOnceOnlyState.endTopLevelExecution();
         }
     }
 
+    /**
+     * 线程组能否异步执行：只包含定时器和可以异步执行的采样器，不含任何控制器。
+     */
+    public static boolean supportsAsyncIteration(PerformanceThreadGroupPlan groupPlan,
+                                                 Predicate<PerformanceSampler> asyncSampler) {
+        if (groupPlan == null || asyncSampler == null) {
+            return false;
+        }
+        boolean hasSampler = false;
+        for (PerformancePlanElement element : groupPlan.getElements()) {
+            if (element instanceof PerformanceTimerElement) {
+                continue;
+            }
+            if (!(element instanceof PerformanceSampler sampler) || !asyncSampler.test(sampler)) {
+                return false;
+            }
+            hasSampler = true;
+        }
+        return hasSampler;
+    }
+
+    /**
+     * 异步执行一次迭代：定时器等待挂在调度器上，采样器完成后才继续下一个元素，期间不占用线程。
+     * 调用方需先用 {@link #supportsAsyncIteration} 确认线程组可以异步执行。
+     */
+    public CompletableFuture<Void> executeIterationAsync(PerformanceThreadGroupPlan groupPlan,
+                                                         C iterationContext,
+                                                         AsyncSamplerExecutor<C> asyncSamplerExecutor,
+                                                         PerformanceAsyncVirtualUser virtualUser) {
+        if (groupPlan == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        AsyncIteration iteration = new AsyncIteration(
+                groupPlan.getElements(),
+                PerformanceCoreTimerScope.forThreadGroup(groupPlan).enter(groupPlan.getElements()),
+                iterationContext,
+                Objects.requireNonNull(asyncSamplerExecutor, "asyncSamplerExecutor"),
+                Objects.requireNonNull(virtualUser, "virtualUser")
+        );
+        iteration.advance();
+        return iteration.completion;
+    }
+
     private void executeElements(List<PerformancePlanElement> elements,
                                  PerformanceCoreTimerScope inheritedScope,
                                  C iterationContext) {
@@ -258,33 +311,28 @@ public final class PerformanceCorePlanExecutor<C> {
     private void executeSampler(PerformanceSampler sampler,
                                 PerformanceCoreTimerScope scopedTimers,
                                 C iterationContext) {
-        sleepTimers(scopedTimers.timersForSampler(sampler));
+        sleepTimers(scopedTimers, scopedTimers.timersForSampler(sampler));
         if (Thread.currentThread().isInterrupted() || !runningSupplier.getAsBoolean()) {
             return;
         }
-        samplerExecutor.execute(sampler, iterationContext);
+        PerformanceSamplerTimers.runBound(
+                PerformanceSamplerTimers.of(timerState, scopedTimers, timerState.threadPacingReleases()),
+                () -> samplerExecutor.execute(sampler, iterationContext)
+        );
     }
 
-    private void sleepTimers(List<PerformanceTimerElement> timerElements) {
+    private void sleepTimers(PerformanceCoreTimerScope scopedTimers, List<PerformanceTimerElement> timerElements) {
         for (PerformanceTimerElement timerElement : timerElements) {
             if (!runningSupplier.getAsBoolean()) {
                 return;
             }
-            sleepTimer(timerElement);
+            sleepDelay(timerState.delayMs(timerElement, scopedTimers));
             if (Thread.currentThread().isInterrupted()) {
                 return;
             }
         }
     }
 
-    private void sleepTimer(PerformanceTimerElement timerElement) {
-        TimerData timerData = timerElement.getTimerData();
-        if (timerData == null) {
-            return;
-        }
-        sleepDelay(timerData.delayMs);
-    }
-
     private void sleepDelay(long delayMs) {
         if (delayMs <= 0) {
             return;
@@ -296,6 +344,88 @@ public final class PerformanceCorePlanExecutor<C> {
         }
     }
 
+    /**
+     * 一次异步迭代的游标；各步骤都在虚拟用户上下文中依次执行，不会并发访问
+     */
+    private final class AsyncIteration {
+        private final List<PerformancePlanElement> elements;
+        private final PerformanceCoreTimerScope scopedTimers;
+        private final C iterationContext;
+        private final AsyncSamplerExecutor<C> asyncSamplerExecutor;
+        private final PerformanceAsyncVirtualUser virtualUser;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private int nextElement;
+
+        private AsyncIteration(List<PerformancePlanElement> elements,
+                               PerformanceCoreTimerScope scopedTimers,
+                               C iterationContext,
+                               AsyncSamplerExecutor<C> asyncSamplerExecutor,
+                               PerformanceAsyncVirtualUser virtualUser) {
+            this.elements = elements;
+            this.scopedTimers = scopedTimers;
+            this.iterationContext = iterationContext;
+            this.asyncSamplerExecutor = asyncSamplerExecutor;
+            this.virtualUser = virtualUser;
+        }
+
+        private void advance() {
+            while (nextElement < elements.size()) {
+                if (!runningSupplier.getAsBoolean()) {
+                    break;
+                }
+                if (elements.get(nextElement++) instanceof PerformanceSampler sampler) {
+                    awaitTimers(sampler, scopedTimers.timersForSampler(sampler), 0);
+                    return;
+                }
+            }
+            completion.complete(null);
+        }
+
+        private void awaitTimers(PerformanceSampler sampler, List<PerformanceTimerElement> timerElements, int timerIndex) {
+            for (int i = timerIndex; i < timerElements.size(); i++) {
+                if (!runningSupplier.getAsBoolean()) {
+                    completion.complete(null);
+                    return;
+                }
+                long delayMs = timerState.delayMs(timerElements.get(i), scopedTimers, virtualUser.pacingReleases());
+                if (delayMs > 0) {
+                    int nextTimer = i + 1;
+                    virtualUser.schedule(delayMs, () -> awaitTimers(sampler, timerElements, nextTimer));
+                    return;
+                }
+            }
+            executeSampler(sampler);
+        }
+
+        private void executeSampler(PerformanceSampler sampler) {
+            if (!runningSupplier.getAsBoolean()) {
+                completion.complete(null);
+                return;
+            }
+            CompletableFuture<Void> sample;
+            try {
+                sample = PerformanceSamplerTimers.supplyBound(
+                        PerformanceSamplerTimers.of(timerState, scopedTimers, virtualUser.pacingReleases()),
+                        () -> asyncSamplerExecutor.execute(sampler, iterationContext, virtualUser)
+                );
+            } catch (RuntimeException e) {
+                completion.completeExceptionally(e);
+                return;
+            }
+            if (sample == null) {
+                advance();
+                return;
+            }
+            sample.whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    completion.completeExceptionally(failure);
+                } else {
+                    virtualUser.execute(this::advance);
+                }
+            });
+        }
+    }
+
     private static <C> ConditionEvaluator<C> defaultConditionEvaluator() {
         return (conditionController, iterationContext) -> ConditionExpressionEvaluator.evaluate(
                 conditionController.getConditionData() == null
@@ -7,11 +7,15 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
@@ -33,12 +37,25 @@ public final class PerformanceCoreThreadGroupRunner<C> {
         void executeIteration(PerformanceThreadGroupPlan groupPlan, C iterationContext);
     }
 
+    /**
+     * 可选的异步迭代执行器。支持的线程组在固定线程模式下不再为每个虚拟用户占用一个线程：
+     * 迭代返回的 future 完成后，虚拟用户在线程组共享的少量工作线程上继续下一次迭代。
+     */
+    public interface AsyncIterationExecutor<C> {
+        boolean supports(PerformanceThreadGroupPlan groupPlan);
+
+        CompletableFuture<Void> executeIteration(PerformanceThreadGroupPlan groupPlan,
+                                                 C iterationContext,
+                                                 PerformanceAsyncVirtualUser virtualUser);
+    }
+
     private final BooleanSupplier runningSupplier;
     private final LongSupplier startTimeSupplier;
     private final Runnable cancellationAction;
     private final PerformanceVirtualUserCoordinator virtualUsers;
     private final IterationContextFactory<C> iterationContextFactory;
     private final IterationExecutor<C> iterationExecutor;
+    private final AsyncIterationExecutor<C> asyncIterationExecutor;
     private final Supplier<PerformanceCoreResultSink> resultSinkSupplier;
     private final AtomicLong progressSequence = new AtomicLong(0L);
 
@@ -49,6 +66,18 @@ public final class PerformanceCoreThreadGroupRunner<C> {
                                             IterationContextFactory<C> iterationContextFactory,
                                             IterationExecutor<C> iterationExecutor,
                                             Supplier<PerformanceCoreResultSink> resultSinkSupplier) {
+        this(runningSupplier, startTimeSupplier, cancellationAction, virtualUsers, iterationContextFactory,
+                iterationExecutor, null, resultSinkSupplier);
+    }
+
+    public PerformanceCoreThreadGroupRunner(BooleanSupplier runningSupplier,
+                                            LongSupplier startTimeSupplier,
+                                            Runnable cancellationAction,
+                                            PerformanceVirtualUserCoordinator virtualUsers,
+                                            IterationContextFactory<C> iterationContextFactory,
+                                            IterationExecutor<C> iterationExecutor,
+                                            AsyncIterationExecutor<C> asyncIterationExecutor,
+                                            Supplier<PerformanceCoreResultSink> resultSinkSupplier) {
         this.runningSupplier = runningSupplier == null ? () -> false : runningSupplier;
         this.startTimeSupplier = startTimeSupplier == null ? System::currentTimeMillis : startTimeSupplier;
         this.cancellationAction = cancellationAction == null ? () -> {
@@ -57,6 +86,7 @@ public final class PerformanceCoreThreadGroupRunner<C> {
         this.iterationContextFactory = iterationContextFactory == null ? (groupPlan, iterationCount) -> null : iterationContextFactory;
         this.iterationExecutor = iterationExecutor == null ? (groupPlan, iterationContext) -> {
         } : iterationExecutor;
+        this.asyncIterationExecutor = asyncIterationExecutor;
         this.resultSinkSupplier = resultSinkSupplier == null ? () -> PerformanceCoreResultSink.NOOP : resultSinkSupplier;
     }
 
@@ -102,6 +132,10 @@ public final class PerformanceCoreThreadGroupRunner<C> {
                                  BiConsumer<Integer, Integer> progressUpdater,
                                  int totalThreads,
                                  AtomicInteger groupVirtualUserCounter) {
+        if (asyncIterationExecutor != null && asyncIterationExecutor.supports(groupPlan)) {
+            runFixedAsyncVirtualUsers(groupPlan, tg, progressUpdater, totalThreads, groupVirtualUserCounter);
+            return;
+        }
         int numThreads = tg.numThreads;
         int loops = tg.loops;
         boolean useTime = tg.useTime;
@@ -165,6 +199,144 @@ public final class PerformanceCoreThreadGroupRunner<C> {
         }
     }
 
+    /**
+     * 固定线程模式的异步版本：虚拟用户数与线程数解耦，全部虚拟用户由少量工作线程和一个定时线程驱动。
+     */
+    private void runFixedAsyncVirtualUsers(PerformanceThreadGroupPlan groupPlan,
+                                           ThreadGroupData tg,
+                                           BiConsumer<Integer, Integer> progressUpdater,
+                                           int totalThreads,
+                                           AtomicInteger groupVirtualUserCounter) {
+        int numThreads = tg.numThreads;
+        ExecutorService workers = Executors.newFixedThreadPool(
+                asyncWorkerThreads(numThreads),
+                PerformanceThreadFactory.daemonFactory("PerformanceAsyncWorker")
+        );
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                PerformanceThreadFactory.daemonFactory("PerformanceAsyncTimer")
+        );
+        long threadGroupStartTime = System.currentTimeMillis();
+        long endTime = tg.useTime ? (threadGroupStartTime + (tg.duration * 1000L)) : Long.MAX_VALUE;
+        CountDownLatch finished = new CountDownLatch(numThreads);
+        List<AsyncVirtualUserLoop> loops = new ArrayList<>(numThreads);
+        for (int i = 0; i < numThreads; i++) {
+            if (!runningSupplier.getAsBoolean()) {
+                break;
+            }
+            PerformanceAsyncVirtualUser virtualUser = virtualUsers.startAsync(progressUpdater, totalThreads,
+                    groupVirtualUserCounter::getAndIncrement, virtualUserScopeFactory(groupPlan), workers, scheduler);
+            AsyncVirtualUserLoop loop = new AsyncVirtualUserLoop(groupPlan, tg, endTime, virtualUser, finished,
+                    () -> virtualUsers.finishAsync(progressUpdater, totalThreads));
+            loops.add(loop);
+            loop.dispatch(loop::nextIteration);
+        }
+        for (int i = loops.size(); i < numThreads; i++) {
+            finished.countDown();
+        }
+        try {
+            long deadline = tg.useTime ? endTime + 5_000L : Long.MAX_VALUE;
+            while (runningSupplier.getAsBoolean() && !finished.await(250, TimeUnit.MILLISECONDS)) {
+                if (System.currentTimeMillis() >= deadline) {
+                    break;
+                }
+            }
+            if (finished.getCount() > 0) {
+                log.warn("异步虚拟用户未能在预期时间内完成，取消剩余网络请求");
+                cancellationAction.run();
+                if (!finished.await(3, TimeUnit.SECONDS)) {
+                    log.warn("部分异步虚拟用户在取消后仍未结束，强制回收");
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            if (runningSupplier.getAsBoolean()) {
+                publishError(PerformanceRunError.builder()
+                        .message(exception.getMessage())
+                        .cause(exception)
+                        .build());
+                log.error(exception.getMessage(), exception);
+            } else {
+                log.debug("固定线程模式已停止");
+            }
+        } finally {
+            scheduler.shutdownNow();
+            workers.shutdownNow();
+            loops.forEach(AsyncVirtualUserLoop::finish);
+        }
+    }
+
+    static int asyncWorkerThreads(int numThreads) {
+        return Math.max(1, Math.min(numThreads, Math.max(2, Runtime.getRuntime().availableProcessors())));
+    }
+
+    /**
+     * 一个异步虚拟用户的迭代循环：每次迭代完成后把下一次迭代重新投递到工作线程
+     */
+    private final class AsyncVirtualUserLoop {
+        private final PerformanceThreadGroupPlan groupPlan;
+        private final ThreadGroupData tg;
+        private final long endTime;
+        private final PerformanceAsyncVirtualUser virtualUser;
+        private final CountDownLatch finished;
+        private final Runnable onFinish;
+        private final AtomicBoolean done = new AtomicBoolean(false);
+        private int completedLoops;
+
+        private AsyncVirtualUserLoop(PerformanceThreadGroupPlan groupPlan,
+                                     ThreadGroupData tg,
+                                     long endTime,
+                                     PerformanceAsyncVirtualUser virtualUser,
+                                     CountDownLatch finished,
+                                     Runnable onFinish) {
+            this.groupPlan = groupPlan;
+            this.tg = tg;
+            this.endTime = endTime;
+            this.virtualUser = virtualUser;
+            this.finished = finished;
+            this.onFinish = onFinish;
+        }
+
+        private void nextIteration() {
+            boolean hasNext = tg.useTime ? System.currentTimeMillis() < endTime : completedLoops < tg.loops;
+            if (!hasNext || !runningSupplier.getAsBoolean()) {
+                finish();
+                return;
+            }
+            CompletableFuture<Void> iteration;
+            try {
+                C iterationContext = iterationContextFactory.create(groupPlan, tg.useTime ? 0 : tg.loops);
+                iteration = asyncIterationExecutor.executeIteration(groupPlan, iterationContext, virtualUser);
+            } catch (RuntimeException e) {
+                iteration = CompletableFuture.failedFuture(e);
+            }
+            if (iteration == null) {
+                iteration = CompletableFuture.completedFuture(null);
+            }
+            iteration.whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    log.warn("异步虚拟用户迭代执行失败", failure);
+                }
+                completedLoops++;
+                dispatch(this::nextIteration);
+            });
+        }
+
+        private void dispatch(Runnable task) {
+            try {
+                virtualUser.execute(task);
+            } catch (RejectedExecutionException e) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            if (done.compareAndSet(false, true)) {
+                onFinish.run();
+                finished.countDown();
+            }
+        }
+    }
+
     private boolean awaitFixedLoopWorkers(ExecutorService executor) throws InterruptedException {
         while (runningSupplier.getAsBoolean()) {
             if (executor.awaitTermination(250, TimeUnit.MILLISECONDS)) {
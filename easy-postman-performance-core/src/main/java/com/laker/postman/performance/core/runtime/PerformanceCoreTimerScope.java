@@ -2,24 +2,51 @@ package com.laker.postman.performance.core.runtime;
 
 import com.laker.postman.performance.core.plan.PerformancePlanElement;
 import com.laker.postman.performance.core.plan.PerformanceSampler;
+import com.laker.postman.performance.core.plan.PerformanceThreadGroupPlan;
 import com.laker.postman.performance.core.plan.PerformanceTimerElement;
+import com.laker.postman.performance.core.timer.TimerData;
 
 import java.util.ArrayList;
 import java.util.List;
 
 final class PerformanceCoreTimerScope {
+    private final PerformanceThreadGroupPlan threadGroup;
     private final List<PerformanceTimerElement> timers;
 
-    private PerformanceCoreTimerScope(List<PerformanceTimerElement> timers) {
+    private PerformanceCoreTimerScope(PerformanceThreadGroupPlan threadGroup, List<PerformanceTimerElement> timers) {
+        this.threadGroup = threadGroup;
         this.timers = timers == null || timers.isEmpty() ? List.of() : List.copyOf(timers);
     }
 
-    static PerformanceCoreTimerScope empty() {
-        return new PerformanceCoreTimerScope(List.of());
+    static PerformanceCoreTimerScope forThreadGroup(PerformanceThreadGroupPlan threadGroup) {
+        return new PerformanceCoreTimerScope(threadGroup, List.of());
     }
 
     PerformanceCoreTimerScope enter(List<PerformancePlanElement> elements) {
-        return new PerformanceCoreTimerScope(mergeTimers(timers, collectDirectTimers(elements)));
+        List<PerformanceTimerElement> directTimers = collectDirectTimers(elements);
+        if (directTimers.isEmpty()) {
+            return this;
+        }
+        return new PerformanceCoreTimerScope(threadGroup, mergeTimers(timers, directTimers));
+    }
+
+    /**
+     * 当前作用域所属线程组，吞吐量类定时器据此确定共享令牌桶和分布式份额；未绑定线程组时返回 null。
+     */
+    PerformanceThreadGroupPlan threadGroup() {
+        return threadGroup;
+    }
+
+    /**
+     * 吞吐量定时器在本计划上实际生效的份额，分布式执行时由分片器写入线程组计划。
+     */
+    double throughputShare(PerformanceTimerElement timer) {
+        if (threadGroup == null || timer == null) {
+            return 1.0d;
+        }
+        return timer.getThroughputScope() == TimerData.ThroughputScope.GLOBAL
+                ? threadGroup.getGlobalThroughputShare()
+                : threadGroup.getGroupThroughputShare();
     }
 
     List<PerformanceTimerElement> timersForSampler(PerformanceSampler sampler) {
@@ -0,0 +1,111 @@
+package com.laker.postman.performance.core.runtime;
+
+import com.laker.postman.performance.core.plan.PerformanceTimerElement;
+import com.laker.postman.performance.core.timer.PerformanceThroughputBucket;
+import com.laker.postman.performance.core.timer.TimerData;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * 定时器运行态：吞吐量令牌桶在所有虚拟用户间共享，精确定速的上一次放行时刻按虚拟用户隔离（同步执行时即虚拟用户线程）。
+ * 计划元素本身保持不可变，这里只保存一次执行引擎生命周期内的调度状态。
+ */
+final class PerformanceCoreTimerState {
+    private final ConcurrentMap<BucketKey, PerformanceThroughputBucket> buckets = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<PerformanceTimerElement, Long>> pacingReleases =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+    private final LongSupplier nanoClock;
+    private final DoubleSupplier uniformRandom;
+
+    PerformanceCoreTimerState() {
+        this(System::nanoTime, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    PerformanceCoreTimerState(LongSupplier nanoClock, DoubleSupplier uniformRandom) {
+        this.nanoClock = nanoClock;
+        this.uniformRandom = uniformRandom;
+    }
+
+    /**
+     * 计算采样器执行前该定时器需要等待的毫秒数；吞吐量和定速类定时器在返回前已经领取了放行时刻。
+     */
+    long delayMs(PerformanceTimerElement timer, PerformanceCoreTimerScope scope) {
+        return delayMs(timer, scope, pacingReleases.get());
+    }
+
+    /**
+     * 当前线程（同步执行时即虚拟用户线程）的精确定速放行时刻
+     */
+    Map<PerformanceTimerElement, Long> threadPacingReleases() {
+        return pacingReleases.get();
+    }
+
+    /**
+     * 异步虚拟用户不独占线程，精确定速的上一次放行时刻由调用方按虚拟用户传入。
+     */
+    long delayMs(PerformanceTimerElement timer,
+                 PerformanceCoreTimerScope scope,
+                 Map<PerformanceTimerElement, Long> releases) {
+        if (timer == null || !timer.hasTimerData()) {
+            return 0L;
+        }
+        return switch (timer.getTimerType()) {
+            case FIXED -> timer.getDelayMs();
+            case POISSON -> timer.getDelayMs() + poissonDelayMs(timer.getPoissonMeanMs());
+            case CONSTANT_THROUGHPUT -> nanosToMillis(bucket(timer, scope).reserveDelayNanos(nanoClock.getAsLong()));
+            case PRECISE_PACING -> nanosToMillis(reservePacing(timer, releases));
+        };
+    }
+
+    private long poissonDelayMs(int meanMs) {
+        if (meanMs <= 0) {
+            return 0L;
+        }
+        // 泊松到达过程的间隔服从指数分布，用逆变换采样：-ln(1 - U) * mean。
+        double uniform = Math.min(Math.max(uniformRandom.getAsDouble(), 0d), Math.nextDown(1d));
+        double delay = -Math.log(1d - uniform) * meanMs;
+        return Math.min(TimerData.MAX_DELAY_MS, Math.round(delay));
+    }
+
+    private PerformanceThroughputBucket bucket(PerformanceTimerElement timer, PerformanceCoreTimerScope scope) {
+        double share = scope == null ? 1.0d : scope.throughputShare(timer);
+        double samplesPerMinute = timer.getTargetThroughputPerMinute() * share;
+        // 线程组级令牌桶绑定到定时器节点本身；全局令牌桶按名称共享，便于多个线程组共同受同一个限速约束。
+        Object owner = timer.getThroughputScope() == TimerData.ThroughputScope.GLOBAL
+                ? "global:" + timer.getName()
+                : timer;
+        return buckets.computeIfAbsent(
+                new BucketKey(owner, samplesPerMinute),
+                key -> new PerformanceThroughputBucket(key.samplesPerMinute())
+        );
+    }
+
+    private long reservePacing(PerformanceTimerElement timer, Map<PerformanceTimerElement, Long> releases) {
+        long now = nanoClock.getAsLong();
+        long pacingNanos = TimeUnit.MILLISECONDS.toNanos(timer.getPacingMs());
+        Long previousRelease = releases.get(timer);
+        // 以上一次放行时刻为基准补偿采样器耗时，采样器本身越慢，下一次等待越短。
+        long release = previousRelease == null || previousRelease + pacingNanos - now < 0
+                ? now
+                : previousRelease + pacingNanos;
+        releases.put(timer, release);
+        return release - now;
+    }
+
+    private static long nanosToMillis(long nanos) {
+        if (nanos <= 0L) {
+            return 0L;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(nanos + 500_000L);
+    }
+
+    private record BucketKey(Object owner, double samplesPerMinute) {
+    }
+}
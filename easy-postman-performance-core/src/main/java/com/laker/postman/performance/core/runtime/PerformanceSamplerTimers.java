@@ -0,0 +1,82 @@
+package com.laker.postman.performance.core.runtime;
+
+import com.laker.postman.performance.core.plan.PerformanceTimerElement;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 采样器内部按步骤执行的定时器（如 WebSocket 场景中的等待步骤）的计算入口。
+ * <p>
+ * 计划执行器调用采样器期间把它绑定到当前线程，与采样器前置定时器共用同一份吞吐量令牌桶、
+ * 线程组份额和本虚拟用户的精确定速状态；采样器应在发起时取出并持有，后续回调线程上不再绑定。
+ * </p>
+ */
+public final class PerformanceSamplerTimers {
+    private static final ThreadLocal<PerformanceSamplerTimers> CURRENT = new ThreadLocal<>();
+
+    private final PerformanceCoreTimerState timerState;
+    private final PerformanceCoreTimerScope scope;
+    private final Map<PerformanceTimerElement, Long> pacingReleases;
+
+    private PerformanceSamplerTimers(PerformanceCoreTimerState timerState,
+                                     PerformanceCoreTimerScope scope,
+                                     Map<PerformanceTimerElement, Long> pacingReleases) {
+        this.timerState = timerState;
+        this.scope = scope;
+        this.pacingReleases = pacingReleases;
+    }
+
+    /**
+     * 当前线程上正在执行的采样器可用的定时器；脱离计划执行器单独调用采样器时返回一份独立状态。
+     */
+    public static PerformanceSamplerTimers current() {
+        PerformanceSamplerTimers timers = CURRENT.get();
+        return timers != null ? timers : standalone();
+    }
+
+    /**
+     * 不隶属任何计划执行的独立状态：令牌桶和定速只在持有者内部生效，份额按 1 计算
+     */
+    public static PerformanceSamplerTimers standalone() {
+        return new PerformanceSamplerTimers(new PerformanceCoreTimerState(), null, new IdentityHashMap<>());
+    }
+
+    /**
+     * 计算该定时器需要等待的毫秒数；吞吐量和定速类定时器在返回前已经领取了放行时刻。
+     */
+    public long delayMs(PerformanceTimerElement timer) {
+        return timerState.delayMs(timer, scope, pacingReleases);
+    }
+
+    static PerformanceSamplerTimers of(PerformanceCoreTimerState timerState,
+                                       PerformanceCoreTimerScope scope,
+                                       Map<PerformanceTimerElement, Long> pacingReleases) {
+        return new PerformanceSamplerTimers(timerState, scope, pacingReleases);
+    }
+
+    /**
+     * 在 task 执行期间把 timers 绑定到当前线程，结束后恢复原先的绑定
+     */
+    static void runBound(PerformanceSamplerTimers timers, Runnable task) {
+        supplyBound(timers, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    static <T> T supplyBound(PerformanceSamplerTimers timers, Supplier<T> task) {
+        PerformanceSamplerTimers previous = CURRENT.get();
+        CURRENT.set(timers);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
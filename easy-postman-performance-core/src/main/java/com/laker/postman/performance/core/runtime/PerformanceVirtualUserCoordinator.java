@@ -1,6 +1,8 @@
 package com.laker.postman.performance.core.runtime;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.IntFunction;
@@ -105,6 +107,57 @@ public final class PerformanceVirtualUserCoordinator {
         );
     }
 
+    /**
+     * 启动一个异步虚拟用户并计入活跃用户数；结束时必须调用 {@link #finishAsync}。
+     */
+    PerformanceAsyncVirtualUser startAsync(BiConsumer<Integer, Integer> progressUpdater,
+                                           int totalThreads,
+                                           IntSupplier virtualUserIndexSupplier,
+                                           IntFunction<String> virtualUserScopeFactory,
+                                           Executor workers,
+                                           ScheduledExecutorService scheduler) {
+        int vuIndex = nextVirtualUserIndex(virtualUserIndexSupplier);
+        PerformanceAsyncVirtualUser virtualUser = new PerformanceAsyncVirtualUser(
+                this,
+                vuIndex,
+                resolveVirtualUserScope(vuIndex, virtualUserScopeFactory),
+                workers,
+                scheduler
+        );
+        incrementActiveThreads(progressUpdater, totalThreads);
+        return virtualUser;
+    }
+
+    void finishAsync(BiConsumer<Integer, Integer> progressUpdater, int totalThreads) {
+        decrementActiveThreads(progressUpdater, totalThreads);
+    }
+
+    /**
+     * 在当前线程上临时绑定异步虚拟用户的身份执行 task，迭代序号在结束时写回虚拟用户
+     */
+    void runAs(PerformanceAsyncVirtualUser virtualUser, Runnable task) {
+        Integer previousIndex = threadVirtualUserIndex.get();
+        String previousScope = threadVirtualUserScope.get();
+        int previousIteration = threadIterationIndex.get();
+        threadVirtualUserIndex.set(virtualUser.index());
+        threadVirtualUserScope.set(virtualUser.scope());
+        threadIterationIndex.set(virtualUser.iterationIndex());
+        try {
+            task.run();
+        } finally {
+            virtualUser.iterationIndex(threadIterationIndex.get());
+            if (previousIndex == null) {
+                threadVirtualUserIndex.remove();
+                threadVirtualUserScope.remove();
+                threadIterationIndex.remove();
+            } else {
+                threadVirtualUserIndex.set(previousIndex);
+                threadVirtualUserScope.set(previousScope);
+                threadIterationIndex.set(previousIteration);
+            }
+        }
+    }
+
     private void run(BiConsumer<Integer, Integer> progressUpdater,
                      int totalThreads,
                      int vuIndex,
@@ -0,0 +1,36 @@
+package com.laker.postman.performance.core.timer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶：每次 reserve 通过 CAS 领取下一个发放时刻，调用方只需睡到该时刻。
+ * 桶容量固定为 1，空闲期间不会累积突发配额，从而保证长时间窗口内的吞吐量不超过目标值。
+ */
+public final class PerformanceThroughputBucket {
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final long intervalNanos;
+    private final AtomicLong nextReleaseNanos = new AtomicLong(Long.MIN_VALUE);
+
+    public PerformanceThroughputBucket(double samplesPerMinute) {
+        double safeRate = samplesPerMinute > 0 ? samplesPerMinute : TimerData.MIN_THROUGHPUT_PER_MINUTE;
+        this.intervalNanos = Math.max(1L, Math.round(NANOS_PER_MINUTE / safeRate));
+    }
+
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * 领取一个令牌，返回调用方在 nowNanos 之后还需要等待的纳秒数。
+     */
+    public long reserveDelayNanos(long nowNanos) {
+        while (true) {
+            long next = nextReleaseNanos.get();
+            long release = next == Long.MIN_VALUE || next - nowNanos < 0 ? nowNanos : next;
+            if (nextReleaseNanos.compareAndSet(next, release + intervalNanos)) {
+                return release - nowNanos;
+            }
+        }
+    }
+}
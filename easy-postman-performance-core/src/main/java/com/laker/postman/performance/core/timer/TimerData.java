@@ -1,5 +1,78 @@
 package com.laker.postman.performance.core.timer;
 
+import com.laker.postman.util.MessageKeys;
+
+/**
+ * 定时器配置。delayMs 保持原有固定等待语义，其余字段只在对应 timerType 下生效。
+ */
 public class TimerData {
-    public int delayMs = 1000;
-}
\ No newline at end of file
+    public static final int MAX_DELAY_MS = 3_600_000;
+    public static final int MIN_THROUGHPUT_PER_MINUTE = 1;
+    public static final int MAX_THROUGHPUT_PER_MINUTE = 6_000_000;
+
+    public enum TimerType {
+        FIXED(MessageKeys.PERFORMANCE_TIMER_TYPE_FIXED),                             // 固定等待
+        CONSTANT_THROUGHPUT(MessageKeys.PERFORMANCE_TIMER_TYPE_CONSTANT_THROUGHPUT), // 恒定吞吐量（共享令牌桶）
+        POISSON(MessageKeys.PERFORMANCE_TIMER_TYPE_POISSON),                         // 泊松分布思考时间
+        PRECISE_PACING(MessageKeys.PERFORMANCE_TIMER_TYPE_PRECISE_PACING);           // 按采样器起点精确定速
+
+        private final String messageKey;
+
+        TimerType(String messageKey) {
+            this.messageKey = messageKey;
+        }
+
+        public String getMessageKey() {
+            return messageKey;
+        }
+
+        @Override
+        public String toString() {
+            return name();
+        }
+    }
+
+    public enum ThroughputScope {
+        THREAD_GROUP(MessageKeys.PERFORMANCE_TIMER_SCOPE_THREAD_GROUP), // 同一线程组内所有虚拟用户共享
+        GLOBAL(MessageKeys.PERFORMANCE_TIMER_SCOPE_GLOBAL);             // 同名定时器跨线程组、跨 worker 共享
+
+        private final String messageKey;
+
+        ThroughputScope(String messageKey) {
+            this.messageKey = messageKey;
+        }
+
+        public String getMessageKey() {
+            return messageKey;
+        }
+
+        @Override
+        public String toString() {
+            return name();
+        }
+    }
+
+    public TimerType timerType = TimerType.FIXED;
+    public int delayMs = 1000;                                       // 固定模式等待；泊松模式的固定偏移
+    public int targetThroughputPerMinute = 60;                       // 恒定吞吐量模式目标：每分钟采样数
+    public ThroughputScope throughputScope = ThroughputScope.THREAD_GROUP;
+    public int poissonMeanMs = 300;                                  // 泊松模式随机部分的均值
+    public int pacingMs = 1000;                                      // 精确定速模式：同一虚拟用户相邻采样起点间隔
+
+    public void normalize() {
+        if (timerType == null) {
+            timerType = TimerType.FIXED;
+        }
+        if (throughputScope == null) {
+            throughputScope = ThroughputScope.THREAD_GROUP;
+        }
+        delayMs = clamp(delayMs, 0, MAX_DELAY_MS);
+        targetThroughputPerMinute = clamp(targetThroughputPerMinute, MIN_THROUGHPUT_PER_MINUTE, MAX_THROUGHPUT_PER_MINUTE);
+        poissonMeanMs = clamp(poissonMeanMs, 0, MAX_DELAY_MS);
+        pacingMs = clamp(pacingMs, 0, MAX_DELAY_MS);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
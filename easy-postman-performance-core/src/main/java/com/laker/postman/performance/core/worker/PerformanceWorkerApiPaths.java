@@ -11,6 +11,8 @@ public class PerformanceWorkerApiPaths {
     public static final String RESULT_SUFFIX = "/result";
     public static final String DETAILS_SUFFIX = "/details";
     public static final String STOP_SUFFIX = "/stop";
+    // 按 sha256 寻址的资产缓存：GET 查询已接收字节数，PUT ?offset=&size= 追加一个分块。
+    public static final String ASSETS = API_PREFIX + "/assets";
 
     public String run(String runId) {
         return RUNS + "/" + runId;
@@ -27,4 +29,8 @@ public class PerformanceWorkerApiPaths {
     public String stop(String runId) {
         return run(runId) + STOP_SUFFIX;
     }
+
+    public String asset(String sha256) {
+        return ASSETS + "/" + sha256;
+    }
 }
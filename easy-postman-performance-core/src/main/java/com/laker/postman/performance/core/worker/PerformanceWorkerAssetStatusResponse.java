@@ -0,0 +1,23 @@
+package com.laker.postman.performance.core.worker;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * worker 本地内容寻址缓存中某个资产的状态；master 据此跳过已缓存文件或从断点继续上传。
+ */
+@Value
+public class PerformanceWorkerAssetStatusResponse {
+    String sha256;
+    long size;
+    long receivedBytes;
+    boolean complete;
+
+    @Builder
+    public PerformanceWorkerAssetStatusResponse(String sha256, Long size, Long receivedBytes, Boolean complete) {
+        this.sha256 = sha256 == null ? "" : sha256;
+        this.size = size == null ? -1L : size;
+        this.receivedBytes = receivedBytes == null ? 0L : Math.max(0L, receivedBytes);
+        this.complete = complete != null && complete;
+    }
+}
@@ -1,5 +1,6 @@
 package com.laker.postman.performance.core.worker;
 
+import com.laker.postman.performance.core.run.PerformanceRunAsset;
 import com.laker.postman.util.JsonUtil;
 
 import java.io.IOException;
@@ -89,6 +90,9 @@ public class PerformanceWorkerAssignmentJsonStorage {
             json.put("threadGroupIndex", threadGroup.getThreadGroupIndex());
             json.put("firstVirtualUserIndex", threadGroup.getFirstVirtualUserIndex());
             json.put("virtualUserCount", threadGroup.getVirtualUserCount());
+            if (threadGroup.getCsvShard() != null) {
+                json.put("csvShard", assetToMap(threadGroup.getCsvShard()));
+            }
             array.add(json);
         }
         return array;
@@ -115,12 +119,36 @@ public class PerformanceWorkerAssignmentJsonStorage {
                     stringValue(json, "threadGroupPath", ""),
                     intValue(json, "threadGroupIndex", 0),
                     intValue(json, "firstVirtualUserIndex", 0),
-                    intValue(json, "virtualUserCount", 0)
+                    intValue(json, "virtualUserCount", 0),
+                    readAsset(objectMap(json.get("csvShard")))
             ));
         }
         return threadGroups;
     }
 
+    private Map<String, Object> assetToMap(PerformanceRunAsset asset) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", asset.getId());
+        json.put("type", asset.getType());
+        json.put("path", asset.getPath());
+        json.put("sha256", asset.getSha256());
+        json.put("size", asset.getSize());
+        return json;
+    }
+
+    private PerformanceRunAsset readAsset(Map<String, Object> json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        return new PerformanceRunAsset(
+                stringValue(json, "id", ""),
+                stringValue(json, "type", PerformanceRunAsset.TYPE_CSV),
+                stringValue(json, "path", ""),
+                stringValue(json, "sha256", null),
+                longValue(json, "size", -1L)
+        );
+    }
+
     private Map<String, Object> objectMap(Object value) {
         if (value instanceof Map<?, ?> map) {
             Map<String, Object> result = new LinkedHashMap<>();
@@ -145,6 +173,21 @@ public class PerformanceWorkerAssignmentJsonStorage {
         return value == null ? defaultValue : String.valueOf(value);
     }
 
+    private long longValue(Map<String, Object> json, String key, long defaultValue) {
+        Object value = json.get(key);
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException ignored) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
     private int intValue(Map<String, Object> json, String key, int defaultValue) {
         Object value = json.get(key);
         if (value instanceof Number number) {
@@ -7,6 +7,7 @@ import com.laker.postman.performance.core.run.PerformanceRunPlan;
 import com.laker.postman.performance.core.threadgroup.ThreadGroupData;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class PerformanceWorkerAssignmentPlanner {
@@ -14,19 +15,36 @@ public class PerformanceWorkerAssignmentPlanner {
     public List<PerformanceWorkerAssignment> plan(PerformanceRunPlan runPlan,
                                                   List<PerformanceWorkerEndpoint> endpoints,
                                                   String runId) {
+        return plan(runPlan, endpoints, null, runId);
+    }
+
+    /**
+     * @param capacities 与 endpoints 一一对应的 worker 容量，为空或缺项时按已知容量的平均值对待；全部未知时平均分配
+     */
+    public List<PerformanceWorkerAssignment> plan(PerformanceRunPlan runPlan,
+                                                  List<PerformanceWorkerEndpoint> endpoints,
+                                                  List<PerformanceWorkerCapacity> capacities,
+                                                  String runId) {
         // 按虚拟用户切片，而不是把完整线程组复制到每台 worker；这样总并发量与 GUI 单机语义一致。
         List<PerformanceWorkerEndpoint> safeEndpoints = endpoints == null ? List.of() : endpoints;
         PerformanceTestPlan testPlan = PerformanceCorePlanDocumentCompiler.compile(
                 runPlan == null ? null : runPlan.getTestPlan()
         );
+        double[] weights = weights(capacities, safeEndpoints.size());
+        List<int[]> groupCounts = new ArrayList<>();
+        for (PerformanceThreadGroupPlan groupPlan : testPlan.getThreadGroups()) {
+            groupCounts.add(virtualUserCounts(maxThreadCount(groupPlan.getThreadGroupData()), weights));
+        }
         List<PerformanceWorkerAssignment> assignments = new ArrayList<>();
         for (int workerIndex = 0; workerIndex < safeEndpoints.size(); workerIndex++) {
             List<PerformanceWorkerThreadGroupAssignment> threadGroups = new ArrayList<>();
             for (int groupIndex = 0; groupIndex < testPlan.getThreadGroups().size(); groupIndex++) {
-                PerformanceThreadGroupPlan groupPlan = testPlan.getThreadGroups().get(groupIndex);
-                int totalUsers = maxThreadCount(groupPlan.getThreadGroupData());
-                int first = firstVirtualUserIndex(totalUsers, safeEndpoints.size(), workerIndex);
-                int count = virtualUserCount(totalUsers, safeEndpoints.size(), workerIndex);
+                int[] counts = groupCounts.get(groupIndex);
+                int first = 0;
+                for (int i = 0; i < workerIndex; i++) {
+                    first += counts[i];
+                }
+                int count = counts[workerIndex];
                 if (count > 0) {
                     threadGroups.add(new PerformanceWorkerThreadGroupAssignment(
                             String.valueOf(groupIndex),
@@ -58,20 +76,58 @@ public class PerformanceWorkerAssignmentPlanner {
         };
     }
 
-    private static int virtualUserCount(int totalUsers, int workerCount, int workerIndex) {
-        if (totalUsers <= 0 || workerCount <= 0 || workerIndex < 0 || workerIndex >= workerCount) {
-            return 0;
+    /**
+     * 按权重拆分虚拟用户：先取整数部分，余数按小数部分从大到小补齐；权重相同时小数相同，靠前的 worker 先补，
+     * 与平均分配的结果一致。
+     */
+    static int[] virtualUserCounts(int totalUsers, double[] weights) {
+        int[] counts = new int[weights.length];
+        if (totalUsers <= 0 || weights.length == 0) {
+            return counts;
         }
-        int base = totalUsers / workerCount;
-        int remainder = totalUsers % workerCount;
-        return base + (workerIndex < remainder ? 1 : 0);
+        double totalWeight = 0D;
+        for (double weight : weights) {
+            totalWeight += weight;
+        }
+        double[] fractions = new double[weights.length];
+        int assigned = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double ideal = totalUsers * (weights[i] / totalWeight);
+            counts[i] = (int) Math.floor(ideal);
+            fractions[i] = ideal - counts[i];
+            assigned += counts[i];
+        }
+        Integer[] order = new Integer[weights.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (left, right) -> Double.compare(fractions[right], fractions[left]));
+        for (int i = 0; assigned < totalUsers; i = (i + 1) % order.length) {
+            counts[order[i]]++;
+            assigned++;
+        }
+        return counts;
     }
 
-    private static int firstVirtualUserIndex(int totalUsers, int workerCount, int workerIndex) {
-        int first = 0;
-        for (int i = 0; i < workerIndex; i++) {
-            first += virtualUserCount(totalUsers, workerCount, i);
+    private static double[] weights(List<PerformanceWorkerCapacity> capacities, int workerCount) {
+        double[] weights = new double[workerCount];
+        double knownTotal = 0D;
+        int known = 0;
+        for (int i = 0; i < workerCount; i++) {
+            PerformanceWorkerCapacity capacity = capacities == null || i >= capacities.size() ? null : capacities.get(i);
+            if (capacity != null) {
+                weights[i] = capacity.weight();
+                knownTotal += weights[i];
+                known++;
+            }
+        }
+        double fallback = known == 0 ? 1D : knownTotal / known;
+        for (int i = 0; i < workerCount; i++) {
+            PerformanceWorkerCapacity capacity = capacities == null || i >= capacities.size() ? null : capacities.get(i);
+            if (capacity == null) {
+                weights[i] = fallback;
+            }
         }
-        return first;
+        return weights;
     }
 }
@@ -0,0 +1,70 @@
+package com.laker.postman.performance.core.worker;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * worker 施压机自身的容量与饱和度快照，随健康检查返回，master 按 {@link #weight()} 分配虚拟用户。
+ */
+@Value
+public class PerformanceWorkerCapacity {
+    private static final double MIN_HEADROOM = 0.1d;
+
+    int cores;
+    long maxHeapBytes;
+    long usedHeapBytes;
+    // 最近采样窗口内 GC 停顿时间占墙钟时间的比例，0-1
+    double gcTimeRatio;
+    // 整机 CPU 使用率 0-1，无法获取时为 -1
+    double cpuLoad;
+    // 高精度探测线程测得的调度延迟：计划唤醒时间与实际唤醒时间之差
+    double schedulerLagP99Ms;
+    double schedulerLagMaxMs;
+    long schedulerLagThresholdMs;
+
+    @Builder
+    public PerformanceWorkerCapacity(Integer cores,
+                                     Long maxHeapBytes,
+                                     Long usedHeapBytes,
+                                     Double gcTimeRatio,
+                                     Double cpuLoad,
+                                     Double schedulerLagP99Ms,
+                                     Double schedulerLagMaxMs,
+                                     Long schedulerLagThresholdMs) {
+        this.cores = Math.max(0, cores == null ? 0 : cores);
+        this.maxHeapBytes = Math.max(0L, maxHeapBytes == null ? 0L : maxHeapBytes);
+        this.usedHeapBytes = Math.max(0L, usedHeapBytes == null ? 0L : usedHeapBytes);
+        this.gcTimeRatio = clamp(gcTimeRatio == null ? 0D : gcTimeRatio, 0D, 1D);
+        this.cpuLoad = cpuLoad == null || !Double.isFinite(cpuLoad) || cpuLoad < 0 ? -1D : Math.min(1D, cpuLoad);
+        this.schedulerLagP99Ms = nonNegative(schedulerLagP99Ms);
+        this.schedulerLagMaxMs = nonNegative(schedulerLagMaxMs);
+        this.schedulerLagThresholdMs = Math.max(0L, schedulerLagThresholdMs == null ? 0L : schedulerLagThresholdMs);
+    }
+
+    /**
+     * 相对分配权重：核数乘以 CPU、堆和 GC 中最紧张的一项余量，调度延迟超过阈值时再按超出比例折减。
+     * 余量最低按 10% 计，避免已饱和的 worker 分到 0 个用户后无法体现在报告里。
+     */
+    public double weight() {
+        double cpuHeadroom = cpuLoad < 0 ? 1D : 1D - cpuLoad;
+        double heapHeadroom = maxHeapBytes <= 0 ? 1D : 1D - (double) usedHeapBytes / maxHeapBytes;
+        double gcHeadroom = 1D - gcTimeRatio;
+        double headroom = clamp(Math.min(cpuHeadroom, Math.min(heapHeadroom, gcHeadroom)), MIN_HEADROOM, 1D);
+        double lagPenalty = schedulerLagThresholdMs <= 0 || schedulerLagP99Ms <= schedulerLagThresholdMs
+                ? 1D
+                : clamp(schedulerLagThresholdMs / schedulerLagP99Ms, MIN_HEADROOM, 1D);
+        return Math.max(1, cores) * headroom * lagPenalty;
+    }
+
+    public boolean isSaturated() {
+        return schedulerLagThresholdMs > 0 && schedulerLagP99Ms > schedulerLagThresholdMs;
+    }
+
+    private static double nonNegative(Double value) {
+        return value == null || !Double.isFinite(value) ? 0D : Math.max(0D, value);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -1,7 +1,9 @@
 package com.laker.postman.performance.core.worker;
 
+import com.laker.postman.performance.core.config.CsvDataSetData;
 import com.laker.postman.performance.core.plan.PerformanceTestPlan;
 import com.laker.postman.performance.core.plan.PerformanceThreadGroupPlan;
+import com.laker.postman.performance.core.run.PerformanceRunAsset;
 import com.laker.postman.performance.core.threadgroup.ThreadGroupData;
 import com.laker.postman.util.JsonUtil;
 
@@ -18,6 +20,19 @@ public class PerformanceWorkerExecutionPlanPartitioner {
         if (assignment.getThreadGroups().isEmpty()) {
             return new PerformanceTestPlan(List.of());
         }
+        // 吞吐量定时器配置的是整体目标，按本 worker 分到的虚拟用户占比拆分，汇总后仍等于原目标。
+        int planVirtualUsers = 0;
+        for (PerformanceThreadGroupPlan group : plan.getThreadGroups()) {
+            planVirtualUsers += Math.max(1, PerformanceWorkerAssignmentPlanner.maxThreadCount(group.getThreadGroupData()));
+        }
+        int assignedVirtualUsers = 0;
+        for (PerformanceWorkerThreadGroupAssignment threadGroupAssignment : assignment.getThreadGroups()) {
+            int groupIndex = threadGroupAssignment.getThreadGroupIndex();
+            if (groupIndex >= 0 && groupIndex < plan.getThreadGroups().size()) {
+                assignedVirtualUsers += Math.max(0, threadGroupAssignment.getVirtualUserCount());
+            }
+        }
+        double globalThroughputShare = share(assignedVirtualUsers, planVirtualUsers);
         List<PerformanceThreadGroupPlan> groups = new ArrayList<>();
         for (PerformanceWorkerThreadGroupAssignment threadGroupAssignment : assignment.getThreadGroups()) {
             int groupIndex = threadGroupAssignment.getThreadGroupIndex();
@@ -26,18 +41,33 @@ public class PerformanceWorkerExecutionPlanPartitioner {
                 continue;
             }
             PerformanceThreadGroupPlan source = plan.getThreadGroups().get(groupIndex);
-            // CSV 数据不在 master 端物理截断，worker 通过全局虚拟用户起点取行，避免每台 worker 都从第 0 行读取。
+            int groupVirtualUsers = Math.max(1, PerformanceWorkerAssignmentPlanner.maxThreadCount(source.getThreadGroupData()));
+            // 未切分片时 worker 读取完整 CSV 并按全局虚拟用户起点取行；master 切过分片时分片已从起点对应的行开始。
+            CsvDataSetData shardCsv = shardCsvDataSetData(source.getCsvDataSetData(), threadGroupAssignment.getCsvShard());
             groups.add(new PerformanceThreadGroupPlan(
                     source.getName(),
                     adjustThreadGroupData(source.getThreadGroupData(), threadGroupAssignment.getVirtualUserCount()),
-                    source.getCsvDataSetData(),
+                    shardCsv == null ? source.getCsvDataSetData() : shardCsv,
                     source.getElements(),
-                    threadGroupAssignment.getFirstVirtualUserIndex()
+                    threadGroupAssignment.getFirstVirtualUserIndex(),
+                    shardCsv == null ? threadGroupAssignment.getFirstVirtualUserIndex() : 0,
+                    source.getGroupThroughputShare() * share(threadGroupAssignment.getVirtualUserCount(), groupVirtualUsers),
+                    source.getGlobalThroughputShare() * globalThroughputShare
             ));
         }
         return new PerformanceTestPlan(groups);
     }
 
+    private CsvDataSetData shardCsvDataSetData(CsvDataSetData source, PerformanceRunAsset csvShard) {
+        if (source == null || !source.hasFileReference() || csvShard == null || csvShard.getPath().isBlank()) {
+            return null;
+        }
+        CsvDataSetData target = JsonUtil.deepCopy(source, CsvDataSetData.class);
+        target.setFilePath(csvShard.getPath());
+        target.setRows(List.of());
+        return target;
+    }
+
     private ThreadGroupData adjustThreadGroupData(ThreadGroupData source, int virtualUserCount) {
         ThreadGroupData target = source == null
                 ? new ThreadGroupData()
@@ -65,6 +95,13 @@ public class PerformanceWorkerExecutionPlanPartitioner {
         return target;
     }
 
+    private static double share(int assigned, int total) {
+        if (assigned <= 0 || total <= 0) {
+            return 1.0d;
+        }
+        return Math.min(1.0d, assigned / (double) total);
+    }
+
     private static int scaledThreadCount(int originalValue, int originalMax, int assignedMax) {
         if (assignedMax <= 0) {
             return 0;
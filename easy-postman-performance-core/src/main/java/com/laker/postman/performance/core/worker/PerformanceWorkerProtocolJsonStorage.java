@@ -48,9 +48,39 @@ public class PerformanceWorkerProtocolJsonStorage {
                 .host(stringValue(root, "host", ""))
                 .port(intValue(root, "port", 0))
                 .workerProtocolVersion(stringValue(root, "workerProtocolVersion", ""))
+                .capacity(readCapacity(objectMap(root.get("capacity"))))
                 .build();
     }
 
+    private PerformanceWorkerCapacity readCapacity(Map<String, Object> json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        return PerformanceWorkerCapacity.builder()
+                .cores(intValue(json, "cores", 0))
+                .maxHeapBytes(longValue(json, "maxHeapBytes", 0L))
+                .usedHeapBytes(longValue(json, "usedHeapBytes", 0L))
+                .gcTimeRatio(doubleValue(json, "gcTimeRatio", 0D))
+                .cpuLoad(doubleValue(json, "cpuLoad", -1D))
+                .schedulerLagP99Ms(doubleValue(json, "schedulerLagP99Ms", 0D))
+                .schedulerLagMaxMs(doubleValue(json, "schedulerLagMaxMs", 0D))
+                .schedulerLagThresholdMs(longValue(json, "schedulerLagThresholdMs", 0L))
+                .build();
+    }
+
+    private Map<String, Object> capacityToMap(PerformanceWorkerCapacity capacity) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("cores", capacity.getCores());
+        json.put("maxHeapBytes", capacity.getMaxHeapBytes());
+        json.put("usedHeapBytes", capacity.getUsedHeapBytes());
+        json.put("gcTimeRatio", capacity.getGcTimeRatio());
+        json.put("cpuLoad", capacity.getCpuLoad());
+        json.put("schedulerLagP99Ms", capacity.getSchedulerLagP99Ms());
+        json.put("schedulerLagMaxMs", capacity.getSchedulerLagMaxMs());
+        json.put("schedulerLagThresholdMs", capacity.getSchedulerLagThresholdMs());
+        return json;
+    }
+
     public PerformanceWorkerRunStatusResponse statusResponseFromJson(String json) {
         Map<String, Object> root = root(json);
         PerformanceJsonReport report = root.get("report") == null
@@ -74,6 +104,16 @@ public class PerformanceWorkerProtocolJsonStorage {
                 .build();
     }
 
+    public PerformanceWorkerAssetStatusResponse assetStatusResponseFromJson(String json) {
+        Map<String, Object> root = root(json);
+        return PerformanceWorkerAssetStatusResponse.builder()
+                .sha256(stringValue(root, "sha256", ""))
+                .size(longValue(root, "size", -1L))
+                .receivedBytes(longValue(root, "receivedBytes", 0L))
+                .complete(booleanValue(root, "complete", false))
+                .build();
+    }
+
     public PerformanceWorkerRunAcceptedResponse acceptedResponseFromJson(String json) {
         Map<String, Object> root = root(json);
         return PerformanceWorkerRunAcceptedResponse.builder()
@@ -128,6 +168,17 @@ public class PerformanceWorkerProtocolJsonStorage {
             json.put("host", response.getHost());
             json.put("port", response.getPort());
             json.put("workerProtocolVersion", response.getWorkerProtocolVersion());
+            if (response.getCapacity() != null) {
+                json.put("capacity", capacityToMap(response.getCapacity()));
+            }
+            return json;
+        }
+        if (value instanceof PerformanceWorkerAssetStatusResponse response) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("sha256", response.getSha256());
+            json.put("size", response.getSize());
+            json.put("receivedBytes", response.getReceivedBytes());
+            json.put("complete", response.isComplete());
             return json;
         }
         if (value instanceof PerformanceWorkerRunAcceptedResponse response) {
@@ -357,6 +408,7 @@ public class PerformanceWorkerProtocolJsonStorage {
         json.put("receivedRate", finiteOrNull(metrics.receivedRate()));
         json.put("matchedRate", finiteOrNull(metrics.matchedRate()));
         json.put("avgFirstMessageLatencyMs", finiteOrNull(metrics.avgFirstMessageLatencyMs()));
+        json.put("avgInterEventGapMs", finiteOrNull(metrics.avgInterEventGapMs()));
         return json;
     }
 
@@ -391,14 +443,15 @@ public class PerformanceWorkerProtocolJsonStorage {
                 doubleValue(json, "sentRate", Double.NaN),
                 doubleValue(json, "receivedRate", Double.NaN),
                 doubleValue(json, "matchedRate", Double.NaN),
-                doubleValue(json, "avgFirstMessageLatencyMs", Double.NaN)
+                doubleValue(json, "avgFirstMessageLatencyMs", Double.NaN),
+                doubleValue(json, "avgInterEventGapMs", Double.NaN)
         );
     }
 
     private PerformanceTrendSnapshot.ProtocolWindowMetrics emptyTrendMetrics() {
         return new PerformanceTrendSnapshot.ProtocolWindowMetrics(
                 0, 0, Double.NaN, Double.NaN, Double.NaN, 0, 0, 0,
-                Double.NaN, Double.NaN, Double.NaN, Double.NaN
+                Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN
         );
     }
 
@@ -1,5 +1,6 @@
 package com.laker.postman.performance.core.worker;
 
+import com.laker.postman.performance.core.run.PerformanceRunAsset;
 import lombok.Value;
 
 @Value
@@ -8,14 +9,30 @@ public class PerformanceWorkerThreadGroupAssignment {
     int threadGroupIndex;
     int firstVirtualUserIndex;
     int virtualUserCount;
+    // master 按本 worker 的虚拟用户区间切出的 CSV 分片；为空时 worker 读取完整 CSV 并按全局起点取行。
+    PerformanceRunAsset csvShard;
 
     public PerformanceWorkerThreadGroupAssignment(String threadGroupPath,
                                                   int threadGroupIndex,
                                                   int firstVirtualUserIndex,
                                                   int virtualUserCount) {
+        this(threadGroupPath, threadGroupIndex, firstVirtualUserIndex, virtualUserCount, null);
+    }
+
+    public PerformanceWorkerThreadGroupAssignment(String threadGroupPath,
+                                                  int threadGroupIndex,
+                                                  int firstVirtualUserIndex,
+                                                  int virtualUserCount,
+                                                  PerformanceRunAsset csvShard) {
         this.threadGroupPath = threadGroupPath == null ? "" : threadGroupPath;
         this.threadGroupIndex = Math.max(0, threadGroupIndex);
         this.firstVirtualUserIndex = Math.max(0, firstVirtualUserIndex);
         this.virtualUserCount = Math.max(0, virtualUserCount);
+        this.csvShard = csvShard;
+    }
+
+    public PerformanceWorkerThreadGroupAssignment withCsvShard(PerformanceRunAsset csvShard) {
+        return new PerformanceWorkerThreadGroupAssignment(
+                threadGroupPath, threadGroupIndex, firstVirtualUserIndex, virtualUserCount, csvShard);
     }
 }
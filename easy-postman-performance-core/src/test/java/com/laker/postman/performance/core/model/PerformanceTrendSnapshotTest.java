@@ -5,6 +5,7 @@ import org.testng.annotations.Test;
 import java.util.List;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 public class PerformanceTrendSnapshotTest {
@@ -144,7 +145,8 @@ public class PerformanceTrendSnapshotTest {
                 1.0,
                 80.0,
                 2,
-                5_000.0
+                5_000.0,
+                Double.NaN
         );
 
         PerformanceTrendSnapshot snapshot = PerformanceTrendSnapshot.fromResults(
@@ -167,4 +169,42 @@ public class PerformanceTrendSnapshotTest {
         assertEquals(snapshot.sse().avgFirstMessageLatencyMs(), 80.0);
         assertEquals(snapshot.sse().avgDurationMs(), 5_000.0);
     }
+
+    @Test
+    public void mergeShouldSumRatesAndWeightDurationsBySamples() {
+        PerformanceTrendSnapshot first = PerformanceTrendSnapshot.fromResults(
+                List.of(new RequestResult(1_000, 1_100, true, "api", PerformanceProtocol.HTTP)),
+                1_000,
+                2_000,
+                2,
+                0,
+                0,
+                1_000
+        );
+        PerformanceTrendSnapshot second = PerformanceTrendSnapshot.fromResults(
+                List.of(
+                        new RequestResult(1_000, 1_400, true, "api", PerformanceProtocol.HTTP),
+                        new RequestResult(1_000, 1_400, false, "api", PerformanceProtocol.HTTP),
+                        new RequestResult(1_000, 1_400, true, "api", PerformanceProtocol.HTTP)
+                ),
+                1_000,
+                2_000,
+                3,
+                0,
+                0,
+                1_000
+        );
+
+        PerformanceTrendSnapshot merged = PerformanceTrendSnapshot.merge(5, 1, 2, List.of(first, second));
+
+        assertEquals(merged.activeUsers(), 5);
+        assertEquals(merged.activeWebSocketConnections(), 1);
+        assertEquals(merged.activeSseStreams(), 2);
+        assertEquals(merged.http().samples(), 4);
+        assertEquals(merged.http().failures(), 1);
+        assertEquals(merged.http().failurePercent(), 25.0);
+        assertEquals(merged.http().sampleRate(), 4.0);
+        assertEquals(merged.http().avgDurationMs(), 325.0);
+        assertNull(PerformanceTrendSnapshot.merge(0, 0, 0, List.of()));
+    }
 }
@@ -0,0 +1,113 @@
+package com.laker.postman.performance.core.model;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class PerformanceTrendTierStoreTest {
+
+    private static final long BASE = 1_700_000_000_000L;
+
+    @Test
+    public void shouldServeRawPointsForRecentWindowAndRollupsForOlderHistory() {
+        PerformanceTrendTierStore store = new PerformanceTrendTierStore(60_000L);
+        for (int i = 0; i < 180; i++) {
+            store.record("qps", BASE + i * 1_000L, i % 10);
+        }
+
+        List<PerformanceTrendTierStore.Point> recent = store.points("qps", BASE + 150_000L, BASE + 159_000L);
+        assertEquals(recent.size(), 10);
+        assertEquals(recent.get(0).count(), 1);
+
+        List<PerformanceTrendTierStore.Point> older = store.points("qps", BASE, BASE + 59_000L);
+        assertEquals(older.size(), 6);
+        PerformanceTrendTierStore.Point bucket = older.get(0);
+        assertEquals(bucket.timeMs(), BASE);
+        assertEquals(bucket.count(), 10);
+        assertEquals(bucket.min(), 0.0);
+        assertEquals(bucket.max(), 9.0);
+        assertEquals(bucket.avg(), 4.5);
+        assertEquals(bucket.p50(), 4.0);
+        assertEquals(bucket.p95(), 9.0);
+
+        List<PerformanceTrendTierStore.Point> all = store.points("qps", BASE, BASE + 179_000L);
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i).timeMs() > all.get(i - 1).timeMs());
+        }
+    }
+
+    @Test
+    public void shouldReplaceSameTimestampAndKeepGaps() {
+        PerformanceTrendTierStore store = new PerformanceTrendTierStore();
+        store.record("latency", BASE, 10);
+        store.record("latency", BASE, 30);
+        store.record("latency", BASE + 1_000L, Double.NaN);
+        store.record("latency", BASE - 1_000L, 99);
+
+        List<PerformanceTrendTierStore.Point> points = store.points("latency", BASE - 1_000L, BASE + 1_000L);
+        assertEquals(points.size(), 2);
+        assertEquals(points.get(0).avg(), 30.0);
+        assertTrue(Double.isNaN(points.get(1).avg()));
+
+        PerformanceTrendTierStore.Tier tenSeconds = store.tiers().get(1);
+        assertEquals(tenSeconds.name(), PerformanceTrendTierStore.TEN_SECOND_TIER);
+        PerformanceTrendTierStore.Point bucket = tenSeconds.series().get("latency").get(0);
+        assertEquals(bucket.count(), 1);
+        assertEquals(bucket.avg(), 30.0);
+    }
+
+    @Test
+    public void shouldRecordEverySeriesOfTrendSnapshot() {
+        PerformanceTrendTierStore store = new PerformanceTrendTierStore();
+        store.record(BASE, PerformanceTrendSnapshot.terminalIdle());
+
+        PerformanceTrendTierStore.Tier raw = store.tiers().get(0);
+        assertEquals(raw.name(), PerformanceTrendTierStore.RAW_TIER);
+        // 终止补点只有活跃计数是有效值，其余曲线都是断点，不写入报表
+        assertEquals(raw.series().keySet(), java.util.Set.of(
+                PerformanceTrendSeries.HTTP_ACTIVE_USERS.key(),
+                PerformanceTrendSeries.WEBSOCKET_ACTIVE_CONNECTIONS.key(),
+                PerformanceTrendSeries.SSE_ACTIVE_STREAMS.key()));
+        assertEquals(store.points(PerformanceTrendSeries.HTTP_SAMPLE_RATE.key(), BASE, BASE).size(), 1);
+    }
+
+    @Test
+    public void shouldDownsampleToThresholdKeepingEndpointsAndSpikes() {
+        PerformanceTrendTierStore store = new PerformanceTrendTierStore();
+        for (int i = 0; i < 3_000; i++) {
+            store.record("qps", BASE + i * 1_000L, i == 1_234 ? 1_000 : 10);
+        }
+
+        List<PerformanceTrendTierStore.Point> sampled = store.downsample("qps", BASE, BASE + 2_999_000L, 300);
+
+        assertEquals(sampled.size(), 300);
+        assertEquals(sampled.get(0).timeMs(), BASE);
+        assertEquals(sampled.get(sampled.size() - 1).timeMs(), BASE + 2_999_000L);
+        assertTrue(sampled.stream().anyMatch(point -> point.avg() == 1_000));
+    }
+
+    @Test
+    public void shouldKeepGapWhenWholeDownsampleBucketHasNoSample() {
+        long[] timesMs = new long[12];
+        double[] values = new double[12];
+        for (int i = 0; i < timesMs.length; i++) {
+            timesMs[i] = i;
+            values[i] = i >= 4 && i < 8 ? Double.NaN : i;
+        }
+
+        int[] indexes = PerformanceTrendDownsampler.largestTriangleThreeBuckets(timesMs, values, 5);
+
+        assertEquals(indexes.length, 5);
+        assertEquals(indexes[0], 0);
+        assertEquals(indexes[4], 11);
+        boolean keepsGap = false;
+        for (int index : indexes) {
+            keepsGap |= Double.isNaN(values[index]);
+        }
+        assertTrue(keepsGap);
+        assertEquals(PerformanceTrendDownsampler.largestTriangleThreeBuckets(timesMs, values, 20).length, 12);
+    }
+}
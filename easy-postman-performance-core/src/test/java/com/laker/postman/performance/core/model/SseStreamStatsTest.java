@@ -0,0 +1,109 @@
+package com.laker.postman.performance.core.model;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class SseStreamStatsTest {
+
+    @Test
+    public void shouldTrackGapsThroughputAndStallsIncrementally() {
+        SseStreamStats stats = new SseStreamStats(500);
+
+        assertEquals(stats.recordEvent(100, 10), -1);
+        assertEquals(stats.recordEvent(110, 10), 10);
+        assertEquals(stats.recordEvent(130, 10), 20);
+        assertEquals(stats.recordEvent(730, 10), 600);
+
+        assertEquals(stats.events(), 4);
+        assertEquals(stats.bytes(), 40);
+        assertEquals(stats.spanMs(), 630);
+        assertEquals(stats.gapCount(), 3);
+        assertEquals(stats.gapTotalMs(), 630);
+        assertEquals(stats.gapMaxMs(), 600);
+        assertEquals(stats.stalls(), 1);
+        assertTrue(stats.stalled());
+        assertEquals(stats.eventsPerSecond(), 3 * 1000.0 / 630, 0.0001);
+        assertEquals(stats.bytesPerSecond(), 40 * 1000.0 / 630, 0.0001);
+        assertEquals(stats.jitterMs(), Math.sqrt((100 + 400 + 360_000) / 3.0 - 210 * 210), 0.0001);
+        long[] buckets = stats.gapBuckets();
+        assertEquals(buckets[SseStreamStats.bucketIndex(10)], 1);
+        assertEquals(buckets[SseStreamStats.bucketIndex(20)], 1);
+        assertEquals(buckets[SseStreamStats.bucketIndex(600)], 1);
+    }
+
+    @Test
+    public void shouldNotDetectStallsWhenThresholdDisabled() {
+        SseStreamStats stats = new SseStreamStats(0);
+        stats.recordEvent(0, 1);
+        stats.recordEvent(60_000, 1);
+
+        assertFalse(stats.stalled());
+        assertEquals(stats.gapBuckets()[SseStreamStats.gapBucketCount() - 2], 1);
+    }
+
+    @Test
+    public void shouldRoundTripThroughHeaderEncoding() {
+        SseStreamStats stats = new SseStreamStats(200);
+        stats.recordEvent(0, 5);
+        stats.recordEvent(3, 5);
+        stats.recordEvent(250, 5);
+
+        SseStreamStats decoded = SseStreamStats.decode(stats.encode());
+
+        assertNotNull(decoded);
+        assertEquals(decoded.encode(), stats.encode());
+        assertEquals(decoded.eventsPerSecond(), stats.eventsPerSecond(), 0.0001);
+        assertEquals(decoded.stallThresholdMs(), 200);
+        assertTrue(decoded.stalled());
+        assertNull(SseStreamStats.decode(""));
+        assertNull(SseStreamStats.decode("events=abc"));
+    }
+
+    @Test
+    public void shouldEstimatePercentileFromBucketsCappedByMax() {
+        long[] buckets = new long[SseStreamStats.gapBucketCount()];
+        buckets[SseStreamStats.bucketIndex(3)] = 90;
+        buckets[SseStreamStats.bucketIndex(150)] = 10;
+
+        assertEquals(SseStreamStats.percentile(buckets, 150, 0.90), 5);
+        assertEquals(SseStreamStats.percentile(buckets, 150, 0.99), 150);
+        assertEquals(SseStreamStats.percentile(new long[buckets.length], 0, 0.99), 0);
+    }
+
+    @Test
+    public void shouldAggregateStreamStatsPerApi() {
+        PerformanceStatsCollector collector = new PerformanceStatsCollector();
+        SseStreamStats first = new SseStreamStats(100);
+        first.recordEvent(0, 10);
+        first.recordEvent(10, 10);
+        first.recordEvent(20, 10);
+        SseStreamStats second = new SseStreamStats(100);
+        second.recordEvent(0, 10);
+        second.recordEvent(150, 10);
+        collector.record(sseResult(first, true));
+        collector.record(sseResult(second, false));
+
+        PerformanceStatsSnapshot.SseStreamSummary summary = collector.snapshot()
+                .totalFor(PerformanceProtocol.SSE, "SSE Total")
+                .sseStreams();
+
+        assertEquals(summary.streams(), 2);
+        assertEquals(summary.stalledStreams(), 1);
+        assertEquals(summary.stalls(), 1);
+        assertEquals(summary.interEventGapCount(), 3);
+        assertEquals(summary.interEventGapStats().avg(), 56);
+        assertEquals(summary.interEventGapStats().max(), 150);
+        assertEquals(summary.interEventGapStats().p99(), 150);
+    }
+
+    private static RequestResult sseResult(SseStreamStats stats, boolean success) {
+        RequestResult result = new RequestResult(0, 200, success, "sse-api", "SSE API", PerformanceProtocol.SSE);
+        result.sseStreamStats = stats;
+        return result;
+    }
+}
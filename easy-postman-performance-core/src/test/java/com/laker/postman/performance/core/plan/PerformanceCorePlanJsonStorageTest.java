@@ -80,11 +80,15 @@ public class PerformanceCorePlanJsonStorageTest {
         assertEquals(snapshot.getAuthApiKeyName(), "X-API-Key");
         assertEquals(snapshot.getAuthApiKeyValue(), "secret");
         assertEquals(snapshot.getAuthApiKeyPlacement(), PerformanceRequestSnapshot.AUTH_API_KEY_PLACEMENT_HEADER);
+        assertEquals(snapshot.getRequestBodyCompression(), PerformanceRequestSnapshot.REQUEST_BODY_COMPRESSION_ZSTD);
         assertEquals(snapshot.getProxyPolicy(), PerformanceRequestSnapshot.PROXY_POLICY_NO_PROXY);
         assertEquals(snapshot.getExecutionScope().getGroupVariable("tenant"), "core");
 
         TimerData timerData = loadedRequest.getChildren().get(0).getTimerData();
         assertEquals(timerData.delayMs, 75);
+        assertEquals(timerData.timerType, TimerData.TimerType.CONSTANT_THROUGHPUT);
+        assertEquals(timerData.targetThroughputPerMinute, 1200);
+        assertEquals(timerData.throughputScope, TimerData.ThroughputScope.GLOBAL);
     }
 
     @Test
@@ -125,6 +129,7 @@ public class PerformanceCorePlanJsonStorageTest {
                 .proxyPolicy(PerformanceRequestSnapshot.PROXY_POLICY_NO_PROXY)
                 .httpVersion(PerformanceRequestSnapshot.HTTP_VERSION_HTTP_2)
                 .requestTimeoutMs(1500)
+                .requestBodyCompression("zstd")
                 .prescript("pm.variables.set('a', 'b')")
                 .postscript("pm.test('ok')")
                 .executionScope(PerformanceRequestExecutionScopeSnapshot.fromGroupVariables(groupVariables))
@@ -142,6 +147,9 @@ public class PerformanceCorePlanJsonStorageTest {
 
         TimerData timerData = new TimerData();
         timerData.delayMs = 75;
+        timerData.timerType = TimerData.TimerType.CONSTANT_THROUGHPUT;
+        timerData.targetThroughputPerMinute = 1200;
+        timerData.throughputScope = TimerData.ThroughputScope.GLOBAL;
         PerformanceCorePlanNode timer = PerformanceCorePlanNode.builder()
                 .name("think time")
                 .type(NodeType.TIMER)
@@ -4,6 +4,8 @@ import com.laker.postman.performance.core.model.PerformanceProtocol;
 import com.laker.postman.performance.core.model.PerformanceRealtimeMetrics;
 import com.laker.postman.performance.core.model.PerformanceReportSnapshot;
 import com.laker.postman.performance.core.model.PerformanceStatsCollector;
+import com.laker.postman.performance.core.model.PerformanceTrendSeries;
+import com.laker.postman.performance.core.model.PerformanceTrendTierStore;
 import com.laker.postman.performance.core.model.RequestResult;
 import com.laker.postman.util.JsonUtil;
 import org.testng.annotations.Test;
@@ -22,6 +24,8 @@ public class PerformanceJsonReportMapperTest {
         RequestResult loginOk = new RequestResult(1_000, 1_100, true, "login", "Login", PerformanceProtocol.HTTP);
         loginOk.sentBytes = 100;
         loginOk.receivedBytes = 400;
+        loginOk.requestBodyRawBytes = 900;
+        loginOk.requestBodyCompressedBytes = 60;
         collector.record(loginOk);
         RequestResult loginFail = new RequestResult(2_000, 2_250, false, "login", "Login", PerformanceProtocol.HTTP);
         loginFail.sentBytes = 200;
@@ -70,12 +74,15 @@ public class PerformanceJsonReportMapperTest {
         assertEquals(bytes.get("sentBytes"), 300);
         assertEquals(bytes.get("receivedBytes"), 1000);
         assertEquals(bytes.get("avgReceivedBytes"), 500);
+        assertEquals(bytes.get("requestBodyRawBytes"), 900);
+        assertEquals(bytes.get("requestBodyCompressedBytes"), 60);
 
         PerformanceJsonReport roundTripped = new PerformanceJsonReportJsonStorage().fromJson(json);
         PerformanceJsonReportApi roundTrippedLogin = roundTripped.getProtocols().get("HTTP").getApis().get(0);
         assertEquals(roundTrippedLogin.getFirstSampleStartTimeMs(), 1_000L);
         assertEquals(roundTrippedLogin.getLastSampleEndTimeMs(), 2_250L);
         assertEquals(roundTrippedLogin.getBytes().getReceivedBytes(), 1_000L);
+        assertEquals(roundTrippedLogin.getBytes().getRequestBodyCompressedBytes(), 60L);
 
         Map<String, Object> sse = objectMap(protocols.get("SSE"));
         Map<String, Object> sseApi = objectMap(listValue(sse.get("apis")).get(0));
@@ -161,6 +168,38 @@ public class PerformanceJsonReportMapperTest {
         assertEquals(merged.getProtocols().get("HTTP").getApis().get(0).getDurationMs().getMax(), 300L);
     }
 
+    @Test
+    public void shouldPersistTrendTiersAsCompactArraysAndReadThemBack() {
+        PerformanceTrendTierStore store = new PerformanceTrendTierStore();
+        long base = 1_700_000_000_000L;
+        for (int i = 0; i < 20; i++) {
+            store.record(PerformanceTrendSeries.HTTP_SAMPLE_RATE.key(), base + i * 1_000L, i);
+        }
+        PerformanceJsonReport report = PerformanceJsonReport.builder()
+                .trendTiers(PerformanceJsonReportMapper.toTrendTiers(store))
+                .build();
+        PerformanceJsonReportJsonStorage storage = new PerformanceJsonReportJsonStorage();
+
+        Map<String, Object> json = storage.toMap(report);
+        Map<String, Object> tenSecondJson = objectMap(listValue(json.get("trendTiers")).get(1));
+        assertEquals(tenSecondJson.get("resolutionMs"), 10_000L);
+        assertEquals(listValue(tenSecondJson.get("columns")).get(4), "avg");
+        assertEquals(listValue(objectMap(tenSecondJson.get("series")).get("http.sampleRate")).size(), 2);
+
+        PerformanceJsonReport restored = storage.fromJson(storage.toJson(report));
+        assertEquals(restored.getTrendTiers().size(), 3);
+        assertEquals(restored.getTrendTiers().get(0).getSeries().get("http.sampleRate").size(), 20);
+        PerformanceJsonReportTrendPoint bucket = restored.getTrendTiers().get(1).getSeries().get("http.sampleRate").get(1);
+        assertEquals(bucket.getTimeMs(), base + 10_000L);
+        assertEquals(bucket.getCount(), 10L);
+        assertEquals(bucket.getMin(), 10.0);
+        assertEquals(bucket.getMax(), 19.0);
+        assertEquals(bucket.getAvg(), 14.5);
+        assertEquals(bucket.getP95(), 19.0);
+        assertTrue(PerformanceJsonReportMapper.toTrendTiers(new PerformanceTrendTierStore()).isEmpty());
+        assertTrue(storage.toMap(PerformanceJsonReport.builder().build()).get("trendTiers") == null);
+    }
+
     @SuppressWarnings("unchecked")
     private static Map<String, Object> objectMap(Object value) {
         return (Map<String, Object>) value;
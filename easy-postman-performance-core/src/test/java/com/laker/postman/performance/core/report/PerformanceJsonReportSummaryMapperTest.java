@@ -1,5 +1,6 @@
 package com.laker.postman.performance.core.report;
 
+import com.laker.postman.performance.core.model.SseStreamStats;
 import com.laker.postman.performance.core.run.PerformanceRunStatus;
 import org.testng.annotations.Test;
 
@@ -67,9 +68,131 @@ public class PerformanceJsonReportSummaryMapperTest {
         assertEquals(mergedApi.getBytes().getSentBytesPerSecond(), 2_000.0);
         assertEquals(mergedApi.getBytes().getReceivedBytesPerSecond(), 4_000.0);
         assertEquals(mergedApi.getBytes().getAvgReceivedBytes(), 200L);
+        assertEquals(mergedApi.getBytes().getRequestBodyRawBytes(), 20_000L);
+        assertEquals(mergedApi.getBytes().getRequestBodyCompressedBytes(), 5_000L);
         assertEquals(mergedTotal.getSamplesPerSecond(), 20.0);
     }
 
+    @Test
+    public void shouldMergeSseGapHistogramsBucketByBucketAfterJsonRoundTrip() {
+        PerformanceJsonReport left = roundTrip(report("worker-a", sseApi(1, 90, 3L, 3L, 4.0, 10L)));
+        PerformanceJsonReport right = roundTrip(report("worker-b", sseApi(0, 10, 150L, 150L, 0.0, 1L)));
+
+        PerformanceJsonReport merged = PerformanceJsonReportSummaryMapper.merge(
+                "run-1",
+                "master",
+                PerformanceRunStatus.SUCCESS,
+                "plan.json",
+                List.of(left, right)
+        );
+
+        PerformanceJsonReportStream stream = merged.getProtocols().get("SSE").getApis().get(0).getStream();
+        assertEquals(stream.getStreams(), 2L);
+        assertEquals(stream.getStalledStreams(), 1L);
+        assertEquals(stream.getStalls(), 1L);
+        assertEquals(stream.getInterEventGapBuckets().get(SseStreamStats.bucketIndex(3)), 90L);
+        assertEquals(stream.getInterEventGapBuckets().get(SseStreamStats.bucketIndex(150)), 10L);
+        assertEquals(stream.getInterEventGapMs().getAvg(), 18L);
+        assertEquals(stream.getInterEventGapMs().getMax(), 150L);
+        // 按合并后的分桶重算：90% 的间隔落在 5ms 桶内，不再取各 worker p90 的最大值
+        assertEquals(stream.getInterEventGapMs().getP90(), 5L);
+        assertEquals(stream.getInterEventGapMs().getP99(), 150L);
+        assertEquals(stream.getInterEventJitterMs(), 44.3, 0.1);
+    }
+
+    @Test
+    public void shouldKeepZeroMinimumGapFromEarlierWorker() {
+        PerformanceJsonReport left = roundTrip(report("worker-a", sseApi(0, 20, 0L, 2L, 0.5, 10L)));
+        PerformanceJsonReport right = roundTrip(report("worker-b", sseApi(0, 10, 40L, 40L, 0.0, 1L)));
+
+        PerformanceJsonReport merged = PerformanceJsonReportSummaryMapper.merge(
+                "run-1",
+                "master",
+                PerformanceRunStatus.SUCCESS,
+                "plan.json",
+                List.of(left, right)
+        );
+
+        PerformanceJsonReportDuration gap = merged.getProtocols().get("SSE").getApis().get(0).getStream().getInterEventGapMs();
+        assertEquals(gap.getMin(), 0L);
+        assertEquals(gap.getMax(), 40L);
+    }
+
+    @Test
+    public void shouldCarryWorkerSaturationIntervalsThroughJsonAndMerge() {
+        PerformanceJsonReport saturated = PerformanceJsonReport.builder()
+                .metadata(PerformanceJsonReportMetadata.builder()
+                        .source("127.0.0.1:19090")
+                        .status(PerformanceRunStatus.SUCCESS)
+                        .build())
+                .generatorSaturation(List.of(PerformanceJsonReportSaturation.builder()
+                        .startTimeMs(1_000L)
+                        .endTimeMs(3_000L)
+                        .maxSchedulerLagMs(180.5D)
+                        .thresholdMs(50L)
+                        .build()))
+                .build();
+        PerformanceJsonReport healthy = PerformanceJsonReport.builder()
+                .metadata(PerformanceJsonReportMetadata.builder()
+                        .source("127.0.0.1:19091")
+                        .status(PerformanceRunStatus.SUCCESS)
+                        .build())
+                .build();
+
+        PerformanceJsonReport merged = PerformanceJsonReportSummaryMapper.merge(
+                "run-saturation",
+                "master",
+                PerformanceRunStatus.SUCCESS,
+                "plan.json",
+                List.of(roundTrip(saturated), roundTrip(healthy))
+        );
+
+        assertEquals(merged.getMetadata().getStatus(), PerformanceRunStatus.SUCCESS);
+        assertEquals(merged.getGeneratorSaturation().size(), 1);
+        PerformanceJsonReportSaturation interval = roundTrip(merged).getGeneratorSaturation().get(0);
+        assertEquals(interval.getSource(), "127.0.0.1:19090");
+        assertEquals(interval.getStartTimeMs(), 1_000L);
+        assertEquals(interval.getEndTimeMs(), 3_000L);
+        assertEquals(interval.getMaxSchedulerLagMs(), 180.5D, 1e-9);
+        assertEquals(interval.getThresholdMs(), 50L);
+        assertTrue(roundTrip(healthy).getGeneratorSaturation().isEmpty());
+    }
+
+    private static PerformanceJsonReport roundTrip(PerformanceJsonReport report) {
+        PerformanceJsonReportJsonStorage storage = new PerformanceJsonReportJsonStorage();
+        return storage.fromJson(storage.toJson(report));
+    }
+
+    private static PerformanceJsonReportApi sseApi(long stalls,
+                                                   long gapCount,
+                                                   long gapMs,
+                                                   long gapMaxMs,
+                                                   double jitterMs,
+                                                   long eventsPerSecond) {
+        List<Long> buckets = new java.util.ArrayList<>(java.util.Collections.nCopies(SseStreamStats.gapBucketCount(), 0L));
+        buckets.set(SseStreamStats.bucketIndex(gapMs), gapCount);
+        return PerformanceJsonReportApi.builder()
+                .apiId("events")
+                .name("Events")
+                .protocol("SSE")
+                .total(1L)
+                .success(stalls > 0 ? 0L : 1L)
+                .durationMs(PerformanceJsonReportDuration.builder().avg(10L).min(10L).max(10L).build())
+                .stream(PerformanceJsonReportStream.builder()
+                        .receivedMessages(gapCount + 1)
+                        .streams(1L)
+                        .stalledStreams(stalls > 0 ? 1L : 0L)
+                        .stalls(stalls)
+                        .interEventGapMs(PerformanceJsonReportDuration.builder()
+                                .avg(gapMs).min(gapMs).max(gapMaxMs).p90(gapMs).p95(gapMs).p99(gapMs).build())
+                        .interEventJitterMs(jitterMs)
+                        .interEventGapBuckets(buckets)
+                        .eventsPerSecond(PerformanceJsonReportDuration.builder()
+                                .avg(eventsPerSecond).min(eventsPerSecond).max(eventsPerSecond).build())
+                        .build())
+                .build();
+    }
+
     private static PerformanceJsonReport report(String source, PerformanceJsonReportApi api) {
         return PerformanceJsonReport.builder()
                 .metadata(PerformanceJsonReportMetadata.builder()
@@ -80,8 +203,8 @@ public class PerformanceJsonReportSummaryMapperTest {
                         .totalRequests(api.getTotal())
                         .successRequests(api.getSuccess())
                         .build())
-                .protocols(java.util.Map.of("HTTP", PerformanceJsonReportProtocol.builder()
-                        .protocol("HTTP")
+                .protocols(java.util.Map.of(api.getProtocol(), PerformanceJsonReportProtocol.builder()
+                        .protocol(api.getProtocol())
                         .total(api)
                         .apis(List.of(api))
                         .build()))
@@ -108,6 +231,8 @@ public class PerformanceJsonReportSummaryMapperTest {
                 .bytes(PerformanceJsonReportBytes.builder()
                         .sentBytes(sentBytes)
                         .receivedBytes(receivedBytes)
+                        .requestBodyRawBytes(sentBytes * 2)
+                        .requestBodyCompressedBytes(sentBytes / 2)
                         .build())
                 .durationMs(PerformanceJsonReportDuration.builder().avg(10L).min(10L).max(10L).build())
                 .build();
@@ -0,0 +1,56 @@
+package com.laker.postman.performance.core.run;
+
+import com.laker.postman.performance.core.config.CsvDataSetData;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class PerformanceRunCsvShardWriterTest {
+
+    @Test
+    public void shouldWriteHeaderAndWorkerRowRangeWithWrapAround() throws Exception {
+        Path source = Files.createTempFile("users", ".csv");
+        Path shard = Files.createTempFile("users-shard", ".csv");
+        Files.writeString(source, "userId,note\r\nu0,a\r\nu1,\"multi\nline\"\r\nu2,c\r\nu3,d");
+
+        assertTrue(PerformanceRunCsvShardWriter.write(source, StandardCharsets.UTF_8, true, 3, 2, shard));
+
+        assertEquals(Files.readString(shard), "userId,note\r\nu3,d\nu0,a\r\n");
+        CsvDataSetData data = CsvDataSetData.file("users.csv", shard.toString());
+        assertEquals(data.rowForVirtualUser(0).get("userId"), "u3");
+        assertEquals(data.rowForVirtualUser(1).get("userId"), "u0");
+        Files.deleteIfExists(source);
+        Files.deleteIfExists(shard);
+    }
+
+    @Test
+    public void shouldKeepQuotedNewlinesInsideOneRecord() throws Exception {
+        Path source = Files.createTempFile("notes", ".csv");
+        Path shard = Files.createTempFile("notes-shard", ".csv");
+        Files.writeString(source, "u0,\"multi\nline\"\nu1,b\nu2,c\n\n");
+
+        assertTrue(PerformanceRunCsvShardWriter.write(source, StandardCharsets.UTF_8, false, 0, 1, shard));
+
+        assertEquals(Files.readString(shard), "u0,\"multi\nline\"\n");
+        assertEquals(PerformanceRunCsvShardWriter.countRecords(source, StandardCharsets.UTF_8), 4);
+        Files.deleteIfExists(source);
+        Files.deleteIfExists(shard);
+    }
+
+    @Test
+    public void shouldSkipShardWhenWorkerNeedsEveryRow() throws Exception {
+        Path source = Files.createTempFile("small", ".csv");
+        Path shard = source.resolveSibling(source.getFileName() + ".shard");
+        Files.writeString(source, "userId\nu0\nu1\n");
+
+        assertFalse(PerformanceRunCsvShardWriter.write(source, StandardCharsets.UTF_8, true, 1, 2, shard));
+        assertFalse(Files.exists(shard));
+        Files.deleteIfExists(source);
+    }
+}
@@ -9,8 +9,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
@@ -165,10 +172,120 @@ public class PerformanceCoreThreadGroupRunnerTest {
         return () -> PerformanceCoreResultSink.NOOP;
     }
 
+    @Test(timeOut = 15000)
+    public void asyncFixedThreadGroupShouldDriveManyVirtualUsersOnBoundedWorkerThreads() throws Exception {
+        int virtualUserCount = 2000;
+        PerformanceVirtualUserCoordinator virtualUsers = new PerformanceVirtualUserCoordinator();
+        Set<String> workerThreads = ConcurrentHashMap.newKeySet();
+        Map<Integer, List<Integer>> iterationsByVirtualUser = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ScheduledExecutorService network = Executors.newSingleThreadScheduledExecutor();
+        try {
+            PerformanceCoreThreadGroupRunner<Integer> runner = new PerformanceCoreThreadGroupRunner<>(
+                    () -> true,
+                    System::currentTimeMillis,
+                    () -> {
+                    },
+                    virtualUsers,
+                    (groupPlan, iterationCount) -> {
+                        int vuIndex = virtualUsers.currentVirtualUserIndex();
+                        iterationsByVirtualUser.computeIfAbsent(vuIndex, ignored -> new CopyOnWriteArrayList<>())
+                                .add(virtualUsers.nextIterationIndex());
+                        return vuIndex;
+                    },
+                    (groupPlan, iterationContext) -> {
+                        throw new AssertionError("blocking iteration should not be used");
+                    },
+                    new PerformanceCoreThreadGroupRunner.AsyncIterationExecutor<>() {
+                        @Override
+                        public boolean supports(PerformanceThreadGroupPlan groupPlan) {
+                            return true;
+                        }
+
+                        @Override
+                        public CompletableFuture<Void> executeIteration(PerformanceThreadGroupPlan groupPlan,
+                                                                        Integer iterationContext,
+                                                                        PerformanceAsyncVirtualUser virtualUser) {
+                            workerThreads.add(Thread.currentThread().getName());
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            CompletableFuture<Void> response = new CompletableFuture<>();
+                            network.schedule(() -> {
+                                inFlight.decrementAndGet();
+                                response.complete(null);
+                            }, 200, TimeUnit.MILLISECONDS);
+                            return response;
+                        }
+                    },
+                    noopSink()
+            );
+
+            runner.run(new PerformanceTestPlan(List.of(fixedGroup("ws users", virtualUserCount, 2))), virtualUserCount);
+        } finally {
+            network.shutdownNow();
+        }
+
+        assertEquals(iterationsByVirtualUser.size(), virtualUserCount);
+        assertTrue(iterationsByVirtualUser.values().stream().allMatch(iterations -> iterations.equals(List.of(0, 1))));
+        assertTrue(workerThreads.stream().allMatch(name -> name.startsWith("PerformanceAsyncWorker")), workerThreads.toString());
+        assertTrue(workerThreads.size() <= PerformanceCoreThreadGroupRunner.asyncWorkerThreads(virtualUserCount),
+                workerThreads.toString());
+        assertTrue(maxInFlight.get() > workerThreads.size() * 10, "maxInFlight=" + maxInFlight.get());
+        assertEquals(virtualUsers.getActiveThreads(), 0);
+    }
+
+    @Test(timeOut = 5000)
+    public void asyncFixedThreadGroupShouldReleaseVirtualUsersWhenStopped() {
+        PerformanceVirtualUserCoordinator virtualUsers = new PerformanceVirtualUserCoordinator();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger cancellations = new AtomicInteger();
+        List<CompletableFuture<Void>> pending = new CopyOnWriteArrayList<>();
+        PerformanceCoreThreadGroupRunner<String> runner = new PerformanceCoreThreadGroupRunner<>(
+                running::get,
+                System::currentTimeMillis,
+                () -> {
+                    cancellations.incrementAndGet();
+                    pending.forEach(future -> future.complete(null));
+                },
+                virtualUsers,
+                (groupPlan, iterationCount) -> "ctx",
+                (groupPlan, iterationContext) -> {
+                },
+                new PerformanceCoreThreadGroupRunner.AsyncIterationExecutor<>() {
+                    @Override
+                    public boolean supports(PerformanceThreadGroupPlan groupPlan) {
+                        return true;
+                    }
+
+                    @Override
+                    public CompletableFuture<Void> executeIteration(PerformanceThreadGroupPlan groupPlan,
+                                                                    String iterationContext,
+                                                                    PerformanceAsyncVirtualUser virtualUser) {
+                        CompletableFuture<Void> neverAnswered = new CompletableFuture<>();
+                        pending.add(neverAnswered);
+                        if (pending.size() == 50) {
+                            running.set(false);
+                        }
+                        return neverAnswered;
+                    }
+                },
+                noopSink()
+        );
+
+        runner.run(new PerformanceTestPlan(List.of(fixedGroup("stopped", 50, 1))), 50);
+
+        assertTrue(cancellations.get() > 0);
+        assertEquals(virtualUsers.getActiveThreads(), 0);
+    }
+
     private static PerformanceThreadGroupPlan fixedGroup(String name, int loops) {
+        return fixedGroup(name, 1, loops);
+    }
+
+    private static PerformanceThreadGroupPlan fixedGroup(String name, int numThreads, int loops) {
         ThreadGroupData threadGroupData = new ThreadGroupData();
         threadGroupData.threadMode = ThreadGroupData.ThreadMode.FIXED;
-        threadGroupData.numThreads = 1;
+        threadGroupData.numThreads = numThreads;
         threadGroupData.useTime = false;
         threadGroupData.loops = loops;
         return new PerformanceThreadGroupPlan(name, threadGroupData, List.of());
@@ -0,0 +1,83 @@
+package com.laker.postman.performance.core.runtime;
+
+import com.laker.postman.performance.core.plan.PerformanceThreadGroupPlan;
+import com.laker.postman.performance.core.plan.PerformanceTimerElement;
+import com.laker.postman.performance.core.threadgroup.ThreadGroupData;
+import com.laker.postman.performance.core.timer.TimerData;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.assertEquals;
+
+public class PerformanceCoreTimerStateTest {
+
+    @Test
+    public void shouldShareConstantThroughputSlotsAcrossVirtualUsersInThreadGroup() {
+        AtomicLong now = new AtomicLong(0L);
+        PerformanceCoreTimerState state = new PerformanceCoreTimerState(now::get, () -> 0.5d);
+        PerformanceTimerElement timer = throughputTimer("rate", 600, TimerData.ThroughputScope.THREAD_GROUP);
+        PerformanceCoreTimerScope scope = PerformanceCoreTimerScope.forThreadGroup(group(1.0d, 1.0d));
+
+        assertEquals(state.delayMs(timer, scope), 0L);
+        assertEquals(state.delayMs(timer, scope), 100L);
+        assertEquals(state.delayMs(timer, scope), 200L);
+
+        now.set(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(state.delayMs(timer, scope), 0L, "idle time must not accumulate burst credit");
+        assertEquals(state.delayMs(timer, scope), 100L);
+    }
+
+    @Test
+    public void shouldScaleThroughputByWorkerShareAndShareGlobalTimersByName() {
+        AtomicLong now = new AtomicLong(0L);
+        PerformanceCoreTimerState state = new PerformanceCoreTimerState(now::get, () -> 0.5d);
+        PerformanceCoreTimerScope firstGroup = PerformanceCoreTimerScope.forThreadGroup(group(1.0d, 0.5d));
+        PerformanceCoreTimerScope secondGroup = PerformanceCoreTimerScope.forThreadGroup(group(1.0d, 0.5d));
+
+        assertEquals(state.delayMs(throughputTimer("shared", 600, TimerData.ThroughputScope.GLOBAL), firstGroup), 0L);
+        assertEquals(state.delayMs(throughputTimer("shared", 600, TimerData.ThroughputScope.GLOBAL), secondGroup), 200L);
+    }
+
+    @Test
+    public void shouldCompensatePacingForSamplerDuration() {
+        AtomicLong now = new AtomicLong(0L);
+        PerformanceCoreTimerState state = new PerformanceCoreTimerState(now::get, () -> 0.5d);
+        TimerData data = new TimerData();
+        data.timerType = TimerData.TimerType.PRECISE_PACING;
+        data.pacingMs = 1000;
+        PerformanceTimerElement timer = new PerformanceTimerElement("pacing", data);
+        PerformanceCoreTimerScope scope = PerformanceCoreTimerScope.forThreadGroup(group(1.0d, 1.0d));
+
+        assertEquals(state.delayMs(timer, scope), 0L);
+        now.set(TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(state.delayMs(timer, scope), 700L);
+        now.set(TimeUnit.MILLISECONDS.toNanos(2500));
+        assertEquals(state.delayMs(timer, scope), 0L);
+    }
+
+    @Test
+    public void shouldAddExponentialThinkTimeToPoissonOffset() {
+        PerformanceCoreTimerState state = new PerformanceCoreTimerState(() -> 0L, () -> 1d - Math.exp(-1d));
+        TimerData data = new TimerData();
+        data.timerType = TimerData.TimerType.POISSON;
+        data.delayMs = 100;
+        data.poissonMeanMs = 400;
+
+        assertEquals(state.delayMs(new PerformanceTimerElement("poisson", data), null), 500L);
+    }
+
+    private static PerformanceTimerElement throughputTimer(String name, int perMinute, TimerData.ThroughputScope scope) {
+        TimerData data = new TimerData();
+        data.timerType = TimerData.TimerType.CONSTANT_THROUGHPUT;
+        data.targetThroughputPerMinute = perMinute;
+        data.throughputScope = scope;
+        return new PerformanceTimerElement(name, data);
+    }
+
+    private static PerformanceThreadGroupPlan group(double groupShare, double globalShare) {
+        return new PerformanceThreadGroupPlan("group", new ThreadGroupData(), null, List.of(), 0, groupShare, globalShare);
+    }
+}
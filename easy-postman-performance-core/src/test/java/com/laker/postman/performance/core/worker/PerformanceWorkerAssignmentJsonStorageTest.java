@@ -1,5 +1,6 @@
 package com.laker.postman.performance.core.worker;
 
+import com.laker.postman.performance.core.run.PerformanceRunAsset;
 import org.testng.annotations.Test;
 
 import java.nio.file.Files;
@@ -8,6 +9,7 @@ import java.util.List;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
 
 public class PerformanceWorkerAssignmentJsonStorageTest {
 
@@ -41,6 +43,28 @@ public class PerformanceWorkerAssignmentJsonStorageTest {
         assertEquals(loaded.getThreadGroups().get(0).getVirtualUserCount(), 25);
     }
 
+    @Test
+    public void shouldRoundTripCsvShardAsset() {
+        PerformanceWorkerAssignment assignment = PerformanceWorkerAssignment.builder()
+                .runId("run-1")
+                .threadGroups(List.of(new PerformanceWorkerThreadGroupAssignment("0", 0, 50, 50).withCsvShard(
+                        new PerformanceRunAsset("csv-shard-0", PerformanceRunAsset.TYPE_CSV, "/tmp/shard.csv", "ab".repeat(32), 120))))
+                .build();
+        PerformanceWorkerAssignmentJsonStorage storage = new PerformanceWorkerAssignmentJsonStorage();
+
+        PerformanceWorkerAssignment loaded = storage.fromJson(storage.toJson(assignment));
+        PerformanceRunAsset shard = loaded.getThreadGroups().get(0).getCsvShard();
+
+        assertEquals(shard.getId(), "csv-shard-0");
+        assertEquals(shard.getType(), PerformanceRunAsset.TYPE_CSV);
+        assertEquals(shard.getPath(), "/tmp/shard.csv");
+        assertEquals(shard.getSha256(), "ab".repeat(32));
+        assertEquals(shard.getSize(), 120);
+        assertNull(storage.fromJson(storage.toJson(PerformanceWorkerAssignment.builder()
+                .threadGroups(List.of(new PerformanceWorkerThreadGroupAssignment("0", 0, 0, 1)))
+                .build())).getThreadGroups().get(0).getCsvShard());
+    }
+
     @Test
     public void shouldDefensivelyCopyThreadGroupAssignments() {
         List<PerformanceWorkerThreadGroupAssignment> threadGroups = new java.util.ArrayList<>();
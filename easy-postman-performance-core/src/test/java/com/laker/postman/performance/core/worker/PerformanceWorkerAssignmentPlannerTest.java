@@ -7,10 +7,13 @@ import com.laker.postman.performance.core.plan.PerformanceCorePlanNode;
 import com.laker.postman.performance.core.plan.PerformanceCorePlanDocumentCompiler;
 import com.laker.postman.performance.core.plan.PerformanceTestPlan;
 import com.laker.postman.performance.core.plan.PerformanceThreadGroupPlan;
+import com.laker.postman.performance.core.run.PerformanceRunAsset;
 import com.laker.postman.performance.core.run.PerformanceRunPlan;
 import com.laker.postman.performance.core.threadgroup.ThreadGroupData;
 import org.testng.annotations.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -117,6 +120,126 @@ public class PerformanceWorkerAssignmentPlannerTest {
         assertTrue(assignedUserIds.contains("u099"));
     }
 
+    @Test
+    public void shouldReadWorkerCsvShardFromItsFirstRow() throws Exception {
+        Path shard = Files.createTempFile("worker-shard", ".csv");
+        Files.writeString(shard, "userId\nu050\nu051\n");
+        PerformanceRunPlan runPlan = PerformanceRunPlan.builder()
+                .testPlan(documentWithFixedThreadGroupAndCsv(4, CsvDataSetData.file("users.csv", "/master/users.csv")))
+                .build();
+        List<PerformanceWorkerAssignment> assignments = new PerformanceWorkerAssignmentPlanner().plan(
+                runPlan,
+                List.of(new PerformanceWorkerEndpoint("127.0.0.1", 19090), new PerformanceWorkerEndpoint("127.0.0.1", 19091)),
+                "run-csv-shard"
+        );
+        PerformanceWorkerThreadGroupAssignment secondWorker = assignments.get(1).getThreadGroups().get(0);
+        PerformanceWorkerAssignment shardedAssignment = PerformanceWorkerAssignment.builder()
+                .runId("run-csv-shard")
+                .threadGroups(List.of(secondWorker.withCsvShard(new PerformanceRunAsset(
+                        "csv-shard-0", PerformanceRunAsset.TYPE_CSV, shard.toString(), null))))
+                .build();
+
+        PerformanceThreadGroupPlan group = new PerformanceWorkerExecutionPlanPartitioner()
+                .apply(PerformanceCorePlanDocumentCompiler.compile(runPlan.getTestPlan()), shardedAssignment)
+                .getThreadGroups()
+                .get(0);
+
+        assertEquals(group.getVirtualUserIndexOffset(), 2);
+        assertEquals(group.getCsvRowIndexOffset(), 0);
+        assertEquals(group.getCsvDataSetData().getFilePath(), shard.toString());
+        assertEquals(group.csvRowForVirtualUser(0).get("userId"), "u050");
+        assertEquals(group.csvRowForVirtualUser(1).get("userId"), "u051");
+        Files.deleteIfExists(shard);
+    }
+
+    @Test
+    public void shouldSplitThroughputSharesByAssignedVirtualUsers() {
+        PerformanceRunPlan runPlan = PerformanceRunPlan.builder()
+                .testPlan(documentWithFixedThreadGroup(5))
+                .build();
+        List<PerformanceWorkerEndpoint> endpoints = List.of(
+                new PerformanceWorkerEndpoint("127.0.0.1", 19090),
+                new PerformanceWorkerEndpoint("127.0.0.1", 19091)
+        );
+
+        List<PerformanceWorkerAssignment> assignments = new PerformanceWorkerAssignmentPlanner()
+                .plan(runPlan, endpoints, "run-throughput");
+        PerformanceTestPlan compiledPlan = PerformanceCorePlanDocumentCompiler.compile(runPlan.getTestPlan());
+        PerformanceWorkerExecutionPlanPartitioner partitioner = new PerformanceWorkerExecutionPlanPartitioner();
+        PerformanceThreadGroupPlan firstWorkerGroup = partitioner.apply(compiledPlan, assignments.get(0))
+                .getThreadGroups()
+                .get(0);
+        PerformanceThreadGroupPlan secondWorkerGroup = partitioner.apply(compiledPlan, assignments.get(1))
+                .getThreadGroups()
+                .get(0);
+
+        assertEquals(compiledPlan.getThreadGroups().get(0).getGroupThroughputShare(), 1.0d);
+        assertEquals(firstWorkerGroup.getGroupThroughputShare(), 0.6d, 1e-9);
+        assertEquals(secondWorkerGroup.getGroupThroughputShare(), 0.4d, 1e-9);
+        assertEquals(firstWorkerGroup.getGlobalThroughputShare(), 0.6d, 1e-9);
+        assertEquals(secondWorkerGroup.getGlobalThroughputShare(), 0.4d, 1e-9);
+    }
+
+    @Test
+    public void shouldWeightVirtualUsersByReportedWorkerCapacity() {
+        PerformanceRunPlan runPlan = PerformanceRunPlan.builder()
+                .testPlan(documentWithFixedThreadGroup(90))
+                .build();
+        List<PerformanceWorkerEndpoint> endpoints = List.of(
+                new PerformanceWorkerEndpoint("127.0.0.1", 19090),
+                new PerformanceWorkerEndpoint("127.0.0.1", 19091),
+                new PerformanceWorkerEndpoint("127.0.0.1", 19092)
+        );
+        List<PerformanceWorkerCapacity> capacities = new ArrayList<>();
+        capacities.add(PerformanceWorkerCapacity.builder().cores(8).cpuLoad(0D).build());
+        capacities.add(PerformanceWorkerCapacity.builder().cores(4).cpuLoad(0D).build());
+        // 未上报容量的 worker 按已知 worker 的平均权重计
+        capacities.add(null);
+
+        List<PerformanceWorkerAssignment> assignments = new PerformanceWorkerAssignmentPlanner()
+                .plan(runPlan, endpoints, capacities, "run-weighted");
+
+        assertEquals(assignments.get(0).getThreadGroups().get(0).getVirtualUserCount(), 40);
+        assertEquals(assignments.get(1).getThreadGroups().get(0).getFirstVirtualUserIndex(), 40);
+        assertEquals(assignments.get(1).getThreadGroups().get(0).getVirtualUserCount(), 20);
+        assertEquals(assignments.get(2).getThreadGroups().get(0).getFirstVirtualUserIndex(), 60);
+        assertEquals(assignments.get(2).getThreadGroups().get(0).getVirtualUserCount(), 30);
+    }
+
+    @Test
+    public void shouldKeepEvenSplitForEqualWeights() {
+        assertEquals(PerformanceWorkerAssignmentPlanner.virtualUserCounts(101, new double[]{1D, 1D}), new int[]{51, 50});
+        assertEquals(PerformanceWorkerAssignmentPlanner.virtualUserCounts(5, new double[]{2D, 2D, 2D}), new int[]{2, 2, 1});
+        assertEquals(PerformanceWorkerAssignmentPlanner.virtualUserCounts(10, new double[]{3D, 1D}), new int[]{8, 2});
+    }
+
+    @Test
+    public void shouldDiscountSaturatedWorkerCapacity() {
+        PerformanceWorkerCapacity idle = PerformanceWorkerCapacity.builder()
+                .cores(4)
+                .cpuLoad(0D)
+                .schedulerLagP99Ms(2D)
+                .schedulerLagThresholdMs(50L)
+                .build();
+        PerformanceWorkerCapacity busy = PerformanceWorkerCapacity.builder()
+                .cores(4)
+                .cpuLoad(0.5D)
+                .maxHeapBytes(100L)
+                .usedHeapBytes(80L)
+                .build();
+        PerformanceWorkerCapacity lagging = PerformanceWorkerCapacity.builder()
+                .cores(4)
+                .cpuLoad(0D)
+                .schedulerLagP99Ms(200D)
+                .schedulerLagThresholdMs(50L)
+                .build();
+
+        assertEquals(idle.weight(), 4D, 1e-9);
+        assertEquals(busy.weight(), 0.8D, 1e-9);
+        assertEquals(lagging.weight(), 1D, 1e-9);
+        assertTrue(lagging.isSaturated());
+    }
+
     private static PerformanceCorePlanDocument documentWithFixedThreadGroup(int users) {
         ThreadGroupData threadGroupData = new ThreadGroupData();
         threadGroupData.threadMode = ThreadGroupData.ThreadMode.FIXED;
@@ -135,6 +258,10 @@ public class PerformanceWorkerAssignmentPlannerTest {
     }
 
     private static PerformanceCorePlanDocument documentWithFixedThreadGroupAndCsv(int users, int rows) {
+        return documentWithFixedThreadGroupAndCsv(users, csvData(rows));
+    }
+
+    private static PerformanceCorePlanDocument documentWithFixedThreadGroupAndCsv(int users, CsvDataSetData csvData) {
         ThreadGroupData threadGroupData = new ThreadGroupData();
         threadGroupData.threadMode = ThreadGroupData.ThreadMode.FIXED;
         threadGroupData.numThreads = users;
@@ -150,7 +277,7 @@ public class PerformanceWorkerAssignmentPlannerTest {
                         .children(List.of(PerformanceCorePlanNode.builder()
                                 .name("csv users")
                                 .type(NodeType.CSV_DATA_SET)
-                                .csvDataSetData(csvData(rows))
+                                .csvDataSetData(csvData)
                                 .build()))
                         .build()))
                 .build());
@@ -16,6 +16,7 @@ import java.util.List;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 
 public class PerformanceWorkerProtocolJsonStorageTest {
 
@@ -46,6 +47,29 @@ public class PerformanceWorkerProtocolJsonStorageTest {
         assertEquals(loadedHealth.getStatus(), "UP");
         assertEquals(loadedHealth.getWorkerProtocolVersion(), PerformanceWorkerProtocol.CURRENT_VERSION);
         assertEquals(loadedHealth.getPort(), 19090);
+        assertNull(loadedHealth.getCapacity());
+
+        PerformanceWorkerHealthResponse healthWithCapacity = storage.healthResponseFromJson(storage.toJson(
+                PerformanceWorkerHealthResponse.builder()
+                        .status("UP")
+                        .workerProtocolVersion(PerformanceWorkerProtocol.CURRENT_VERSION)
+                        .capacity(PerformanceWorkerCapacity.builder()
+                                .cores(8)
+                                .maxHeapBytes(1024L)
+                                .usedHeapBytes(256L)
+                                .gcTimeRatio(0.02D)
+                                .cpuLoad(0.35D)
+                                .schedulerLagP99Ms(3.5D)
+                                .schedulerLagMaxMs(12D)
+                                .schedulerLagThresholdMs(50L)
+                                .build())
+                        .build()));
+
+        assertEquals(healthWithCapacity.getCapacity().getCores(), 8);
+        assertEquals(healthWithCapacity.getCapacity().getUsedHeapBytes(), 256L);
+        assertEquals(healthWithCapacity.getCapacity().getCpuLoad(), 0.35D, 1e-9);
+        assertEquals(healthWithCapacity.getCapacity().getSchedulerLagP99Ms(), 3.5D, 1e-9);
+        assertEquals(healthWithCapacity.getCapacity().getSchedulerLagThresholdMs(), 50L);
 
         PerformanceWorkerRunRequest loaded = storage.runRequestFromJson(storage.toJson(request));
 
@@ -88,10 +112,10 @@ public class PerformanceWorkerProtocolJsonStorageTest {
                         2,
                         3,
                         4,
-                        new PerformanceTrendSnapshot.ProtocolWindowMetrics(10, 1, 10.0, 5.0, 20.0, 0, 0, 0, 0, 0, 0, Double.NaN),
-                        new PerformanceTrendSnapshot.ProtocolWindowMetrics(10, 1, 10.0, 5.0, 20.0, 0, 0, 0, 0, 0, 0, Double.NaN),
-                        new PerformanceTrendSnapshot.ProtocolWindowMetrics(0, 0, Double.NaN, Double.NaN, Double.NaN, 6, 7, 8, 3.0, 3.5, 4.0, 11.0),
-                        new PerformanceTrendSnapshot.ProtocolWindowMetrics(0, 0, Double.NaN, Double.NaN, Double.NaN, 0, 9, 10, 0, 4.5, 5.0, 12.0)
+                        new PerformanceTrendSnapshot.ProtocolWindowMetrics(10, 1, 10.0, 5.0, 20.0, 0, 0, 0, 0, 0, 0, Double.NaN, Double.NaN),
+                        new PerformanceTrendSnapshot.ProtocolWindowMetrics(10, 1, 10.0, 5.0, 20.0, 0, 0, 0, 0, 0, 0, Double.NaN, Double.NaN),
+                        new PerformanceTrendSnapshot.ProtocolWindowMetrics(0, 0, Double.NaN, Double.NaN, Double.NaN, 6, 7, 8, 3.0, 3.5, 4.0, 11.0, Double.NaN),
+                        new PerformanceTrendSnapshot.ProtocolWindowMetrics(0, 0, Double.NaN, Double.NaN, Double.NaN, 0, 9, 10, 0, 4.5, 5.0, 12.0, Double.NaN)
                 ))
                 .build();
         PerformanceWorkerRunStatusResponse loadedStatus = storage.statusResponseFromJson(storage.toJson(status));
@@ -118,6 +142,18 @@ public class PerformanceWorkerProtocolJsonStorageTest {
         assertEquals(loadedAccepted.getRunId(), "run-1");
         assertEquals(loadedAccepted.getWorkerId(), "worker-a");
         assertEquals(loadedAccepted.getStatus(), PerformanceRunStatus.ACCEPTED);
+
+        PerformanceWorkerAssetStatusResponse assetStatus = PerformanceWorkerAssetStatusResponse.builder()
+                .sha256("ab".repeat(32))
+                .size(4096L)
+                .receivedBytes(1024L)
+                .build();
+        PerformanceWorkerAssetStatusResponse loadedAssetStatus = storage.assetStatusResponseFromJson(storage.toJson(assetStatus));
+
+        assertEquals(loadedAssetStatus.getSha256(), "ab".repeat(32));
+        assertEquals(loadedAssetStatus.getSize(), 4096L);
+        assertEquals(loadedAssetStatus.getReceivedBytes(), 1024L);
+        assertFalse(loadedAssetStatus.isComplete());
     }
 
     @Test
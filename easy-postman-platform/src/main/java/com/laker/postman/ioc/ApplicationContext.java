@@ -10,6 +10,11 @@ import java.net.JarURLConnection;
 import java.net.URL;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -19,6 +24,11 @@ import java.util.jar.JarFile;
  */
 @Slf4j
 public class ApplicationContext {
+    /**
+     * 设为 true 时忽略编译期组件索引，强制扫描类路径
+     */
+    public static final String FORCE_SCAN_PROPERTY = "easypostman.ioc.scan";
+
     /**
      * 单例实例
      */
@@ -57,9 +67,19 @@ public class ApplicationContext {
     private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>();
 
     /**
-     * 正在创建的Bean集合，用于标记Bean创建状态
+     * 正在创建的Bean及其创建线程，只有创建线程本身可以拿到早期引用
+     */
+    private final Map<String, Thread> singletonsCurrentlyInCreation = new ConcurrentHashMap<>();
+
+    /**
+     * 每个单例Bean一把创建锁，互不依赖的Bean可以在不同线程中同时创建
+     */
+    private final Map<String, Object> singletonLocks = new ConcurrentHashMap<>();
+
+    /**
+     * 单例Bean创建耗时
      */
-    private final Set<String> singletonsCurrentlyInCreation = ConcurrentHashMap.newKeySet();
+    private final Map<String, BeanStartupTiming> startupTimings = new ConcurrentHashMap<>();
 
     /**
      * 保存带有@PreDestroy方法的Bean实例，用于容器关闭时调用
@@ -84,18 +104,58 @@ public class ApplicationContext {
     }
 
     /**
-     * 扫描指定包下的所有类，注册带有@Component注解的类
+     * 注册指定包下带有@Component注解的类
+     * 优先读取编译期生成的组件索引，索引中没有该包的条目时退回到类路径扫描
      */
     public void scan(String... basePackages) {
+        List<ComponentIndex.Entry> indexEntries = loadComponentIndex();
         for (String basePackage : basePackages) {
             try {
-                scanPackage(basePackage);
+                List<ComponentIndex.Entry> packageEntries = indexEntries.stream()
+                        .filter(entry -> entry.inPackage(basePackage))
+                        .toList();
+                if (packageEntries.isEmpty()) {
+                    scanPackage(basePackage);
+                } else {
+                    registerIndexedBeans(packageEntries);
+                }
             } catch (Exception e) {
                 log.error("Failed to scan package: {}", basePackage, e);
             }
         }
     }
 
+    private List<ComponentIndex.Entry> loadComponentIndex() {
+        if (Boolean.getBoolean(FORCE_SCAN_PROPERTY)) {
+            return List.of();
+        }
+        try {
+            return ComponentIndex.load(Thread.currentThread().getContextClassLoader());
+        } catch (Exception e) {
+            log.warn("Failed to read component index, falling back to classpath scanning", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * 按组件索引注册Bean，只加载索引中列出的类
+     */
+    private void registerIndexedBeans(List<ComponentIndex.Entry> entries) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        for (ComponentIndex.Entry entry : entries) {
+            try {
+                Class<?> clazz = Class.forName(entry.className(), false, classLoader);
+                List<Class<?>> dependencyTypes = new ArrayList<>();
+                for (String dependencyType : entry.dependencyTypes()) {
+                    dependencyTypes.add(Class.forName(dependencyType, false, classLoader));
+                }
+                registerBean(entry.beanName(), clazz, entry.singleton(), dependencyTypes);
+            } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                log.warn("Failed to load indexed class: {}", entry.className());
+            }
+        }
+    }
+
     /**
      * 扫描包
      */
@@ -193,6 +253,18 @@ public class ApplicationContext {
             // 默认使用类名首字母小写作为bean名称
             beanName = getBeanName(clazz);
         }
+
+        // 检查作用域：默认为单例，除非明确指定为 prototype
+        boolean singleton = true;
+        if (clazz.isAnnotationPresent(Scope.class)) {
+            Scope scope = clazz.getAnnotation(Scope.class);
+            singleton = !Scope.PROTOTYPE.equals(scope.value());
+        }
+
+        registerBean(beanName, clazz, singleton, null);
+    }
+
+    private void registerBean(String beanName, Class<?> clazz, boolean singleton, List<Class<?>> dependencyTypes) {
         BeanDefinition existingDefinition = beanDefinitionMap.get(beanName);
         if (existingDefinition != null) {
             if (existingDefinition.getBeanClass().equals(clazz)) {
@@ -203,14 +275,8 @@ public class ApplicationContext {
                     + existingDefinition.getBeanClass().getName() + " and " + clazz.getName());
         }
 
-        // 检查作用域：默认为单例，除非明确指定为 prototype
-        boolean singleton = true;
-        if (clazz.isAnnotationPresent(Scope.class)) {
-            Scope scope = clazz.getAnnotation(Scope.class);
-            singleton = !Scope.PROTOTYPE.equals(scope.value());
-        }
-
         BeanDefinition beanDefinition = new BeanDefinition(beanName, clazz, singleton);
+        beanDefinition.setDependencyTypes(dependencyTypes);
 
         beanDefinitionMap.put(beanName, beanDefinition);
 
@@ -323,79 +389,197 @@ public class ApplicationContext {
     private Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
         // 1. 先从一级缓存获取完全初始化的Bean
         Object singletonObject = singletonObjects.get(beanName);
+        if (singletonObject != null) {
+            return singletonObject;
+        }
 
-        // 2. 如果一级缓存没有，且Bean正在创建中（说明存在循环依赖）
-        if (singletonObject == null && singletonsCurrentlyInCreation.contains(beanName)) {
-            // 加锁保证线程安全
-            synchronized (this.singletonObjects) {
-                // 双重检查
-                singletonObject = singletonObjects.get(beanName);
-                if (singletonObject == null) {
-                    // 从二级缓存获取早期引用
-                    singletonObject = earlySingletonObjects.get(beanName);
-
-                    // 3. 如果二级缓存也没有，从三级缓存获取
-                    if (singletonObject == null) {
-                        ObjectFactory<?> factory = singletonFactories.get(beanName);
-                        if (factory != null) {
-                            try {
-                                // 从工厂获取早期引用
-                                singletonObject = factory.getObject();
-                                // 放入二级缓存，移除三级缓存
-                                earlySingletonObjects.put(beanName, singletonObject);
-                                singletonFactories.remove(beanName);
-                                log.debug("Resolved circular dependency for bean: {}", beanName);
-                            } catch (Exception e) {
-                                throw new BeanCreationException(beanName, "Failed to get early reference", e);
-                            }
-                        }
+        // 2. 当前线程正在创建该Bean（说明存在循环依赖），从二、三级缓存获取早期引用
+        if (singletonsCurrentlyInCreation.get(beanName) == Thread.currentThread()) {
+            singletonObject = earlySingletonObjects.get(beanName);
+
+            // 3. 如果二级缓存也没有，从三级缓存获取
+            if (singletonObject == null) {
+                ObjectFactory<?> factory = singletonFactories.get(beanName);
+                if (factory != null) {
+                    try {
+                        // 从工厂获取早期引用
+                        singletonObject = factory.getObject();
+                        // 放入二级缓存，移除三级缓存
+                        earlySingletonObjects.put(beanName, singletonObject);
+                        singletonFactories.remove(beanName);
+                        log.debug("Resolved circular dependency for bean: {}", beanName);
+                    } catch (Exception e) {
+                        throw new BeanCreationException(beanName, "Failed to get early reference", e);
                     }
                 }
             }
-        }
-
-        if (singletonObject == null && singletonsCurrentlyInCreation.contains(beanName)) {
-            throw new BeanCreationException(beanName,
-                    "Circular constructor dependency cannot be resolved before bean instantiation is complete");
+            if (singletonObject == null) {
+                throw new BeanCreationException(beanName,
+                        "Circular constructor dependency cannot be resolved before bean instantiation is complete");
+            }
+            return singletonObject;
         }
 
         // 4. 如果所有缓存都没有，创建新的Bean
-        if (singletonObject == null) {
-            // 使用同步锁保证单例Bean只被创建一次
-            synchronized (this.singletonObjects) {
-                // 再次检查缓存（可能其他线程已创建）
-                singletonObject = singletonObjects.get(beanName);
-                if (singletonObject == null) {
-                    // 标记Bean正在创建
-                    singletonsCurrentlyInCreation.add(beanName);
+        // 锁粒度是单个Bean：其他线程正在创建同一个Bean时在这里等待，创建其他Bean的线程互不阻塞
+        synchronized (singletonLocks.computeIfAbsent(beanName, ignored -> new Object())) {
+            // 再次检查缓存（可能其他线程已创建）
+            singletonObject = singletonObjects.get(beanName);
+            if (singletonObject == null) {
+                // 标记Bean正在创建
+                singletonsCurrentlyInCreation.put(beanName, Thread.currentThread());
+                long startedAt = System.nanoTime();
 
-                    try {
-                        // 调用工厂方法创建Bean
-                        singletonObject = singletonFactory.getObject();
+                try {
+                    // 调用工厂方法创建Bean
+                    singletonObject = singletonFactory.getObject();
+
+                    // 从二级缓存移除（如果存在）
+                    earlySingletonObjects.remove(beanName);
+                    // 从三级缓存移除（如果存在）
+                    singletonFactories.remove(beanName);
+                    // 放入一级缓存
+                    singletonObjects.put(beanName, singletonObject);
+                    startupTimings.put(beanName, new BeanStartupTiming(
+                            beanName, System.nanoTime() - startedAt, Thread.currentThread().getName()));
+
+                    log.debug("Created and cached singleton bean: {}", beanName);
+                } catch (Exception e) {
+                    // 创建失败，清理状态
+                    earlySingletonObjects.remove(beanName);
+                    singletonFactories.remove(beanName);
+                    throw new BeanCreationException(beanName, e);
+                } finally {
+                    // 创建完成，移除创建标记
+                    singletonsCurrentlyInCreation.remove(beanName);
+                }
+            }
+        }
 
-                        // 从二级缓存移除（如果存在）
-                        earlySingletonObjects.remove(beanName);
-                        // 从三级缓存移除（如果存在）
-                        singletonFactories.remove(beanName);
-                        // 放入一级缓存
-                        singletonObjects.put(beanName, singletonObject);
+        return singletonObject;
+    }
 
-                        log.debug("Created and cached singleton bean: {}", beanName);
-                    } catch (Exception e) {
-                        // 创建失败，清理状态
-                        singletonsCurrentlyInCreation.remove(beanName);
-                        earlySingletonObjects.remove(beanName);
-                        singletonFactories.remove(beanName);
-                        throw new BeanCreationException(beanName, e);
-                    } finally {
-                        // 创建完成，移除创建标记
-                        singletonsCurrentlyInCreation.remove(beanName);
+    /**
+     * 预先创建所有单例Bean
+     * <p>
+     * 按依赖关系分层，同一层的Bean互不依赖，在线程池中并行创建；
+     * 存在循环依赖的Bean无法分层，最后在当前线程中依次创建，避免跨线程互相等待。
+     */
+    public void preInstantiateSingletons() {
+        Map<String, Set<String>> pending = new LinkedHashMap<>();
+        for (BeanDefinition definition : beanDefinitionMap.values()) {
+            if (definition.isSingleton() && !singletonObjects.containsKey(definition.getName())) {
+                pending.put(definition.getName(), new HashSet<>());
+            }
+        }
+        for (String beanName : pending.keySet()) {
+            BeanDefinition definition = beanDefinitionMap.get(beanName);
+            for (Class<?> dependencyType : dependencyTypes(definition)) {
+                for (String dependencyName : typeIndexMap.getOrDefault(dependencyType, List.of())) {
+                    if (pending.containsKey(dependencyName) && !dependencyName.equals(beanName)) {
+                        pending.get(beanName).add(dependencyName);
                     }
                 }
             }
         }
 
-        return singletonObject;
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, pending.size())), runnable -> {
+            Thread thread = new Thread(runnable, "ioc-bean-init-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        });
+        try {
+            while (!pending.isEmpty()) {
+                List<String> ready = pending.entrySet().stream()
+                        .filter(entry -> entry.getValue().isEmpty())
+                        .map(Map.Entry::getKey)
+                        .toList();
+                if (ready.isEmpty()) {
+                    break;
+                }
+                createInParallel(ready, executor);
+                for (String beanName : ready) {
+                    pending.remove(beanName);
+                }
+                for (Set<String> dependencies : pending.values()) {
+                    ready.forEach(dependencies::remove);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 剩下的都处在依赖环上，按原有的三级缓存机制在当前线程中解决
+        for (String beanName : pending.keySet()) {
+            getBean(beanName);
+        }
+    }
+
+    private void createInParallel(List<String> beanNames, ExecutorService executor) {
+        if (beanNames.size() == 1) {
+            getBean(beanNames.get(0));
+            return;
+        }
+        List<Future<Object>> futures = new ArrayList<>();
+        for (String beanName : beanNames) {
+            futures.add(executor.submit(() -> getBean(beanName)));
+        }
+        for (Future<Object> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BeanException("Interrupted while creating singleton beans");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new BeanException("Failed to create singleton beans: " + e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Bean注入点依赖的类型：索引提供时直接使用，否则按实例化时的构造函数选择规则反射解析
+     */
+    private List<Class<?>> dependencyTypes(BeanDefinition definition) {
+        if (definition.getDependencyTypes() != null) {
+            return definition.getDependencyTypes();
+        }
+        List<Class<?>> dependencyTypes = new ArrayList<>();
+        Class<?> beanClass = definition.getBeanClass();
+        Constructor<?> injectionConstructor = findInjectionConstructor(beanClass);
+        if (injectionConstructor != null) {
+            dependencyTypes.addAll(Arrays.asList(injectionConstructor.getParameterTypes()));
+        }
+        Class<?> clazz = beanClass;
+        while (clazz != null && clazz != Object.class) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Autowired.class)) {
+                    dependencyTypes.add(field.getType());
+                }
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Autowired.class)) {
+                    dependencyTypes.addAll(Arrays.asList(method.getParameterTypes()));
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+        return dependencyTypes;
+    }
+
+    /**
+     * 获取Bean创建耗时，按耗时从高到低排序
+     */
+    public List<BeanStartupTiming> getStartupTimings() {
+        return startupTimings.values().stream()
+                .sorted(Comparator.comparingLong(BeanStartupTiming::durationNanos).reversed())
+                .toList();
     }
 
     /**
@@ -493,23 +677,7 @@ public class ApplicationContext {
      * 4. 如果没有无参构造函数且没有@Autowired标注的构造函数，抛出异常
      */
     private Object instantiateBean(Class<?> beanClass) throws Exception {
-        Constructor<?>[] constructors = beanClass.getDeclaredConstructors();
-        Constructor<?> targetConstructor = null;
-
-        // 策略1: 查找带@Autowired的构造函数
-        for (Constructor<?> constructor : constructors) {
-            if (constructor.isAnnotationPresent(Autowired.class)) {
-                targetConstructor = constructor;
-                log.debug("Found @Autowired constructor for {}", beanClass.getSimpleName());
-                break;
-            }
-        }
-
-        // 策略2: 如果没有@Autowired标注的构造函数，但只有一个构造函数（且有参数），自动使用
-        if (targetConstructor == null && constructors.length == 1 && constructors[0].getParameterCount() > 0) {
-            targetConstructor = constructors[0];
-            log.debug("Using single constructor with parameters for {}", beanClass.getSimpleName());
-        }
+        Constructor<?> targetConstructor = findInjectionConstructor(beanClass);
 
         // 使用找到的构造函数进行依赖注入
         if (targetConstructor != null) {
@@ -554,6 +722,28 @@ public class ApplicationContext {
         }
     }
 
+    /**
+     * 查找用于依赖注入的构造函数，没有时返回null（使用无参构造函数）
+     */
+    private Constructor<?> findInjectionConstructor(Class<?> beanClass) {
+        Constructor<?>[] constructors = beanClass.getDeclaredConstructors();
+
+        // 策略1: 查找带@Autowired的构造函数
+        for (Constructor<?> constructor : constructors) {
+            if (constructor.isAnnotationPresent(Autowired.class)) {
+                log.debug("Found @Autowired constructor for {}", beanClass.getSimpleName());
+                return constructor;
+            }
+        }
+
+        // 策略2: 如果没有@Autowired标注的构造函数，但只有一个构造函数（且有参数），自动使用
+        if (constructors.length == 1 && constructors[0].getParameterCount() > 0) {
+            log.debug("Using single constructor with parameters for {}", beanClass.getSimpleName());
+            return constructors[0];
+        }
+        return null;
+    }
+
     /**
      * 获取早期Bean引用（用于解决循环依赖）
      * 这个方法返回的是实例化但未完全初始化的Bean
@@ -780,6 +970,8 @@ public class ApplicationContext {
         earlySingletonObjects.clear();
         singletonFactories.clear();
         singletonsCurrentlyInCreation.clear();
+        singletonLocks.clear();
+        startupTimings.clear();
         log.info("ApplicationContext cleared");
     }
 
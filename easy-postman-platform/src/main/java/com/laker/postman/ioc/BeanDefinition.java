@@ -2,6 +2,8 @@ package com.laker.postman.ioc;
 
 import lombok.Data;
 
+import java.util.List;
+
 /**
  * Bean定义，描述一个Bean的元数据
  */
@@ -22,6 +24,10 @@ public class BeanDefinition {
      */
     private boolean singleton = true;
 
+    /**
+     * 注入点依赖的类型，来自编译期组件索引；为 null 时在预实例化前通过反射解析
+     */
+    private List<Class<?>> dependencyTypes;
 
     public BeanDefinition(String name, Class<?> beanClass) {
         this.name = name;
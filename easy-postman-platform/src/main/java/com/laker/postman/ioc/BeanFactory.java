@@ -3,6 +3,8 @@ package com.laker.postman.ioc;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+
 /**
  * IOC容器工具类，提供便捷的访问方法
  */
@@ -13,10 +15,28 @@ public class BeanFactory {
     private final ApplicationContext context = ApplicationContext.getInstance();
 
     /**
-     * 初始化IOC容器，扫描指定包
+     * 初始化IOC容器：注册指定包下的组件，并并行预创建互不依赖的单例Bean
      */
     public void init(String... basePackages) {
+        long startedAt = System.nanoTime();
         context.scan(basePackages);
+        context.preInstantiateSingletons();
+        List<BeanStartupTiming> timings = context.getStartupTimings();
+        log.info("IOC container initialized with {} singleton beans in {} ms",
+                timings.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        if (log.isDebugEnabled()) {
+            for (BeanStartupTiming timing : timings) {
+                log.debug("Bean '{}' created in {} ms on {}",
+                        timing.beanName(), String.format("%.2f", timing.durationMillis()), timing.threadName());
+            }
+        }
+    }
+
+    /**
+     * 获取单例Bean的创建耗时报告，按耗时从高到低排序
+     */
+    public List<BeanStartupTiming> getStartupTimings() {
+        return context.getStartupTimings();
     }
 
     /**
@@ -0,0 +1,11 @@
+package com.laker.postman.ioc;
+
+/**
+ * 单个 Bean 的创建耗时，包含其依赖在同一线程中被顺带创建的时间
+ */
+public record BeanStartupTiming(String beanName, long durationNanos, String threadName) {
+
+    public double durationMillis() {
+        return durationNanos / 1_000_000d;
+    }
+}
@@ -0,0 +1,84 @@
+package com.laker.postman.ioc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * 编译期生成的组件索引
+ * <p>
+ * 每行一个 Bean：类的二进制名、Bean 名称、作用域、依赖类型（逗号分隔），字段之间以制表符分隔。
+ * 启动时读取索引即可注册组件，无需遍历类路径逐个加载类。
+ */
+final class ComponentIndex {
+    static final String LOCATION = "META-INF/easy-postman/components.idx";
+    static final String SINGLETON = "singleton";
+    static final String PROTOTYPE = "prototype";
+
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String DEPENDENCY_SEPARATOR = ",";
+
+    private ComponentIndex() {
+    }
+
+    record Entry(String className, String beanName, boolean singleton, List<String> dependencyTypes) {
+        Entry {
+            dependencyTypes = dependencyTypes == null ? List.of() : List.copyOf(dependencyTypes);
+        }
+
+        boolean inPackage(String basePackage) {
+            return className.startsWith(basePackage + ".");
+        }
+    }
+
+    /**
+     * 读取类路径上所有模块的组件索引；没有索引时返回空列表，调用方退回到类路径扫描。
+     * 注解处理器也会加载这个类，因此这里不打日志，异常交给调用方处理。
+     */
+    static List<Entry> load(ClassLoader classLoader) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        Enumeration<URL> resources = classLoader.getResources(LOCATION);
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Entry entry = parse(line);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    static Entry parse(String line) {
+        String trimmed = line == null ? "" : line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        String[] fields = trimmed.split(FIELD_SEPARATOR, -1);
+        if (fields.length < 3) {
+            throw new IllegalArgumentException("Malformed component index line: " + line);
+        }
+        List<String> dependencies = fields.length > 3 && !fields[3].isBlank()
+                ? Arrays.asList(fields[3].split(DEPENDENCY_SEPARATOR))
+                : List.of();
+        return new Entry(fields[0], fields[1], !PROTOTYPE.equals(fields[2]), dependencies);
+    }
+
+    static String format(Entry entry) {
+        return entry.className() + FIELD_SEPARATOR
+                + entry.beanName() + FIELD_SEPARATOR
+                + (entry.singleton() ? SINGLETON : PROTOTYPE) + FIELD_SEPARATOR
+                + String.join(DEPENDENCY_SEPARATOR, entry.dependencyTypes());
+    }
+}
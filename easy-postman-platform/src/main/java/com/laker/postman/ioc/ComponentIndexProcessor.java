@@ -0,0 +1,178 @@
+package com.laker.postman.ioc;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 编译期生成组件索引的注解处理器
+ * <p>
+ * 收集所有 {@link Component} 类及其注入点（构造函数参数、{@link Autowired} 字段和方法参数），
+ * 写入 {@link ComponentIndex#LOCATION}。注入点的判定规则与 {@link ApplicationContext} 运行时保持一致。
+ */
+@SupportedAnnotationTypes("com.laker.postman.ioc.Component")
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    private static final String AUTOWIRED = Autowired.class.getName();
+
+    private final Map<String, ComponentIndex.Entry> entries = new TreeMap<>();
+    private boolean previousIndexMerged;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!previousIndexMerged) {
+            previousIndexMerged = true;
+            mergePreviousIndex();
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(Component.class)) {
+            if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+            entries.put(className, toEntry(type, className));
+        }
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * IDE 增量编译只处理变更的源文件，保留上一次索引中仍然存在且仍带 {@link Component} 的类
+     */
+    private void mergePreviousIndex() {
+        try {
+            FileObject previous = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+            for (String line : previous.getCharContent(true).toString().split("\n")) {
+                ComponentIndex.Entry entry = ComponentIndex.parse(line);
+                if (entry == null) {
+                    continue;
+                }
+                TypeElement type = processingEnv.getElementUtils().getTypeElement(entry.className().replace('$', '.'));
+                if (type != null && type.getAnnotation(Component.class) != null) {
+                    entries.put(entry.className(), entry);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 首次编译或索引已损坏时从头生成
+        }
+    }
+
+    private ComponentIndex.Entry toEntry(TypeElement type, String className) {
+        Component component = type.getAnnotation(Component.class);
+        String beanName = component.value().isEmpty() ? decapitalize(type.getSimpleName().toString()) : component.value();
+        Scope scope = type.getAnnotation(Scope.class);
+        boolean singleton = scope == null || !Scope.PROTOTYPE.equals(scope.value());
+        return new ComponentIndex.Entry(className, beanName, singleton, List.copyOf(dependencyTypes(type)));
+    }
+
+    private Set<String> dependencyTypes(TypeElement type) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        ExecutableElement injectionConstructor = null;
+        for (ExecutableElement constructor : constructors) {
+            if (hasAutowired(constructor)) {
+                injectionConstructor = constructor;
+                break;
+            }
+        }
+        if (injectionConstructor == null && constructors.size() == 1 && !constructors.get(0).getParameters().isEmpty()) {
+            injectionConstructor = constructors.get(0);
+        }
+        if (injectionConstructor != null) {
+            addParameterTypes(injectionConstructor, dependencies);
+        }
+
+        TypeElement current = type;
+        while (current != null && !Object.class.getName().equals(current.getQualifiedName().toString())) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (hasAutowired(field)) {
+                    addType(field.asType(), dependencies);
+                }
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (hasAutowired(method)) {
+                    addParameterTypes(method, dependencies);
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+        }
+        return dependencies;
+    }
+
+    private void addParameterTypes(ExecutableElement executable, Set<String> dependencies) {
+        for (VariableElement parameter : executable.getParameters()) {
+            addType(parameter.asType(), dependencies);
+        }
+    }
+
+    private void addType(TypeMirror type, Set<String> dependencies) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) ((DeclaredType) erased).asElement();
+            dependencies.add(processingEnv.getElementUtils().getBinaryName(element).toString());
+        }
+    }
+
+    private static boolean hasAutowired(Element element) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(mirror -> AUTOWIRED.equals(mirror.getAnnotationType().toString()));
+    }
+
+    private void writeIndex() {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Generated by " + ComponentIndexProcessor.class.getSimpleName() + ", do not edit.");
+        for (ComponentIndex.Entry entry : entries.values()) {
+            lines.add(ComponentIndex.format(entry));
+        }
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(String.join("\n", lines));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Failed to write component index: " + e.getMessage());
+        }
+    }
+
+    private static String decapitalize(String simpleName) {
+        return Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+    }
+}
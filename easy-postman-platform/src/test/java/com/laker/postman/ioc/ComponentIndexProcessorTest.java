@@ -0,0 +1,88 @@
+package com.laker.postman.ioc;
+
+import org.testng.annotations.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ComponentIndexProcessorTest {
+
+    @Test
+    public void shouldIndexComponentsWithTheirInjectionPoints() throws Exception {
+        Path output = Files.createTempDirectory("component-index");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    List.of("-proc:only", "-classpath", System.getProperty("java.class.path")),
+                    null,
+                    List.of(
+                            source("demo.Repository", """
+                                    package demo;
+                                    @com.laker.postman.ioc.Component
+                                    public class Repository {
+                                    }
+                                    """),
+                            source("demo.Service", """
+                                    package demo;
+                                    import com.laker.postman.ioc.Autowired;
+                                    @com.laker.postman.ioc.Component("mainService")
+                                    @com.laker.postman.ioc.Scope(com.laker.postman.ioc.Scope.PROTOTYPE)
+                                    public class Service {
+                                        @Autowired
+                                        private java.util.List<String> names;
+                                        public Service(Repository repository) {
+                                        }
+                                        @Autowired
+                                        void configure(Outer.Nested nested) {
+                                        }
+                                    }
+                                    """),
+                            source("demo.Outer", """
+                                    package demo;
+                                    public class Outer {
+                                        @com.laker.postman.ioc.Component
+                                        public static class Nested {
+                                        }
+                                    }
+                                    """)
+                    ));
+            task.setProcessors(List.of(new ComponentIndexProcessor()));
+
+            assertTrue(task.call());
+        }
+
+        List<ComponentIndex.Entry> entries = Files.readAllLines(output.resolve(ComponentIndex.LOCATION)).stream()
+                .map(ComponentIndex::parse)
+                .filter(entry -> entry != null)
+                .toList();
+        assertEquals(entries, List.of(
+                new ComponentIndex.Entry("demo.Outer$Nested", "nested", true, List.of()),
+                new ComponentIndex.Entry("demo.Repository", "repository", true, List.of()),
+                new ComponentIndex.Entry("demo.Service", "mainService", false,
+                        List.of("demo.Repository", "java.util.List", "demo.Outer$Nested"))
+        ));
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
@@ -2,10 +2,24 @@ package com.laker.postman.ioc.behavior;
 
 import com.laker.postman.ioc.ApplicationContext;
 import com.laker.postman.ioc.BeanCreationException;
+import com.laker.postman.ioc.BeanStartupTiming;
+import com.laker.postman.ioc.indexed.IndexedService;
+import com.laker.postman.ioc.test.ServiceA;
+import com.laker.postman.ioc.test.ServiceB;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
@@ -52,6 +66,59 @@ public class ApplicationContextBehaviorTest {
         assertTrue(hasCauseMessageContaining(exception, "Circular constructor dependency"));
     }
 
+    @Test
+    public void shouldRegisterBeansFromComponentIndexWithoutScanning() {
+        context.scan("com.laker.postman.ioc.indexed");
+
+        IndexedService service = context.getBean(IndexedService.class);
+
+        assertSame(service.getRepository(), context.getBean("indexedRepository"));
+    }
+
+    @Test
+    public void shouldFallBackToClasspathScanningWhenForced() {
+        System.setProperty(ApplicationContext.FORCE_SCAN_PROPERTY, "true");
+        try {
+            context.scan("com.laker.postman.ioc.indexed");
+        } finally {
+            System.clearProperty(ApplicationContext.FORCE_SCAN_PROPERTY);
+        }
+
+        assertFalse(context.containsBean("indexedService"), "Classes without @Component are only visible through the index");
+    }
+
+    @Test
+    public void shouldPreInstantiateSingletonsAndRecordStartupTimings() {
+        context.scan("com.laker.postman.ioc.indexed", "com.laker.postman.ioc.test");
+
+        context.preInstantiateSingletons();
+
+        Set<String> timedBeans = context.getStartupTimings().stream()
+                .map(BeanStartupTiming::beanName)
+                .collect(Collectors.toSet());
+        assertEquals(timedBeans, Set.of("indexedRepository", "indexedService", "serviceA", "serviceB"));
+        assertSame(context.getBean(ServiceA.class).getServiceB(), context.getBean(ServiceB.class));
+        assertSame(context.getBean(ServiceB.class).getServiceA(), context.getBean(ServiceA.class));
+    }
+
+    @Test
+    public void shouldCreateEachSingletonOnceUnderConcurrentRequests() throws Exception {
+        context.scan("com.laker.postman.ioc.behavior");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MethodInjectedService>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(executor.submit(() -> context.getBean(MethodInjectedService.class)));
+            }
+            MethodInjectedService first = futures.get(0).get();
+            for (Future<MethodInjectedService> future : futures) {
+                assertSame(future.get(), first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private boolean hasCauseMessageContaining(Throwable throwable, String expectedMessage) {
         Throwable current = throwable;
         while (current != null) {
@@ -0,0 +1,7 @@
+package com.laker.postman.ioc.indexed;
+
+/**
+ * 没有 @Component 注解，只能通过测试资源中的组件索引注册
+ */
+public class IndexedRepository {
+}
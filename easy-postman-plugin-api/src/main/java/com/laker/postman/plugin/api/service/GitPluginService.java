@@ -20,6 +20,15 @@ public interface GitPluginService {
 
     void clearSshCache(String privateKeyPath);
 
+    default void releaseWorkspace(Workspace workspace) {
+    }
+
+    /**
+     * 应用自身写入了工作区内的文件（集合、环境、测试配置等），实现可据此同步作废缓存的 status。
+     */
+    default void notifyFileSaved(String filePath) {
+    }
+
     GitOperationResult pullUpdates(Workspace workspace) throws Exception;
 
     GitOperationResult pushChanges(Workspace workspace) throws Exception;
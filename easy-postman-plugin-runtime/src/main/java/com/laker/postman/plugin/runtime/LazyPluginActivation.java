@@ -0,0 +1,173 @@
+package com.laker.postman.plugin.runtime;
+
+import com.laker.postman.plugin.api.EasyPostmanPlugin;
+import com.laker.postman.plugin.api.PluginDescriptor;
+import com.laker.postman.plugin.api.PluginMenuContribution;
+import com.laker.postman.plugin.api.ToolboxContribution;
+import com.laker.postman.util.I18nBundleRegistry;
+import com.laker.postman.util.I18nUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.*;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 延迟激活的插件。
+ * <p>
+ * 启动阶段只创建类加载器（不加载任何类），并按 descriptor 声明注册占位的 Toolbox、菜单和脚本别名；
+ * 占位贡献第一次被使用时才加载入口类、调用 onLoad/onStart，之后转发给插件真正注册的贡献。
+ * 插件在 onLoad 里注册的其他能力（补全、Snippet、设置页等）在激活后才会出现。
+ * </p>
+ */
+@Slf4j
+final class LazyPluginActivation {
+
+    interface Listener {
+        void activated(EasyPostmanPlugin plugin);
+
+        void failed(String failureMessage);
+    }
+
+    private enum State {
+        PENDING, ACTIVE, FAILED, CLOSED
+    }
+
+    private final Path jarPath;
+    private final PluginDescriptor descriptor;
+    private final PluginActivationSpec spec;
+    private final PluginRegistry registry;
+    private final URLClassLoader classLoader;
+    private final Listener listener;
+    private final Map<String, ToolboxContribution> toolboxes = new ConcurrentHashMap<>();
+    private final Map<String, PluginMenuContribution> menus = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<Object>> scriptApis = new ConcurrentHashMap<>();
+    private volatile State state = State.PENDING;
+    private volatile String failureMessage;
+
+    LazyPluginActivation(Path jarPath,
+                         PluginDescriptor descriptor,
+                         PluginActivationSpec spec,
+                         PluginRegistry registry,
+                         URLClassLoader classLoader,
+                         Listener listener) {
+        this.jarPath = jarPath;
+        this.descriptor = descriptor;
+        this.spec = spec;
+        this.registry = registry;
+        this.classLoader = classLoader;
+        this.listener = listener;
+    }
+
+    void registerPlaceholders() {
+        if (!spec.i18nBundle().isBlank()) {
+            I18nBundleRegistry.registerBundle(descriptor.id(), spec.i18nBundle(), classLoader);
+        }
+        for (PluginActivationSpec.DeclaredToolbox toolbox : spec.toolboxes()) {
+            registry.registerToolboxContribution(new ToolboxContribution(
+                    toolbox.id(),
+                    message(toolbox.titleKey()),
+                    toolbox.iconPath(),
+                    toolbox.groupId(),
+                    toolbox.groupTitleKey().isBlank() ? "" : message(toolbox.groupTitleKey()),
+                    () -> toolboxPanel(toolbox.id()),
+                    classLoader
+            ));
+        }
+        for (PluginActivationSpec.DeclaredMenu menu : spec.menus()) {
+            registry.registerMenuContribution(descriptor.id(), new PluginMenuContribution(
+                    menu.id(),
+                    menu.parentMenuId(),
+                    menu.titleKey(),
+                    menu.order(),
+                    context -> declared(menus, menu.id(), "menu").perform(context),
+                    spec.i18nBundle().isBlank() ? null : spec.i18nBundle(),
+                    classLoader
+            ));
+        }
+        for (String alias : spec.scriptApis()) {
+            registry.registerScriptApi(descriptor.id(), alias, () -> declared(scriptApis, alias, "script API").get());
+        }
+    }
+
+    boolean captureToolbox(ToolboxContribution contribution) {
+        if (contribution == null || !spec.declaresToolbox(contribution.id())) {
+            return false;
+        }
+        toolboxes.put(contribution.id(), contribution);
+        return true;
+    }
+
+    boolean captureMenu(PluginMenuContribution contribution) {
+        if (contribution == null || !spec.declaresMenu(contribution.id())) {
+            return false;
+        }
+        menus.put(contribution.id(), contribution);
+        return true;
+    }
+
+    boolean captureScriptApi(String alias, Supplier<Object> factory) {
+        if (factory == null || !spec.declaresScriptApi(alias)) {
+            return false;
+        }
+        scriptApis.put(alias, factory);
+        return true;
+    }
+
+    /**
+     * 运行时关闭时调用；不加锁，避免与正在进行的激活（它会回调运行时加锁）互相等待。
+     */
+    void close() {
+        if (state == State.PENDING) {
+            failureMessage = "plugin runtime has been shut down";
+        }
+        state = State.CLOSED;
+    }
+
+    private JPanel toolboxPanel(String id) {
+        return declared(toolboxes, id, "toolbox").panelSupplier().get();
+    }
+
+    private <T> T declared(Map<String, T> contributions, String id, String kind) {
+        activate();
+        T contribution = contributions.get(id);
+        if (contribution == null) {
+            String reason = failureMessage != null
+                    ? failureMessage
+                    : "plugin did not register the declared " + kind + " '" + id + "'";
+            throw new IllegalStateException("Plugin " + descriptor.id() + " is unavailable: " + reason);
+        }
+        return contribution;
+    }
+
+    private synchronized void activate() {
+        if (state != State.PENDING) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            EasyPostmanPlugin plugin = PluginLoader.instantiatePlugin(descriptor, registry, classLoader, this);
+            PluginLoader.startPlugins(List.of(plugin));
+            state = State.ACTIVE;
+            listener.activated(plugin);
+            log.info("Activated lazy plugin: id={}, jar={}, cost={}ms",
+                    descriptor.id(), jarPath, (System.nanoTime() - startedAt) / 1_000_000L);
+        } catch (Exception | LinkageError e) {
+            log.error("Failed to activate lazy plugin jar: {}", jarPath, e);
+            state = State.FAILED;
+            failureMessage = PluginLoader.buildLoadFailureMessage(e);
+            listener.failed(failureMessage);
+        }
+    }
+
+    private String message(String key) {
+        if (spec.i18nBundle().isBlank()) {
+            return key;
+        }
+        return I18nUtil.getMessage(spec.i18nBundle(), classLoader, key);
+    }
+}
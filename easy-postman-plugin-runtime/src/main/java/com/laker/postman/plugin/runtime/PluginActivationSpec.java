@@ -0,0 +1,123 @@
+package com.laker.postman.plugin.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 插件激活声明。
+ * <p>
+ * descriptor 里写 {@code plugin.activation=lazy} 并声明 Toolbox、菜单或脚本别名后，
+ * 运行时启动阶段只注册这些占位贡献，直到第一次打开面板、点击菜单或在脚本里取用别名时
+ * 才加载入口类并调用 onLoad/onStart。没有声明任何贡献时按 eager 处理，避免插件永远无法被激活。
+ * </p>
+ *
+ * <pre>
+ * plugin.activation=lazy
+ * plugin.i18nBundle=decompiler-messages
+ * plugin.toolbox.ids=decompiler
+ * plugin.toolbox.decompiler.titleKey=toolbox.decompiler
+ * plugin.toolbox.decompiler.icon=icons/decompile.svg
+ * plugin.toolbox.decompiler.groupId=toolbox.group.dev
+ * plugin.toolbox.decompiler.groupTitleKey=toolbox.group.dev
+ * plugin.menu.ids=open-console
+ * plugin.menu.open-console.titleKey=menu.console
+ * plugin.menu.open-console.parent=plugins
+ * plugin.menu.open-console.order=100
+ * plugin.scriptApis=kafka
+ * </pre>
+ */
+record PluginActivationSpec(
+        boolean lazy,
+        String i18nBundle,
+        List<DeclaredToolbox> toolboxes,
+        List<DeclaredMenu> menus,
+        List<String> scriptApis
+) {
+
+    static final PluginActivationSpec EAGER = new PluginActivationSpec(false, "", List.of(), List.of(), List.of());
+
+    private static final String ACTIVATION_KEY = "plugin.activation";
+    private static final String ACTIVATION_LAZY = "lazy";
+
+    PluginActivationSpec {
+        i18nBundle = i18nBundle == null ? "" : i18nBundle;
+        toolboxes = List.copyOf(toolboxes);
+        menus = List.copyOf(menus);
+        scriptApis = List.copyOf(scriptApis);
+    }
+
+    static PluginActivationSpec fromProperties(Map<String, String> properties) {
+        if (!ACTIVATION_LAZY.equalsIgnoreCase(trimmed(properties.get(ACTIVATION_KEY)))) {
+            return EAGER;
+        }
+        List<DeclaredToolbox> toolboxes = new ArrayList<>();
+        for (String id : splitIds(properties.get("plugin.toolbox.ids"))) {
+            String prefix = "plugin.toolbox." + id + ".";
+            toolboxes.add(new DeclaredToolbox(
+                    id,
+                    trimmed(properties.getOrDefault(prefix + "titleKey", id)),
+                    trimmed(properties.get(prefix + "icon")),
+                    trimmed(properties.get(prefix + "groupId")),
+                    trimmed(properties.get(prefix + "groupTitleKey"))
+            ));
+        }
+        List<DeclaredMenu> menus = new ArrayList<>();
+        for (String id : splitIds(properties.get("plugin.menu.ids"))) {
+            String prefix = "plugin.menu." + id + ".";
+            menus.add(new DeclaredMenu(
+                    id,
+                    trimmed(properties.get(prefix + "parent")),
+                    trimmed(properties.getOrDefault(prefix + "titleKey", id)),
+                    parseOrder(properties.get(prefix + "order"))
+            ));
+        }
+        List<String> scriptApis = splitIds(properties.get("plugin.scriptApis"));
+        if (toolboxes.isEmpty() && menus.isEmpty() && scriptApis.isEmpty()) {
+            return EAGER;
+        }
+        return new PluginActivationSpec(true, trimmed(properties.get("plugin.i18nBundle")), toolboxes, menus, scriptApis);
+    }
+
+    boolean declaresToolbox(String id) {
+        return toolboxes.stream().anyMatch(toolbox -> toolbox.id().equals(id));
+    }
+
+    boolean declaresMenu(String id) {
+        return menus.stream().anyMatch(menu -> menu.id().equals(id));
+    }
+
+    boolean declaresScriptApi(String alias) {
+        return scriptApis.contains(alias);
+    }
+
+    private static List<String> splitIds(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static int parseOrder(String value) {
+        try {
+            return value == null || value.isBlank() ? 0 : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String trimmed(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    record DeclaredToolbox(String id, String titleKey, String iconPath, String groupId, String groupTitleKey) {
+    }
+
+    record DeclaredMenu(String id, String parentMenuId, String titleKey, int order) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.laker.postman.plugin.runtime;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 插件 descriptor 缓存。
+ * <p>
+ * 以 jar 路径为键记录修改时间、大小、SHA-256 和 descriptor 原始属性，并持久化到数据目录。
+ * 修改时间和大小都没变时直接复用；只有修改时间变了（例如重新复制了同一个 jar）时再比对内容哈希，
+ * 哈希一致仍然复用，否则重新打开 jar 读取 descriptor。
+ * </p>
+ */
+@Slf4j
+@UtilityClass
+class PluginDescriptorCache {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ConcurrentMap<Path, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final Object LOCK = new Object();
+    private static volatile boolean loaded;
+    private static volatile boolean dirty;
+
+    interface DescriptorReader {
+        Map<String, String> read(Path jarPath) throws IOException;
+    }
+
+    /**
+     * 返回 jar 的 descriptor 属性；jar 里没有 descriptor 时返回空 Map，同样会被缓存。
+     */
+    static Map<String, String> properties(Path jarPath, DescriptorReader reader) throws IOException {
+        ensureLoaded();
+        Path key = jarPath.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        Entry cached = ENTRIES.get(key);
+        if (cached != null && cached.lastModified() == lastModified && cached.size() == size) {
+            return cached.properties();
+        }
+        String sha256 = sha256(key);
+        Map<String, String> properties = cached != null && cached.sha256().equals(sha256)
+                ? cached.properties()
+                : Map.copyOf(reader.read(key));
+        ENTRIES.put(key, new Entry(lastModified, size, sha256, properties));
+        dirty = true;
+        return properties;
+    }
+
+    /**
+     * 扫描结束后把变化写回磁盘，顺带丢弃已经不存在的 jar。
+     */
+    static void flush() {
+        if (!dirty) {
+            return;
+        }
+        synchronized (LOCK) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            ENTRIES.keySet().removeIf(path -> !Files.isRegularFile(path));
+            ObjectNode root = MAPPER.createObjectNode();
+            root.put("version", FORMAT_VERSION);
+            ObjectNode entries = root.putObject("entries");
+            ENTRIES.forEach((path, entry) -> {
+                ObjectNode node = entries.putObject(path.toString());
+                node.put("lastModified", entry.lastModified());
+                node.put("size", entry.size());
+                node.put("sha256", entry.sha256());
+                ObjectNode properties = node.putObject("properties");
+                entry.properties().forEach(properties::put);
+            });
+            Path file = PluginRuntimePaths.pluginDescriptorCacheFile();
+            try {
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, MAPPER.writeValueAsString(root));
+            } catch (IOException e) {
+                log.debug("Failed to persist plugin descriptor cache: {}", file, e);
+            }
+        }
+    }
+
+    static void resetForTests() {
+        synchronized (LOCK) {
+            ENTRIES.clear();
+            loaded = false;
+            dirty = false;
+        }
+    }
+
+    private static void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (LOCK) {
+            if (loaded) {
+                return;
+            }
+            loaded = true;
+            Path file = PluginRuntimePaths.pluginDescriptorCacheFile();
+            if (!Files.isRegularFile(file)) {
+                return;
+            }
+            try {
+                JsonNode root = MAPPER.readTree(Files.readString(file));
+                if (root.path("version").asInt() != FORMAT_VERSION) {
+                    return;
+                }
+                for (Map.Entry<String, JsonNode> item : root.path("entries").properties()) {
+                    JsonNode node = item.getValue();
+                    Map<String, String> properties = new LinkedHashMap<>();
+                    for (Map.Entry<String, JsonNode> property : node.path("properties").properties()) {
+                        properties.put(property.getKey(), property.getValue().asText());
+                    }
+                    ENTRIES.putIfAbsent(Paths.get(item.getKey()), new Entry(
+                            node.path("lastModified").asLong(),
+                            node.path("size").asLong(),
+                            node.path("sha256").asText(),
+                            Map.copyOf(properties)
+                    ));
+                }
+            } catch (Exception e) {
+                // 缓存损坏时当作冷启动处理，下一次 flush 会重写
+                log.debug("Ignore unreadable plugin descriptor cache: {}", file, e);
+            }
+        }
+    }
+
+    private static String sha256(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record Entry(long lastModified, long size, String sha256, Map<String, String> properties) {
+    }
+}
@@ -38,12 +38,7 @@ class PluginLoader {
             log.info("Loading plugin: id={}, version={}, entryClass={}, jar={}",
                     descriptor.id(), descriptor.version(), descriptor.entryClass(), jarPath);
             classLoader = new URLClassLoader(new URL[]{jarPath.toUri().toURL()}, parentClassLoader);
-            Class<?> entryClass = Class.forName(descriptor.entryClass(), true, classLoader);
-            Object instance = entryClass.getDeclaredConstructor().newInstance();
-            if (!(instance instanceof EasyPostmanPlugin plugin)) {
-                throw new IllegalStateException("Plugin entry class does not implement EasyPostmanPlugin: " + descriptor.entryClass());
-            }
-            plugin.onLoad(new PluginContextImpl(descriptor, registry, classLoader, PluginFileStorage.forPlugin(descriptor.id())));
+            EasyPostmanPlugin plugin = instantiatePlugin(descriptor, registry, classLoader, null);
             loadedPlugins.add(plugin);
             pluginClassLoaders.add(classLoader);
             loadedPluginFiles.add(new PluginFileInfo(descriptor, jarPath, true, true, true));
@@ -57,7 +52,52 @@ class PluginLoader {
         }
     }
 
-    private String buildLoadFailureMessage(Throwable throwable) {
+    /**
+     * 注册延迟激活的插件：只创建类加载器和占位贡献，入口类等到第一次使用时再加载。
+     */
+    Optional<String> registerLazyPlugin(Path jarPath,
+                                        PluginDescriptor descriptor,
+                                        PluginActivationSpec spec,
+                                        PluginRegistry registry,
+                                        List<LazyPluginActivation> lazyActivations,
+                                        List<URLClassLoader> pluginClassLoaders,
+                                        List<PluginFileInfo> loadedPluginFiles,
+                                        ClassLoader parentClassLoader,
+                                        LazyPluginActivation.Listener listener) {
+        URLClassLoader classLoader = null;
+        try {
+            classLoader = new URLClassLoader(new URL[]{jarPath.toUri().toURL()}, parentClassLoader);
+            LazyPluginActivation activation = new LazyPluginActivation(
+                    jarPath, descriptor, spec, registry, classLoader, listener);
+            activation.registerPlaceholders();
+            lazyActivations.add(activation);
+            pluginClassLoaders.add(classLoader);
+            loadedPluginFiles.add(new PluginFileInfo(descriptor, jarPath, true, true, true));
+            log.info("Registered lazy plugin: id={}, version={}, jar={}",
+                    descriptor.id(), descriptor.version(), jarPath);
+            return Optional.empty();
+        } catch (Exception | LinkageError e) {
+            log.error("Failed to register lazy plugin jar: {}", jarPath, e);
+            closeFailedClassLoader(classLoader);
+            return Optional.of(buildLoadFailureMessage(e));
+        }
+    }
+
+    EasyPostmanPlugin instantiatePlugin(PluginDescriptor descriptor,
+                                        PluginRegistry registry,
+                                        ClassLoader classLoader,
+                                        LazyPluginActivation activation) throws Exception {
+        Class<?> entryClass = Class.forName(descriptor.entryClass(), true, classLoader);
+        Object instance = entryClass.getDeclaredConstructor().newInstance();
+        if (!(instance instanceof EasyPostmanPlugin plugin)) {
+            throw new IllegalStateException("Plugin entry class does not implement EasyPostmanPlugin: " + descriptor.entryClass());
+        }
+        plugin.onLoad(new PluginContextImpl(
+                descriptor, registry, classLoader, PluginFileStorage.forPlugin(descriptor.id()), activation));
+        return plugin;
+    }
+
+    String buildLoadFailureMessage(Throwable throwable) {
         Throwable current = throwable;
         while (current.getCause() != null) {
             current = current.getCause();
@@ -117,6 +157,8 @@ class PluginLoader {
         private final PluginRegistry registry;
         private final ClassLoader classLoader;
         private final PluginStorage storage;
+        // 延迟激活时，descriptor 声明过的贡献交给占位转发，不再重复注册到注册表
+        private final LazyPluginActivation activation;
 
         @Override
         public PluginDescriptor descriptor() {
@@ -130,6 +172,9 @@ class PluginLoader {
 
         @Override
         public void registerScriptApi(String alias, java.util.function.Supplier<Object> factory) {
+            if (activation != null && activation.captureScriptApi(alias, factory)) {
+                return;
+            }
             registry.registerScriptApi(descriptor.id(), alias, factory);
         }
 
@@ -145,6 +190,9 @@ class PluginLoader {
 
         @Override
         public void registerToolboxContribution(com.laker.postman.plugin.api.ToolboxContribution contribution) {
+            if (activation != null && activation.captureToolbox(contribution)) {
+                return;
+            }
             registry.registerToolboxContribution(contribution);
         }
 
@@ -158,10 +206,12 @@ class PluginLoader {
 
         @Override
         public void registerMenuContribution(com.laker.postman.plugin.api.PluginMenuContribution contribution) {
-            registry.registerMenuContribution(
-                    descriptor.id(),
-                    contribution == null ? null : contribution.withTitleClassLoader(classLoader)
-            );
+            com.laker.postman.plugin.api.PluginMenuContribution resolved =
+                    contribution == null ? null : contribution.withTitleClassLoader(classLoader);
+            if (activation != null && activation.captureMenu(resolved)) {
+                return;
+            }
+            registry.registerMenuContribution(descriptor.id(), resolved);
         }
 
         @Override
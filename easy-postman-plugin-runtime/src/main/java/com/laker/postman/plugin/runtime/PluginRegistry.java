@@ -71,6 +71,26 @@ public class PluginRegistry {
         return apis;
     }
 
+    /**
+     * 按别名创建单个脚本 API；脚本真正调用 pm.plugin(alias) 时才实例化，延迟激活的插件也在这一刻加载。
+     */
+    public Object createScriptApi(String alias) {
+        ScriptApiRegistration registration = alias == null ? null : scriptApiFactories.get(alias);
+        if (registration == null) {
+            return null;
+        }
+        try {
+            return registration.factory().get();
+        } catch (Throwable t) {
+            log.error("Failed to create script API for plugin alias: {}", alias, t);
+            return null;
+        }
+    }
+
+    public boolean hasScriptApi(String alias) {
+        return alias != null && scriptApiFactories.containsKey(alias);
+    }
+
     public <T> void registerService(Class<T> type, T service) {
         registerService(null, type, service);
     }
@@ -31,6 +31,8 @@ public final class PluginRuntime {
     private static final List<EasyPostmanPlugin> LOADED_PLUGINS = new ArrayList<>();
     private static final List<URLClassLoader> PLUGIN_CLASSLOADERS = new ArrayList<>();
     private static final List<PluginFileInfo> LOADED_PLUGIN_FILES = new ArrayList<>();
+    // descriptor 声明了 lazy 的插件，入口类等到第一次使用时才加载
+    private static final List<LazyPluginActivation> LAZY_ACTIVATIONS = new ArrayList<>();
     private static final Map<Path, String> LOAD_FAILURES = new LinkedHashMap<>();
     @Getter
     private static volatile boolean initialized = false;
@@ -71,15 +73,32 @@ public final class PluginRuntime {
             }
 
             for (PluginFileInfo pluginFile : loadCandidates) {
-                PluginLoader.loadPluginJar(
-                        pluginFile.jarPath(),
-                        pluginFile.descriptor(),
-                        REGISTRY,
-                        LOADED_PLUGINS,
-                        PLUGIN_CLASSLOADERS,
-                        LOADED_PLUGIN_FILES,
-                        PluginRuntime.class.getClassLoader()
-                ).ifPresent(failureMessage ->
+                Optional<String> failure;
+                PluginActivationSpec activationSpec = readActivationSpec(pluginFile.jarPath());
+                if (activationSpec.lazy()) {
+                    failure = PluginLoader.registerLazyPlugin(
+                            pluginFile.jarPath(),
+                            pluginFile.descriptor(),
+                            activationSpec,
+                            REGISTRY,
+                            LAZY_ACTIVATIONS,
+                            PLUGIN_CLASSLOADERS,
+                            LOADED_PLUGIN_FILES,
+                            PluginRuntime.class.getClassLoader(),
+                            new LazyActivationListener(pluginFile.jarPath())
+                    );
+                } else {
+                    failure = PluginLoader.loadPluginJar(
+                            pluginFile.jarPath(),
+                            pluginFile.descriptor(),
+                            REGISTRY,
+                            LOADED_PLUGINS,
+                            PLUGIN_CLASSLOADERS,
+                            LOADED_PLUGIN_FILES,
+                            PluginRuntime.class.getClassLoader()
+                    );
+                }
+                failure.ifPresent(failureMessage ->
                         LOAD_FAILURES.put(normalizePath(pluginFile.jarPath()), failureMessage));
             }
             // onLoad 负责注册扩展点，onStart 则表示“所有插件都注册完了，可以开始运行”。
@@ -210,6 +229,7 @@ public final class PluginRuntime {
     public static void shutdown() {
         synchronized (PluginRuntime.class) {
             try {
+                LAZY_ACTIVATIONS.forEach(LazyPluginActivation::close);
                 PluginLoader.stopPlugins(LOADED_PLUGINS);
                 PluginLoader.closeClassLoaders(PLUGIN_CLASSLOADERS);
                 // shutdown 阶段清理待卸载插件，避免已加载 jar 在运行期间删除失败
@@ -217,6 +237,7 @@ public final class PluginRuntime {
             } finally {
                 // 彻底清空进程内状态，避免 IDE 反复启动时出现脏缓存
                 LOADED_PLUGINS.clear();
+                LAZY_ACTIVATIONS.clear();
                 PLUGIN_CLASSLOADERS.clear();
                 LOADED_PLUGIN_FILES.clear();
                 LOAD_FAILURES.clear();
@@ -275,6 +296,15 @@ public final class PluginRuntime {
         );
     }
 
+    private static PluginActivationSpec readActivationSpec(Path jarPath) {
+        try {
+            return PluginScanner.readActivationSpec(jarPath);
+        } catch (IOException e) {
+            log.warn("Failed to read plugin activation spec, loading eagerly: {}", jarPath, e);
+            return PluginActivationSpec.EAGER;
+        }
+    }
+
     private static String formatPluginList(List<PluginFileInfo> pluginFiles) {
         List<String> parts = new ArrayList<>(pluginFiles.size());
         for (PluginFileInfo pluginFile : pluginFiles) {
@@ -356,6 +386,7 @@ public final class PluginRuntime {
     public static void resetForTests() {
         synchronized (PluginRuntime.class) {
             LOADED_PLUGINS.clear();
+            LAZY_ACTIVATIONS.clear();
             PLUGIN_CLASSLOADERS.clear();
             LOADED_PLUGIN_FILES.clear();
             LOAD_FAILURES.clear();
@@ -364,6 +395,7 @@ public final class PluginRuntime {
             cachedAppVersion = null;
             cachedPlatformVersion = null;
             PluginRuntimePaths.resetForTests();
+            PluginDescriptorCache.resetForTests();
         }
     }
 
@@ -376,6 +408,24 @@ public final class PluginRuntime {
                 || PluginVersionComparator.compare(currentVersion, maxVersion) <= 0;
     }
 
+    private record LazyActivationListener(Path jarPath) implements LazyPluginActivation.Listener {
+
+        @Override
+        public void activated(EasyPostmanPlugin plugin) {
+            synchronized (PluginRuntime.class) {
+                LOADED_PLUGINS.add(plugin);
+            }
+        }
+
+        @Override
+        public void failed(String failureMessage) {
+            synchronized (PluginRuntime.class) {
+                LOADED_PLUGIN_FILES.removeIf(info -> info.jarPath().equals(jarPath));
+                LOAD_FAILURES.put(normalizePath(jarPath), failureMessage);
+            }
+        }
+    }
+
     private record RuntimeVersionInfo(String currentAppVersion, String currentPlatformVersion) {
     }
 }
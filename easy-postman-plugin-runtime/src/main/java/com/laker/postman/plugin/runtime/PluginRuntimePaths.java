@@ -46,6 +46,10 @@ class PluginRuntimePaths {
         return settingsFile;
     }
 
+    static Path pluginDescriptorCacheFile() {
+        return dataRoot().resolve("plugins").resolve("descriptor-cache.json");
+    }
+
     static Path legacyUserPreferencesFile() {
         return dataRoot().resolve("user_settings.json");
     }
@@ -11,11 +11,17 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.stream.Stream;
 
@@ -23,6 +29,7 @@ import java.util.stream.Stream;
  * 插件扫描器。
  * <p>
  * 负责目录遍历、descriptor 读取，以及把磁盘上的 jar 转成可供运行时决策的候选信息。
+ * 多个 jar 的 descriptor 并行读取，结果经 {@link PluginDescriptorCache} 按修改时间和内容哈希缓存。
  * </p>
  */
 @Slf4j
@@ -31,6 +38,13 @@ class PluginScanner {
 
     private static final String PLUGIN_DESCRIPTOR_PREFIX = "META-INF/easy-postman/";
     private static final String PLUGIN_DESCRIPTOR_SUFFIX = ".properties";
+    private static final ExecutorService SCAN_EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "plugin-descriptor-scan");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     static Set<Path> resolvePluginDirs(Path managedPluginDir) {
         Set<Path> dirs = new LinkedHashSet<>();
@@ -52,70 +66,101 @@ class PluginScanner {
         if (pluginDir == null || !Files.isDirectory(pluginDir)) {
             return Collections.emptyList();
         }
-        List<PluginFileInfo> plugins = new ArrayList<>();
+        List<Path> jarPaths;
         try (Stream<Path> stream = Files.list(pluginDir)) {
-            stream.filter(path -> Files.isRegularFile(path) && path.getFileName().toString().endsWith(".jar"))
+            jarPaths = stream.filter(path -> Files.isRegularFile(path) && path.getFileName().toString().endsWith(".jar"))
                     .sorted()
-                    .forEach(path -> {
-                        try {
-                            PluginDescriptor descriptor = readDescriptor(path);
-                            if (descriptor != null) {
-                                boolean enabled = descriptor.id() != null
-                                        && !disabledPluginIds.contains(descriptor.id())
-                                        && !pendingUninstallPluginIds.contains(descriptor.id());
-                                boolean compatible = PluginRuntime.evaluateCompatibility(
-                                        descriptor.minAppVersion(),
-                                        descriptor.maxAppVersion(),
-                                        descriptor.minPlatformVersion(),
-                                        descriptor.maxPlatformVersion()
-                                ).compatible();
-                                plugins.add(new PluginFileInfo(
-                                        descriptor,
-                                        path,
-                                        isLoadedPredicate != null && isLoadedPredicate.test(path),
-                                        enabled,
-                                        compatible
-                                ));
-                            }
-                        } catch (IOException e) {
-                            log.warn("Failed to inspect plugin jar: {}", path, e);
-                        }
-                    });
+                    .toList();
         } catch (IOException e) {
             log.warn("Failed to scan plugin directory: {}", pluginDir, e);
+            return Collections.emptyList();
+        }
+        // 每个 jar 的 descriptor 读取互不依赖，并行打开后按原有排序收集结果
+        List<CompletableFuture<PluginDescriptor>> pending = new ArrayList<>(jarPaths.size());
+        for (Path path : jarPaths) {
+            pending.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return readDescriptor(path);
+                } catch (IOException e) {
+                    log.warn("Failed to inspect plugin jar: {}", path, e);
+                    return null;
+                }
+            }, SCAN_EXECUTOR));
+        }
+        List<PluginFileInfo> plugins = new ArrayList<>();
+        for (int i = 0; i < jarPaths.size(); i++) {
+            Path path = jarPaths.get(i);
+            PluginDescriptor descriptor = pending.get(i).join();
+            if (descriptor == null) {
+                continue;
+            }
+            boolean enabled = descriptor.id() != null
+                    && !disabledPluginIds.contains(descriptor.id())
+                    && !pendingUninstallPluginIds.contains(descriptor.id());
+            boolean compatible = PluginRuntime.evaluateCompatibility(
+                    descriptor.minAppVersion(),
+                    descriptor.maxAppVersion(),
+                    descriptor.minPlatformVersion(),
+                    descriptor.maxPlatformVersion()
+            ).compatible();
+            plugins.add(new PluginFileInfo(
+                    descriptor,
+                    path,
+                    isLoadedPredicate != null && isLoadedPredicate.test(path),
+                    enabled,
+                    compatible
+            ));
         }
+        PluginDescriptorCache.flush();
         return plugins;
     }
 
     static PluginDescriptor readDescriptor(Path jarPath) throws IOException {
+        Map<String, String> properties = PluginDescriptorCache.properties(jarPath, PluginScanner::readDescriptorProperties);
+        String entryClass = properties.get("plugin.entryClass");
+        if (entryClass == null || entryClass.isBlank()) {
+            return null;
+        }
+        String fileName = jarPath.getFileName().toString();
+        return new PluginDescriptor(
+                properties.getOrDefault("plugin.id", fileName),
+                properties.getOrDefault("plugin.name", fileName),
+                properties.getOrDefault("plugin.version", "dev"),
+                entryClass,
+                properties.getOrDefault("plugin.description", ""),
+                properties.getOrDefault("plugin.homepage", ""),
+                properties.getOrDefault("plugin.minAppVersion", ""),
+                properties.getOrDefault("plugin.maxAppVersion", ""),
+                properties.getOrDefault("plugin.minPlatformVersion", ""),
+                properties.getOrDefault("plugin.maxPlatformVersion", "")
+        );
+    }
+
+    static PluginActivationSpec readActivationSpec(Path jarPath) throws IOException {
+        return PluginActivationSpec.fromProperties(
+                PluginDescriptorCache.properties(jarPath, PluginScanner::readDescriptorProperties));
+    }
+
+    private static Map<String, String> readDescriptorProperties(Path jarPath) throws IOException {
         try (JarFile jarFile = new JarFile(jarPath.toFile())) {
-            return jarFile.stream()
+            JarEntry descriptorEntry = jarFile.stream()
                     .filter(entry -> !entry.isDirectory())
                     .filter(entry -> entry.getName().startsWith(PLUGIN_DESCRIPTOR_PREFIX))
                     .filter(entry -> entry.getName().endsWith(PLUGIN_DESCRIPTOR_SUFFIX))
                     .findFirst()
-                    .map(entry -> {
-                        try (InputStream inputStream = jarFile.getInputStream(entry)) {
-                            Properties properties = new Properties();
-                            properties.load(inputStream);
-                            return new PluginDescriptor(
-                                    properties.getProperty("plugin.id", jarPath.getFileName().toString()),
-                                    properties.getProperty("plugin.name", jarPath.getFileName().toString()),
-                                    properties.getProperty("plugin.version", "dev"),
-                                    properties.getProperty("plugin.entryClass"),
-                                    properties.getProperty("plugin.description", ""),
-                                    properties.getProperty("plugin.homepage", ""),
-                                    properties.getProperty("plugin.minAppVersion", ""),
-                                    properties.getProperty("plugin.maxAppVersion", ""),
-                                    properties.getProperty("plugin.minPlatformVersion", ""),
-                                    properties.getProperty("plugin.maxPlatformVersion", "")
-                            );
-                        } catch (IOException e) {
-                            throw new RuntimeException(e);
-                        }
-                    })
-                    .filter(descriptor -> descriptor.entryClass() != null && !descriptor.entryClass().isBlank())
                     .orElse(null);
+            if (descriptorEntry == null) {
+                return Map.of();
+            }
+            Properties properties = new Properties();
+            try (InputStream inputStream = jarFile.getInputStream(descriptorEntry)) {
+                properties.load(inputStream);
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                values.put(name, properties.getProperty(name));
+            }
+            return values;
         }
     }
 }
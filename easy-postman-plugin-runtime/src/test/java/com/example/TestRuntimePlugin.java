@@ -6,6 +6,7 @@ import com.laker.postman.plugin.api.PluginMenuContribution;
 import com.laker.postman.plugin.api.PluginSettingsContribution;
 import com.laker.postman.plugin.api.PluginUpdateMetadata;
 import com.laker.postman.plugin.api.PluginUpdateMetadataContribution;
+import com.laker.postman.plugin.api.ToolboxContribution;
 
 import javax.swing.JPanel;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -43,6 +44,14 @@ public class TestRuntimePlugin implements EasyPostmanPlugin {
             throw new IllegalStateException("Failed to write plugin storage test file", e);
         }
         context.registerScriptApi("testRuntime", Object::new);
+        context.registerToolboxContribution(new ToolboxContribution(
+                "test-runtime-toolbox",
+                "Test Runtime",
+                null,
+                null,
+                null,
+                JPanel::new
+        ));
         context.registerSettingsContribution(new PluginSettingsContribution(
                 "test-runtime-settings",
                 "test.runtime.settings.title",
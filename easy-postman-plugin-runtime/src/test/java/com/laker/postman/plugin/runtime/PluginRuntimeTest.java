@@ -11,18 +11,28 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
 
 public class PluginRuntimeTest {
     private static final String CURRENT_PLUGIN_PLATFORM_VERSION = "4.0.0";
 
+    private static final String LAZY_ACTIVATION = """
+            plugin.activation=lazy
+            plugin.toolbox.ids=test-runtime-toolbox
+            plugin.toolbox.test-runtime-toolbox.titleKey=toolbox.test
+            plugin.scriptApis=testRuntime
+            """;
+
     private Path dataDir;
 
     @BeforeMethod
@@ -335,6 +345,84 @@ public class PluginRuntimeTest {
         assertFalse(PluginRuntime.isPluginPendingUninstall("plugin-pending"));
     }
 
+    @Test
+    public void shouldDeferLazyPluginUntilDeclaredToolboxIsOpened() throws Exception {
+        Path pluginJar = PluginRuntime.getManagedPluginDir().resolve("plugin-lazy-1.0.0.jar");
+        writePluginJar(pluginJar, "plugin-lazy", "1.0.0", "com.example.TestRuntimePlugin", LAZY_ACTIVATION);
+
+        PluginRuntime.initialize();
+
+        assertEquals(TestRuntimePlugin.getLoadCount(), 0);
+        assertTrue(PluginRuntime.getRegistry().getMenuContributions().isEmpty());
+        assertTrue(PluginRuntime.getInstalledPlugins().stream()
+                .anyMatch(info -> "plugin-lazy".equals(info.descriptor().id()) && info.loaded()));
+        var toolboxes = PluginRuntime.getRegistry().getToolboxContributions();
+        assertEquals(toolboxes.size(), 1);
+        assertEquals(toolboxes.get(0).id(), "test-runtime-toolbox");
+        assertEquals(toolboxes.get(0).displayName(), "toolbox.test");
+
+        assertNotNull(toolboxes.get(0).panelSupplier().get());
+        assertNotNull(toolboxes.get(0).panelSupplier().get());
+
+        assertEquals(TestRuntimePlugin.getLoadCount(), 1);
+        assertEquals(TestRuntimePlugin.getStartCount(), 1);
+        // 声明过的贡献由占位转发，激活后不会在注册表里重复出现；未声明的贡献照常注册
+        assertEquals(PluginRuntime.getRegistry().getToolboxContributions().size(), 1);
+        assertEquals(PluginRuntime.getRegistry().getMenuContributions().size(), 1);
+
+        PluginRuntime.shutdown();
+        assertEquals(TestRuntimePlugin.getStopCount(), 1);
+    }
+
+    @Test
+    public void shouldActivateLazyPluginWhenScriptAliasIsResolved() throws Exception {
+        Path pluginJar = PluginRuntime.getManagedPluginDir().resolve("plugin-lazy-1.0.0.jar");
+        writePluginJar(pluginJar, "plugin-lazy", "1.0.0", "com.example.TestRuntimePlugin", LAZY_ACTIVATION);
+
+        PluginRuntime.initialize();
+
+        assertTrue(PluginRuntime.getRegistry().hasScriptApi("testRuntime"));
+        assertEquals(TestRuntimePlugin.getLoadCount(), 0);
+        assertNotNull(PluginRuntime.getRegistry().createScriptApi("testRuntime"));
+        assertEquals(TestRuntimePlugin.getLoadCount(), 1);
+        assertNotNull(PluginRuntime.getRegistry().createScriptApi("testRuntime"));
+        assertEquals(TestRuntimePlugin.getLoadCount(), 1);
+    }
+
+    @Test
+    public void shouldReportLoadFailureWhenLazyPluginCannotBeActivated() throws Exception {
+        Path pluginJar = PluginRuntime.getManagedPluginDir().resolve("plugin-lazy-broken-1.0.0.jar");
+        writePluginJar(pluginJar, "plugin-lazy-broken", "1.0.0", "com.example.MissingPlugin", LAZY_ACTIVATION);
+
+        PluginRuntime.initialize();
+
+        var toolbox = PluginRuntime.getRegistry().getToolboxContributions().get(0);
+        IllegalStateException error = expectThrows(IllegalStateException.class, () -> toolbox.panelSupplier().get());
+        assertTrue(error.getMessage().contains("MissingPlugin"));
+        assertNull(PluginRuntime.getRegistry().createScriptApi("testRuntime"));
+        PluginFileInfo brokenPlugin = PluginRuntime.getInstalledPlugins().stream()
+                .filter(info -> "plugin-lazy-broken".equals(info.descriptor().id()))
+                .findFirst()
+                .orElseThrow();
+        assertFalse(brokenPlugin.loaded());
+        assertTrue(brokenPlugin.loadFailureMessage().contains("MissingPlugin"));
+    }
+
+    @Test
+    public void shouldRefreshCachedDescriptorWhenPluginJarChanges() throws Exception {
+        Path pluginJar = PluginRuntime.getManagedPluginDir().resolve("plugin-cache.jar");
+        writePluginJar(pluginJar, "plugin-cache", "1.0.0", "com.example.TestRuntimePlugin");
+        Files.setLastModifiedTime(pluginJar, FileTime.fromMillis(1_000_000L));
+
+        assertEquals(PluginRuntime.getManagedPluginFiles().get(0).descriptor().version(), "1.0.0");
+        assertTrue(Files.exists(dataDir.resolve("plugins").resolve("descriptor-cache.json")));
+
+        writePluginJar(pluginJar, "plugin-cache", "2.0.0", "com.example.TestRuntimePlugin");
+        Files.setLastModifiedTime(pluginJar, FileTime.fromMillis(2_000_000L));
+
+        assertEquals(PluginRuntime.inspectPluginJar(pluginJar).version(), "2.0.0");
+    }
+
     private static void writeStubPluginJar(Path jarPath, String pluginId) throws IOException {
         writePluginJar(jarPath, pluginId, "5.3.16", "com.example.StubPlugin");
     }
@@ -346,6 +434,14 @@ public class PluginRuntimeTest {
         writePluginJar(jarPath, pluginId, version, entryClass, "", "", "", "");
     }
 
+    private static void writePluginJar(Path jarPath,
+                                       String pluginId,
+                                       String version,
+                                       String entryClass,
+                                       String extraProperties) throws IOException {
+        writePluginJar(jarPath, pluginId, version, entryClass, "", "", "", "", extraProperties);
+    }
+
     private static void writePluginJar(Path jarPath,
                                        String pluginId,
                                        String version,
@@ -354,6 +450,19 @@ public class PluginRuntimeTest {
                                        String maxAppVersion,
                                        String minPlatformVersion,
                                        String maxPlatformVersion) throws IOException {
+        writePluginJar(jarPath, pluginId, version, entryClass,
+                minAppVersion, maxAppVersion, minPlatformVersion, maxPlatformVersion, "");
+    }
+
+    private static void writePluginJar(Path jarPath,
+                                       String pluginId,
+                                       String version,
+                                       String entryClass,
+                                       String minAppVersion,
+                                       String maxAppVersion,
+                                       String minPlatformVersion,
+                                       String maxPlatformVersion,
+                                       String extraProperties) throws IOException {
         Files.createDirectories(jarPath.getParent());
         try (OutputStream outputStream = Files.newOutputStream(jarPath);
              JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
@@ -367,6 +476,7 @@ public class PluginRuntimeTest {
                     plugin.maxAppVersion=%s
                     plugin.minPlatformVersion=%s
                     plugin.maxPlatformVersion=%s
+                    %s
                     """.formatted(
                     pluginId,
                     version,
@@ -374,7 +484,8 @@ public class PluginRuntimeTest {
                     minAppVersion,
                     maxAppVersion,
                     minPlatformVersion,
-                    maxPlatformVersion
+                    maxPlatformVersion,
+                    extraProperties
             )).getBytes(StandardCharsets.UTF_8));
             jarOutputStream.closeEntry();
         }
@@ -42,6 +42,7 @@ record HttpRequestEditSnapshot(
         HttpRequestProxyPolicy proxyPolicy,
         String httpVersion,
         Integer requestTimeoutMs,
+        String requestBodyCompression,
         String prescript,
         String postscript
 ) {
@@ -72,6 +73,7 @@ record HttpRequestEditSnapshot(
                 item.resolveProxyPolicy(),
                 normalizeHttpVersion(item.getHttpVersion()),
                 item.getRequestTimeoutMs(),
+                item.resolveRequestBodyCompression(),
                 string(item.getPrescript()),
                 string(item.getPostscript())
         );
@@ -5,6 +5,7 @@ import com.laker.postman.request.model.HttpFormData;
 import com.laker.postman.request.model.HttpFormUrlencoded;
 import com.laker.postman.request.model.HttpHeader;
 import com.laker.postman.request.model.HttpParam;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 import com.laker.postman.request.model.HttpRequestProxyPolicy;
 import com.laker.postman.request.model.HttpRequestVersions;
 import com.laker.postman.request.model.RequestBodyTypes;
@@ -98,7 +99,8 @@ public class HttpRequestEditorContentSummary {
                 || Boolean.FALSE.equals(draft.getCookieJarEnabled())
                 || HttpRequestProxyPolicy.DEFAULT != HttpRequestProxyPolicy.normalize(draft.getProxyPolicy())
                 || !HttpRequestVersions.AUTO.equals(normalizeHttpVersion(draft.getHttpVersion()))
-                || draft.getRequestTimeoutMs() != null;
+                || draft.getRequestTimeoutMs() != null
+                || !HttpRequestBodyCompressions.NONE.equals(HttpRequestBodyCompressions.normalize(draft.getRequestBodyCompression()));
     }
 
     private static boolean hasScripts(HttpRequestEditorDraft draft) {
@@ -47,6 +47,7 @@ public class HttpRequestEditorDraft {
     HttpRequestProxyPolicy proxyPolicy = HttpRequestProxyPolicy.DEFAULT;
     String httpVersion;
     Integer requestTimeoutMs;
+    String requestBodyCompression;
     String prescript;
     String postscript;
     @Builder.Default
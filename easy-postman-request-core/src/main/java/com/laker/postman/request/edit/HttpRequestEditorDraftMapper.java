@@ -1,6 +1,7 @@
 package com.laker.postman.request.edit;
 
 import com.laker.postman.request.model.HttpParam;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 import com.laker.postman.request.model.HttpRequestItem;
 import com.laker.postman.request.model.HttpRequestProxyPolicy;
 import com.laker.postman.request.model.AuthApiKeyPlacement;
@@ -46,6 +47,7 @@ public class HttpRequestEditorDraftMapper {
                 .proxyPolicy(item.resolveProxyPolicy())
                 .httpVersion(item.getHttpVersion())
                 .requestTimeoutMs(item.getRequestTimeoutMs())
+                .requestBodyCompression(item.getRequestBodyCompression())
                 .prescript(item.getPrescript())
                 .postscript(item.getPostscript())
                 .responses(copyList(item.getResponse()))
@@ -104,6 +106,7 @@ public class HttpRequestEditorDraftMapper {
             item.setHttpVersion(draft.getHttpVersion());
         }
         item.setRequestTimeoutMs(draft.getRequestTimeoutMs());
+        item.setRequestBodyCompression(HttpRequestBodyCompressions.normalize(draft.getRequestBodyCompression()));
         item.setPrescript(string(draft.getPrescript()));
         item.setPostscript(string(draft.getPostscript()));
         item.setResponse(copyList(draft.getResponses()));
@@ -1,5 +1,6 @@
 package com.laker.postman.request.edit;
 
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 import com.laker.postman.request.model.HttpRequestVersions;
 import com.laker.postman.request.model.HttpRequestProxyPolicy;
 import lombok.Builder;
@@ -15,4 +16,6 @@ public class HttpRequestSettingsDraft {
     @Builder.Default
     String httpVersion = HttpRequestVersions.AUTO;
     Integer requestTimeoutMs;
+    @Builder.Default
+    String requestBodyCompression = HttpRequestBodyCompressions.NONE;
 }
@@ -0,0 +1,30 @@
+package com.laker.postman.request.model;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Locale;
+
+/**
+ * 请求体压缩方式，发送时写入对应的 Content-Encoding
+ */
+@UtilityClass
+public class HttpRequestBodyCompressions {
+    public static final String NONE = "NONE";
+    public static final String GZIP = "GZIP";
+    public static final String DEFLATE = "DEFLATE";
+    public static final String ZSTD = "ZSTD";
+
+    /**
+     * 空值和未知值都按不压缩处理
+     */
+    public static String normalize(String compression) {
+        if (compression == null) {
+            return NONE;
+        }
+        String normalized = compression.trim().toUpperCase(Locale.ROOT);
+        return switch (normalized) {
+            case GZIP, DEFLATE, ZSTD -> normalized;
+            default -> NONE;
+        };
+    }
+}
@@ -44,6 +44,7 @@ public class HttpRequestItem implements Serializable {
     private HttpRequestProxyPolicy proxyPolicy = HttpRequestProxyPolicy.DEFAULT; // 代理策略，默认跟随全局设置
     private String httpVersion = HTTP_VERSION_AUTO; // HTTP 协议偏好
     private Integer requestTimeoutMs; // 请求超时（毫秒），null 表示跟随全局设置
+    private String requestBodyCompression = HttpRequestBodyCompressions.NONE; // 请求体压缩方式（NONE/GZIP/DEFLATE/ZSTD）
     // 前置脚本（请求前执行）
     private String prescript = "";
     // 后置脚本（响应后执行）
@@ -68,6 +69,10 @@ public class HttpRequestItem implements Serializable {
         return HTTP_VERSION_AUTO;
     }
 
+    public String resolveRequestBodyCompression() {
+        return HttpRequestBodyCompressions.normalize(requestBodyCompression);
+    }
+
     public HttpRequestProxyPolicy resolveProxyPolicy() {
         return HttpRequestProxyPolicy.normalize(proxyPolicy);
     }
@@ -4,6 +4,7 @@ import com.laker.postman.request.model.HttpFormData;
 import com.laker.postman.request.model.HttpFormUrlencoded;
 import com.laker.postman.request.model.HttpHeader;
 import com.laker.postman.request.model.HttpParam;
+import com.laker.postman.request.model.HttpRequestBodyCompressions;
 import com.laker.postman.request.model.HttpRequestProxyPolicy;
 import com.laker.postman.request.model.HttpRequestItem;
 import com.laker.postman.request.model.RequestBodyTypes;
@@ -42,6 +43,7 @@ public class HttpRequestEditorDraftMapperTest {
                 .proxyPolicy(HttpRequestProxyPolicy.NO_PROXY)
                 .httpVersion(HttpRequestItem.HTTP_VERSION_HTTP_2)
                 .requestTimeoutMs(3000)
+                .requestBodyCompression("gzip")
                 .prescript("pre")
                 .postscript("post")
                 .responses(List.of(response))
@@ -69,6 +71,7 @@ public class HttpRequestEditorDraftMapperTest {
         assertEquals(item.getProxyPolicy(), HttpRequestProxyPolicy.NO_PROXY);
         assertEquals(item.getHttpVersion(), HttpRequestItem.HTTP_VERSION_HTTP_2);
         assertEquals(item.getRequestTimeoutMs(), Integer.valueOf(3000));
+        assertEquals(item.getRequestBodyCompression(), HttpRequestBodyCompressions.GZIP);
         assertEquals(item.getPrescript(), "pre");
         assertEquals(item.getPostscript(), "post");
         assertEquals(item.getResponse().get(0).getId(), "response-1");
@@ -0,0 +1,61 @@
+package com.laker.postman.common.component.largetext;
+
+/**
+ * JSON 词法扫描状态：嵌套深度以及当前是否位于字符串（或转义）内。
+ * <p>
+ * 只关心结构字符，因此按字节推进即可——UTF-8 多字节字符的每个字节都不会与 ASCII 结构字符冲突。
+ * </p>
+ */
+public final class JsonScanState {
+
+    private static final byte IN_STRING = 1;
+    private static final byte ESCAPED = 2;
+
+    int depth;
+    boolean inString;
+    boolean escaped;
+
+    public JsonScanState() {
+    }
+
+    static JsonScanState of(int depth, byte flags) {
+        JsonScanState state = new JsonScanState();
+        state.depth = depth;
+        state.inString = (flags & IN_STRING) != 0;
+        state.escaped = (flags & ESCAPED) != 0;
+        return state;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public boolean inString() {
+        return inString;
+    }
+
+    byte flags() {
+        return (byte) ((inString ? IN_STRING : 0) | (escaped ? ESCAPED : 0));
+    }
+
+    void advance(int c) {
+        if (inString) {
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                inString = false;
+            }
+            return;
+        }
+        switch (c) {
+            case '"' -> inString = true;
+            case '{', '[' -> depth++;
+            case '}', ']' -> depth = Math.max(0, depth - 1);
+            default -> {
+                // 其它字符不影响结构
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.laker.postman.common.component.largetext;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * 流式 JSON 美化：从任意位置的词法状态出发，只格式化当前可见的一段文本。
+ * <p>
+ * 不构建语法树，也不校验合法性：字符串原样输出，结构字符外的空白被丢弃，
+ * 在 {@code { [ ,} 之后和 {@code } ]} 之前换行缩进。相邻窗口依次格式化后拼接，
+ * 与整体格式化的结果一致（跨窗口的空容器除外，会多出一个换行）。
+ * </p>
+ */
+@UtilityClass
+public class JsonWindowFormatter {
+
+    private static final String INDENT = "  ";
+
+    /**
+     * @param text  窗口文本
+     * @param start 窗口起点的词法状态，为 null 时按文档开头处理
+     */
+    public static String format(String text, JsonScanState start) {
+        JsonScanState state = start == null ? new JsonScanState() : JsonScanState.of(start.depth, start.flags());
+        StringBuilder out = new StringBuilder(text.length() + text.length() / 2);
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (state.inString) {
+                out.append(c);
+                state.advance(c);
+                continue;
+            }
+            switch (c) {
+                case ' ', '\t', '\r', '\n' -> {
+                    // 丢弃原有空白
+                }
+                case '{', '[' -> {
+                    int next = nextNonWhitespace(text, i + 1);
+                    char close = c == '{' ? '}' : ']';
+                    if (next < length && text.charAt(next) == close) {
+                        out.append(c).append(close);
+                        i = next;
+                    } else {
+                        state.advance(c);
+                        out.append(c);
+                        newLine(out, state.depth);
+                    }
+                }
+                case '}', ']' -> {
+                    state.advance(c);
+                    newLine(out, state.depth);
+                    out.append(c);
+                }
+                case ',' -> {
+                    out.append(c);
+                    newLine(out, state.depth);
+                }
+                case ':' -> out.append(": ");
+                default -> {
+                    state.advance(c);
+                    out.append(c);
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static int nextNonWhitespace(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void newLine(StringBuilder out, int depth) {
+        out.append('\n');
+        out.append(INDENT.repeat(depth));
+    }
+}
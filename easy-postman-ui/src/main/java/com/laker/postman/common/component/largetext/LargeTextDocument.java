@@ -0,0 +1,405 @@
+package com.laker.postman.common.component.largetext;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * 大文本文件的只读分页文档模型。
+ * <p>
+ * 文件按 64MB 分段做只读内存映射，打开时只读取文件大小，不扫描内容；内容按固定大小的块切分成页，
+ * 页边界对齐到下一个行首（附近没有换行时对齐到 UTF-8 字符边界），因此任意一页都可以单独解码。
+ * </p>
+ * <p>
+ * 后台索引逐块统计换行数，并记录每块起点处的 JSON 词法状态（嵌套深度、是否在字符串内），
+ * 占用的内存只与块数成正比；页面的起始行号和格式化起点由此直接得到，不需要从头扫描。
+ * 文本按 UTF-8 解码。
+ * </p>
+ */
+@Slf4j
+public final class LargeTextDocument implements Closeable {
+
+    /**
+     * 每页（也是每个索引块）的字节数
+     */
+    public static final int PAGE_SIZE = 256 * 1024;
+    static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int ALIGN_SCAN_LIMIT = 16 * 1024;
+    private static final int SEARCH_CHUNK_SIZE = 1024 * 1024;
+
+    private final Path file;
+    private final boolean deleteOnClose;
+    private final FileChannel channel;
+    private final long size;
+    private final int blockCount;
+    private final MappedByteBuffer[] segments;
+    private final long[] linesBeforeBlock;
+    private final int[] jsonDepthAtBlock;
+    private final byte[] jsonFlagsAtBlock;
+    private volatile int indexedBlocks;
+    private volatile long totalNewlines = -1;
+    private volatile boolean closed;
+
+    private LargeTextDocument(Path file, boolean deleteOnClose, FileChannel channel, long size) {
+        this.file = file;
+        this.deleteOnClose = deleteOnClose;
+        this.channel = channel;
+        this.size = size;
+        this.blockCount = (int) ((size + PAGE_SIZE - 1) / PAGE_SIZE);
+        this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        this.linesBeforeBlock = new long[blockCount];
+        this.jsonDepthAtBlock = new int[blockCount];
+        this.jsonFlagsAtBlock = new byte[blockCount];
+    }
+
+    /**
+     * 打开文件，耗时与文件大小无关
+     *
+     * @param file          文本文件
+     * @param deleteOnClose 关闭文档时是否删除文件（用于自己落盘的临时文件）
+     */
+    public static LargeTextDocument open(Path file, boolean deleteOnClose) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new LargeTextDocument(file, deleteOnClose, channel, channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int pageCount() {
+        return Math.max(1, blockCount);
+    }
+
+    // ---------------------------------------------------------------- index
+
+    /**
+     * 从上次停下的位置继续建立行索引，可重复调用；返回 false 表示被取消
+     *
+     * @param cancelled 取消标志，每块检查一次
+     * @param progress  已索引的块数回调，可为 null
+     */
+    public boolean buildIndex(BooleanSupplier cancelled, IntConsumer progress) throws IOException {
+        byte[] buffer = new byte[PAGE_SIZE];
+        int block = indexedBlocks;
+        long newlines = 0;
+        JsonScanState state = new JsonScanState();
+        if (block > 0) {
+            // 从最后一个已索引块的记录重新扫描该块，得到下一块起点的状态
+            newlines = linesBeforeBlock[block - 1];
+            state = JsonScanState.of(jsonDepthAtBlock[block - 1], jsonFlagsAtBlock[block - 1]);
+            newlines += scanBlock(block - 1, buffer, state);
+        }
+        for (; block < blockCount; block++) {
+            if (cancelled != null && cancelled.getAsBoolean()) {
+                return false;
+            }
+            linesBeforeBlock[block] = newlines;
+            jsonDepthAtBlock[block] = state.depth;
+            jsonFlagsAtBlock[block] = state.flags();
+            newlines += scanBlock(block, buffer, state);
+            // 数组写入先于 volatile 写，读线程看到 indexedBlocks 后即可安全读取该块的记录
+            indexedBlocks = block + 1;
+            if (progress != null) {
+                progress.accept(block + 1);
+            }
+        }
+        totalNewlines = newlines;
+        return true;
+    }
+
+    public int indexedBlocks() {
+        return indexedBlocks;
+    }
+
+    public boolean isIndexed() {
+        return totalNewlines >= 0;
+    }
+
+    /**
+     * 总行数，索引完成前返回 -1
+     */
+    public long totalLines() {
+        long newlines = totalNewlines;
+        return newlines < 0 ? -1 : newlines + 1;
+    }
+
+    /**
+     * 指定字节位置所在的行号（从 1 开始），所在块尚未索引时返回 -1
+     */
+    public long lineNumberAt(long offset) throws IOException {
+        if (offset <= 0) {
+            return 1;
+        }
+        int block = (int) Math.min(offset / PAGE_SIZE, blockCount - 1L);
+        if (block >= indexedBlocks) {
+            return -1;
+        }
+        long blockStart = (long) block * PAGE_SIZE;
+        byte[] bytes = new byte[(int) (Math.min(offset, size) - blockStart)];
+        read(blockStart, bytes, bytes.length);
+        long lines = linesBeforeBlock[block] + 1;
+        for (byte b : bytes) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * 指定字节位置处的 JSON 词法状态，所在块尚未索引时返回 null
+     */
+    public JsonScanState jsonStateAt(long offset) throws IOException {
+        if (offset <= 0 || blockCount == 0) {
+            return new JsonScanState();
+        }
+        int block = (int) Math.min(offset / PAGE_SIZE, blockCount - 1L);
+        if (block >= indexedBlocks) {
+            return null;
+        }
+        JsonScanState state = JsonScanState.of(jsonDepthAtBlock[block], jsonFlagsAtBlock[block]);
+        long blockStart = (long) block * PAGE_SIZE;
+        byte[] bytes = new byte[(int) (Math.min(offset, size) - blockStart)];
+        read(blockStart, bytes, bytes.length);
+        for (byte b : bytes) {
+            state.advance(b);
+        }
+        return state;
+    }
+
+    private long scanBlock(int block, byte[] buffer, JsonScanState state) throws IOException {
+        long start = (long) block * PAGE_SIZE;
+        int length = (int) Math.min(PAGE_SIZE, size - start);
+        read(start, buffer, length);
+        long newlines = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = buffer[i];
+            if (b == '\n') {
+                newlines++;
+            }
+            state.advance(b);
+        }
+        return newlines;
+    }
+
+    // ---------------------------------------------------------------- pages
+
+    /**
+     * 第 page 页的起始字节位置
+     */
+    public long pageStart(int page) throws IOException {
+        if (page <= 0) {
+            return 0;
+        }
+        if (page >= blockCount) {
+            return size;
+        }
+        return alignToLineStart((long) page * PAGE_SIZE);
+    }
+
+    /**
+     * 包含指定字节位置的页码
+     */
+    public int pageOf(long offset) throws IOException {
+        if (offset <= 0 || blockCount == 0) {
+            return 0;
+        }
+        int page = (int) Math.min(offset / PAGE_SIZE, blockCount - 1L);
+        return offset < pageStart(page) ? page - 1 : page;
+    }
+
+    public Page readPage(int page) throws IOException {
+        int index = Math.max(0, Math.min(page, pageCount() - 1));
+        long start = pageStart(index);
+        long end = pageStart(index + 1);
+        byte[] bytes = new byte[(int) (end - start)];
+        read(start, bytes, bytes.length);
+        return new Page(index, start, end, new String(bytes, StandardCharsets.UTF_8), lineNumberAt(start));
+    }
+
+    /**
+     * 页内字节位置对应的字符下标
+     */
+    public int charOffsetInPage(Page page, long offset) throws IOException {
+        long clamped = Math.max(page.startOffset(), Math.min(offset, page.endOffset()));
+        byte[] bytes = new byte[(int) (clamped - page.startOffset())];
+        read(page.startOffset(), bytes, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8).length();
+    }
+
+    private long alignToLineStart(long offset) throws IOException {
+        int length = (int) Math.min(ALIGN_SCAN_LIMIT, size - offset);
+        byte[] bytes = new byte[length];
+        read(offset, bytes, length);
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == '\n') {
+                return offset + i + 1;
+            }
+        }
+        // 超长行：跳过 UTF-8 续字节，保证页面从完整字符开始
+        for (int i = 0; i < Math.min(length, 4); i++) {
+            if ((bytes[i] & 0xC0) != 0x80) {
+                return offset + i;
+            }
+        }
+        return offset;
+    }
+
+    // ---------------------------------------------------------------- search
+
+    /**
+     * 在整个文件中查找文本，返回匹配起点的字节位置，找不到或被取消时返回 -1。
+     * 忽略大小写时只折叠 ASCII 字母。
+     *
+     * @param from    向前查找时为起始位置（含）；向后查找时为匹配起点的上界（不含）
+     * @param forward 查找方向
+     */
+    public long find(String query, boolean matchCase, long from, boolean forward, BooleanSupplier cancelled)
+            throws IOException {
+        if (query == null || query.isEmpty()) {
+            return -1;
+        }
+        byte[] pattern = query.getBytes(StandardCharsets.UTF_8);
+        if (!matchCase) {
+            foldAscii(pattern);
+        }
+        int overlap = pattern.length - 1;
+        byte[] buffer = new byte[SEARCH_CHUNK_SIZE + overlap];
+        if (forward) {
+            for (long chunkStart = Math.max(0, from); chunkStart < size; chunkStart += SEARCH_CHUNK_SIZE) {
+                if (cancelled != null && cancelled.getAsBoolean()) {
+                    return -1;
+                }
+                int length = (int) Math.min(buffer.length, size - chunkStart);
+                read(chunkStart, buffer, length);
+                for (int i = 0; i + pattern.length <= length; i++) {
+                    if (matchesAt(buffer, i, pattern, matchCase)) {
+                        return chunkStart + i;
+                    }
+                }
+            }
+            return -1;
+        }
+        long end = Math.min(from, size);
+        while (end > 0) {
+            if (cancelled != null && cancelled.getAsBoolean()) {
+                return -1;
+            }
+            long chunkStart = Math.max(0, end - SEARCH_CHUNK_SIZE);
+            int length = (int) (Math.min(size, end + overlap) - chunkStart);
+            read(chunkStart, buffer, length);
+            for (int i = (int) (end - chunkStart) - 1; i >= 0; i--) {
+                if (i + pattern.length <= length && matchesAt(buffer, i, pattern, matchCase)) {
+                    return chunkStart + i;
+                }
+            }
+            end = chunkStart;
+        }
+        return -1;
+    }
+
+    private static boolean matchesAt(byte[] buffer, int offset, byte[] pattern, boolean matchCase) {
+        for (int j = 0; j < pattern.length; j++) {
+            byte b = buffer[offset + j];
+            if ((matchCase ? b : foldAscii(b)) != pattern[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void foldAscii(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = foldAscii(bytes[i]);
+        }
+    }
+
+    private static byte foldAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    // ---------------------------------------------------------------- io
+
+    private void read(long offset, byte[] dst, int length) throws IOException {
+        int copied = 0;
+        while (copied < length) {
+            long position = offset + copied;
+            MappedByteBuffer segment = segment((int) (position / SEGMENT_SIZE));
+            int inSegment = (int) (position % SEGMENT_SIZE);
+            int count = Math.min(length - copied, segment.capacity() - inSegment);
+            // 绝对位置读取不修改 buffer 状态，多个后台任务可以并发读
+            segment.get(inSegment, dst, copied, count);
+            copied += count;
+        }
+    }
+
+    private MappedByteBuffer segment(int index) throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+        MappedByteBuffer segment = segments[index];
+        if (segment != null) {
+            return segment;
+        }
+        synchronized (segments) {
+            if (segments[index] == null) {
+                long start = (long) index * SEGMENT_SIZE;
+                segments[index] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+            }
+            return segments[index];
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Failed to close large text channel: {}", file, e);
+        }
+        if (deleteOnClose) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Windows 下映射未释放前无法删除，退出时再删
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * 一页文本
+     *
+     * @param index       页码（从 0 开始）
+     * @param startOffset 起始字节位置（含）
+     * @param endOffset   结束字节位置（不含）
+     * @param text        解码后的文本
+     * @param firstLine   首行行号（从 1 开始），尚未索引到时为 -1
+     */
+    public record Page(int index, long startOffset, long endOffset, String text, long firstLine) {
+    }
+}
@@ -0,0 +1,476 @@
+package com.laker.postman.common.component.largetext;
+
+import com.formdev.flatlaf.FlatClientProperties;
+import com.laker.postman.common.component.SearchTextField;
+import com.laker.postman.common.component.SyntaxEditorScrollPane;
+import com.laker.postman.common.component.ToolWindowSurfaceStyle;
+import com.laker.postman.common.component.ViewportClippedTokenPainter;
+import com.laker.postman.util.EditorThemeUtil;
+import com.laker.postman.util.FontsUtil;
+import com.laker.postman.util.IconUtil;
+import com.laker.postman.util.UiI18n;
+import com.laker.postman.util.UiMessageKeys;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 大文本分页查看器。
+ * <p>
+ * 基于 {@link LargeTextDocument}：编辑器里始终只放一页（约 256KB）文本，翻页、搜索和格式化都在后台线程完成，
+ * 打开任意大小的文件耗时和内存占用都是常数。行号索引在后台逐块建立，建立完成前行号从页内开始计数。
+ * 搜索覆盖整个文件，命中后跳转到所在页并选中；格式化只作用于当前页。
+ * </p>
+ */
+@Slf4j
+public class LargeTextViewer extends JPanel {
+
+    private static final int SEARCH_DELAY_MS = 300;
+
+    @Getter
+    private final RSyntaxTextArea textArea;
+    private final SyntaxEditorScrollPane scrollPane;
+    private final JButton previousPageButton;
+    private final JButton nextPageButton;
+    private final JLabel pageLabel;
+    private final SearchTextField searchField;
+    private final JLabel searchStatusLabel;
+    private final Timer searchTimer;
+
+    @Getter
+    private LargeTextDocument document;
+    @Getter
+    private int currentPage;
+    @Getter
+    private boolean formatted;
+    private String syntaxStyle = SyntaxConstants.SYNTAX_STYLE_NONE;
+    private LargeTextDocument.Page shownPage;
+    private int requestedPage;
+    private long lastMatchOffset = -1;
+    /**
+     * 后台任务的代数：只有与当前代数一致的结果才会应用到界面（仅在 EDT 上读写）
+     */
+    private long generation;
+    private SwingWorker<?, ?> indexWorker;
+    private SwingWorker<?, ?> searchWorker;
+
+    public LargeTextViewer() {
+        super(new BorderLayout());
+        ToolWindowSurfaceStyle.applyCard(this);
+
+        textArea = new RSyntaxTextArea();
+        textArea.setEditable(false);
+        textArea.setCodeFoldingEnabled(false);
+        textArea.setLineWrap(false);
+        textArea.setHighlightCurrentLine(false);
+        textArea.setShowMatchedBracketPopup(false);
+        textArea.setTokenPainterFactory(area -> new ViewportClippedTokenPainter());
+        EditorThemeUtil.loadTheme(textArea);
+        textArea.setFont(FontsUtil.getDefaultFont(Font.PLAIN));
+        scrollPane = new SyntaxEditorScrollPane(textArea);
+        add(scrollPane, BorderLayout.CENTER);
+
+        JPanel navigationBar = new JPanel();
+        ToolWindowSurfaceStyle.applyCard(navigationBar);
+        navigationBar.setLayout(new BoxLayout(navigationBar, BoxLayout.X_AXIS));
+        navigationBar.setBorder(BorderFactory.createEmptyBorder(2, 0, 2, 0));
+
+        previousPageButton = createIconButton("icons/arrow-up.svg",
+                UiI18n.get(UiMessageKeys.LARGE_TEXT_PREVIOUS_PAGE), () -> showPage(currentPage - 1));
+        nextPageButton = createIconButton("icons/arrow-down.svg",
+                UiI18n.get(UiMessageKeys.LARGE_TEXT_NEXT_PAGE), () -> showPage(currentPage + 1));
+        pageLabel = new JLabel();
+        navigationBar.add(previousPageButton);
+        navigationBar.add(nextPageButton);
+        navigationBar.add(Box.createHorizontalStrut(4));
+        navigationBar.add(pageLabel);
+        navigationBar.add(Box.createHorizontalGlue());
+
+        searchField = new SearchTextField();
+        searchField.setPlaceholderText(UiI18n.get(UiMessageKeys.LARGE_TEXT_SEARCH_PLACEHOLDER));
+        searchStatusLabel = new JLabel();
+        navigationBar.add(searchStatusLabel);
+        navigationBar.add(Box.createHorizontalStrut(4));
+        navigationBar.add(searchField);
+        navigationBar.add(createIconButton("icons/arrow-up.svg",
+                UiI18n.get(UiMessageKeys.SEARCH_PREVIOUS), () -> find(false)));
+        navigationBar.add(createIconButton("icons/arrow-down.svg",
+                UiI18n.get(UiMessageKeys.SEARCH_NEXT), () -> find(true)));
+        add(navigationBar, BorderLayout.NORTH);
+
+        // 输入停顿后从当前页开始增量搜索
+        searchTimer = new Timer(SEARCH_DELAY_MS, e -> {
+            lastMatchOffset = -1;
+            find(true);
+        });
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+        });
+        searchField.addPropertyChangeListener("caseSensitive", e -> searchTimer.restart());
+        searchField.addActionListener(e -> find(true));
+        searchField.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, KeyEvent.SHIFT_DOWN_MASK), "findPrevious");
+        searchField.getActionMap().put("findPrevious", new AbstractAction() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                find(false);
+            }
+        });
+        updatePageLabel();
+    }
+
+    /**
+     * 打开文件并显示第一页，之前打开的文档会被关闭
+     *
+     * @param file          文本文件
+     * @param deleteOnClose 关闭时是否删除该文件
+     * @param syntaxStyle   语法高亮类型
+     */
+    public void open(Path file, boolean deleteOnClose, String syntaxStyle) throws IOException {
+        close();
+        document = LargeTextDocument.open(file, deleteOnClose);
+        this.syntaxStyle = syntaxStyle == null ? SyntaxConstants.SYNTAX_STYLE_NONE : syntaxStyle;
+        textArea.setSyntaxEditingStyle(this.syntaxStyle);
+        startIndexing(document);
+        showPage(0);
+    }
+
+    /**
+     * 关闭当前文档，取消所有后台任务
+     */
+    public void close() {
+        generation++;
+        searchTimer.stop();
+        cancel(indexWorker);
+        cancel(searchWorker);
+        indexWorker = null;
+        searchWorker = null;
+        if (document != null) {
+            document.close();
+            document = null;
+        }
+        shownPage = null;
+        currentPage = 0;
+        requestedPage = 0;
+        lastMatchOffset = -1;
+        formatted = false;
+        searchStatusLabel.setText("");
+        searchField.setNoResult(false);
+        textArea.setText("");
+        updatePageLabel();
+    }
+
+    public boolean isOpen() {
+        return document != null;
+    }
+
+    public void setSyntaxStyle(String syntaxStyle) {
+        this.syntaxStyle = syntaxStyle == null ? SyntaxConstants.SYNTAX_STYLE_NONE : syntaxStyle;
+        textArea.setSyntaxEditingStyle(this.syntaxStyle);
+        if (formatted && !isJson()) {
+            setFormatted(false);
+        }
+    }
+
+    public boolean isJson() {
+        return SyntaxConstants.SYNTAX_STYLE_JSON.equals(syntaxStyle)
+                || SyntaxConstants.SYNTAX_STYLE_JSON_WITH_COMMENTS.equals(syntaxStyle);
+    }
+
+    /**
+     * 当前页是否以格式化方式显示（仅 JSON）
+     */
+    public void setFormatted(boolean formatted) {
+        boolean value = formatted && isJson();
+        if (this.formatted == value) {
+            return;
+        }
+        this.formatted = value;
+        if (document != null) {
+            showPage(currentPage, lastMatchOffset);
+        }
+    }
+
+    public void toggleFormatted() {
+        setFormatted(!formatted);
+    }
+
+    public void setLineWrap(boolean wrap) {
+        textArea.setLineWrap(wrap);
+    }
+
+    /**
+     * 当前显示的文本（只包含当前页）
+     */
+    public String getDisplayedText() {
+        return textArea.getText();
+    }
+
+    public void showSearch() {
+        searchField.requestFocusInWindow();
+        searchField.selectAll();
+    }
+
+    public void showPage(int page) {
+        showPage(page, -1);
+    }
+
+    private void showPage(int page, long highlightOffset) {
+        LargeTextDocument doc = document;
+        if (doc == null) {
+            return;
+        }
+        int target = Math.max(0, Math.min(page, doc.pageCount() - 1));
+        requestedPage = target;
+        long token = ++generation;
+        boolean format = formatted;
+        String query = searchField.getText();
+        boolean matchCase = searchField.isCaseSensitive();
+        new SwingWorker<PageView, Void>() {
+            @Override
+            protected PageView doInBackground() throws IOException {
+                LargeTextDocument.Page loaded = doc.readPage(target);
+                String text = format
+                        ? JsonWindowFormatter.format(loaded.text(), doc.jsonStateAt(loaded.startOffset()))
+                        : loaded.text();
+                int selectionStart = -1;
+                if (highlightOffset >= loaded.startOffset() && highlightOffset < loaded.endOffset()
+                        && query != null && !query.isEmpty()) {
+                    // 在原始页中数出命中是第几个匹配，再在显示文本中定位同一个匹配（格式化不改变字符串内容）
+                    int rawIndex = doc.charOffsetInPage(loaded, highlightOffset);
+                    int ordinal = countMatches(loaded.text(), query, matchCase, rawIndex);
+                    selectionStart = nthMatch(text, query, matchCase, ordinal);
+                }
+                return new PageView(loaded, text, selectionStart, query == null ? 0 : query.length());
+            }
+
+            @Override
+            protected void done() {
+                if (token != generation || doc != document) {
+                    return;
+                }
+                try {
+                    applyPage(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    log.warn("Failed to load large text page {}", target, e.getCause());
+                }
+            }
+        }.execute();
+    }
+
+    private void applyPage(PageView view) {
+        shownPage = view.page();
+        currentPage = view.page().index();
+        textArea.setText(view.text());
+        updateLineNumbering();
+        if (view.selectionStart() >= 0) {
+            textArea.select(view.selectionStart(), view.selectionStart() + view.selectionLength());
+        } else {
+            textArea.setCaretPosition(0);
+        }
+        updatePageLabel();
+    }
+
+    private void updateLineNumbering() {
+        long firstLine = shownPage == null || formatted ? 1 : shownPage.firstLine();
+        if (firstLine > 0 && firstLine <= Integer.MAX_VALUE) {
+            scrollPane.getGutter().setLineNumberingStartIndex((int) firstLine);
+        } else {
+            scrollPane.getGutter().setLineNumberingStartIndex(1);
+        }
+    }
+
+    private void updatePageLabel() {
+        LargeTextDocument doc = document;
+        previousPageButton.setEnabled(doc != null && currentPage > 0);
+        nextPageButton.setEnabled(doc != null && currentPage < doc.pageCount() - 1);
+        if (doc == null) {
+            pageLabel.setText("");
+            return;
+        }
+        StringBuilder text = new StringBuilder(UiI18n.get(UiMessageKeys.LARGE_TEXT_PAGE_INFO,
+                String.valueOf(currentPage + 1), String.valueOf(doc.pageCount())));
+        long totalLines = doc.totalLines();
+        if (totalLines > 0) {
+            text.append("  ").append(UiI18n.get(UiMessageKeys.LARGE_TEXT_TOTAL_LINES, String.valueOf(totalLines)));
+        } else {
+            int percent = (int) (doc.indexedBlocks() * 100L / doc.pageCount());
+            text.append("  ").append(UiI18n.get(UiMessageKeys.LARGE_TEXT_INDEXING, String.valueOf(percent)));
+        }
+        pageLabel.setText(text.toString());
+    }
+
+    private void startIndexing(LargeTextDocument doc) {
+        SwingWorker<Boolean, Integer> worker = new SwingWorker<>() {
+            @Override
+            protected Boolean doInBackground() throws IOException {
+                return doc.buildIndex(this::isCancelled, this::publish);
+            }
+
+            @Override
+            protected void process(List<Integer> chunks) {
+                if (doc == document) {
+                    updatePageLabel();
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || doc != document) {
+                    return;
+                }
+                try {
+                    get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    log.warn("Failed to index large text {}", doc.file(), e.getCause());
+                }
+                // 行号和格式化起点此时都已就绪，刷新当前页
+                showPage(requestedPage, lastMatchOffset);
+            }
+        };
+        indexWorker = worker;
+        worker.execute();
+    }
+
+    private void find(boolean forward) {
+        LargeTextDocument doc = document;
+        String query = searchField.getText();
+        cancel(searchWorker);
+        searchWorker = null;
+        if (doc == null || query == null || query.isEmpty()) {
+            searchStatusLabel.setText("");
+            searchField.setNoResult(false);
+            return;
+        }
+        boolean matchCase = searchField.isCaseSensitive();
+        long pageStart = shownPage != null ? shownPage.startOffset() : 0;
+        long pageEnd = shownPage != null ? shownPage.endOffset() : doc.size();
+        long from = forward
+                ? (lastMatchOffset >= 0 ? lastMatchOffset + 1 : pageStart)
+                : (lastMatchOffset >= 0 ? lastMatchOffset : pageEnd);
+        searchStatusLabel.setText(UiI18n.get(UiMessageKeys.LARGE_TEXT_SEARCHING));
+        SwingWorker<Long, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Long doInBackground() throws IOException {
+                long found = doc.find(query, matchCase, from, forward, this::isCancelled);
+                if (found < 0 && !isCancelled()) {
+                    // 到达文件末尾（或开头）后回绕一次
+                    found = doc.find(query, matchCase, forward ? 0 : doc.size(), forward, this::isCancelled);
+                }
+                return found;
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || doc != document || searchWorker != this) {
+                    return;
+                }
+                try {
+                    long found = get();
+                    searchField.setNoResult(found < 0);
+                    if (found < 0) {
+                        searchStatusLabel.setText(UiI18n.get(UiMessageKeys.SEARCH_NO_RESULTS));
+                        return;
+                    }
+                    searchStatusLabel.setText("");
+                    lastMatchOffset = found;
+                    showPage(doc.pageOf(found), found);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException | IOException e) {
+                    searchStatusLabel.setText("");
+                    log.warn("Failed to search large text {}", doc.file(), e);
+                }
+            }
+        };
+        searchWorker = worker;
+        worker.execute();
+    }
+
+    private static void cancel(SwingWorker<?, ?> worker) {
+        if (worker != null) {
+            worker.cancel(false);
+        }
+    }
+
+    static int countMatches(String text, String query, boolean matchCase, int before) {
+        int count = 0;
+        for (int i = 0; i + query.length() <= text.length() && i < before; i++) {
+            if (regionMatches(text, i, query, matchCase)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static int nthMatch(String text, String query, boolean matchCase, int ordinal) {
+        int seen = 0;
+        for (int i = 0; i + query.length() <= text.length(); i++) {
+            if (regionMatches(text, i, query, matchCase)) {
+                if (seen == ordinal) {
+                    return i;
+                }
+                seen++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 与 {@link LargeTextDocument#find} 保持一致：忽略大小写时只折叠 ASCII 字母
+     */
+    private static boolean regionMatches(String text, int offset, String query, boolean matchCase) {
+        for (int j = 0; j < query.length(); j++) {
+            char a = text.charAt(offset + j);
+            char b = query.charAt(j);
+            if (a != b && (matchCase || foldAscii(a) != foldAscii(b))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char foldAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static JButton createIconButton(String iconPath, String tooltip, Runnable action) {
+        JButton button = new JButton(IconUtil.createThemed(iconPath, 16, 16));
+        button.setToolTipText(tooltip);
+        button.setFocusable(false);
+        button.putClientProperty(FlatClientProperties.BUTTON_TYPE, FlatClientProperties.BUTTON_TYPE_TOOLBAR_BUTTON);
+        button.addActionListener(e -> action.run());
+        return button;
+    }
+
+    private record PageView(LargeTextDocument.Page page, String text, int selectionStart, int selectionLength) {
+    }
+}
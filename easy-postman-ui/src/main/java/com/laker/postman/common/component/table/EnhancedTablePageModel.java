@@ -0,0 +1,91 @@
+package com.laker.postman.common.component.table;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * EnhancedTablePanel 的当前页模型。
+ * <p>
+ * 不复制行数据，只持有行数组与视图下标数组上的一个 [from, to) 窗口，表格只会访问当前页的行。
+ * </p>
+ */
+final class EnhancedTablePageModel extends AbstractTableModel {
+
+    private String[] columns;
+    private Object[][] rows = new Object[0][];
+    /**
+     * null 表示按行数组原顺序展示
+     */
+    private int[] viewIndex;
+    private int from;
+    private int to;
+
+    EnhancedTablePageModel(String[] columns) {
+        this.columns = columns.clone();
+    }
+
+    /**
+     * 替换列结构并清空当前页
+     */
+    void setColumns(String[] columns) {
+        this.columns = columns.clone();
+        this.rows = new Object[0][];
+        this.viewIndex = null;
+        this.from = 0;
+        this.to = 0;
+        fireTableStructureChanged();
+    }
+
+    void setPage(Object[][] rows, int[] viewIndex, int from, int to) {
+        this.rows = rows;
+        this.viewIndex = viewIndex;
+        this.from = from;
+        this.to = Math.max(from, to);
+        fireTableDataChanged();
+    }
+
+    /**
+     * 原顺序视图下把新追加的行并入当前页，保留选中状态
+     */
+    void extendPage(Object[][] rows, int to) {
+        int oldCount = getRowCount();
+        this.rows = rows;
+        this.to = Math.max(this.to, to);
+        if (getRowCount() > oldCount) {
+            fireTableRowsInserted(oldCount, getRowCount() - 1);
+        }
+    }
+
+    Object[] getRow(int row) {
+        if (row < 0 || row >= getRowCount()) {
+            return null;
+        }
+        int index = from + row;
+        return rows[viewIndex == null ? index : viewIndex[index]];
+    }
+
+    @Override
+    public int getRowCount() {
+        return to - from;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return column < columns.length ? columns[column] : "";
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Object[] data = getRow(row);
+        return data != null && column < data.length ? data[column] : null;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+}
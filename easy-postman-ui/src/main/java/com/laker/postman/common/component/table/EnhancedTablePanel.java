@@ -23,6 +23,7 @@ import java.awt.datatransfer.StringSelection;
 import java.awt.event.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 
 /**
@@ -36,6 +37,8 @@ import java.util.function.Consumer;
  *   <li>右键菜单：复制单元格、复制整行</li>
  *   <li>支持运行时动态重置列结构（{@link #resetAndSetData}）</li>
  * </ul>
+ * 数据量超过 {@link #ASYNC_QUERY_ROW_THRESHOLD} 行时，过滤/排序在后台线程计算出行下标数组，
+ * 新条件到来时取消正在执行的计算；EDT 只根据下标数组取出当前页的行。
  */
 @Slf4j
 public class EnhancedTablePanel extends JPanel {
@@ -44,8 +47,40 @@ public class EnhancedTablePanel extends JPanel {
     private String[] currentColumns;
 
     // ── 数据 ──────────────────────────────────────────────────────────────
-    private final List<Object[]> allRows = new ArrayList<>();
-    private final List<Object[]> filteredRows = new ArrayList<>();
+    /**
+     * 全量行数组：只在尾部追加，整体替换时换新数组，后台查询直接读取提交时的数组引用
+     */
+    private Object[][] allRows = new Object[0][];
+    private int allRowCount = 0;
+    /**
+     * 整体替换数据时递增，用来判断 viewIndex 是否还对应当前这批数据
+     */
+    private int dataVersion = 0;
+    /**
+     * 过滤/排序后的行下标；null 表示不过滤不排序，按原顺序展示全部行
+     */
+    private int[] viewIndex = null;
+    /**
+     * viewIndex 对应的行数组和数据版本：后台查询完成前数据可能已被整体替换，
+     * 分页始终用这一对数据，直到 applyView 一起换掉
+     */
+    private Object[][] viewRows = allRows;
+    private int viewDataVersion = 0;
+    /**
+     * viewIndex 已计算到的行数，之后追加的行等待增量计算
+     */
+    private int viewCoveredRows = 0;
+    private EnhancedTableQuery.ColumnComparators columnComparators = new EnhancedTableQuery.ColumnComparators();
+
+    // ── 后台查询 ──────────────────────────────────────────────────────────
+    /**
+     * 超过此行数时过滤/排序放到后台线程，以下直接在 EDT 上计算，保证调用方拿到的视图立即可用
+     */
+    static final int ASYNC_QUERY_ROW_THRESHOLD = 20_000;
+    private static final ExecutorService QUERY_EXECUTOR = createQueryExecutor();
+    private int queryGeneration = 0;
+    private Future<?> queryFuture;
+    private boolean incrementalQueryPending = false;
 
     // ── 分页 ──────────────────────────────────────────────────────────────
     private int pageSize = 20;
@@ -90,7 +125,7 @@ public class EnhancedTablePanel extends JPanel {
     // ── Swing 组件 ────────────────────────────────────────────────────────
     @Getter
     private JTable table;
-    private DefaultTableModel tableModel;
+    private EnhancedTablePageModel tableModel;
     private SearchTextField searchField;
     private JButton colFilterBtn;
     private JLabel hintLabel;
@@ -135,12 +170,9 @@ public class EnhancedTablePanel extends JPanel {
         }
 
         // 重置 tableModel 列
-        tableModel.setRowCount(0);
-        tableModel.setColumnCount(0);
-        for (String col : currentColumns) tableModel.addColumn(col);
+        tableModel.setColumns(currentColumns);
 
-        allRows.clear();
-        if (rows != null) allRows.addAll(rows);
+        replaceRows(rows);
 
         updateHintLabel();
         applyFilterAndSort();
@@ -150,8 +182,7 @@ public class EnhancedTablePanel extends JPanel {
      * 保持列不变，仅替换数据
      */
     public void setData(List<Object[]> rows) {
-        allRows.clear();
-        if (rows != null) allRows.addAll(rows);
+        replaceRows(rows);
         currentPage = 0;
         sortCol = -1;
         updateHintLabel();
@@ -162,8 +193,7 @@ public class EnhancedTablePanel extends JPanel {
      * 保持当前排序、过滤、分页，仅替换数据。
      */
     public void setDataPreserveView(List<Object[]> rows) {
-        allRows.clear();
-        if (rows != null) allRows.addAll(rows);
+        replaceRows(rows);
         updateHintLabel();
         applyFilterAndSort();
     }
@@ -176,11 +206,7 @@ public class EnhancedTablePanel extends JPanel {
         if (viewRow < 0 || table == null || viewRow >= table.getRowCount()) {
             return null;
         }
-        int dataIndex = getPageOffset() + viewRow;
-        if (dataIndex < 0 || dataIndex >= filteredRows.size()) {
-            return null;
-        }
-        Object[] row = filteredRows.get(dataIndex);
+        Object[] row = tableModel.getRow(viewRow);
         return row == null ? null : row.clone();
     }
 
@@ -196,12 +222,16 @@ public class EnhancedTablePanel extends JPanel {
      * 清空数据（保持列结构）
      */
     public void clearData() {
-        allRows.clear();
-        filteredRows.clear();
+        cancelQuery();
+        replaceRows(null);
+        viewIndex = null;
+        viewRows = allRows;
+        viewDataVersion = dataVersion;
+        viewCoveredRows = 0;
         currentPage = 0;
         sortCol = -1;
         updateHintLabel();
-        tableModel.setRowCount(0);
+        tableModel.setPage(allRows, null, 0, 0);
         updatePaginationControls();
         updateEmptyState();
         notifyViewDataChanged();
@@ -211,30 +241,30 @@ public class EnhancedTablePanel extends JPanel {
      * 返回全量数据行数（不受分页/过滤影响）
      */
     public int getTotalRowCount() {
-        return allRows.size();
+        return allRowCount;
     }
 
     /**
      * 增量追加单行数据（无需重排序/重过滤，性能优于全量 setData）。
-     * 若当前有过滤或排序条件则回退到全量刷新以保证视图正确性。
+     * 若当前有过滤或排序条件，只对新增行计算后归并进现有视图。
      */
     public void addRow(Object[] row) {
         if (row == null) return;
-        allRows.add(row);
+        appendRow(row);
         updateHintLabel();
-        if ((filterText != null && !filterText.isBlank()) || hasActiveSort()) {
-            // 有过滤/排序条件时全量刷新保证新增行进入正确位置
-            applyFilterAndSort();
+        if (viewIndex != null || !currentQuery().isIdentity()) {
+            // 有过滤/排序条件时增量计算，保证新增行进入正确位置
+            scheduleQuery(false);
             return;
         }
-        filteredRows.add(row);
+        viewCoveredRows = allRowCount;
         // 若当前在最后一页（或 All），直接追加到 tableModel
         boolean isAll = (pageSize == 0);
-        int totalFiltered = filteredRows.size();
+        int totalFiltered = allRowCount;
         int totalPages = isAll ? 1 : (int) Math.ceil((double) totalFiltered / pageSize);
         boolean onLastPage = (currentPage >= totalPages - 1);
         if ((isAll || onLastPage) && (isAll || tableModel.getRowCount() < pageSize)) {
-            tableModel.addRow(row);
+            tableModel.extendPage(allRows, allRowCount);
         }
         updatePaginationControls();
         updateEmptyState();
@@ -503,12 +533,7 @@ public class EnhancedTablePanel extends JPanel {
     }
 
     private void initTableModel() {
-        tableModel = new DefaultTableModel(currentColumns, 0) {
-            @Override
-            public boolean isCellEditable(int r, int c) {
-                return false;
-            }
-        };
+        tableModel = new EnhancedTablePageModel(currentColumns);
     }
 
     private void initTableWidget() {
@@ -716,35 +741,109 @@ public class EnhancedTablePanel extends JPanel {
     }
 
     private void applyFilterAndSort() {
-        filteredRows.clear();
-        for (Object[] row : allRows) {
-            if (matches(row)) filteredRows.add(row);
+        scheduleQuery(true);
+    }
+
+    /**
+     * 提交过滤/排序计算。
+     *
+     * @param full true 时按当前条件全量重算并取消正在执行的计算；false 时只计算新追加的行并归并进现有视图
+     */
+    private void scheduleQuery(boolean full) {
+        EnhancedTableQuery query = currentQuery();
+        if (full) {
+            cancelQuery();
+        } else if (queryFuture != null) {
+            // 正在计算时新追加的行合并到下一次增量计算
+            incrementalQueryPending = true;
+            return;
+        } else if (viewIndex != null && viewDataVersion != dataVersion) {
+            // 现有视图是替换前的数据算出来的，不能在它上面归并
+            full = true;
+        }
+        if (query.isIdentity()) {
+            applyView(null, allRows, dataVersion, allRowCount);
+            return;
+        }
+
+        int generation = queryGeneration;
+        int version = dataVersion;
+        Object[][] rows = allRows;
+        int size = allRowCount;
+        int[] baseView = full ? null : viewIndex;
+        int baseCovered = full ? 0 : viewCoveredRows;
+        if (size <= ASYNC_QUERY_ROW_THRESHOLD) {
+            applyView(query.apply(rows, size, baseView, baseCovered), rows, version, size);
+            return;
+        }
+
+        queryFuture = QUERY_EXECUTOR.submit(() -> {
+            int[] view;
+            try {
+                view = query.apply(rows, size, baseView, baseCovered);
+            } catch (CancellationException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("table query failed", e);
+                // 保留现有视图，但要放开后续的增量计算，否则追加的行再也不会出现
+                SwingUtilities.invokeLater(() -> {
+                    if (generation != queryGeneration) return;
+                    queryFuture = null;
+                    incrementalQueryPending = false;
+                });
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (generation != queryGeneration) return;
+                queryFuture = null;
+                applyView(view, rows, version, size);
+                if (incrementalQueryPending) {
+                    incrementalQueryPending = false;
+                    scheduleQuery(false);
+                }
+            });
+        });
+    }
+
+    private void cancelQuery() {
+        queryGeneration++;
+        incrementalQueryPending = false;
+        if (queryFuture != null) {
+            queryFuture.cancel(true);
+            queryFuture = null;
         }
-        searchField.setNoResult(!filterText.isEmpty() && filteredRows.isEmpty());
-
-        if (sortCol >= 0 && sortCol < tableModel.getColumnCount()) {
-            final int col = sortCol;
-            final boolean asc = sortAsc;
-            filteredRows.sort((x, y) -> cmp(
-                    col < x.length ? x[col] : null,
-                    col < y.length ? y[col] : null, asc));
+    }
+
+    private EnhancedTableQuery currentQuery() {
+        int[] cols = null;
+        if (filterCols != null) {
+            cols = filterCols.stream().mapToInt(Integer::intValue).toArray();
         }
+        int col = hasActiveSort() && sortCol < tableModel.getColumnCount() ? sortCol : -1;
+        return new EnhancedTableQuery(filterText, cols, caseSensitive, wholeWord, col, sortAsc, columnComparators);
+    }
 
+    private void applyView(int[] view, Object[][] rows, int version, int coveredRows) {
+        viewIndex = view;
+        viewRows = rows;
+        viewDataVersion = version;
+        viewCoveredRows = coveredRows;
+        searchField.setNoResult(!filterText.isEmpty() && viewRowCount() == 0);
         updateHintLabel();
         refreshView();
     }
 
     private void refreshView() {
-        tableModel.setRowCount(0);
-        int total = filteredRows.size();
+        Object[] selected = tableModel.getRow(table.getSelectedRow());
+        int total = viewRowCount();
         int pages = totalPages();
         if (currentPage >= pages) currentPage = Math.max(0, pages - 1);
 
         int from = getPageOffset();
         int to = (pageSize == 0) ? total : Math.min(from + pageSize, total);
-        for (int i = from; i < to; i++) {
-            tableModel.addRow(filteredRows.get(i));
-        }
+        // 只把当前页的窗口交给表格，行数据按下标按需读取
+        tableModel.setPage(viewIndex == null ? allRows : viewRows, viewIndex, from, to);
+        restoreSelection(selected);
 
         updatePaginationControls();
         updateEmptyState();
@@ -754,6 +853,56 @@ public class EnhancedTablePanel extends JPanel {
         notifyViewDataChanged();
     }
 
+    /**
+     * 视图重算后，原先选中的行仍在当前页时保持选中
+     */
+    private void restoreSelection(Object[] selected) {
+        if (selected == null) return;
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            if (tableModel.getRow(row) == selected) {
+                table.setRowSelectionInterval(row, row);
+                return;
+            }
+        }
+    }
+
+    private void replaceRows(List<Object[]> rows) {
+        allRows = rows == null ? new Object[0][] : rows.toArray(new Object[0][]);
+        allRowCount = allRows.length;
+        dataVersion++;
+        columnComparators = new EnhancedTableQuery.ColumnComparators();
+    }
+
+    // 扩容时换新数组，后台查询持有的旧数组引用保持不变
+    private void appendRow(Object[] row) {
+        if (allRowCount == allRows.length) {
+            allRows = Arrays.copyOf(allRows, Math.max(16, allRowCount + (allRowCount >> 1)));
+        }
+        allRows[allRowCount++] = row;
+    }
+
+    private int viewRowCount() {
+        return viewIndex == null ? allRowCount : viewIndex.length;
+    }
+
+    /**
+     * 当前视图所基于的总行数，与 viewRowCount 来自同一批数据
+     */
+    private int viewTotalRowCount() {
+        return viewIndex == null ? allRowCount : viewCoveredRows;
+    }
+
+    private static ExecutorService createQueryExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "enhanced-table-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private void notifyViewDataChanged() {
         if (viewDataChangedListener != null) {
             SwingUtilities.invokeLater(viewDataChangedListener);
@@ -761,7 +910,7 @@ public class EnhancedTablePanel extends JPanel {
     }
 
     private void updatePaginationControls() {
-        int total = filteredRows.size();
+        int total = viewRowCount();
         int pages = totalPages();
         String info;
         if (total == 0) {
@@ -784,8 +933,8 @@ public class EnhancedTablePanel extends JPanel {
      * 更新顶部行数提示（过滤时显示过滤比例）
      */
     private void updateHintLabel() {
-        int total = allRows.size();
-        int filtered = filteredRows.size();
+        int total = viewTotalRowCount();
+        int filtered = viewRowCount();
         String suffix = UiI18n.get(UiMessageKeys.TABLE_ROWS_SUFFIX);
         if (!filterText.isEmpty() && filtered != total) {
             hintLabel.setText(UiI18n.get(UiMessageKeys.TABLE_ROWS_FILTERED,
@@ -799,14 +948,14 @@ public class EnhancedTablePanel extends JPanel {
      * 更新空状态覆盖层文字和可见性
      */
     private void updateEmptyState() {
-        boolean hasData = !filteredRows.isEmpty();
+        boolean hasData = viewRowCount() > 0;
         boolean hasFilter = !filterText.isEmpty();
         if (hasData) {
             emptyLabel.setVisible(false);
         } else if (hasFilter) {
             emptyLabel.setText(UiI18n.get(UiMessageKeys.TABLE_EMPTY_NO_MATCH));
             emptyLabel.setVisible(true);
-        } else if (allRows.isEmpty()) {
+        } else if (allRowCount == 0) {
             emptyLabel.setText(UiI18n.get(UiMessageKeys.TABLE_EMPTY_NO_DATA));
             emptyLabel.setVisible(true);
         } else {
@@ -877,7 +1026,7 @@ public class EnhancedTablePanel extends JPanel {
 
     private int totalPages() {
         if (pageSize == 0) return 1;
-        int n = filteredRows.size();
+        int n = viewRowCount();
         return n == 0 ? 1 : (int) Math.ceil((double) n / pageSize);
     }
 
@@ -885,41 +1034,6 @@ public class EnhancedTablePanel extends JPanel {
         return pageSize == 0 ? 0 : currentPage * pageSize;
     }
 
-    private boolean matches(Object[] row) {
-        if (filterText.isEmpty()) return true;
-        if (filterCols == null) return matchesAnyCell(row);
-        return matchesSelectedCols(row);
-    }
-
-    private boolean matchesAnyCell(Object[] row) {
-        for (Object cell : row) {
-            if (cellContains(cell)) return true;
-        }
-        return false;
-    }
-
-    private boolean matchesSelectedCols(Object[] row) {
-        for (int ci : filterCols) {
-            if (ci < row.length && cellContains(row[ci])) return true;
-        }
-        return false;
-    }
-
-    private boolean cellContains(Object cell) {
-        if (cell == null) return false;
-        String text = caseSensitive ? cell.toString() : cell.toString().toLowerCase();
-        if (wholeWord) {
-            for (String word : filterText.split("\\s+")) {
-                if (text.startsWith(word) || text.endsWith(word) ||
-                        text.contains(" " + word) || text.contains(word + " ")) {
-                    return true;
-                }
-            }
-            return false;
-        }
-        return text.contains(filterText);
-    }
-
     /**
      * 在列头上追加排序箭头指示
      */
@@ -987,26 +1101,6 @@ public class EnhancedTablePanel extends JPanel {
         return false;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private static int cmp(Object a, Object b, boolean asc) {
-        if (a == null && b == null) return 0;
-        if (a == null) return asc ? -1 : 1;
-        if (b == null) return asc ? 1 : -1;
-        int r;
-        if (a instanceof Number na && b instanceof Number nb) {
-            r = Double.compare(na.doubleValue(), nb.doubleValue());
-        } else if (a instanceof Comparable ca) {
-            try {
-                r = ca.compareTo(b);
-            } catch (ClassCastException ex) {
-                r = a.toString().compareToIgnoreCase(b.toString());
-            }
-        } else {
-            r = a.toString().compareToIgnoreCase(b.toString());
-        }
-        return asc ? r : -r;
-    }
-
     private static void clip(String s) {
         Toolkit.getDefaultToolkit().getSystemClipboard()
                 .setContents(new StringSelection(s), null);
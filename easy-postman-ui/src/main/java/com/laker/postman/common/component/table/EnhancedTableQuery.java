@@ -0,0 +1,339 @@
+package com.laker.postman.common.component.table;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * EnhancedTablePanel 的一次过滤/排序查询。
+ * <p>
+ * 只读取提交时的行数组和行数（行数组只追加、整体替换时换新数组，因此可以在后台线程安全读取），
+ * 输出命中行的下标数组。可以在已有视图的基础上只计算新追加的行再归并。
+ * 后台执行时线程被中断即视为取消，抛出 {@link CancellationException}。
+ * </p>
+ */
+final class EnhancedTableQuery {
+
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    /**
+     * 已按大小写设置处理过的关键字，空串表示不过滤
+     */
+    private final String filterText;
+    /**
+     * null 表示搜索全部列
+     */
+    private final int[] filterCols;
+    private final boolean caseSensitive;
+    private final boolean wholeWord;
+    private final int sortCol;
+    private final boolean sortAsc;
+    private final ColumnComparators comparators;
+
+    EnhancedTableQuery(String filterText, int[] filterCols, boolean caseSensitive, boolean wholeWord,
+                       int sortCol, boolean sortAsc, ColumnComparators comparators) {
+        this.filterText = filterText == null ? "" : filterText;
+        this.filterCols = filterCols;
+        this.caseSensitive = caseSensitive;
+        this.wholeWord = wholeWord;
+        this.sortCol = sortCol;
+        this.sortAsc = sortAsc;
+        this.comparators = comparators;
+    }
+
+    /**
+     * 不过滤也不排序时视图就是行数组本身，无需计算
+     */
+    boolean isIdentity() {
+        return filterText.isEmpty() && sortCol < 0;
+    }
+
+    /**
+     * @param rows        行数组
+     * @param size        有效行数
+     * @param baseView    已按本查询计算好的前 baseCovered 行的视图，为 null 时全量计算
+     * @param baseCovered baseView 覆盖的行数
+     * @return 命中行下标，按排序列排好序
+     */
+    int[] apply(Object[][] rows, int size, int[] baseView, int baseCovered) {
+        int start = baseView == null ? 0 : Math.min(baseCovered, size);
+        int[] matched = new int[size - start];
+        int count = 0;
+        for (int i = start; i < size; i++) {
+            if ((i & (CANCEL_CHECK_INTERVAL - 1)) == 0) {
+                checkCancelled();
+            }
+            if (matches(rows[i])) {
+                matched[count++] = i;
+            }
+        }
+        matched = count == matched.length ? matched : Arrays.copyOf(matched, count);
+
+        IntBinaryOperator comparator = comparator(rows, size, matched, baseView);
+        if (comparator != null) {
+            sort(matched, comparator);
+        }
+        if (baseView == null || baseView.length == 0) {
+            return matched;
+        }
+        if (matched.length == 0) {
+            return baseView;
+        }
+        return merge(baseView, matched, comparator != null ? comparator : Integer::compare);
+    }
+
+    // ── 过滤 ──────────────────────────────────────────────────────────────
+
+    boolean matches(Object[] row) {
+        if (filterText.isEmpty()) return true;
+        if (row == null) return false;
+        if (filterCols == null) {
+            for (Object cell : row) {
+                if (cellContains(cell)) return true;
+            }
+            return false;
+        }
+        for (int ci : filterCols) {
+            if (ci < row.length && cellContains(row[ci])) return true;
+        }
+        return false;
+    }
+
+    private boolean cellContains(Object cell) {
+        if (cell == null) return false;
+        String text = cell.toString();
+        if (wholeWord) {
+            if (!caseSensitive) text = text.toLowerCase();
+            for (String word : filterText.split("\\s+")) {
+                if (text.startsWith(word) || text.endsWith(word) ||
+                        text.contains(" " + word) || text.contains(word + " ")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return caseSensitive ? text.contains(filterText) : containsIgnoreCase(text, filterText);
+    }
+
+    // 逐段忽略大小写比较，避免为每个单元格生成一份小写副本
+    private static boolean containsIgnoreCase(String text, String lowerKeyword) {
+        int length = lowerKeyword.length();
+        for (int i = 0, last = text.length() - length; i <= last; i++) {
+            if (text.regionMatches(true, i, lowerKeyword, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ── 排序 ──────────────────────────────────────────────────────────────
+
+    /**
+     * 按列的值类型选择比较方式：纯数值列预先取出 double 键，同类 Comparable 列直接 compareTo，
+     * 混合类型退回逐对比较。null 视为最小值，比较结果相等时按原顺序。
+     */
+    private IntBinaryOperator comparator(Object[][] rows, int size, int[] matched, int[] baseView) {
+        if (sortCol < 0) {
+            return null;
+        }
+        int col = sortCol;
+        ColumnKind kind = comparators.kind(col, rows, size);
+        IntBinaryOperator valueComparator;
+        if (kind == ColumnKind.NUMBER) {
+            double[] keys = new double[size];
+            boolean[] nulls = new boolean[size];
+            fillNumberKeys(rows, col, matched, keys, nulls);
+            if (baseView != null) {
+                // 增量归并时已有视图里的行也要参与比较
+                fillNumberKeys(rows, col, baseView, keys, nulls);
+            }
+            valueComparator = (a, b) -> {
+                if (nulls[a] || nulls[b]) {
+                    return Boolean.compare(!nulls[a], !nulls[b]);
+                }
+                return Double.compare(keys[a], keys[b]);
+            };
+        } else if (kind == ColumnKind.COMPARABLE) {
+            valueComparator = (a, b) -> compareComparable(cell(rows[a], col), cell(rows[b], col));
+        } else {
+            valueComparator = (a, b) -> compareMixed(cell(rows[a], col), cell(rows[b], col));
+        }
+        boolean asc = sortAsc;
+        return (a, b) -> {
+            int result = valueComparator.applyAsInt(a, b);
+            if (result != 0) {
+                return asc ? result : -result;
+            }
+            return Integer.compare(a, b);
+        };
+    }
+
+    private static void fillNumberKeys(Object[][] rows, int col, int[] indexes, double[] keys, boolean[] nulls) {
+        for (int i = 0; i < indexes.length; i++) {
+            if ((i & (CANCEL_CHECK_INTERVAL - 1)) == 0) {
+                checkCancelled();
+            }
+            int index = indexes[i];
+            if (index >= keys.length) {
+                continue;
+            }
+            Object value = cell(rows[index], col);
+            if (value == null) {
+                nulls[index] = true;
+            } else {
+                keys[index] = ((Number) value).doubleValue();
+            }
+        }
+    }
+
+    private static Object cell(Object[] row, int col) {
+        return row != null && col < row.length ? row[col] : null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareComparable(Object a, Object b) {
+        if (a == null || b == null) {
+            return Boolean.compare(a != null, b != null);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compareMixed(Object a, Object b) {
+        if (a == null || b == null) {
+            return Boolean.compare(a != null, b != null);
+        }
+        if (a instanceof Number na && b instanceof Number nb) {
+            return Double.compare(na.doubleValue(), nb.doubleValue());
+        }
+        if (a instanceof Comparable ca) {
+            try {
+                return ca.compareTo(b);
+            } catch (ClassCastException ex) {
+                return a.toString().compareToIgnoreCase(b.toString());
+            }
+        }
+        return a.toString().compareToIgnoreCase(b.toString());
+    }
+
+    /**
+     * 稳定的自底向上归并排序，行下标不装箱
+     */
+    private static void sort(int[] rows, IntBinaryOperator comparator) {
+        int length = rows.length;
+        if (length < 2) {
+            return;
+        }
+        int[] src = rows;
+        int[] dst = new int[length];
+        for (int width = 1; width < length; width <<= 1) {
+            checkCancelled();
+            for (int left = 0; left < length; left += width << 1) {
+                int mid = Math.min(left + width, length);
+                int right = Math.min(left + (width << 1), length);
+                mergeInto(src, left, mid, src, mid, right, dst, left, comparator);
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != rows) {
+            System.arraycopy(src, 0, rows, 0, length);
+        }
+    }
+
+    private static int[] merge(int[] first, int[] second, IntBinaryOperator comparator) {
+        int[] merged = new int[first.length + second.length];
+        mergeInto(first, 0, first.length, second, 0, second.length, merged, 0, comparator);
+        return merged;
+    }
+
+    private static void mergeInto(int[] a, int aFrom, int aTo,
+                                  int[] b, int bFrom, int bTo,
+                                  int[] out, int outFrom,
+                                  IntBinaryOperator comparator) {
+        int i = aFrom;
+        int j = bFrom;
+        int k = outFrom;
+        while (i < aTo && j < bTo) {
+            out[k++] = comparator.applyAsInt(a[i], b[j]) <= 0 ? a[i++] : b[j++];
+        }
+        while (i < aTo) {
+            out[k++] = a[i++];
+        }
+        while (j < bTo) {
+            out[k++] = b[j++];
+        }
+    }
+
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("table query cancelled");
+        }
+    }
+
+    // ── 列比较方式缓存 ─────────────────────────────────────────────────────
+
+    enum ColumnKind {
+        /**
+         * 全部为空
+         */
+        EMPTY,
+        NUMBER,
+        /**
+         * 全部是同一个 Comparable 类型
+         */
+        COMPARABLE,
+        MIXED
+    }
+
+    /**
+     * 每列的值类型，按已扫描的行数增量更新；行数组整体替换时换一个新实例。
+     * 追加的行只会让类型从具体退化到 MIXED，不会反过来。
+     */
+    static final class ColumnComparators {
+
+        private ColumnKind[] kinds = new ColumnKind[0];
+        private Class<?>[] comparableTypes = new Class<?>[0];
+        private int[] scannedRows = new int[0];
+
+        synchronized ColumnKind kind(int col, Object[][] rows, int size) {
+            ensureColumn(col);
+            ColumnKind kind = kinds[col];
+            Class<?> type = comparableTypes[col];
+            for (int i = scannedRows[col]; i < size && kind != ColumnKind.MIXED; i++) {
+                Object value = cell(rows[i], col);
+                if (value == null) {
+                    continue;
+                }
+                if (kind == ColumnKind.EMPTY) {
+                    if (value instanceof Number) {
+                        kind = ColumnKind.NUMBER;
+                    } else if (value instanceof Comparable<?>) {
+                        kind = ColumnKind.COMPARABLE;
+                        type = value.getClass();
+                    } else {
+                        kind = ColumnKind.MIXED;
+                    }
+                } else if (kind == ColumnKind.NUMBER ? !(value instanceof Number) : value.getClass() != type) {
+                    kind = ColumnKind.MIXED;
+                }
+            }
+            kinds[col] = kind;
+            comparableTypes[col] = type;
+            scannedRows[col] = Math.max(scannedRows[col], size);
+            return kind;
+        }
+
+        private void ensureColumn(int col) {
+            if (col < kinds.length) {
+                return;
+            }
+            int oldLength = kinds.length;
+            kinds = Arrays.copyOf(kinds, col + 1);
+            comparableTypes = Arrays.copyOf(comparableTypes, col + 1);
+            scannedRows = Arrays.copyOf(scannedRows, col + 1);
+            Arrays.fill(kinds, oldLength, kinds.length, ColumnKind.EMPTY);
+        }
+    }
+}
@@ -68,4 +68,12 @@ public final class UiMessageKeys {
 
     public static final String NOTIFICATION_EXPAND = "ui.notification.expand";
     public static final String NOTIFICATION_COLLAPSE = "ui.notification.collapse";
+
+    public static final String LARGE_TEXT_PREVIOUS_PAGE = "ui.largeText.previousPage";
+    public static final String LARGE_TEXT_NEXT_PAGE = "ui.largeText.nextPage";
+    public static final String LARGE_TEXT_PAGE_INFO = "ui.largeText.pageInfo";
+    public static final String LARGE_TEXT_TOTAL_LINES = "ui.largeText.totalLines";
+    public static final String LARGE_TEXT_INDEXING = "ui.largeText.indexing";
+    public static final String LARGE_TEXT_SEARCH_PLACEHOLDER = "ui.largeText.searchPlaceholder";
+    public static final String LARGE_TEXT_SEARCHING = "ui.largeText.searching";
 }
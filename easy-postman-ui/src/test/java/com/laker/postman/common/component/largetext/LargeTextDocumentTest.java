@@ -0,0 +1,126 @@
+package com.laker.postman.common.component.largetext;
+
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class LargeTextDocumentTest {
+
+    @Test
+    public void pagesShouldStartAtLineBoundariesAndCoverTheWholeFile() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; content.length() < LargeTextDocument.PAGE_SIZE * 3 + 1000; i++) {
+            content.append("line ").append(i).append(" 中文内容\n");
+        }
+        Path file = write(content.toString());
+
+        try (LargeTextDocument document = LargeTextDocument.open(file, true)) {
+            assertTrue(document.buildIndex(() -> false, null));
+            StringBuilder joined = new StringBuilder();
+            long expectedLine = 1;
+            for (int page = 0; page < document.pageCount(); page++) {
+                LargeTextDocument.Page loaded = document.readPage(page);
+                assertEquals(loaded.firstLine(), expectedLine);
+                assertTrue(loaded.text().startsWith("line " + expectedLine + " "), loaded.text().substring(0, 20));
+                expectedLine += loaded.text().chars().filter(c -> c == '\n').count();
+                joined.append(loaded.text());
+            }
+            assertEquals(joined.toString(), content.toString());
+            assertEquals(document.totalLines(), expectedLine);
+        }
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void pagesOfASingleLongLineShouldSplitOnCharacterBoundaries() throws Exception {
+        String content = "汉".repeat(LargeTextDocument.PAGE_SIZE / 2);
+        Path file = write(content);
+
+        try (LargeTextDocument document = LargeTextDocument.open(file, true)) {
+            assertTrue(document.pageCount() > 1);
+            StringBuilder joined = new StringBuilder();
+            for (int page = 0; page < document.pageCount(); page++) {
+                joined.append(document.readPage(page).text());
+            }
+            assertEquals(joined.toString(), content);
+        }
+    }
+
+    @Test
+    public void findShouldLocateMatchesAcrossChunksInBothDirections() throws Exception {
+        String filler = "x".repeat(3 * 1024 * 1024);
+        String content = "Needle" + filler + "needle" + filler + "NEEDLE";
+        Path file = write(content);
+
+        try (LargeTextDocument document = LargeTextDocument.open(file, true)) {
+            long second = 6 + filler.length();
+            long third = second + 6 + filler.length();
+            assertEquals(document.find("needle", false, 1, true, () -> false), second);
+            assertEquals(document.find("NEEDLE", true, 0, true, () -> false), third);
+            assertEquals(document.find("needle", false, third, false, () -> false), second);
+            assertEquals(document.find("needle", false, second, false, () -> false), 0L);
+            assertEquals(document.find("needle", true, third + 1, true, () -> false), -1L);
+            assertEquals(document.find("needle", false, 0, true, () -> true), -1L);
+
+            int page = document.pageOf(third);
+            LargeTextDocument.Page loaded = document.readPage(page);
+            int index = document.charOffsetInPage(loaded, third);
+            assertEquals(loaded.text().substring(index), "NEEDLE");
+        }
+    }
+
+    @Test
+    public void formattingPageByPageShouldMatchFormattingTheWholeDocument() throws Exception {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; json.length() < LargeTextDocument.PAGE_SIZE * 2; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i).append(",\"name\":\"a{b}[c],\\\"d\\\":").append(i)
+                    .append("\",\"tags\":[\"x\",\"y\"],\"meta\":{\"ok\":true}}");
+        }
+        json.append("]}");
+        Path file = write(json.toString());
+
+        try (LargeTextDocument document = LargeTextDocument.open(file, true)) {
+            assertTrue(document.buildIndex(() -> false, null));
+            StringBuilder paged = new StringBuilder();
+            for (int page = 0; page < document.pageCount(); page++) {
+                LargeTextDocument.Page loaded = document.readPage(page);
+                paged.append(JsonWindowFormatter.format(loaded.text(), document.jsonStateAt(loaded.startOffset())));
+            }
+            String whole = JsonWindowFormatter.format(json.toString(), null);
+            assertEquals(paged.toString(), whole);
+            assertTrue(whole.startsWith("{\n  \"items\": [\n    {\n      \"id\": 0,"), whole.substring(0, 40));
+            assertTrue(whole.endsWith("\n  ]\n}"));
+        }
+    }
+
+    @Test
+    public void jsonStateShouldBeUnknownUntilTheBlockIsIndexed() throws Exception {
+        Path file = write("[" + "1,".repeat(LargeTextDocument.PAGE_SIZE) + "1]");
+
+        try (LargeTextDocument document = LargeTextDocument.open(file, true)) {
+            long offset = LargeTextDocument.PAGE_SIZE + 10L;
+            assertEquals(document.jsonStateAt(offset), null);
+            assertEquals(document.lineNumberAt(offset), -1L);
+            int[] calls = {0};
+            assertFalse(document.buildIndex(() -> calls[0]++ > 0, null));
+            assertTrue(document.buildIndex(() -> false, null));
+            assertEquals(document.jsonStateAt(offset).depth(), 1);
+            assertEquals(document.lineNumberAt(offset), 1L);
+        }
+    }
+
+    private static Path write(String content) throws Exception {
+        Path file = Files.createTempFile("large-text-document-test", ".txt");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
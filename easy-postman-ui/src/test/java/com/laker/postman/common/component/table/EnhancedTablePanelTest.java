@@ -0,0 +1,201 @@
+package com.laker.postman.common.component.table;
+
+import com.laker.postman.common.component.SearchTextField;
+import org.testng.annotations.Test;
+
+import javax.swing.*;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class EnhancedTablePanelTest {
+
+    @Test
+    public void shouldAppendStreamedRowsToLastPageWithoutRebuildingIt() throws Exception {
+        AtomicReference<EnhancedTablePanel> panelRef = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            EnhancedTablePanel panel = new EnhancedTablePanel(new String[]{"id", "name"});
+            panel.setAutoResizeOnRefresh(false);
+            panel.setData(rows(0, 5));
+            panel.getTable().setRowSelectionInterval(2, 2);
+            panel.addRow(new Object[]{5, "row-5"});
+            panelRef.set(panel);
+        });
+
+        EnhancedTablePanel panel = panelRef.get();
+        assertEquals(panel.getTotalRowCount(), 6);
+        assertEquals(panel.getTable().getRowCount(), 6);
+        assertEquals(panel.getTable().getSelectedRow(), 2);
+        assertEquals(panel.getVisibleRowData(5)[1], "row-5");
+        assertNull(panel.getVisibleRowData(6));
+    }
+
+    @Test
+    public void shouldFilterLargeDataOffEdtAndMergeLaterAppends() throws Exception {
+        int size = EnhancedTablePanel.ASYNC_QUERY_ROW_THRESHOLD + 5_000;
+        AtomicReference<EnhancedTablePanel> panelRef = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            EnhancedTablePanel panel = new EnhancedTablePanel(new String[]{"id", "name"});
+            panel.setAutoResizeOnRefresh(false);
+            panel.setData(rows(0, size));
+            searchField(panel).setText("ROW-1234");
+            panelRef.set(panel);
+        });
+        EnhancedTablePanel panel = panelRef.get();
+
+        // row-1234 以及 row-12340..row-12349
+        awaitVisibleRows(panel, 11);
+        SwingUtilities.invokeAndWait(() -> panel.addRow(new Object[]{-1, "row-1234-late"}));
+        awaitVisibleRows(panel, 12);
+
+        AtomicReference<Object[]> last = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> last.set(panel.getVisibleRowData(11)));
+        assertEquals(last.get()[1], "row-1234-late");
+        assertEquals(panel.getTotalRowCount(), size + 1);
+    }
+
+    @Test
+    public void pagingShouldKeepPreviousViewWhileReplacedDataIsStillQueried() throws Exception {
+        int size = EnhancedTablePanel.ASYNC_QUERY_ROW_THRESHOLD + 5_000;
+        AtomicReference<EnhancedTablePanel> panelRef = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            EnhancedTablePanel panel = new EnhancedTablePanel(new String[]{"id", "name"});
+            panel.setAutoResizeOnRefresh(false);
+            panel.setData(rows(0, size));
+            searchField(panel).setText("row-2");
+            panelRef.set(panel);
+        });
+        EnhancedTablePanel panel = panelRef.get();
+        awaitVisibleRows(panel, 20);
+
+        // 占住查询线程，让替换数据后的查询停在队列里
+        CountDownLatch release = new CountDownLatch(1);
+        queryExecutor().submit(() -> {
+            release.await();
+            return null;
+        });
+        try {
+            List<Object[]> shorter = new ArrayList<>();
+            for (int i = 0; i <= EnhancedTablePanel.ASYNC_QUERY_ROW_THRESHOLD; i++) {
+                shorter.add(new Object[]{i, "new-" + i});
+            }
+            SwingUtilities.invokeAndWait(() -> {
+                panel.setDataPreserveView(shorter);
+                button(panel, "btnNext").doClick();
+            });
+
+            // 第二页仍是旧数据算出来的视图：row-2、row-20..29、row-200.. 中第 20~39 个
+            List<Object> names = new ArrayList<>();
+            SwingUtilities.invokeAndWait(() -> {
+                for (int row = 0; row < panel.getTable().getRowCount(); row++) {
+                    names.add(panel.getVisibleRowData(row)[1]);
+                }
+            });
+            assertEquals(names.size(), 20);
+            assertEquals(names.get(0), "row-209");
+            assertEquals(names.get(19), "row-228");
+        } finally {
+            release.countDown();
+        }
+
+        awaitVisibleRows(panel, 0);
+        assertEquals(panel.getTotalRowCount(), EnhancedTablePanel.ASYNC_QUERY_ROW_THRESHOLD + 1);
+    }
+
+    @Test
+    public void failedBackgroundQueryShouldNotBlockLaterAppends() throws Exception {
+        int size = EnhancedTablePanel.ASYNC_QUERY_ROW_THRESHOLD + 5_000;
+        List<Object[]> data = rows(0, size);
+        // 第一次被读取时抛异常，之后正常
+        AtomicInteger reads = new AtomicInteger();
+        data.set(0, new Object[]{0, new Object() {
+            @Override
+            public String toString() {
+                if (reads.getAndIncrement() == 0) {
+                    throw new IllegalStateException("boom");
+                }
+                return "row-0";
+            }
+        }});
+        AtomicReference<EnhancedTablePanel> panelRef = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            EnhancedTablePanel panel = new EnhancedTablePanel(new String[]{"id", "name"});
+            panel.setAutoResizeOnRefresh(false);
+            panel.setData(data);
+            searchField(panel).setText("row-1234");
+            panelRef.set(panel);
+        });
+        EnhancedTablePanel panel = panelRef.get();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (reads.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(reads.get() > 0);
+        // 等失败回调在 EDT 上执行完
+        Thread.sleep(100);
+        SwingUtilities.invokeAndWait(() -> { });
+
+        SwingUtilities.invokeAndWait(() -> panel.addRow(new Object[]{-1, "row-1234-late"}));
+        awaitVisibleRows(panel, 12);
+    }
+
+    private static void awaitVisibleRows(EnhancedTablePanel panel, int expected) throws Exception {
+        AtomicReference<Integer> rowCount = new AtomicReference<>(-1);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            SwingUtilities.invokeAndWait(() -> rowCount.set(panel.getTable().getRowCount()));
+            if (rowCount.get() == expected) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        assertTrue(false, "expected " + expected + " visible rows but was " + rowCount.get());
+    }
+
+    private static List<Object[]> rows(int from, int to) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            rows.add(new Object[]{i, "row-" + i});
+        }
+        return rows;
+    }
+
+    private static JButton button(EnhancedTablePanel panel, String name) {
+        try {
+            Field field = EnhancedTablePanel.class.getDeclaredField(name);
+            field.setAccessible(true);
+            return (JButton) field.get(panel);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(name + " not found", e);
+        }
+    }
+
+    private static ExecutorService queryExecutor() {
+        try {
+            Field field = EnhancedTablePanel.class.getDeclaredField("QUERY_EXECUTOR");
+            field.setAccessible(true);
+            return (ExecutorService) field.get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError("QUERY_EXECUTOR not found", e);
+        }
+    }
+
+    private static SearchTextField searchField(EnhancedTablePanel panel) {
+        try {
+            Field field = EnhancedTablePanel.class.getDeclaredField("searchField");
+            field.setAccessible(true);
+            return (SearchTextField) field.get(panel);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError("searchField not found", e);
+        }
+    }
+}
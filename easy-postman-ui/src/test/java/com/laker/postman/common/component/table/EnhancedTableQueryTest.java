@@ -0,0 +1,83 @@
+package com.laker.postman.common.component.table;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CancellationException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.expectThrows;
+
+public class EnhancedTableQueryTest {
+
+    private static final Object[][] ROWS = {
+            {"alpha", 10, "Order"},
+            {"Beta", 2.5, null},
+            {"gamma", null, "order-2"},
+            {"delta", 7L, "refund"},
+    };
+
+    @Test
+    public void shouldFilterIgnoringCaseWithinSelectedColumns() {
+        EnhancedTableQuery all = query("ORDER".toLowerCase(), null, -1, true);
+        assertEquals(all.apply(ROWS, ROWS.length, null, 0), new int[]{0, 2});
+
+        EnhancedTableQuery nameOnly = query("a", new int[]{0}, -1, true);
+        assertEquals(nameOnly.apply(ROWS, ROWS.length, null, 0), new int[]{0, 1, 2, 3});
+
+        EnhancedTableQuery caseSensitive = new EnhancedTableQuery("Beta", null, true, false, -1, true,
+                new EnhancedTableQuery.ColumnComparators());
+        assertEquals(caseSensitive.apply(ROWS, ROWS.length, null, 0), new int[]{1});
+    }
+
+    @Test
+    public void shouldSortNumbersAcrossNumericTypesWithNullsFirst() {
+        assertEquals(query("", null, 1, true).apply(ROWS, ROWS.length, null, 0), new int[]{2, 1, 3, 0});
+        assertEquals(query("", null, 1, false).apply(ROWS, ROWS.length, null, 0), new int[]{0, 3, 1, 2});
+        // 同类 Comparable 列直接 compareTo（区分大小写，与原排序一致）
+        assertEquals(query("", null, 0, true).apply(ROWS, ROWS.length, null, 0), new int[]{1, 0, 3, 2});
+    }
+
+    @Test
+    public void shouldMergeAppendedRowsIntoExistingViewLikeFullQuery() {
+        Object[][] rows = new Object[200][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[]{"row-" + i, (i * 37) % 50, i % 3 == 0 ? "keep" : "drop"};
+        }
+        EnhancedTableQuery.ColumnComparators comparators = new EnhancedTableQuery.ColumnComparators();
+        EnhancedTableQuery query = new EnhancedTableQuery("keep", null, false, false, 1, false, comparators);
+
+        int[] base = query.apply(rows, 120, null, 0);
+        int[] merged = query.apply(rows, 200, base, 120);
+
+        assertEquals(merged, query.apply(rows, 200, null, 0));
+    }
+
+    @Test
+    public void shouldFallBackToMixedComparisonWhenColumnTypesDiffer() {
+        Object[][] rows = {{"b"}, {3}, {"A"}, {1}};
+        EnhancedTableQuery query = query("", null, 0, true);
+        assertEquals(query.apply(rows, rows.length, null, 0).length, 4);
+        assertEquals(EnhancedTableQuery.compareMixed(1, 2.5), -1);
+        assertEquals(EnhancedTableQuery.compareMixed(null, "a"), -1);
+    }
+
+    @Test
+    public void shouldStopWhenQueryThreadIsInterrupted() {
+        Object[][] rows = new Object[10_000][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[]{"row-" + i};
+        }
+        Thread.currentThread().interrupt();
+        try {
+            expectThrows(CancellationException.class,
+                    () -> query("row", null, 0, true).apply(rows, rows.length, null, 0));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static EnhancedTableQuery query(String filterText, int[] filterCols, int sortCol, boolean asc) {
+        return new EnhancedTableQuery(filterText, filterCols, false, false, sortCol, asc,
+                new EnhancedTableQuery.ColumnComparators());
+    }
+}